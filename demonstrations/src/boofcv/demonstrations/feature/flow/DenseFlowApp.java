@@ -76,6 +76,7 @@ public class DenseFlowApp
 		addAlgorithm(0, "Horn-Schunck-Pyramid",FactoryDenseOpticalFlow.hornSchunckPyramid(null,GrayF32.class));
 		addAlgorithm(0, "Brox",FactoryDenseOpticalFlow.broxWarping(null, GrayF32.class));
 		addAlgorithm(0, "Horn-Schunck",FactoryDenseOpticalFlow.hornSchunck(null, GrayF32.class));
+		addAlgorithm(0, "Dense Inverse Search",FactoryDenseOpticalFlow.denseInverseSearch(null, GrayF32.class));
 
 		animationPanel = new AnimatePanel(200,null);
 		flowPanel = new ImagePanel();
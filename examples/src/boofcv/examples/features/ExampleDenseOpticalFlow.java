@@ -59,6 +59,7 @@ public class ExampleDenseOpticalFlow {
 //				FactoryDenseOpticalFlow.flowKlt(null, 6, GrayF32.class, null);
 //				FactoryDenseOpticalFlow.region(null,GrayF32.class);
 //				FactoryDenseOpticalFlow.hornSchunck(20, 1000, GrayF32.class);
+//				FactoryDenseOpticalFlow.denseInverseSearch(null,GrayF32.class);
 //				FactoryDenseOpticalFlow.hornSchunckPyramid(null,GrayF32.class);
 				FactoryDenseOpticalFlow.broxWarping(null, GrayF32.class);
 
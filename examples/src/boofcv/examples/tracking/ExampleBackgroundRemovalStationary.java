@@ -86,8 +86,8 @@ public class ExampleBackgroundRemovalStationary {
 			ImageBase input = video.next();
 
 			long before = System.nanoTime();
-			background.segment(input,segmented);
-			background.updateBackground(input);
+			// Same as calling segment() then updateBackground(), but the image is only traversed once
+			background.updateAndSegment(input,segmented);
 			long after = System.nanoTime();
 
 			fps = (1.0-alpha)*fps + alpha*(1.0/((after-before)/1e9));
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.detect.interest;
+
+import boofcv.abst.feature.detdesc.ConfigCompleteSift;
+import boofcv.abst.feature.detdesc.DetectDescribePoint;
+import boofcv.alg.filter.blur.GBlurImageOps;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.factory.feature.detdesc.FactoryDetectDescribe;
+import boofcv.struct.feature.BrightFeature;
+import boofcv.struct.image.GrayF32;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.Random;
+
+/**
+ * Reports the memory used by SIFT with and without retaining all the scales in an octave.  Peak memory is
+ * found using the peak usage of the heap memory pools while processing an image and includes garbage.  Retained
+ * memory is the memory still used by the detector after processing and garbage collection.
+ *
+ * Run with a large heap, e.g. -Xmx8g, for the larger images.  When the first octave is -1 the image is doubled in
+ * size and every image in the scale-space is 4x larger than the input image.
+ *
+ * @author Peter Abeles
+ */
+public class BenchmarkSiftMemory {
+
+	static Random rand = new Random(234);
+
+	public static void perform( int width , int height ) {
+		System.out.println("=========  Image Size " + width + " x " + height + " ========== ");
+
+		// blur the noise to reduce the number of features so that memory is dominated by the scale-space
+		GrayF32 noise = new GrayF32(width,height);
+		GImageMiscOps.fillUniform(noise,rand,0,200);
+		GrayF32 image = GBlurImageOps.gaussian(noise,null,-1,4,null);
+
+		for( int firstOctave = -1; firstOctave <= 0; firstOctave++ ) {
+			for( boolean retain : new boolean[]{true,false}) {
+				ConfigCompleteSift config = new ConfigCompleteSift();
+				config.scaleSpace.firstOctave = firstOctave;
+				config.scaleSpace.retainAllScales = retain;
+
+				long before = usedMemory();
+				resetPeak();
+
+				long time0 = System.currentTimeMillis();
+				DetectDescribePoint<GrayF32,BrightFeature> alg = FactoryDetectDescribe.sift(config,false);
+				alg.detect(image);
+				long time1 = System.currentTimeMillis();
+
+				long peak = peakMemory();
+				long retained = usedMemory();
+
+				System.out.printf("firstOctave %2d retainAllScales %5s : peak %7.1f MB retained %7.1f MB  %d ms  features %d\n",
+						firstOctave, retain, (peak-before)/1e6, (retained-before)/1e6,
+						(time1-time0), alg.getNumberOfFeatures());
+			}
+		}
+		System.out.println();
+	}
+
+	private static long usedMemory() {
+		System.gc();
+		long total = 0;
+		for( MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans() ) {
+			if( pool.getType() == MemoryType.HEAP )
+				total += pool.getUsage().getUsed();
+		}
+		return total;
+	}
+
+	private static void resetPeak() {
+		for( MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans() ) {
+			if( pool.getType() == MemoryType.HEAP )
+				pool.resetPeakUsage();
+		}
+	}
+
+	private static long peakMemory() {
+		long total = 0;
+		for( MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans() ) {
+			if( pool.getType() == MemoryType.HEAP )
+				total += pool.getPeakUsage().getUsed();
+		}
+		return total;
+	}
+
+	public static void main(String[] args) {
+		int size = args.length > 0 ? Integer.parseInt(args[0]) : 2;
+		perform(640,480);
+		if( size >= 1 )
+			perform(2000,1500);
+		if( size >= 2 )
+			perform(6000,4000);
+	}
+}
@@ -22,8 +22,6 @@ import boofcv.misc.AutoTypeImage;
 import boofcv.misc.CodeGeneratorBase;
 
 import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
-import java.io.PrintStream;
 
 /**
  * @author Peter Abeles
@@ -32,6 +30,10 @@ public class GenerateImplDescribeBinaryCompare extends CodeGeneratorBase {
 
 	AutoTypeImage imageType;
 
+	public GenerateImplDescribeBinaryCompare() {
+		super(false);
+	}
+
 	@Override
 	public void generate() throws FileNotFoundException {
 		printClass(AutoTypeImage.F32);
@@ -40,21 +42,20 @@ public class GenerateImplDescribeBinaryCompare extends CodeGeneratorBase {
 
 	private void printClass( AutoTypeImage imageType ) throws FileNotFoundException {
 		this.imageType = imageType;
-		className = "ImplDescribeBinaryCompare_"+imageType.getAbbreviatedType();
-		out = new PrintStream(new FileOutputStream(className + ".java"));
+		className = null;
+		setOutputFile("ImplDescribeBinaryCompare_"+imageType.getAbbreviatedType());
 		printPreamble();
 		printFunctions();
 
 		out.print("}\n");
 	}
 
-	private void printPreamble() throws FileNotFoundException {
-		setOutputFile(className);
-		out.print("import boofcv.alg.feature.describe.DescribePointBinaryCompare;\n " +
-				"import boofcv.alg.feature.describe.DescribePointBrief;\n" +
+	private void printPreamble() {
+		out.print("import boofcv.alg.feature.describe.DescribePointBinaryCompare;\n" +
 				"import boofcv.alg.feature.describe.brief.BinaryCompareDefinition_I32;\n" +
 				"import boofcv.struct.feature.TupleDesc_B;\n" +
-				"import boofcv.struct.image.*;\n" +
+				"import boofcv.struct.feature.TupleDesc_B64;\n" +
+				"import boofcv.struct.image."+imageType.getSingleBandName()+";\n" +
 				"import georegression.struct.point.Point2D_I32;\n" +
 				"\n" +
 				"import java.util.Arrays;\n" +
@@ -122,13 +123,13 @@ public class GenerateImplDescribeBinaryCompare extends CodeGeneratorBase {
 				"\t\t\t\tPoint2D_I32 p_a = definition.samplePoints[c.x];\n" +
 				"\t\t\t\tPoint2D_I32 p_b = definition.samplePoints[c.y];\n" +
 				"\n" +
+				"\t\t\t\tdesc *= 2;\n" +
+				"\n" +
 				"\t\t\t\tif( image.isInBounds(p_a.x + c_x , p_a.y + c_y) &&\n" +
 				"\t\t\t\t\t\timage.isInBounds(p_b.x + c_x , p_b.y + c_y) ){\n" +
 				"\t\t\t\t\t"+sumType+" valA = image.data[index + offsetsA[j]]"+bitwise+";\n" +
 				"\t\t\t\t\t"+sumType+" valB = image.data[index + offsetsB[j]]"+bitwise+";\n" +
 				"\n" +
-				"\t\t\t\t\tdesc *= 2;\n" +
-				"\n" +
 				"\t\t\t\t\tif( valA < valB ) {\n" +
 				"\t\t\t\t\t\tdesc += 1;\n" +
 				"\t\t\t\t\t}\n" +
@@ -137,6 +138,60 @@ public class GenerateImplDescribeBinaryCompare extends CodeGeneratorBase {
 				"\t\t\tfeature.data[ i/32 ] = desc;\n" +
 				"\t\t}\n" +
 				"\t}\n\n");
+
+		out.print("\t@Override\n" +
+				"\tpublic void processInside( int c_x , int c_y , TupleDesc_B64 feature )\n" +
+				"\t{\n" +
+				"\t\tArrays.fill(feature.data, 0);\n" +
+				"\n" +
+				"\t\tint index = image.startIndex + image.stride*c_y + c_x;\n" +
+				"\n" +
+				"\t\tfor( int i = 0; i < definition.compare.length; i += 32 ) {\n" +
+				"\t\t\tint end = Math.min(definition.compare.length,i+32);\n" +
+				"\t\t\tint desc = 0;\n" +
+				"\t\t\tfor( int j = i; j < end; j++ ) {\n" +
+				"\t\t\t\t"+sumType+" valA = image.data[index + offsetsA[j]]"+bitwise+";\n" +
+				"\t\t\t\t"+sumType+" valB = image.data[index + offsetsB[j]]"+bitwise+";\n" +
+				"\n" +
+				"\t\t\t\tdesc *= 2;\n" +
+				"\t\t\t\tif( valA < valB ) {\n" +
+				"\t\t\t\t\tdesc += 1;\n" +
+				"\t\t\t\t}\n" +
+				"\t\t\t}\n" +
+				"\n" +
+				"\t\t\tfeature.data[ i/64 ] |= (desc & 0xFFFFFFFFL) << (i % 64);\n" +
+				"\t\t}\n" +
+				"\t}\n\n");
+
+		out.print("\t@Override\n" +
+				"\tpublic void processBorder( int c_x , int c_y , TupleDesc_B64 feature ) {\n" +
+				"\t\tArrays.fill(feature.data, 0);\n" +
+				"\n" +
+				"\t\tint index = image.startIndex + image.stride*c_y + c_x;\n" +
+				"\n" +
+				"\t\tfor( int i = 0; i < definition.compare.length; i += 32 ) {\n" +
+				"\t\t\tint end = Math.min(definition.compare.length,i+32);\n" +
+				"\t\t\tint desc = 0;\n" +
+				"\t\t\tfor( int j = i; j < end; j++ ) {\n" +
+				"\t\t\t\tPoint2D_I32 c = definition.compare[j];\n" +
+				"\t\t\t\tPoint2D_I32 p_a = definition.samplePoints[c.x];\n" +
+				"\t\t\t\tPoint2D_I32 p_b = definition.samplePoints[c.y];\n" +
+				"\n" +
+				"\t\t\t\tdesc *= 2;\n" +
+				"\n" +
+				"\t\t\t\tif( image.isInBounds(p_a.x + c_x , p_a.y + c_y) &&\n" +
+				"\t\t\t\t\t\timage.isInBounds(p_b.x + c_x , p_b.y + c_y) ){\n" +
+				"\t\t\t\t\t"+sumType+" valA = image.data[index + offsetsA[j]]"+bitwise+";\n" +
+				"\t\t\t\t\t"+sumType+" valB = image.data[index + offsetsB[j]]"+bitwise+";\n" +
+				"\n" +
+				"\t\t\t\t\tif( valA < valB ) {\n" +
+				"\t\t\t\t\t\tdesc += 1;\n" +
+				"\t\t\t\t\t}\n" +
+				"\t\t\t\t}\n" +
+				"\t\t\t}\n" +
+				"\t\t\tfeature.data[ i/64 ] |= (desc & 0xFFFFFFFFL) << (i % 64);\n" +
+				"\t\t}\n" +
+				"\t}\n\n");
 	}
 
 	public static void main( String args[] ) throws FileNotFoundException {
@@ -15,7 +15,6 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package boofcv.alg.feature.disparity.impl;
 
 import boofcv.misc.AutoTypeImage;
@@ -32,56 +31,93 @@ public class GenerateDisparityScoreSadRect extends CodeGeneratorBase {
 	String dataAbr;
 	String bitWise;
 	String sumType;
+	boolean isInteger;
+
+	// if true the Hamming distance between census images is computed instead of SAD
+	boolean hamming;
+	String baseClass;
+	String computeRow;
+
+	public GenerateDisparityScoreSadRect( boolean concurrent , boolean hamming ) {
+		super(false);
+		this.concurrent = concurrent;
+		this.hamming = hamming;
+		baseClass = hamming ? "DisparityScoreRowFormat" : "DisparityScoreSadRect";
+		computeRow = hamming ? "computeHammingRow" : "computeScoreRow";
+	}
 
 	@Override
 	public void generate() throws FileNotFoundException {
-		createFile(AutoTypeImage.U8);
-		createFile(AutoTypeImage.S16);
-		createFile(AutoTypeImage.F32);
+		if( hamming ) {
+			createFile(AutoTypeImage.U8);
+			createFile(AutoTypeImage.S32);
+		} else {
+			createFile(AutoTypeImage.U8);
+			createFile(AutoTypeImage.S16);
+			createFile(AutoTypeImage.F32);
+		}
 	}
 
 	public void createFile( AutoTypeImage image ) throws FileNotFoundException {
-		setOutputFile("ImplDisparityScoreSadRect_"+image.getAbbreviatedType());
+		className = null;
+		String name = hamming ? "ImplDisparityScoreHammingRect_" : "ImplDisparityScoreSadRect_";
+		setOutputFile(name+(concurrent?"MT_":"")+image.getAbbreviatedType());
 		typeInput = image.getSingleBandName();
 		bitWise = image.getBitWise();
-		sumType = image.getSumType();
+		sumType = hamming ? "int" : image.getSumType();
+		isInteger = image.isInteger();
 
 		dataAbr = image.isInteger() ? "S32" : "F32";
 
-		printPreamble();
-		printConstructor();
-		printProcess();
-		printComputeFirstRow();
-		printComputeRemainingRows();
-		printTheRest();
+		if( concurrent ) {
+			printPreambleConcurrent();
+			printConstructorConcurrent();
+			printProcessConcurrent();
+			printComputeBlock();
+			printTheRest();
+			printBlockStorage();
+		} else {
+			printPreamble();
+			printConstructor();
+			printProcess();
+			printComputeFirstRow();
+			printComputeRemainingRows();
+			if( !isInteger )
+				printComputeVerticalScore();
+			printTheRest();
+		}
 
 		out.println("}");
 	}
 
 	private void printPreamble() {
-		out.print("import boofcv.alg.InputSanityCheck;\n" +
-				"import boofcv.alg.feature.disparity.DisparityScoreSadRect;\n" +
+		out.print("import boofcv.alg.feature.disparity."+baseClass+";\n" +
 				"import boofcv.alg.feature.disparity.DisparitySelect;\n" +
-				"import boofcv.struct.image.ImageGray;\n" +
 				"import boofcv.struct.image."+typeInput+";\n" +
+				"import boofcv.struct.image.ImageGray;\n" +
 				"\n" +
 				"/**\n" +
-				" * <p>\n" +
-				" * Implementation of {@link boofcv.alg.feature.disparity.DisparityScoreSadRect} for processing\n" +
-				" * input images of type {@link "+typeInput+"}.\n" +
-				" * </p>\n" +
+				" * <p>\n");
+		if( hamming ) {
+			out.print(" * Computes the Hamming distance between census transformed images of type {@link "+typeInput+"}\n" +
+					" * inside a rectangular region. See {@link boofcv.alg.feature.disparity.DisparityScoreCensusRect}.\n");
+		} else {
+			out.print(" * Implementation of {@link boofcv.alg.feature.disparity.DisparityScoreSadRect} for processing\n" +
+					" * input images of type {@link "+typeInput+"}.\n");
+		}
+		out.print(" * </p>\n" +
 				" * <p>\n" +
 				" * DO NOT MODIFY. Generated by {@link GenerateDisparityScoreSadRect}.\n" +
 				" * </p>\n"+
 				" * \n" +
 				" * @author Peter Abeles\n" +
 				" */\n" +
-				"public class "+className+"<Disparity extends ImageGray>\n" +
-				"\textends DisparityScoreSadRect<"+typeInput+",Disparity>\n" +
+				"public class "+className+"<DI extends ImageGray<DI>>\n" +
+				"\textends "+baseClass+"<"+typeInput+", DI>\n" +
 				"{\n" +
 				"\n" +
 				"\t// Computes disparity from scores\n" +
-				"\tDisparitySelect<"+sumType+"[],Disparity> computeDisparity;\n" +
+				"\tDisparitySelect<"+sumType+"[], DI> computeDisparity;\n" +
 				"\n" +
 				"\t// stores the local scores for the width of the region\n" +
 				"\t"+sumType+" elementScore[];\n" +
@@ -95,10 +131,64 @@ public class GenerateDisparityScoreSadRect extends CodeGeneratorBase {
 				"\t"+sumType+" verticalScore[];\n\n");
 	}
 
+	private void printPreambleConcurrent() {
+		out.print("import boofcv.alg.feature.disparity."+baseClass+";\n" +
+				"import boofcv.alg.feature.disparity.DisparitySelectConcurrent;\n" +
+				"import boofcv.concurrency.BoofConcurrency;\n" +
+				"import boofcv.concurrency.IntBlockConsumer;\n" +
+				"import boofcv.struct.image."+typeInput+";\n" +
+				"import boofcv.struct.image.ImageGray;\n" +
+				"\n" +
+				"import java.util.ArrayList;\n" +
+				"import java.util.List;\n" +
+				"\n" +
+				"/**\n" +
+				" * <p>\n" +
+				" * Concurrent implementation of {@link "+className.replace("_MT","")+"}.  The image is split into\n" +
+				" * horizontal stripes and each stripe computes its own vertical sum of the horizontal scores, starting\n" +
+				" * from the first row in the stripe.  Each thread has its own score buffers and {@link DisparitySelectConcurrent}.\n" +
+				" * </p>\n" +
+				" *\n" +
+				" * <p>\n" +
+				" * Disparity is identical to the single threaded implementation.\n");
+		if( !isInteger ) {
+			out.print(" * Round off errors would make that impossible for an arbitrary split, so stripes start at rows\n" +
+					" * where the single threaded code also recomputes the vertical score, see\n" +
+					" * {@link UtilDisparityScore#FLOAT_RESET_ROWS}.\n");
+		}
+		out.print(" * </p>\n" +
+				" *\n" +
+				" * <p>\n" +
+				" * DO NOT MODIFY. Generated by {@link GenerateDisparityScoreSadRect}.\n" +
+				" * </p>\n"+
+				" * \n" +
+				" * @author Peter Abeles\n" +
+				" */\n" +
+				"public class "+className+"<DI extends ImageGray<DI>>\n" +
+				"\textends "+baseClass+"<"+typeInput+", DI>\n" +
+				"{\n" +
+				"\n" +
+				"\t// Computes disparity from scores.  Used by the first block, the other blocks use copies of it\n" +
+				"\tDisparitySelectConcurrent<"+sumType+"[], DI> computeDisparity;\n" +
+				"\n" +
+				"\t// storage for each block\n" +
+				"\tfinal List<BlockStorage> storage = new ArrayList<>();\n\n");
+	}
+
 	private void printConstructor() {
 		out.print("\tpublic "+className+"( int minDisparity , int maxDisparity,\n" +
 				"\t\t\t\t\t\t\t\t\t\tint regionRadiusX, int regionRadiusY,\n" +
-				"\t\t\t\t\t\t\t\t\t\tDisparitySelect<"+sumType+"[],Disparity> computeDisparity) {\n" +
+				"\t\t\t\t\t\t\t\t\t\tDisparitySelect<"+sumType+"[], DI> computeDisparity) {\n" +
+				"\t\tsuper(minDisparity,maxDisparity,regionRadiusX,regionRadiusY);\n" +
+				"\n" +
+				"\t\tthis.computeDisparity = computeDisparity;\n" +
+				"\t}\n\n");
+	}
+
+	private void printConstructorConcurrent() {
+		out.print("\tpublic "+className+"( int minDisparity , int maxDisparity,\n" +
+				"\t\t\t\t\t\t\t\t\t\tint regionRadiusX, int regionRadiusY,\n" +
+				"\t\t\t\t\t\t\t\t\t\tDisparitySelectConcurrent<"+sumType+"[], DI> computeDisparity) {\n" +
 				"\t\tsuper(minDisparity,maxDisparity,regionRadiusX,regionRadiusY);\n" +
 				"\n" +
 				"\t\tthis.computeDisparity = computeDisparity;\n" +
@@ -107,7 +197,7 @@ public class GenerateDisparityScoreSadRect extends CodeGeneratorBase {
 
 	private void printProcess() {
 		out.print("\t@Override\n" +
-				"\tpublic void _process( "+typeInput+" left , "+typeInput+" right , Disparity disparity ) {\n" +
+				"\tpublic void _process("+typeInput+" left , "+typeInput+" right , DI disparity ) {\n" +
 				"\t\tif( horizontalScore == null || verticalScore.length < lengthHorizontal ) {\n" +
 				"\t\t\thorizontalScore = new "+sumType+"[regionHeight][lengthHorizontal];\n" +
 				"\t\t\tverticalScore = new "+sumType+"[lengthHorizontal];\n" +
@@ -123,6 +213,52 @@ public class GenerateDisparityScoreSadRect extends CodeGeneratorBase {
 				"\t}\n\n");
 	}
 
+	private void printProcessConcurrent() {
+		out.print("\t@Override\n" +
+				"\tpublic void _process( final "+typeInput+" left , final "+typeInput+" right , DI disparity ) {\n" +
+				"\t\t// Rows are identified by the last row in the region.  The first row has a complete region\n" +
+				"\t\tfinal int rowStart = regionHeight-1;\n");
+		if( isInteger ) {
+			out.print("\t\t// Each stripe needs to compute the horizontal score for an extra region before it can start\n" +
+					"\t\tint numBlocks = BoofConcurrency.useConcurrent(left) ?\n" +
+					"\t\t\t\tBoofConcurrency.computeNumberOfBlocks(left.height-rowStart,regionHeight) : 1;\n");
+		} else {
+			out.print("\t\t// Stripes can only start at rows where the vertical score is recomputed\n" +
+					"\t\tfinal int resetRows = UtilDisparityScore.FLOAT_RESET_ROWS;\n" +
+					"\t\tint numStripes = Math.max(0,left.height-rowStart+resetRows-1)/resetRows;\n" +
+					"\t\tint numBlocks = BoofConcurrency.useConcurrent(left) ?\n" +
+					"\t\t\t\tBoofConcurrency.computeNumberOfBlocks(numStripes,1) : 1;\n");
+		}
+		out.print("\n" +
+				"\t\twhile( storage.size() < numBlocks ) {\n" +
+				"\t\t\tstorage.add( new BlockStorage(storage.isEmpty() ? computeDisparity : computeDisparity.concurrentCopy()));\n" +
+				"\t\t}\n" +
+				"\t\tfor( int i = 0; i < numBlocks; i++ ) {\n" +
+				"\t\t\tBlockStorage s = storage.get(i);\n" +
+				"\t\t\ts.declare(left.width);\n" +
+				"\t\t\ts.computeDisparity.configure(disparity,minDisparity,maxDisparity,radiusX);\n" +
+				"\t\t}\n" +
+				"\n");
+		if( isInteger ) {
+			out.print("\t\tBoofConcurrency.loopBlocksIndexed(rowStart, left.height, numBlocks, new IntBlockConsumer() {\n" +
+					"\t\t\t@Override\n" +
+					"\t\t\tpublic void accept(int block, int row0, int row1) {\n" +
+					"\t\t\t\tcomputeBlock(storage.get(block), left, right, row0, row1);\n" +
+					"\t\t\t}\n" +
+					"\t\t});\n");
+		} else {
+			out.print("\t\tBoofConcurrency.loopBlocksIndexed(0, numStripes, numBlocks, new IntBlockConsumer() {\n" +
+					"\t\t\t@Override\n" +
+					"\t\t\tpublic void accept(int block, int stripe0, int stripe1) {\n" +
+					"\t\t\t\tint row0 = rowStart + stripe0*resetRows;\n" +
+					"\t\t\t\tint row1 = Math.min(left.height, rowStart + stripe1*resetRows);\n" +
+					"\t\t\t\tcomputeBlock(storage.get(block), left, right, row0, row1);\n" +
+					"\t\t\t}\n" +
+					"\t\t});\n");
+		}
+		out.print("\t}\n\n");
+	}
+
 	private void printComputeFirstRow() {
 		out.print("\t/**\n" +
 				"\t * Initializes disparity calculation by finding the scores for the initial block of horizontal\n" +
@@ -134,19 +270,23 @@ public class GenerateDisparityScoreSadRect extends CodeGeneratorBase {
 				"\n" +
 				"\t\t\t"+sumType+" scores[] = horizontalScore[row];\n" +
 				"\n" +
-				"\t\t\tUtilDisparityScore.computeScoreRow(left, right, row, scores,\n" +
+				"\t\t\tUtilDisparityScore."+computeRow+"(left, right, row, scores,\n" +
 				"\t\t\t\t\tminDisparity,maxDisparity,regionWidth,elementScore);\n" +
 				"\t\t}\n" +
 				"\n" +
-				"\t\t// compute score for the top possible row\n" +
-				"\t\tfor( int i = 0; i < lengthHorizontal; i++ ) {\n" +
-				"\t\t\t"+sumType+" sum = 0;\n" +
-				"\t\t\tfor( int row = 0; row < regionHeight; row++ ) {\n" +
-				"\t\t\t\tsum += horizontalScore[row][i];\n" +
-				"\t\t\t}\n" +
-				"\t\t\tverticalScore[i] = sum;\n" +
-				"\t\t}\n" +
-				"\n" +
+				"\t\t// compute score for the top possible row\n");
+		if( isInteger ) {
+			out.print("\t\tfor( int i = 0; i < lengthHorizontal; i++ ) {\n" +
+					"\t\t\t"+sumType+" sum = 0;\n" +
+					"\t\t\tfor( int row = 0; row < regionHeight; row++ ) {\n" +
+					"\t\t\t\tsum += horizontalScore[row][i];\n" +
+					"\t\t\t}\n" +
+					"\t\t\tverticalScore[i] = sum;\n" +
+					"\t\t}\n");
+		} else {
+			out.print("\t\tcomputeVerticalScore(0);\n");
+		}
+		out.print("\n" +
 				"\t\t// compute disparity\n" +
 				"\t\tcomputeDisparity.process(radiusY, verticalScore);\n" +
 				"\t}\n\n");
@@ -158,27 +298,110 @@ public class GenerateDisparityScoreSadRect extends CodeGeneratorBase {
 				"\t * When a new block is processes the last row/column is subtracted and the new row/column is\n" +
 				"\t * added.\n" +
 				"\t */\n" +
-				"\tprivate void computeRemainingRows( "+typeInput+" left, "+typeInput+" right )\n" +
+				"\tprivate void computeRemainingRows("+typeInput+" left, "+typeInput+" right )\n" +
 				"\t{\n" +
 				"\t\tfor( int row = regionHeight; row < left.height; row++ ) {\n" +
 				"\t\t\tint oldRow = row%regionHeight;\n" +
+				"\n");
+		if( isInteger ) {
+			out.print("\t\t\t// subtract first row from vertical score\n" +
+					"\t\t\t"+sumType+" scores[] = horizontalScore[oldRow];\n" +
+					"\t\t\tfor( int i = 0; i < lengthHorizontal; i++ ) {\n" +
+					"\t\t\t\tverticalScore[i] -= scores[i];\n" +
+					"\t\t\t}\n" +
+					"\n" +
+					"\t\t\tUtilDisparityScore."+computeRow+"(left, right, row, scores,\n" +
+					"\t\t\t\t\tminDisparity,maxDisparity,regionWidth,elementScore);\n" +
+					"\n" +
+					"\t\t\t// add the new score\n" +
+					"\t\t\tfor( int i = 0; i < lengthHorizontal; i++ ) {\n" +
+					"\t\t\t\tverticalScore[i] += scores[i];\n" +
+					"\t\t\t}\n");
+		} else {
+			out.print("\t\t\t"+sumType+" scores[] = horizontalScore[oldRow];\n" +
+					"\t\t\tif( (row-regionHeight+1) % UtilDisparityScore.FLOAT_RESET_ROWS == 0 ) {\n" +
+					"\t\t\t\tUtilDisparityScore."+computeRow+"(left, right, row, scores,\n" +
+					"\t\t\t\t\t\tminDisparity,maxDisparity,regionWidth,elementScore);\n" +
+					"\t\t\t\t// sum from scratch to limit the accumulation of round off error\n" +
+					"\t\t\t\tcomputeVerticalScore(row-regionHeight+1);\n" +
+					"\t\t\t} else {\n");
+			printUpdateVertical("\t\t\t\t","elementScore","verticalScore");
+			out.print("\t\t\t}\n");
+		}
+		out.print("\n" +
+				"\t\t\t// compute disparity\n" +
+				"\t\t\tcomputeDisparity.process(row - regionHeight + 1 + radiusY, verticalScore);\n" +
+				"\t\t}\n" +
+				"\t}\n\n");
+	}
+
+	private void printUpdateVertical( String indent , String elementScore , String verticalScore ) {
+		out.print(indent+"// subtract first row from vertical score\n" +
+				indent+"for( int i = 0; i < lengthHorizontal; i++ ) {\n" +
+				indent+"\t"+verticalScore+"[i] -= scores[i];\n" +
+				indent+"}\n" +
 				"\n" +
-				"\t\t\t// subtract first row from vertical score\n" +
-				"\t\t\t"+sumType+" scores[] = horizontalScore[oldRow];\n" +
-				"\t\t\tfor( int i = 0; i < lengthHorizontal; i++ ) {\n" +
-				"\t\t\t\tverticalScore[i] -= scores[i];\n" +
+				indent+"UtilDisparityScore."+computeRow+"(left, right, row, scores,\n" +
+				indent+"\t\tminDisparity,maxDisparity,regionWidth,"+elementScore+");\n" +
+				"\n" +
+				indent+"// add the new score\n" +
+				indent+"for( int i = 0; i < lengthHorizontal; i++ ) {\n" +
+				indent+"\t"+verticalScore+"[i] += scores[i];\n" +
+				indent+"}\n");
+	}
+
+	private void printComputeVerticalScore() {
+		out.print("\t/**\n" +
+				"\t * Computes the vertical score by summing up the horizontal scores in the region, in the order of their rows\n" +
+				"\t *\n" +
+				"\t * @param firstRow The first row in the region\n" +
+				"\t */\n" +
+				"\tprivate void computeVerticalScore( int firstRow ) {\n" +
+				"\t\tfor( int i = 0; i < lengthHorizontal; i++ ) {\n" +
+				"\t\t\t"+sumType+" sum = 0;\n" +
+				"\t\t\tfor( int row = firstRow; row < firstRow+regionHeight; row++ ) {\n" +
+				"\t\t\t\tsum += horizontalScore[row%regionHeight][i];\n" +
 				"\t\t\t}\n" +
+				"\t\t\tverticalScore[i] = sum;\n" +
+				"\t\t}\n" +
+				"\t}\n\n");
+	}
+
+	private void printComputeBlock() {
+		out.print("\t/**\n" +
+				"\t * Computes the disparity for a stripe of rows.  The vertical score is computed from scratch for the first\n" +
+				"\t * row and then updated efficiently for the remaining rows.\n" +
+				"\t *\n" +
+				"\t * @param row0 First row, inclusive.  Rows are identified by the last row in the region.\n" +
+				"\t * @param row1 Last row, exclusive.\n" +
+				"\t */\n" +
+				"\tprivate void computeBlock( BlockStorage s , "+typeInput+" left, "+typeInput+" right , int row0 , int row1 )\n" +
+				"\t{\n" +
+				"\t\tfinal "+sumType+" verticalScore[] = s.verticalScore;\n" +
 				"\n" +
-				"\t\t\tUtilDisparityScore.computeScoreRow(left, right, row, scores,\n" +
-				"\t\t\t\t\tminDisparity,maxDisparity,regionWidth,elementScore);\n" +
+				"\t\tfor( int row = row0; row < row1; row++ ) {\n" +
+				"\t\t\t"+sumType+" scores[] = s.horizontalScore[row%regionHeight];\n" +
 				"\n" +
-				"\t\t\t// add the new score\n" +
-				"\t\t\tfor( int i = 0; i < lengthHorizontal; i++ ) {\n" +
-				"\t\t\t\tverticalScore[i] += scores[i];\n" +
-				"\t\t\t}\n" +
+				"\t\t\tif( row == row0 ) {\n" +
+				"\t\t\t\t// compute horizontal scores for the entire region\n" +
+				"\t\t\t\tfor( int i = row-regionHeight+1; i <= row; i++ ) {\n" +
+				"\t\t\t\t\tUtilDisparityScore."+computeRow+"(left, right, i, s.horizontalScore[i%regionHeight],\n" +
+				"\t\t\t\t\t\t\tminDisparity,maxDisparity,regionWidth,s.elementScore);\n" +
+				"\t\t\t\t}\n" +
+				"\t\t\t\ts.computeVerticalScore(row-regionHeight+1);\n");
+		if( !isInteger ) {
+			out.print("\t\t\t} else if( (row-regionHeight+1) % UtilDisparityScore.FLOAT_RESET_ROWS == 0 ) {\n" +
+					"\t\t\t\tUtilDisparityScore."+computeRow+"(left, right, row, scores,\n" +
+					"\t\t\t\t\t\tminDisparity,maxDisparity,regionWidth,s.elementScore);\n" +
+					"\t\t\t\t// sum from scratch to limit the accumulation of round off error\n" +
+					"\t\t\t\ts.computeVerticalScore(row-regionHeight+1);\n");
+		}
+		out.print("\t\t\t} else {\n");
+		printUpdateVertical("\t\t\t\t","s.elementScore","verticalScore");
+		out.print("\t\t\t}\n" +
 				"\n" +
 				"\t\t\t// compute disparity\n" +
-				"\t\t\tcomputeDisparity.process(row - regionHeight + 1 + radiusY, verticalScore);\n" +
+				"\t\t\ts.computeDisparity.process(row - regionHeight + 1 + radiusY, verticalScore);\n" +
 				"\t\t}\n" +
 				"\t}\n\n");
 	}
@@ -190,14 +413,56 @@ public class GenerateDisparityScoreSadRect extends CodeGeneratorBase {
 				"\t}\n" +
 				"\n" +
 				"\t@Override\n" +
-				"\tpublic Class<Disparity> getDisparityType() {\n" +
+				"\tpublic Class<DI> getDisparityType() {\n" +
 				"\t\treturn computeDisparity.getDisparityType();\n" +
 				"\t}\n\n");
 	}
 
-	public static void main( String args[] ) throws FileNotFoundException {
-		GenerateDisparityScoreSadRect gen = new GenerateDisparityScoreSadRect();
+	private void printBlockStorage() {
+		out.print("\t/**\n" +
+				"\t * Storage used by a single block\n" +
+				"\t */\n" +
+				"\tclass BlockStorage {\n" +
+				"\t\tDisparitySelectConcurrent<"+sumType+"[], DI> computeDisparity;\n" +
+				"\n" +
+				"\t\t// see single threaded implementation for a description\n" +
+				"\t\t"+sumType+" elementScore[];\n" +
+				"\t\t"+sumType+" horizontalScore[][];\n" +
+				"\t\t"+sumType+" verticalScore[];\n" +
+				"\n" +
+				"\t\tBlockStorage( DisparitySelectConcurrent<"+sumType+"[], DI> computeDisparity ) {\n" +
+				"\t\t\tthis.computeDisparity = computeDisparity;\n" +
+				"\t\t}\n" +
+				"\n" +
+				"\t\tvoid declare( int width ) {\n" +
+				"\t\t\tif( horizontalScore == null || verticalScore.length < lengthHorizontal ) {\n" +
+				"\t\t\t\thorizontalScore = new "+sumType+"[regionHeight][lengthHorizontal];\n" +
+				"\t\t\t\tverticalScore = new "+sumType+"[lengthHorizontal];\n" +
+				"\t\t\t\telementScore = new "+sumType+"[ width ];\n" +
+				"\t\t\t}\n" +
+				"\t\t}\n" +
+				"\n" +
+				"\t\t/**\n" +
+				"\t\t * Computes the vertical score by summing up the horizontal scores in the region, in the order of their rows\n" +
+				"\t\t */\n" +
+				"\t\tvoid computeVerticalScore( int firstRow ) {\n" +
+				"\t\t\tfor( int i = 0; i < lengthHorizontal; i++ ) {\n" +
+				"\t\t\t\t"+sumType+" sum = 0;\n" +
+				"\t\t\t\tfor( int row = firstRow; row < firstRow+regionHeight; row++ ) {\n" +
+				"\t\t\t\t\tsum += horizontalScore[row%regionHeight][i];\n" +
+				"\t\t\t\t}\n" +
+				"\t\t\t\tverticalScore[i] = sum;\n" +
+				"\t\t\t}\n" +
+				"\t\t}\n" +
+				"\t}\n\n");
+	}
 
-		gen.generate();
+	public static void main( String args[] ) throws FileNotFoundException {
+		for( boolean hamming : new boolean[]{false,true}) {
+			GenerateDisparityScoreSadRect gen = new GenerateDisparityScoreSadRect(false,hamming);
+			gen.generate();
+			gen = new GenerateDisparityScoreSadRect(true,hamming);
+			gen.generate();
+		}
 	}
 }
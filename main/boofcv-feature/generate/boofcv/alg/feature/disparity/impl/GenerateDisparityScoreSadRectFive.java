@@ -32,6 +32,12 @@ public class GenerateDisparityScoreSadRectFive extends CodeGeneratorBase {
 	String dataAbr;
 	String bitWise;
 	String sumType;
+	boolean isInteger;
+
+	public GenerateDisparityScoreSadRectFive( boolean concurrent ) {
+		super(false);
+		this.concurrent = concurrent;
+	}
 
 	@Override
 	public void generate() throws FileNotFoundException {
@@ -41,29 +47,41 @@ public class GenerateDisparityScoreSadRectFive extends CodeGeneratorBase {
 	}
 
 	public void createFile( AutoTypeImage image ) throws FileNotFoundException {
-		setOutputFile("ImplDisparityScoreSadRectFive_"+image.getAbbreviatedType());
+		className = null;
+		setOutputFile("ImplDisparityScoreSadRectFive_"+(concurrent?"MT_":"")+image.getAbbreviatedType());
 		typeInput = image.getSingleBandName();
 		bitWise = image.getBitWise();
 		sumType = image.getSumType();
+		isInteger = image.isInteger();
 
 		dataAbr = image.isInteger() ? "S32" : "F32";
 
-		printPreamble();
-		printProcess();
-		printFirstRow();
-		printComputeRemainingRows();
-		printScoreFive();
-		printTheRest();
+		if( concurrent ) {
+			printPreambleConcurrent();
+			printProcessConcurrent();
+			printComputeBlock();
+			printScoreFive();
+			printTheRest();
+			printBlockStorage();
+		} else {
+			printPreamble();
+			printProcess();
+			printFirstRow();
+			printComputeRemainingRows();
+			if( !isInteger )
+				printComputeVerticalScore();
+			printScoreFive();
+			printTheRest();
+		}
 
 		out.println("}");
 	}
 
 	private void printPreamble() {
-		out.print("import boofcv.alg.InputSanityCheck;\n" +
-				"import boofcv.alg.feature.disparity.DisparityScoreWindowFive;\n" +
+		out.print("import boofcv.alg.feature.disparity.DisparityScoreWindowFive;\n" +
 				"import boofcv.alg.feature.disparity.DisparitySelect;\n" +
-				"import boofcv.struct.image.ImageGray;\n" +
 				"import boofcv.struct.image."+typeInput+";\n" +
+				"import boofcv.struct.image.ImageGray;\n" +
 				"\n" +
 				"/**\n" +
 				" * <p>\n" +
@@ -77,12 +95,12 @@ public class GenerateDisparityScoreSadRectFive extends CodeGeneratorBase {
 				" *\n" +
 				" * @author Peter Abeles\n" +
 				" */\n" +
-				"public class "+className+"<Disparity extends ImageGray>\n" +
-				"\t\textends DisparityScoreWindowFive<"+typeInput+",Disparity>\n" +
+				"public class "+className+"<DI extends ImageGray<DI>>\n" +
+				"\t\textends DisparityScoreWindowFive<"+typeInput+", DI>\n" +
 				"{\n" +
 				"\n" +
 				"\t// Computes disparity from scores\n" +
-				"\tDisparitySelect<"+sumType+"[],Disparity> computeDisparity;\n" +
+				"\tDisparitySelect<"+sumType+"[], DI> computeDisparity;\n" +
 				"\n" +
 				"\t// stores the local scores for the width of the region\n" +
 				"\t"+sumType+" elementScore[];\n" +
@@ -98,7 +116,59 @@ public class GenerateDisparityScoreSadRectFive extends CodeGeneratorBase {
 				"\n" +
 				"\tpublic "+className+"(int minDisparity, int maxDisparity,\n" +
 				"\t\t\t\t\t\t\t\t\t\t\tint regionRadiusX, int regionRadiusY,\n" +
-				"\t\t\t\t\t\t\t\t\t\t\tDisparitySelect<"+sumType+"[], Disparity> computeDisparity) {\n" +
+				"\t\t\t\t\t\t\t\t\t\t\tDisparitySelect<"+sumType+"[], DI> computeDisparity) {\n" +
+				"\t\tsuper(minDisparity,maxDisparity,regionRadiusX,regionRadiusY);\n" +
+				"\t\tthis.computeDisparity = computeDisparity;\n" +
+				"\t}\n\n");
+	}
+
+	private void printPreambleConcurrent() {
+		out.print("import boofcv.alg.feature.disparity.DisparityScoreWindowFive;\n" +
+				"import boofcv.alg.feature.disparity.DisparitySelectConcurrent;\n" +
+				"import boofcv.concurrency.BoofConcurrency;\n" +
+				"import boofcv.concurrency.IntBlockConsumer;\n" +
+				"import boofcv.struct.image."+typeInput+";\n" +
+				"import boofcv.struct.image.ImageGray;\n" +
+				"\n" +
+				"import java.util.ArrayList;\n" +
+				"import java.util.List;\n" +
+				"\n" +
+				"/**\n" +
+				" * <p>\n" +
+				" * Concurrent implementation of {@link "+className.replace("_MT","")+"}.  The image is split into\n" +
+				" * horizontal stripes and each stripe computes its own rolling window of vertical scores, starting\n" +
+				" * from the first region which is needed by the first row in the stripe.  Each thread has its own score\n" +
+				" * buffers and {@link DisparitySelectConcurrent}.\n" +
+				" * </p>\n" +
+				" *\n" +
+				" * <p>\n" +
+				" * Disparity is identical to the single threaded implementation.\n");
+		if( !isInteger ) {
+			out.print(" * Round off errors would make that impossible for an arbitrary split, so stripes start at regions\n" +
+					" * where the single threaded code also recomputes the vertical score, see\n" +
+					" * {@link UtilDisparityScore#FLOAT_RESET_ROWS}.\n");
+		}
+		out.print(" * </p>\n" +
+				" *\n" +
+				" * <p>\n" +
+				" * DO NOT MODIFY. Generated by {@link GenerateDisparityScoreSadRectFive}.\n" +
+				" * </p>\n" +
+				" *\n" +
+				" * @author Peter Abeles\n" +
+				" */\n" +
+				"public class "+className+"<DI extends ImageGray<DI>>\n" +
+				"\t\textends DisparityScoreWindowFive<"+typeInput+", DI>\n" +
+				"{\n" +
+				"\n" +
+				"\t// Computes disparity from scores.  Used by the first block, the other blocks use copies of it\n" +
+				"\tDisparitySelectConcurrent<"+sumType+"[], DI> computeDisparity;\n" +
+				"\n" +
+				"\t// storage for each block\n" +
+				"\tfinal List<BlockStorage> storage = new ArrayList<>();\n" +
+				"\n" +
+				"\tpublic "+className+"(int minDisparity, int maxDisparity,\n" +
+				"\t\t\t\t\t\t\t\t\t\t\tint regionRadiusX, int regionRadiusY,\n" +
+				"\t\t\t\t\t\t\t\t\t\t\tDisparitySelectConcurrent<"+sumType+"[], DI> computeDisparity) {\n" +
 				"\t\tsuper(minDisparity,maxDisparity,regionRadiusX,regionRadiusY);\n" +
 				"\t\tthis.computeDisparity = computeDisparity;\n" +
 				"\t}\n\n");
@@ -106,7 +176,7 @@ public class GenerateDisparityScoreSadRectFive extends CodeGeneratorBase {
 
 	private void printProcess() {
 		out.print("\t@Override\n" +
-				"\tpublic void _process( "+typeInput+" left , "+typeInput+" right , Disparity disparity ) {\n" +
+				"\tpublic void _process("+typeInput+" left , "+typeInput+" right , DI disparity ) {\n" +
 				"\t\tif( horizontalScore == null || verticalScore.length < lengthHorizontal ) {\n" +
 				"\t\t\thorizontalScore = new "+sumType+"[regionHeight][lengthHorizontal];\n" +
 				"\t\t\tverticalScore = new "+sumType+"[regionHeight][lengthHorizontal];\n" +
@@ -123,12 +193,60 @@ public class GenerateDisparityScoreSadRectFive extends CodeGeneratorBase {
 				"\t}\n\n");
 	}
 
+	private void printProcessConcurrent() {
+		out.print("\t@Override\n" +
+				"\tpublic void _process( final "+typeInput+" left , final "+typeInput+" right , DI disparity ) {\n" +
+				"\t\t// Regions are identified by their first row and rows are identified by the last row in the region.\n" +
+				"\t\t// Disparity is computed once the regions above and below the center region are complete\n" +
+				"\t\tfinal int rowStart = Math.max(regionHeight,4*radiusY);\n");
+		if( isInteger ) {
+			out.print("\t\t// Each stripe needs to compute several regions before it can start\n" +
+					"\t\tint numBlocks = BoofConcurrency.useConcurrent(left) ?\n" +
+					"\t\t\t\tBoofConcurrency.computeNumberOfBlocks(left.height-rowStart,2*regionHeight) : 1;\n");
+		} else {
+			out.print("\t\t// Stripes can only start at regions where the vertical score is recomputed\n" +
+					"\t\tfinal int resetRows = UtilDisparityScore.FLOAT_RESET_ROWS;\n" +
+					"\t\tint numStripes = Math.max(0,left.height-4*radiusY+resetRows-1)/resetRows;\n" +
+					"\t\tint numBlocks = BoofConcurrency.useConcurrent(left) ?\n" +
+					"\t\t\t\tBoofConcurrency.computeNumberOfBlocks(numStripes,1) : 1;\n");
+		}
+		out.print("\n" +
+				"\t\twhile( storage.size() < numBlocks ) {\n" +
+				"\t\t\tstorage.add( new BlockStorage(storage.isEmpty() ? computeDisparity : computeDisparity.concurrentCopy()));\n" +
+				"\t\t}\n" +
+				"\t\tfor( int i = 0; i < numBlocks; i++ ) {\n" +
+				"\t\t\tBlockStorage s = storage.get(i);\n" +
+				"\t\t\ts.declare(left.width);\n" +
+				"\t\t\ts.computeDisparity.configure(disparity,minDisparity,maxDisparity,radiusX*2);\n" +
+				"\t\t}\n" +
+				"\n");
+		if( isInteger ) {
+			out.print("\t\tBoofConcurrency.loopBlocksIndexed(rowStart, left.height, numBlocks, new IntBlockConsumer() {\n" +
+					"\t\t\t@Override\n" +
+					"\t\t\tpublic void accept(int block, int row0, int row1) {\n" +
+					"\t\t\t\tcomputeBlock(storage.get(block), left, right, row0-4*radiusY, row0, row1);\n" +
+					"\t\t\t}\n" +
+					"\t\t});\n");
+		} else {
+			out.print("\t\tBoofConcurrency.loopBlocksIndexed(0, numStripes, numBlocks, new IntBlockConsumer() {\n" +
+					"\t\t\t@Override\n" +
+					"\t\t\tpublic void accept(int block, int stripe0, int stripe1) {\n" +
+					"\t\t\t\tint region0 = stripe0*resetRows;\n" +
+					"\t\t\t\tint row0 = Math.max(rowStart, region0 + 4*radiusY);\n" +
+					"\t\t\t\tint row1 = Math.min(left.height, stripe1*resetRows + 4*radiusY);\n" +
+					"\t\t\t\tcomputeBlock(storage.get(block), left, right, region0, row0, row1);\n" +
+					"\t\t\t}\n" +
+					"\t\t});\n");
+		}
+		out.print("\t}\n\n");
+	}
+
 	private void printFirstRow() {
 		out.print("\t/**\n" +
 				"\t * Initializes disparity calculation by finding the scores for the initial block of horizontal\n" +
 				"\t * rows.\n" +
 				"\t */\n" +
-				"\tprivate void computeFirstRow( "+typeInput+" left, "+typeInput+" right ) {\n" +
+				"\tprivate void computeFirstRow("+typeInput+" left, "+typeInput+" right ) {\n" +
 				"\t\t"+sumType+" firstRow[] = verticalScore[0];\n" +
 				"\t\tactiveVerticalScore = 1;\n" +
 				"\n" +
@@ -141,15 +259,19 @@ public class GenerateDisparityScoreSadRectFive extends CodeGeneratorBase {
 				"\t\t\t\t\tminDisparity, maxDisparity, regionWidth, elementScore);\n" +
 				"\t\t}\n" +
 				"\n" +
-				"\t\t// compute score for the top possible row\n" +
-				"\t\tfor( int i = 0; i < lengthHorizontal; i++ ) {\n" +
-				"\t\t\t"+sumType+" sum = 0;\n" +
-				"\t\t\tfor( int row = 0; row < regionHeight; row++ ) {\n" +
-				"\t\t\t\tsum += horizontalScore[row][i];\n" +
-				"\t\t\t}\n" +
-				"\t\t\tfirstRow[i] = sum;\n" +
-				"\t\t}\n" +
-				"\t}\n\n");
+				"\t\t// compute score for the top possible row\n");
+		if( isInteger ) {
+			out.print("\t\tfor( int i = 0; i < lengthHorizontal; i++ ) {\n" +
+					"\t\t\t"+sumType+" sum = 0;\n" +
+					"\t\t\tfor( int row = 0; row < regionHeight; row++ ) {\n" +
+					"\t\t\t\tsum += horizontalScore[row][i];\n" +
+					"\t\t\t}\n" +
+					"\t\t\tfirstRow[i] = sum;\n" +
+					"\t\t}\n");
+		} else {
+			out.print("\t\tcomputeVerticalScore(0,firstRow);\n");
+		}
+		out.print("\t}\n\n");
 	}
 
 	private void printComputeRemainingRows() {
@@ -158,27 +280,30 @@ public class GenerateDisparityScoreSadRectFive extends CodeGeneratorBase {
 				"\t * When a new block is processes the last row/column is subtracted and the new row/column is\n" +
 				"\t * added.\n" +
 				"\t */\n" +
-				"\tprivate void computeRemainingRows( "+typeInput+" left, "+typeInput+" right )\n" +
+				"\tprivate void computeRemainingRows("+typeInput+" left, "+typeInput+" right )\n" +
 				"\t{\n" +
 				"\t\tfor( int row = regionHeight; row < left.height; row++ , activeVerticalScore++) {\n" +
 				"\t\t\tint oldRow = row%regionHeight;\n" +
 				"\t\t\t"+sumType+" previous[] = verticalScore[ (activeVerticalScore -1) % regionHeight ];\n" +
 				"\t\t\t"+sumType+" active[] = verticalScore[ activeVerticalScore % regionHeight ];\n" +
-				"\n" +
-				"\t\t\t// subtract first row from vertical score\n" +
-				"\t\t\t"+sumType+" scores[] = horizontalScore[oldRow];\n" +
-				"\t\t\tfor( int i = 0; i < lengthHorizontal; i++ ) {\n" +
-				"\t\t\t\tactive[i] = previous[i] - scores[i];\n" +
-				"\t\t\t}\n" +
-				"\n" +
-				"\t\t\tUtilDisparityScore.computeScoreRow(left, right, row, scores,\n" +
-				"\t\t\t\t\tminDisparity,maxDisparity,regionWidth,elementScore);\n" +
-				"\n" +
-				"\t\t\t// add the new score\n" +
-				"\t\t\tfor( int i = 0; i < lengthHorizontal; i++ ) {\n" +
-				"\t\t\t\tactive[i] += scores[i];\n" +
-				"\t\t\t}\n" +
-				"\n" +
+				"\n");
+		if( isInteger ) {
+			out.print("\t\t\t// subtract first row from vertical score\n" +
+					"\t\t\t"+sumType+" scores[] = horizontalScore[oldRow];\n");
+			printUpdateVertical("\t\t\t","elementScore");
+		} else {
+			out.print("\t\t\t"+sumType+" scores[] = horizontalScore[oldRow];\n" +
+					"\t\t\tif( activeVerticalScore % UtilDisparityScore.FLOAT_RESET_ROWS == 0 ) {\n" +
+					"\t\t\t\tUtilDisparityScore.computeScoreRow(left, right, row, scores,\n" +
+					"\t\t\t\t\t\tminDisparity,maxDisparity,regionWidth,elementScore);\n" +
+					"\t\t\t\t// sum from scratch to limit the accumulation of round off error\n" +
+					"\t\t\t\tcomputeVerticalScore(activeVerticalScore,active);\n" +
+					"\t\t\t} else {\n" +
+					"\t\t\t\t// subtract first row from vertical score\n");
+			printUpdateVertical("\t\t\t\t","elementScore");
+			out.print("\t\t\t}\n");
+		}
+		out.print("\n" +
 				"\t\t\tif( activeVerticalScore >= regionHeight-1 ) {\n" +
 				"\t\t\t\t"+sumType+" top[] = verticalScore[ (activeVerticalScore -2*radiusY) % regionHeight ];\n" +
 				"\t\t\t\t"+sumType+" middle[] = verticalScore[ (activeVerticalScore -radiusY) % regionHeight ];\n" +
@@ -191,6 +316,97 @@ public class GenerateDisparityScoreSadRectFive extends CodeGeneratorBase {
 				"\t}\n\n");
 	}
 
+	/**
+	 * Updates the active vertical score by removing the oldest horizontal row and adding the new one
+	 */
+	private void printUpdateVertical( String indent , String elementScore ) {
+		out.print(indent+"for( int i = 0; i < lengthHorizontal; i++ ) {\n" +
+				indent+"\tactive[i] = previous[i] - scores[i];\n" +
+				indent+"}\n" +
+				"\n" +
+				indent+"UtilDisparityScore.computeScoreRow(left, right, row, scores,\n" +
+				indent+"\t\tminDisparity,maxDisparity,regionWidth,"+elementScore+");\n" +
+				"\n" +
+				indent+"// add the new score\n" +
+				indent+"for( int i = 0; i < lengthHorizontal; i++ ) {\n" +
+				indent+"\tactive[i] += scores[i];\n" +
+				indent+"}\n");
+	}
+
+	private void printComputeVerticalScore() {
+		out.print("\t/**\n" +
+				"\t * Computes the vertical score by summing up the horizontal scores in the region, in the order of their rows\n" +
+				"\t *\n" +
+				"\t * @param firstRow The first row in the region\n" +
+				"\t * @param vertical (Output) vertical score\n" +
+				"\t */\n" +
+				"\tprivate void computeVerticalScore( int firstRow , "+sumType+" vertical[] ) {\n" +
+				"\t\tfor( int i = 0; i < lengthHorizontal; i++ ) {\n" +
+				"\t\t\t"+sumType+" sum = 0;\n" +
+				"\t\t\tfor( int row = firstRow; row < firstRow+regionHeight; row++ ) {\n" +
+				"\t\t\t\tsum += horizontalScore[row%regionHeight][i];\n" +
+				"\t\t\t}\n" +
+				"\t\t\tvertical[i] = sum;\n" +
+				"\t\t}\n" +
+				"\t}\n\n");
+	}
+
+	private void printComputeBlock() {
+		out.print("\t/**\n" +
+				"\t * Computes the disparity for a stripe of rows.  The vertical score of the first region is computed from\n" +
+				"\t * scratch and then updated efficiently for the remaining regions.\n" +
+				"\t *\n" +
+				"\t * @param region0 Index of the first region's vertical score.  Regions are identified by their first row.\n" +
+				"\t * @param row0 First row which disparity is computed for, inclusive.  Rows are identified by the last\n" +
+				"\t *             row in the region.\n" +
+				"\t * @param row1 Last row, exclusive.\n" +
+				"\t */\n" +
+				"\tprivate void computeBlock( BlockStorage s , "+typeInput+" left, "+typeInput+" right ,\n" +
+				"\t\t\t\t\t\t\t int region0 , int row0 , int row1 )\n" +
+				"\t{\n" +
+				"\t\tif( row0 >= row1 )\n" +
+				"\t\t\treturn;\n" +
+				"\n" +
+				"\t\tfinal "+sumType+" verticalScore[][] = s.verticalScore;\n" +
+				"\t\tfinal int rowSeed = region0 + regionHeight - 1;\n" +
+				"\n" +
+				"\t\tfor( int row = rowSeed; row < row1; row++ ) {\n" +
+				"\t\t\tint region = row - regionHeight + 1;\n" +
+				"\t\t\t"+sumType+" active[] = verticalScore[ region % regionHeight ];\n" +
+				"\t\t\t"+sumType+" scores[] = s.horizontalScore[row%regionHeight];\n" +
+				"\n" +
+				"\t\t\tif( row == rowSeed ) {\n" +
+				"\t\t\t\t// compute horizontal scores for the entire region\n" +
+				"\t\t\t\tfor( int i = region; i <= row; i++ ) {\n" +
+				"\t\t\t\t\tUtilDisparityScore.computeScoreRow(left, right, i, s.horizontalScore[i%regionHeight],\n" +
+				"\t\t\t\t\t\t\tminDisparity,maxDisparity,regionWidth,s.elementScore);\n" +
+				"\t\t\t\t}\n" +
+				"\t\t\t\ts.computeVerticalScore(region,active);\n");
+		if( !isInteger ) {
+			out.print("\t\t\t} else if( region % UtilDisparityScore.FLOAT_RESET_ROWS == 0 ) {\n" +
+					"\t\t\t\tUtilDisparityScore.computeScoreRow(left, right, row, scores,\n" +
+					"\t\t\t\t\t\tminDisparity,maxDisparity,regionWidth,s.elementScore);\n" +
+					"\t\t\t\t// sum from scratch to limit the accumulation of round off error\n" +
+					"\t\t\t\ts.computeVerticalScore(region,active);\n");
+		}
+		out.print("\t\t\t} else {\n" +
+				"\t\t\t\t"+sumType+" previous[] = verticalScore[ (region -1) % regionHeight ];\n" +
+				"\n" +
+				"\t\t\t\t// subtract first row from vertical score\n");
+		printUpdateVertical("\t\t\t\t","s.elementScore");
+		out.print("\t\t\t}\n" +
+				"\n" +
+				"\t\t\tif( row >= row0 ) {\n" +
+				"\t\t\t\t"+sumType+" top[] = verticalScore[ (region -2*radiusY) % regionHeight ];\n" +
+				"\t\t\t\t"+sumType+" middle[] = verticalScore[ (region -radiusY) % regionHeight ];\n" +
+				"\n" +
+				"\t\t\t\tcomputeScoreFive(top,middle,active,s.fiveScore,left.width);\n" +
+				"\t\t\t\ts.computeDisparity.process(row - 2*radiusY, s.fiveScore );\n" +
+				"\t\t\t}\n" +
+				"\t\t}\n" +
+				"\t}\n\n");
+	}
+
 	private void printScoreFive() {
 		out.print("\t/**\n" +
 				"\t * Compute the final score by sampling the 5 regions.  Four regions are sampled around the center\n" +
@@ -251,14 +467,56 @@ public class GenerateDisparityScoreSadRectFive extends CodeGeneratorBase {
 				"\t}\n" +
 				"\n" +
 				"\t@Override\n" +
-				"\tpublic Class<Disparity> getDisparityType() {\n" +
+				"\tpublic Class<DI> getDisparityType() {\n" +
 				"\t\treturn computeDisparity.getDisparityType();\n" +
 				"\t}\n\n");
 	}
 
-	public static void main( String args[] ) throws FileNotFoundException {
-		GenerateDisparityScoreSadRectFive gen = new GenerateDisparityScoreSadRectFive();
+	private void printBlockStorage() {
+		out.print("\t/**\n" +
+				"\t * Storage used by a single block\n" +
+				"\t */\n" +
+				"\tclass BlockStorage {\n" +
+				"\t\tDisparitySelectConcurrent<"+sumType+"[], DI> computeDisparity;\n" +
+				"\n" +
+				"\t\t// see single threaded implementation for a description\n" +
+				"\t\t"+sumType+" elementScore[];\n" +
+				"\t\t"+sumType+" horizontalScore[][];\n" +
+				"\t\t"+sumType+" verticalScore[][];\n" +
+				"\t\t"+sumType+" fiveScore[];\n" +
+				"\n" +
+				"\t\tBlockStorage( DisparitySelectConcurrent<"+sumType+"[], DI> computeDisparity ) {\n" +
+				"\t\t\tthis.computeDisparity = computeDisparity;\n" +
+				"\t\t}\n" +
+				"\n" +
+				"\t\tvoid declare( int width ) {\n" +
+				"\t\t\tif( horizontalScore == null || fiveScore.length < lengthHorizontal ) {\n" +
+				"\t\t\t\thorizontalScore = new "+sumType+"[regionHeight][lengthHorizontal];\n" +
+				"\t\t\t\tverticalScore = new "+sumType+"[regionHeight][lengthHorizontal];\n" +
+				"\t\t\t\telementScore = new "+sumType+"[ width ];\n" +
+				"\t\t\t\tfiveScore = new "+sumType+"[ lengthHorizontal ];\n" +
+				"\t\t\t}\n" +
+				"\t\t}\n" +
+				"\n" +
+				"\t\t/**\n" +
+				"\t\t * Computes the vertical score by summing up the horizontal scores in the region, in the order of their rows\n" +
+				"\t\t */\n" +
+				"\t\tvoid computeVerticalScore( int firstRow , "+sumType+" vertical[] ) {\n" +
+				"\t\t\tfor( int i = 0; i < lengthHorizontal; i++ ) {\n" +
+				"\t\t\t\t"+sumType+" sum = 0;\n" +
+				"\t\t\t\tfor( int row = firstRow; row < firstRow+regionHeight; row++ ) {\n" +
+				"\t\t\t\t\tsum += horizontalScore[row%regionHeight][i];\n" +
+				"\t\t\t\t}\n" +
+				"\t\t\t\tvertical[i] = sum;\n" +
+				"\t\t\t}\n" +
+				"\t\t}\n" +
+				"\t}\n\n");
+	}
 
+	public static void main( String args[] ) throws FileNotFoundException {
+		GenerateDisparityScoreSadRectFive gen = new GenerateDisparityScoreSadRectFive(false);
+		gen.generate();
+		gen = new GenerateDisparityScoreSadRectFive(true);
 		gen.generate();
 	}
-}
\ No newline at end of file
+}
@@ -33,6 +33,10 @@ public class GenerateSelectRectBasicWta extends CodeGeneratorBase {
 	String dataAbr;
 	String sumType;
 
+	public GenerateSelectRectBasicWta() {
+		super(false);
+	}
+
 	@Override
 	public void generate() throws FileNotFoundException {
 		createFile(false,AutoTypeImage.U8);
@@ -50,13 +54,15 @@ public class GenerateSelectRectBasicWta extends CodeGeneratorBase {
 			dataAbr = "S32";
 		}
 
+		className = null;
 		setOutputFile("ImplSelectRectBasicWta_"+dataAbr+"_"+disparity.getAbbreviatedType());
 
 		printPreamble();
 	}
 
 	private void printPreamble() {
-		out.print("import boofcv.alg.feature.disparity.SelectRectBasicWta;\n" +
+		out.print("import boofcv.alg.feature.disparity.DisparitySelectConcurrent;\n" +
+				"import boofcv.alg.feature.disparity.SelectRectBasicWta;\n" +
 				"import boofcv.struct.image."+typeDisparity+";\n" +
 				"\n" +
 				"/**\n" +
@@ -71,6 +77,7 @@ public class GenerateSelectRectBasicWta extends CodeGeneratorBase {
 				" * @author Peter Abeles\n" +
 				" */\n" +
 				"public class "+className+" extends SelectRectBasicWta<"+sumType+"[],"+typeDisparity+">\n" +
+				"\t\timplements DisparitySelectConcurrent<"+sumType+"[],"+typeDisparity+">\n" +
 				"{\n" +
 				"\t@Override\n" +
 				"\tpublic void process(int row, "+sumType+"[] scores) {\n" +
@@ -100,6 +107,11 @@ public class GenerateSelectRectBasicWta extends CodeGeneratorBase {
 				"\t}\n" +
 				"\n" +
 				"\t@Override\n" +
+				"\tpublic DisparitySelectConcurrent<"+sumType+"[], "+typeDisparity+"> concurrentCopy() {\n" +
+				"\t\treturn new "+className+"();\n" +
+				"\t}\n" +
+				"\n" +
+				"\t@Override\n" +
 				"\tpublic Class<"+typeDisparity+"> getDisparityType() {\n" +
 				"\t\treturn "+typeDisparity+".class;\n" +
 				"\t}\n" +
@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.associate;
+
+import boofcv.abst.feature.associate.AssociateDescription;
+import boofcv.factory.feature.associate.FactoryAssociation;
+import boofcv.struct.feature.AssociatedIndex;
+import boofcv.struct.feature.TupleDesc_B;
+import boofcv.struct.feature.TupleDesc_B64;
+import boofcv.struct.feature.TupleDesc_F32;
+import boofcv.struct.feature.TupleDesc_F64;
+import org.ddogleg.struct.FastQueue;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark for associating two sets of random descriptors.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JmhAssociation {
+
+	@Param({"1000"})
+	public int numFeatures;
+	@Param({"64"})
+	public int dof;
+	@Param({"256"})
+	public int numBits;
+
+	FastQueue<TupleDesc_F64> srcF64,dstF64;
+	FastQueue<TupleDesc_F32> srcF32,dstF32;
+	FastQueue<TupleDesc_B> srcB,dstB;
+	FastQueue<TupleDesc_B64> srcB64,dstB64;
+
+	AssociateDescription<TupleDesc_F64> greedyF64;
+	AssociateDescription<TupleDesc_F64> greedyBackwardsF64;
+	AssociateDescription<TupleDesc_F32> greedyF32;
+	AssociateDescription<TupleDesc_B> greedyHamming;
+	AssociateDescription<TupleDesc_B64> greedyHamming64;
+	AssociateDescription<TupleDesc_F64> kdtreeF64;
+	AssociateDescription<TupleDesc_F64> kdForestF64;
+	AssociateDescription<TupleDesc_F64> kdForestF64_MT;
+	AssociateDescription<TupleDesc_F32> kdForestF32;
+	AssociateDescription<TupleDesc_F64> kmeansTreeF64;
+	AssociateDescription<TupleDesc_B64> hashingB64;
+
+	AssociateDescription<TupleDesc_F64> blockF64;
+	AssociateDescription<TupleDesc_F64> blockBackwardsF64;
+	AssociateDescription<TupleDesc_F64> blockBackwardsF64_MT;
+	AssociateDescription<TupleDesc_F32> blockF32;
+	AssociateDescription<TupleDesc_B> blockHamming;
+	AssociateDescription<TupleDesc_B64> blockHamming64;
+
+	@Setup
+	public void setup() {
+		Random rand = new Random(234);
+
+		srcF64 = createF64(rand); dstF64 = createF64(rand);
+		srcF32 = createF32(rand); dstF32 = createF32(rand);
+		srcB = createB(rand); dstB = createB(rand);
+		srcB64 = createB64(srcB); dstB64 = createB64(dstB);
+
+		greedyF64 = FactoryAssociation.greedy(
+				FactoryAssociation.scoreEuclidean(TupleDesc_F64.class,true),Double.MAX_VALUE,false);
+		greedyBackwardsF64 = FactoryAssociation.greedy(
+				FactoryAssociation.scoreEuclidean(TupleDesc_F64.class,true),Double.MAX_VALUE,true);
+		greedyF32 = FactoryAssociation.greedy(
+				FactoryAssociation.scoreEuclidean(TupleDesc_F32.class,true),Double.MAX_VALUE,false);
+		greedyHamming = FactoryAssociation.greedy(
+				FactoryAssociation.scoreHamming(TupleDesc_B.class),Double.MAX_VALUE,false);
+		greedyHamming64 = FactoryAssociation.greedy(
+				FactoryAssociation.scoreHamming(TupleDesc_B64.class),Double.MAX_VALUE,false);
+		kdtreeF64 = FactoryAssociation.kdtree(dof,100);
+		kdForestF64 = FactoryAssociation.kdForest(TupleDesc_F64.class,64,4,234,false);
+		kdForestF64_MT = FactoryAssociation.kdForest(TupleDesc_F64.class,64,4,234,true);
+		kdForestF32 = FactoryAssociation.kdForest(TupleDesc_F32.class,64,4,234,false);
+		kmeansTreeF64 = FactoryAssociation.kmeansTree(TupleDesc_F64.class,128,16,234,false);
+		hashingB64 = FactoryAssociation.multiIndexHashing(TupleDesc_B64.class,200,0,false);
+
+		blockF64 = FactoryAssociation.greedyBlock(
+				FactoryAssociation.scoreEuclidean(TupleDesc_F64.class,true),Double.MAX_VALUE,false,false);
+		blockBackwardsF64 = FactoryAssociation.greedyBlock(
+				FactoryAssociation.scoreEuclidean(TupleDesc_F64.class,true),Double.MAX_VALUE,true,false);
+		blockBackwardsF64_MT = FactoryAssociation.greedyBlock(
+				FactoryAssociation.scoreEuclidean(TupleDesc_F64.class,true),Double.MAX_VALUE,true,true);
+		blockF32 = FactoryAssociation.greedyBlock(
+				FactoryAssociation.scoreEuclidean(TupleDesc_F32.class,true),Double.MAX_VALUE,false,false);
+		blockHamming = FactoryAssociation.greedyBlock(
+				FactoryAssociation.scoreHamming(TupleDesc_B.class),Double.MAX_VALUE,false,false);
+		blockHamming64 = FactoryAssociation.greedyBlock(
+				FactoryAssociation.scoreHamming(TupleDesc_B64.class),Double.MAX_VALUE,false,false);
+	}
+
+	@Benchmark
+	public FastQueue<AssociatedIndex> greedy_F64() {
+		return associate(greedyF64,srcF64,dstF64);
+	}
+
+	@Benchmark
+	public FastQueue<AssociatedIndex> greedyBackwards_F64() {
+		return associate(greedyBackwardsF64,srcF64,dstF64);
+	}
+
+	@Benchmark
+	public FastQueue<AssociatedIndex> greedy_F32() {
+		return associate(greedyF32,srcF32,dstF32);
+	}
+
+	@Benchmark
+	public FastQueue<AssociatedIndex> greedyHamming_B() {
+		return associate(greedyHamming,srcB,dstB);
+	}
+
+	@Benchmark
+	public FastQueue<AssociatedIndex> greedyHamming_B64() {
+		return associate(greedyHamming64,srcB64,dstB64);
+	}
+
+	@Benchmark
+	public FastQueue<AssociatedIndex> greedyBlock_F64() {
+		return associate(blockF64,srcF64,dstF64);
+	}
+
+	@Benchmark
+	public FastQueue<AssociatedIndex> greedyBlockBackwards_F64() {
+		return associate(blockBackwardsF64,srcF64,dstF64);
+	}
+
+	@Benchmark
+	public FastQueue<AssociatedIndex> greedyBlockBackwards_F64_MT() {
+		return associate(blockBackwardsF64_MT,srcF64,dstF64);
+	}
+
+	@Benchmark
+	public FastQueue<AssociatedIndex> greedyBlock_F32() {
+		return associate(blockF32,srcF32,dstF32);
+	}
+
+	@Benchmark
+	public FastQueue<AssociatedIndex> greedyBlockHamming_B() {
+		return associate(blockHamming,srcB,dstB);
+	}
+
+	@Benchmark
+	public FastQueue<AssociatedIndex> greedyBlockHamming_B64() {
+		return associate(blockHamming64,srcB64,dstB64);
+	}
+
+	@Benchmark
+	public FastQueue<AssociatedIndex> kdtree_F64() {
+		return associate(kdtreeF64,srcF64,dstF64);
+	}
+
+	@Benchmark
+	public FastQueue<AssociatedIndex> kdForest_F64() {
+		return associate(kdForestF64,srcF64,dstF64);
+	}
+
+	@Benchmark
+	public FastQueue<AssociatedIndex> kdForest_F64_MT() {
+		return associate(kdForestF64_MT,srcF64,dstF64);
+	}
+
+	@Benchmark
+	public FastQueue<AssociatedIndex> kdForest_F32() {
+		return associate(kdForestF32,srcF32,dstF32);
+	}
+
+	@Benchmark
+	public FastQueue<AssociatedIndex> kmeansTree_F64() {
+		return associate(kmeansTreeF64,srcF64,dstF64);
+	}
+
+	@Benchmark
+	public FastQueue<AssociatedIndex> multiIndexHashing_B64() {
+		return associate(hashingB64,srcB64,dstB64);
+	}
+
+	private static <D> FastQueue<AssociatedIndex> associate( AssociateDescription<D> alg ,
+															 FastQueue<D> src , FastQueue<D> dst ) {
+		alg.setSource(src);
+		alg.setDestination(dst);
+		alg.associate();
+		return alg.getMatches();
+	}
+
+	private FastQueue<TupleDesc_F64> createF64( Random rand ) {
+		FastQueue<TupleDesc_F64> ret = new FastQueue<>(TupleDesc_F64.class,false);
+		for( int i = 0; i < numFeatures; i++ ) {
+			TupleDesc_F64 t = new TupleDesc_F64(dof);
+			for( int j = 0; j < dof; j++ ) {
+				t.value[j] = (rand.nextDouble()-0.5)*20;
+			}
+			ret.add(t);
+		}
+		return ret;
+	}
+
+	private FastQueue<TupleDesc_F32> createF32( Random rand ) {
+		FastQueue<TupleDesc_F32> ret = new FastQueue<>(TupleDesc_F32.class,false);
+		for( int i = 0; i < numFeatures; i++ ) {
+			TupleDesc_F32 t = new TupleDesc_F32(dof);
+			for( int j = 0; j < dof; j++ ) {
+				t.value[j] = (float)((rand.nextDouble()-0.5)*20);
+			}
+			ret.add(t);
+		}
+		return ret;
+	}
+
+	private FastQueue<TupleDesc_B> createB( Random rand ) {
+		FastQueue<TupleDesc_B> ret = new FastQueue<>(TupleDesc_B.class,false);
+		for( int i = 0; i < numFeatures; i++ ) {
+			TupleDesc_B t = new TupleDesc_B(numBits);
+			for( int j = 0; j < t.data.length; j++ ) {
+				t.data[j] = rand.nextInt();
+			}
+			ret.add(t);
+		}
+		return ret;
+	}
+
+	/**
+	 * Same bits as the input descriptors but stored in 64-bit words
+	 */
+	private FastQueue<TupleDesc_B64> createB64( FastQueue<TupleDesc_B> input ) {
+		FastQueue<TupleDesc_B64> ret = new FastQueue<>(TupleDesc_B64.class,false);
+		for( int i = 0; i < input.size; i++ ) {
+			TupleDesc_B64 t = new TupleDesc_B64(numBits);
+			t.setTo(input.get(i));
+			ret.add(t);
+		}
+		return ret;
+	}
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.extract;
+
+import boofcv.abst.feature.detect.extract.ConfigExtract;
+import boofcv.abst.feature.detect.extract.NonMaxSuppression;
+import boofcv.alg.feature.detect.intensity.FastCornerIntensity;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.factory.feature.detect.extract.FactoryFeatureExtractor;
+import boofcv.factory.feature.detect.intensity.FactoryIntensityPointAlg;
+import boofcv.struct.QueueCorner;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark for non-maximum suppression.  The intensity image and candidate list come from
+ * running FAST on a random image so that the number of local maximums is realistic.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JmhNonMaxSuppression {
+
+	@Param({"640"})
+	public int width;
+	@Param({"480"})
+	public int height;
+	@Param({"2","5"})
+	public int radius;
+
+	GrayF32 intensity = new GrayF32(1,1);
+	QueueCorner candidates = new QueueCorner();
+	QueueCorner found = new QueueCorner();
+
+	NonMaxSuppression blockStrict;
+	NonMaxSuppression blockStrict_MT;
+	NonMaxSuppression blockRelaxed;
+	NonMaxSuppression candidateStrict;
+
+	@Setup
+	public void setup() {
+		Random rand = new Random(234);
+
+		GrayU8 input = new GrayU8(width,height);
+		intensity.reshape(width,height);
+		ImageMiscOps.fillUniform(input,rand,0,200);
+
+		FastCornerIntensity<GrayU8> fast = FactoryIntensityPointAlg.fast(20,9,GrayU8.class);
+		fast.process(input,intensity);
+		candidates.reset();
+		for( int i = 0; i < fast.getCandidates().size; i++ ) {
+			candidates.add(fast.getCandidates().get(i));
+		}
+
+		blockStrict = FactoryFeatureExtractor.nonmax(new ConfigExtract(radius,1,radius,true),false);
+		blockStrict_MT = FactoryFeatureExtractor.nonmax(new ConfigExtract(radius,1,radius,true),true);
+		blockRelaxed = FactoryFeatureExtractor.nonmax(new ConfigExtract(radius,1,radius,false),false);
+		candidateStrict = FactoryFeatureExtractor.nonmaxCandidate(new ConfigExtract(radius,1,radius,true));
+	}
+
+	@Benchmark
+	public QueueCorner blockStrict() {
+		found.reset();
+		blockStrict.process(intensity,null,null,null,found);
+		return found;
+	}
+
+	@Benchmark
+	public QueueCorner blockStrict_MT() {
+		found.reset();
+		blockStrict_MT.process(intensity,null,null,null,found);
+		return found;
+	}
+
+	@Benchmark
+	public QueueCorner blockRelaxed() {
+		found.reset();
+		blockRelaxed.process(intensity,null,null,null,found);
+		return found;
+	}
+
+	@Benchmark
+	public QueueCorner candidateStrict() {
+		found.reset();
+		candidateStrict.process(intensity,null,candidates,null,found);
+		return found;
+	}
+}
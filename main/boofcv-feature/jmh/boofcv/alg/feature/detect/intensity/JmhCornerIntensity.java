@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.intensity;
+
+import boofcv.alg.filter.derivative.GradientSobel;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.core.image.border.FactoryImageBorderAlgs;
+import boofcv.factory.feature.detect.intensity.FactoryIntensityPointAlg;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayS16;
+import boofcv.struct.image.GrayU8;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark for computing FAST and gradient based corner intensity images.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JmhCornerIntensity {
+
+	@Param({"640"})
+	public int width;
+	@Param({"480"})
+	public int height;
+
+	GrayU8 inputU8 = new GrayU8(1,1);
+	GrayF32 inputF32 = new GrayF32(1,1);
+	GrayS16 derivX_S16 = new GrayS16(1,1);
+	GrayS16 derivY_S16 = new GrayS16(1,1);
+	GrayF32 derivX_F32 = new GrayF32(1,1);
+	GrayF32 derivY_F32 = new GrayF32(1,1);
+	GrayF32 intensity = new GrayF32(1,1);
+
+	FastCornerIntensity<GrayU8> fast9_U8;
+	FastCornerIntensity<GrayU8> fast12_U8;
+	FastCornerIntensity<GrayF32> fast9_F32;
+	ShiTomasiCornerIntensity<GrayS16> shiTomasi_S16;
+	ShiTomasiCornerIntensity<GrayF32> shiTomasi_F32;
+	ShiTomasiCornerIntensity<GrayF32> shiTomasiWeighted_F32;
+	HarrisCornerIntensity<GrayF32> harris_F32;
+
+	@Setup
+	public void setup() {
+		Random rand = new Random(234);
+
+		inputU8.reshape(width,height);
+		inputF32.reshape(width,height);
+		derivX_S16.reshape(width,height);
+		derivY_S16.reshape(width,height);
+		derivX_F32.reshape(width,height);
+		derivY_F32.reshape(width,height);
+		intensity.reshape(width,height);
+
+		ImageMiscOps.fillUniform(inputU8,rand,0,200);
+		ImageMiscOps.fillUniform(inputF32,rand,0,200);
+		GradientSobel.process(inputU8,derivX_S16,derivY_S16,FactoryImageBorderAlgs.extend(inputU8));
+		GradientSobel.process(inputF32,derivX_F32,derivY_F32,FactoryImageBorderAlgs.extend(inputF32));
+
+		fast9_U8 = FactoryIntensityPointAlg.fast(20,9,GrayU8.class);
+		fast12_U8 = FactoryIntensityPointAlg.fast(20,12,GrayU8.class);
+		fast9_F32 = FactoryIntensityPointAlg.fast(20,9,GrayF32.class);
+		shiTomasi_S16 = FactoryIntensityPointAlg.shiTomasi(2,false,GrayS16.class);
+		shiTomasi_F32 = FactoryIntensityPointAlg.shiTomasi(2,false,GrayF32.class);
+		shiTomasiWeighted_F32 = FactoryIntensityPointAlg.shiTomasi(2,true,GrayF32.class);
+		harris_F32 = FactoryIntensityPointAlg.harris(2,0.04f,false,GrayF32.class);
+	}
+
+	@Benchmark
+	public void fast9_U8() {
+		fast9_U8.process(inputU8,intensity);
+	}
+
+	@Benchmark
+	public void fast12_U8() {
+		fast12_U8.process(inputU8,intensity);
+	}
+
+	@Benchmark
+	public void fast9_F32() {
+		fast9_F32.process(inputF32,intensity);
+	}
+
+	@Benchmark
+	public void shiTomasi_S16() {
+		shiTomasi_S16.process(derivX_S16,derivY_S16,intensity);
+	}
+
+	@Benchmark
+	public void shiTomasi_F32() {
+		shiTomasi_F32.process(derivX_F32,derivY_F32,intensity);
+	}
+
+	@Benchmark
+	public void shiTomasiWeighted_F32() {
+		shiTomasiWeighted_F32.process(derivX_F32,derivY_F32,intensity);
+	}
+
+	@Benchmark
+	public void harris_F32() {
+		harris_F32.process(derivX_F32,derivY_F32,intensity);
+	}
+}
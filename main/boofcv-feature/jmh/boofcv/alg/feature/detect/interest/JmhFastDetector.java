@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.interest;
+
+import boofcv.abst.feature.detect.intensity.WrapperFastCornerIntensity;
+import boofcv.abst.feature.detect.interest.ConfigFast;
+import boofcv.abst.feature.detect.interest.ConfigGeneralDetector;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.factory.feature.detect.intensity.FactoryIntensityPointAlg;
+import boofcv.factory.feature.detect.interest.FactoryDetectPoint;
+import boofcv.struct.image.GrayU8;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark comparing FAST detection with an intensity image against the fused detector.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JmhFastDetector {
+
+	@Param({"640"})
+	public int width;
+	@Param({"480"})
+	public int height;
+
+	GrayU8 input = new GrayU8(1,1);
+
+	GeneralFeatureDetector<GrayU8,GrayU8> intensity;
+	GeneralFeatureDetector<GrayU8,GrayU8> fused;
+	GeneralFeatureDetector<GrayU8,GrayU8> fused_MT;
+
+	@Setup
+	public void setup() {
+		Random rand = new Random(234);
+
+		input.reshape(width,height);
+		ImageMiscOps.fillUniform(input,rand,0,200);
+
+		ConfigGeneralDetector configIntensity = new ConfigGeneralDetector(-1,2,0,0,true,false,true);
+		intensity = FactoryDetectPoint.createGeneral(
+				new WrapperFastCornerIntensity<GrayU8,GrayU8>(FactoryIntensityPointAlg.fast(20,9,GrayU8.class)),
+				configIntensity);
+		fused = FactoryDetectPoint.createFastFused(new ConfigFast(20,9),new ConfigGeneralDetector(-1,2,0),GrayU8.class,false);
+		fused_MT = FactoryDetectPoint.createFastFused(new ConfigFast(20,9),new ConfigGeneralDetector(-1,2,0),GrayU8.class,true);
+	}
+
+	@Benchmark
+	public void intensity() {
+		intensity.process(input,null,null,null,null,null);
+	}
+
+	@Benchmark
+	public void fused() {
+		fused.process(input,null,null,null,null,null);
+	}
+
+	@Benchmark
+	public void fused_MT() {
+		fused_MT.process(input,null,null,null,null,null);
+	}
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity;
+
+import boofcv.abst.feature.disparity.StereoDisparity;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.core.image.ConvertImage;
+import boofcv.factory.feature.disparity.ConfigDisparitySGM;
+import boofcv.factory.feature.disparity.DisparityAlgorithms;
+import boofcv.factory.feature.disparity.FactoryStereoDisparity;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark for dense SAD rectangular region disparity and semi-global matching.  The right image is the
+ * left image shifted by a constant amount.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JmhDisparitySad {
+
+	@Param({"640"})
+	public int width;
+	@Param({"480"})
+	public int height;
+	@Param({"60"})
+	public int maxDisparity;
+	@Param({"2"})
+	public int radius;
+	@Param({"true","false"})
+	public boolean concurrent;
+
+	GrayU8 leftU8,rightU8;
+	GrayF32 leftF32,rightF32;
+
+	StereoDisparity<GrayU8,GrayU8> rect_U8;
+	StereoDisparity<GrayU8,GrayU8> rectFive_U8;
+	StereoDisparity<GrayU8,GrayU8> rectCensus_U8;
+	StereoDisparity<GrayF32,GrayU8> rect_F32;
+	StereoDisparity<GrayU8,GrayF32> rectSubpixel_U8;
+	StereoDisparity<GrayU8,GrayF32> sgm_U8;
+	StereoDisparity<GrayU8,GrayF32> sgmStrips_U8;
+
+	@Setup
+	public void setup() {
+		Random rand = new Random(234);
+
+		leftU8 = new GrayU8(width,height);
+		rightU8 = new GrayU8(width,height);
+		ImageMiscOps.fillUniform(leftU8,rand,0,200);
+		int shift = maxDisparity/3;
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 0; x < width; x++ ) {
+				rightU8.set(x,y,leftU8.get(Math.min(width-1,x+shift),y));
+			}
+		}
+		leftF32 = ConvertImage.convert(leftU8,(GrayF32)null);
+		rightF32 = ConvertImage.convert(rightU8,(GrayF32)null);
+
+		// the factory selects the concurrent implementations when this is true
+		BoofConcurrency.USE_CONCURRENT = concurrent;
+		rect_U8 = FactoryStereoDisparity.regionWta(DisparityAlgorithms.RECT,
+				0,maxDisparity,radius,radius,-1,2,0.1,GrayU8.class);
+		rectFive_U8 = FactoryStereoDisparity.regionWta(DisparityAlgorithms.RECT_FIVE,
+				0,maxDisparity,radius,radius,-1,2,0.1,GrayU8.class);
+		rectCensus_U8 = FactoryStereoDisparity.regionWta(DisparityAlgorithms.RECT_CENSUS,
+				0,maxDisparity,radius,radius,-1,2,0.1,GrayU8.class);
+		rect_F32 = FactoryStereoDisparity.regionWta(DisparityAlgorithms.RECT,
+				0,maxDisparity,radius,radius,-1,2,0.1,GrayF32.class);
+		rectSubpixel_U8 = FactoryStereoDisparity.regionSubpixelWta(DisparityAlgorithms.RECT,
+				0,maxDisparity,radius,radius,-1,2,0.1,GrayU8.class);
+
+		ConfigDisparitySGM configSgm = new ConfigDisparitySGM();
+		configSgm.maxDisparity = maxDisparity;
+		sgm_U8 = FactoryStereoDisparity.sgm(configSgm,GrayU8.class);
+		configSgm.stripHeight = 64;
+		sgmStrips_U8 = FactoryStereoDisparity.sgm(configSgm,GrayU8.class);
+	}
+
+	@Benchmark
+	public GrayU8 rect_U8() {
+		rect_U8.process(leftU8,rightU8);
+		return rect_U8.getDisparity();
+	}
+
+	@Benchmark
+	public GrayU8 rectFive_U8() {
+		rectFive_U8.process(leftU8,rightU8);
+		return rectFive_U8.getDisparity();
+	}
+
+	@Benchmark
+	public GrayU8 rectCensus_U8() {
+		rectCensus_U8.process(leftU8,rightU8);
+		return rectCensus_U8.getDisparity();
+	}
+
+	@Benchmark
+	public GrayU8 rect_F32() {
+		rect_F32.process(leftF32,rightF32);
+		return rect_F32.getDisparity();
+	}
+
+	@Benchmark
+	public GrayF32 rectSubpixel_U8() {
+		rectSubpixel_U8.process(leftU8,rightU8);
+		return rectSubpixel_U8.getDisparity();
+	}
+
+	@Benchmark
+	public GrayF32 sgm_U8() {
+		sgm_U8.process(leftU8,rightU8);
+		return sgm_U8.getDisparity();
+	}
+
+	@Benchmark
+	public GrayF32 sgmStrips_U8() {
+		sgmStrips_U8.process(leftU8,rightU8);
+		return sgmStrips_U8.getDisparity();
+	}
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.tracker.klt;
+
+import boofcv.alg.filter.blur.BlurImageOps;
+import boofcv.alg.filter.derivative.GradientSobel;
+import boofcv.alg.interpolate.InterpolateRectangle;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.alg.misc.PixelMath;
+import boofcv.core.image.border.BorderIndex1D_Extend;
+import boofcv.core.image.border.ImageBorder1D_F32;
+import boofcv.factory.interpolate.FactoryInterpolation;
+import boofcv.factory.tracker.FactoryTrackerAlg;
+import boofcv.struct.image.GrayF32;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark comparing {@link KltTracker} against {@link KltTrackerGainBias}.  Features are described in
+ * one image and tracked in a shifted copy of it. The "lighting" benchmarks also change the image's gain and bias.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JmhKltTracker {
+
+	@Param({"640"})
+	public int width;
+	@Param({"480"})
+	public int height;
+	@Param({"3","7"})
+	public int radius;
+
+	// spacing between features in the grid
+	int spacing = 16;
+	// translation between the two images
+	float shiftX = 1.3f, shiftY = -0.6f;
+
+	GrayF32 image0 = new GrayF32(1,1);
+	GrayF32 image1 = new GrayF32(1,1);
+	GrayF32 lighting1 = new GrayF32(1,1);
+	GrayF32 derivX = new GrayF32(1,1);
+	GrayF32 derivY = new GrayF32(1,1);
+
+	KltTracker<GrayF32,GrayF32> klt;
+	KltTrackerGainBias<GrayF32,GrayF32> gainBias;
+
+	KltFeature[] featuresKlt;
+	KltFeature[] featuresGainBias;
+
+	@Setup
+	public void setup() {
+		Random rand = new Random(234);
+
+		GrayF32 texture = new GrayF32(width+10,height+10);
+		ImageMiscOps.fillUniform(texture, rand, 0, 200);
+		texture = BlurImageOps.gaussian(texture, null, -1, 2, null);
+
+		image0 = texture.subimage(5,5,5+width,5+height).clone();
+		image1.reshape(width,height);
+		lighting1.reshape(width,height);
+		derivX.reshape(width,height);
+		derivY.reshape(width,height);
+
+		// bilinear interpolation is used to create the shifted image
+		InterpolateRectangle<GrayF32> interp = FactoryInterpolation.bilinearRectangle(GrayF32.class);
+		interp.setImage(texture);
+		interp.region(5-shiftX, 5-shiftY, image1);
+		PixelMath.multiply(image1, 1.2f, lighting1);
+		PixelMath.plus(lighting1, 10, lighting1);
+
+		GradientSobel.process(image0, derivX, derivY, new ImageBorder1D_F32(BorderIndex1D_Extend.class));
+
+		KltConfig config = new KltConfig();
+		klt = FactoryTrackerAlg.klt(config, GrayF32.class, GrayF32.class);
+		KltConfig configGB = new KltConfig();
+		configGB.gainBias = true;
+		gainBias = (KltTrackerGainBias<GrayF32,GrayF32>)FactoryTrackerAlg.klt(configGB, GrayF32.class, GrayF32.class);
+
+		featuresKlt = describe(klt);
+		featuresGainBias = describe(gainBias);
+	}
+
+	private KltFeature[] describe( KltTracker<GrayF32,GrayF32> tracker ) {
+		tracker.setImage(image0, derivX, derivY);
+
+		int cols = (width-2*spacing)/spacing;
+		int rows = (height-2*spacing)/spacing;
+		KltFeature[] features = new KltFeature[rows*cols];
+		for (int i = 0; i < rows; i++) {
+			for (int j = 0; j < cols; j++) {
+				KltFeature f = new KltFeature(radius);
+				f.setPosition(spacing*(j+1), spacing*(i+1));
+				tracker.setDescription(f);
+				features[i*cols+j] = f;
+			}
+		}
+		return features;
+	}
+
+	private int track( KltTracker<GrayF32,GrayF32> tracker , KltFeature[] features , GrayF32 image ) {
+		tracker.setImage(image, derivX, derivY);
+
+		int total = 0;
+		for (int i = 0; i < features.length; i++) {
+			KltFeature f = features[i];
+			int x = spacing*(1 + i%((width-2*spacing)/spacing));
+			int y = spacing*(1 + i/((width-2*spacing)/spacing));
+			f.setPosition(x, y);
+			if( tracker.track(f) == KltTrackFault.SUCCESS )
+				total++;
+		}
+		return total;
+	}
+
+	@Benchmark
+	public int klt() {
+		return track(klt, featuresKlt, image1);
+	}
+
+	@Benchmark
+	public int gainBias() {
+		return track(gainBias, featuresGainBias, image1);
+	}
+
+	@Benchmark
+	public int klt_lighting() {
+		return track(klt, featuresKlt, lighting1);
+	}
+
+	@Benchmark
+	public int gainBias_lighting() {
+		return track(gainBias, featuresGainBias, lighting1);
+	}
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.abst.feature.associate;
+
+import boofcv.alg.feature.associate.FindUnassociated;
+import boofcv.alg.feature.associate.nn.DescriptorIndex;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntBlockConsumer;
+import boofcv.struct.feature.AssociatedIndex;
+import boofcv.struct.feature.MatchScoreType;
+import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_F64;
+import org.ddogleg.struct.GrowQueue_I32;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Matches features using a {@link DescriptorIndex}.  Similar to {@link AssociateNearestNeighbor}, the
+ * source features are used to build the index and then each destination feature is searched for. Multiple
+ * matches for source features are possible while there will only be a unique match for each destination feature.
+ * The threshold and fit scores are in the same units as the index, see {@link DescriptorIndex#findNearest}.
+ * Optionally, the destination features can be searched for by multiple threads.  Each search is independent of
+ * the others so the results are identical to the single threaded version.
+ *
+ * @author Peter Abeles
+ */
+public class AssociateDescriptorIndex<D> implements AssociateDescription<D> {
+
+	// searches for the nearest neighbor
+	DescriptorIndex<D> index;
+
+	// number of features in the source list
+	int numSource;
+	// list of features in destination set that are to be searched for in the source list
+	FastQueue<D> listDst;
+
+	// List of final associated points
+	FastQueue<AssociatedIndex> matches = new FastQueue<>(100, AssociatedIndex.class, true);
+
+	// creates a list of unassociated features from the list of matches
+	FindUnassociated unassociated = new FindUnassociated();
+
+	// maximum distance away two features can be
+	double maxDistance = Double.MAX_VALUE;
+
+	// if true it will search for blocks of destination features in parallel
+	boolean concurrent;
+
+	// searcher used by each block
+	final List<DescriptorIndex.Searcher<D>> searchers = new ArrayList<>();
+
+	// nearest source feature and its distance for each destination feature
+	GrowQueue_I32 nearest = new GrowQueue_I32();
+	GrowQueue_F64 nearestDistance = new GrowQueue_F64();
+
+	/**
+	 * Configure association
+	 *
+	 * @param index Index used to search for the source features
+	 * @param concurrent If true then the destination features are split up between multiple threads
+	 */
+	public AssociateDescriptorIndex(DescriptorIndex<D> index, boolean concurrent) {
+		this.index = index;
+		this.concurrent = concurrent;
+	}
+
+	@Override
+	public void setSource(FastQueue<D> listSrc) {
+		numSource = listSrc.size;
+		index.setDescriptors(listSrc);
+	}
+
+	@Override
+	public void setDestination(FastQueue<D> listDst) {
+		this.listDst = listDst;
+	}
+
+	@Override
+	public void associate() {
+		if( listDst == null )
+			throw new IllegalArgumentException("destination features not specified");
+
+		matches.reset();
+		final int N = listDst.size;
+		nearest.resize(N);
+		nearestDistance.resize(N);
+
+		// rough estimate of the number of distances computed
+		int checks = index.getMaxChecks() > 0 ? Math.min(index.getMaxChecks(), numSource) : numSource;
+		int work = (int)Math.min(Integer.MAX_VALUE, (long)N*checks);
+
+		int numBlocks = concurrent && BoofConcurrency.useConcurrent(work) ?
+				BoofConcurrency.computeNumberOfBlocks(N, 10) : 1;
+
+		while( searchers.size() < numBlocks ) {
+			searchers.add(index.createSearcher());
+		}
+
+		BoofConcurrency.loopBlocksIndexed(0, N, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept(int block, int minInclusive, int maxExclusive) {
+				DescriptorIndex.Searcher<D> searcher = searchers.get(block);
+				for( int i = minInclusive; i < maxExclusive; i++ ) {
+					nearest.data[i] = searcher.findNearest(listDst.data[i], maxDistance);
+					nearestDistance.data[i] = searcher.getDistance();
+				}
+			}
+		});
+
+		for( int i = 0; i < N; i++ ) {
+			int indexSrc = nearest.data[i];
+			if( indexSrc < 0 )
+				continue;
+			matches.grow().setAssociation(indexSrc,i,nearestDistance.data[i]);
+		}
+	}
+
+	@Override
+	public FastQueue<AssociatedIndex> getMatches() {
+		return matches;
+	}
+
+	@Override
+	public GrowQueue_I32 getUnassociatedSource() {
+		return unassociated.checkSource(matches,numSource);
+	}
+
+	@Override
+	public GrowQueue_I32 getUnassociatedDestination() {
+		return unassociated.checkDestination(matches,listDst.size);
+	}
+
+	@Override
+	public void setThreshold(double score) {
+		this.maxDistance = score;
+	}
+
+	@Override
+	public MatchScoreType getScoreType() {
+		return MatchScoreType.NORM_ERROR;
+	}
+
+	@Override
+	public boolean uniqueSource() {
+		return false;
+	}
+
+	@Override
+	public boolean uniqueDestination() {
+		return true;
+	}
+
+	public DescriptorIndex<D> getIndex() {
+		return index;
+	}
+}
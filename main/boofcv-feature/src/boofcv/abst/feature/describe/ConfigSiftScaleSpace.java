@@ -20,6 +20,7 @@ package boofcv.abst.feature.describe;
 
 
 import boofcv.alg.feature.detect.interest.SiftScaleSpace;
+import boofcv.alg.feature.detect.interest.UnrollSiftScaleSpaceGradient;
 import boofcv.struct.Configuration;
 
 /**
@@ -47,6 +48,18 @@ public class ConfigSiftScaleSpace implements Configuration {
 	 */
 	public int firstOctave = -1, lastOctave = 5;
 
+	/**
+	 * If true then all the scale and DoG images in an octave are saved.  Otherwise only the most recent ones
+	 * are saved, which significantly reduces memory.  Only needs to be true if you need random access
+	 * to the images in {@link SiftScaleSpace}.
+	 *
+	 * <p>This only changes the memory used by {@link SiftScaleSpace}.  When SIFT orientation or descriptors are
+	 * computed for points found by a different detector, {@link UnrollSiftScaleSpaceGradient} still saves the
+	 * gradient of every scale in every octave.  That is the largest memory consumer in that case and it is not
+	 * affected by this flag.  CompleteSift does not use it.  It only keeps the gradient of the current scale.</p>
+	 */
+	public boolean retainAllScales = false;
+
 	/**
 	 * Creates a configuration similar to how it was originally described in the paper
 	 */
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.describe;
+
+import boofcv.alg.feature.describe.DescribePointBriefSO;
+import boofcv.struct.feature.TupleDesc_B64;
+import boofcv.struct.image.ImageGray;
+import boofcv.struct.image.ImageType;
+
+/**
+ * Same as {@link WrapDescribeBriefSo} but the descriptor is stored in 64-bit words, see {@link TupleDesc_B64}.
+ *
+ * @author Peter Abeles
+ */
+public class WrapDescribeBriefSo64<T extends ImageGray<T>> implements DescribeRegionPoint<T,TupleDesc_B64> {
+
+	int length;
+	DescribePointBriefSO<T> alg;
+	ImageType<T> imageType;
+
+	public WrapDescribeBriefSo64(DescribePointBriefSO<T> alg , Class<T> imageType ) {
+		this.alg = alg;
+		this.length = alg.getDefinition().getLength();
+		this.imageType = ImageType.single(imageType);
+	}
+
+	@Override
+	public TupleDesc_B64 createDescription() {
+		return new TupleDesc_B64(length);
+	}
+
+	@Override
+	public void setImage(T image) {
+		alg.setImage(image);
+	}
+
+	@Override
+	public boolean process(double x, double y, double orientation, double radius, TupleDesc_B64 storage)
+	{
+		alg.process((float) x, (float) y, (float) orientation, (float) radius, storage);
+		return true;
+	}
+
+	@Override
+	public boolean requiresRadius() {
+		return true;
+	}
+
+	@Override
+	public boolean requiresOrientation() {
+		return true;
+	}
+
+	@Override
+	public ImageType<T> getImageType() {
+		return imageType;
+	}
+
+	@Override
+	public Class<TupleDesc_B64> getDescriptionType() {
+		return TupleDesc_B64.class;
+	}
+
+	@Override
+	public double getCanonicalWidth() {
+		return alg.getDefinition().radius*2+1;
+	}
+}
@@ -23,6 +23,8 @@ import boofcv.abst.feature.describe.ConfigSiftScaleSpace;
 import boofcv.abst.feature.detect.interest.ConfigSiftDetector;
 import boofcv.abst.feature.orientation.ConfigSiftOrientation;
 import boofcv.alg.feature.detdesc.CompleteSift;
+import boofcv.alg.feature.detdesc.CompleteSift_MT;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.Configuration;
 
 /**
@@ -37,6 +39,9 @@ public class ConfigCompleteSift implements Configuration{
 	public ConfigSiftOrientation orientation = new ConfigSiftOrientation();
 	public ConfigSiftDescribe describe = new ConfigSiftDescribe();
 
+	/** If true then the key points in each scale are described by multiple threads.  See {@link CompleteSift_MT} */
+	public boolean concurrent = BoofConcurrency.USE_CONCURRENT;
+
 	/**
 	 * Creates a configuration similar to how it was originally described in the paper
 	 */
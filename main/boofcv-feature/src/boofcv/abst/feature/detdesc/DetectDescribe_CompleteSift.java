@@ -95,4 +95,8 @@ public class DetectDescribe_CompleteSift<I extends ImageGray<I>>
 	public boolean hasOrientation() {
 		return true;
 	}
+
+	public CompleteSift getAlg() {
+		return alg;
+	}
 }
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.abst.feature.detdesc;
+
+import boofcv.abst.feature.orientation.OrientationIntegral;
+import boofcv.alg.feature.describe.DescribePointSurf;
+import boofcv.alg.feature.detect.interest.FastHessianFeatureDetector;
+import boofcv.alg.transform.ii.GIntegralImageOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntBlockConsumer;
+import boofcv.concurrency.ObjectFactory;
+import boofcv.struct.BoofDefaults;
+import boofcv.struct.feature.ScalePoint;
+import boofcv.struct.image.ImageGray;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Concurrent implementation of {@link WrapDetectDescribeSurf}.  Orientation estimation and description of each
+ * detected feature are independent, so detected features are split into blocks and each block is processed
+ * by its own orientation and description algorithm.  Features are written into the same index as the single
+ * threaded version, producing identical results.
+ *
+ * @param <T> Input image type
+ * @param <II> Integral image type
+ *
+ * @author Peter Abeles
+ */
+public class WrapDetectDescribeSurf_MT
+		<T extends ImageGray<T>, II extends ImageGray<II>>
+	extends WrapDetectDescribeSurf<T,II>
+{
+	// creates orientation and description algorithms for each block
+	private ObjectFactory<OrientationIntegral<II>> factoryOrientation;
+	private ObjectFactory<DescribePointSurf<II>> factoryDescribe;
+
+	// algorithms used by each block
+	private List<OrientationIntegral<II>> blockOrientation = new ArrayList<>();
+	private List<DescribePointSurf<II>> blockDescribe = new ArrayList<>();
+
+	public WrapDetectDescribeSurf_MT(FastHessianFeatureDetector<II> detector,
+									 ObjectFactory<OrientationIntegral<II>> factoryOrientation,
+									 ObjectFactory<DescribePointSurf<II>> factoryDescribe )
+	{
+		super(detector, factoryOrientation.newInstance(), factoryDescribe.newInstance());
+		this.factoryOrientation = factoryOrientation;
+		this.factoryDescribe = factoryDescribe;
+	}
+
+	@Override
+	public void detect(T input) {
+		if( ii != null ) {
+			ii.reshape(input.width,input.height);
+		}
+
+		// compute integral image
+		ii = GIntegralImageOps.transform(input, ii);
+
+		// detect features
+		detector.detect(ii);
+
+		// describe the found interest points
+		foundPoints = detector.getFoundPoints();
+
+		int N = foundPoints.size();
+		features.resize(N);
+		featureAngles.resize(N);
+
+		int numBlocks = BoofConcurrency.computeNumberOfBlocks(N,10);
+		while( blockOrientation.size() < numBlocks ) {
+			blockOrientation.add( factoryOrientation.newInstance() );
+			blockDescribe.add( factoryDescribe.newInstance() );
+		}
+		for( int block = 0; block < numBlocks; block++ ) {
+			blockOrientation.get(block).setImage(ii);
+			blockDescribe.get(block).setImage(ii);
+		}
+
+		BoofConcurrency.loopBlocksIndexed(0, N, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept(int block, int minInclusive, int maxExclusive) {
+				OrientationIntegral<II> orientation = blockOrientation.get(block);
+				DescribePointSurf<II> describe = blockDescribe.get(block);
+
+				for( int i = minInclusive; i < maxExclusive; i++ ) {
+					ScalePoint p = foundPoints.get(i);
+					double radius = p.scale* BoofDefaults.SURF_SCALE_TO_RADIUS;
+
+					orientation.setObjectRadius(radius);
+					double angle = orientation.compute(p.x,p.y);
+					describe.describe(p.x,p.y, angle, p.scale, features.get(i));
+					featureAngles.data[i] = angle;
+				}
+			}
+		});
+	}
+}
@@ -18,6 +18,7 @@
 
 package boofcv.abst.feature.detect.interest;
 
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.Configuration;
 
 /**
@@ -69,6 +70,13 @@ public class ConfigFastHessian implements Configuration {
 	 */
 	public int scaleStepSize = 6;
 
+	/**
+	 * If true then the feature intensity is computed by multiple threads.  When creating SURF the orientation
+	 * and description are also computed by multiple threads.
+	 * See {@link boofcv.alg.feature.detect.interest.FastHessianFeatureDetector_MT}.
+	 */
+	public boolean concurrent = BoofConcurrency.USE_CONCURRENT;
+
 	public ConfigFastHessian(float detectThreshold,
 							 int extractRadius,
 							 int maxFeaturesPerScale,
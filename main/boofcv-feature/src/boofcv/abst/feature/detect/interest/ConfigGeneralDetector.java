@@ -33,6 +33,18 @@ public class ConfigGeneralDetector extends ConfigExtract {
 	 */
 	public int maxFeatures = -1;
 
+	/**
+	 * Number of rows and columns in the grid used to spread features across the image.  If either is &le; 0 then
+	 * a grid isn't used.  Default is 0.
+	 */
+	public int gridRows = 0, gridCols = 0;
+
+	/**
+	 * Maximum number of features inside each grid cell.  If &le; 0 then maxFeatures is divided evenly among
+	 * the cells.  Only used if a grid is specified.  Default is -1.
+	 */
+	public int maxFeaturesPerCell = -1;
+
 	public ConfigGeneralDetector(int maxFeatures ,
 								 int radius, float threshold, int ignoreBorder, boolean useStrictRule,
 								 boolean detectMinimums, boolean detectMaximums) {
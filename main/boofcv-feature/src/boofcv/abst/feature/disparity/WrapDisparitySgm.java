@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.abst.feature.disparity;
+
+import boofcv.alg.feature.disparity.sgm.SgmStereoDisparity;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.struct.image.ImageGray;
+
+/**
+ * Wrapper around {@link SgmStereoDisparity} for {@link StereoDisparity}
+ *
+ * @author Peter Abeles
+ */
+public class WrapDisparitySgm<T extends ImageGray<T>, D extends ImageGray<D>>
+		implements StereoDisparity<T,D>
+{
+	SgmStereoDisparity<T,D> alg;
+	D disparity;
+
+	public WrapDisparitySgm(SgmStereoDisparity<T,D> alg) {
+		this.alg = alg;
+	}
+
+	@Override
+	public void process(T imageLeft, T imageRight) {
+		if( disparity == null || disparity.width != imageLeft.width || disparity.height != imageLeft.height )  {
+			disparity = GeneralizedImageOps.createSingleBand(alg.getDisparityType(),imageLeft.width,imageLeft.height);
+			GImageMiscOps.fill(disparity, getMaxDisparity() + 1);
+		}
+
+		alg.process(imageLeft,imageRight,disparity);
+	}
+
+	@Override
+	public D getDisparity() {
+		return disparity;
+	}
+
+	@Override
+	public int getBorderX() {
+		return alg.getBorderX();
+	}
+
+	@Override
+	public int getBorderY() {
+		return alg.getBorderY();
+	}
+
+	@Override
+	public int getMinDisparity() {
+		return alg.getMinDisparity();
+	}
+
+	@Override
+	public int getMaxDisparity() {
+		return alg.getMaxDisparity();
+	}
+
+	@Override
+	public Class<T> getInputType() {
+		return alg.getInputType();
+	}
+
+	@Override
+	public Class<D> getDisparityType() {
+		return alg.getDisparityType();
+	}
+
+	public SgmStereoDisparity<T,D> getAlg() {
+		return alg;
+	}
+}
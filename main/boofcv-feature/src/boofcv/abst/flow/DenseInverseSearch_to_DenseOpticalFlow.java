@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.abst.flow;
+
+import boofcv.abst.filter.derivative.ImageGradient;
+import boofcv.alg.flow.DenseInverseSearch;
+import boofcv.alg.transform.pyramid.PyramidOps;
+import boofcv.core.image.GConvertImage;
+import boofcv.struct.flow.ImageFlow;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.ImageGray;
+import boofcv.struct.image.ImageType;
+import boofcv.struct.pyramid.PyramidDiscrete;
+
+/**
+ * Wrapper around {@link DenseInverseSearch} for {@link DenseOpticalFlow}.  Input images are converted into
+ * {@link GrayF32} if they are of a different type.
+ *
+ * @author Peter Abeles
+ */
+public class DenseInverseSearch_to_DenseOpticalFlow<T extends ImageGray<T>>
+	implements DenseOpticalFlow<T>
+{
+	DenseInverseSearch dis;
+	ImageGradient<GrayF32,GrayF32> gradient;
+
+	PyramidDiscrete<GrayF32> pyramidSrc;
+	PyramidDiscrete<GrayF32> pyramidDst;
+
+	GrayF32[] srcDerivX;
+	GrayF32[] srcDerivY;
+
+	// storage for input images which are converted into floating point
+	GrayF32 srcF32 = new GrayF32(1,1);
+	GrayF32 dstF32 = new GrayF32(1,1);
+
+	ImageType<T> imageType;
+
+	public DenseInverseSearch_to_DenseOpticalFlow(DenseInverseSearch dis,
+												  ImageGradient<GrayF32, GrayF32> gradient,
+												  PyramidDiscrete<GrayF32> pyramidSrc,
+												  PyramidDiscrete<GrayF32> pyramidDst,
+												  Class<T> inputType ) {
+		if( pyramidSrc.getNumLayers() != pyramidDst.getNumLayers() )
+			throw new IllegalArgumentException("Pyramids do not have the same number of layers!");
+
+		this.dis = dis;
+		this.gradient = gradient;
+		this.pyramidSrc = pyramidSrc;
+		this.pyramidDst = pyramidDst;
+
+		srcDerivX = new GrayF32[pyramidSrc.getNumLayers()];
+		srcDerivY = new GrayF32[pyramidSrc.getNumLayers()];
+
+		for( int i = 0; i < srcDerivX.length; i++ ) {
+			srcDerivX[i] = new GrayF32(1,1);
+			srcDerivY[i] = new GrayF32(1,1);
+		}
+
+		imageType = ImageType.single(inputType);
+	}
+
+	@Override
+	public void process(T source, T destination, ImageFlow flow) {
+		if( source instanceof GrayF32 ) {
+			pyramidSrc.process((GrayF32)source);
+			pyramidDst.process((GrayF32)destination);
+		} else {
+			srcF32.reshape(source.width,source.height);
+			dstF32.reshape(destination.width,destination.height);
+			GConvertImage.convert(source,srcF32);
+			GConvertImage.convert(destination,dstF32);
+			pyramidSrc.process(srcF32);
+			pyramidDst.process(dstF32);
+		}
+
+		PyramidOps.reshapeOutput(pyramidSrc,srcDerivX);
+		PyramidOps.reshapeOutput(pyramidSrc,srcDerivY);
+
+		// the gradient is only needed in layers which are searched
+		for( int i = dis.getFinestLayer(); i < pyramidSrc.getNumLayers(); i++ ) {
+			gradient.process(pyramidSrc.getLayer(i),srcDerivX[i],srcDerivY[i]);
+		}
+
+		dis.process(pyramidSrc,srcDerivX,srcDerivY,pyramidDst,flow);
+	}
+
+	@Override
+	public ImageType<T> getInputType() {
+		return imageType;
+	}
+}
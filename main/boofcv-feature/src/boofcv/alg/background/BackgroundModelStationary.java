@@ -47,4 +47,17 @@ public abstract class BackgroundModelStationary<T extends ImageBase<T>> extends
 	 * @param segmented Segmented image. 0 = background, 1 = foreground/moving
 	 */
 	public abstract void segment( T frame , GrayU8 segmented );
+
+	/**
+	 * Segments the current frame using the background model and then updates the background with the frame.  The
+	 * output is the same as calling {@link #segment} followed by {@link #updateBackground}.  Implementations can
+	 * override this function to do both in a single pass through the image.
+	 *
+	 * @param frame current image
+	 * @param segmented Segmented image. 0 = background, 1 = foreground/moving
+	 */
+	public void updateAndSegment( T frame , GrayU8 segmented ) {
+		segment(frame, segmented);
+		updateBackground(frame);
+	}
 }
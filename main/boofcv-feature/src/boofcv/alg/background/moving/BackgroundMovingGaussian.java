@@ -73,6 +73,21 @@ public abstract class BackgroundMovingGaussian<T extends ImageBase<T>, Motion ex
 		this.threshold = threshold;
 	}
 
+	/**
+	 * Copies the configuration and the current motion into the worker.  Used by concurrent implementations to
+	 * keep the single threaded instance which processes each block of rows in sync with this one.
+	 *
+	 * @param worker (Output) Instance which is modified
+	 */
+	protected void syncWorker( BackgroundMovingGaussian<T,Motion> worker ) {
+		worker.learnRate = learnRate;
+		worker.threshold = threshold;
+		worker.initialVariance = initialVariance;
+		worker.minimumDifference = minimumDifference;
+		worker.unknownValue = unknownValue;
+		worker.worldToCurrent.set(worldToCurrent);
+	}
+
 	@Override
 	public float getInitialVariance() {
 		return initialVariance;
@@ -130,10 +130,17 @@ public class BackgroundMovingGaussian_SB <T extends ImageGray<T>, Motion extends
 
 	@Override
 	protected void _segment(Motion currentToWorld, T frame, GrayU8 segmented) {
+		_segment(currentToWorld, frame, segmented, 0, frame.height);
+	}
+
+	/**
+	 * Segments rows y0 to y1-1 in the frame
+	 */
+	protected void _segment(Motion currentToWorld, T frame, GrayU8 segmented, int y0, int y1) {
 		transform.setModel(currentToWorld);
 		inputWrapper.wrap(frame);
 
-		for (int y = 0; y < frame.height; y++) {
+		for (int y = y0; y < y1; y++) {
 			int indexFrame = frame.startIndex + y*frame.stride;
 			int indexSegmented = segmented.startIndex + y*segmented.stride;
 
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.background.moving;
+
+import boofcv.alg.interpolate.InterpolationType;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntBlockConsumer;
+import boofcv.concurrency.ObjectFactory;
+import boofcv.struct.distort.Point2Transform2Model_F32;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageGray;
+import georegression.struct.InvertibleTransform;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Concurrent implementation of {@link BackgroundMovingGaussian_SB}.  The rows which are updated or segmented are split up
+ * into bands and each band is processed by a different thread.  Each thread has its own instance of the single
+ * threaded algorithm, with its own point transform and interpolation, but all the instances share the same
+ * background image.  The results are identical to the single threaded version.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class BackgroundMovingGaussian_SB_MT<T extends ImageGray<T>, Motion extends InvertibleTransform<Motion>>
+		extends BackgroundMovingGaussian_SB<T,Motion>
+{
+	// creates the point transform used by each thread
+	private ObjectFactory<Point2Transform2Model_F32<Motion>> transformFactory;
+
+	// used to create the single threaded algorithm for each thread
+	private InterpolationType interpType;
+	private Class<T> imageType;
+
+	// single threaded algorithm for each block of rows
+	private List<BackgroundMovingGaussian_SB<T,Motion>> workers = new ArrayList<>();
+
+	/**
+	 * Configurations background removal.
+	 *
+	 * @param learnRate Specifies how quickly the background is updated.  0 = static  1.0 = instant.  Try 0.05
+	 * @param threshold Threshold for background.  Try 10.
+	 * @param transformFactory Creates a new instance of the transform used to apply motion model.
+	 * @param interpType Type of interpolation.  BILINEAR recommended for accuracy. NEAREST_NEIGHBOR for speed. .
+	 * @param imageType Type of input image.
+	 */
+	public BackgroundMovingGaussian_SB_MT(float learnRate, float threshold,
+			ObjectFactory<Point2Transform2Model_F32<Motion>> transformFactory,
+			InterpolationType interpType,
+			Class<T> imageType)
+	{
+		super(learnRate, threshold, transformFactory.newInstance(), interpType, imageType);
+
+		this.transformFactory = transformFactory;
+		this.interpType = interpType;
+		this.imageType = imageType;
+	}
+
+	@Override
+	protected void updateBackground(final int x0, int y0, final int x1, int y1, final T frame) {
+		int numBlocks = numberOfBlocks(frame, y1-y0);
+		if( numBlocks == 1 ) {
+			super.updateBackground(x0, y0, x1, y1, frame);
+			return;
+		}
+
+		BoofConcurrency.loopBlocksIndexed(y0, y1, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept(int block, int minInclusive, int maxExclusive) {
+				workers.get(block).updateBackground(x0, minInclusive, x1, maxExclusive, frame);
+			}
+		});
+	}
+
+	@Override
+	protected void _segment(final Motion currentToWorld, final T frame, final GrayU8 segmented, int y0, int y1) {
+		int numBlocks = numberOfBlocks(frame, y1-y0);
+		if( numBlocks == 1 ) {
+			super._segment(currentToWorld, frame, segmented, y0, y1);
+			return;
+		}
+
+		BoofConcurrency.loopBlocksIndexed(y0, y1, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept(int block, int minInclusive, int maxExclusive) {
+				workers.get(block)._segment(currentToWorld, frame, segmented, minInclusive, maxExclusive);
+			}
+		});
+	}
+
+	/**
+	 * Selects the number of blocks the rows are split into and makes sure each block's algorithm is up to date
+	 */
+	private int numberOfBlocks( T frame , int numRows ) {
+		if( numRows <= 0 || !BoofConcurrency.useConcurrent(frame) )
+			return 1;
+
+		int numBlocks = BoofConcurrency.computeNumberOfBlocks(numRows, 1);
+		while( workers.size() < numBlocks ) {
+			BackgroundMovingGaussian_SB<T,Motion> worker = new BackgroundMovingGaussian_SB<>(
+					learnRate, threshold, transformFactory.newInstance(), interpType, imageType);
+			worker.background = background;
+			worker.interpolationBG.setImage(background);
+			workers.add(worker);
+		}
+		for (int i = 0; i < numBlocks; i++) {
+			syncWorker(workers.get(i));
+		}
+		return numBlocks;
+	}
+}
@@ -77,33 +77,52 @@ public class BackgroundStationaryGaussian_IL<T extends ImageInterleaved<T>>
 		background.reshape(1,1);
 	}
 
+
 	@Override
 	public void updateBackground( T frame) {
 		inputWrapper.wrap(frame);
 
 		if( background.width == 1 ) {
-			background.reshape(frame.width, frame.height);
-
-			for (int y = 0; y < frame.height; y++) {
-				for (int x = 0; x < frame.width; x++) {
-					inputWrapper.get(x,y,inputPixel);
-					for (int i = 0; i < frame.numBands; i++) {
-						bgPixel[i*2] = inputPixel[i];
-						bgPixel[i*2+1] = initialVariance;
-					}
-					bgWrapper.set(x,y,bgPixel);
-				}
-			}
+			initializeBackground(frame);
 			return;
 		} else {
 			InputSanityCheck.checkSameShape(background, frame);
 		}
 
+		updateBackground(frame, 0, frame.height, inputPixel);
+	}
+
+	/**
+	 * Initializes the background model using the first frame.  The input wrapper must already be wrapped
+	 * around the frame.
+	 */
+	private void initializeBackground( T frame ) {
+		background.reshape(frame.width, frame.height);
+
+		for (int y = 0; y < frame.height; y++) {
+			for (int x = 0; x < frame.width; x++) {
+				inputWrapper.get(x,y,inputPixel);
+				for (int i = 0; i < frame.numBands; i++) {
+					bgPixel[i*2] = inputPixel[i];
+					bgPixel[i*2+1] = initialVariance;
+				}
+				bgWrapper.set(x,y,bgPixel);
+			}
+		}
+	}
+
+	/**
+	 * Updates the background using rows y0 to y1-1 in the frame.  The input wrapper must already be wrapped
+	 * around the frame.
+	 *
+	 * @param inputPixel Storage for the input pixel's value
+	 */
+	protected void updateBackground( T frame , int y0 , int y1 , float[] inputPixel ) {
 		int numBands = background.getNumBands()/2;
 		float minusLearn = 1.0f - learnRate;
 
-		int indexBG = 0;
-		for (int y = 0; y < background.height; y++) {
+		for (int y = y0; y < y1; y++) {
+			int indexBG = background.startIndex + y*background.stride;
 			int indexInput = frame.startIndex + y*frame.stride;
 			int end = indexInput + frame.width*numBands;
 			while( indexInput < end ) {
@@ -133,12 +152,21 @@ public class BackgroundStationaryGaussian_IL<T extends ImageInterleaved<T>>
 		}
 		inputWrapper.wrap(frame);
 
+		segment(frame, segmented, 0, frame.height, inputPixel);
+	}
+
+	/**
+	 * Segments rows y0 to y1-1 in the frame.  The input wrapper must already be wrapped around the frame.
+	 *
+	 * @param inputPixel Storage for the input pixel's value
+	 */
+	protected void segment( T frame , GrayU8 segmented , int y0 , int y1 , float[] inputPixel ) {
 		final int numBands = background.getNumBands()/2;
 
 		float adjustedMinimumDifference = minimumDifference*numBands;
 
-		int indexBG = 0;
-		for (int y = 0; y < frame.height; y++) {
+		for (int y = y0; y < y1; y++) {
+			int indexBG = background.startIndex + y*background.stride;
 			int indexInput = frame.startIndex + y*frame.stride;
 			int indexSegmented = segmented.startIndex + y*segmented.stride;
 
@@ -158,22 +186,71 @@ public class BackgroundStationaryGaussian_IL<T extends ImageInterleaved<T>>
 					mahalanobis += diff * diff / varBG;
 				}
 
-				if (mahalanobis <= threshold) {
-					segmented.data[indexSegmented] = 0;
-				} else {
-					if( minimumDifference == 0) {
-						segmented.data[indexSegmented] = 1;
-					} else {
-						float sumAbsDiff = 0;
-						for (int band = 0; band < numBands; band++) {
-							int indexBG_band = indexBG + band*2;
-							sumAbsDiff += Math.abs(background.data[indexBG_band] - inputPixel[band]);
-						}
-						if (sumAbsDiff >= adjustedMinimumDifference)
-							segmented.data[indexSegmented] = 1;
-						else
-							segmented.data[indexSegmented] = 0;
-					}
+				segmented.data[indexSegmented] = classify(mahalanobis, indexBG, inputPixel, adjustedMinimumDifference);
+
+				indexInput     += frame.numBands;
+				indexSegmented += 1;
+				indexBG        += background.numBands;
+			}
+		}
+	}
+
+	@Override
+	public void updateAndSegment( T frame, GrayU8 segmented) {
+		inputWrapper.wrap(frame);
+
+		if( background.width == 1 ) {
+			ImageMiscOps.fill(segmented, unknownValue);
+			initializeBackground(frame);
+			return;
+		}
+		InputSanityCheck.checkSameShape(background,frame,segmented);
+
+		updateAndSegment(frame, segmented, 0, frame.height, inputPixel);
+	}
+
+	/**
+	 * Segments rows y0 to y1-1 in the frame against the current model and then updates the model, while each
+	 * pixel is only read once.  The input wrapper must already be wrapped around the frame.
+	 *
+	 * @param inputPixel Storage for the input pixel's value
+	 */
+	protected void updateAndSegment( T frame , GrayU8 segmented , int y0 , int y1 , float[] inputPixel ) {
+		final int numBands = background.getNumBands()/2;
+		float minusLearn = 1.0f - learnRate;
+
+		float adjustedMinimumDifference = minimumDifference*numBands;
+
+		for (int y = y0; y < y1; y++) {
+			int indexBG = background.startIndex + y*background.stride;
+			int indexInput = frame.startIndex + y*frame.stride;
+			int indexSegmented = segmented.startIndex + y*segmented.stride;
+
+			int end = indexInput + frame.width*frame.numBands;
+			while( indexInput < end ) {
+				inputWrapper.getF(indexInput, inputPixel);
+
+				float mahalanobis = 0;
+				for (int band = 0; band < numBands; band++) {
+					int indexBG_band = indexBG + band*2;
+
+					float diff = background.data[indexBG_band] - inputPixel[band];
+					mahalanobis += diff * diff / background.data[indexBG_band+1];
+				}
+
+				// classify before the mean is changed
+				segmented.data[indexSegmented] = classify(mahalanobis, indexBG, inputPixel, adjustedMinimumDifference);
+
+				for (int band = 0; band < numBands; band++) {
+					int indexBG_band = indexBG + band*2;
+
+					float inputValue = inputPixel[band];
+					float meanBG     = background.data[indexBG_band];
+					float varianceBG = background.data[indexBG_band+1];
+
+					float diff = meanBG-inputValue;
+					background.data[indexBG_band]   = minusLearn*meanBG + learnRate*inputValue;
+					background.data[indexBG_band+1] = minusLearn*varianceBG + learnRate*diff*diff;
 				}
 
 				indexInput     += frame.numBands;
@@ -182,4 +259,28 @@ public class BackgroundStationaryGaussian_IL<T extends ImageInterleaved<T>>
 			}
 		}
 	}
+
+	/**
+	 * Decides if a pixel is moving using its Mahalanobis distance from the background's mean
+	 */
+	private byte classify( float mahalanobis , int indexBG , float[] inputPixel , float adjustedMinimumDifference ) {
+		if (mahalanobis <= threshold) {
+			return 0;
+		} else {
+			if( minimumDifference == 0) {
+				return 1;
+			} else {
+				final int numBands = background.getNumBands()/2;
+				float sumAbsDiff = 0;
+				for (int band = 0; band < numBands; band++) {
+					int indexBG_band = indexBG + band*2;
+					sumAbsDiff += Math.abs(background.data[indexBG_band] - inputPixel[band]);
+				}
+				if (sumAbsDiff >= adjustedMinimumDifference)
+					return 1;
+				else
+					return 0;
+			}
+		}
+	}
 }
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.background.stationary;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntBlockConsumer;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageInterleaved;
+import boofcv.struct.image.ImageType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Concurrent implementation of {@link BackgroundStationaryGaussian_IL}.  The image is split up into bands of rows
+ * and each band is processed by a different thread, which has its own storage for pixel values.  Each pixel in
+ * the background only depends on the same pixel in the input image so the results are identical to the single
+ * threaded version.
+ *
+ * @author Peter Abeles
+ */
+public class BackgroundStationaryGaussian_IL_MT<T extends ImageInterleaved<T>>
+		extends BackgroundStationaryGaussian_IL<T>
+{
+	// storage for multi-band pixel values in each block of rows
+	private List<float[]> blockPixels = new ArrayList<>();
+
+	/**
+	 * @see BackgroundStationaryGaussian_IL#BackgroundStationaryGaussian_IL
+	 */
+	public BackgroundStationaryGaussian_IL_MT(float learnRate, float threshold, ImageType<T> imageType) {
+		super(learnRate, threshold, imageType);
+	}
+
+	@Override
+	protected void updateBackground(final T frame, int y0, int y1, float[] inputPixel) {
+		int numBlocks = numberOfBlocks(frame, y1-y0);
+		if( numBlocks == 1 ) {
+			super.updateBackground(frame, y0, y1, inputPixel);
+			return;
+		}
+
+		BoofConcurrency.loopBlocksIndexed(y0, y1, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept(int block, int minInclusive, int maxExclusive) {
+				BackgroundStationaryGaussian_IL_MT.super.updateBackground(frame, minInclusive, maxExclusive, blockPixels.get(block));
+			}
+		});
+	}
+
+	@Override
+	protected void segment(final T frame, final GrayU8 segmented, int y0, int y1, float[] inputPixel) {
+		int numBlocks = numberOfBlocks(frame, y1-y0);
+		if( numBlocks == 1 ) {
+			super.segment(frame, segmented, y0, y1, inputPixel);
+			return;
+		}
+
+		BoofConcurrency.loopBlocksIndexed(y0, y1, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept(int block, int minInclusive, int maxExclusive) {
+				BackgroundStationaryGaussian_IL_MT.super.segment(frame, segmented, minInclusive, maxExclusive, blockPixels.get(block));
+			}
+		});
+	}
+
+	@Override
+	protected void updateAndSegment(final T frame, final GrayU8 segmented, int y0, int y1, float[] inputPixel) {
+		int numBlocks = numberOfBlocks(frame, y1-y0);
+		if( numBlocks == 1 ) {
+			super.updateAndSegment(frame, segmented, y0, y1, inputPixel);
+			return;
+		}
+
+		BoofConcurrency.loopBlocksIndexed(y0, y1, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept(int block, int minInclusive, int maxExclusive) {
+				BackgroundStationaryGaussian_IL_MT.super.updateAndSegment(frame, segmented, minInclusive, maxExclusive, blockPixels.get(block));
+			}
+		});
+	}
+
+	/**
+	 * Selects the number of blocks the rows are split into and makes sure there is storage for each block
+	 */
+	private int numberOfBlocks( T frame , int numRows ) {
+		if( numRows <= 0 || !BoofConcurrency.useConcurrent(frame) )
+			return 1;
+
+		int numBlocks = BoofConcurrency.computeNumberOfBlocks(numRows, 1);
+		while( blockPixels.size() < numBlocks ) {
+			blockPixels.add(new float[inputPixel.length]);
+		}
+		return numBlocks;
+	}
+}
@@ -74,28 +74,44 @@ public class BackgroundStationaryGaussian_PL<T extends ImageGray<T>>
 		background.reshape(1,1);
 	}
 
+
 	@Override
 	public void updateBackground( Planar<T> frame) {
 		if( background.width == 1 ) {
-			background.reshape(frame.width, frame.height);
-			// initialize the mean to the current image and the initial variance is whatever it is set to
-			for (int band = 0; band < background.getNumBands(); band += 2) {
-				GConvertImage.convert(frame.getBand(band / 2), background.getBand(band));
-				GImageMiscOps.fill(background.getBand(band + 1), initialVariance);
-			}
+			initializeBackground(frame);
 			return;
 		} else {
 			InputSanityCheck.checkSameShape(background, frame);
 		}
 
 		inputWrapper.wrap(frame);
+		updateBackground(frame, 0, frame.height, inputPixel);
+	}
+
+	/**
+	 * Initializes the background model using the first frame
+	 */
+	private void initializeBackground( Planar<T> frame ) {
+		background.reshape(frame.width, frame.height);
+		// initialize the mean to the current image and the initial variance is whatever it is set to
+		for (int band = 0; band < background.getNumBands(); band += 2) {
+			GConvertImage.convert(frame.getBand(band / 2), background.getBand(band));
+			GImageMiscOps.fill(background.getBand(band + 1), initialVariance);
+		}
+	}
 
+	/**
+	 * Updates the background using rows y0 to y1-1 in the frame.  The input wrapper must already be wrapped
+	 * around the frame.
+	 *
+	 * @param inputPixel Storage for the input pixel's value
+	 */
+	protected void updateBackground( Planar<T> frame , int y0 , int y1 , float[] inputPixel ) {
 		int numBands = background.getNumBands()/2;
 		float minusLearn = 1.0f - learnRate;
 
-
-		int indexBG = 0;
-		for (int y = 0; y < background.height; y++) {
+		for (int y = y0; y < y1; y++) {
+			int indexBG = background.startIndex + y*background.stride;
 			int indexInput = frame.startIndex + y*frame.stride;
 			int end = indexInput + frame.width;
 			while( indexInput < end ) {
@@ -128,12 +144,21 @@ public class BackgroundStationaryGaussian_PL<T extends ImageGray<T>>
 		}
 		inputWrapper.wrap(frame);
 
+		segment(frame, segmented, 0, frame.height, inputPixel);
+	}
+
+	/**
+	 * Segments rows y0 to y1-1 in the frame.  The input wrapper must already be wrapped around the frame.
+	 *
+	 * @param inputPixel Storage for the input pixel's value
+	 */
+	protected void segment( Planar<T> frame , GrayU8 segmented , int y0 , int y1 , float[] inputPixel ) {
 		final int numBands = background.getNumBands()/2;
 
 		float adjustedMinimumDifference = minimumDifference*numBands;
 
-		int indexBG = 0;
-		for (int y = 0; y < frame.height; y++) {
+		for (int y = y0; y < y1; y++) {
+			int indexBG = background.startIndex + y*background.stride;
 			int indexInput = frame.startIndex + y*frame.stride;
 			int indexSegmented = segmented.startIndex + y*segmented.stride;
 
@@ -154,22 +179,71 @@ public class BackgroundStationaryGaussian_PL<T extends ImageGray<T>>
 					mahalanobis += diff * diff / varBG;
 				}
 
-				if (mahalanobis <= threshold) {
-					segmented.data[indexSegmented] = 0;
-				} else {
-					if( minimumDifference == 0) {
-						segmented.data[indexSegmented] = 1;
-					} else {
-						float sumAbsDiff = 0;
-						for (int band = 0; band < numBands; band++) {
-							GrayF32 backgroundMean = background.getBand(band*2);
-							sumAbsDiff += Math.abs(backgroundMean.data[indexBG] - inputPixel[band]);
-						}
-						if (sumAbsDiff >= adjustedMinimumDifference)
-							segmented.data[indexSegmented] = 1;
-						else
-							segmented.data[indexSegmented] = 0;
-					}
+				segmented.data[indexSegmented] = classify(mahalanobis, indexBG, inputPixel, adjustedMinimumDifference);
+
+				indexInput++;
+				indexSegmented++;
+				indexBG++;
+			}
+		}
+	}
+
+	@Override
+	public void updateAndSegment( Planar<T> frame, GrayU8 segmented) {
+		if( background.width == 1 ) {
+			ImageMiscOps.fill(segmented, unknownValue);
+			initializeBackground(frame);
+			return;
+		}
+		InputSanityCheck.checkSameShape(background,frame,segmented);
+		inputWrapper.wrap(frame);
+
+		updateAndSegment(frame, segmented, 0, frame.height, inputPixel);
+	}
+
+	/**
+	 * Segments rows y0 to y1-1 in the frame against the current model and then updates the model, while each
+	 * pixel is only read once.  The input wrapper must already be wrapped around the frame.
+	 *
+	 * @param inputPixel Storage for the input pixel's value
+	 */
+	protected void updateAndSegment( Planar<T> frame , GrayU8 segmented , int y0 , int y1 , float[] inputPixel ) {
+		final int numBands = background.getNumBands()/2;
+		float minusLearn = 1.0f - learnRate;
+
+		float adjustedMinimumDifference = minimumDifference*numBands;
+
+		for (int y = y0; y < y1; y++) {
+			int indexBG = background.startIndex + y*background.stride;
+			int indexInput = frame.startIndex + y*frame.stride;
+			int indexSegmented = segmented.startIndex + y*segmented.stride;
+
+			int end = indexInput + frame.width;
+			while( indexInput < end ) {
+				inputWrapper.getF(indexInput, inputPixel);
+
+				float mahalanobis = 0;
+				for (int band = 0; band < numBands; band++) {
+					GrayF32 backgroundVar = background.getBand(band*2+1);
+
+					float diff = background.getBand(band*2).data[indexBG] - inputPixel[band];
+					mahalanobis += diff * diff / backgroundVar.data[indexBG];
+				}
+
+				// classify before the mean is changed
+				segmented.data[indexSegmented] = classify(mahalanobis, indexBG, inputPixel, adjustedMinimumDifference);
+
+				for (int band = 0; band < numBands; band++) {
+					GrayF32 backgroundMean = background.getBand(band*2);
+					GrayF32 backgroundVar = background.getBand(band*2+1);
+
+					float inputValue = inputPixel[band];
+					float meanBG = backgroundMean.data[indexBG];
+					float varianceBG = backgroundVar.data[indexBG];
+
+					float diff = meanBG-inputValue;
+					backgroundMean.data[indexBG] = minusLearn*meanBG + learnRate*inputValue;
+					backgroundVar.data[indexBG] = minusLearn*varianceBG + learnRate*diff*diff;
 				}
 
 				indexInput++;
@@ -178,4 +252,28 @@ public class BackgroundStationaryGaussian_PL<T extends ImageGray<T>>
 			}
 		}
 	}
+
+	/**
+	 * Decides if a pixel is moving using its Mahalanobis distance from the background's mean
+	 */
+	private byte classify( float mahalanobis , int indexBG , float[] inputPixel , float adjustedMinimumDifference ) {
+		if (mahalanobis <= threshold) {
+			return 0;
+		} else {
+			if( minimumDifference == 0) {
+				return 1;
+			} else {
+				final int numBands = background.getNumBands()/2;
+				float sumAbsDiff = 0;
+				for (int band = 0; band < numBands; band++) {
+					GrayF32 backgroundMean = background.getBand(band*2);
+					sumAbsDiff += Math.abs(backgroundMean.data[indexBG] - inputPixel[band]);
+				}
+				if (sumAbsDiff >= adjustedMinimumDifference)
+					return 1;
+				else
+					return 0;
+			}
+		}
+	}
 }
@@ -60,26 +60,41 @@ public class BackgroundStationaryGaussian_SB<T extends ImageGray<T>>
 		background.reshape(1,1);
 	}
 
+
 	@Override
 	public void updateBackground( T frame) {
 		if( background.width == 1 ) {
-			background.reshape(frame.width, frame.height);
-			GConvertImage.convert(frame, background.getBand(0));
-			GImageMiscOps.fill(background.getBand(1),initialVariance);
+			initializeBackground(frame);
 			return;
 		} else {
 			InputSanityCheck.checkSameShape(background, frame);
 		}
 
 		inputWrapper.wrap(frame);
+		updateBackground(frame, 0, frame.height);
+	}
+
+	/**
+	 * Initializes the background model using the first frame
+	 */
+	private void initializeBackground( T frame ) {
+		background.reshape(frame.width, frame.height);
+		GConvertImage.convert(frame, background.getBand(0));
+		GImageMiscOps.fill(background.getBand(1),initialVariance);
+	}
 
+	/**
+	 * Updates the background using rows y0 to y1-1 in the frame.  The input wrapper must already be wrapped
+	 * around the frame.
+	 */
+	protected void updateBackground( T frame , int y0 , int y1 ) {
 		float minusLearn = 1.0f - learnRate;
 
 		GrayF32 backgroundMean = background.getBand(0);
 		GrayF32 backgroundVar = background.getBand(1);
 
-		int indexBG = 0;
-		for (int y = 0; y < background.height; y++) {
+		for (int y = y0; y < y1; y++) {
+			int indexBG = background.startIndex + y*background.stride;
 			int indexInput = frame.startIndex + y*frame.stride;
 
 			int end = indexInput + frame.width;
@@ -107,11 +122,18 @@ public class BackgroundStationaryGaussian_SB<T extends ImageGray<T>>
 		InputSanityCheck.checkSameShape(background,frame,segmented);
 		inputWrapper.wrap(frame);
 
+		segment(frame, segmented, 0, frame.height);
+	}
+
+	/**
+	 * Segments rows y0 to y1-1 in the frame.  The input wrapper must already be wrapped around the frame.
+	 */
+	protected void segment( T frame , GrayU8 segmented , int y0 , int y1 ) {
 		GrayF32 backgroundMean = background.getBand(0);
 		GrayF32 backgroundVar = background.getBand(1);
 
-		int indexBG = 0;
-		for (int y = 0; y < frame.height; y++) {
+		for (int y = y0; y < y1; y++) {
+			int indexBG = background.startIndex + y*background.stride;
 			int indexInput = frame.startIndex + y*frame.stride;
 			int indexSegmented = segmented.startIndex + y*segmented.stride;
 
@@ -140,4 +162,60 @@ public class BackgroundStationaryGaussian_SB<T extends ImageGray<T>>
 			}
 		}
 	}
+
+	@Override
+	public void updateAndSegment( T frame, GrayU8 segmented) {
+		if( background.width == 1 ) {
+			ImageMiscOps.fill(segmented, unknownValue);
+			initializeBackground(frame);
+			return;
+		}
+		InputSanityCheck.checkSameShape(background,frame,segmented);
+		inputWrapper.wrap(frame);
+
+		updateAndSegment(frame, segmented, 0, frame.height);
+	}
+
+	/**
+	 * Segments rows y0 to y1-1 in the frame against the current model and then updates the model, while each
+	 * pixel is only read once.  The input wrapper must already be wrapped around the frame.
+	 */
+	protected void updateAndSegment( T frame , GrayU8 segmented , int y0 , int y1 ) {
+		float minusLearn = 1.0f - learnRate;
+
+		GrayF32 backgroundMean = background.getBand(0);
+		GrayF32 backgroundVar = background.getBand(1);
+
+		for (int y = y0; y < y1; y++) {
+			int indexBG = background.startIndex + y*background.stride;
+			int indexInput = frame.startIndex + y*frame.stride;
+			int indexSegmented = segmented.startIndex + y*segmented.stride;
+
+			int end = indexInput + frame.width;
+			while( indexInput < end ) {
+				float inputValue = inputWrapper.getF(indexInput);
+				float meanBG = backgroundMean.data[indexBG];
+				float varianceBG = backgroundVar.data[indexBG];
+
+				float diff = meanBG - inputValue;
+				float chisq = diff*diff/varianceBG;
+
+				if (chisq <= threshold) {
+					segmented.data[indexSegmented] = 0;
+				} else {
+					if( diff >= minimumDifference || -diff >= minimumDifference )
+						segmented.data[indexSegmented] = 1;
+					else
+						segmented.data[indexSegmented] = 0;
+				}
+
+				backgroundMean.data[indexBG] = minusLearn*meanBG + learnRate*inputValue;
+				backgroundVar.data[indexBG] = minusLearn*varianceBG + learnRate*diff*diff;
+
+				indexInput++;
+				indexSegmented++;
+				indexBG++;
+			}
+		}
+	}
 }
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.background.stationary;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeConsumer;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageGray;
+
+/**
+ * Concurrent implementation of {@link BackgroundStationaryGaussian_SB}.  The image is split up into bands of rows
+ * and each band is processed by a different thread.  Each pixel in the background only depends on the same pixel
+ * in the input image so the results are identical to the single threaded version.
+ *
+ * @author Peter Abeles
+ */
+public class BackgroundStationaryGaussian_SB_MT<T extends ImageGray<T>>
+		extends BackgroundStationaryGaussian_SB<T>
+{
+	/**
+	 * @see BackgroundStationaryGaussian_SB#BackgroundStationaryGaussian_SB
+	 */
+	public BackgroundStationaryGaussian_SB_MT(float learnRate, float threshold, Class<T> imageType) {
+		super(learnRate, threshold, imageType);
+	}
+
+	@Override
+	protected void updateBackground(final T frame, int y0, int y1) {
+		if( !BoofConcurrency.useConcurrent(frame) ) {
+			super.updateBackground(frame, y0, y1);
+			return;
+		}
+
+		BoofConcurrency.loopBlocks(y0, y1, new IntRangeConsumer() {
+			@Override
+			public void accept(int minInclusive, int maxExclusive) {
+				BackgroundStationaryGaussian_SB_MT.super.updateBackground(frame, minInclusive, maxExclusive);
+			}
+		});
+	}
+
+	@Override
+	protected void segment(final T frame, final GrayU8 segmented, int y0, int y1) {
+		if( !BoofConcurrency.useConcurrent(frame) ) {
+			super.segment(frame, segmented, y0, y1);
+			return;
+		}
+
+		BoofConcurrency.loopBlocks(y0, y1, new IntRangeConsumer() {
+			@Override
+			public void accept(int minInclusive, int maxExclusive) {
+				BackgroundStationaryGaussian_SB_MT.super.segment(frame, segmented, minInclusive, maxExclusive);
+			}
+		});
+	}
+
+	@Override
+	protected void updateAndSegment(final T frame, final GrayU8 segmented, int y0, int y1) {
+		if( !BoofConcurrency.useConcurrent(frame) ) {
+			super.updateAndSegment(frame, segmented, y0, y1);
+			return;
+		}
+
+		BoofConcurrency.loopBlocks(y0, y1, new IntRangeConsumer() {
+			@Override
+			public void accept(int minInclusive, int maxExclusive) {
+				BackgroundStationaryGaussian_SB_MT.super.updateAndSegment(frame, segmented, minInclusive, maxExclusive);
+			}
+		});
+	}
+}
@@ -197,7 +197,24 @@ public class DescriptorDistance {
 		int score = 0;
 		final int N = a.data.length;
 		for( int i = 0; i < N; i++ ) {
-			score += hamming(a.data[i] ^ b.data[i]);
+			score += Integer.bitCount(a.data[i] ^ b.data[i]);
+		}
+		return score;
+	}
+
+	/**
+	 * Computes the hamming distance between two binary feature descriptors.  {@link Long#bitCount(long)} is
+	 * used since the JVM replaces it with a popcount instruction when available.
+	 *
+	 * @param a First variable
+	 * @param b Second variable
+	 * @return The hamming distance
+	 */
+	public static int hamming( TupleDesc_B64 a, TupleDesc_B64 b ) {
+		int score = 0;
+		final int N = a.data.length;
+		for( int i = 0; i < N; i++ ) {
+			score += Long.bitCount(a.data[i] ^ b.data[i]);
 		}
 		return score;
 	}
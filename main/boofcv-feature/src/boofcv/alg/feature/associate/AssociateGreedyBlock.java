@@ -0,0 +1,353 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.associate;
+
+import boofcv.abst.feature.associate.ScoreAssociation;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntBlockConsumer;
+import boofcv.struct.feature.TupleDesc_B;
+import boofcv.struct.feature.TupleDesc_B64;
+import boofcv.struct.feature.TupleDesc_F32;
+import boofcv.struct.feature.TupleDesc_F64;
+import org.ddogleg.struct.FastQueue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Brute force greedy association which produces the same results as {@link AssociateGreedy} but is designed
+ * to be faster for large sets of features.  Instead of saving the score for every possible pair, only the best
+ * score for each source feature and the best and second best score for each destination feature are saved.
+ * Memory usage is linear in the number of features instead of quadratic.  This is sufficient for backwards
+ * validation since a match is only valid if no other source feature has a score which is as good or better.
+ * </p>
+ *
+ * <p>
+ * Features are scored in blocks.  A block of destination features is scored against every source feature in
+ * a block of source features, so that the destination features stay in the CPU cache.  Scores for a row inside
+ * a block are computed by a specialized function for the descriptor type, e.g. {@link EuclideanSq_F64}, which
+ * avoids calling {@link ScoreAssociation} through an interface for every pair. Optionally, blocks of source
+ * features can be processed by multiple threads.  The results are identical to the single threaded version.
+ * </p>
+ *
+ * @param <D> Feature description type.
+ *
+ * @author Peter Abeles
+ */
+public abstract class AssociateGreedyBlock<D> extends AssociateGreedy<D> {
+
+	// Number of source features in a block
+	int blockSource = 32;
+	// Number of destination features in a block
+	int blockDestination = 256;
+
+	// if true it will process blocks of source features in parallel
+	boolean concurrent;
+
+	// storage for each thread
+	final List<BlockStorage> storage = new ArrayList<>();
+
+	// best and second best score for each destination feature
+	double[] dstBest = new double[0];
+	double[] dstSecond = new double[0];
+
+	/**
+	 * Configure association
+	 *
+	 * @param score Computes the association score. Used to determine the type of score.
+	 * @param backwardsValidation If true then backwards validation is performed.
+	 * @param concurrent If true then the source features are split up between multiple threads
+	 */
+	protected AssociateGreedyBlock(ScoreAssociation<D> score, boolean backwardsValidation, boolean concurrent) {
+		super(score, backwardsValidation);
+		this.concurrent = concurrent;
+	}
+
+	@Override
+	public void associate( final FastQueue<D> src , final FastQueue<D> dst ) {
+		fitQuality.reset();
+		pairs.reset();
+		fitQuality.resize(src.size);
+		pairs.resize(src.size);
+
+		int numBlocks = concurrent && BoofConcurrency.useConcurrent(src.size*dst.size) ?
+				BoofConcurrency.computeNumberOfBlocks(src.size, blockSource) : 1;
+
+		while( storage.size() < numBlocks ) {
+			storage.add(new BlockStorage());
+		}
+
+		if( src.size > 0 ) {
+			BoofConcurrency.loopBlocksIndexed(0, src.size, numBlocks, new IntBlockConsumer() {
+				@Override
+				public void accept(int block, int src0, int src1) {
+					BlockStorage s = storage.get(block);
+					s.declare(dst.size);
+					processSource(s, src, dst, src0, src1);
+				}
+			});
+		}
+
+		if( !backwardsValidation )
+			return;
+
+		// combine the best scores for each destination feature found by each thread
+		if( dstBest.length < dst.size ) {
+			dstBest = new double[dst.size];
+			dstSecond = new double[dst.size];
+		}
+		for( int j = 0; j < dst.size; j++ ) {
+			double best = Double.MAX_VALUE, second = Double.MAX_VALUE;
+			for( int block = 0; block < numBlocks; block++ ) {
+				BlockStorage s = storage.get(block);
+				double b = s.dstBest[j], c = s.dstSecond[j];
+				second = Math.min(Math.max(best,b), Math.min(second,c));
+				best = Math.min(best,b);
+			}
+			dstBest[j] = best;
+			dstSecond[j] = second;
+		}
+
+		// a match is only valid if no other source feature has the same or a better score
+		for( int i = 0; i < src.size; i++ ) {
+			int match = pairs.data[i];
+			if( match == -1 )
+				continue;
+
+			double scoreToBeat = fitQuality.data[i];
+			if( dstBest[match] < scoreToBeat || dstSecond[match] <= scoreToBeat ) {
+				pairs.data[i] = -1;
+				fitQuality.data[i] = Double.MAX_VALUE;
+			}
+		}
+	}
+
+	/**
+	 * Finds the best match for a range of source features and updates the best scores for each destination feature
+	 */
+	void processSource( BlockStorage s , FastQueue<D> src , FastQueue<D> dst , int src0 , int src1 ) {
+		final double[] scores = s.scores;
+		final double[] dstBest = s.dstBest;
+		final double[] dstSecond = s.dstSecond;
+		final int[] pairs = this.pairs.data;
+		final double[] fitQuality = this.fitQuality.data;
+
+		for( int i = src0; i < src1; i++ ) {
+			pairs[i] = -1;
+			fitQuality[i] = maxFitError;
+		}
+
+		for( int blockI = src0; blockI < src1; blockI += blockSource ) {
+			int blockEndI = Math.min(src1, blockI + blockSource);
+			for( int blockJ = 0; blockJ < dst.size; blockJ += blockDestination ) {
+				int blockEndJ = Math.min(dst.size, blockJ + blockDestination);
+
+				for( int i = blockI; i < blockEndI; i++ ) {
+					scoreRow(src.data[i], dst, blockJ, blockEndJ, scores);
+
+					double bestScore = fitQuality[i];
+					int bestIndex = pairs[i];
+					for( int j = blockJ; j < blockEndJ; j++ ) {
+						double fit = scores[j-blockJ];
+						if( fit <= bestScore ) {
+							bestIndex = j;
+							bestScore = fit;
+						}
+						if( fit < dstBest[j] ) {
+							dstSecond[j] = dstBest[j];
+							dstBest[j] = fit;
+						} else if( fit < dstSecond[j] ) {
+							dstSecond[j] = fit;
+						}
+					}
+					pairs[i] = bestIndex;
+					fitQuality[i] = bestScore;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Computes the score between a source feature and a range of destination features
+	 *
+	 * @param a Source feature
+	 * @param dst Destination features
+	 * @param dst0 First destination feature, inclusive
+	 * @param dst1 Last destination feature, exclusive
+	 * @param scores (Output) Score for each destination feature. Index 0 is dst0.
+	 */
+	protected abstract void scoreRow( D a , FastQueue<D> dst , int dst0 , int dst1 , double[] scores );
+
+	/**
+	 * Specifies the size of a block
+	 *
+	 * @param blockSource Number of source features in a block
+	 * @param blockDestination Number of destination features in a block
+	 */
+	public void setBlockSize( int blockSource , int blockDestination ) {
+		if( blockSource <= 0 || blockDestination <= 0 )
+			throw new IllegalArgumentException("Block size must be > 0");
+		this.blockSource = blockSource;
+		this.blockDestination = blockDestination;
+	}
+
+	public boolean isConcurrent() {
+		return concurrent;
+	}
+
+	private class BlockStorage {
+		double[] scores = new double[0];
+		double[] dstBest = new double[0];
+		double[] dstSecond = new double[0];
+
+		public void declare( int numDst ) {
+			if( scores.length < blockDestination )
+				scores = new double[blockDestination];
+			if( dstBest.length < numDst ) {
+				dstBest = new double[numDst];
+				dstSecond = new double[numDst];
+			}
+			for( int j = 0; j < numDst; j++ ) {
+				dstBest[j] = Double.MAX_VALUE;
+				dstSecond[j] = Double.MAX_VALUE;
+			}
+		}
+	}
+
+	/**
+	 * Scores features using {@link ScoreAssociation}.  Used for descriptors which don't have a specialized
+	 * implementation.
+	 */
+	public static class Generic<D> extends AssociateGreedyBlock<D> {
+		public Generic(ScoreAssociation<D> score, boolean backwardsValidation, boolean concurrent) {
+			super(score, backwardsValidation, concurrent);
+		}
+
+		@Override
+		protected void scoreRow(D a, FastQueue<D> dst, int dst0, int dst1, double[] scores) {
+			for( int j = dst0; j < dst1; j++ ) {
+				scores[j-dst0] = score.score(a, dst.data[j]);
+			}
+		}
+	}
+
+	/**
+	 * Euclidean distance squared for {@link TupleDesc_F64}.
+	 *
+	 * @see boofcv.alg.descriptor.DescriptorDistance#euclideanSq(TupleDesc_F64, TupleDesc_F64)
+	 */
+	public static class EuclideanSq_F64 extends AssociateGreedyBlock<TupleDesc_F64> {
+		public EuclideanSq_F64(ScoreAssociation<TupleDesc_F64> score, boolean backwardsValidation, boolean concurrent) {
+			super(score, backwardsValidation, concurrent);
+		}
+
+		@Override
+		protected void scoreRow(TupleDesc_F64 a, FastQueue<TupleDesc_F64> dst, int dst0, int dst1, double[] scores) {
+			final double[] va = a.value;
+			final int N = va.length;
+			for( int j = dst0; j < dst1; j++ ) {
+				final double[] vb = dst.data[j].value;
+				double total = 0;
+				for( int k = 0; k < N; k++ ) {
+					double d = va[k]-vb[k];
+					total += d*d;
+				}
+				scores[j-dst0] = total;
+			}
+		}
+	}
+
+	/**
+	 * Euclidean distance squared for {@link TupleDesc_F32}.
+	 *
+	 * @see boofcv.alg.descriptor.DescriptorDistance#euclideanSq(TupleDesc_F32, TupleDesc_F32)
+	 */
+	public static class EuclideanSq_F32 extends AssociateGreedyBlock<TupleDesc_F32> {
+		public EuclideanSq_F32(ScoreAssociation<TupleDesc_F32> score, boolean backwardsValidation, boolean concurrent) {
+			super(score, backwardsValidation, concurrent);
+		}
+
+		@Override
+		protected void scoreRow(TupleDesc_F32 a, FastQueue<TupleDesc_F32> dst, int dst0, int dst1, double[] scores) {
+			final float[] va = a.value;
+			final int N = va.length;
+			for( int j = dst0; j < dst1; j++ ) {
+				final float[] vb = dst.data[j].value;
+				float total = 0;
+				for( int k = 0; k < N; k++ ) {
+					double d = va[k]-vb[k];
+					total += d*d;
+				}
+				scores[j-dst0] = total;
+			}
+		}
+	}
+
+	/**
+	 * Hamming distance for {@link TupleDesc_B}.
+	 *
+	 * @see boofcv.alg.descriptor.DescriptorDistance#hamming(TupleDesc_B, TupleDesc_B)
+	 */
+	public static class Hamming_B extends AssociateGreedyBlock<TupleDesc_B> {
+		public Hamming_B(ScoreAssociation<TupleDesc_B> score, boolean backwardsValidation, boolean concurrent) {
+			super(score, backwardsValidation, concurrent);
+		}
+
+		@Override
+		protected void scoreRow(TupleDesc_B a, FastQueue<TupleDesc_B> dst, int dst0, int dst1, double[] scores) {
+			final int[] va = a.data;
+			final int N = va.length;
+			for( int j = dst0; j < dst1; j++ ) {
+				final int[] vb = dst.data[j].data;
+				int total = 0;
+				for( int k = 0; k < N; k++ ) {
+					total += Integer.bitCount(va[k] ^ vb[k]);
+				}
+				scores[j-dst0] = total;
+			}
+		}
+	}
+
+	/**
+	 * Hamming distance for {@link TupleDesc_B64}.
+	 *
+	 * @see boofcv.alg.descriptor.DescriptorDistance#hamming(TupleDesc_B64, TupleDesc_B64)
+	 */
+	public static class Hamming_B64 extends AssociateGreedyBlock<TupleDesc_B64> {
+		public Hamming_B64(ScoreAssociation<TupleDesc_B64> score, boolean backwardsValidation, boolean concurrent) {
+			super(score, backwardsValidation, concurrent);
+		}
+
+		@Override
+		protected void scoreRow(TupleDesc_B64 a, FastQueue<TupleDesc_B64> dst, int dst0, int dst1, double[] scores) {
+			final long[] va = a.data;
+			final int N = va.length;
+			for( int j = dst0; j < dst1; j++ ) {
+				final long[] vb = dst.data[j].data;
+				int total = 0;
+				for( int k = 0; k < N; k++ ) {
+					total += Long.bitCount(va[k] ^ vb[k]);
+				}
+				scores[j-dst0] = total;
+			}
+		}
+	}
+}
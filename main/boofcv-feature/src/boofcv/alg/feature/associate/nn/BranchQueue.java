@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.associate.nn;
+
+/**
+ * Priority queue of branches in a tree which have yet to be explored.  The branch with the smallest
+ * key is at the top.  Implemented as a binary heap in an array to avoid creating new objects.
+ *
+ * @author Peter Abeles
+ */
+class BranchQueue {
+	double[] keys = new double[32];
+	int[] nodes = new int[32];
+	int size;
+
+	public void reset() {
+		size = 0;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public void push( double key , int node ) {
+		if( size == keys.length ) {
+			double[] k = new double[size*2];
+			int[] n = new int[size*2];
+			System.arraycopy(keys,0,k,0,size);
+			System.arraycopy(nodes,0,n,0,size);
+			keys = k;
+			nodes = n;
+		}
+
+		// sift up
+		int i = size++;
+		while( i > 0 ) {
+			int parent = (i-1)/2;
+			if( keys[parent] <= key )
+				break;
+			keys[i] = keys[parent];
+			nodes[i] = nodes[parent];
+			i = parent;
+		}
+		keys[i] = key;
+		nodes[i] = node;
+	}
+
+	/**
+	 * Key of the branch at the top of the queue
+	 */
+	public double peekKey() {
+		return keys[0];
+	}
+
+	/**
+	 * Removes the branch at the top of the queue and returns its node
+	 */
+	public int pop() {
+		int ret = nodes[0];
+		size--;
+		double key = keys[size];
+		int node = nodes[size];
+
+		// sift down
+		int i = 0;
+		while( true ) {
+			int child = 2*i+1;
+			if( child >= size )
+				break;
+			if( child+1 < size && keys[child+1] < keys[child] )
+				child++;
+			if( key <= keys[child] )
+				break;
+			keys[i] = keys[child];
+			nodes[i] = nodes[child];
+			i = child;
+		}
+		keys[i] = key;
+		nodes[i] = node;
+
+		return ret;
+	}
+}
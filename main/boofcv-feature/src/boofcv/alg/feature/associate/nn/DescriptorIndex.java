@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.associate.nn;
+
+import org.ddogleg.struct.FastQueue;
+
+/**
+ * Data structure for finding the nearest neighbor of a descriptor inside a set of descriptors.  The set is
+ * processed once when it is specified and then searched many times.  Searches can be approximate, with the
+ * amount of work done for each search controlled by the maximum number of descriptors which are checked.
+ *
+ * @param <D> Descriptor type
+ *
+ * @author Peter Abeles
+ */
+public interface DescriptorIndex<D> {
+
+	/**
+	 * Specifies the set of descriptors which are searched and builds the search data structure.
+	 *
+	 * NOTE: A reference to the input list might be saved internally until the next call to this function.
+	 *
+	 * @param descriptors Set of descriptors
+	 */
+	void setDescriptors( FastQueue<D> descriptors );
+
+	/**
+	 * Searches for the descriptor which is the closest to the target.
+	 *
+	 * @param target The descriptor being searched for
+	 * @param maxDistance Maximum distance the nearest neighbor can be from the target, inclusive. The units
+	 *                    are the same as {@link #getDistance()}, but see the implementation for details.
+	 * @return Index of the nearest neighbor or -1 if none could be found
+	 */
+	int findNearest( D target , double maxDistance );
+
+	/**
+	 * Distance of the nearest neighbor found in the previous call to {@link #findNearest}.
+	 */
+	double getDistance();
+
+	/**
+	 * Specifies the maximum number of descriptors it will check while searching.  Higher values are slower
+	 * but more likely to find the true nearest neighbor.
+	 *
+	 * @param maxChecks Maximum number of descriptors checked. If &le; 0 then the search is exact.
+	 */
+	void setMaxChecks( int maxChecks );
+
+	int getMaxChecks();
+
+	/**
+	 * Creates a searcher for the descriptors in this index with its own workspace, so that several threads can
+	 * search at the same time.  It always searches the descriptors last passed to {@link #setDescriptors} and
+	 * uses the current maximum number of checks.
+	 */
+	Searcher<D> createSearcher();
+
+	/**
+	 * Searches the descriptors inside a {@link DescriptorIndex}. See {@link #createSearcher()}.
+	 */
+	interface Searcher<D> {
+		/**
+		 * See {@link DescriptorIndex#findNearest}
+		 */
+		int findNearest( D target , double maxDistance );
+
+		/**
+		 * Distance of the nearest neighbor found in the previous call to {@link #findNearest}.
+		 */
+		double getDistance();
+	}
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.associate.nn;
+
+import boofcv.struct.feature.TupleDesc_F32;
+import boofcv.struct.feature.TupleDesc_F64;
+import org.ddogleg.struct.FastQueue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Searches for descriptors using an {@link EuclideanSearch}.  The maximum distance is the Euclidean distance
+ * while {@link #getDistance()} returns the Euclidean distance squared, which is the same as
+ * {@link boofcv.abst.feature.associate.AssociateNearestNeighbor}.
+ *
+ * @param <D> Descriptor type
+ *
+ * @author Peter Abeles
+ */
+public abstract class EuclideanDescriptorIndex<D> implements DescriptorIndex<D> {
+
+	// the search algorithm
+	protected EuclideanSearch search;
+
+	// storage for arrays passed to the search
+	protected List<double[]> points = new ArrayList<>();
+
+	// used by findNearest()
+	protected IndexSearcher searcher;
+
+	protected EuclideanDescriptorIndex(EuclideanSearch search) {
+		this.search = search;
+		this.searcher = new IndexSearcher();
+	}
+
+	@Override
+	public int findNearest(D target, double maxDistance) {
+		return searcher.findNearest(target, maxDistance);
+	}
+
+	/**
+	 * Returns an array with the values of the target descriptor
+	 *
+	 * @param searcher The searcher which needs the array.  Its work space can be used.
+	 */
+	protected abstract double[] toArray( D target , IndexSearcher searcher );
+
+	@Override
+	public double getDistance() {
+		return searcher.getDistance();
+	}
+
+	@Override
+	public IndexSearcher createSearcher() {
+		return new IndexSearcher();
+	}
+
+	@Override
+	public void setMaxChecks(int maxChecks) {
+		search.setMaxChecks(maxChecks);
+	}
+
+	@Override
+	public int getMaxChecks() {
+		return search.getMaxChecks();
+	}
+
+	public EuclideanSearch getSearch() {
+		return search;
+	}
+
+	/**
+	 * Converts the target into an array and searches for it using a searcher from {@link EuclideanSearch}
+	 */
+	public class IndexSearcher implements Searcher<D> {
+		EuclideanSearch.Searcher pointSearcher = search.createSearcher();
+		// storage for the target's values
+		double[] work = new double[0];
+
+		@Override
+		public int findNearest(D target, double maxDistance) {
+			double maxDistanceSq = maxDistance < 0 ? Double.MAX_VALUE : maxDistance*maxDistance;
+			return pointSearcher.findNearest(toArray(target, this), maxDistanceSq);
+		}
+
+		@Override
+		public double getDistance() {
+			return pointSearcher.getDistanceSq();
+		}
+	}
+
+	/**
+	 * Implementation for {@link TupleDesc_F64}. The descriptor's arrays are searched directly.
+	 */
+	public static class F64<D extends TupleDesc_F64> extends EuclideanDescriptorIndex<D> {
+		public F64(EuclideanSearch search) {
+			super(search);
+		}
+
+		@Override
+		public void setDescriptors(FastQueue<D> descriptors) {
+			points.clear();
+			for( int i = 0; i < descriptors.size; i++ ) {
+				points.add(descriptors.data[i].value);
+			}
+			search.setPoints(points);
+		}
+
+		@Override
+		protected double[] toArray(D target, IndexSearcher searcher) {
+			return target.value;
+		}
+	}
+
+	/**
+	 * Implementation for {@link TupleDesc_F32}. Descriptors are copied into double arrays.
+	 */
+	public static class F32 extends EuclideanDescriptorIndex<TupleDesc_F32> {
+		// recycled arrays
+		List<double[]> storage = new ArrayList<>();
+
+		public F32(EuclideanSearch search) {
+			super(search);
+		}
+
+		@Override
+		public void setDescriptors(FastQueue<TupleDesc_F32> descriptors) {
+			points.clear();
+			for( int i = 0; i < descriptors.size; i++ ) {
+				float[] value = descriptors.data[i].value;
+				if( storage.size() <= i )
+					storage.add(new double[value.length]);
+				else if( storage.get(i).length != value.length )
+					storage.set(i, new double[value.length]);
+				double[] p = storage.get(i);
+				for( int j = 0; j < value.length; j++ ) {
+					p[j] = value[j];
+				}
+				points.add(p);
+			}
+			search.setPoints(points);
+		}
+
+		@Override
+		protected double[] toArray(TupleDesc_F32 target, IndexSearcher searcher) {
+			float[] value = target.value;
+			if( searcher.work.length != value.length )
+				searcher.work = new double[value.length];
+			double[] work = searcher.work;
+			for( int j = 0; j < value.length; j++ ) {
+				work[j] = value[j];
+			}
+			return work;
+		}
+	}
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.associate.nn;
+
+import java.util.List;
+
+/**
+ * Nearest neighbor search of points in N-dimensional space using Euclidean distance.
+ *
+ * @see EuclideanDescriptorIndex
+ *
+ * @author Peter Abeles
+ */
+public interface EuclideanSearch {
+
+	/**
+	 * Specifies the points which are searched and builds the search data structure.  The point arrays are
+	 * referenced and must not be modified until the next call.
+	 *
+	 * @param points Set of points.  All points must have the same length.
+	 */
+	void setPoints( List<double[]> points );
+
+	/**
+	 * Finds the point which is the closest to the target.
+	 *
+	 * @param target The point being searched for
+	 * @param maxDistanceSq Maximum Euclidean distance squared, inclusive.
+	 * @return Index of the closest point or -1 if none could be found
+	 */
+	int findNearest( double[] target , double maxDistanceSq );
+
+	/**
+	 * Euclidean distance squared of the point found in the previous call to {@link #findNearest}.
+	 */
+	double getDistanceSq();
+
+	/**
+	 * Maximum number of points checked during a search.  If &le; 0 then the search is exact.
+	 */
+	void setMaxChecks( int maxChecks );
+
+	int getMaxChecks();
+
+	/**
+	 * Creates a searcher for the points in this search with its own workspace, so that several threads can
+	 * search at the same time.  It always searches the points last passed to {@link #setPoints} and uses the
+	 * current maximum number of checks.
+	 */
+	Searcher createSearcher();
+
+	/**
+	 * Searches the points inside an {@link EuclideanSearch}. See {@link #createSearcher()}.
+	 */
+	interface Searcher {
+		/**
+		 * See {@link EuclideanSearch#findNearest}
+		 */
+		int findNearest( double[] target , double maxDistanceSq );
+
+		/**
+		 * Euclidean distance squared of the point found in the previous call to {@link #findNearest}.
+		 */
+		double getDistanceSq();
+	}
+}
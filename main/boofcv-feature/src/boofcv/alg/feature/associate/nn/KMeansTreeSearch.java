@@ -0,0 +1,458 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.associate.nn;
+
+import org.ddogleg.struct.GrowQueue_F64;
+import org.ddogleg.struct.GrowQueue_I32;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * <p>
+ * Approximate nearest neighbor search using a hierarchical k-means tree [1].  The points are clustered into
+ * 'branching' clusters using k-means and each cluster is recursively clustered until it has no more than
+ * 'branching' points in it.  When searching, the tree is descended by selecting the closest cluster center
+ * and the other clusters are added to a priority queue sorted by the distance to their center.  Once a leaf
+ * has been reached the next cluster in the queue is searched until the maximum number of points have been
+ * checked.
+ * </p>
+ *
+ * <p>
+ * The radius of each cluster is saved, which provides a lower bound on the distance to points inside the
+ * cluster.  Clusters which can't contain a better solution are skipped and if every point is allowed to be
+ * checked the result is exact.
+ * </p>
+ *
+ * <p>
+ * [1] Muja, Marius, and David G. Lowe. "Fast Approximate Nearest Neighbors with Automatic Algorithm
+ * Configuration." VISAPP (1) 2 (2009)
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class KMeansTreeSearch implements EuclideanSearch {
+
+	// number of clusters in each node
+	int branching;
+	// maximum number of k-means iterations when creating the clusters
+	int maxIterations;
+	Random rand;
+
+	// maximum number of distances computed in a search, to points and cluster centers
+	int maxChecks;
+
+	// points in the tree
+	List<double[]> points;
+	int dof;
+
+	// For internal nodes, first/last are the range of child nodes.  For leaves, they are the range of
+	// elements in indexes.  The last element is exclusive.
+	GrowQueue_I32 nodeFirst = new GrowQueue_I32();
+	GrowQueue_I32 nodeLast = new GrowQueue_I32();
+	GrowQueue_I32 nodeIsLeaf = new GrowQueue_I32();
+	// center of each node's cluster
+	List<double[]> nodeCenter = new ArrayList<>();
+	// distance from the center to the point in the cluster farthest away
+	GrowQueue_F64 nodeRadius = new GrowQueue_F64();
+	// index of points sorted so that each leaf is a continuous block
+	int[] indexes = new int[0];
+
+	// workspace for building the tree
+	int[] assignment = new int[0];
+	int[] work = new int[0];
+	double[] nearestSq = new double[0];
+	int[] clusterSize = new int[0];
+	List<double[]> centers = new ArrayList<>();
+
+	// used by findNearest()
+	TreeSearcher searcher = new TreeSearcher();
+
+	/**
+	 * Configures the search
+	 *
+	 * @param branching Number of clusters in each node.  Try 16 to 32
+	 * @param maxIterations Maximum number of k-means iterations.  Try 7
+	 * @param maxChecks Maximum number of distances computed in a search. If &le; 0 then it's exact.
+	 * @param rand Random number generator used to seed k-means
+	 */
+	public KMeansTreeSearch(int branching, int maxIterations , int maxChecks , Random rand ) {
+		if( branching < 2 )
+			throw new IllegalArgumentException("Branching must be at least 2");
+		this.branching = branching;
+		this.maxIterations = maxIterations;
+		this.maxChecks = maxChecks;
+		this.rand = rand;
+	}
+
+	@Override
+	public void setPoints(List<double[]> points) {
+		this.points = points;
+		this.dof = points.isEmpty() ? 0 : points.get(0).length;
+
+		int N = points.size();
+		if( indexes.length < N ) {
+			indexes = new int[N];
+			assignment = new int[N];
+			work = new int[N];
+			nearestSq = new double[N];
+		}
+		if( clusterSize.length < branching )
+			clusterSize = new int[branching];
+		while( centers.size() < branching )
+			centers.add(new double[dof]);
+		for( int i = 0; i < branching; i++ ) {
+			if( centers.get(i).length != dof )
+				centers.set(i,new double[dof]);
+		}
+
+		for( int i = 0; i < N; i++ ) {
+			indexes[i] = i;
+		}
+
+		nodeFirst.reset();
+		nodeLast.reset();
+		nodeIsLeaf.reset();
+		nodeRadius.reset();
+		// recycle the center arrays
+		List<double[]> recycled = nodeCenter;
+		nodeCenter = new ArrayList<>();
+
+		if( N == 0 )
+			return;
+
+		// The root has no center and is never compared against the target
+		addNode(recycled);
+		buildNode(0,0,N,recycled);
+	}
+
+	/**
+	 * Clusters the points in indexes from 'lower' to 'upper' and recursively creates child nodes
+	 */
+	private void buildNode( int node , int lower , int upper , List<double[]> recycled ) {
+		int N = upper-lower;
+		int numClusters = N <= branching ? 0 : kmeans(lower,upper);
+
+		if( numClusters <= 1 ) {
+			nodeIsLeaf.data[node] = 1;
+			nodeFirst.data[node] = lower;
+			nodeLast.data[node] = upper;
+			return;
+		}
+
+		// sort indexes by cluster using a counting sort
+		int[] offsets = new int[numClusters+1];
+		for( int i = lower; i < upper; i++ ) {
+			offsets[assignment[i]+1]++;
+		}
+		for( int i = 0; i < numClusters; i++ ) {
+			offsets[i+1] += offsets[i];
+		}
+		int[] start = offsets.clone();
+		for( int i = lower; i < upper; i++ ) {
+			work[lower + start[assignment[i]]++] = indexes[i];
+		}
+		System.arraycopy(work,lower,indexes,lower,N);
+
+		// create the children.  The centers need to be saved before recursion overwrites them
+		int first = nodeFirst.size;
+		for( int i = 0; i < numClusters; i++ ) {
+			int child = addNode(recycled);
+			System.arraycopy(centers.get(i),0,nodeCenter.get(child),0,dof);
+		}
+		nodeIsLeaf.data[node] = 0;
+		nodeFirst.data[node] = first;
+		nodeLast.data[node] = first+numClusters;
+
+		for( int i = 0; i < numClusters; i++ ) {
+			int child = first+i;
+			int childLower = lower+offsets[i];
+			int childUpper = lower+offsets[i+1];
+			double[] center = nodeCenter.get(child);
+			double radius = 0;
+			for( int j = childLower; j < childUpper; j++ ) {
+				radius = Math.max(radius, KdForestSearch.distanceSq(center, points.get(indexes[j]), Double.MAX_VALUE));
+			}
+			nodeRadius.data[child] = Math.sqrt(radius);
+			buildNode(child,childLower,childUpper,recycled);
+		}
+	}
+
+	/**
+	 * Clusters the points using k-means with k-means++ seeding.  Results are saved in 'assignment' and 'centers'.
+	 * Empty clusters are removed.
+	 *
+	 * @return number of clusters
+	 */
+	private int kmeans( int lower , int upper ) {
+		int N = upper-lower;
+
+		// k-means++ seeding
+		int numClusters = 1;
+		System.arraycopy(points.get(indexes[lower+rand.nextInt(N)]),0,centers.get(0),0,dof);
+		double sum = 0;
+		for( int i = lower; i < upper; i++ ) {
+			nearestSq[i] = KdForestSearch.distanceSq(centers.get(0),points.get(indexes[i]),Double.MAX_VALUE);
+			sum += nearestSq[i];
+		}
+		while( numClusters < branching && sum > 0 ) {
+			double r = rand.nextDouble()*sum;
+			int selected = upper-1;
+			for( int i = lower; i < upper; i++ ) {
+				r -= nearestSq[i];
+				if( r < 0 ) {
+					selected = i;
+					break;
+				}
+			}
+			double[] c = centers.get(numClusters++);
+			System.arraycopy(points.get(indexes[selected]),0,c,0,dof);
+
+			sum = 0;
+			for( int i = lower; i < upper; i++ ) {
+				double d = KdForestSearch.distanceSq(c,points.get(indexes[i]),nearestSq[i]);
+				if( d < nearestSq[i] )
+					nearestSq[i] = d;
+				sum += nearestSq[i];
+			}
+		}
+
+		// all the points are identical
+		if( numClusters == 1 )
+			return 1;
+
+		for( int i = lower; i < upper; i++ ) {
+			assignment[i] = closestCenter(points.get(indexes[i]),numClusters);
+		}
+		for( int iteration = 0; iteration < maxIterations; iteration++ ) {
+			// update the centers
+			for( int k = 0; k < numClusters; k++ ) {
+				Arrays.fill(centers.get(k),0);
+				clusterSize[k] = 0;
+			}
+			for( int i = lower; i < upper; i++ ) {
+				double[] c = centers.get(assignment[i]);
+				double[] p = points.get(indexes[i]);
+				for( int j = 0; j < dof; j++ ) {
+					c[j] += p[j];
+				}
+				clusterSize[assignment[i]]++;
+			}
+			for( int k = 0; k < numClusters; k++ ) {
+				if( clusterSize[k] == 0 )
+					continue;
+				double[] c = centers.get(k);
+				for( int j = 0; j < dof; j++ ) {
+					c[j] /= clusterSize[k];
+				}
+			}
+
+			// assign points to the new centers
+			boolean changed = false;
+			for( int i = lower; i < upper; i++ ) {
+				int best = closestCenter(points.get(indexes[i]),numClusters);
+				if( best != assignment[i] ) {
+					assignment[i] = best;
+					changed = true;
+				}
+			}
+			if( !changed )
+				break;
+		}
+
+		// remove empty clusters
+		Arrays.fill(clusterSize,0,numClusters,0);
+		for( int i = lower; i < upper; i++ ) {
+			clusterSize[assignment[i]]++;
+		}
+		int[] remap = new int[numClusters];
+		int numValid = 0;
+		for( int k = 0; k < numClusters; k++ ) {
+			if( clusterSize[k] == 0 )
+				continue;
+			if( numValid != k ) {
+				double[] tmp = centers.get(numValid);
+				centers.set(numValid,centers.get(k));
+				centers.set(k,tmp);
+			}
+			remap[k] = numValid++;
+		}
+		for( int i = lower; i < upper; i++ ) {
+			assignment[i] = remap[assignment[i]];
+		}
+
+		return numValid;
+	}
+
+	private int closestCenter( double[] p , int numClusters ) {
+		int best = 0;
+		double bestDistance = Double.MAX_VALUE;
+		for( int k = 0; k < numClusters; k++ ) {
+			double d = KdForestSearch.distanceSq(centers.get(k),p,bestDistance);
+			if( d < bestDistance ) {
+				bestDistance = d;
+				best = k;
+			}
+		}
+		return best;
+	}
+
+	private int addNode( List<double[]> recycled ) {
+		nodeFirst.add(0);
+		nodeLast.add(0);
+		nodeIsLeaf.add(0);
+		nodeRadius.add(0);
+		double[] center = recycled.isEmpty() ? null : recycled.remove(recycled.size()-1);
+		if( center == null || center.length != dof )
+			center = new double[dof];
+		nodeCenter.add(center);
+		return nodeFirst.size-1;
+	}
+
+	@Override
+	public int findNearest(double[] target, double maxDistanceSq) {
+		return searcher.findNearest(target, maxDistanceSq);
+	}
+
+	@Override
+	public TreeSearcher createSearcher() {
+		return new TreeSearcher();
+	}
+
+	@Override
+	public double getDistanceSq() {
+		return searcher.bestDistance;
+	}
+
+	@Override
+	public void setMaxChecks(int maxChecks) {
+		this.maxChecks = maxChecks;
+	}
+
+	@Override
+	public int getMaxChecks() {
+		return maxChecks;
+	}
+
+	/**
+	 * Number of distances computed in the previous search
+	 */
+	public int getChecks() {
+		return searcher.checks;
+	}
+
+	/**
+	 * Searches the tree.  Only the workspace is stored here, so searchers can be used by different threads.
+	 */
+	public class TreeSearcher implements Searcher {
+		BranchQueue queue = new BranchQueue();
+		int checks;
+		int bestIndex;
+		double bestDistance;
+
+		@Override
+		public int findNearest(double[] target, double maxDistanceSq) {
+			bestIndex = -1;
+			bestDistance = maxDistanceSq;
+			checks = 0;
+			if( nodeFirst.size == 0 )
+				return -1;
+
+			queue.reset();
+			searchBranch(target, 0);
+
+			while( !queue.isEmpty() && (maxChecks <= 0 || checks < maxChecks) ) {
+				double d = queue.peekKey();
+				int node = queue.pop();
+
+				// a better solution might have been found since it was added to the queue
+				double bound = Math.sqrt(d) - nodeRadius.data[node];
+				if( bound > 0 && bound*bound > bestDistance )
+					continue;
+
+				searchBranch(target, node);
+			}
+
+			return bestIndex;
+		}
+
+		/**
+		 * Descends down the tree to a leaf by always selecting the closest cluster.  The other clusters are added to
+		 * the queue if they could contain a better solution.
+		 */
+		private void searchBranch( double[] target , int node ) {
+			while( nodeIsLeaf.data[node] == 0 ) {
+				int closest = -1;
+				double closestDistance = Double.MAX_VALUE;
+
+				int last = nodeLast.data[node];
+				for( int child = nodeFirst.data[node]; child < last; child++ ) {
+					double d = KdForestSearch.distanceSq(target,nodeCenter.get(child),Double.MAX_VALUE);
+					checks++;
+
+					// skip clusters which can't contain a better solution
+					double bound = Math.sqrt(d) - nodeRadius.data[child];
+					if( bound > 0 && bound*bound > bestDistance )
+						continue;
+
+					if( d < closestDistance ) {
+						if( closest != -1 )
+							queue.push(closestDistance, closest);
+						closest = child;
+						closestDistance = d;
+					} else {
+						queue.push(d, child);
+					}
+				}
+				if( closest == -1 )
+					return;
+				node = closest;
+			}
+
+			// The first leaf is always searched, even if cluster centers used up all the checks
+			int end = nodeLast.data[node];
+			for( int i = nodeFirst.data[node]; i < end; i++ ) {
+				if( maxChecks > 0 && checks >= maxChecks && bestIndex != -1 )
+					return;
+				checks++;
+				int index = indexes[i];
+				double d = KdForestSearch.distanceSq(target, points.get(index), bestDistance);
+				if( d <= bestDistance && (bestIndex == -1 || d < bestDistance) ) {
+					bestIndex = index;
+					bestDistance = d;
+				}
+			}
+		}
+
+		@Override
+		public double getDistanceSq() {
+			return bestDistance;
+		}
+
+		/**
+		 * Number of distances computed in the previous search
+		 */
+		public int getChecks() {
+			return checks;
+		}
+	}
+}
@@ -0,0 +1,435 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.associate.nn;
+
+import org.ddogleg.struct.GrowQueue_F64;
+import org.ddogleg.struct.GrowQueue_I32;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * <p>
+ * Approximate nearest neighbor search using a forest of randomized K-D trees [1].  Each tree splits along a
+ * dimension which is randomly selected from the dimensions with the largest variance, at the mean value. Since
+ * the trees are different, a point which is far away from the target in one tree can be close in another.
+ * All the trees are searched at the same time using a single best-bin-first queue, and a point is only
+ * checked once, even if it's found in multiple trees.  The search stops after the maximum number of points
+ * have been checked or when it can prove that the best solution has been found.
+ * </p>
+ *
+ * <p>
+ * The distance to a branch which has not been explored is the largest distance along any of the split
+ * dimensions.  This is a lower bound on the distance to any point inside the branch, so if every point is
+ * allowed to be checked the result is exact.
+ * </p>
+ *
+ * <p>
+ * [1] Muja, Marius, and David G. Lowe. "Fast Approximate Nearest Neighbors with Automatic Algorithm
+ * Configuration." VISAPP (1) 2 (2009)
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class KdForestSearch implements EuclideanSearch {
+
+	// Maximum number of points in a leaf
+	public static final int LEAF_SIZE = 4;
+	// Maximum number of points used to compute the variance when selecting the split
+	public static final int SAMPLE_SIZE = 100;
+
+	// number of trees in the forest
+	int numTrees;
+	// number of dimensions with the largest variance which can be selected for splitting
+	int numConsiderSplit;
+	Random rand;
+
+	// maximum number of points checked in a search
+	int maxChecks;
+
+	// points in the forest
+	List<double[]> points;
+	int dof;
+
+	// Description of each node.  For splits, dimension >= 0 and left/right are node indexes. For leaves
+	// dimension = -1 and left/right are the first (inclusive) and last (exclusive) element in indexes.
+	GrowQueue_I32 nodeDimension = new GrowQueue_I32();
+	GrowQueue_F64 nodeSplit = new GrowQueue_F64();
+	GrowQueue_I32 nodeLeft = new GrowQueue_I32();
+	GrowQueue_I32 nodeRight = new GrowQueue_I32();
+	// root node of each tree
+	int[] roots;
+	// index of points sorted so that each leaf is a continuous block. One block for each tree
+	int[] indexes = new int[0];
+
+	// workspace for building the trees
+	double[] mean = new double[0];
+	double[] variance = new double[0];
+	int[] bestDims = new int[0];
+
+	// used by findNearest()
+	TreeSearcher searcher = new TreeSearcher();
+
+	/**
+	 * Configures the search
+	 *
+	 * @param numTrees Number of trees in the forest.  Try 4 to 8
+	 * @param numConsiderSplit Number of dimensions with the largest variance which are considered for splitting.
+	 *                         Try 5
+	 * @param maxChecks Maximum number of points checked in a search. If &le; 0 then it's exact.
+	 * @param rand Random number generator used to create the trees
+	 */
+	public KdForestSearch(int numTrees, int numConsiderSplit, int maxChecks , Random rand) {
+		if( numTrees <= 0 )
+			throw new IllegalArgumentException("Must have at least one tree");
+		if( numConsiderSplit <= 0 )
+			throw new IllegalArgumentException("numConsiderSplit must be > 0");
+		this.numTrees = numTrees;
+		this.numConsiderSplit = numConsiderSplit;
+		this.maxChecks = maxChecks;
+		this.rand = rand;
+	}
+
+	@Override
+	public void setPoints(List<double[]> points) {
+		this.points = points;
+		this.dof = points.isEmpty() ? 0 : points.get(0).length;
+
+		int N = points.size();
+		if( indexes.length < N*numTrees )
+			indexes = new int[N*numTrees];
+		if( mean.length < dof ) {
+			mean = new double[dof];
+			variance = new double[dof];
+		}
+		if( bestDims.length < numConsiderSplit )
+			bestDims = new int[numConsiderSplit];
+
+		nodeDimension.reset();
+		nodeSplit.reset();
+		nodeLeft.reset();
+		nodeRight.reset();
+		roots = new int[numTrees];
+
+		for( int tree = 0; tree < numTrees; tree++ ) {
+			int offset = tree*N;
+			for( int i = 0; i < N; i++ ) {
+				indexes[offset+i] = i;
+			}
+			roots[tree] = buildNode(offset, offset+N);
+		}
+	}
+
+	/**
+	 * Creates a node for the points in indexes from 'lower' to 'upper' and recursively creates its children.
+	 *
+	 * @return index of the node
+	 */
+	private int buildNode( int lower , int upper ) {
+		int node = addNode();
+
+		if( upper-lower <= LEAF_SIZE || !selectSplit(lower,upper) ) {
+			setLeaf(node,lower,upper);
+			return node;
+		}
+
+		int dim = bestDims[0];
+		double split = mean[dim];
+
+		// points less than the mean go to the left and everything else to the right
+		int middle = partition(lower,upper,dim,split);
+
+		// All the points could be on one side of the mean.  Split them into two equal sets
+		if( middle == lower || middle == upper ) {
+			sortByDimension(lower,upper,dim);
+			middle = (lower+upper)/2;
+			split = points.get(indexes[middle])[dim];
+		}
+
+		int left = buildNode(lower,middle);
+		int right = buildNode(middle,upper);
+
+		nodeDimension.data[node] = dim;
+		nodeSplit.data[node] = split;
+		nodeLeft.data[node] = left;
+		nodeRight.data[node] = right;
+		return node;
+	}
+
+	/**
+	 * Computes the mean and variance of a sample of points and randomly selects which dimension to split along.
+	 * The selected dimension is saved in bestDims[0].
+	 *
+	 * @return false if there is no variance and it can't be split
+	 */
+	private boolean selectSplit( int lower , int upper ) {
+		int N = Math.min(SAMPLE_SIZE,upper-lower);
+
+		Arrays.fill(mean,0,dof,0);
+		Arrays.fill(variance,0,dof,0);
+		for( int i = 0; i < N; i++ ) {
+			double[] p = points.get(indexes[lower+i]);
+			for( int k = 0; k < dof; k++ ) {
+				mean[k] += p[k];
+			}
+		}
+		for( int k = 0; k < dof; k++ ) {
+			mean[k] /= N;
+		}
+		for( int i = 0; i < N; i++ ) {
+			double[] p = points.get(indexes[lower+i]);
+			for( int k = 0; k < dof; k++ ) {
+				double d = p[k]-mean[k];
+				variance[k] += d*d;
+			}
+		}
+
+		// find the dimensions with the largest variance using an insertion sort
+		int numBest = 0;
+		for( int k = 0; k < dof; k++ ) {
+			double v = variance[k];
+			if( v <= 0 )
+				continue;
+			if( numBest == numConsiderSplit && v <= variance[bestDims[numBest-1]])
+				continue;
+			int j = Math.min(numBest, numConsiderSplit-1);
+			while( j > 0 && variance[bestDims[j-1]] < v ) {
+				bestDims[j] = bestDims[j-1];
+				j--;
+			}
+			bestDims[j] = k;
+			if( numBest < numConsiderSplit )
+				numBest++;
+		}
+
+		if( numBest == 0 ) {
+			// The sample has no variance.  If it's the entire set then all the points are identical
+			if( N == upper-lower )
+				return false;
+			bestDims[0] = rand.nextInt(dof);
+			return true;
+		}
+
+		bestDims[0] = bestDims[rand.nextInt(numBest)];
+		return true;
+	}
+
+	/**
+	 * Moves all the points with a value less than 'split' to the start
+	 *
+	 * @return index of the first point which is &ge; split
+	 */
+	private int partition( int lower , int upper , int dim , double split ) {
+		int i = lower, j = upper-1;
+		while( i <= j ) {
+			if( points.get(indexes[i])[dim] < split ) {
+				i++;
+			} else {
+				int tmp = indexes[i];
+				indexes[i] = indexes[j];
+				indexes[j] = tmp;
+				j--;
+			}
+		}
+		return i;
+	}
+
+	private void sortByDimension( int lower , int upper , int dim ) {
+		// insertion sort is fine since this is only called in degenerate situations
+		for( int i = lower+1; i < upper; i++ ) {
+			int index = indexes[i];
+			double v = points.get(index)[dim];
+			int j = i;
+			while( j > lower && points.get(indexes[j-1])[dim] > v ) {
+				indexes[j] = indexes[j-1];
+				j--;
+			}
+			indexes[j] = index;
+		}
+	}
+
+	private int addNode() {
+		nodeDimension.add(-1);
+		nodeSplit.add(0);
+		nodeLeft.add(0);
+		nodeRight.add(0);
+		return nodeDimension.size-1;
+	}
+
+	private void setLeaf( int node , int lower , int upper ) {
+		nodeDimension.data[node] = -1;
+		nodeLeft.data[node] = lower;
+		nodeRight.data[node] = upper;
+	}
+
+	@Override
+	public int findNearest(double[] target, double maxDistanceSq) {
+		return searcher.findNearest(target, maxDistanceSq);
+	}
+
+	@Override
+	public TreeSearcher createSearcher() {
+		return new TreeSearcher();
+	}
+
+	/**
+	 * Euclidean distance squared.  Stops early if it's more than 'limit'
+	 */
+	static double distanceSq( double[] a , double[] b , double limit ) {
+		final int N = a.length;
+		double total = 0;
+		for( int k = 0; k < N; k++ ) {
+			double d = a[k]-b[k];
+			total += d*d;
+			if( total > limit )
+				break;
+		}
+		return total;
+	}
+
+	@Override
+	public double getDistanceSq() {
+		return searcher.bestDistance;
+	}
+
+	@Override
+	public void setMaxChecks(int maxChecks) {
+		this.maxChecks = maxChecks;
+	}
+
+	@Override
+	public int getMaxChecks() {
+		return maxChecks;
+	}
+
+	/**
+	 * Number of points checked in the previous search
+	 */
+	public int getChecks() {
+		return searcher.checks;
+	}
+
+	/**
+	 * Searches the forest.  Only the workspace is stored here, so searchers can be used by different threads.
+	 */
+	public class TreeSearcher implements Searcher {
+		BranchQueue queue = new BranchQueue();
+		// marks which points have already been checked.  Values from older searches are always less than
+		// searchID, so the array doesn't need to be cleared when the points change
+		int[] checked = new int[0];
+		int searchID;
+		int checks;
+		int bestIndex;
+		double bestDistance;
+
+		@Override
+		public int findNearest(double[] target, double maxDistanceSq) {
+			bestIndex = -1;
+			bestDistance = maxDistanceSq;
+			checks = 0;
+			if( points == null || points.isEmpty() )
+				return -1;
+
+			int N = points.size();
+			if( checked.length < N ) {
+				checked = new int[N];
+				searchID = 0;
+			}
+
+			// update the ID instead of clearing the checked array
+			if( ++searchID == Integer.MAX_VALUE ) {
+				Arrays.fill(checked,0);
+				searchID = 1;
+			}
+
+			queue.reset();
+			for( int tree = 0; tree < numTrees; tree++ ) {
+				searchBranch(target, roots[tree], 0);
+			}
+
+			while( !queue.isEmpty() && (maxChecks <= 0 || checks < maxChecks) ) {
+				double lowerBound = queue.peekKey();
+				// the best possible solution in every remaining branch is worse than the current best
+				if( lowerBound > bestDistance )
+					break;
+				int node = queue.pop();
+				searchBranch(target, node, lowerBound);
+			}
+
+			return bestIndex;
+		}
+
+		/**
+		 * Descends down the tree to a leaf by always taking the closer branch.  The other branches are added to
+		 * the queue.
+		 *
+		 * @param lowerBound Lower bound on the distance squared to any point inside of the node
+		 */
+		private void searchBranch( double[] target , int node , double lowerBound ) {
+			while( nodeDimension.data[node] >= 0 ) {
+				int dim = nodeDimension.data[node];
+				double diff = target[dim] - nodeSplit.data[node];
+				int near, far;
+				if( diff < 0 ) {
+					near = nodeLeft.data[node];
+					far = nodeRight.data[node];
+				} else {
+					near = nodeRight.data[node];
+					far = nodeLeft.data[node];
+				}
+
+				double farBound = Math.max(lowerBound, diff*diff);
+				if( farBound <= bestDistance )
+					queue.push(farBound, far);
+				node = near;
+			}
+
+			int end = nodeRight.data[node];
+			for( int i = nodeLeft.data[node]; i < end; i++ ) {
+				if( maxChecks > 0 && checks >= maxChecks )
+					return;
+				int index = indexes[i];
+				if( checked[index] == searchID )
+					continue;
+				checked[index] = searchID;
+				checks++;
+
+				double d = distanceSq(target, points.get(index), bestDistance);
+				if( d <= bestDistance && (bestIndex == -1 || d < bestDistance) ) {
+					bestIndex = index;
+					bestDistance = d;
+				}
+			}
+		}
+
+		@Override
+		public double getDistanceSq() {
+			return bestDistance;
+		}
+
+		/**
+		 * Number of points checked in the previous search
+		 */
+		public int getChecks() {
+			return checks;
+		}
+	}
+}
@@ -0,0 +1,387 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.associate.nn;
+
+import boofcv.alg.descriptor.DescriptorDistance;
+import boofcv.struct.feature.TupleDesc_B;
+import boofcv.struct.feature.TupleDesc_B64;
+import org.ddogleg.struct.FastQueue;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Nearest neighbor search for binary descriptors using Hamming distance and multi-index hashing [1].  The
+ * bits in a descriptor are split into 'numTables' substrings and each substring is used as the key in a
+ * separate hash table.  If two descriptors have a Hamming distance of less than numTables*(r+1) then at least
+ * one of their substrings has a distance of r or less.  The search probes every bucket within a Hamming
+ * radius r of the target's substrings, starting at 0 and increasing until the best descriptor found is
+ * guaranteed to be the nearest neighbor. This makes it exact, unless it stops early after checking the maximum
+ * number of descriptors, and then it's a form of locality sensitive hashing.
+ * </p>
+ *
+ * <p>
+ * Each hash table is an array with one bucket for every possible key, so substrings can have at most
+ * {@link #MAX_SUBSTRING_BITS} bits.  If the number of tables isn't specified it's selected so that the
+ * number of buckets is about the same as the number of descriptors.
+ * </p>
+ *
+ * <p>
+ * [1] Norouzi, Mohammad, Ali Punjani, and David J. Fleet. "Fast search in hamming space with multi-index
+ * hashing." CVPR 2012
+ * </p>
+ *
+ * @param <D> Descriptor type
+ *
+ * @author Peter Abeles
+ */
+public abstract class MultiIndexHashing<D> implements DescriptorIndex<D> {
+
+	// largest allowed number of bits in a substring
+	public static final int MAX_SUBSTRING_BITS = 20;
+
+	// number of hash tables. If <= 0 then it's selected automatically
+	int numTables;
+	// maximum number of descriptors checked in a search
+	int maxChecks;
+
+	// descriptors being searched
+	FastQueue<D> descriptors;
+	int numBits;
+
+	// number of bits in each substring, except possibly the last
+	int substringBits;
+	// number of tables used with the current descriptors
+	int tablesUsed;
+	// For each table, the bucket of key k contains the descriptor indexes from offsets[k] to offsets[k+1]
+	int[][] offsets = new int[0][];
+	int[][] buckets = new int[0][];
+
+	// used by findNearest()
+	HashSearcher searcher = new HashSearcher();
+
+	/**
+	 * Configures the search
+	 *
+	 * @param numTables Number of hash tables. If &le; 0 it will be selected automatically
+	 * @param maxChecks Maximum number of descriptors checked in a search. If &le; 0 then it's exact.
+	 */
+	protected MultiIndexHashing(int numTables, int maxChecks) {
+		this.numTables = numTables;
+		this.maxChecks = maxChecks;
+	}
+
+	@Override
+	public void setDescriptors(FastQueue<D> descriptors) {
+		this.descriptors = descriptors;
+		int N = descriptors.size;
+		numBits = N == 0 ? 0 : getNumBits(descriptors.data[0]);
+
+		if( numBits == 0 ) {
+			tablesUsed = 0;
+			return;
+		}
+
+		if( numTables > 0 ) {
+			tablesUsed = Math.min(numTables,numBits);
+			substringBits = (numBits + tablesUsed - 1)/tablesUsed;
+			if( substringBits > MAX_SUBSTRING_BITS )
+				throw new IllegalArgumentException("Too few tables. Substrings can have at most "+
+						MAX_SUBSTRING_BITS+" bits");
+		} else {
+			substringBits = (int)Math.round(Math.log(N)/Math.log(2));
+			substringBits = Math.max(4,Math.min(MAX_SUBSTRING_BITS,Math.min(numBits,substringBits)));
+		}
+		// Recompute the number of tables since the last table could be empty. E.g. 5 tables and 8 bits
+		tablesUsed = (numBits + substringBits - 1)/substringBits;
+
+		if( offsets.length < tablesUsed ) {
+			offsets = new int[tablesUsed][];
+			buckets = new int[tablesUsed][];
+		}
+
+		for( int table = 0; table < tablesUsed; table++ ) {
+			int bit0 = table*substringBits;
+			int length = substringLength(table);
+			int numKeys = 1 << length;
+
+			if( offsets[table] == null || offsets[table].length != numKeys+1 )
+				offsets[table] = new int[numKeys+1];
+			else
+				Arrays.fill(offsets[table],0);
+			if( buckets[table] == null || buckets[table].length < N )
+				buckets[table] = new int[N];
+
+			int[] offsets = this.offsets[table];
+			int[] buckets = this.buckets[table];
+
+			// count the number of descriptors with each key and then place them in their bucket
+			for( int i = 0; i < N; i++ ) {
+				offsets[substring(descriptors.data[i],bit0,length)+1]++;
+			}
+			for( int k = 0; k < numKeys; k++ ) {
+				offsets[k+1] += offsets[k];
+			}
+			for( int i = 0; i < N; i++ ) {
+				int key = substring(descriptors.data[i],bit0,length);
+				buckets[offsets[key]++] = i;
+			}
+			// undo the increments in the previous step
+			for( int k = numKeys; k > 0; k-- ) {
+				offsets[k] = offsets[k-1];
+			}
+			offsets[0] = 0;
+		}
+	}
+
+	private int substringLength( int table ) {
+		return Math.min(substringBits, numBits - table*substringBits);
+	}
+
+	/**
+	 * Searches for the nearest neighbor.
+	 *
+	 * @param maxDistance Maximum Hamming distance, inclusive.
+	 */
+	@Override
+	public int findNearest(D target, double maxDistance) {
+		return searcher.findNearest(target, maxDistance);
+	}
+
+	@Override
+	public HashSearcher createSearcher() {
+		return new HashSearcher();
+	}
+
+	/**
+	 * Number of bits in the descriptor
+	 */
+	protected abstract int getNumBits( D desc );
+
+	/**
+	 * Extracts a sequence of bits from the descriptor. Bit 'bit0' will be the least significant bit.
+	 */
+	protected abstract int substring( D desc , int bit0 , int length );
+
+	/**
+	 * Hamming distance between the two descriptors
+	 */
+	protected abstract int hamming( D a , D b );
+
+	@Override
+	public double getDistance() {
+		return searcher.bestDistance;
+	}
+
+	@Override
+	public void setMaxChecks(int maxChecks) {
+		this.maxChecks = maxChecks;
+	}
+
+	@Override
+	public int getMaxChecks() {
+		return maxChecks;
+	}
+
+	/**
+	 * Number of descriptors checked in the previous search
+	 */
+	public int getChecks() {
+		return searcher.checks;
+	}
+
+	/**
+	 * Number of hash tables used with the current descriptors
+	 */
+	public int getTablesUsed() {
+		return tablesUsed;
+	}
+
+	/**
+	 * Searches the hash tables.  Only the workspace is stored here, so searchers can be used by different threads.
+	 */
+	public class HashSearcher implements Searcher<D> {
+		int[] keys = new int[0];
+		// marks which descriptors have already been checked.  Values from older searches are always less than
+		// searchID, so the array doesn't need to be cleared when the descriptors change
+		int[] checked = new int[0];
+		int searchID;
+		int checks;
+		int bestIndex;
+		double bestDistance;
+
+		@Override
+		public int findNearest(D target, double maxDistance) {
+			bestIndex = -1;
+			bestDistance = maxDistance < 0 ? Double.MAX_VALUE : maxDistance;
+			checks = 0;
+			if( tablesUsed == 0 )
+				return -1;
+
+			if( checked.length < descriptors.size ) {
+				checked = new int[descriptors.size];
+				searchID = 0;
+			}
+			if( keys.length < tablesUsed )
+				keys = new int[tablesUsed];
+
+			// update the ID instead of clearing the checked array
+			if( ++searchID == Integer.MAX_VALUE ) {
+				Arrays.fill(checked,0);
+				searchID = 1;
+			}
+
+			for( int table = 0; table < tablesUsed; table++ ) {
+				keys[table] = substring(target,table*substringBits,substringLength(table));
+			}
+
+			for( int radius = 0; radius <= substringBits; radius++ ) {
+				// If the distance is less than numTables*(radius) then at least one substring has a distance less
+				// than radius and it has already been found
+				if( bestDistance < tablesUsed*radius )
+					break;
+
+				for( int table = 0; table < tablesUsed; table++ ) {
+					int length = substringLength(table);
+					if( radius > length )
+						continue;
+
+					// go through all the keys which have a Hamming distance of 'radius'
+					int key = keys[table];
+					if( radius == 0 ) {
+						if( !checkBucket(target,table,key) )
+							return bestIndex;
+					} else {
+						int limit = 1 << length;
+						int mask = (1 << radius) - 1;
+						while( mask < limit ) {
+							if( !checkBucket(target,table,key ^ mask) )
+								return bestIndex;
+							// next number with the same number of bits set
+							int c = mask & -mask;
+							int r = mask + c;
+							mask = (((r ^ mask) >>> 2) / c) | r;
+						}
+					}
+				}
+			}
+
+			return bestIndex;
+		}
+
+		/**
+		 * Checks every descriptor in the bucket
+		 *
+		 * @return false if the maximum number of checks has been exceeded
+		 */
+		private boolean checkBucket( D target , int table , int key ) {
+			int[] offsets = MultiIndexHashing.this.offsets[table];
+			int[] buckets = MultiIndexHashing.this.buckets[table];
+
+			int end = offsets[key+1];
+			for( int i = offsets[key]; i < end; i++ ) {
+				if( maxChecks > 0 && checks >= maxChecks )
+					return false;
+				int index = buckets[i];
+				if( checked[index] == searchID )
+					continue;
+				checked[index] = searchID;
+				checks++;
+
+				int d = hamming(target, descriptors.data[index]);
+				if( d <= bestDistance && (bestIndex == -1 || d < bestDistance) ) {
+					bestIndex = index;
+					bestDistance = d;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public double getDistance() {
+			return bestDistance;
+		}
+
+		/**
+		 * Number of descriptors checked in the previous search
+		 */
+		public int getChecks() {
+			return checks;
+		}
+	}
+
+	/**
+	 * Implementation for {@link TupleDesc_B}
+	 */
+	public static class B extends MultiIndexHashing<TupleDesc_B> {
+		public B(int numTables, int maxChecks) {
+			super(numTables, maxChecks);
+		}
+
+		@Override
+		protected int getNumBits(TupleDesc_B desc) {
+			return desc.numBits;
+		}
+
+		@Override
+		protected int substring(TupleDesc_B desc, int bit0, int length) {
+			int word = bit0 >>> 5;
+			int offset = bit0 & 31;
+			long value = (desc.data[word] & 0xFFFFFFFFL) >>> offset;
+			if( offset + length > 32 )
+				value |= (desc.data[word+1] & 0xFFFFFFFFL) << (32-offset);
+			return (int)(value & ((1L << length)-1));
+		}
+
+		@Override
+		protected int hamming(TupleDesc_B a, TupleDesc_B b) {
+			return DescriptorDistance.hamming(a,b);
+		}
+	}
+
+	/**
+	 * Implementation for {@link TupleDesc_B64}
+	 */
+	public static class B64 extends MultiIndexHashing<TupleDesc_B64> {
+		public B64(int numTables, int maxChecks) {
+			super(numTables, maxChecks);
+		}
+
+		@Override
+		protected int getNumBits(TupleDesc_B64 desc) {
+			return desc.numBits;
+		}
+
+		@Override
+		protected int substring(TupleDesc_B64 desc, int bit0, int length) {
+			int word = bit0 >>> 6;
+			int offset = bit0 & 63;
+			long value = desc.data[word] >>> offset;
+			if( offset + length > 64 )
+				value |= desc.data[word+1] << (64-offset);
+			return (int)(value & ((1L << length)-1));
+		}
+
+		@Override
+		protected int hamming(TupleDesc_B64 a, TupleDesc_B64 b) {
+			return DescriptorDistance.hamming(a,b);
+		}
+	}
+}
@@ -26,6 +26,7 @@ import boofcv.struct.feature.TupleDesc_F64;
 import boofcv.struct.image.*;
 import georegression.struct.point.Point2D_I32;
 import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_F32;
 
 /**
  * Base calss for dense HOG implementations.
@@ -43,9 +44,17 @@ public abstract class BaseDenseHog<I extends ImageBase<I>> {
 	// Storage for descriptors
 	FastQueue<TupleDesc_F64> descriptions;
 
+	// If true the descriptors are written into descriptorMatrix instead of descriptions
+	boolean outputMatrix = false;
+	// Descriptors in a row-major matrix.  One row for each block
+	GrowQueue_F32 descriptorMatrix = new GrowQueue_F32();
+
 	// Location of each descriptor in the image, top-left corner (lower extents)
 	FastQueue<Point2D_I32> locations = new FastQueue<>(Point2D_I32.class, true);
 
+	// number of blocks along each axis in the most recently processed image
+	int blockRows,blockCols;
+
 	int orientationBins; // number of orientation bins computed in a block
 	int pixelsPerCell; // number of pixels wide a cell is
 	int cellsPerBlockX;  // number of cells wide a block is
@@ -132,6 +141,59 @@ public abstract class BaseDenseHog<I extends ImageBase<I>> {
 
 	public abstract void process();
 
+	/**
+	 * Declares storage for all the blocks in the image.  Location and descriptor storage is
+	 * grown in advance so that blocks can be written to in any order.
+	 *
+	 * @param blockRows Number of blocks along the y-axis
+	 * @param blockCols Number of blocks along the x-axis
+	 */
+	protected void declareOutput( int blockRows , int blockCols ) {
+		this.blockRows = blockRows;
+		this.blockCols = blockCols;
+
+		int total = blockRows*blockCols;
+		locations.resize(total);
+		if( outputMatrix ) {
+			descriptions.reset();
+			descriptorMatrix.resize(total*getDescriptorLength());
+		} else {
+			descriptorMatrix.reset();
+			descriptions.resize(total);
+		}
+	}
+
+	/**
+	 * Returns the storage the specified block's descriptor should be computed in.  If the output is a matrix
+	 * then 'work' is returned and {@link #saveDescriptor} needs to be called once it has been computed.
+	 */
+	protected TupleDesc_F64 lookupDescriptor( int index , TupleDesc_F64 work ) {
+		return outputMatrix ? work : descriptions.get(index);
+	}
+
+	/**
+	 * Copies the descriptor into the matrix if the output is a matrix
+	 */
+	protected void saveDescriptor( int index , TupleDesc_F64 desc ) {
+		if( !outputMatrix )
+			return;
+		int length = desc.value.length;
+		float[] matrix = descriptorMatrix.data;
+		int offset = index*length;
+		for (int i = 0; i < length; i++) {
+			matrix[offset+i] = (float)desc.value[i];
+		}
+	}
+
+	/**
+	 * Number of blocks along each axis that can fit inside an axis which has the specified number of
+	 * elements when the window is the specified size and moves the specified step.
+	 */
+	static int countSteps( int length , int window , int step ) {
+		int max = length - window + 1;
+		return max <= 0 ? 0 : (max + step - 1)/step;
+	}
+
 	/**
 	 * List of locations for each descriptor.
 	 */
@@ -140,12 +202,51 @@ public abstract class BaseDenseHog<I extends ImageBase<I>> {
 	}
 
 	/**
-	 * List of descriptors
+	 * List of descriptors.  Empty if the output is a matrix.
 	 */
 	public FastQueue<TupleDesc_F64> getDescriptions() {
 		return descriptions;
 	}
 
+	/**
+	 * Descriptors stored in a single row-major matrix with one row for each block.  Only filled in when
+	 * {@link #setOutputMatrix(boolean)} is true.  The number of rows is the same as the number of locations
+	 * and the number of columns is {@link #getDescriptorLength()}.
+	 */
+	public GrowQueue_F32 getDescriptorMatrix() {
+		return descriptorMatrix;
+	}
+
+	/**
+	 * If true then descriptors are only written into the descriptor matrix.  This avoids a
+	 * {@link TupleDesc_F64} for each block and can be passed directly into a linear classifier.
+	 */
+	public void setOutputMatrix(boolean outputMatrix) {
+		this.outputMatrix = outputMatrix;
+	}
+
+	public boolean isOutputMatrix() {
+		return outputMatrix;
+	}
+
+	/**
+	 * Number of blocks along the y-axis in the most recently processed image
+	 */
+	public int getBlockRows() {
+		return blockRows;
+	}
+
+	/**
+	 * Number of blocks along the x-axis in the most recently processed image
+	 */
+	public int getBlockCols() {
+		return blockCols;
+	}
+
+	public int getDescriptorLength() {
+		return orientationBins* cellsPerBlockX * cellsPerBlockY;
+	}
+
 	public GrayF32 _getDerivX() {
 		return derivX;
 	}
@@ -92,6 +92,9 @@ public class DescribeDenseHogAlg<Input extends ImageBase<Input>> extends BaseDen
 	// the active histogram being worked on
 	double histogram[];
 
+	// storage for a descriptor when the output is a matrix
+	TupleDesc_F64 work;
+
 	// spatial weights applied to each in a block
 	// stored in a row major order
 	double weights[];
@@ -113,6 +116,7 @@ public class DescribeDenseHogAlg<Input extends ImageBase<Input>> extends BaseDen
 		super(orientationBins, pixelsPerCell, cellsPerBlockX, cellsPerBlockY, stepBlock, imageType);
 
 		computeWeightBlockPixels();
+		work = createDescription();
 	}
 
 	/**
@@ -176,8 +180,18 @@ public class DescribeDenseHogAlg<Input extends ImageBase<Input>> extends BaseDen
 	/**
 	 * Computes the orientation and magnitude of each pixel
 	 */
-	private void computePixelFeatures() {
-		for (int y = 0; y < derivX.height; y++) {
+	void computePixelFeatures() {
+		computePixelFeatures(0, derivX.height);
+	}
+
+	/**
+	 * Computes the orientation and magnitude of each pixel inside the specified rows
+	 *
+	 * @param row0 First row, inclusive
+	 * @param row1 Last row, exclusive
+	 */
+	void computePixelFeatures( int row0 , int row1 ) {
+		for (int y = row0; y < row1; y++) {
 			int pixelIndex = y*derivX.width;
 			int endIndex = pixelIndex+derivX.width;
 			for (; pixelIndex < endIndex; pixelIndex++ ) {
@@ -197,32 +211,52 @@ public class DescribeDenseHogAlg<Input extends ImageBase<Input>> extends BaseDen
 	 */
 	@Override
 	public void process() {
-		locations.reset();
-		descriptions.reset();
+		initializeProcess();
+
+		computeDescriptors(0, blockRows, work);
+	}
+
+	/**
+	 * Declares storage for the descriptors in the current image
+	 */
+	void initializeProcess() {
+		int stepBlockPixels = pixelsPerCell*stepBlock;
 
-		int stepBlockPixelsX = pixelsPerCell *stepBlock;
-		int stepBlockPixelsY = pixelsPerCell *stepBlock;
+		declareOutput(countSteps(derivX.height, pixelsPerCell*cellsPerBlockY, stepBlockPixels),
+				countSteps(derivX.width, pixelsPerCell*cellsPerBlockX, stepBlockPixels));
+	}
 
-		int maxY = derivX.height - pixelsPerCell * cellsPerBlockY + 1;
-		int maxX = derivX.width - pixelsPerCell * cellsPerBlockX + 1;
+	/**
+	 * Computes the descriptors for the specified rows of blocks
+	 *
+	 * @param blockRow0 First row of blocks, inclusive
+	 * @param blockRow1 Last row of blocks, exclusive
+	 * @param work Storage for a descriptor if the output is a matrix
+	 */
+	void computeDescriptors( int blockRow0 , int blockRow1 , TupleDesc_F64 work ) {
+		int stepBlockPixels = pixelsPerCell*stepBlock;
+
+		for (int blockRow = blockRow0; blockRow < blockRow1; blockRow++) {
+			int y = blockRow*stepBlockPixels;
+			int index = blockRow*blockCols;
+			for (int blockCol = 0; blockCol < blockCols; blockCol++, index++) {
+				int x = blockCol*stepBlockPixels;
 
-		for (int y = 0; y < maxY; y += stepBlockPixelsY ) {
-			for (int x = 0; x < maxX; x += stepBlockPixelsX ) {
-				TupleDesc_F64 d = descriptions.grow();
+				TupleDesc_F64 d = lookupDescriptor(index, work);
 				Arrays.fill(d.value,0);
-				histogram = d.value;
 
 				for (int cellRow = 0; cellRow < cellsPerBlockY; cellRow++) {
 					int blockPixelRow = cellRow* pixelsPerCell;
 					for (int cellCol = 0; cellCol < cellsPerBlockX; cellCol++) {
 						int blockPixelCol = cellCol* pixelsPerCell;
 
-						computeCellHistogram(x+blockPixelCol, y+blockPixelRow, cellCol, cellRow);
+						computeCellHistogram(x+blockPixelCol, y+blockPixelRow, cellCol, cellRow, d.value);
 					}
 				}
 
 				DescribeSiftCommon.normalizeDescriptor(d,0.2);
-				locations.grow().set(x,y);
+				saveDescriptor(index, d);
+				locations.get(index).set(x,y);
 			}
 		}
 	}
@@ -236,6 +270,19 @@ public class DescribeDenseHogAlg<Input extends ImageBase<Input>> extends BaseDen
 	 */
 	void computeCellHistogram(int pixelX0 , int pixelY0 ,
 							  int cellX , int cellY ) {
+		computeCellHistogram(pixelX0, pixelY0, cellX, cellY, histogram);
+	}
+
+	/**
+	 * Computes the histogram for the block with the specified lower extent
+	 * @param pixelX0 cell's lower extent x-axis in the image
+	 * @param pixelY0 cell's lower extent y-axis in the image
+	 * @param cellX Location of the cell in the block x-axis
+	 * @param cellY Location of the cell in the block y-axis
+	 * @param histogram The block's histogram which is being updated
+	 */
+	void computeCellHistogram(int pixelX0 , int pixelY0 ,
+							  int cellX , int cellY , double histogram[] ) {
 
 		float angleBinSize = GrlConstants.F_PI/orientationBins;
 
@@ -289,32 +336,32 @@ public class DescribeDenseHogAlg<Input extends ImageBase<Input>> extends BaseDen
 
 				// spatial bilinear interpolation + orientation linear interpolation
 				// + gaussian weighting (previously applied)
-				addToHistogram( cellX-1, cellY-1 , index0, (1.0-oriWeight1)*magnitude*spatialWeightX0*spatialWeightY0);
-				addToHistogram( cellX-1, cellY-1 , index1, oriWeight1*magnitude*spatialWeightX0*spatialWeightY0);
+				addToHistogram( cellX-1, cellY-1 , index0, (1.0-oriWeight1)*magnitude*spatialWeightX0*spatialWeightY0, histogram);
+				addToHistogram( cellX-1, cellY-1 , index1, oriWeight1*magnitude*spatialWeightX0*spatialWeightY0, histogram);
 
-				addToHistogram( cellX, cellY-1 , index0, (1.0-oriWeight1)*magnitude*spatialWeightX1*spatialWeightY0);
-				addToHistogram( cellX, cellY-1 , index1, oriWeight1*magnitude*spatialWeightX1*spatialWeightY0);
+				addToHistogram( cellX, cellY-1 , index0, (1.0-oriWeight1)*magnitude*spatialWeightX1*spatialWeightY0, histogram);
+				addToHistogram( cellX, cellY-1 , index1, oriWeight1*magnitude*spatialWeightX1*spatialWeightY0, histogram);
 
-				addToHistogram( cellX+1, cellY-1 , index0, (1.0-oriWeight1)*magnitude*spatialWeightX2*spatialWeightY0);
-				addToHistogram( cellX+1, cellY-1 , index1, oriWeight1*magnitude*spatialWeightX2*spatialWeightY0);
+				addToHistogram( cellX+1, cellY-1 , index0, (1.0-oriWeight1)*magnitude*spatialWeightX2*spatialWeightY0, histogram);
+				addToHistogram( cellX+1, cellY-1 , index1, oriWeight1*magnitude*spatialWeightX2*spatialWeightY0, histogram);
 
-				addToHistogram( cellX-1, cellY , index0, (1.0-oriWeight1)*magnitude*spatialWeightX0*spatialWeightY1);
-				addToHistogram( cellX-1, cellY , index1, oriWeight1*magnitude*spatialWeightX0*spatialWeightY1);
+				addToHistogram( cellX-1, cellY , index0, (1.0-oriWeight1)*magnitude*spatialWeightX0*spatialWeightY1, histogram);
+				addToHistogram( cellX-1, cellY , index1, oriWeight1*magnitude*spatialWeightX0*spatialWeightY1, histogram);
 
-				addToHistogram( cellX, cellY , index0, (1.0-oriWeight1)*magnitude*spatialWeightX1*spatialWeightY1);
-				addToHistogram( cellX, cellY , index1, oriWeight1*magnitude*spatialWeightX1*spatialWeightY1);
+				addToHistogram( cellX, cellY , index0, (1.0-oriWeight1)*magnitude*spatialWeightX1*spatialWeightY1, histogram);
+				addToHistogram( cellX, cellY , index1, oriWeight1*magnitude*spatialWeightX1*spatialWeightY1, histogram);
 
-				addToHistogram( cellX+1, cellY , index0, (1.0-oriWeight1)*magnitude*spatialWeightX2*spatialWeightY1);
-				addToHistogram( cellX+1, cellY , index1, oriWeight1*magnitude*spatialWeightX2*spatialWeightY1);
+				addToHistogram( cellX+1, cellY , index0, (1.0-oriWeight1)*magnitude*spatialWeightX2*spatialWeightY1, histogram);
+				addToHistogram( cellX+1, cellY , index1, oriWeight1*magnitude*spatialWeightX2*spatialWeightY1, histogram);
 
-				addToHistogram( cellX-1, cellY+1 , index0, (1.0-oriWeight1)*magnitude*spatialWeightX0*spatialWeightY2);
-				addToHistogram( cellX-1, cellY+1 , index1, oriWeight1*magnitude*spatialWeightX0*spatialWeightY2);
+				addToHistogram( cellX-1, cellY+1 , index0, (1.0-oriWeight1)*magnitude*spatialWeightX0*spatialWeightY2, histogram);
+				addToHistogram( cellX-1, cellY+1 , index1, oriWeight1*magnitude*spatialWeightX0*spatialWeightY2, histogram);
 
-				addToHistogram( cellX, cellY+1 , index0, (1.0-oriWeight1)*magnitude*spatialWeightX1*spatialWeightY2);
-				addToHistogram( cellX, cellY+1 , index1, oriWeight1*magnitude*spatialWeightX1*spatialWeightY2);
+				addToHistogram( cellX, cellY+1 , index0, (1.0-oriWeight1)*magnitude*spatialWeightX1*spatialWeightY2, histogram);
+				addToHistogram( cellX, cellY+1 , index1, oriWeight1*magnitude*spatialWeightX1*spatialWeightY2, histogram);
 
-				addToHistogram( cellX+1, cellY+1 , index0, (1.0-oriWeight1)*magnitude*spatialWeightX2*spatialWeightY2);
-				addToHistogram( cellX+1, cellY+1 , index1, oriWeight1*magnitude*spatialWeightX2*spatialWeightY2);
+				addToHistogram( cellX+1, cellY+1 , index0, (1.0-oriWeight1)*magnitude*spatialWeightX2*spatialWeightY2, histogram);
+				addToHistogram( cellX+1, cellY+1 , index1, oriWeight1*magnitude*spatialWeightX2*spatialWeightY2, histogram);
 
 			}
 		}
@@ -328,6 +375,18 @@ public class DescribeDenseHogAlg<Input extends ImageBase<Input>> extends BaseDen
 	 * @param magnitude edge magnitude
 	 */
 	void addToHistogram(int cellX, int cellY, int orientationIndex, double magnitude) {
+		addToHistogram(cellX, cellY, orientationIndex, magnitude, histogram);
+	}
+
+	/**
+	 * Adds the magnitude to the histogram at the specified cell and orientation
+	 * @param cellX cell coordinate
+	 * @param cellY cell coordinate
+	 * @param orientationIndex orientation coordinate
+	 * @param magnitude edge magnitude
+	 * @param histogram The block's histogram which is being updated
+	 */
+	void addToHistogram(int cellX, int cellY, int orientationIndex, double magnitude, double histogram[]) {
 		// see if it's being applied to a valid cell in the histogram
 		if( cellX < 0 || cellX >= cellsPerBlockX)
 			return;
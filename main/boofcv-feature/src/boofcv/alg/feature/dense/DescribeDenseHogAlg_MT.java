@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.dense;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntBlockConsumer;
+import boofcv.concurrency.IntRangeConsumer;
+import boofcv.struct.feature.TupleDesc_F64;
+import boofcv.struct.image.ImageBase;
+import boofcv.struct.image.ImageType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Concurrent implementation of {@link DescribeDenseHogAlg}.  Pixel orientation and magnitude are computed
+ * in bands of rows by different threads and then rows of blocks are described in parallel.  Each block has its
+ * own histogram so the output is identical to the single threaded version.
+ *
+ * @author Peter Abeles
+ */
+public class DescribeDenseHogAlg_MT<Input extends ImageBase<Input>> extends DescribeDenseHogAlg<Input> {
+
+	// storage for a descriptor in each thread when the output is a matrix
+	private List<TupleDesc_F64> workspace = new ArrayList<>();
+
+	/**
+	 * @see DescribeDenseHogAlg#DescribeDenseHogAlg(int, int, int, int, int, ImageType)
+	 */
+	public DescribeDenseHogAlg_MT(int orientationBins, int pixelsPerCell, int cellsPerBlockX, int cellsPerBlockY,
+								  int stepBlock, ImageType<Input> imageType) {
+		super(orientationBins, pixelsPerCell, cellsPerBlockX, cellsPerBlockY, stepBlock, imageType);
+	}
+
+	@Override
+	void computePixelFeatures() {
+		if( !BoofConcurrency.useConcurrent(derivX) ) {
+			super.computePixelFeatures();
+			return;
+		}
+
+		BoofConcurrency.loopBlocks(0, derivX.height, new IntRangeConsumer() {
+			@Override
+			public void accept(int minInclusive, int maxExclusive) {
+				computePixelFeatures(minInclusive, maxExclusive);
+			}
+		});
+	}
+
+	@Override
+	public void process() {
+		initializeProcess();
+
+		int numBlocks = BoofConcurrency.useConcurrent(derivX) ?
+				BoofConcurrency.computeNumberOfBlocks(blockRows,1) : 1;
+		while( workspace.size() < numBlocks ) {
+			workspace.add(createDescription());
+		}
+
+		BoofConcurrency.loopBlocksIndexed(0, blockRows, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept(int block, int minInclusive, int maxExclusive) {
+				computeDescriptors(minInclusive, maxExclusive, workspace.get(block));
+			}
+		});
+	}
+}
@@ -55,6 +55,9 @@ public class DescribeDenseHogFastAlg<Input extends ImageBase<Input>> extends Bas
 	// number of cell rows and columns in the image
 	int cellRows,cellCols;
 
+	// storage for a descriptor when the output is a matrix
+	TupleDesc_F64 work;
+
 	/**
 	 * Configures HOG descriptor computation
 	 *
@@ -69,6 +72,8 @@ public class DescribeDenseHogFastAlg<Input extends ImageBase<Input>> extends Bas
 								   ImageType<Input> imageType )
 	{
 		super(orientationBins, pixelsPerCell, cellsPerBlockX, cellsPerBlockY, stepBlock, imageType);
+
+		work = createDescription();
 	}
 
 	/**
@@ -76,23 +81,44 @@ public class DescribeDenseHogFastAlg<Input extends ImageBase<Input>> extends Bas
 	 */
 	@Override
 	public void process() {
-		locations.reset();
-		descriptions.reset();
+		initializeProcess();
+
+		computeCellHistograms(0, cellRows);
 
+		computeDescriptors(0, blockRows, work);
+	}
+
+	/**
+	 * Declares storage for the cells and descriptors in the current image
+	 */
+	void initializeProcess() {
 		// see if the cell array needs to grow for this image.  Recycle data when growing
 		growCellArray(derivX.width, derivX.height);
 
-		computeCellHistograms();
-
-		int cellRowMax = (cellRows - (cellsPerBlockY -1));
-		int cellColMax = (cellCols - (cellsPerBlockX -1));
+		declareOutput(countSteps(cellRows, cellsPerBlockY, stepBlock),
+				countSteps(cellCols, cellsPerBlockX, stepBlock));
+	}
 
-		for (int i = 0; i < cellRowMax; i += stepBlock) {
-			for (int j = 0; j < cellColMax; j += stepBlock) {
-				computeDescriptor(i,j);
+	/**
+	 * Computes the descriptors for the specified rows of blocks
+	 *
+	 * @param blockRow0 First row of blocks, inclusive
+	 * @param blockRow1 Last row of blocks, exclusive
+	 * @param work Storage for a descriptor if the output is a matrix
+	 */
+	void computeDescriptors( int blockRow0 , int blockRow1 , TupleDesc_F64 work ) {
+		for (int blockRow = blockRow0; blockRow < blockRow1; blockRow++) {
+			int index = blockRow*blockCols;
+			for (int blockCol = 0; blockCol < blockCols; blockCol++, index++) {
+				int row = blockRow*stepBlock;
+				int col = blockCol*stepBlock;
+
+				locations.get(index).set(col* pixelsPerCell,row* pixelsPerCell);
+				TupleDesc_F64 d = lookupDescriptor(index, work);
+				computeDescriptor(row, col, d);
+				saveDescriptor(index, d);
 			}
 		}
-
 	}
 
 	/**
@@ -149,8 +175,16 @@ public class DescribeDenseHogFastAlg<Input extends ImageBase<Input>> extends Bas
 		// set location to top-left pixel
 		locations.grow().set(col* pixelsPerCell,row* pixelsPerCell);
 
-		TupleDesc_F64 d = descriptions.grow();
+		computeDescriptor(row, col, descriptions.grow());
+	}
 
+	/**
+	 * Compute the descriptor from the specified cells.  (row,col) to (row+w,col+w)
+	 * @param row Lower extent of cell rows
+	 * @param col Lower extent of cell columns
+	 * @param d Storage for the descriptor
+	 */
+	void computeDescriptor(int row, int col, TupleDesc_F64 d) {
 		int indexDesc = 0;
 		for (int i = 0; i < cellsPerBlockY; i++) {
 			for (int j = 0; j < cellsPerBlockX; j++) {
@@ -171,14 +205,24 @@ public class DescribeDenseHogFastAlg<Input extends ImageBase<Input>> extends Bas
 
 	 */
 	void computeCellHistograms() {
+		computeCellHistograms(0, cellRows);
+	}
+
+	/**
+	 * Compute histograms for cells inside the specified rows of cells using precomputed derivative.
+	 *
+	 * @param cellRow0 First row of cells, inclusive
+	 * @param cellRow1 Last row of cells, exclusive
+	 */
+	void computeCellHistograms( int cellRow0 , int cellRow1 ) {
 
 		int width = cellCols* pixelsPerCell;
-		int height = cellRows* pixelsPerCell;
+		int height = cellRow1* pixelsPerCell;
 
 		float angleBinSize = GrlConstants.F_PI/orientationBins;
 
-		int indexCell = 0;
-		for (int i = 0; i < height; i += pixelsPerCell) {
+		int indexCell = cellRow0*cellCols;
+		for (int i = cellRow0*pixelsPerCell; i < height; i += pixelsPerCell) {
 			for (int j = 0; j < width; j += pixelsPerCell, indexCell++ ) {
 				Cell c = cells[indexCell];
 				c.reset();
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.dense;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntBlockConsumer;
+import boofcv.concurrency.IntRangeConsumer;
+import boofcv.struct.feature.TupleDesc_F64;
+import boofcv.struct.image.ImageBase;
+import boofcv.struct.image.ImageType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Concurrent implementation of {@link DescribeDenseHogFastAlg}.  Cell histograms are computed in bands of
+ * cell rows by different threads.  Once all the cells are known, rows of blocks are normalized in parallel.
+ * The output is identical to the single threaded version.
+ *
+ * @author Peter Abeles
+ */
+public class DescribeDenseHogFastAlg_MT<Input extends ImageBase<Input>> extends DescribeDenseHogFastAlg<Input> {
+
+	// storage for a descriptor in each thread when the output is a matrix
+	private List<TupleDesc_F64> workspace = new ArrayList<>();
+
+	/**
+	 * @see DescribeDenseHogFastAlg#DescribeDenseHogFastAlg(int, int, int, int, int, ImageType)
+	 */
+	public DescribeDenseHogFastAlg_MT(int orientationBins, int pixelsPerCell, int cellsPerBlockX, int cellsPerBlockY,
+									  int stepBlock, ImageType<Input> imageType) {
+		super(orientationBins, pixelsPerCell, cellsPerBlockX, cellsPerBlockY, stepBlock, imageType);
+	}
+
+	@Override
+	public void process() {
+		initializeProcess();
+
+		if( !BoofConcurrency.useConcurrent(derivX) ) {
+			computeCellHistograms(0, cellRows);
+			computeDescriptors(0, blockRows, work);
+			return;
+		}
+
+		BoofConcurrency.loopBlocks(0, cellRows, new IntRangeConsumer() {
+			@Override
+			public void accept(int minInclusive, int maxExclusive) {
+				computeCellHistograms(minInclusive, maxExclusive);
+			}
+		});
+
+		int numBlocks = BoofConcurrency.computeNumberOfBlocks(blockRows,1);
+		while( workspace.size() < numBlocks ) {
+			workspace.add(createDescription());
+		}
+
+		BoofConcurrency.loopBlocksIndexed(0, blockRows, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept(int block, int minInclusive, int maxExclusive) {
+				computeDescriptors(minInclusive, maxExclusive, workspace.get(block));
+			}
+		});
+	}
+}
@@ -30,6 +30,7 @@ import boofcv.struct.image.ImageGray;
 import georegression.metric.UtilAngle;
 import georegression.struct.point.Point2D_I32;
 import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_F32;
 
 /**
  * <p>Computes {@link DescribePointSift SIFT} features in a regular grid across an entire image at a single
@@ -56,6 +57,17 @@ public class DescribeDenseSiftAlg<D extends ImageGray<D>> extends DescribeSiftCo
 	// storage for descriptors
 	FastQueue<TupleDesc_F64> descriptors;
 
+	// If true the descriptors are written into descriptorMatrix instead of descriptors
+	boolean outputMatrix = false;
+	// Descriptors in a row-major matrix.  One row for each sample location
+	GrowQueue_F32 descriptorMatrix = new GrowQueue_F32();
+	// storage for a descriptor when the output is a matrix
+	TupleDesc_F64 work;
+
+	// sampling grid in the most recently processed image
+	int X0,X1,Y0,Y1;
+	int numX,numY;
+
 	// storage for precomputed angle
 	GrayF64 savedAngle = new GrayF64(1,1);
 	GrayF32 savedMagnitude = new GrayF32(1,1);
@@ -92,6 +104,7 @@ public class DescribeDenseSiftAlg<D extends ImageGray<D>> extends DescribeSiftCo
 				return new TupleDesc_F64(DOF);
 			}
 		};
+		work = new TupleDesc_F64(DOF);
 	}
 
 	/**
@@ -114,44 +127,88 @@ public class DescribeDenseSiftAlg<D extends ImageGray<D>> extends DescribeSiftCo
 		precomputeAngles(derivX);
 	}
 
+	/**
+	 * Computes the angle of each pixel and its gradient magnitude
+	 */
+	void precomputeAngles(D image) {
+		precomputeAngles(image, 0, image.height);
+	}
+
 	/**
 	 * Computes SIFT descriptors across the entire image
 	 */
 	public void process() {
+		initializeProcess();
 
+		computeDescriptors(0, numY, work);
+	}
+
+	/**
+	 * Computes the sampling grid and declares storage for the descriptors
+	 */
+	void initializeProcess() {
 		int width = widthSubregion*widthGrid;
 		int radius = width/2;
 
-		int X0 = radius,X1 = savedAngle.width-radius;
-		int Y0 = radius,Y1 = savedAngle.height-radius;
+		X0 = radius; X1 = savedAngle.width-radius;
+		Y0 = radius; Y1 = savedAngle.height-radius;
 
-		int numX = (int)((X1-X0)/periodColumns);
-		int numY = (int)((Y1-Y0)/periodRows);
+		numX = (int)((X1-X0)/periodColumns);
+		numY = (int)((Y1-Y0)/periodRows);
 
-		descriptors.reset();
-		sampleLocations.reset();
+		int total = numX > 0 && numY > 0 ? numX*numY : 0;
+		sampleLocations.resize(total);
+		if( outputMatrix ) {
+			descriptors.reset();
+			descriptorMatrix.resize(total*getDescriptorLength());
+		} else {
+			descriptorMatrix.reset();
+			descriptors.resize(total);
+		}
+	}
 
-		for (int i = 0; i < numY; i++) {
+	/**
+	 * Computes the descriptors for the specified rows in the sampling grid
+	 *
+	 * @param row0 First row, inclusive
+	 * @param row1 Last row, exclusive
+	 * @param work Storage for a descriptor if the output is a matrix
+	 */
+	void computeDescriptors( int row0 , int row1 , TupleDesc_F64 work ) {
+		int length = getDescriptorLength();
+
+		for (int i = row0; i < row1; i++) {
 			int y = (Y1-Y0)*i/(numY-1) + Y0;
 
-			for (int j = 0; j < numX; j++) {
+			int index = i*numX;
+			for (int j = 0; j < numX; j++, index++) {
 				int x = (X1-X0)*j/(numX-1) + X0;
 
-				TupleDesc_F64 desc = descriptors.grow();
+				TupleDesc_F64 desc = outputMatrix ? work : descriptors.get(index);
 
 				computeDescriptor(x,y,desc);
-				sampleLocations.grow().set(x,y);
+				sampleLocations.get(index).set(x,y);
+
+				if( outputMatrix ) {
+					int offset = index*length;
+					for (int k = 0; k < length; k++) {
+						descriptorMatrix.data[offset+k] = (float)desc.value[k];
+					}
+				}
 			}
 		}
 	}
 
 	/**
-	 * Computes the angle of each pixel and its gradient magnitude
+	 * Computes the angle of each pixel and its gradient magnitude inside the specified rows
+	 *
+	 * @param row0 First row, inclusive
+	 * @param row1 Last row, exclusive
 	 */
-	void precomputeAngles(D image) {
-		int savecIndex = 0;
-		for (int y = 0; y < image.height; y++) {
+	void precomputeAngles(D image, int row0 , int row1 ) {
+		for (int y = row0; y < row1; y++) {
 			int pixelIndex = y*image.stride + image.startIndex;
+			int savecIndex = y*image.width;
 
 			for (int x = 0; x < image.width; x++, pixelIndex++, savecIndex++ ) {
 				float spacialDX = imageDerivX.getF(pixelIndex);
@@ -213,10 +270,33 @@ public class DescribeDenseSiftAlg<D extends ImageGray<D>> extends DescribeSiftCo
 		this.periodColumns = periodColumns;
 	}
 
+	/**
+	 * List of descriptors.  Empty if the output is a matrix.
+	 */
 	public FastQueue<TupleDesc_F64> getDescriptors() {
 		return descriptors;
 	}
 
+	/**
+	 * Descriptors stored in a single row-major matrix with one row for each sample location.  Only filled in
+	 * when {@link #setOutputMatrix(boolean)} is true.  The number of columns is {@link #getDescriptorLength()}.
+	 */
+	public GrowQueue_F32 getDescriptorMatrix() {
+		return descriptorMatrix;
+	}
+
+	/**
+	 * If true then descriptors are only written into the descriptor matrix.  This avoids a
+	 * {@link TupleDesc_F64} for each sample location.
+	 */
+	public void setOutputMatrix(boolean outputMatrix) {
+		this.outputMatrix = outputMatrix;
+	}
+
+	public boolean isOutputMatrix() {
+		return outputMatrix;
+	}
+
 	/**
 	 * Returns where in the image it sampled the features
 	 */
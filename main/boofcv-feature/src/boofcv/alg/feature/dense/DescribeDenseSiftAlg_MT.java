@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.dense;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntBlockConsumer;
+import boofcv.concurrency.IntRangeConsumer;
+import boofcv.struct.feature.TupleDesc_F64;
+import boofcv.struct.image.ImageGray;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Concurrent implementation of {@link DescribeDenseSiftAlg}.  Pixel orientation and magnitude are computed
+ * in bands of rows by different threads and then rows in the sampling grid are described in parallel.  The
+ * output is identical to the single threaded version.
+ *
+ * @author Peter Abeles
+ */
+public class DescribeDenseSiftAlg_MT<D extends ImageGray<D>> extends DescribeDenseSiftAlg<D> {
+
+	// storage for a descriptor in each thread when the output is a matrix
+	private List<TupleDesc_F64> workspace = new ArrayList<>();
+
+	/**
+	 * @see DescribeDenseSiftAlg#DescribeDenseSiftAlg(int, int, int, double, double, double, double, Class)
+	 */
+	public DescribeDenseSiftAlg_MT(int widthSubregion, int widthGrid, int numHistogramBins,
+								   double weightingSigmaFraction, double maxDescriptorElementValue,
+								   double periodColumns, double periodRows, Class<D> derivType) {
+		super(widthSubregion, widthGrid, numHistogramBins, weightingSigmaFraction, maxDescriptorElementValue,
+				periodColumns, periodRows, derivType);
+	}
+
+	@Override
+	void precomputeAngles(final D image) {
+		if( !BoofConcurrency.useConcurrent(image) ) {
+			super.precomputeAngles(image);
+			return;
+		}
+
+		BoofConcurrency.loopBlocks(0, image.height, new IntRangeConsumer() {
+			@Override
+			public void accept(int minInclusive, int maxExclusive) {
+				precomputeAngles(image, minInclusive, maxExclusive);
+			}
+		});
+	}
+
+	@Override
+	public void process() {
+		initializeProcess();
+
+		int numBlocks = BoofConcurrency.useConcurrent(savedAngle) ?
+				BoofConcurrency.computeNumberOfBlocks(numY,1) : 1;
+		while( workspace.size() < numBlocks ) {
+			workspace.add(new TupleDesc_F64(getDescriptorLength()));
+		}
+
+		BoofConcurrency.loopBlocksIndexed(0, numY, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept(int block, int minInclusive, int maxExclusive) {
+				computeDescriptors(minInclusive, maxExclusive, workspace.get(block));
+			}
+		});
+	}
+}
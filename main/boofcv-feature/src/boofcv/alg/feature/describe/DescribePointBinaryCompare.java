@@ -21,6 +21,7 @@ package boofcv.alg.feature.describe;
 import boofcv.alg.feature.describe.brief.BinaryCompareDefinition_I32;
 import boofcv.misc.BoofMiscOps;
 import boofcv.struct.feature.TupleDesc_B;
+import boofcv.struct.feature.TupleDesc_B64;
 import boofcv.struct.image.ImageGray;
 import georegression.struct.point.Point2D_I32;
 
@@ -97,6 +98,23 @@ public abstract class DescribePointBinaryCompare<T extends ImageGray<T>> {
 		}
 	}
 
+	/**
+	 * Computes the descriptor at the specified point and writes it into a descriptor backed by 64-bit words.
+	 * Bits are laid out the same as in {@link TupleDesc_B}, so {@link TupleDesc_B64#setTo(TupleDesc_B)} applied
+	 * to the output of {@link #process(int, int, TupleDesc_B)} produces an identical descriptor.
+	 *
+	 * @param c_x Center of region being described.
+	 * @param c_y Center of region being described.
+	 * @param feature Where the descriptor is written to.
+	 */
+	public void process( int c_x , int c_y , TupleDesc_B64 feature ) {
+		if( BoofMiscOps.checkInside(image,c_x, c_y, definition.radius) ) {
+			processInside(c_x,c_y,feature);
+		} else {
+			processBorder(c_x,c_y,feature);
+		}
+	}
+
 	/**
 	 * Called if the descriptor region is contained entirely inside the image
 	 */
@@ -107,6 +125,16 @@ public abstract class DescribePointBinaryCompare<T extends ImageGray<T>> {
 	 */
 	public abstract void processBorder( int c_x , int c_y , TupleDesc_B feature );
 
+	/**
+	 * Called if the descriptor region is contained entirely inside the image
+	 */
+	public abstract void processInside( int c_x , int c_y , TupleDesc_B64 feature );
+
+	/**
+	 * Called if the descriptor region goes outside the image border
+	 */
+	public abstract void processBorder( int c_x , int c_y , TupleDesc_B64 feature );
+
 	public BinaryCompareDefinition_I32 getDefinition() {
 		return definition;
 	}
@@ -22,6 +22,7 @@ import boofcv.abst.filter.blur.BlurFilter;
 import boofcv.alg.feature.describe.brief.BinaryCompareDefinition_I32;
 import boofcv.core.image.GeneralizedImageOps;
 import boofcv.struct.feature.TupleDesc_B;
+import boofcv.struct.feature.TupleDesc_B64;
 import boofcv.struct.image.ImageGray;
 
 /**
@@ -65,6 +66,15 @@ public class DescribePointBrief<T extends ImageGray<T>> {
 		return new TupleDesc_B(describe.getDefinition().getLength());
 	}
 
+	/**
+	 * Function which creates a description of the appropriate size which is stored in 64-bit words.
+	 *
+	 * @return Creates a bew description.
+	 */
+	public TupleDesc_B64 createFeature64() {
+		return new TupleDesc_B64(describe.getDefinition().getLength());
+	}
+
 	/**
 	 * Specifies the image from which feature descriptions are to be created.
 	 *
@@ -88,6 +98,13 @@ public class DescribePointBrief<T extends ImageGray<T>> {
 		describe.process((int)c_x,(int)c_y,feature);
 	}
 
+	/**
+	 * Same as {@link #process(double, double, TupleDesc_B)} but writes to a descriptor stored in 64-bit words.
+	 */
+	public void process( double c_x , double c_y , TupleDesc_B64 feature ) {
+		describe.process((int)c_x,(int)c_y,feature);
+	}
+
 	public BinaryCompareDefinition_I32 getDefinition() {
 		return describe.getDefinition();
 	}
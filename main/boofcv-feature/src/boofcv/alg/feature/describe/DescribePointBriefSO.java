@@ -25,6 +25,7 @@ import boofcv.core.image.GeneralizedImageOps;
 import boofcv.misc.BoofMiscOps;
 import boofcv.struct.BoofDefaults;
 import boofcv.struct.feature.TupleDesc_B;
+import boofcv.struct.feature.TupleDesc_B64;
 import boofcv.struct.image.ImageGray;
 import georegression.struct.point.Point2D_I32;
 
@@ -74,6 +75,10 @@ public class DescribePointBriefSO<T extends ImageGray<T>> {
 		return new TupleDesc_B(definition.getLength());
 	}
 
+	public TupleDesc_B64 createFeature64() {
+		return new TupleDesc_B64(definition.getLength());
+	}
+
 	public void setImage(T image) {
 		blur.reshape(image.width,image.height);
 		filterBlur.process(image,blur);
@@ -82,6 +87,42 @@ public class DescribePointBriefSO<T extends ImageGray<T>> {
 
 	public void process( float c_x , float c_y , float orientation , float radius , TupleDesc_B feature )
 	{
+		sampleValues(c_x, c_y, orientation, radius);
+
+		Arrays.fill(feature.data, 0);
+
+		for( int i = 0; i < definition.compare.length; i++ ) {
+			Point2D_I32 comp = definition.compare[i];
+
+			if( values[comp.x] < values[comp.y] ) {
+				feature.data[ i/32 ] |= 1 << (i % 32);
+			}
+		}
+	}
+
+	/**
+	 * Same as {@link #process(float, float, float, float, TupleDesc_B)} but writes to a descriptor stored in
+	 * 64-bit words.
+	 */
+	public void process( float c_x , float c_y , float orientation , float radius , TupleDesc_B64 feature )
+	{
+		sampleValues(c_x, c_y, orientation, radius);
+
+		Arrays.fill(feature.data, 0);
+
+		for( int i = 0; i < definition.compare.length; i++ ) {
+			Point2D_I32 comp = definition.compare[i];
+
+			if( values[comp.x] < values[comp.y] ) {
+				feature.data[ i/64 ] |= 1L << (i % 64);
+			}
+		}
+	}
+
+	/**
+	 * Samples the image at each of the rotated and scaled sample points
+	 */
+	private void sampleValues( float c_x , float c_y , float orientation , float radius ) {
 		float scale = (float)(radius/BoofDefaults.BRIEF_SCALE_TO_RADIUS);
 		// NOTE: This doesn't seem to take in account the interpolation border.  Might not work algs
 		// other than bilinear interpolation
@@ -90,8 +131,6 @@ public class DescribePointBriefSO<T extends ImageGray<T>> {
 		float c = (float)Math.cos(orientation);
 		float s = (float)Math.sin(orientation);
 
-		Arrays.fill(feature.data, 0);
-
 		if( isInside ) {
 			for( int i = 0; i < definition.samplePoints.length; i++ ) {
 				Point2D_I32 a = definition.samplePoints[i];
@@ -115,14 +154,6 @@ public class DescribePointBriefSO<T extends ImageGray<T>> {
 				}
 			}
 		}
-
-		for( int i = 0; i < definition.compare.length; i++ ) {
-			Point2D_I32 comp = definition.compare[i];
-
-			if( values[comp.x] < values[comp.y] ) {
-				feature.data[ i/32 ] |= 1 << (i % 32);
-			}
-		}
 	}
 
 	public BinaryCompareDefinition_I32 getDefinition() {
@@ -21,6 +21,7 @@ package boofcv.alg.feature.describe.impl;
 import boofcv.alg.feature.describe.DescribePointBinaryCompare;
 import boofcv.alg.feature.describe.brief.BinaryCompareDefinition_I32;
 import boofcv.struct.feature.TupleDesc_B;
+import boofcv.struct.feature.TupleDesc_B64;
 import boofcv.struct.image.GrayU8;
 import georegression.struct.point.Point2D_I32;
 
@@ -100,4 +101,58 @@ public class ImplDescribeBinaryCompare_U8 extends DescribePointBinaryCompare<Gra
 		}
 	}
 
+	@Override
+	public void processInside( int c_x , int c_y , TupleDesc_B64 feature )
+	{
+		Arrays.fill(feature.data, 0);
+
+		int index = image.startIndex + image.stride*c_y + c_x;
+
+		for( int i = 0; i < definition.compare.length; i += 32 ) {
+			int end = Math.min(definition.compare.length,i+32);
+			int desc = 0;
+			for( int j = i; j < end; j++ ) {
+				int valA = image.data[index + offsetsA[j]]& 0xFF;
+				int valB = image.data[index + offsetsB[j]]& 0xFF;
+
+				desc *= 2;
+				if( valA < valB ) {
+					desc += 1;
+				}
+			}
+
+			feature.data[ i/64 ] |= (desc & 0xFFFFFFFFL) << (i % 64);
+		}
+	}
+
+	@Override
+	public void processBorder( int c_x , int c_y , TupleDesc_B64 feature ) {
+		Arrays.fill(feature.data, 0);
+
+		int index = image.startIndex + image.stride*c_y + c_x;
+
+		for( int i = 0; i < definition.compare.length; i += 32 ) {
+			int end = Math.min(definition.compare.length,i+32);
+			int desc = 0;
+			for( int j = i; j < end; j++ ) {
+				Point2D_I32 c = definition.compare[j];
+				Point2D_I32 p_a = definition.samplePoints[c.x];
+				Point2D_I32 p_b = definition.samplePoints[c.y];
+
+				desc *= 2;
+
+				if( image.isInBounds(p_a.x + c_x , p_a.y + c_y) &&
+						image.isInBounds(p_b.x + c_x , p_b.y + c_y) ){
+					int valA = image.data[index + offsetsA[j]]& 0xFF;
+					int valB = image.data[index + offsetsB[j]]& 0xFF;
+
+					if( valA < valB ) {
+						desc += 1;
+					}
+				}
+			}
+			feature.data[ i/64 ] |= (desc & 0xFFFFFFFFL) << (i % 64);
+		}
+	}
+
 }
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.detdesc;
+
+import boofcv.abst.feature.detect.extract.NonMaxLimiter;
+import boofcv.alg.feature.describe.DescribePointSift;
+import boofcv.alg.feature.detect.interest.SiftScaleSpace;
+import boofcv.alg.feature.orientation.OrientationHistogramSift;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntBlockConsumer;
+import boofcv.concurrency.ObjectFactory;
+import boofcv.struct.feature.BrightFeature;
+import boofcv.struct.feature.ScalePoint;
+import boofcv.struct.image.GrayF32;
+import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_F64;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Concurrent implementation of {@link CompleteSift}.  Key points are detected one scale at a time as before, but
+ * instead of being described immediately they are saved.  Once all the key points in a scale have been found
+ * their orientations and descriptions are computed in blocks, with each block having its own orientation
+ * and description algorithms.  Results from each block are added to the output in block order, making the
+ * output identical to the single threaded version.
+ * </p>
+ *
+ * <p>
+ * The blurred images in an octave are computed from the previous scale and are inherently sequential.
+ * Convolution and the difference of Gaussian are already concurrent at the row level.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class CompleteSift_MT extends CompleteSift
+{
+	// creates orientation and description algorithms for each block
+	private ObjectFactory<OrientationHistogramSift<GrayF32>> factoryOrientation;
+	private ObjectFactory<DescribePointSift<GrayF32>> factoryDescribe;
+
+	// key points detected in the current scale which need to be described
+	private List<ScalePoint> pending = new ArrayList<>();
+
+	// storage for each block
+	private List<BlockStorage> blocks = new ArrayList<>();
+
+	/**
+	 * Configures SIFT
+	 *
+	 * @param scaleSpace Scale-space that features are computed inside of
+	 * @param edgeR Edge threshold.  See {@link CompleteSift}
+	 * @param extractor Finds minimums and maximums.  See {@link CompleteSift}
+	 * @param factoryOrientation Creates algorithms for estimating feature orientation(s)
+	 * @param factoryDescribe Creates algorithms for describing a SIFT feature
+	 */
+	public CompleteSift_MT(SiftScaleSpace scaleSpace, double edgeR, NonMaxLimiter extractor,
+						   ObjectFactory<OrientationHistogramSift<GrayF32>> factoryOrientation,
+						   ObjectFactory<DescribePointSift<GrayF32>> factoryDescribe ) {
+		super(scaleSpace, edgeR, extractor, factoryOrientation.newInstance(), factoryDescribe.newInstance());
+		this.factoryOrientation = factoryOrientation;
+		this.factoryDescribe = factoryDescribe;
+	}
+
+	@Override
+	protected void detectFeatures(int scaleIndex) {
+		pending.clear();
+
+		// computes the gradient and finds the key points
+		super.detectFeatures(scaleIndex);
+
+		final int N = pending.size();
+		if( N == 0 )
+			return;
+
+		int numBlocks = BoofConcurrency.computeNumberOfBlocks(N,5);
+		while( blocks.size() < numBlocks ) {
+			blocks.add( new BlockStorage() );
+		}
+		for( int block = 0; block < numBlocks; block++ ) {
+			BlockStorage s = blocks.get(block);
+			s.orientation.setImageGradient(derivX,derivY);
+			s.describe.setImageGradient(derivX,derivY);
+		}
+
+		BoofConcurrency.loopBlocksIndexed(0, N, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept(int block, int minInclusive, int maxExclusive) {
+				BlockStorage s = blocks.get(block);
+				s.reset();
+				for( int i = minInclusive; i < maxExclusive; i++ ) {
+					s.process(pending.get(i));
+				}
+			}
+		});
+
+		// combine the results in the same order as the single threaded version
+		for( int block = 0; block < numBlocks; block++ ) {
+			BlockStorage s = blocks.get(block);
+			for( int i = 0; i < s.features.size; i++ ) {
+				features.grow().setTo(s.features.get(i));
+				orientations.add(s.orientations.get(i));
+				locations.add(s.locations.get(i));
+			}
+		}
+	}
+
+	@Override
+	protected void handleDetection(ScalePoint p) {
+		pending.add(p);
+	}
+
+	/**
+	 * Algorithms and output storage for a single block
+	 */
+	private class BlockStorage {
+		OrientationHistogramSift<GrayF32> orientation = factoryOrientation.newInstance();
+		DescribePointSift<GrayF32> describe = factoryDescribe.newInstance();
+
+		FastQueue<BrightFeature> features;
+		FastQueue<ScalePoint> locations = new FastQueue<>(ScalePoint.class, false);
+		GrowQueue_F64 orientations = new GrowQueue_F64();
+
+		BlockStorage() {
+			final int dof = describe.getDescriptorLength();
+			features = new FastQueue<BrightFeature>(BrightFeature.class,true) {
+				@Override
+				protected BrightFeature createInstance() {
+					return new BrightFeature(dof);
+				}
+			};
+		}
+
+		void reset() {
+			features.reset();
+			locations.reset();
+			orientations.reset();
+		}
+
+		/**
+		 * Same as {@link CompleteSift#handleDetection} but with local storage
+		 */
+		void process( ScalePoint p ) {
+			// adjust the image for the down sampling in each octave
+			double localX = p.x / pixelScaleToInput;
+			double localY = p.y / pixelScaleToInput;
+			double localSigma = p.scale / pixelScaleToInput;
+
+			// find potential orientations first
+			orientation.process(localX,localY,localSigma);
+
+			// describe each feature
+			GrowQueue_F64 angles = orientation.getOrientations();
+			for (int i = 0; i < angles.size; i++) {
+				BrightFeature feature = features.grow();
+				feature.white = p.white;
+				describe.process(localX,localY,localSigma,angles.get(i),feature);
+
+				orientations.add(angles.get(i));
+				locations.add(p);
+			}
+		}
+	}
+}
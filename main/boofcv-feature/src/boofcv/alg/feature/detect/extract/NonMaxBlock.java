@@ -80,6 +80,21 @@ public abstract class NonMaxBlock {
 	 * @param localMax (Output) storage for found local maximums.
 	 */
 	public void process(GrayF32 intensityImage, QueueCorner localMin, QueueCorner localMax) {
+		process(intensityImage, localMin, localMax, 0, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Detects local minimums and/or maximums inside the specified rows of blocks.  Blocks in each row are
+	 * searched from left to right and rows from top to bottom.
+	 *
+	 * @param intensityImage (Input) Feature intensity image.
+	 * @param localMin (Output) storage for found local minimums.
+	 * @param localMax (Output) storage for found local maximums.
+	 * @param blockRow0 First row of blocks, inclusive.
+	 * @param blockRow1 Last row of blocks, exclusive.  Rows outside the image are ignored.
+	 */
+	public void process(GrayF32 intensityImage, QueueCorner localMin, QueueCorner localMax,
+						int blockRow0 , int blockRow1 ) {
 
 		this.localMin = localMin;
 		this.localMax = localMax;
@@ -89,7 +104,7 @@ public abstract class NonMaxBlock {
 
 		int step = radius+1;
 
-		for( int y = border; y < endY; y += step ) {
+		for( int y = border + blockRow0*step, row = blockRow0; y < endY && row < blockRow1; y += step, row++ ) {
 			int y1 = y + step;
 			if( y1 > endY ) y1 = endY;
 
@@ -101,6 +116,16 @@ public abstract class NonMaxBlock {
 		}
 	}
 
+	/**
+	 * Returns the number of rows of blocks in an image with the specified height
+	 */
+	public int countBlockRows( int imageHeight ) {
+		int length = imageHeight - 2*border;
+		if( length <= 0 )
+			return 0;
+		return (length + radius)/(radius+1);
+	}
+
 	protected abstract void searchBlock( int x0 , int y0 , int x1 , int y1 , GrayF32 img );
 
 	public void setSearchRadius(int radius) {
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.detect.extract;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntBlockConsumer;
+import boofcv.concurrency.ObjectFactory;
+import boofcv.struct.QueueCorner;
+import boofcv.struct.image.GrayF32;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Concurrent implementation of {@link NonMaxBlock}.  Rows of blocks are split up between threads.  Each thread
+ * has its own instance of the search algorithm and its own storage for found features.  Once all rows have been
+ * searched the found features are added to the output in the same order as the single threaded version.
+ * </p>
+ *
+ * <p>
+ * Configuration, e.g. radius and thresholds, is copied from this class into each thread's search algorithm
+ * before processing.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class NonMaxBlock_MT extends NonMaxBlock {
+
+	// creates the search algorithm for each thread
+	private ObjectFactory<NonMaxBlock> factory;
+
+	// search algorithm and storage for each block of rows
+	private List<BlockStorage> blocks = new ArrayList<>();
+
+	/**
+	 * Specifies how the search algorithm is created
+	 *
+	 * @param factory Creates new instances of the single threaded search algorithm.
+	 */
+	public NonMaxBlock_MT(ObjectFactory<NonMaxBlock> factory ) {
+		super(false,false);
+		this.factory = factory;
+
+		NonMaxBlock alg = factory.newInstance();
+		this.detectsMinimum = alg.detectsMinimum;
+		this.detectsMaximum = alg.detectsMaximum;
+	}
+
+	@Override
+	public void process(final GrayF32 intensityImage, QueueCorner localMin, QueueCorner localMax,
+						int blockRow0 , int blockRow1 ) {
+
+		this.localMin = localMin;
+		this.localMax = localMax;
+
+		blockRow1 = Math.min(blockRow1, countBlockRows(intensityImage.height));
+		int numRows = blockRow1-blockRow0;
+		if( numRows <= 0 )
+			return;
+
+		int numBlocks = BoofConcurrency.useConcurrent(intensityImage) ?
+				BoofConcurrency.computeNumberOfBlocks(numRows,1) : 1;
+		while( blocks.size() < numBlocks ) {
+			blocks.add( new BlockStorage(factory.newInstance()));
+		}
+		for (int i = 0; i < numBlocks; i++) {
+			NonMaxBlock alg = blocks.get(i).alg;
+			alg.setSearchRadius(radius);
+			alg.setThresholdMin(thresholdMin);
+			alg.setThresholdMax(thresholdMax);
+			alg.setBorder(border);
+		}
+
+		// nothing to split up so avoid creating a consumer and copying the results
+		if( numBlocks == 1 ) {
+			blocks.get(0).alg.process(intensityImage,localMin,localMax,blockRow0,blockRow1);
+			return;
+		}
+
+		BoofConcurrency.loopBlocksIndexed(blockRow0, blockRow1, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept(int block, int minInclusive, int maxExclusive) {
+				BlockStorage s = blocks.get(block);
+				s.localMin.reset();
+				s.localMax.reset();
+				s.alg.process(intensityImage,s.localMin,s.localMax,minInclusive,maxExclusive);
+			}
+		});
+
+		// add the results in the same order as the single threaded version
+		for (int i = 0; i < numBlocks; i++) {
+			BlockStorage s = blocks.get(i);
+			for (int j = 0; j < s.localMin.size; j++) {
+				localMin.grow().set(s.localMin.get(j));
+			}
+			for (int j = 0; j < s.localMax.size; j++) {
+				localMax.grow().set(s.localMax.get(j));
+			}
+		}
+	}
+
+	/**
+	 * Searching is done by each thread's search algorithm
+	 */
+	@Override
+	protected void searchBlock(int x0, int y0, int x1, int y1, GrayF32 img) {
+		throw new RuntimeException("Should never be called");
+	}
+
+	private static class BlockStorage {
+		NonMaxBlock alg;
+		QueueCorner localMin = new QueueCorner(10);
+		QueueCorner localMax = new QueueCorner(10);
+
+		BlockStorage(NonMaxBlock alg) {
+			this.alg = alg;
+		}
+	}
+}
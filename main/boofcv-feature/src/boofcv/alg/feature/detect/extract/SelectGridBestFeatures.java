@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.detect.extract;
+
+import boofcv.struct.QueueCorner;
+import boofcv.struct.image.GrayF32;
+import georegression.struct.point.Point2D_I16;
+import org.ddogleg.sorting.QuickSelect;
+import org.ddogleg.struct.GrowQueue_F32;
+
+/**
+ * <p>
+ * Selects the best features inside of each cell in a grid, which spreads features out across the image instead
+ * of having them cluster inside of highly textured regions.  The image is broken up into a grid with the specified
+ * number of rows and columns and up to 'quota' features with the largest intensity are selected inside each cell.
+ * </p>
+ *
+ * <p>
+ * Features are assigned to cells using a counting sort and the best in each cell are found using quick select,
+ * making the whole process O(N).  Cell assignments and intensities are saved, allowing {@link #select()} to be
+ * called again after the quota has changed without looking at the intensity image again.
+ * </p>
+ *
+ * <p>
+ * Features which are already known, e.g. being tracked, can be specified to reduce the quota in their cells.
+ * Selected features are ordered by cell in row-major order.  Inside a cell the order is the same as the
+ * input when there are fewer features than the quota, otherwise there is no particular order.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class SelectGridBestFeatures {
+
+	// number of rows and columns in the grid
+	int numRows, numCols;
+	// maximum number of features in each cell
+	int quota;
+
+	// the list of the found best corners
+	QueueCorner bestCorners = new QueueCorner(10);
+
+	// the most recently processed corners
+	QueueCorner corners;
+	// image shape which was used to assign features to cells
+	int width, height;
+
+	// index of the first feature in each cell. Length = numCells+1
+	int cellStart[] = new int[1];
+	// number of excluded features inside each cell
+	int cellExcluded[] = new int[1];
+	// index of each feature sorted by cell
+	int cellFeatures[] = new int[1];
+	// intensity of each feature sorted by cell.  Negated when selecting maximums
+	float cellInten[] = new float[1];
+	// cell each feature belongs to
+	int featureCell[] = new int[1];
+
+	// work space for quick select
+	float workInten[] = new float[1];
+	int workIndexes[] = new int[1];
+
+	/**
+	 * Specifies the grid's shape and the quota
+	 *
+	 * @param numRows Number of rows in the grid
+	 * @param numCols Number of columns in the grid
+	 * @param quota Maximum number of features selected inside each cell
+	 */
+	public SelectGridBestFeatures(int numRows, int numCols, int quota) {
+		setGrid(numRows, numCols);
+		setQuota(quota);
+	}
+
+	/**
+	 * Changes the grid's shape. {@link #process} will need to be called again.
+	 */
+	public void setGrid( int numRows , int numCols ) {
+		if( numRows <= 0 || numCols <= 0 )
+			throw new IllegalArgumentException("The grid must have at least one row and column");
+		this.numRows = numRows;
+		this.numCols = numCols;
+
+		int numCells = numRows*numCols;
+		if( cellStart.length < numCells+1 ) {
+			cellStart = new int[numCells+1];
+			cellExcluded = new int[numCells];
+		}
+		corners = null;
+	}
+
+	/**
+	 * Changes the maximum number of features in each cell.  Call {@link #select()} to update the selection
+	 * without processing the image again.
+	 */
+	public void setQuota( int quota ) {
+		if( quota <= 0 )
+			throw new IllegalArgumentException("Quota must be at least one");
+		this.quota = quota;
+	}
+
+	/**
+	 * Assigns the corners to cells and selects the best ones in each cell
+	 *
+	 * @param intensityImage Feature intensity image
+	 * @param origCorners Candidate features.  A reference is saved and is used by {@link #select()}.
+	 * @param positive true if larger intensity values are better or false if smaller values are better
+	 * @param exclude (Optional) Features which already exist and count against the quota in their cell.
+	 *                Can be null.
+	 */
+	public void process(GrayF32 intensityImage, QueueCorner origCorners, boolean positive , QueueCorner exclude ) {
+		process(intensityImage.width, intensityImage.height, origCorners, intensityImage, null, positive, exclude);
+	}
+
+	/**
+	 * Assigns the corners to cells and selects the best ones in each cell.  The intensity of each corner
+	 * is provided directly instead of being looked up in an intensity image.
+	 *
+	 * @param width Width of the image the corners were found inside of
+	 * @param height Height of the image the corners were found inside of
+	 * @param origCorners Candidate features.  A reference is saved and is used by {@link #select()}.
+	 * @param intensities Intensity of each candidate feature
+	 * @param positive true if larger intensity values are better or false if smaller values are better
+	 * @param exclude (Optional) Features which already exist and count against the quota in their cell.
+	 *                Can be null.
+	 */
+	public void process(int width , int height , QueueCorner origCorners, GrowQueue_F32 intensities,
+						boolean positive , QueueCorner exclude ) {
+		if( origCorners.size != intensities.size )
+			throw new IllegalArgumentException("Number of corners and intensities must be the same");
+		process(width, height, origCorners, null, intensities, positive, exclude);
+	}
+
+	private void process(int width , int height , QueueCorner origCorners,
+						 GrayF32 intensityImage, GrowQueue_F32 intensities,
+						 boolean positive , QueueCorner exclude ) {
+		this.corners = origCorners;
+		this.width = width;
+		this.height = height;
+
+		int numCells = numRows*numCols;
+		int N = origCorners.size;
+
+		if( cellFeatures.length < N ) {
+			cellFeatures = new int[N];
+			cellInten = new float[N];
+			featureCell = new int[N];
+		}
+
+		// count the number of features in each cell
+		for (int i = 0; i <= numCells; i++) {
+			cellStart[i] = 0;
+		}
+		for (int i = 0; i < N; i++) {
+			Point2D_I16 p = origCorners.data[i];
+			int cell = cellIndex(p.x,p.y);
+			featureCell[i] = cell;
+			cellStart[cell+1]++;
+		}
+		// the index of each cell's first feature
+		for (int i = 0; i < numCells; i++) {
+			cellStart[i+1] += cellStart[i];
+		}
+		// place the features into the cells, using cellExcluded as a counter
+		for (int i = 0; i < numCells; i++) {
+			cellExcluded[i] = cellStart[i];
+		}
+		for (int i = 0; i < N; i++) {
+			Point2D_I16 p = origCorners.data[i];
+			int index = cellExcluded[featureCell[i]]++;
+			cellFeatures[index] = i;
+			// quick select selects the k smallest
+			// so the negative is used to select the k largest
+			float value = intensities == null ? intensityImage.unsafe_get(p.x,p.y) : intensities.data[i];
+			cellInten[index] = positive ? -value : value;
+		}
+
+		// count the excluded features in each cell
+		for (int i = 0; i < numCells; i++) {
+			cellExcluded[i] = 0;
+		}
+		if( exclude != null ) {
+			for (int i = 0; i < exclude.size; i++) {
+				Point2D_I16 p = exclude.data[i];
+				if( p.x < 0 || p.y < 0 || p.x >= width || p.y >= height )
+					continue;
+				cellExcluded[cellIndex(p.x,p.y)]++;
+			}
+		}
+
+		select();
+	}
+
+	/**
+	 * Selects the best features in each cell using the most recently processed corners and the current quota.
+	 */
+	public void select() {
+		if( corners == null )
+			throw new IllegalArgumentException("process() must be called first");
+
+		bestCorners.reset();
+
+		int numCells = numRows*numCols;
+		for (int cell = 0; cell < numCells; cell++) {
+			int start = cellStart[cell];
+			int count = cellStart[cell+1]-start;
+			int target = quota - cellExcluded[cell];
+
+			if( target <= 0 )
+				continue;
+
+			if( count <= target ) {
+				for (int i = 0; i < count; i++) {
+					bestCorners.grow().set(corners.data[cellFeatures[start+i]]);
+				}
+			} else {
+				if( workInten.length < count ) {
+					workInten = new float[count];
+					workIndexes = new int[count];
+				}
+				System.arraycopy(cellInten,start,workInten,0,count);
+
+				QuickSelect.selectIndex(workInten,target,count,workIndexes);
+
+				for (int i = 0; i < target; i++) {
+					bestCorners.grow().set(corners.data[cellFeatures[start+workIndexes[i]]]);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the index of the cell which contains the pixel
+	 */
+	int cellIndex( int x , int y ) {
+		int row = y*numRows/height;
+		int col = x*numCols/width;
+		return row*numCols + col;
+	}
+
+	public QueueCorner getBestCorners() {
+		return bestCorners;
+	}
+
+	public int getNumRows() {
+		return numRows;
+	}
+
+	public int getNumCols() {
+		return numCols;
+	}
+
+	public int getQuota() {
+		return quota;
+	}
+}
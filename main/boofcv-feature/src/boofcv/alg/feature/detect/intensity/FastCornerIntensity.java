@@ -108,13 +108,7 @@ public abstract class FastCornerIntensity<T extends ImageGray<T>> implements Fea
 
 	public void process( T image , GrayF32 intensity ) {
 		candidates.reset();
-		this.image = image;
-
-		if( stride != image.stride ) {
-			stride = image.stride;
-			offsets = DiscretizedCircle.imageOffsets(radius, image.stride);
-		}
-		helper.setImage(image,offsets);
+		setImage(image);
 
 		for (int y = radius; y < image.height-radius; y++) {
 			int indexIntensity = intensity.startIndex + y*intensity.stride + radius;
@@ -136,6 +130,39 @@ public abstract class FastCornerIntensity<T extends ImageGray<T>> implements Fea
 		}
 	}
 
+	/**
+	 * Specifies the image which is sampled by {@link #computeIntensity(int)}
+	 */
+	public void setImage( T image ) {
+		this.image = image;
+
+		if( stride != image.stride ) {
+			stride = image.stride;
+			offsets = DiscretizedCircle.imageOffsets(radius, image.stride);
+		}
+		helper.setImage(image,offsets);
+	}
+
+	/**
+	 * Applies the segment test to a single pixel and only computes its score if it passes.  The pixel must be
+	 * at least {@link #getIgnoreBorder()} pixels away from the image border and {@link #setImage} must be
+	 * called first.
+	 *
+	 * @param index Index of the pixel in the image's data array
+	 * @return The corner's intensity or zero if it isn't a corner
+	 */
+	public float computeIntensity( int index ) {
+		helper.setThresholds(index);
+
+		if( checkLower(index) ) {
+			return helper.scoreLower(index);
+		} else if( checkUpper(index)) {
+			return helper.scoreUpper(index);
+		} else {
+			return 0;
+		}
+	}
+
 	/**
 	 * Checks to see if the specified pixel qualifies as a corner with lower values
 	 */
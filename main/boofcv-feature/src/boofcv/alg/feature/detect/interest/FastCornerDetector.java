@@ -0,0 +1,424 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.interest;
+
+import boofcv.alg.feature.detect.intensity.FastCornerIntensity;
+import boofcv.concurrency.ObjectFactory;
+import boofcv.struct.QueueCorner;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.ImageGray;
+import georegression.struct.point.Point2D_I16;
+import org.ddogleg.sorting.QuickSelect;
+import org.ddogleg.struct.GrowQueue_F32;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * FAST corner detector which fuses the segment test with non-maximum suppression.  Instead of computing an intensity
+ * image for the whole image and then searching it for local maximums, the image is scanned one row of search
+ * blocks at a time.  Only pixels which pass the segment test have their score computed and only the rows needed to
+ * suppress the current row of blocks are saved, in a circular buffer.  Corners are added directly to a
+ * {@link QueueCorner} along with their intensity, which is then used to select the best features.
+ * </p>
+ *
+ * <p>
+ * The found features, and their order, are the same as {@link GeneralFeatureDetector} with a
+ * {@link boofcv.abst.feature.detect.intensity.WrapperFastCornerIntensity} and a strict non-maximum rule.  Only
+ * local maximums are detected and derivatives are never used.  Since an intensity image is never computed
+ * {@link #getIntensity()} returns null.
+ * </p>
+ *
+ * @param <T> Input image type.
+ * @param <D> Image derivative type.  Not used.
+ *
+ * @author Peter Abeles
+ */
+public class FastCornerDetector<T extends ImageGray<T>, D extends ImageGray<D>>
+		extends GeneralFeatureDetector<T,D>
+{
+	// creates the FAST algorithm used to scan the image
+	protected ObjectFactory<FastCornerIntensity<T>> factory;
+
+	// search radius for non-maximum suppression
+	protected int radius;
+	// minimum intensity of a corner
+	protected float threshold;
+
+	// pixels this close to the border are never corners
+	protected int fastBorder;
+
+	// intensity of each corner in candidatesMaximum
+	protected GrowQueue_F32 candidatesIntensity = new GrowQueue_F32();
+	// intensity of each corner in candidatesMinimum, which is always empty
+	private GrowQueue_F32 emptyIntensity = new GrowQueue_F32();
+
+	// excluded pixels sorted by row.  x-coordinates of excluded pixels in row 'y' are between
+	// excludeRowStart[y] and excludeRowStart[y+1]
+	protected int excludeRowStart[] = new int[1];
+	protected int excludeX[] = new int[1];
+
+	// scans the image when a single thread is used
+	protected RowScanner scanner;
+
+	// work space for selecting the best features
+	private float workIntensity[] = new float[1];
+	private int workIndexes[] = new int[1];
+
+	/**
+	 * Configures the detector
+	 *
+	 * @param factory Creates the FAST algorithm used to scan the image
+	 * @param radius Search radius for non-maximum suppression
+	 * @param threshold Minimum intensity of a corner
+	 */
+	public FastCornerDetector(ObjectFactory<FastCornerIntensity<T>> factory, int radius, float threshold) {
+		this.factory = factory;
+		this.radius = radius;
+		this.threshold = threshold;
+
+		scanner = new RowScanner();
+		fastBorder = scanner.fast.getIgnoreBorder();
+	}
+
+	/**
+	 * Detects FAST corners in the image.
+	 *
+	 * @param image Original image.
+	 * @param derivX Not used
+	 * @param derivY Not used
+	 * @param derivXX Not used
+	 * @param derivYY Not used
+	 * @param derivXY Not used
+	 */
+	@Override
+	public void process(T image, D derivX, D derivY, D derivXX, D derivYY, D derivXY) {
+		foundMinimum.reset();
+		foundMaximum.reset();
+
+		if( isSelectGrid() ) {
+			sortExcluded(image.width, image.height);
+			detect(image, candidatesMaximum, candidatesIntensity);
+
+			updateGridSelectors();
+			candidatesMinimum.reset();
+			selectGridMin.process(image.width, image.height, candidatesMinimum, emptyIntensity, false, excludeMinimum);
+			selectGridMax.process(image.width, image.height, candidatesMaximum, candidatesIntensity, true, excludeMaximum);
+
+			copyGridSelection();
+			return;
+		}
+
+		int numSelect = -1;
+		if( maxFeatures > 0 ) {
+			numSelect = excludeMaximum == null ? maxFeatures : maxFeatures - excludeMaximum.size;
+
+			// return without processing if there is no room to detect any more features
+			if( numSelect <= 0 )
+				return;
+		}
+
+		sortExcluded(image.width, image.height);
+		detect(image, foundMaximum, candidatesIntensity);
+
+		if( numSelect > 0 && foundMaximum.size > numSelect )
+			selectBest(numSelect);
+	}
+
+	/**
+	 * Finds all the corners which are local maximums inside the image
+	 *
+	 * @param image Input image
+	 * @param corners (Output) Found corners in the same order as {@link boofcv.alg.feature.detect.extract.NonMaxBlock}
+	 * @param intensity (Output) Intensity of each found corner
+	 */
+	protected void detect( T image , QueueCorner corners , GrowQueue_F32 intensity ) {
+		corners.reset();
+		intensity.reset();
+		scanner.process(image, 0, Integer.MAX_VALUE, corners, intensity);
+	}
+
+	/**
+	 * Sorts the excluded pixels inside the image by row using a counting sort
+	 */
+	private void sortExcluded( int width , int height ) {
+		if( excludeRowStart.length < height+1 )
+			excludeRowStart = new int[height+1];
+		Arrays.fill(excludeRowStart,0,height+1,0);
+
+		if( excludeMaximum == null )
+			return;
+
+		if( excludeX.length < excludeMaximum.size )
+			excludeX = new int[excludeMaximum.size];
+
+		for (int i = 0; i < excludeMaximum.size; i++) {
+			Point2D_I16 p = excludeMaximum.data[i];
+			if( p.x < 0 || p.y < 0 || p.x >= width || p.y >= height )
+				continue;
+			excludeRowStart[p.y+1]++;
+		}
+		for (int y = 0; y < height; y++) {
+			excludeRowStart[y+1] += excludeRowStart[y];
+		}
+		// use the next row as a counter while filling in the x-coordinates then shift it back
+		for (int i = 0; i < excludeMaximum.size; i++) {
+			Point2D_I16 p = excludeMaximum.data[i];
+			if( p.x < 0 || p.y < 0 || p.x >= width || p.y >= height )
+				continue;
+			excludeX[excludeRowStart[p.y]++] = p.x;
+		}
+		for (int y = height; y > 0; y--) {
+			excludeRowStart[y] = excludeRowStart[y-1];
+		}
+		excludeRowStart[0] = 0;
+	}
+
+	/**
+	 * Keeps the 'numSelect' corners with the largest intensity in foundMaximum
+	 */
+	private void selectBest( int numSelect ) {
+		int N = foundMaximum.size;
+		if( workIntensity.length < N ) {
+			workIntensity = new float[N];
+			workIndexes = new int[N];
+		}
+		// quick select selects the k smallest
+		// so the negative is used to select the k largest
+		for (int i = 0; i < N; i++) {
+			workIntensity[i] = -candidatesIntensity.data[i];
+		}
+		QuickSelect.selectIndex(workIntensity, numSelect, N, workIndexes);
+
+		candidatesMaximum.reset();
+		for (int i = 0; i < numSelect; i++) {
+			candidatesMaximum.grow().set(foundMaximum.data[workIndexes[i]]);
+		}
+		foundMaximum.reset();
+		for (int i = 0; i < numSelect; i++) {
+			foundMaximum.grow().set(candidatesMaximum.data[i]);
+		}
+	}
+
+	/**
+	 * Pixels closer than this to the image border are not returned
+	 */
+	public int getBorder() {
+		return Math.max(fastBorder, radius);
+	}
+
+	@Override
+	public boolean getRequiresGradient() {
+		return false;
+	}
+
+	@Override
+	public boolean getRequiresHessian() {
+		return false;
+	}
+
+	/**
+	 * An intensity image is never computed
+	 *
+	 * @return null
+	 */
+	@Override
+	public GrayF32 getIntensity() {
+		return null;
+	}
+
+	@Override
+	public void setThreshold(float threshold) {
+		this.threshold = threshold;
+	}
+
+	@Override
+	public float getThreshold() {
+		return threshold;
+	}
+
+	@Override
+	public boolean isDetectMinimums() {
+		return false;
+	}
+
+	@Override
+	public boolean isDetectMaximums() {
+		return true;
+	}
+
+	@Override
+	public void setSearchRadius(int radius) {
+		this.radius = radius;
+	}
+
+	public int getSearchRadius() {
+		return radius;
+	}
+
+	/**
+	 * Number of rows of search blocks in an image with the specified height.  Each block has a width and height
+	 * of radius+1.
+	 */
+	public int countBlockRows( int imageHeight ) {
+		int length = imageHeight - 2*getBorder();
+		if( length <= 0 )
+			return 0;
+		return (length + radius)/(radius+1);
+	}
+
+	/**
+	 * Scans rows in the image for corners.  The intensity of rows needed to suppress the current row of blocks
+	 * are saved in a circular buffer.  Each instance can only be used by one thread at a time.
+	 */
+	protected class RowScanner {
+		// FAST algorithm used to apply the segment test and score corners
+		FastCornerIntensity<T> fast = factory.newInstance();
+
+		// intensity of the most recently scanned rows.  Row 'y' is stored at (y % numRows)*width
+		float rows[] = new float[1];
+		int numRows;
+		int width, height;
+
+		/**
+		 * Finds all local maximums inside the specified rows of blocks.  Image rows outside the blocks but
+		 * inside the search radius are scanned as needed.  Blocks are searched the same way as
+		 * {@link boofcv.alg.feature.detect.extract.NonMaxBlockStrict}.
+		 *
+		 * @param image Input image
+		 * @param blockRow0 First row of blocks, inclusive.
+		 * @param blockRow1 Last row of blocks, exclusive.
+		 * @param corners (Output) Found corners are added to this list
+		 * @param intensity (Output) Intensity of found corners are added to this list
+		 */
+		public void process( T image , int blockRow0 , int blockRow1 , QueueCorner corners , GrowQueue_F32 intensity ) {
+			this.width = image.width;
+			this.height = image.height;
+
+			int border = getBorder();
+			int step = radius+1;
+			int endX = width-border;
+			int endY = height-border;
+			if( endX <= border )
+				return;
+
+			numRows = step + 2*radius;
+			if( rows.length < numRows*width )
+				rows = new float[numRows*width];
+
+			fast.setImage(image);
+
+			// the next image row which needs to be scanned
+			int next = Math.max(0, border + blockRow0*step - radius);
+
+			for( int y = border + blockRow0*step, row = blockRow0; y < endY && row < blockRow1; y += step, row++ ) {
+				int y1 = y + step;
+				if( y1 > endY ) y1 = endY;
+
+				int last = Math.min(height-1, y1-1+radius);
+				for (; next <= last; next++) {
+					scanRow(image, next);
+				}
+
+				for( int x = border; x < endX; x += step ) {
+					int x1 = x + step;
+					if( x1 > endX ) x1 = endX;
+					searchBlock(x, y, x1, y1, corners, intensity);
+				}
+			}
+		}
+
+		/**
+		 * Computes the intensity of every pixel in the row.  Pixels which fail the segment test are zero
+		 * and excluded pixels are set to Float.MAX_VALUE.
+		 */
+		private void scanRow( T image , int y ) {
+			int offset = (y % numRows)*width;
+
+			if( y < fastBorder || y >= height-fastBorder ) {
+				Arrays.fill(rows, offset, offset+width, 0);
+			} else {
+				Arrays.fill(rows, offset, offset+fastBorder, 0);
+				Arrays.fill(rows, offset+width-fastBorder, offset+width, 0);
+
+				int index = image.startIndex + y*image.stride + fastBorder;
+				int indexRow = offset + fastBorder;
+				for (int x = fastBorder; x < width-fastBorder; x++) {
+					rows[indexRow++] = fast.computeIntensity(index++);
+				}
+			}
+
+			for (int i = excludeRowStart[y]; i < excludeRowStart[y+1]; i++) {
+				rows[offset+excludeX[i]] = Float.MAX_VALUE;
+			}
+		}
+
+		/**
+		 * Finds the most intense pixel inside the block and adds it if it's a strict local maximum
+		 */
+		private void searchBlock( int x0 , int y0 , int x1 , int y1 , QueueCorner corners , GrowQueue_F32 intensity ) {
+			int peakX = 0;
+			int peakY = 0;
+
+			float peakVal = -Float.MAX_VALUE;
+
+			for (int y = y0; y < y1; y++) {
+				int index = (y % numRows)*width + x0;
+				for (int x = x0; x < x1; x++) {
+					float v = rows[index++];
+
+					if (v > peakVal) {
+						peakVal = v;
+						peakX = x;
+						peakY = y;
+					}
+				}
+			}
+
+			// pixels which failed the segment test can't be a strict local maximum since all
+			// intensities are zero or more
+			if( peakVal <= 0 || peakVal < threshold || peakVal == Float.MAX_VALUE )
+				return;
+
+			if( isLocalMax(peakX, peakY, peakVal) ) {
+				corners.add(peakX, peakY);
+				intensity.add(peakVal);
+			}
+		}
+
+		/**
+		 * Checks to see if no other pixel inside the search radius has an intensity which is the same or larger
+		 */
+		private boolean isLocalMax( int x_c , int y_c , float value ) {
+			int x0 = Math.max(0, x_c-radius);
+			int x1 = Math.min(width-1, x_c+radius);
+			int y0 = Math.max(0, y_c-radius);
+			int y1 = Math.min(height-1, y_c+radius);
+
+			for (int y = y0; y <= y1; y++) {
+				int offset = (y % numRows)*width;
+				for (int x = x0; x <= x1; x++) {
+					if( rows[offset+x] >= value && !(x == x_c && y == y_c) )
+						return false;
+				}
+			}
+			return true;
+		}
+	}
+}
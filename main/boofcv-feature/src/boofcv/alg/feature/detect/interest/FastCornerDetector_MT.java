@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.interest;
+
+import boofcv.alg.feature.detect.intensity.FastCornerIntensity;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntBlockConsumer;
+import boofcv.concurrency.ObjectFactory;
+import boofcv.struct.QueueCorner;
+import boofcv.struct.image.ImageGray;
+import org.ddogleg.struct.GrowQueue_F32;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Concurrent implementation of {@link FastCornerDetector}.  Rows of search blocks are split up between threads.
+ * Each thread has its own FAST algorithm, circular buffer, and storage for found corners.  Image rows inside the
+ * search radius of where two threads meet are scanned by both threads.  Once all rows have been searched the
+ * found corners are added to the output in the same order as the single threaded version.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class FastCornerDetector_MT<T extends ImageGray<T>, D extends ImageGray<D>>
+		extends FastCornerDetector<T,D>
+{
+	// scanner and storage for each block of rows
+	private List<BlockStorage> blocks = new ArrayList<>();
+
+	/**
+	 * @see FastCornerDetector#FastCornerDetector(ObjectFactory, int, float)
+	 */
+	public FastCornerDetector_MT(ObjectFactory<FastCornerIntensity<T>> factory, int radius, float threshold) {
+		super(factory, radius, threshold);
+	}
+
+	@Override
+	protected void detect(final T image, QueueCorner corners, GrowQueue_F32 intensity) {
+		corners.reset();
+		intensity.reset();
+
+		int numBlockRows = countBlockRows(image.height);
+		if( numBlockRows <= 0 )
+			return;
+
+		int numBlocks = BoofConcurrency.useConcurrent(image) ?
+				BoofConcurrency.computeNumberOfBlocks(numBlockRows,1) : 1;
+		while( blocks.size() < numBlocks ) {
+			blocks.add( new BlockStorage() );
+		}
+
+		BoofConcurrency.loopBlocksIndexed(0, numBlockRows, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept(int block, int minInclusive, int maxExclusive) {
+				BlockStorage s = blocks.get(block);
+				s.corners.reset();
+				s.intensity.reset();
+				s.scanner.process(image, minInclusive, maxExclusive, s.corners, s.intensity);
+			}
+		});
+
+		// add the results in the same order as the single threaded version
+		for (int i = 0; i < numBlocks; i++) {
+			BlockStorage s = blocks.get(i);
+			for (int j = 0; j < s.corners.size; j++) {
+				corners.grow().set(s.corners.get(j));
+			}
+			intensity.addAll(s.intensity);
+		}
+	}
+
+	private class BlockStorage {
+		RowScanner scanner = new RowScanner();
+		QueueCorner corners = new QueueCorner(10);
+		GrowQueue_F32 intensity = new GrowQueue_F32();
+	}
+}
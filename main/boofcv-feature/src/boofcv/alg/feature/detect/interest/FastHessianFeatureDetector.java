@@ -92,7 +92,7 @@ public class FastHessianFeatureDetector<II extends ImageGray<II>> {
 	private int maxFeaturesPerScale;
 
 	// local sub-space
-	private GrayF32 intensity[];
+	protected GrayF32 intensity[];
 	private int spaceIndex = 0;
 	private QueueCorner foundFeatures = new QueueCorner(100);
 
@@ -232,22 +232,37 @@ public class FastHessianFeatureDetector<II extends ImageGray<II>> {
 		int index1 = (spaceIndex + 1) % 3;
 		int index2 = (spaceIndex + 2) % 3;
 
-		ImageBorder_F32 inten0 = (ImageBorder_F32)FactoryImageBorderAlgs.value(intensity[index0], 0);
-		GrayF32 inten1 = intensity[index1];
-		ImageBorder_F32 inten2 = (ImageBorder_F32)FactoryImageBorderAlgs.value(intensity[index2], 0);
+		findLocalScaleSpaceMax(intensity[index0],intensity[index1],intensity[index2],size,level,skip);
+	}
+
+	/**
+	 * Looks for features which are local maximums in the image and scale-space.
+	 *
+	 * @param intensityLower Feature intensity in the level below
+	 * @param intensityTarget Feature intensity in the level being searched
+	 * @param intensityUpper Feature intensity in the level above
+	 * @param size Size of features in different scale-spaces.
+	 * @param level Which level in the scale-space
+	 * @param skip How many pixels are skipped over.
+	 */
+	protected void findLocalScaleSpaceMax(GrayF32 intensityLower, GrayF32 intensityTarget, GrayF32 intensityUpper,
+										  int []size, int level, int skip) {
+		ImageBorder_F32 inten0 = (ImageBorder_F32)FactoryImageBorderAlgs.value(intensityLower, 0);
+		GrayF32 inten1 = intensityTarget;
+		ImageBorder_F32 inten2 = (ImageBorder_F32)FactoryImageBorderAlgs.value(intensityUpper, 0);
 
 		// find local maximums in image 2D space.  Borders need to be ignored since
 		// false positives are found around them as an artifact of pixels outside being
 		// treated as being zero.
 		foundFeatures.reset();
 		extractor.setIgnoreBorder(size[level] / (2 * skip));
-		extractor.process(intensity[index1],null,null,null,foundFeatures);
+		extractor.process(inten1,null,null,null,foundFeatures);
 
 		// Can't consider feature which are right up against the border since they might not be a true local
 		// maximum when you consider the features on the other side of the ignore border
 		int ignoreRadius = extractor.getIgnoreBorder() + extractor.getSearchRadius();
-		int ignoreWidth = intensity[index1].width-ignoreRadius;
-		int ignoreHeight = intensity[index1].height-ignoreRadius;
+		int ignoreWidth = inten1.width-ignoreRadius;
+		int ignoreHeight = inten1.height-ignoreRadius;
 
 		// number of features which can be added
 		int numberRemaining;
@@ -255,7 +270,7 @@ public class FastHessianFeatureDetector<II extends ImageGray<II>> {
 		// if configured to do so, only select the features with the highest intensity
 		QueueCorner features;
 		if( sortBest != null ) {
-			sortBest.process(intensity[index1],foundFeatures,true);
+			sortBest.process(inten1,foundFeatures,true);
 			features = sortBest.getBestCorners();
 			numberRemaining = maxFeaturesPerScale;
 		} else {
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.detect.interest;
+
+import boofcv.abst.feature.detect.extract.NonMaxSuppression;
+import boofcv.alg.feature.detect.intensity.GIntegralImageFeatureIntensity;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeConsumer;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.ImageGray;
+
+/**
+ * <p>
+ * Concurrent implementation of {@link FastHessianFeatureDetector}.  The feature intensity for each size in an
+ * octave only depends on the integral image, so all the sizes in an octave are computed in parallel.  Unlike
+ * the single threaded version which only saves three sizes at any time, the intensity for every size in an octave
+ * is saved.  Local maximums are then found in the same order as the single threaded version, which produces
+ * identical results.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class FastHessianFeatureDetector_MT<II extends ImageGray<II>> extends FastHessianFeatureDetector<II> {
+
+	/**
+	 * See {@link FastHessianFeatureDetector#FastHessianFeatureDetector}
+	 */
+	public FastHessianFeatureDetector_MT(NonMaxSuppression extractor, int maxFeaturesPerScale,
+										 int initialSampleRate, int initialSize,
+										 int numberScalesPerOctave,
+										 int numberOfOctaves, int scaleStepSize) {
+		super(extractor, maxFeaturesPerScale, initialSampleRate, initialSize,
+				numberScalesPerOctave, numberOfOctaves, scaleStepSize);
+
+		// one intensity image for each size in the octave
+		intensity = new GrayF32[numberScalesPerOctave];
+		for( int i = 0; i < intensity.length; i++ ) {
+			intensity[i] = new GrayF32(1,1);
+		}
+	}
+
+	@Override
+	protected void detectOctave( final II integral , final int skip , final int ...featureSize ) {
+
+		int w = integral.width/skip;
+		int h = integral.height/skip;
+
+		// resize the output intensity image taking in account subsampling
+		for( int i = 0; i < featureSize.length; i++ ) {
+			intensity[i].reshape(w,h);
+		}
+
+		// compute feature intensity in each level
+		BoofConcurrency.loopBlocks(0, featureSize.length, 1, new IntRangeConsumer() {
+			@Override
+			public void accept(int minInclusive, int maxExclusive) {
+				for( int i = minInclusive; i < maxExclusive; i++ ) {
+					GIntegralImageFeatureIntensity.hessian(integral,skip,featureSize[i],intensity[i]);
+				}
+			}
+		});
+
+		// find maximum in scale space
+		for( int i = 1; i < featureSize.length-1; i++ ) {
+			findLocalScaleSpaceMax(intensity[i-1],intensity[i],intensity[i+1],featureSize,i,skip);
+		}
+	}
+}
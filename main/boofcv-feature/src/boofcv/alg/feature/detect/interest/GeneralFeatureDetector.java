@@ -20,6 +20,7 @@ package boofcv.alg.feature.detect.interest;
 
 import boofcv.abst.feature.detect.extract.NonMaxSuppression;
 import boofcv.abst.feature.detect.intensity.GeneralFeatureIntensity;
+import boofcv.alg.feature.detect.extract.SelectGridBestFeatures;
 import boofcv.alg.feature.detect.extract.SelectNBestFeatures;
 import boofcv.struct.QueueCorner;
 import boofcv.struct.image.GrayF32;
@@ -39,6 +40,13 @@ import georegression.struct.point.Point2D_I16;
  * found features are returned.  Set to a value &le; 0 to detect all features.
  * </p>
  *
+ * <p>
+ * Features can be spread across the image by specifying a grid.  Then the most intense features are selected
+ * inside of each cell in the grid, up to the per cell quota, instead of across the whole image.  If the quota isn't
+ * specified then the maximum number of features is divided evenly among the cells.  Excluded features count
+ * against the quota in their cell.  See {@link SelectGridBestFeatures}.
+ * </p>
+ *
  * @param <I> Input image type.
  * @param <D> Image derivative type.
  *
@@ -59,6 +67,17 @@ public class GeneralFeatureDetector<I extends ImageGray<I>, D extends ImageGray<
 	// maximum number of features it will detect across the image
 	protected int maxFeatures;
 
+	// selects the features with the largest intensity inside each grid cell
+	protected SelectGridBestFeatures selectGridMin;
+	protected SelectGridBestFeatures selectGridMax;
+	// shape of the grid. disabled if <= 0
+	protected int gridRows, gridCols;
+	// maximum number of features inside a grid cell
+	protected int maxFeaturesPerCell;
+	// all the features found by the extractor when selecting using a grid
+	protected QueueCorner candidatesMinimum = new QueueCorner(10);
+	protected QueueCorner candidatesMaximum = new QueueCorner(10);
+
 	// extracts corners from the intensity image
 	protected NonMaxSuppression extractor;
 
@@ -108,6 +127,11 @@ public class GeneralFeatureDetector<I extends ImageGray<I>, D extends ImageGray<
 		intensity.process(image, derivX, derivY, derivXX, derivYY, derivXY);
 		GrayF32 intensityImage = intensity.getIntensity();
 
+		if( isSelectGrid() ) {
+			processGrid(intensityImage);
+			return;
+		}
+
 		int numSelectMin = -1;
 		int numSelectMax = -1;
 		if( maxFeatures > 0 ) {
@@ -121,7 +145,101 @@ public class GeneralFeatureDetector<I extends ImageGray<I>, D extends ImageGray<
 				return;
 		}
 
-		// mark pixels that should be excluded
+		markExcluded(intensityImage);
+
+		foundMinimum.reset();
+		foundMaximum.reset();
+		extract(intensityImage, foundMinimum, foundMaximum);
+
+		// optionally select the most intense features only
+		selectBest(intensityImage, foundMinimum, numSelectMin, false);
+		selectBest(intensityImage, foundMaximum, numSelectMax, true);
+	}
+
+	/**
+	 * Finds all the local extremes and then selects the best inside each grid cell
+	 */
+	private void processGrid(GrayF32 intensityImage) {
+		markExcluded(intensityImage);
+
+		candidatesMinimum.reset();
+		candidatesMaximum.reset();
+		extract(intensityImage, candidatesMinimum, candidatesMaximum);
+
+		updateGridSelectors();
+
+		selectGridMin.process(intensityImage, candidatesMinimum, false, excludeMinimum);
+		selectGridMax.process(intensityImage, candidatesMaximum, true, excludeMaximum);
+
+		copyGridSelection();
+	}
+
+	/**
+	 * Creates the grid selectors or updates their grid shape and quota
+	 */
+	protected void updateGridSelectors() {
+		int quota = computeQuota();
+		if( selectGridMin == null ) {
+			selectGridMin = new SelectGridBestFeatures(gridRows, gridCols, quota);
+			selectGridMax = new SelectGridBestFeatures(gridRows, gridCols, quota);
+		} else {
+			selectGridMin.setGrid(gridRows, gridCols);
+			selectGridMax.setGrid(gridRows, gridCols);
+			selectGridMin.setQuota(quota);
+			selectGridMax.setQuota(quota);
+		}
+	}
+
+	/**
+	 * Selects features again from the most recently detected features using the current per cell quota.  The
+	 * intensity image is not processed again, making this much faster than calling process() when only the quota
+	 * has changed.  Only valid when a grid is used.
+	 */
+	public void reselect() {
+		if( !isSelectGrid() || selectGridMin == null )
+			throw new IllegalArgumentException("A grid must be specified and process() called first");
+
+		int quota = computeQuota();
+		selectGridMin.setQuota(quota);
+		selectGridMax.setQuota(quota);
+		selectGridMin.select();
+		selectGridMax.select();
+
+		copyGridSelection();
+	}
+
+	/**
+	 * Copies the features selected inside the grid into the found lists
+	 */
+	protected void copyGridSelection() {
+		foundMinimum.reset();
+		foundMaximum.reset();
+		if( isDetectMinimums() )
+			copy(selectGridMin.getBestCorners(), foundMinimum);
+		if( isDetectMaximums() )
+			copy(selectGridMax.getBestCorners(), foundMaximum);
+	}
+
+	private static void copy( QueueCorner src , QueueCorner dst ) {
+		for( int i = 0; i < src.size; i++ ) {
+			dst.grow().set(src.get(i));
+		}
+	}
+
+	/**
+	 * Number of features which can be selected inside each grid cell
+	 */
+	private int computeQuota() {
+		if( maxFeaturesPerCell > 0 )
+			return maxFeaturesPerCell;
+		int numCells = gridRows*gridCols;
+		return (maxFeatures+numCells-1)/numCells;
+	}
+
+	/**
+	 * Mark pixels that should be excluded
+	 */
+	private void markExcluded(GrayF32 intensityImage) {
 		if( excludeMinimum != null ) {
 			for( int i = 0; i < excludeMinimum.size; i++ ) {
 				Point2D_I16 p = excludeMinimum.get(i);
@@ -134,18 +252,14 @@ public class GeneralFeatureDetector<I extends ImageGray<I>, D extends ImageGray<
 				intensityImage.set(p.x,p.y,Float.MAX_VALUE);
 			}
 		}
+	}
 
-		foundMinimum.reset();
-		foundMaximum.reset();
+	private void extract(GrayF32 intensityImage, QueueCorner foundMinimum, QueueCorner foundMaximum) {
 		if (intensity.hasCandidates()) {
 			extractor.process(intensityImage, intensity.getCandidatesMin(), intensity.getCandidatesMax(),foundMinimum, foundMaximum);
 		} else {
 			extractor.process(intensityImage, null, null,foundMinimum, foundMaximum);
 		}
-
-		// optionally select the most intense features only
-		selectBest(intensityImage, foundMinimum, numSelectMin, false);
-		selectBest(intensityImage, foundMaximum, numSelectMax, true);
 	}
 
 	private void selectBest(GrayF32 intensityImage, QueueCorner found , int numSelect, boolean positive) {
@@ -171,6 +285,49 @@ public class GeneralFeatureDetector<I extends ImageGray<I>, D extends ImageGray<
 		this.maxFeatures = numFeatures;
 	}
 
+	/**
+	 * Specifies the grid used to spread features out across the image.  Features are selected inside each
+	 * cell up to the quota, see {@link #setMaxFeaturesPerCell(int)}.
+	 *
+	 * @param numRows Number of rows in the grid. If &le; 0 then a grid isn't used.
+	 * @param numCols Number of columns in the grid. If &le; 0 then a grid isn't used.
+	 */
+	public void setGrid( int numRows , int numCols ) {
+		this.gridRows = numRows;
+		this.gridCols = numCols;
+	}
+
+	/**
+	 * Maximum number of features selected inside each grid cell.  If &le; 0 then the maximum number
+	 * of features is divided evenly among the cells.  After changing the quota {@link #reselect()} can
+	 * be called to update the selected features.
+	 *
+	 * @param maxFeaturesPerCell Maximum number of features in a cell
+	 */
+	public void setMaxFeaturesPerCell( int maxFeaturesPerCell ) {
+		this.maxFeaturesPerCell = maxFeaturesPerCell;
+	}
+
+	/**
+	 * True if features are selected inside a grid.  A grid must be specified and either the per cell quota
+	 * or the maximum number of features.
+	 */
+	public boolean isSelectGrid() {
+		return gridRows > 0 && gridCols > 0 && (maxFeaturesPerCell > 0 || maxFeatures > 0);
+	}
+
+	public int getGridRows() {
+		return gridRows;
+	}
+
+	public int getGridCols() {
+		return gridCols;
+	}
+
+	public int getMaxFeaturesPerCell() {
+		return maxFeaturesPerCell;
+	}
+
 	/**
 	 * If the image gradient is required for calculations.
 	 *
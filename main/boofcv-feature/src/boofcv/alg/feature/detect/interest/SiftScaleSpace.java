@@ -42,6 +42,16 @@ import boofcv.struct.image.GrayF32;
  * </ul>
  *
  * <p>
+ * Only one octave is in memory at any time and the images in an octave are reused by the next octave.  When
+ * all the scales are retained every scale image and DoG image in the octave is computed at once and can be
+ * accessed in any order.  Otherwise, images are computed on demand and only the three most recent scale images
+ * and DoG images are saved, which is all that's needed to search for extremums in scale-space.  This reduces
+ * memory from (2*numScales+6) to 7 images, each the size of the first octave.  When not retaining all the scales,
+ * images must be requested in increasing order of scale and the returned images can be modified by later requests.
+ * The computed images are identical in both cases.
+ * </p>
+ *
+ * <p>
  * [1] Lowe, D. "Distinctive image features from scale-invariant keypoints".  International Journal of
  * Computer Vision, 60, 2 (2004), pp.91--110.
  * </p>
@@ -49,11 +59,17 @@ import boofcv.struct.image.GrayF32;
  * @author Peter Abeles
  */
 public class SiftScaleSpace {
-	// all the scale images across an octave
+	// scale images in the octave. Image 'i' is stored at i % octaveImages.length
 	GrayF32 octaveImages[];
-	// images which are the difference between the scales
+	// images which are the difference between the scales. DoG 'i' is stored at i % differenceOfGaussian.length
 	GrayF32 differenceOfGaussian[];
 
+	// if true then all the images in an octave are saved, otherwise only the most recent ones are
+	boolean retainAllScales;
+	// index of the highest scale and DoG image which have been computed in the current octave
+	int highestScale;
+	int highestDoG;
+
 	// Blur factor for first image in the scale pyramid
 	// The sigma for the first image in each octave is sigma0*(2**octave)
 	double sigma0;
@@ -83,14 +99,24 @@ public class SiftScaleSpace {
 	// temporary storage used when applying gaussian blur
 	GrayF32 tempBlur;
 
-	// internal work space used when computing octaves
-	GrayF32 tempImage0;
-	GrayF32 tempImage1;
-
 	// interpolation used when scaling an image up
 	InterpolatePixelS<GrayF32> interp =
 			FactoryInterpolation.bilinearPixelS(GrayF32.class, BorderType.EXTENDED);
 
+	/**
+	 * Configures the scale-space so that all the scales in an octave are retained.
+	 *
+	 * @param firstOctave Initial octave.  Negative numbers means it will scale up.  Recommend 0 or -1.
+	 * @param lastOctave  Last octave, inclusive.  Recommend ????
+	 * @param numScales Number of scales in each octave.  Recommend 3.
+	 * @param sigma0 Amount of blur at the first level in the image pyramid.  Recommend 1.6
+	 */
+	public SiftScaleSpace(int firstOctave , int lastOctave ,
+						  int numScales ,
+						  double sigma0  ) {
+		this(firstOctave, lastOctave, numScales, sigma0, true);
+	}
+
 	/**
 	 * Configures the scale-space
 	 *
@@ -98,10 +124,13 @@ public class SiftScaleSpace {
 	 * @param lastOctave  Last octave, inclusive.  Recommend ????
 	 * @param numScales Number of scales in each octave.  Recommend 3.
 	 * @param sigma0 Amount of blur at the first level in the image pyramid.  Recommend 1.6
+	 * @param retainAllScales If true all images in an octave are saved.  If false only the most recent
+	 *                        ones are saved and images are computed on demand.
 	 */
 	public SiftScaleSpace(int firstOctave , int lastOctave ,
 						  int numScales ,
-						  double sigma0  )
+						  double sigma0 ,
+						  boolean retainAllScales )
 	{
 		if( lastOctave <= firstOctave )
 			throw new IllegalArgumentException("Last octave must be more than the first octave");
@@ -112,15 +141,22 @@ public class SiftScaleSpace {
 		this.lastOctave = lastOctave;
 		this.numScales = numScales;
 		this.sigma0 = sigma0;
+		this.retainAllScales = retainAllScales;
 
-		octaveImages = new GrayF32[numScales + 3];
-		differenceOfGaussian = new GrayF32[numScales + 2];
-		for (int i = 1; i < octaveImages.length; i++) {
+		if( retainAllScales ) {
+			octaveImages = new GrayF32[numScales + 3];
+			differenceOfGaussian = new GrayF32[numScales + 2];
+		} else {
+			// the detector needs three DoG images, which requires the scale images below and above them
+			octaveImages = new GrayF32[3];
+			differenceOfGaussian = new GrayF32[3];
+		}
+		for (int i = 0; i < octaveImages.length; i++) {
 			octaveImages[i] = new GrayF32(1,1);
-			differenceOfGaussian[i-1] = new GrayF32(1,1);
 		}
-		tempImage0 = new GrayF32(1,1);
-		tempImage1 = new GrayF32(1,1);
+		for (int i = 0; i < differenceOfGaussian.length; i++) {
+			differenceOfGaussian[i] = new GrayF32(1,1);
+		}
 		tempBlur = new GrayF32(1,1);
 
 		// each scale is K has a sigma that is K times larger than the previous
@@ -171,20 +207,24 @@ public class SiftScaleSpace {
 		this.input = input;
 		currentOctave = firstOctave;
 
+		// The second scale image is used as work space since it has yet to be computed
+		GrayF32 first = octaveImages[0];
+		GrayF32 work = octaveImages[1];
+
 		if( firstOctave < 0 ) {
-			PyramidOps.scaleImageUp(input,tempImage1,-2*firstOctave,interp);
-			tempImage0.reshape(tempImage1.width, tempImage1.height);
-			applyGaussian(tempImage1, tempImage0, kernelSigma0);
+			PyramidOps.scaleImageUp(input,work,-2*firstOctave,interp);
+			first.reshape(work.width, work.height);
+			applyGaussian(work, first, kernelSigma0);
 		} else {
-			tempImage0.reshape(input.width, input.height);
-			applyGaussian(input, tempImage0, kernelSigma0);
+			first.reshape(input.width, input.height);
+			applyGaussian(input, first, kernelSigma0);
 			
 			for (int i = 0; i < firstOctave; i++) {
-				tempImage1.reshape(tempImage0.width, tempImage0.height);
+				work.reshape(first.width, first.height);
 				// first image in the next octave will have 2x the blur as the first image in the prior octave
-				applyGaussian(tempImage0, tempImage1, kernelSigma0);
+				applyGaussian(first, work, kernelSigma0);
 				// next octave has half the spacial resolution
-				PyramidOps.scaleDown2(tempImage1, tempImage0);
+				PyramidOps.scaleDown2(work, first);
 			}
 		}
 
@@ -202,37 +242,83 @@ public class SiftScaleSpace {
 			return false;
 		}
 
-		if( octaveImages[numScales].width <= 5 || octaveImages[numScales].height <= 5)
+		// the 2nd image from the top of the stack has 2x the sigma as the first
+		GrayF32 top = getImageScale(numScales);
+
+		if( top.width <= 5 || top.height <= 5)
 			return false;
 
-		// the 2nd image from the top of the stack has 2x the sigma as the first
-		PyramidOps.scaleDown2(octaveImages[numScales], tempImage0);
+		// tempBlur is free and will become the first image in the next octave
+		PyramidOps.scaleDown2(top, tempBlur);
+		GrayF32 tmp = octaveImages[0];
+		octaveImages[0] = tempBlur;
+		tempBlur = tmp;
+
 		computeOctaveScales();
 		return true;
 	}
 
 	/**
-	 * Computes all the scale images in an octave.  This includes DoG images.
+	 * Starts a new octave from the first scale image.  If all the scales are retained then all the scale
+	 * and DoG images are computed now.
 	 */
 	private void computeOctaveScales() {
-		octaveImages[0] = tempImage0;
-		for (int i = 1; i < numScales+3; i++) {
-			octaveImages[i].reshape(tempImage0.width, tempImage0.height);
-			applyGaussian(octaveImages[i - 1], octaveImages[i], kernelSigmaToK[i-1]);
+		highestScale = 0;
+		highestDoG = -1;
+
+		if( retainAllScales ) {
+			getDifferenceOfGaussian(numScales+1);
 		}
+	}
 
-		for (int i = 1; i < numScales+3; i++) {
-			differenceOfGaussian[i-1].reshape(tempImage0.width, tempImage0.height);
-			PixelMath.subtract(octaveImages[i],octaveImages[i - 1],differenceOfGaussian[i-1]);
+	/**
+	 * Computes scale images up to and including the specified scale
+	 */
+	private void computeScales( int scaleIndex ) {
+		GrayF32 first = octaveImages[0];
+		for (int i = highestScale+1; i <= scaleIndex; i++) {
+			GrayF32 lower = octaveImages[(i-1) % octaveImages.length];
+			GrayF32 upper = octaveImages[i % octaveImages.length];
+			upper.reshape(first.width, first.height);
+			applyGaussian(lower, upper, kernelSigmaToK[i-1]);
+			highestScale = i;
 		}
 	}
 
+	/**
+	 * Returns the image at the specified scale in the current octave.  If not all scales are retained then
+	 * it's computed on demand and scales must be requested in increasing order.
+	 *
+	 * @param scaleIndex Index of the scale image.  0 to numScales+2, inclusive.
+	 */
 	public GrayF32 getImageScale(int scaleIndex ) {
-		return octaveImages[scaleIndex];
+		if( scaleIndex <= highestScale - octaveImages.length )
+			throw new IllegalArgumentException("Scale "+scaleIndex+" has already been discarded. Scales must " +
+					"be requested in increasing order or retain all the scales.");
+		computeScales(scaleIndex);
+		return octaveImages[scaleIndex % octaveImages.length];
 	}
 
+	/**
+	 * Returns the difference of Gaussian image at the specified index in the current octave.  If not all scales
+	 * are retained then it's computed on demand and images must be requested in increasing order.
+	 *
+	 * @param dogIndex Index of the DoG image. 0 to numScales+1, inclusive.
+	 */
 	public GrayF32 getDifferenceOfGaussian(int dogIndex ) {
-		return differenceOfGaussian[dogIndex];
+		if( dogIndex <= highestDoG - differenceOfGaussian.length )
+			throw new IllegalArgumentException("DoG "+dogIndex+" has already been discarded. DoG images must " +
+					"be requested in increasing order or retain all the scales.");
+
+		for (int i = highestDoG+1; i <= dogIndex; i++) {
+			GrayF32 upper = getImageScale(i+1);
+			GrayF32 lower = getImageScale(i);
+			GrayF32 dog = differenceOfGaussian[i % differenceOfGaussian.length];
+			dog.reshape(upper.width, upper.height);
+			PixelMath.subtract(upper,lower,dog);
+			highestDoG = i;
+		}
+		return differenceOfGaussian[dogIndex % differenceOfGaussian.length];
 	}
 
 	/**
@@ -244,6 +330,10 @@ public class SiftScaleSpace {
 		GConvolveImageOps.verticalNormalized(kernel, tempBlur,output);
 	}
 
+	public boolean isRetainAllScales() {
+		return retainAllScales;
+	}
+
 	public int getNumScales() {
 		return numScales;
 	}
@@ -27,7 +27,9 @@ import java.util.List;
 
 /**
  * Precomputes the gradient for all scales in the scale-space and saves them in a list.  Since it saves the entire
- * scale space it can take up a bit of memory, but allows quick random look up of images.
+ * scale space it can take up a bit of memory, but allows quick random look up of images.  The gradient of every
+ * scale in every octave is saved, no matter how {@link SiftScaleSpace} is configured, which is about
+ * 2*numScales*4/3 images the size of the first octave.
  *
  * @author Peter Abeles
  */
@@ -86,6 +86,8 @@ public abstract class BaseTemplateIntensity<T extends ImageBase<T>>
 
 		borderX0 = template.width / 2;
 		borderY0 = template.height / 2;
+		borderX1 = template.width-borderX0;
+		borderY1 = template.height-borderY0;
 
 		for (int y = 0; y < h; y++) {
 			int index = intensity.startIndex + (y + borderY0) * intensity.stride + borderX0;
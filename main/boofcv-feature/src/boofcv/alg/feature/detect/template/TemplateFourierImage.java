@@ -0,0 +1,290 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.template;
+
+import boofcv.abst.transform.fft.DiscreteFourierTransform;
+import boofcv.alg.misc.ImageStatistics;
+import boofcv.alg.misc.PixelMath;
+import boofcv.alg.transform.fft.DiscreteFourierTransformOps;
+import boofcv.core.image.GConvertImage;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.ImageGray;
+import boofcv.struct.image.InterleavedF32;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Precomputed information about an image which is needed to match templates against it using the Fourier
+ * transform, see {@link TemplateNCCFFT}.  The image is broken up into overlapping tiles and the Fourier transform of
+ * each tile is saved.  Tiles are a power of two in size and at least twice the size of the largest template.  Tiles
+ * overlap by the template's size minus one, which allows every location the template can be placed at to be
+ * found from a single tile with a circular correlation.  Integral images of pixel values and squared pixel values
+ * are saved for computing the mean and variance of any region.
+ * </p>
+ *
+ * <p>
+ * The image's mean is subtracted from all pixels to improve numerical precision.  Once computed the
+ * information is read only and can be shared between threads.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class TemplateFourierImage<T extends ImageGray<T>> {
+
+	// smallest allowed length of a tile's side
+	public static final int MIN_TILE = 32;
+
+	private DiscreteFourierTransform<GrayF32,InterleavedF32> dft =
+			DiscreteFourierTransformOps.createTransformF32();
+
+	// input image converted to floating point with the mean subtracted
+	private GrayF32 image = new GrayF32(1,1);
+
+	// integral images of pixel values and squared pixel values. (width+1)*(height+1)
+	private double integral[] = new double[0];
+	private double integralSq[] = new double[0];
+
+	// size of each tile.  Always a power of two
+	private int tileWidth, tileHeight;
+	// distance between the top-left corner of each tile
+	private int stepX, stepY;
+	// number of tiles along each axis
+	private int tileCols, tileRows;
+	// largest template which can be processed with the current tiles
+	private int maxTemplateWidth, maxTemplateHeight;
+
+	// Fourier transform of each tile in row-major order
+	private List<InterleavedF32> spectra = new ArrayList<>();
+
+	// work space for copying a tile out of the image
+	private GrayF32 work = new GrayF32(1,1);
+
+	public TemplateFourierImage() {
+		dft.setModifyInputs(true);
+	}
+
+	/**
+	 * Specifies the input image.  The Fourier transform is computed later by {@link #prepare(int, int)}.
+	 *
+	 * @param input Input image. Not modified.
+	 */
+	public void setImage( T input ) {
+		image.reshape(input.width, input.height);
+		GConvertImage.convert(input, image);
+		PixelMath.minus(image, (float)ImageStatistics.mean(image), image);
+
+		int N = (image.width+1)*(image.height+1);
+		if( integral.length < N ) {
+			integral = new double[N];
+			integralSq = new double[N];
+		}
+
+		int stride = image.width+1;
+		for (int x = 0; x <= image.width; x++) {
+			integral[x] = 0;
+			integralSq[x] = 0;
+		}
+		for (int y = 0; y < image.height; y++) {
+			int indexImage = image.startIndex + y*image.stride;
+			int index = (y+1)*stride;
+			integral[index] = 0;
+			integralSq[index] = 0;
+			index++;
+
+			double rowSum = 0, rowSumSq = 0;
+			for (int x = 0; x < image.width; x++, index++) {
+				double v = image.data[indexImage++];
+				rowSum += v;
+				rowSumSq += v*v;
+				integral[index] = integral[index-stride] + rowSum;
+				integralSq[index] = integralSq[index-stride] + rowSumSq;
+			}
+		}
+
+		// force the tiles to be computed again
+		maxTemplateWidth = maxTemplateHeight = 0;
+	}
+
+	/**
+	 * Computes the Fourier transform of each tile if the current tiles are too small for the template.
+	 * Does nothing if the template can already be processed, making it safe to call from multiple threads
+	 * after it has been called with the largest template.
+	 *
+	 * @param templateWidth Width of the template
+	 * @param templateHeight Height of the template
+	 */
+	public void prepare( int templateWidth , int templateHeight ) {
+		if( templateWidth > image.width || templateHeight > image.height )
+			throw new IllegalArgumentException("Template must be smaller than the image");
+		if( templateWidth <= maxTemplateWidth && templateHeight <= maxTemplateHeight )
+			return;
+
+		maxTemplateWidth = Math.max(templateWidth, maxTemplateWidth);
+		maxTemplateHeight = Math.max(templateHeight, maxTemplateHeight);
+
+		tileWidth = selectTileLength(maxTemplateWidth, image.width);
+		tileHeight = selectTileLength(maxTemplateHeight, image.height);
+		stepX = tileWidth - maxTemplateWidth + 1;
+		stepY = tileHeight - maxTemplateHeight + 1;
+		tileCols = (image.width + stepX - 1)/stepX;
+		tileRows = (image.height + stepY - 1)/stepY;
+
+		while( spectra.size() < tileCols*tileRows ) {
+			spectra.add( new InterleavedF32(1,1,2));
+		}
+
+		work.reshape(tileWidth, tileHeight);
+		for (int row = 0; row < tileRows; row++) {
+			for (int col = 0; col < tileCols; col++) {
+				int x0 = col*stepX;
+				int y0 = row*stepY;
+				int x1 = Math.min(image.width, x0 + tileWidth);
+				int y1 = Math.min(image.height, y0 + tileHeight);
+
+				// pixels outside the image are zero.  They are never used when the template is inside the image
+				for (int y = 0; y < tileHeight; y++) {
+					int indexWork = y*tileWidth;
+					if( y0 + y < y1 ) {
+						int indexImage = image.startIndex + (y0+y)*image.stride + x0;
+						System.arraycopy(image.data, indexImage, work.data, indexWork, x1-x0);
+						indexWork += x1-x0;
+					}
+					for (int i = indexWork; i < (y+1)*tileWidth; i++) {
+						work.data[i] = 0;
+					}
+				}
+
+				InterleavedF32 spectrum = spectra.get(row*tileCols+col);
+				spectrum.reshape(tileWidth, tileHeight);
+				dft.forward(work, spectrum);
+			}
+		}
+	}
+
+	/**
+	 * Selects the length of a tile's side which minimizes the cost of computing the correlation for each
+	 * pixel.  Larger tiles have less overlap but each transform is more expensive.
+	 *
+	 * @param templateLength Length of the template's side
+	 * @param imageLength Length of the image's side
+	 * @return Length of the tile's side. Power of two.
+	 */
+	static int selectTileLength( int templateLength , int imageLength ) {
+		int smallest = DiscreteFourierTransformOps.nextPow2(Math.max(MIN_TILE, 2*templateLength));
+		int largest = Math.max(smallest, DiscreteFourierTransformOps.nextPow2(imageLength));
+
+		int best = smallest;
+		double bestCost = Double.MAX_VALUE;
+		for (int length = smallest; length <= largest && length <= smallest*4; length *= 2) {
+			double cost = length*Math.log(length)/(length - templateLength + 1);
+			if( cost < bestCost ) {
+				bestCost = cost;
+				best = length;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Sum of pixel values inside the rectangle
+	 *
+	 * @param x0 lower extent, inclusive
+	 * @param y0 lower extent, inclusive
+	 * @param x1 upper extent, exclusive
+	 * @param y1 upper extent, exclusive
+	 */
+	public double sum( int x0 , int y0 , int x1 , int y1 ) {
+		return blockSum(integral, x0, y0, x1, y1);
+	}
+
+	/**
+	 * Sum of squared pixel values inside the rectangle
+	 *
+	 * @param x0 lower extent, inclusive
+	 * @param y0 lower extent, inclusive
+	 * @param x1 upper extent, exclusive
+	 * @param y1 upper extent, exclusive
+	 */
+	public double sumSq( int x0 , int y0 , int x1 , int y1 ) {
+		return blockSum(integralSq, x0, y0, x1, y1);
+	}
+
+	private double blockSum( double integral[] , int x0 , int y0 , int x1 , int y1 ) {
+		int stride = image.width+1;
+		return integral[y1*stride + x1] - integral[y0*stride + x1] - integral[y1*stride + x0] + integral[y0*stride + x0];
+	}
+
+	/**
+	 * Regions with a variance less than or equal to this value are considered to have no variation.  Errors from
+	 * computing the variance using integral images can be larger than the true variance of a flat region.
+	 */
+	public double getVarianceTolerance() {
+		double meanSq = integralSq[(image.width+1)*(image.height+1)-1]/(image.width*image.height);
+		return 1e-9*meanSq;
+	}
+
+	/**
+	 * Returns the Fourier transform of the specified tile
+	 */
+	public InterleavedF32 getSpectrum( int row , int col ) {
+		return spectra.get(row*tileCols+col);
+	}
+
+	public int getWidth() {
+		return image.width;
+	}
+
+	public int getHeight() {
+		return image.height;
+	}
+
+	public int getTileWidth() {
+		return tileWidth;
+	}
+
+	public int getTileHeight() {
+		return tileHeight;
+	}
+
+	public int getStepX() {
+		return stepX;
+	}
+
+	public int getStepY() {
+		return stepY;
+	}
+
+	public int getTileCols() {
+		return tileCols;
+	}
+
+	public int getTileRows() {
+		return tileRows;
+	}
+
+	public int getMaxTemplateWidth() {
+		return maxTemplateWidth;
+	}
+
+	public int getMaxTemplateHeight() {
+		return maxTemplateHeight;
+	}
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.template;
+
+import boofcv.abst.transform.fft.DiscreteFourierTransform;
+import boofcv.core.image.GConvertImage;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.ImageGray;
+import boofcv.struct.image.InterleavedF32;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Cached Fourier transform of a template for use by {@link TemplateNCCFFT}.  The template has its mean subtracted
+ * and is multiplied by the mask, if there is one.  It's then placed in the top-left corner of a tile and the
+ * complex conjugate of its Fourier transform is saved.  Multiplying this spectrum with the spectrum of an image
+ * tile computes the circular cross correlation.
+ * </p>
+ *
+ * <p>
+ * A copy of the template and mask are saved and the spectrum is only recomputed if they change or the tile
+ * size changes.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class TemplateFourierKernel {
+
+	// copy of the template and mask which the spectrum was computed from
+	private GrayF32 template = new GrayF32(1,1);
+	private GrayF32 mask = new GrayF32(1,1);
+	private boolean hasMask;
+	// shape of the tile the spectrum was computed for
+	private int tileWidth, tileHeight;
+	// true if the spectrum has been computed
+	private boolean valid = false;
+
+	// work space for converting new inputs into floating point images
+	private GrayF32 inputTemplate = new GrayF32(1,1);
+	private GrayF32 inputMask = new GrayF32(1,1);
+	// work space for the template inside the tile
+	private GrayF32 work = new GrayF32(1,1);
+
+	// complex conjugate of the transformed template
+	private InterleavedF32 spectrum = new InterleavedF32(1,1,2);
+
+	// Number of pixels in the template
+	private float area;
+	// standard deviation of the template's pixel values
+	private float sigma;
+	// sum of the zero mean template multiplied by the mask
+	private float sum;
+
+	/**
+	 * Computes the template's spectrum if it or the tile's shape have changed since the last call
+	 *
+	 * @param template Template. Not modified.
+	 * @param mask (Optional) Mask which specifies each pixel's weight.  Can be null.
+	 * @param tileWidth Width of a tile
+	 * @param tileHeight Height of a tile
+	 * @param dft Used to compute the Fourier transform
+	 * @return true if the spectrum was recomputed or false if the cached spectrum was used
+	 */
+	public boolean update( ImageGray template , ImageGray mask , int tileWidth , int tileHeight ,
+						   DiscreteFourierTransform<GrayF32,InterleavedF32> dft ) {
+		inputTemplate.reshape(template.width, template.height);
+		GConvertImage.convert(template, inputTemplate);
+		if( mask != null ) {
+			inputMask.reshape(mask.width, mask.height);
+			GConvertImage.convert(mask, inputMask);
+		}
+
+		if( valid && tileWidth == this.tileWidth && tileHeight == this.tileHeight &&
+				isIdentical(inputTemplate, this.template) &&
+				(mask == null ? !hasMask : hasMask && isIdentical(inputMask, this.mask)) ) {
+			return false;
+		}
+
+		// save the inputs by swapping with the work space
+		GrayF32 tmp = this.template; this.template = inputTemplate; inputTemplate = tmp;
+		if( mask != null ) {
+			tmp = this.mask; this.mask = inputMask; inputMask = tmp;
+		}
+		this.hasMask = mask != null;
+		this.tileWidth = tileWidth;
+		this.tileHeight = tileHeight;
+
+		computeSpectrum(dft);
+		valid = true;
+		return true;
+	}
+
+	private void computeSpectrum( DiscreteFourierTransform<GrayF32,InterleavedF32> dft ) {
+		int N = template.width*template.height;
+		area = N;
+
+		float mean = 0;
+		for (int i = 0; i < N; i++) {
+			mean += template.data[i];
+		}
+		mean /= area;
+
+		float variance = 0;
+		for (int i = 0; i < N; i++) {
+			float diff = template.data[i] - mean;
+			variance += diff*diff;
+		}
+		sigma = (float)Math.sqrt(variance/area);
+
+		work.reshape(tileWidth, tileHeight);
+		Arrays.fill(work.data, 0, tileWidth*tileHeight, 0);
+
+		sum = 0;
+		for (int y = 0; y < template.height; y++) {
+			for (int x = 0; x < template.width; x++) {
+				int index = y*template.width + x;
+				float value = template.data[index] - mean;
+				if( hasMask )
+					value *= mask.data[index];
+				work.data[y*tileWidth + x] = value;
+				sum += value;
+			}
+		}
+
+		spectrum.reshape(tileWidth, tileHeight);
+		dft.forward(work, spectrum);
+
+		// complex conjugate turns convolution into correlation
+		int length = tileWidth*tileHeight*2;
+		for (int i = 1; i < length; i += 2) {
+			spectrum.data[i] = -spectrum.data[i];
+		}
+	}
+
+	private static boolean isIdentical( GrayF32 a , GrayF32 b ) {
+		if( a.width != b.width || a.height != b.height )
+			return false;
+		int N = a.width*a.height;
+		for (int i = 0; i < N; i++) {
+			if( a.data[i] != b.data[i] )
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Discards the cached spectrum
+	 */
+	public void reset() {
+		valid = false;
+	}
+
+	public InterleavedF32 getSpectrum() {
+		return spectrum;
+	}
+
+	public int getTemplateWidth() {
+		return template.width;
+	}
+
+	public int getTemplateHeight() {
+		return template.height;
+	}
+
+	public float getArea() {
+		return area;
+	}
+
+	public float getSigma() {
+		return sigma;
+	}
+
+	public float getSum() {
+		return sum;
+	}
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.template;
+
+import boofcv.concurrency.ObjectFactory;
+import boofcv.struct.feature.Match;
+import boofcv.struct.image.ImageGray;
+import org.ddogleg.struct.FastQueue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Searches for many templates inside the same image using {@link TemplateNCCFFT}.  The image's Fourier
+ * transform is computed once and shared by all the templates.  Each template's spectrum is cached between calls
+ * to {@link #process()}, so only the correlation needs to be computed for each new image.  Matches for each
+ * template are found the same way as {@link TemplateMatching}.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class TemplateMatchingBatch<T extends ImageGray<T>> {
+
+	// creates the intensity algorithm used by each worker
+	protected ObjectFactory<TemplateNCCFFT<T>> factory;
+
+	// list of templates being searched for
+	protected List<TemplateInfo<T>> templates = new ArrayList<>();
+
+	// Fourier transform of the image. Shared by all workers
+	protected TemplateFourierImage<T> fourierImage = new TemplateFourierImage<>();
+
+	// the image being searched
+	protected T image;
+
+	// configuration which is passed to each worker
+	protected int minimumSeparation = 2;
+	protected int minimumArea = TemplateNCCFFT.DEFAULT_MINIMUM_AREA;
+
+	// processes the templates when a single thread is used
+	protected Worker worker;
+
+	/**
+	 * Specifies how the intensity algorithm is created
+	 *
+	 * @param factory Creates new instances of the template matching intensity algorithm
+	 */
+	public TemplateMatchingBatch(ObjectFactory<TemplateNCCFFT<T>> factory) {
+		this.factory = factory;
+	}
+
+	/**
+	 * Adds a template which is to be searched for
+	 *
+	 * @param template   Template being searched for. Reference is saved.
+	 * @param mask       Optional mask.  Same size as template.  0 = pixel is transparent, values larger than zero
+	 *                   determine how influential the pixel is.  Can be null.
+	 * @param maxMatches The maximum number of matches it will return
+	 * @return Index of the template
+	 */
+	public int addTemplate( T template , T mask , int maxMatches ) {
+		templates.add(new TemplateInfo<>(template, mask, maxMatches));
+		return templates.size()-1;
+	}
+
+	/**
+	 * Removes all the templates
+	 */
+	public void clearTemplates() {
+		templates.clear();
+	}
+
+	/**
+	 * Specifies the input image which the templates are to be found inside.
+	 *
+	 * @param image Image being processed
+	 */
+	public void setImage( T image ) {
+		this.image = image;
+	}
+
+	/**
+	 * Searches for all the templates inside the image
+	 */
+	public void process() {
+		// compute the image's Fourier transform once for the largest template
+		int maxWidth = 0, maxHeight = 0;
+		for (int i = 0; i < templates.size(); i++) {
+			T template = templates.get(i).template;
+			if( template.width*template.height < minimumArea )
+				continue;
+			maxWidth = Math.max(maxWidth, template.width);
+			maxHeight = Math.max(maxHeight, template.height);
+		}
+		if( maxWidth > 0 ) {
+			fourierImage.setImage(image);
+			fourierImage.prepare(maxWidth, maxHeight);
+		}
+
+		processTemplates();
+	}
+
+	/**
+	 * Searches for each template in the image
+	 */
+	protected void processTemplates() {
+		if( worker == null )
+			worker = new Worker();
+		worker.configure();
+		for (int i = 0; i < templates.size(); i++) {
+			worker.process(templates.get(i));
+		}
+	}
+
+	/**
+	 * Returns all the found matches for the specified template.  The location is the location of the top left
+	 * corner of the template.  Score is the first score with higher number being better
+	 *
+	 * @param index Index of the template
+	 * @return List of found templates
+	 */
+	public FastQueue<Match> getResults( int index ) {
+		return templates.get(index).results;
+	}
+
+	/**
+	 * Number of templates
+	 */
+	public int getTemplateCount() {
+		return templates.size();
+	}
+
+	/**
+	 * Adjust how close to objects can be found to each other
+	 *
+	 * @param radius Distance in pixels.  Try using the template's radius or 2
+	 */
+	public void setMinimumSeparation( int radius ) {
+		this.minimumSeparation = radius;
+	}
+
+	/**
+	 * Templates with fewer pixels than this are processed directly instead of with the Fourier transform.
+	 *
+	 * @see TemplateNCCFFT#setMinimumArea(int)
+	 */
+	public void setMinimumArea( int minimumArea ) {
+		this.minimumArea = minimumArea;
+	}
+
+	public int getMinimumArea() {
+		return minimumArea;
+	}
+
+	/**
+	 * Searches for templates inside the image.  Each worker can only be used by one thread at a time.
+	 */
+	protected class Worker {
+		TemplateNCCFFT<T> intensity = factory.newInstance();
+		TemplateMatching<T> matching = new TemplateMatching<>(intensity);
+
+		Worker() {
+			intensity.setFourierImage(fourierImage);
+		}
+
+		/**
+		 * Copies the configuration and image into the worker
+		 */
+		void configure() {
+			intensity.setMinimumArea(minimumArea);
+			matching.setMinimumSeparation(minimumSeparation);
+			matching.setImage(image);
+		}
+
+		void process( TemplateInfo<T> info ) {
+			intensity.setKernel(info.kernel);
+			matching.setTemplate(info.template, info.mask, info.maxMatches);
+			matching.process();
+
+			FastQueue<Match> found = matching.getResults();
+			info.results.reset();
+			for (int i = 0; i < found.size; i++) {
+				Match src = found.get(i);
+				Match dst = info.results.grow();
+				dst.set(src.x, src.y);
+				dst.score = src.score;
+			}
+		}
+	}
+
+	/**
+	 * A template being searched for and its cached spectrum
+	 */
+	protected static class TemplateInfo<T extends ImageGray<T>> {
+		T template;
+		T mask;
+		int maxMatches;
+		TemplateFourierKernel kernel = new TemplateFourierKernel();
+		FastQueue<Match> results = new FastQueue<>(10, Match.class, true);
+
+		TemplateInfo(T template, T mask, int maxMatches) {
+			this.template = template;
+			this.mask = mask;
+			this.maxMatches = maxMatches;
+		}
+	}
+}
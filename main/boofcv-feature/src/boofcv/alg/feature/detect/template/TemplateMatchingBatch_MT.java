@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.template;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntBlockConsumer;
+import boofcv.concurrency.ObjectFactory;
+import boofcv.struct.image.ImageGray;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Concurrent implementation of {@link TemplateMatchingBatch}.  Templates are split up between threads and each
+ * thread has its own worker.  The image's Fourier transform is computed before the threads start and is shared.
+ *
+ * @author Peter Abeles
+ */
+public class TemplateMatchingBatch_MT<T extends ImageGray<T>> extends TemplateMatchingBatch<T> {
+
+	// worker for each block of templates
+	private List<Worker> workers = new ArrayList<>();
+
+	/**
+	 * @see TemplateMatchingBatch#TemplateMatchingBatch(ObjectFactory)
+	 */
+	public TemplateMatchingBatch_MT(ObjectFactory<TemplateNCCFFT<T>> factory) {
+		super(factory);
+	}
+
+	@Override
+	protected void processTemplates() {
+		if( templates.isEmpty() )
+			return;
+
+		int numBlocks = BoofConcurrency.computeNumberOfBlocks(templates.size(),1);
+		while( workers.size() < numBlocks ) {
+			workers.add( new Worker() );
+		}
+		for (int i = 0; i < numBlocks; i++) {
+			workers.get(i).configure();
+		}
+
+		BoofConcurrency.loopBlocksIndexed(0, templates.size(), numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept(int block, int minInclusive, int maxExclusive) {
+				Worker w = workers.get(block);
+				for (int i = minInclusive; i < maxExclusive; i++) {
+					w.process(templates.get(i));
+				}
+			}
+		});
+	}
+}
@@ -36,6 +36,12 @@ public abstract class TemplateNCC <T extends ImageBase<T>>
 		super.process(template);
 	}
 
+	@Override
+	public void process(T template, T mask) {
+		setupTemplate(template);
+		super.process(template, mask);
+	}
+
 	/**
 	 * Precompute statistical information on the template
 	 */
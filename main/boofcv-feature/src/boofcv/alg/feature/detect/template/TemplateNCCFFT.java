@@ -0,0 +1,273 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.template;
+
+import boofcv.abst.transform.fft.DiscreteFourierTransform;
+import boofcv.alg.transform.fft.DiscreteFourierTransformOps;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.ImageGray;
+import boofcv.struct.image.InterleavedF32;
+
+/**
+ * <p>
+ * Template matching using normalized cross correlation (NCC) which computes the correlation using the Fourier
+ * transform.  The score is the same as {@link TemplateNCC}, but computing it directly has a cost of
+ * O(W&middot;H&middot;w&middot;h) while the Fourier transform approach has a cost of about
+ * O(W&middot;H&middot;log(w&middot;h)), where W&times;H is the image's size and w&times;h the template's.
+ * Templates with fewer pixels than {@link #getMinimumArea()} are faster to process directly and the provided
+ * {@link TemplateNCC} is used instead.
+ * </p>
+ *
+ * <p>
+ * The image is broken up into tiles which are at least twice the template's size, see {@link TemplateFourierImage}.
+ * Each tile is multiplied in the frequency domain by the template's spectrum and transformed back, giving the
+ * correlation between the zero mean template and the image.  The mean and variance of the image under the
+ * template are computed from integral images.  The template's spectrum is cached in a
+ * {@link TemplateFourierKernel} and only recomputed when the template changes.  Image regions with no variation
+ * have a score of zero.
+ * </p>
+ *
+ * <p>
+ * To match many templates against the same image a {@link TemplateFourierImage} can be shared between multiple
+ * instances and each template can have its own {@link TemplateFourierKernel}, see {@link TemplateMatchingBatch}.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class TemplateNCCFFT<T extends ImageGray<T>>
+		implements TemplateMatchingIntensity<T>
+{
+	// Default value for the minimum number of pixels in a template for the Fourier transform to be used
+	public static final int DEFAULT_MINIMUM_AREA = 16;
+
+	// computes the score directly for small templates
+	private TemplateNCC<T> direct;
+	// templates with fewer pixels than this are processed directly
+	private int minimumArea = DEFAULT_MINIMUM_AREA;
+	// true if the most recent template was processed directly
+	private boolean usedDirect;
+
+	private DiscreteFourierTransform<GrayF32,InterleavedF32> dft =
+			DiscreteFourierTransformOps.createTransformF32();
+
+	// Fourier transform of the input image and if it's owned by this instance
+	private TemplateFourierImage<T> fourierImage = new TemplateFourierImage<>();
+	private boolean ownsImage = true;
+	// the input image and if the Fourier transform needs to be recomputed
+	private T image;
+	private boolean imageChanged;
+
+	// cached spectrum of the template
+	private TemplateFourierKernel kernel = new TemplateFourierKernel();
+
+	// work space for a tile's spectrum and correlation
+	private InterleavedF32 product = new InterleavedF32(1,1,2);
+	private GrayF32 correlation = new GrayF32(1,1);
+
+	// Match intensity image
+	private GrayF32 intensity = new GrayF32(1,1);
+
+	// thickness of the border
+	private int borderX0,borderY0;
+	private int borderX1,borderY1;
+
+	/**
+	 * Specifies the algorithm used for small templates
+	 *
+	 * @param direct Computes NCC directly
+	 */
+	public TemplateNCCFFT(TemplateNCC<T> direct) {
+		this.direct = direct;
+		dft.setModifyInputs(true);
+	}
+
+	@Override
+	public void setInputImage(T image) {
+		this.image = image;
+		this.imageChanged = true;
+		direct.setInputImage(image);
+	}
+
+	@Override
+	public void process(T template) {
+		process(template, null);
+	}
+
+	@Override
+	public void process(T template, T mask) {
+		if( template.width*template.height < minimumArea ) {
+			usedDirect = true;
+			if( mask == null )
+				direct.process(template);
+			else
+				direct.process(template, mask);
+			return;
+		}
+		usedDirect = false;
+
+		if( ownsImage && imageChanged ) {
+			fourierImage.setImage(image);
+			imageChanged = false;
+		}
+		fourierImage.prepare(template.width, template.height);
+		kernel.update(template, mask, fourierImage.getTileWidth(), fourierImage.getTileHeight(), dft);
+
+		computeIntensity();
+	}
+
+	/**
+	 * Computes the correlation inside each tile and normalizes it
+	 */
+	private void computeIntensity() {
+		int width = fourierImage.getWidth();
+		int height = fourierImage.getHeight();
+		int templateWidth = kernel.getTemplateWidth();
+		int templateHeight = kernel.getTemplateHeight();
+
+		intensity.reshape(width, height);
+
+		borderX0 = templateWidth/2;
+		borderY0 = templateHeight/2;
+		borderX1 = templateWidth-borderX0;
+		borderY1 = templateHeight-borderY0;
+
+		int tileWidth = fourierImage.getTileWidth();
+		int tileHeight = fourierImage.getTileHeight();
+		int stepX = fourierImage.getStepX();
+		int stepY = fourierImage.getStepY();
+
+		product.reshape(tileWidth, tileHeight);
+		correlation.reshape(tileWidth, tileHeight);
+
+		// largest coordinate of the template's top-left corner
+		int lastX = width - templateWidth;
+		int lastY = height - templateHeight;
+
+		double area = kernel.getArea();
+		double sigmaTemplate = kernel.getSigma();
+		double sumTemplate = kernel.getSum();
+		double tolerance = fourierImage.getVarianceTolerance();
+
+		for (int row = 0; row < fourierImage.getTileRows(); row++) {
+			int y0 = row*stepY;
+			if( y0 > lastY )
+				break;
+			int y1 = Math.min(y0 + stepY, lastY + 1);
+
+			for (int col = 0; col < fourierImage.getTileCols(); col++) {
+				int x0 = col*stepX;
+				if( x0 > lastX )
+					break;
+				int x1 = Math.min(x0 + stepX, lastX + 1);
+
+				DiscreteFourierTransformOps.multiplyComplex(
+						fourierImage.getSpectrum(row,col), kernel.getSpectrum(), product);
+				dft.inverse(product, correlation);
+
+				for (int y = y0; y < y1; y++) {
+					int indexCorr = (y-y0)*tileWidth;
+					int indexOut = intensity.startIndex + (y + borderY0)*intensity.stride + x0 + borderX0;
+
+					for (int x = x0; x < x1; x++) {
+						double sum = fourierImage.sum(x, y, x+templateWidth, y+templateHeight);
+						double sumSq = fourierImage.sumSq(x, y, x+templateWidth, y+templateHeight);
+
+						double mean = sum/area;
+						double variance = sumSq/area - mean*mean;
+
+						if( variance <= tolerance ) {
+							intensity.data[indexOut++] = 0;
+						} else {
+							// the mask causes the template to not be zero mean
+							double top = correlation.data[indexCorr + x - x0] - mean*sumTemplate;
+							intensity.data[indexOut++] = (float)(top/(Math.sqrt(variance)*sigmaTemplate));
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Specifies a Fourier transformed image which is shared with other instances.  After this is called
+	 * {@link #setInputImage} will not modify the Fourier transformed image and it's the caller's responsibility
+	 * to set the image and prepare it for the largest template.
+	 *
+	 * @param fourierImage Shared Fourier transformed image
+	 */
+	public void setFourierImage( TemplateFourierImage<T> fourierImage ) {
+		this.fourierImage = fourierImage;
+		this.ownsImage = false;
+	}
+
+	/**
+	 * Specifies where the template's spectrum is cached.  Allows each template's spectrum to be cached
+	 * when multiple templates are processed.
+	 *
+	 * @param kernel Storage for the template's spectrum
+	 */
+	public void setKernel( TemplateFourierKernel kernel ) {
+		this.kernel = kernel;
+	}
+
+	public TemplateFourierKernel getKernel() {
+		return kernel;
+	}
+
+	/**
+	 * Templates with fewer pixels than this are processed directly.
+	 */
+	public int getMinimumArea() {
+		return minimumArea;
+	}
+
+	public void setMinimumArea(int minimumArea) {
+		this.minimumArea = minimumArea;
+	}
+
+	@Override
+	public GrayF32 getIntensity() {
+		return usedDirect ? direct.getIntensity() : intensity;
+	}
+
+	@Override
+	public boolean isBorderProcessed() {
+		return false;
+	}
+
+	@Override
+	public int getBorderX0() {
+		return usedDirect ? direct.getBorderX0() : borderX0;
+	}
+
+	@Override
+	public int getBorderX1() {
+		return usedDirect ? direct.getBorderX1() : borderX1;
+	}
+
+	@Override
+	public int getBorderY0() {
+		return usedDirect ? direct.getBorderY0() : borderY0;
+	}
+
+	@Override
+	public int getBorderY1() {
+		return usedDirect ? direct.getBorderY1() : borderY1;
+	}
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.disparity;
+
+import boofcv.alg.transform.census.GCensusTransform;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.core.image.border.BorderType;
+import boofcv.core.image.border.FactoryImageBorder;
+import boofcv.core.image.border.ImageBorder;
+import boofcv.struct.image.GrayS32;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageGray;
+
+/**
+ * <p>
+ * Computes the disparity score for a rectangular region using the Census Transform.  Both images are first
+ * converted using {@link boofcv.alg.transform.census.CensusTransform} and then the score for a region is the
+ * sum of Hamming distances between the census transformed pixels.  Scores are computed by a
+ * {@link DisparityScoreRowFormat} that operates on census images, using the same efficient row based approach
+ * as {@link DisparityScoreSadRect}, and are then passed to {@link DisparitySelect}.
+ * </p>
+ *
+ * <p>
+ * The census transform only depends on the order of pixel intensities, which makes the score invariant
+ * to differences in gain and bias between the two cameras. Images no longer need to be normalized first.
+ * A 3x3 census transform is stored in {@link GrayU8} and a 5x5 census transform in {@link GrayS32}.
+ * Pixels along the image border are transformed using an extended border.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class DisparityScoreCensusRect<T extends ImageGray<T>, C extends ImageGray<C>, DI extends ImageGray<DI>>
+	extends DisparityScoreRowFormat<T, DI>
+{
+	// computes the disparity score from census images
+	DisparityScoreRowFormat<C,DI> score;
+
+	// type of input image
+	Class<T> imageType;
+
+	// how the image border is handled when computing the census transform
+	ImageBorder<T> border;
+
+	// storage for census transformed images
+	C censusLeft, censusRight;
+
+	/**
+	 * Specifies the algorithm used to score census images.  The size of the census region is
+	 * determined by the input image type of the score algorithm.
+	 *
+	 * @param score Computes the disparity score from census images. {@link GrayU8} for 3x3 region
+	 *              and {@link GrayS32} for 5x5 region.
+	 * @param imageType Type of input image
+	 */
+	public DisparityScoreCensusRect( DisparityScoreRowFormat<C,DI> score , Class<T> imageType ) {
+		super(score.getMinDisparity(), score.getMaxDisparity(), score.getBorderX(), score.getBorderY());
+		if( score.getInputType() != GrayU8.class && score.getInputType() != GrayS32.class )
+			throw new IllegalArgumentException("Census images must be GrayU8 or GrayS32");
+		this.score = score;
+		this.imageType = imageType;
+		this.border = FactoryImageBorder.single(imageType, BorderType.EXTENDED);
+
+		censusLeft = GeneralizedImageOps.createSingleBand(score.getInputType(),1,1);
+		censusRight = GeneralizedImageOps.createSingleBand(score.getInputType(),1,1);
+	}
+
+	@Override
+	public void _process(T left, T right, DI disparity) {
+		transform(left, censusLeft);
+		transform(right, censusRight);
+
+		score.process(censusLeft, censusRight, disparity);
+	}
+
+	private void transform( T input , C output ) {
+		if( output instanceof GrayU8 )
+			GCensusTransform.region3x3(input, border, (GrayU8)output);
+		else
+			GCensusTransform.region5x5(input, border, (GrayS32)output);
+	}
+
+	@Override
+	public Class<T> getInputType() {
+		return imageType;
+	}
+
+	@Override
+	public Class<DI> getDisparityType() {
+		return score.getDisparityType();
+	}
+
+	public DisparityScoreRowFormat<C, DI> getScore() {
+		return score;
+	}
+}
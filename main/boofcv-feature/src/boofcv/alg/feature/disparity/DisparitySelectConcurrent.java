@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity;
+
+import boofcv.struct.image.ImageGray;
+
+/**
+ * {@link DisparitySelect} which can create copies of itself for use by concurrent score algorithms.  Each
+ * thread is given its own copy since internal storage can't be shared.
+ *
+ * @author Peter Abeles
+ */
+public interface DisparitySelectConcurrent<Array , T extends ImageGray> extends DisparitySelect<Array,T> {
+	/**
+	 * Creates a new instance with the same configuration.
+	 *
+	 * @return New instance with the same configuration
+	 */
+	public DisparitySelectConcurrent<Array,T> concurrentCopy();
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.impl;
+
+import boofcv.alg.feature.disparity.DisparityScoreRowFormat;
+import boofcv.alg.feature.disparity.DisparitySelectConcurrent;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntBlockConsumer;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageGray;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Concurrent implementation of {@link ImplDisparityScoreHammingRect_U8}.  The image is split into
+ * horizontal stripes and each stripe computes its own vertical sum of the horizontal scores, starting
+ * from the first row in the stripe.  Each thread has its own score buffers and {@link DisparitySelectConcurrent}.
+ * </p>
+ *
+ * <p>
+ * Disparity is identical to the single threaded implementation.
+ * </p>
+ *
+ * <p>
+ * DO NOT MODIFY. Generated by {@link GenerateDisparityScoreSadRect}.
+ * </p>
+ * 
+ * @author Peter Abeles
+ */
+public class ImplDisparityScoreHammingRect_MT_U8<DI extends ImageGray<DI>>
+	extends DisparityScoreRowFormat<GrayU8, DI>
+{
+
+	// Computes disparity from scores.  Used by the first block, the other blocks use copies of it
+	DisparitySelectConcurrent<int[], DI> computeDisparity;
+
+	// storage for each block
+	final List<BlockStorage> storage = new ArrayList<>();
+
+	public ImplDisparityScoreHammingRect_MT_U8( int minDisparity , int maxDisparity,
+										int regionRadiusX, int regionRadiusY,
+										DisparitySelectConcurrent<int[], DI> computeDisparity) {
+		super(minDisparity,maxDisparity,regionRadiusX,regionRadiusY);
+
+		this.computeDisparity = computeDisparity;
+	}
+
+	@Override
+	public void _process( final GrayU8 left , final GrayU8 right , DI disparity ) {
+		// Rows are identified by the last row in the region.  The first row has a complete region
+		final int rowStart = regionHeight-1;
+		// Each stripe needs to compute the horizontal score for an extra region before it can start
+		int numBlocks = BoofConcurrency.useConcurrent(left) ?
+				BoofConcurrency.computeNumberOfBlocks(left.height-rowStart,regionHeight) : 1;
+
+		while( storage.size() < numBlocks ) {
+			storage.add( new BlockStorage(storage.isEmpty() ? computeDisparity : computeDisparity.concurrentCopy()));
+		}
+		for( int i = 0; i < numBlocks; i++ ) {
+			BlockStorage s = storage.get(i);
+			s.declare(left.width);
+			s.computeDisparity.configure(disparity,minDisparity,maxDisparity,radiusX);
+		}
+
+		BoofConcurrency.loopBlocksIndexed(rowStart, left.height, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept(int block, int row0, int row1) {
+				computeBlock(storage.get(block), left, right, row0, row1);
+			}
+		});
+	}
+
+	/**
+	 * Computes the disparity for a stripe of rows.  The vertical score is computed from scratch for the first
+	 * row and then updated efficiently for the remaining rows.
+	 *
+	 * @param row0 First row, inclusive.  Rows are identified by the last row in the region.
+	 * @param row1 Last row, exclusive.
+	 */
+	private void computeBlock( BlockStorage s , GrayU8 left, GrayU8 right , int row0 , int row1 )
+	{
+		final int verticalScore[] = s.verticalScore;
+
+		for( int row = row0; row < row1; row++ ) {
+			int scores[] = s.horizontalScore[row%regionHeight];
+
+			if( row == row0 ) {
+				// compute horizontal scores for the entire region
+				for( int i = row-regionHeight+1; i <= row; i++ ) {
+					UtilDisparityScore.computeHammingRow(left, right, i, s.horizontalScore[i%regionHeight],
+							minDisparity,maxDisparity,regionWidth,s.elementScore);
+				}
+				s.computeVerticalScore(row-regionHeight+1);
+			} else {
+				// subtract first row from vertical score
+				for( int i = 0; i < lengthHorizontal; i++ ) {
+					verticalScore[i] -= scores[i];
+				}
+
+				UtilDisparityScore.computeHammingRow(left, right, row, scores,
+						minDisparity,maxDisparity,regionWidth,s.elementScore);
+
+				// add the new score
+				for( int i = 0; i < lengthHorizontal; i++ ) {
+					verticalScore[i] += scores[i];
+				}
+			}
+
+			// compute disparity
+			s.computeDisparity.process(row - regionHeight + 1 + radiusY, verticalScore);
+		}
+	}
+
+	@Override
+	public Class<GrayU8> getInputType() {
+		return GrayU8.class;
+	}
+
+	@Override
+	public Class<DI> getDisparityType() {
+		return computeDisparity.getDisparityType();
+	}
+
+	/**
+	 * Storage used by a single block
+	 */
+	class BlockStorage {
+		DisparitySelectConcurrent<int[], DI> computeDisparity;
+
+		// see single threaded implementation for a description
+		int elementScore[];
+		int horizontalScore[][];
+		int verticalScore[];
+
+		BlockStorage( DisparitySelectConcurrent<int[], DI> computeDisparity ) {
+			this.computeDisparity = computeDisparity;
+		}
+
+		void declare( int width ) {
+			if( horizontalScore == null || verticalScore.length < lengthHorizontal ) {
+				horizontalScore = new int[regionHeight][lengthHorizontal];
+				verticalScore = new int[lengthHorizontal];
+				elementScore = new int[ width ];
+			}
+		}
+
+		/**
+		 * Computes the vertical score by summing up the horizontal scores in the region, in the order of their rows
+		 */
+		void computeVerticalScore( int firstRow ) {
+			for( int i = 0; i < lengthHorizontal; i++ ) {
+				int sum = 0;
+				for( int row = firstRow; row < firstRow+regionHeight; row++ ) {
+					sum += horizontalScore[row%regionHeight][i];
+				}
+				verticalScore[i] = sum;
+			}
+		}
+	}
+
+}
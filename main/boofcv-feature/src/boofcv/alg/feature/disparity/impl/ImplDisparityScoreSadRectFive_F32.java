@@ -96,13 +96,7 @@ public class ImplDisparityScoreSadRectFive_F32<DI extends ImageGray<DI>>
 		}
 
 		// compute score for the top possible row
-		for( int i = 0; i < lengthHorizontal; i++ ) {
-			float sum = 0;
-			for( int row = 0; row < regionHeight; row++ ) {
-				sum += horizontalScore[row][i];
-			}
-			firstRow[i] = sum;
-		}
+		computeVerticalScore(0,firstRow);
 	}
 
 	/**
@@ -117,18 +111,25 @@ public class ImplDisparityScoreSadRectFive_F32<DI extends ImageGray<DI>>
 			float previous[] = verticalScore[ (activeVerticalScore -1) % regionHeight ];
 			float active[] = verticalScore[ activeVerticalScore % regionHeight ];
 
-			// subtract first row from vertical score
 			float scores[] = horizontalScore[oldRow];
-			for( int i = 0; i < lengthHorizontal; i++ ) {
-				active[i] = previous[i] - scores[i];
-			}
+			if( activeVerticalScore % UtilDisparityScore.FLOAT_RESET_ROWS == 0 ) {
+				UtilDisparityScore.computeScoreRow(left, right, row, scores,
+						minDisparity,maxDisparity,regionWidth,elementScore);
+				// sum from scratch to limit the accumulation of round off error
+				computeVerticalScore(activeVerticalScore,active);
+			} else {
+				// subtract first row from vertical score
+				for( int i = 0; i < lengthHorizontal; i++ ) {
+					active[i] = previous[i] - scores[i];
+				}
 
-			UtilDisparityScore.computeScoreRow(left, right, row, scores,
-					minDisparity,maxDisparity,regionWidth,elementScore);
+				UtilDisparityScore.computeScoreRow(left, right, row, scores,
+						minDisparity,maxDisparity,regionWidth,elementScore);
 
-			// add the new score
-			for( int i = 0; i < lengthHorizontal; i++ ) {
-				active[i] += scores[i];
+				// add the new score
+				for( int i = 0; i < lengthHorizontal; i++ ) {
+					active[i] += scores[i];
+				}
 			}
 
 			if( activeVerticalScore >= regionHeight-1 ) {
@@ -142,6 +143,22 @@ public class ImplDisparityScoreSadRectFive_F32<DI extends ImageGray<DI>>
 		}
 	}
 
+	/**
+	 * Computes the vertical score by summing up the horizontal scores in the region, in the order of their rows
+	 *
+	 * @param firstRow The first row in the region
+	 * @param vertical (Output) vertical score
+	 */
+	private void computeVerticalScore( int firstRow , float vertical[] ) {
+		for( int i = 0; i < lengthHorizontal; i++ ) {
+			float sum = 0;
+			for( int row = firstRow; row < firstRow+regionHeight; row++ ) {
+				sum += horizontalScore[row%regionHeight][i];
+			}
+			vertical[i] = sum;
+		}
+	}
+
 	/**
 	 * Compute the final score by sampling the 5 regions.  Four regions are sampled around the center
 	 * region.  Out of those four only the two with the smallest score are used.
@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.impl;
+
+import boofcv.alg.feature.disparity.DisparityScoreWindowFive;
+import boofcv.alg.feature.disparity.DisparitySelectConcurrent;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntBlockConsumer;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.ImageGray;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Concurrent implementation of {@link ImplDisparityScoreSadRectFive_F32}.  The image is split into
+ * horizontal stripes and each stripe computes its own rolling window of vertical scores, starting
+ * from the first region which is needed by the first row in the stripe.  Each thread has its own score
+ * buffers and {@link DisparitySelectConcurrent}.
+ * </p>
+ *
+ * <p>
+ * Disparity is identical to the single threaded implementation.
+ * Round off errors would make that impossible for an arbitrary split, so stripes start at regions
+ * where the single threaded code also recomputes the vertical score, see
+ * {@link UtilDisparityScore#FLOAT_RESET_ROWS}.
+ * </p>
+ *
+ * <p>
+ * DO NOT MODIFY. Generated by {@link GenerateDisparityScoreSadRectFive}.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplDisparityScoreSadRectFive_MT_F32<DI extends ImageGray<DI>>
+		extends DisparityScoreWindowFive<GrayF32, DI>
+{
+
+	// Computes disparity from scores.  Used by the first block, the other blocks use copies of it
+	DisparitySelectConcurrent<float[], DI> computeDisparity;
+
+	// storage for each block
+	final List<BlockStorage> storage = new ArrayList<>();
+
+	public ImplDisparityScoreSadRectFive_MT_F32(int minDisparity, int maxDisparity,
+											int regionRadiusX, int regionRadiusY,
+											DisparitySelectConcurrent<float[], DI> computeDisparity) {
+		super(minDisparity,maxDisparity,regionRadiusX,regionRadiusY);
+		this.computeDisparity = computeDisparity;
+	}
+
+	@Override
+	public void _process( final GrayF32 left , final GrayF32 right , DI disparity ) {
+		// Regions are identified by their first row and rows are identified by the last row in the region.
+		// Disparity is computed once the regions above and below the center region are complete
+		final int rowStart = Math.max(regionHeight,4*radiusY);
+		// Stripes can only start at regions where the vertical score is recomputed
+		final int resetRows = UtilDisparityScore.FLOAT_RESET_ROWS;
+		int numStripes = Math.max(0,left.height-4*radiusY+resetRows-1)/resetRows;
+		int numBlocks = BoofConcurrency.useConcurrent(left) ?
+				BoofConcurrency.computeNumberOfBlocks(numStripes,1) : 1;
+
+		while( storage.size() < numBlocks ) {
+			storage.add( new BlockStorage(storage.isEmpty() ? computeDisparity : computeDisparity.concurrentCopy()));
+		}
+		for( int i = 0; i < numBlocks; i++ ) {
+			BlockStorage s = storage.get(i);
+			s.declare(left.width);
+			s.computeDisparity.configure(disparity,minDisparity,maxDisparity,radiusX*2);
+		}
+
+		BoofConcurrency.loopBlocksIndexed(0, numStripes, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept(int block, int stripe0, int stripe1) {
+				int region0 = stripe0*resetRows;
+				int row0 = Math.max(rowStart, region0 + 4*radiusY);
+				int row1 = Math.min(left.height, stripe1*resetRows + 4*radiusY);
+				computeBlock(storage.get(block), left, right, region0, row0, row1);
+			}
+		});
+	}
+
+	/**
+	 * Computes the disparity for a stripe of rows.  The vertical score of the first region is computed from
+	 * scratch and then updated efficiently for the remaining regions.
+	 *
+	 * @param region0 Index of the first region's vertical score.  Regions are identified by their first row.
+	 * @param row0 First row which disparity is computed for, inclusive.  Rows are identified by the last
+	 *             row in the region.
+	 * @param row1 Last row, exclusive.
+	 */
+	private void computeBlock( BlockStorage s , GrayF32 left, GrayF32 right ,
+							 int region0 , int row0 , int row1 )
+	{
+		if( row0 >= row1 )
+			return;
+
+		final float verticalScore[][] = s.verticalScore;
+		final int rowSeed = region0 + regionHeight - 1;
+
+		for( int row = rowSeed; row < row1; row++ ) {
+			int region = row - regionHeight + 1;
+			float active[] = verticalScore[ region % regionHeight ];
+			float scores[] = s.horizontalScore[row%regionHeight];
+
+			if( row == rowSeed ) {
+				// compute horizontal scores for the entire region
+				for( int i = region; i <= row; i++ ) {
+					UtilDisparityScore.computeScoreRow(left, right, i, s.horizontalScore[i%regionHeight],
+							minDisparity,maxDisparity,regionWidth,s.elementScore);
+				}
+				s.computeVerticalScore(region,active);
+			} else if( region % UtilDisparityScore.FLOAT_RESET_ROWS == 0 ) {
+				UtilDisparityScore.computeScoreRow(left, right, row, scores,
+						minDisparity,maxDisparity,regionWidth,s.elementScore);
+				// sum from scratch to limit the accumulation of round off error
+				s.computeVerticalScore(region,active);
+			} else {
+				float previous[] = verticalScore[ (region -1) % regionHeight ];
+
+				// subtract first row from vertical score
+				for( int i = 0; i < lengthHorizontal; i++ ) {
+					active[i] = previous[i] - scores[i];
+				}
+
+				UtilDisparityScore.computeScoreRow(left, right, row, scores,
+						minDisparity,maxDisparity,regionWidth,s.elementScore);
+
+				// add the new score
+				for( int i = 0; i < lengthHorizontal; i++ ) {
+					active[i] += scores[i];
+				}
+			}
+
+			if( row >= row0 ) {
+				float top[] = verticalScore[ (region -2*radiusY) % regionHeight ];
+				float middle[] = verticalScore[ (region -radiusY) % regionHeight ];
+
+				computeScoreFive(top,middle,active,s.fiveScore,left.width);
+				s.computeDisparity.process(row - 2*radiusY, s.fiveScore );
+			}
+		}
+	}
+
+	/**
+	 * Compute the final score by sampling the 5 regions.  Four regions are sampled around the center
+	 * region.  Out of those four only the two with the smallest score are used.
+	 */
+	protected void computeScoreFive( float top[] , float middle[] , float bottom[] , float score[] , int width ) {
+
+		// disparity as the outer loop to maximize common elements in inner loops, reducing redundant calculations
+		for( int d = minDisparity; d < maxDisparity; d++ ) {
+
+			// take in account the different in image border between the sub-regions and the effective region
+			int indexSrc = (d-minDisparity)*width + (d-minDisparity) + radiusX;
+			int indexDst = (d-minDisparity)*width + (d-minDisparity);
+			int end = indexSrc + (width-d-4*radiusX);
+			while( indexSrc < end ) {
+				int s = 0;
+
+				// sample four outer regions at the corners around the center region
+				float val0 = top[indexSrc-radiusX];
+				float val1 = top[indexSrc+radiusX];
+				float val2 = bottom[indexSrc-radiusX];
+				float val3 = bottom[indexSrc+radiusX];
+
+				// select the two best scores from outer for regions
+				if( val1 < val0 ) {
+					float temp = val0;
+					val0 = val1;
+					val1 = temp;
+				}
+
+				if( val3 < val2 ) {
+					float temp = val2;
+					val2 = val3;
+					val3 = temp;
+				}
+
+				if( val3 < val0 ) {
+					s += val2;
+					s += val3;
+				} else if( val2 < val1 ) {
+					s += val2;
+					s += val0;
+				} else {
+					s += val0;
+					s += val1;
+				}
+
+				score[indexDst++] = s + middle[indexSrc++];
+			}
+		}
+	}
+
+	@Override
+	public Class<GrayF32> getInputType() {
+		return GrayF32.class;
+	}
+
+	@Override
+	public Class<DI> getDisparityType() {
+		return computeDisparity.getDisparityType();
+	}
+
+	/**
+	 * Storage used by a single block
+	 */
+	class BlockStorage {
+		DisparitySelectConcurrent<float[], DI> computeDisparity;
+
+		// see single threaded implementation for a description
+		float elementScore[];
+		float horizontalScore[][];
+		float verticalScore[][];
+		float fiveScore[];
+
+		BlockStorage( DisparitySelectConcurrent<float[], DI> computeDisparity ) {
+			this.computeDisparity = computeDisparity;
+		}
+
+		void declare( int width ) {
+			if( horizontalScore == null || fiveScore.length < lengthHorizontal ) {
+				horizontalScore = new float[regionHeight][lengthHorizontal];
+				verticalScore = new float[regionHeight][lengthHorizontal];
+				elementScore = new float[ width ];
+				fiveScore = new float[ lengthHorizontal ];
+			}
+		}
+
+		/**
+		 * Computes the vertical score by summing up the horizontal scores in the region, in the order of their rows
+		 */
+		void computeVerticalScore( int firstRow , float vertical[] ) {
+			for( int i = 0; i < lengthHorizontal; i++ ) {
+				float sum = 0;
+				for( int row = firstRow; row < firstRow+regionHeight; row++ ) {
+					sum += horizontalScore[row%regionHeight][i];
+				}
+				vertical[i] = sum;
+			}
+		}
+	}
+
+}
@@ -91,13 +91,7 @@ public class ImplDisparityScoreSadRect_F32<DI extends ImageGray<DI>>
 		}
 
 		// compute score for the top possible row
-		for( int i = 0; i < lengthHorizontal; i++ ) {
-			float sum = 0;
-			for( int row = 0; row < regionHeight; row++ ) {
-				sum += horizontalScore[row][i];
-			}
-			verticalScore[i] = sum;
-		}
+		computeVerticalScore(0);
 
 		// compute disparity
 		computeDisparity.process(radiusY, verticalScore);
@@ -113,18 +107,25 @@ public class ImplDisparityScoreSadRect_F32<DI extends ImageGray<DI>>
 		for( int row = regionHeight; row < left.height; row++ ) {
 			int oldRow = row%regionHeight;
 
-			// subtract first row from vertical score
 			float scores[] = horizontalScore[oldRow];
-			for( int i = 0; i < lengthHorizontal; i++ ) {
-				verticalScore[i] -= scores[i];
-			}
-
-			UtilDisparityScore.computeScoreRow(left, right, row, scores,
-					minDisparity,maxDisparity,regionWidth,elementScore);
-
-			// add the new score
-			for( int i = 0; i < lengthHorizontal; i++ ) {
-				verticalScore[i] += scores[i];
+			if( (row-regionHeight+1) % UtilDisparityScore.FLOAT_RESET_ROWS == 0 ) {
+				UtilDisparityScore.computeScoreRow(left, right, row, scores,
+						minDisparity,maxDisparity,regionWidth,elementScore);
+				// sum from scratch to limit the accumulation of round off error
+				computeVerticalScore(row-regionHeight+1);
+			} else {
+				// subtract first row from vertical score
+				for( int i = 0; i < lengthHorizontal; i++ ) {
+					verticalScore[i] -= scores[i];
+				}
+
+				UtilDisparityScore.computeScoreRow(left, right, row, scores,
+						minDisparity,maxDisparity,regionWidth,elementScore);
+
+				// add the new score
+				for( int i = 0; i < lengthHorizontal; i++ ) {
+					verticalScore[i] += scores[i];
+				}
 			}
 
 			// compute disparity
@@ -132,6 +133,21 @@ public class ImplDisparityScoreSadRect_F32<DI extends ImageGray<DI>>
 		}
 	}
 
+	/**
+	 * Computes the vertical score by summing up the horizontal scores in the region, in the order of their rows
+	 *
+	 * @param firstRow The first row in the region
+	 */
+	private void computeVerticalScore( int firstRow ) {
+		for( int i = 0; i < lengthHorizontal; i++ ) {
+			float sum = 0;
+			for( int row = firstRow; row < firstRow+regionHeight; row++ ) {
+				sum += horizontalScore[row%regionHeight][i];
+			}
+			verticalScore[i] = sum;
+		}
+	}
+
 	@Override
 	public Class<GrayF32> getInputType() {
 		return GrayF32.class;
@@ -18,6 +18,7 @@
 
 package boofcv.alg.feature.disparity.impl;
 
+import boofcv.alg.feature.disparity.DisparitySelectConcurrent;
 import boofcv.alg.feature.disparity.SelectRectBasicWta;
 import boofcv.struct.image.GrayU8;
 
@@ -33,6 +34,7 @@ import boofcv.struct.image.GrayU8;
  * @author Peter Abeles
  */
 public class ImplSelectRectBasicWta_F32_U8 extends SelectRectBasicWta<float[],GrayU8>
+		implements DisparitySelectConcurrent<float[],GrayU8>
 {
 	@Override
 	public void process(int row, float[] scores) {
@@ -61,6 +63,11 @@ public class ImplSelectRectBasicWta_F32_U8 extends SelectRectBasicWta<float[],Gr
 		}
 	}
 
+	@Override
+	public DisparitySelectConcurrent<float[], GrayU8> concurrentCopy() {
+		return new ImplSelectRectBasicWta_F32_U8();
+	}
+
 	@Override
 	public Class<GrayU8> getDisparityType() {
 		return GrayU8.class;
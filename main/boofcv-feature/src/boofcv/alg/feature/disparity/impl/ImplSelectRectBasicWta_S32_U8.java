@@ -18,6 +18,7 @@
 
 package boofcv.alg.feature.disparity.impl;
 
+import boofcv.alg.feature.disparity.DisparitySelectConcurrent;
 import boofcv.alg.feature.disparity.SelectRectBasicWta;
 import boofcv.struct.image.GrayU8;
 
@@ -33,6 +34,7 @@ import boofcv.struct.image.GrayU8;
  * @author Peter Abeles
  */
 public class ImplSelectRectBasicWta_S32_U8 extends SelectRectBasicWta<int[],GrayU8>
+		implements DisparitySelectConcurrent<int[],GrayU8>
 {
 	@Override
 	public void process(int row, int[] scores) {
@@ -61,6 +63,11 @@ public class ImplSelectRectBasicWta_S32_U8 extends SelectRectBasicWta<int[],Gray
 		}
 	}
 
+	@Override
+	public DisparitySelectConcurrent<int[], GrayU8> concurrentCopy() {
+		return new ImplSelectRectBasicWta_S32_U8();
+	}
+
 	@Override
 	public Class<GrayU8> getDisparityType() {
 		return GrayU8.class;
@@ -18,6 +18,7 @@
 
 package boofcv.alg.feature.disparity.impl;
 
+import boofcv.alg.feature.disparity.DisparitySelectConcurrent;
 import boofcv.struct.image.GrayU8;
 
 /**
@@ -28,6 +29,7 @@ import boofcv.struct.image.GrayU8;
  * @author Peter Abeles
  */
 public class ImplSelectRectStandard_F32_U8 extends ImplSelectRectStandardBase_F32<GrayU8>
+		implements DisparitySelectConcurrent<float[],GrayU8>
 {
 	public ImplSelectRectStandard_F32_U8(int maxError, int rightToLeftTolerance, double texture) {
 		super(maxError, rightToLeftTolerance, texture);
@@ -41,6 +43,13 @@ public class ImplSelectRectStandard_F32_U8 extends ImplSelectRectStandardBase_F3
 			throw new IllegalArgumentException("(max - min) disparity must be <= 254");
 	}
 
+	@Override
+	public DisparitySelectConcurrent<float[], GrayU8> concurrentCopy() {
+		ImplSelectRectStandard_F32_U8 ret = new ImplSelectRectStandard_F32_U8(maxError,rightToLeftTolerance,0);
+		ret.textureThreshold = textureThreshold;
+		return ret;
+	}
+
 	protected void setDisparity( int index , int value ) {
 		imageDisparity.data[index] = (byte)value;
 	}
@@ -18,6 +18,7 @@
 
 package boofcv.alg.feature.disparity.impl;
 
+import boofcv.alg.feature.disparity.DisparitySelectConcurrent;
 import boofcv.struct.image.GrayU8;
 
 /**
@@ -28,6 +29,7 @@ import boofcv.struct.image.GrayU8;
  * @author Peter Abeles
  */
 public class ImplSelectRectStandard_S32_U8 extends ImplSelectRectStandardBase_S32<GrayU8>
+		implements DisparitySelectConcurrent<int[],GrayU8>
 {
 	public ImplSelectRectStandard_S32_U8(int maxError, int rightToLeftTolerance, double texture) {
 		super(maxError, rightToLeftTolerance, texture);
@@ -41,6 +43,13 @@ public class ImplSelectRectStandard_S32_U8 extends ImplSelectRectStandardBase_S3
 			throw new IllegalArgumentException("(max - min) disparity must be <= 254");
 	}
 
+	@Override
+	public DisparitySelectConcurrent<int[], GrayU8> concurrentCopy() {
+		ImplSelectRectStandard_S32_U8 ret = new ImplSelectRectStandard_S32_U8(maxError,rightToLeftTolerance,0);
+		ret.textureThreshold = textureThreshold;
+		return ret;
+	}
+
 	protected void setDisparity( int index , int value ) {
 		imageDisparity.data[index] = (byte)value;
 	}
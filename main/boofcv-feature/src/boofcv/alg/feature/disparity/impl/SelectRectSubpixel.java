@@ -18,6 +18,7 @@
 
 package boofcv.alg.feature.disparity.impl;
 
+import boofcv.alg.feature.disparity.DisparitySelectConcurrent;
 import boofcv.struct.image.GrayF32;
 
 /**
@@ -42,11 +43,20 @@ public class SelectRectSubpixel {
 	/**
 	 * For scores of type int[]
 	 */
-	public static class S32_F32 extends ImplSelectRectStandardBase_S32<GrayF32> {
+	public static class S32_F32 extends ImplSelectRectStandardBase_S32<GrayF32>
+			implements DisparitySelectConcurrent<int[],GrayF32>
+	{
 		public S32_F32(int maxError, int rightToLeftTolerance, double texture) {
 			super(maxError, rightToLeftTolerance, texture);
 		}
 
+		@Override
+		public DisparitySelectConcurrent<int[], GrayF32> concurrentCopy() {
+			S32_F32 ret = new S32_F32(maxError,rightToLeftTolerance,0);
+			ret.textureThreshold = textureThreshold;
+			return ret;
+		}
+
 		@Override
 		protected void setDisparity(int index, int disparityValue) {
 
@@ -72,11 +82,20 @@ public class SelectRectSubpixel {
 	/**
 	 * For scores of type float[]
 	 */
-	public static class F32_F32 extends ImplSelectRectStandardBase_F32<GrayF32> {
+	public static class F32_F32 extends ImplSelectRectStandardBase_F32<GrayF32>
+			implements DisparitySelectConcurrent<float[],GrayF32>
+	{
 		public F32_F32(int maxError, int rightToLeftTolerance, double texture) {
 			super(maxError, rightToLeftTolerance, texture);
 		}
 
+		@Override
+		public DisparitySelectConcurrent<float[], GrayF32> concurrentCopy() {
+			F32_F32 ret = new F32_F32(maxError,rightToLeftTolerance,0);
+			ret.textureThreshold = textureThreshold;
+			return ret;
+		}
+
 		@Override
 		protected void setDisparity(int index, int disparityValue) {
 
@@ -20,6 +20,7 @@ package boofcv.alg.feature.disparity.impl;
 
 import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.GrayS16;
+import boofcv.struct.image.GrayS32;
 import boofcv.struct.image.GrayU8;
 
 /**
@@ -29,6 +30,14 @@ import boofcv.struct.image.GrayU8;
  */
 public class UtilDisparityScore {
 
+	/**
+	 * Floating point vertical scores are computed from scratch every this many rows instead of being updated with
+	 * a running sum.  This limits the accumulation of round off errors and specifies where concurrent
+	 * implementations can split the image up and still produce identical results.  Because the single threaded
+	 * implementations do this too, their scores differ by round off from versions which only used a running sum.
+	 */
+	public static final int FLOAT_RESET_ROWS = 64;
+
 	/**
 	 * Computes disparity score for an entire row.
 	 *
@@ -235,4 +244,128 @@ public class UtilDisparityScore {
 			elementScore[rCol] = Math.abs(diff);
 		}
 	}
+
+	/**
+	 * Computes the Hamming distance between census transformed images for an entire row.  Same as
+	 * {@link #computeScoreRow(GrayU8, GrayU8, int, int[], int, int, int, int[])} but with a different
+	 * per pixel cost.
+	 *
+	 * @param left left census image
+	 * @param right Right census image
+	 * @param row Image row being examined
+	 * @param scores Storage for disparity scores.
+	 * @param minDisparity Minimum disparity to consider
+	 * @param maxDisparity Maximum disparity to consider
+	 * @param regionWidth Size of the sample region's width
+	 * @param elementScore Storage for scores of individual pixels
+	 */
+	public static void computeHammingRow(GrayU8 left, GrayU8 right, int row, int[] scores,
+										 int minDisparity , int maxDisparity , int regionWidth ,
+										 int elementScore[] ) {
+
+		// disparity as the outer loop to maximize common elements in inner loops, reducing redundant calculations
+		for( int d = minDisparity; d < maxDisparity; d++ ) {
+			int dispFromMin = d - minDisparity;
+
+			// number of individual columns the error is computed in
+			final int colMax = left.width-d;
+			// number of regions that a score/error is computed in
+			final int scoreMax = colMax-regionWidth;
+
+			// indexes that data is read to/from for different data structures
+			int indexScore = left.width*dispFromMin + dispFromMin;
+			int indexLeft = left.startIndex + left.stride*row + d;
+			int indexRight = right.startIndex + right.stride*row;
+
+			// Fill elementScore with scores for individual elements for this row at disparity d
+			computeScoreRowHamming(left, right, colMax, indexLeft, indexRight, elementScore);
+
+			// score at the first column
+			int score = 0;
+			for( int i = 0; i < regionWidth; i++ )
+				score += elementScore[i];
+
+			scores[indexScore++] = score;
+
+			// scores for the remaining columns
+			for( int col = 0; col < scoreMax; col++ , indexScore++ ) {
+				scores[indexScore] = score += elementScore[col+regionWidth] - elementScore[col];
+			}
+		}
+	}
+
+	/**
+	 * Hamming distance between each pair of census transformed pixels. Bit counting is
+	 * done by {@link Integer#bitCount(int)} which the JVM replaces with a single instruction on most CPUs.
+	 */
+	public static void computeScoreRowHamming(GrayU8 left, GrayU8 right,
+											  int elementMax, int indexLeft, int indexRight,
+											  int elementScore[])
+	{
+		for( int rCol = 0; rCol < elementMax; rCol++ ) {
+			elementScore[rCol] = Integer.bitCount((left.data[ indexLeft++ ] ^ right.data[ indexRight++ ]) & 0xFF);
+		}
+	}
+
+	/**
+	 * Computes the Hamming distance between census transformed images for an entire row.  Same as
+	 * {@link #computeScoreRow(GrayU8, GrayU8, int, int[], int, int, int, int[])} but with a different
+	 * per pixel cost.
+	 *
+	 * @param left left census image
+	 * @param right Right census image
+	 * @param row Image row being examined
+	 * @param scores Storage for disparity scores.
+	 * @param minDisparity Minimum disparity to consider
+	 * @param maxDisparity Maximum disparity to consider
+	 * @param regionWidth Size of the sample region's width
+	 * @param elementScore Storage for scores of individual pixels
+	 */
+	public static void computeHammingRow(GrayS32 left, GrayS32 right, int row, int[] scores,
+										 int minDisparity , int maxDisparity , int regionWidth ,
+										 int elementScore[] ) {
+
+		// disparity as the outer loop to maximize common elements in inner loops, reducing redundant calculations
+		for( int d = minDisparity; d < maxDisparity; d++ ) {
+			int dispFromMin = d - minDisparity;
+
+			// number of individual columns the error is computed in
+			final int colMax = left.width-d;
+			// number of regions that a score/error is computed in
+			final int scoreMax = colMax-regionWidth;
+
+			// indexes that data is read to/from for different data structures
+			int indexScore = left.width*dispFromMin + dispFromMin;
+			int indexLeft = left.startIndex + left.stride*row + d;
+			int indexRight = right.startIndex + right.stride*row;
+
+			// Fill elementScore with scores for individual elements for this row at disparity d
+			computeScoreRowHamming(left, right, colMax, indexLeft, indexRight, elementScore);
+
+			// score at the first column
+			int score = 0;
+			for( int i = 0; i < regionWidth; i++ )
+				score += elementScore[i];
+
+			scores[indexScore++] = score;
+
+			// scores for the remaining columns
+			for( int col = 0; col < scoreMax; col++ , indexScore++ ) {
+				scores[indexScore] = score += elementScore[col+regionWidth] - elementScore[col];
+			}
+		}
+	}
+
+	/**
+	 * Hamming distance between each pair of census transformed pixels. Bit counting is
+	 * done by {@link Integer#bitCount(int)} which the JVM replaces with a single instruction on most CPUs.
+	 */
+	public static void computeScoreRowHamming(GrayS32 left, GrayS32 right,
+											  int elementMax, int indexLeft, int indexRight,
+											  int elementScore[])
+	{
+		for( int rCol = 0; rCol < elementMax; rCol++ ) {
+			elementScore[rCol] = Integer.bitCount(left.data[ indexLeft++ ] ^ right.data[ indexRight++ ]);
+		}
+	}
 }
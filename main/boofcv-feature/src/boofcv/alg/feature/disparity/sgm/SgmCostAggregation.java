@@ -0,0 +1,266 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.disparity.sgm;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntBlockConsumer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Aggregates the matching cost along multiple 1D paths which pass through each pixel, as is done in semi-global
+ * matching (SGM) [1].  The cost along path r at pixel p is computed using the following recursive formula:
+ * </p>
+ * <pre>
+ * L(p,d) = C(p,d) + min( L(p-r,d) , L(p-r,d-1) + P1 , L(p-r,d+1) + P1 , min<sub>i</sub> L(p-r,i) + P2 ) - min<sub>k</sub> L(p-r,k)
+ * </pre>
+ * <p>
+ * where C is the data term, P1 is the penalty for a disparity change of one and P2 the penalty for larger
+ * changes.  The aggregated cost is the sum of L for all the paths.  Either 4 paths (horizontal and vertical)
+ * or 8 paths (which includes the diagonals) can be used.
+ * </p>
+ *
+ * <p>
+ * Paths going in the same direction are independent of each other and are processed by different threads when
+ * concurrency is enabled.  Each path writes to a different set of pixels and the result is identical to
+ * the single threaded implementation.
+ * </p>
+ *
+ * <p>
+ * Cost volumes are ordered as [y][x][d].  The data term must be &le; {@link SgmCostFromBlocks#MAX_COST} and P2
+ * &le; {@link #MAX_PENALTY} so that the aggregated cost can't overflow a short.
+ * </p>
+ *
+ * <p>
+ * [1] Hirschmuller, Heiko. "Stereo processing by semiglobal matching and mutual information."
+ * IEEE Transactions on pattern analysis and machine intelligence 30.2 (2008): 328-341.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class SgmCostAggregation {
+
+	/**
+	 * Largest allowed value for the penalty P2
+	 */
+	public static final int MAX_PENALTY = 2048;
+
+	// Direction of each path. The first 4 are horizontal and vertical, the next 4 are diagonal
+	private static final int[] PATHS_X = new int[]{1,-1,0, 0,1,-1, 1,-1};
+	private static final int[] PATHS_Y = new int[]{0, 0,1,-1,1,-1,-1, 1};
+
+	// penalty for a change in disparity of one
+	int penalty1;
+	// penalty for a change in disparity larger than one
+	int penalty2;
+	// number of paths which are considered. 4 or 8
+	int numPaths;
+
+	// if true it will process paths in parallel
+	boolean concurrent;
+
+	// sum of cost along all paths
+	short[] aggregated = new short[0];
+
+	// description of the cost volume being processed
+	short[] cost;
+	int width, height, rangeDisparity;
+
+	// storage for each block of paths
+	final List<BlockStorage> storage = new ArrayList<>();
+
+	/**
+	 * Configures the aggregation
+	 *
+	 * @param penalty1 Penalty for a change in disparity of one. Try 200.
+	 * @param penalty2 Penalty for a change in disparity larger than one. Try 2000.
+	 * @param numPaths Number of paths. Must be 4 or 8.
+	 * @param concurrent If true then paths are processed using multiple threads
+	 */
+	public SgmCostAggregation(int penalty1, int penalty2, int numPaths, boolean concurrent ) {
+		if( numPaths != 4 && numPaths != 8 )
+			throw new IllegalArgumentException("Number of paths must be 4 or 8");
+		if( penalty1 < 0 || penalty2 < penalty1 || penalty2 > MAX_PENALTY )
+			throw new IllegalArgumentException("Penalties must satisfy 0 <= P1 <= P2 <= "+MAX_PENALTY);
+
+		this.penalty1 = penalty1;
+		this.penalty2 = penalty2;
+		this.numPaths = numPaths;
+		this.concurrent = concurrent;
+	}
+
+	/**
+	 * Aggregates the cost along all the paths.
+	 *
+	 * @param cost Cost volume for the data term. Ordered as [y][x][d]. Not modified.
+	 * @param width Width of the cost volume
+	 * @param height Height of the cost volume
+	 * @param rangeDisparity Number of disparity values for each pixel
+	 */
+	public void process( short[] cost , int width , int height , int rangeDisparity ) {
+		this.cost = cost;
+		this.width = width;
+		this.height = height;
+		this.rangeDisparity = rangeDisparity;
+
+		int length = width*height*rangeDisparity;
+		if( aggregated.length < length )
+			aggregated = new short[length];
+		else {
+			for( int i = 0; i < length; i++ ) {
+				aggregated[i] = 0;
+			}
+		}
+
+		for( int path = 0; path < numPaths; path++ ) {
+			final int dx = PATHS_X[path];
+			final int dy = PATHS_Y[path];
+
+			final int numStarts = numberOfPaths(dx,dy);
+			int numBlocks = concurrent && BoofConcurrency.useConcurrent(width*height*rangeDisparity) ?
+					BoofConcurrency.computeNumberOfBlocks(numStarts,1) : 1;
+
+			while( storage.size() < numBlocks ) {
+				storage.add( new BlockStorage());
+			}
+
+			BoofConcurrency.loopBlocksIndexed(0, numStarts, numBlocks, new IntBlockConsumer() {
+				@Override
+				public void accept(int block, int index0, int index1) {
+					BlockStorage s = storage.get(block);
+					s.declare(SgmCostAggregation.this.rangeDisparity);
+					for( int i = index0; i < index1; i++ ) {
+						scorePath(s, i, dx, dy);
+					}
+				}
+			});
+		}
+	}
+
+	/**
+	 * Number of paths in the specified direction. One path starts at each pixel along the image border
+	 * which the direction points away from.
+	 */
+	int numberOfPaths( int dx , int dy ) {
+		if( dy == 0 )
+			return height;
+		else if( dx == 0 )
+			return width;
+		else
+			return width + height - 1;
+	}
+
+	/**
+	 * Computes the cost along a single path and adds it to the aggregated cost.
+	 *
+	 * @param index Which path in the specified direction
+	 */
+	void scorePath( BlockStorage s , int index , int dx , int dy ) {
+		// find the first pixel along the path
+		int x,y;
+		if( dy == 0 ) {
+			x = dx > 0 ? 0 : width-1;
+			y = index;
+		} else if( index < width ) {
+			x = index;
+			y = dy > 0 ? 0 : height-1;
+		} else {
+			x = dx > 0 ? 0 : width-1;
+			y = dy > 0 ? index-width+1 : height-2-(index-width);
+		}
+
+		final int P1 = penalty1;
+		final int P2 = penalty2;
+		final int lastD = rangeDisparity-1;
+		int[] previous = s.previous;
+		int[] current = s.current;
+
+		// The first pixel has nothing to be compared against
+		int indexCost = (y*width + x)*rangeDisparity;
+		int minPrevious = Integer.MAX_VALUE;
+		for( int d = 0; d < rangeDisparity; d++ ) {
+			int c = cost[indexCost+d];
+			previous[d] = c;
+			aggregated[indexCost+d] += c;
+			if( c < minPrevious )
+				minPrevious = c;
+		}
+
+		x += dx; y += dy;
+		while( x >= 0 && x < width && y >= 0 && y < height ) {
+			indexCost = (y*width + x)*rangeDisparity;
+			final int largeChange = minPrevious + P2;
+			int minCurrent = Integer.MAX_VALUE;
+
+			for( int d = 0; d < rangeDisparity; d++ ) {
+				int best = previous[d];
+				if( d > 0 && previous[d-1] + P1 < best )
+					best = previous[d-1] + P1;
+				if( d < lastD && previous[d+1] + P1 < best )
+					best = previous[d+1] + P1;
+				if( largeChange < best )
+					best = largeChange;
+
+				int l = cost[indexCost+d] + best - minPrevious;
+				current[d] = l;
+				aggregated[indexCost+d] += l;
+				if( l < minCurrent )
+					minCurrent = l;
+			}
+
+			int[] tmp = previous;
+			previous = current;
+			current = tmp;
+			minPrevious = minCurrent;
+
+			x += dx; y += dy;
+		}
+	}
+
+	/**
+	 * Sum of the cost along all paths. Ordered as [y][x][d]
+	 */
+	public short[] getAggregated() {
+		return aggregated;
+	}
+
+	public int getNumPaths() {
+		return numPaths;
+	}
+
+	public boolean isConcurrent() {
+		return concurrent;
+	}
+
+	private static class BlockStorage {
+		// cost along the path at the previous and current pixel
+		int[] previous = new int[0];
+		int[] current = new int[0];
+
+		public void declare( int rangeDisparity ) {
+			if( previous.length < rangeDisparity ) {
+				previous = new int[rangeDisparity];
+				current = new int[rangeDisparity];
+			}
+		}
+	}
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.disparity.sgm;
+
+import boofcv.alg.feature.disparity.DisparitySelectConcurrent;
+import boofcv.struct.image.ImageGray;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Captures the block matching scores computed by a {@link boofcv.alg.feature.disparity.DisparityScoreRowFormat}
+ * and stores them inside a cost volume which is used as the data term in semi-global matching.  Instead of
+ * selecting a disparity it normalizes each score into the range 0 to {@link #MAX_COST}, allowing the existing
+ * SAD and census block matching algorithms, including their concurrent implementations, to be used without
+ * modification.
+ * </p>
+ *
+ * <p>
+ * The cost volume contains a consecutive range of image rows and is ordered as [y][x][d], where d is the
+ * disparity minus minDisparity.  Pixels and disparities which can't be computed are assigned {@link #MAX_COST}.
+ * Concurrent copies all write into the same cost volume, which is safe since each row is processed only once.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public abstract class SgmCostFromBlocks<Array, DI extends ImageGray<DI>>
+		implements DisparitySelectConcurrent<Array,DI>
+{
+	/**
+	 * The largest cost a single pixel and disparity can have.  Limited so that the sum of the aggregated cost
+	 * along all the paths can be stored inside a short.
+	 */
+	public static final int MAX_COST = 2047;
+
+	// The instance which owns the cost volume.  Concurrent copies reference the original
+	protected SgmCostFromBlocks<Array,DI> owner;
+
+	// cost volume for the rows currently being processed
+	protected short[] cost = new short[0];
+	// shape of the cost volume
+	protected int volumeWidth, volumeHeight;
+	// subtracted from the row index passed in to find the row in the cost volume
+	protected int rowOffset;
+
+	// block score which corresponds to MAX_COST
+	protected double maxBlockError;
+	// scale factor from block score to cost
+	protected float scale;
+
+	protected Class<DI> disparityType;
+
+	// minimum and maximum disparity that will be checked
+	protected int minDisparity;
+	protected int maxDisparity;
+	protected int rangeDisparity;
+	// radius and width of the region being compared
+	protected int radiusX;
+	protected int regionWidth;
+
+	/**
+	 * @param maxBlockError The largest possible score for a block, e.g. region area times 255 for SAD.
+	 * @param disparityType Type of disparity image that the block matching algorithm is passed.
+	 */
+	protected SgmCostFromBlocks( double maxBlockError , Class<DI> disparityType ) {
+		this.owner = this;
+		this.maxBlockError = maxBlockError;
+		this.scale = (float)(MAX_COST/maxBlockError);
+		this.disparityType = disparityType;
+	}
+
+	/**
+	 * Declares the cost volume for the next set of rows and marks all of its elements as unknown.
+	 *
+	 * @param width Width of the image
+	 * @param rows Number of rows in the cost volume
+	 * @param rangeDisparity Number of disparity values
+	 * @param rowOffset Row passed in to {@link #process} which is the first row in the cost volume
+	 */
+	public void setup( int width , int rows , int rangeDisparity , int rowOffset ) {
+		int length = width*rows*rangeDisparity;
+		if( cost.length < length )
+			cost = new short[length];
+		Arrays.fill(cost,0,length,(short)MAX_COST);
+
+		this.volumeWidth = width;
+		this.volumeHeight = rows;
+		this.rowOffset = rowOffset;
+	}
+
+	@Override
+	public void configure(DI imageDisparity, int minDisparity, int maxDisparity, int radiusX) {
+		this.minDisparity = minDisparity;
+		this.maxDisparity = maxDisparity;
+		this.radiusX = radiusX;
+
+		rangeDisparity = maxDisparity-minDisparity;
+		regionWidth = radiusX*2+1;
+	}
+
+	@Override
+	public void process(int row, Array scores) {
+		int y = row - owner.rowOffset;
+		if( y < 0 || y >= owner.volumeHeight )
+			return;
+
+		final int width = owner.volumeWidth;
+		final short[] cost = owner.cost;
+
+		for( int col = minDisparity; col <= width-regionWidth; col++ ) {
+			// make sure the disparity search doesn't go outside the image border
+			int localMax = 1+col-minDisparity-Math.max(0,col-maxDisparity+1);
+
+			int indexCost = ((y*width) + col + radiusX)*rangeDisparity;
+			copyColumn(scores, col - minDisparity, width, localMax, cost, indexCost);
+		}
+	}
+
+	/**
+	 * Converts the scores for a single column into costs
+	 *
+	 * @param indexScore Index of the score for the first disparity
+	 * @param stride Offset between scores of adjacent disparities
+	 */
+	protected abstract void copyColumn( Array scores , int indexScore , int stride , int localMax ,
+										short[] cost , int indexCost );
+
+	/**
+	 * Returns a copy which writes into the same cost volume as this instance
+	 */
+	protected abstract SgmCostFromBlocks<Array,DI> createCopy();
+
+	@Override
+	public DisparitySelectConcurrent<Array, DI> concurrentCopy() {
+		SgmCostFromBlocks<Array,DI> copy = createCopy();
+		copy.owner = owner;
+		return copy;
+	}
+
+	/**
+	 * Cost volume for the rows specified in the last call to {@link #setup}.
+	 */
+	public short[] getCost() {
+		return cost;
+	}
+
+	public double getMaxBlockError() {
+		return maxBlockError;
+	}
+
+	@Override
+	public Class<DI> getDisparityType() {
+		return disparityType;
+	}
+
+	/**
+	 * For scores of type int[]
+	 */
+	public static class S32<DI extends ImageGray<DI>> extends SgmCostFromBlocks<int[],DI> {
+		public S32(double maxBlockError, Class<DI> disparityType) {
+			super(maxBlockError, disparityType);
+		}
+
+		@Override
+		protected void copyColumn(int[] scores, int indexScore, int stride, int localMax,
+								  short[] cost, int indexCost) {
+			for( int i = 0; i < localMax; i++ , indexScore += stride ) {
+				int c = (int)(scores[indexScore]*scale);
+				cost[indexCost+i] = (short)(c > MAX_COST ? MAX_COST : c);
+			}
+		}
+
+		@Override
+		protected SgmCostFromBlocks<int[], DI> createCopy() {
+			return new S32<>(maxBlockError,disparityType);
+		}
+	}
+
+	/**
+	 * For scores of type float[]
+	 */
+	public static class F32<DI extends ImageGray<DI>> extends SgmCostFromBlocks<float[],DI> {
+		public F32(double maxBlockError, Class<DI> disparityType) {
+			super(maxBlockError, disparityType);
+		}
+
+		@Override
+		protected void copyColumn(float[] scores, int indexScore, int stride, int localMax,
+								  short[] cost, int indexCost) {
+			for( int i = 0; i < localMax; i++ , indexScore += stride ) {
+				int c = (int)(scores[indexScore]*scale);
+				cost[indexCost+i] = (short)(c > MAX_COST ? MAX_COST : c);
+			}
+		}
+
+		@Override
+		protected SgmCostFromBlocks<float[], DI> createCopy() {
+			return new F32<>(maxBlockError,disparityType);
+		}
+	}
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.disparity.sgm;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntBlockConsumer;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageGray;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Selects the disparity with the smallest aggregated cost, i.e. winner takes all (WTA), from the output of
+ * {@link SgmCostAggregation}.  The same validation filters as {@link boofcv.alg.feature.disparity.SelectRectStandard}
+ * are available and sub-pixel accuracy can be found by fitting a parabola to the costs around the best disparity.
+ * </p>
+ *
+ * <p>
+ * <b>right To Left</b> validates the disparity by seeing if the matched pixel on the right has the same pixel on
+ * the left as its optimal solution, within tolerance.  Disable with a value &lt; 0.<br>
+ * <b>texture</b> Reject if textureTol &le; (C2-C1)/C1, where C2 = second best cost and C1 = best cost.
+ * Disable with a value &le; 0.
+ * </p>
+ *
+ * <p>
+ * Invalid pixels are assigned a value of (maxDisparity - minDisparity) + 1.  The output image is either
+ * {@link GrayU8} or {@link GrayF32} when sub-pixel is used.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class SgmDisparitySelector {
+	// minimum and maximum disparity that will be checked
+	int minDisparity;
+	int maxDisparity;
+	int rangeDisparity;
+	int invalidDisparity;
+
+	// tolerance for right to left validation. if < 0 then it's disabled
+	int rightToLeftTolerance;
+	// texture threshold, use an integer value for speed.
+	int textureThreshold;
+	static final int discretizer = 10000;
+
+	// if true it will process rows in parallel
+	boolean concurrent;
+
+	// input cost volume
+	short[] aggregated;
+	int width;
+
+	// storage for each block of rows
+	final List<BlockStorage> storage = new ArrayList<>();
+
+	/**
+	 * @param minDisparity Minimum disparity that it will check.
+	 * @param maxDisparity Maximum disparity that it will calculate.
+	 * @param rightToLeftTolerance Tolerance for how difference the left to right associated values can be.  Try 1
+	 * @param texture Tolerance for how similar optimal disparity is to other disparities.  Disable with a
+	 *                value &le; 0. Try 0.05
+	 * @param concurrent If true then rows are processed in parallel
+	 */
+	public SgmDisparitySelector(int minDisparity, int maxDisparity,
+								int rightToLeftTolerance, double texture, boolean concurrent) {
+		this.minDisparity = minDisparity;
+		this.maxDisparity = maxDisparity;
+		this.rangeDisparity = maxDisparity-minDisparity;
+		this.invalidDisparity = rangeDisparity+1;
+		this.rightToLeftTolerance = rightToLeftTolerance;
+		this.textureThreshold = (int)(discretizer*texture);
+		this.concurrent = concurrent;
+	}
+
+	/**
+	 * Selects the disparity for a range of rows
+	 *
+	 * @param aggregated Aggregated cost. Ordered as [y][x][d]
+	 * @param width Width of the cost volume and the image
+	 * @param volumeRow0 Row in the cost volume which corresponds to imageRow0
+	 * @param imageRow0 First row in the disparity image, inclusive
+	 * @param imageRow1 Last row in the disparity image, exclusive
+	 * @param borderX Number of pixels along the left and right image border which are invalid
+	 * @param disparity (Output) Disparity image. {@link GrayU8} or {@link GrayF32}
+	 */
+	public void select( short[] aggregated , int width ,
+						final int volumeRow0 , final int imageRow0 , int imageRow1 ,
+						final int borderX, final ImageGray disparity ) {
+		this.aggregated = aggregated;
+		this.width = width;
+
+		int numBlocks = concurrent && BoofConcurrency.useConcurrent((imageRow1-imageRow0)*width) ?
+				BoofConcurrency.computeNumberOfBlocks(imageRow1-imageRow0,1) : 1;
+
+		while( storage.size() < numBlocks ) {
+			storage.add( new BlockStorage());
+		}
+
+		BoofConcurrency.loopBlocksIndexed(imageRow0, imageRow1, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept(int block, int row0, int row1) {
+				BlockStorage s = storage.get(block);
+				s.declare(SgmDisparitySelector.this.width);
+				for( int row = row0; row < row1; row++ ) {
+					selectRow(s, volumeRow0 + row - imageRow0, row, borderX, disparity);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Selects the disparity for every pixel in a single row
+	 */
+	void selectRow( BlockStorage s , int volumeRow , int imageRow , int borderX , ImageGray disparity ) {
+		final int indexRow = volumeRow*width*rangeDisparity;
+		final int col0 = borderX + minDisparity;
+		final int col1 = width - borderX;
+
+		if( rightToLeftTolerance >= 0 )
+			selectRightToLeft(s.bestRight, indexRow, col0, col1);
+
+		int indexOut = disparity.startIndex + imageRow*disparity.stride;
+		for( int x = 0; x < width; x++ , indexOut++ ) {
+			if( x < col0 || x >= col1 ) {
+				setDisparity(disparity,indexOut,invalidDisparity,0);
+				continue;
+			}
+			int localMax = localMax(x,borderX);
+			int indexCost = indexRow + x*rangeDisparity;
+
+			// select the best disparity
+			int bestDisparity = 0;
+			int scoreBest = aggregated[indexCost];
+			for( int i = 1; i < localMax; i++ ) {
+				int c = aggregated[indexCost+i];
+				if( c < scoreBest ) {
+					scoreBest = c;
+					bestDisparity = i;
+				}
+			}
+
+			// if the associate is different going the other direction it is probably noise
+			if( rightToLeftTolerance >= 0 ) {
+				int disparityRtoL = s.bestRight[x-minDisparity-bestDisparity];
+				if( Math.abs(disparityRtoL-bestDisparity) > rightToLeftTolerance ) {
+					setDisparity(disparity,indexOut,invalidDisparity,0);
+					continue;
+				}
+			}
+
+			// test to see if the pixel lacks sufficient texture
+			if( textureThreshold > 0 && localMax >= 3 ) {
+				// find the second best disparity value and exclude its neighbors
+				int secondBest = Integer.MAX_VALUE;
+				for( int i = 0; i < bestDisparity-1; i++ ) {
+					if( aggregated[indexCost+i] < secondBest )
+						secondBest = aggregated[indexCost+i];
+				}
+				for( int i = bestDisparity+2; i < localMax; i++ ) {
+					if( aggregated[indexCost+i] < secondBest )
+						secondBest = aggregated[indexCost+i];
+				}
+
+				// C = (C2-C1)/C1
+				if( discretizer*(secondBest-scoreBest) <= textureThreshold*scoreBest ) {
+					setDisparity(disparity,indexOut,invalidDisparity,0);
+					continue;
+				}
+			}
+
+			float offset = 0;
+			if( bestDisparity > 0 && bestDisparity < localMax-1 ) {
+				int c0 = aggregated[indexCost+bestDisparity-1];
+				int c2 = aggregated[indexCost+bestDisparity+1];
+				int denominator = 2*(c0-2*scoreBest+c2);
+				if( denominator > 0 )
+					offset = (float)(c0-c2)/(float)denominator;
+			}
+
+			setDisparity(disparity,indexOut,bestDisparity,offset);
+		}
+	}
+
+	/**
+	 * For every pixel in the right image, find the disparity with the lowest cost.  The cost of a pixel in the
+	 * right image is looked up from the pixel in the left image that it would be matched against.
+	 */
+	void selectRightToLeft( int[] bestRight , int indexRow , int col0 , int col1 ) {
+		for( int xr = col0-minDisparity; xr < col1-minDisparity; xr++ ) {
+			int bestDisparity = 0;
+			int scoreBest = Integer.MAX_VALUE;
+
+			// the left pixel must be inside the image and the disparity inside the search range
+			int localMax = Math.min(rangeDisparity, col1-minDisparity-xr);
+			for( int i = 0; i < localMax; i++ ) {
+				int c = aggregated[indexRow + (xr+minDisparity+i)*rangeDisparity + i];
+				if( c < scoreBest ) {
+					scoreBest = c;
+					bestDisparity = i;
+				}
+			}
+			bestRight[xr] = bestDisparity;
+		}
+	}
+
+	/**
+	 * Number of disparities which can be considered at a pixel without going outside the right image
+	 */
+	int localMax( int x , int borderX ) {
+		return Math.min(rangeDisparity, x-borderX-minDisparity+1);
+	}
+
+	void setDisparity( ImageGray disparity , int index , int value , float offset ) {
+		if( disparity instanceof GrayU8 ) {
+			((GrayU8)disparity).data[index] = (byte)value;
+		} else {
+			((GrayF32)disparity).data[index] = value + offset;
+		}
+	}
+
+	public int getMinDisparity() {
+		return minDisparity;
+	}
+
+	public int getMaxDisparity() {
+		return maxDisparity;
+	}
+
+	public boolean isConcurrent() {
+		return concurrent;
+	}
+
+	private static class BlockStorage {
+		// best disparity for each pixel in the right image
+		int[] bestRight = new int[0];
+
+		public void declare( int width ) {
+			if( bestRight.length < width )
+				bestRight = new int[width];
+		}
+	}
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.disparity.sgm;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.alg.feature.disparity.DisparityScoreRowFormat;
+import boofcv.struct.image.ImageGray;
+
+/**
+ * <p>
+ * Dense stereo disparity using semi-global matching (SGM) [1].  The data term is computed using block matching,
+ * e.g. SAD or census, by a {@link DisparityScoreRowFormat} whose scores are captured by {@link SgmCostFromBlocks}.
+ * The cost is then aggregated along 4 or 8 paths by {@link SgmCostAggregation} and the disparity is selected
+ * using {@link SgmDisparitySelector}.
+ * </p>
+ *
+ * <p>
+ * The cost volume and aggregated cost each require width*height*(maxDisparity-minDisparity) shorts.  To bound
+ * memory the image can be processed in horizontal strips.  Each strip is expanded by an overlap above and below
+ * it, which is only used to aggregate the cost.  Paths which are not horizontal are truncated at the border of the
+ * expanded strip, so this is an approximation of SGM which improves as the overlap is increased.  If the strip
+ * height is &le; 0 then the entire image is processed at once and the result is exact.  The data term is
+ * always exact since extra rows are passed to the block matching algorithm.
+ * </p>
+ *
+ * <p>
+ * [1] Hirschmuller, Heiko. "Stereo processing by semiglobal matching and mutual information."
+ * IEEE Transactions on pattern analysis and machine intelligence 30.2 (2008): 328-341.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class SgmStereoDisparity<T extends ImageGray<T>, DI extends ImageGray<DI>> {
+
+	// Computes the block matching score
+	DisparityScoreRowFormat<T,DI> score;
+	// Converts block matching scores into the cost volume. Must be what score was created with
+	SgmCostFromBlocks<?,DI> cost;
+	// aggregates the cost along paths
+	SgmCostAggregation aggregation;
+	// selects the best disparity
+	SgmDisparitySelector selector;
+
+	// number of rows in a strip. if <= 0 then the entire image is processed at once
+	int stripHeight;
+	// number of rows above and below a strip which are used to aggregate the cost
+	int stripOverlap;
+	// number of rows above and below the expanded strip which the block matching needs
+	int scoreMargin;
+
+	// sub-images for the rows in an expanded strip
+	T subLeft, subRight;
+	DI subDisparity;
+
+	/**
+	 * Specifies the algorithms used at each step
+	 *
+	 * @param score Block matching algorithm. Must be configured to use 'cost'.
+	 * @param cost Converts block matching scores into the cost volume.
+	 * @param aggregation Aggregates the cost
+	 * @param selector Selects the best disparity
+	 * @param stripHeight Number of rows processed at once. If &le; 0 then the entire image.
+	 * @param stripOverlap Number of rows above and below a strip which are used when aggregating the cost.
+	 */
+	public SgmStereoDisparity(DisparityScoreRowFormat<T, DI> score, SgmCostFromBlocks<?, DI> cost,
+							  SgmCostAggregation aggregation, SgmDisparitySelector selector,
+							  int stripHeight, int stripOverlap ) {
+		if( stripOverlap < 0 )
+			throw new IllegalArgumentException("Strip overlap must be >= 0");
+		this.score = score;
+		this.cost = cost;
+		this.aggregation = aggregation;
+		this.selector = selector;
+		this.stripHeight = stripHeight;
+		this.stripOverlap = stripOverlap;
+
+		// This is large enough for all the block matching algorithms, including the extended border used by census
+		this.scoreMargin = 2*score.getBorderY()+2;
+	}
+
+	/**
+	 * Computes the disparity between two rectified images
+	 *
+	 * @param left Left rectified stereo image. Input
+	 * @param right Right rectified stereo image. Input
+	 * @param disparity Disparity between the two images. Output
+	 */
+	public void process( T left , T right , DI disparity ) {
+		InputSanityCheck.checkSameShape(left, right, disparity);
+
+		final int width = left.width;
+		final int height = left.height;
+		final int rangeDisparity = score.getMaxDisparity()-score.getMinDisparity();
+		final int borderY = score.getBorderY();
+		final int step = stripHeight <= 0 ? height : stripHeight;
+
+		for( int row0 = 0; row0 < height; row0 += step ) {
+			int row1 = Math.min(height, row0 + step);
+
+			// rows which the cost is aggregated over
+			int aggregate0 = Math.max(0, row0 - stripOverlap);
+			int aggregate1 = Math.min(height, row1 + stripOverlap);
+
+			// rows which the block matching is computed over
+			int score0 = Math.max(0, aggregate0 - scoreMargin);
+			int score1 = Math.min(height, aggregate1 + scoreMargin);
+
+			cost.setup(width, aggregate1-aggregate0, rangeDisparity, aggregate0-score0);
+			subLeft = left.subimage(0, score0, width, score1, subLeft);
+			subRight = right.subimage(0, score0, width, score1, subRight);
+			subDisparity = disparity.subimage(0, score0, width, score1, subDisparity);
+			score.process(subLeft, subRight, subDisparity);
+
+			aggregation.process(cost.getCost(), width, aggregate1-aggregate0, rangeDisparity);
+
+			// rows along the image border don't have a valid data term
+			int select0 = Math.max(row0, borderY);
+			int select1 = Math.min(row1, height-borderY);
+			markRowsInvalid(disparity, row0, select0);
+			markRowsInvalid(disparity, Math.max(select0,select1), row1);
+			if( select0 < select1 ) {
+				selector.select(aggregation.getAggregated(), width, select0-aggregate0, select0, select1,
+						score.getBorderX(), disparity);
+			}
+		}
+	}
+
+	private void markRowsInvalid( DI disparity , int row0 , int row1 ) {
+		if( row0 >= row1 )
+			return;
+		int invalid = score.getMaxDisparity()-score.getMinDisparity()+1;
+		for( int y = row0; y < row1; y++ ) {
+			for( int x = 0; x < disparity.width; x++ ) {
+				selector.setDisparity(disparity, disparity.getIndex(x,y), invalid, 0);
+			}
+		}
+	}
+
+	public int getMinDisparity() {
+		return score.getMinDisparity();
+	}
+
+	public int getMaxDisparity() {
+		return score.getMaxDisparity();
+	}
+
+	public int getBorderX() {
+		return score.getBorderX();
+	}
+
+	public int getBorderY() {
+		return score.getBorderY();
+	}
+
+	public Class<T> getInputType() {
+		return score.getInputType();
+	}
+
+	public Class<DI> getDisparityType() {
+		return score.getDisparityType();
+	}
+
+	public DisparityScoreRowFormat<T, DI> getScore() {
+		return score;
+	}
+
+	public SgmCostFromBlocks<?, DI> getCost() {
+		return cost;
+	}
+
+	public SgmCostAggregation getAggregation() {
+		return aggregation;
+	}
+
+	public SgmDisparitySelector getSelector() {
+		return selector;
+	}
+
+	public int getStripHeight() {
+		return stripHeight;
+	}
+
+	public void setStripHeight(int stripHeight) {
+		this.stripHeight = stripHeight;
+	}
+
+	public int getStripOverlap() {
+		return stripOverlap;
+	}
+
+	public void setStripOverlap(int stripOverlap) {
+		this.stripOverlap = stripOverlap;
+	}
+}
@@ -242,7 +242,6 @@ public class BroxWarpingSpacial<T extends ImageGray<T>> extends DenseFlowPyramid
 								GrayF32 deriv2XX , GrayF32 deriv2YY, GrayF32 deriv2XY) {
 
 		int N = image1.width*image1.height;
-		int stride = image1.stride;
 
 		// outer Taylor expansion iterations
 		for( int indexOuter = 0; indexOuter < numOuter; indexOuter++ ) {
@@ -280,35 +279,7 @@ public class BroxWarpingSpacial<T extends ImageGray<T>> extends DenseFlowPyramid
 
 				do {
 					// inner SOR iteration.
-					error = 0;
-
-					// inner portion
-					for (int y = 1; y < image1.height - 1; y++) {
-						int i = y * image1.width + 1;
-						for (int x = 1; x < image1.width - 1; x++, i++) {
-							error += iterationSor(image1, deriv1X, deriv1Y, i, i + 1, i - 1, i + stride, i - stride);
-						}
-					}
-
-					// border regions require special treatment
-					int y0 = 0;
-					int y1 = image1.height-1;
-					for (int x = 0; x < image1.width; x++ ) {
-						error += iterationSor(image1, deriv1X, deriv1Y,
-								s(x, y0), s(x + 1, y0), s(x - 1, y0), s(x, y0 - 1), s(x, y0 + 1));
-
-						error += iterationSor(image1, deriv1X, deriv1Y,
-								s(x, y1), s(x + 1, y1), s(x - 1, y1), s(x, y1 - 1), s(x, y1 + 1));
-					}
-
-					int x0 = 0;
-					int x1 = image1.width-1;
-					for (int y = 1; y < image1.height - 1; y++) {
-						error += iterationSor(image1, deriv1X, deriv1Y,
-								s(x0, y), s(x0 - 1, y), s(x0 + 1, y), s(x0, y - 1), s(x0, y + 1));
-						error += iterationSor(image1, deriv1X, deriv1Y,
-								s(x1, y), s(x1 - 1, y), s(x1 + 1, y), s(x1, y - 1), s(x1, y + 1));
-					}
+					error = iterationSor(image1, deriv1X, deriv1Y);
 				} while (error > convergeTolerance * image1.width * image1.height && ++iter < maxIterationsSor);
 			}
 
@@ -318,6 +289,91 @@ public class BroxWarpingSpacial<T extends ImageGray<T>> extends DenseFlowPyramid
 		}
 	}
 
+	/**
+	 * Performs a single SOR iteration across the whole image.  Pixels are updated in row-major order.
+	 *
+	 * @return Sum of the squared change in flow
+	 */
+	protected float iterationSor(GrayF32 image1, GrayF32 deriv1X, GrayF32 deriv1Y) {
+		int stride = image1.stride;
+		float error = 0;
+
+		// inner portion
+		for (int y = 1; y < image1.height - 1; y++) {
+			int i = y * image1.width + 1;
+			for (int x = 1; x < image1.width - 1; x++, i++) {
+				error += iterationSor(image1, deriv1X, deriv1Y, i, i + 1, i - 1, i + stride, i - stride);
+			}
+		}
+
+		// border regions require special treatment
+		int y0 = 0;
+		int y1 = image1.height-1;
+		for (int x = 0; x < image1.width; x++ ) {
+			error += iterationSor(image1, deriv1X, deriv1Y,
+					s(x, y0), s(x + 1, y0), s(x - 1, y0), s(x, y0 - 1), s(x, y0 + 1));
+
+			error += iterationSor(image1, deriv1X, deriv1Y,
+					s(x, y1), s(x + 1, y1), s(x - 1, y1), s(x, y1 - 1), s(x, y1 + 1));
+		}
+
+		int x0 = 0;
+		int x1 = image1.width-1;
+		for (int y = 1; y < image1.height - 1; y++) {
+			error += iterationSor(image1, deriv1X, deriv1Y,
+					s(x0, y), s(x0 - 1, y), s(x0 + 1, y), s(x0, y - 1), s(x0, y + 1));
+			error += iterationSor(image1, deriv1X, deriv1Y,
+					s(x1, y), s(x1 - 1, y), s(x1 + 1, y), s(x1, y - 1), s(x1, y + 1));
+		}
+
+		return error;
+	}
+
+	/**
+	 * <p>
+	 * SOR iteration for a single color in a red-black ordering of the pixels.  Only pixels in rows y0 to y1,
+	 * exclusive, with (x+y)%2 == color are updated.  Each pixel depends on its 4-connect neighbors, which always
+	 * have a different color, so pixels of the same color can be updated in any order and produce the same result.
+	 * </p>
+	 *
+	 * @param color Which color, 0 or 1
+	 * @param y0 First row, inclusive
+	 * @param y1 Last row, exclusive
+	 * @param rowError (Output) The squared change in flow is added to the element for each row
+	 */
+	protected void iterationSorColor(GrayF32 image1, GrayF32 deriv1X, GrayF32 deriv1Y,
+									 int color , int y0 , int y1 , float[] rowError ) {
+		int stride = image1.stride;
+		int endX = image1.width-1;
+
+		for( int y = y0; y < y1; y++ ) {
+			float error = 0;
+			int x0 = (y+color)%2;
+
+			if( y == 0 || y == image1.height-1 ) {
+				for( int x = x0; x < image1.width; x += 2 ) {
+					error += iterationSor(image1, deriv1X, deriv1Y,
+							s(x, y), s(x + 1, y), s(x - 1, y), s(x, y + 1), s(x, y - 1));
+				}
+			} else {
+				if( x0 == 0 )
+					error += iterationSor(image1, deriv1X, deriv1Y,
+							s(0, y), s(1, y), s(-1, y), s(0, y + 1), s(0, y - 1));
+
+				for (int x = x0 == 0 ? 2 : 1; x < endX; x += 2 ) {
+					int i = y * image1.width + x;
+					error += iterationSor(image1, deriv1X, deriv1Y, i, i + 1, i - 1, i + stride, i - stride);
+				}
+
+				if( endX > 0 && endX%2 == x0 )
+					error += iterationSor(image1, deriv1X, deriv1Y,
+							s(endX, y), s(endX + 1, y), s(endX - 1, y), s(endX, y + 1), s(endX, y - 1));
+			}
+
+			rowError[y] += error;
+		}
+	}
+
 	/**
 	 * Inner SOR iteration step
 	 *
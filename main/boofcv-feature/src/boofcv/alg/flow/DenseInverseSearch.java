@@ -0,0 +1,561 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.flow;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.factory.flow.ConfigDenseInverseSearch;
+import boofcv.struct.flow.ImageFlow;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.pyramid.PyramidDiscrete;
+import org.ddogleg.struct.GrowQueue_F32;
+import org.ddogleg.struct.GrowQueue_I32;
+
+/**
+ * <p>
+ * Dense Inverse Search (DIS) optical flow [1].  Flow is computed coarse to fine on an image pyramid.  At each
+ * layer the following steps are applied:
+ * </p>
+ * <ol>
+ * <li>A uniform grid of overlapping square patches is placed on the first image.</li>
+ * <li>Each patch's displacement is initialized from the flow in the previous layer and refined using inverse
+ * compositional Lucas-Kanade.  The Hessian is computed from the template's gradient once, making each
+ * iteration only a bilinear sample and a 2x2 solve.  Patches are mean normalized to be more robust to
+ * changes in lighting.</li>
+ * <li>Dense flow is found from a weighted average of all patches which overlap a pixel.  Each patch's weight
+ * is the inverse of its photometric error at that pixel.</li>
+ * <li>Optionally, the dense flow is refined by minimizing a Horn-Schunck energy linearized around the densified
+ * flow.  This is a simplification of the refinement in the paper, which also has a gradient constancy term.
+ * The brightness term is weighted by the inverse of its error so that occlusions don't pull the flow away.</li>
+ * </ol>
+ * <p>
+ * Processing stops at the finest layer specified in the configuration and the flow is then upsampled to the
+ * input image's resolution.  Image derivatives are expected to be computed using a Sobel kernel, e.g.
+ * {@link boofcv.alg.filter.derivative.GradientSobel}, and only need to be provided for the layers which are
+ * processed.
+ * </p>
+ *
+ * <p>
+ * [1] Kroeger, Till, et al. "Fast optical flow using dense inverse search." ECCV 2016
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class DenseInverseSearch {
+
+	// index of the finest layer patches are searched in
+	private int finestLayer;
+
+	// shape of patch and spacing between patches
+	private int patchRadius;
+	private int patchWidth;
+	private int patchStride;
+
+	// convergence parameters for the inverse search
+	private int maxIterations;
+	private float convergeTolerance;
+
+	// variational refinement parameters
+	private boolean refine;
+	private int refineIterations;
+	private float refineAlpha2;
+
+	// flow in the current layer and the previous (coarser) layer
+	private GrayF32 flowX = new GrayF32(1,1);
+	private GrayF32 flowY = new GrayF32(1,1);
+	private GrayF32 prevFlowX = new GrayF32(1,1);
+	private GrayF32 prevFlowY = new GrayF32(1,1);
+
+	// Terms in the variational refinement which don't change between iterations.  The brightness error with
+	// the densified flow's contribution removed, and the robust weight of the brightness term divided by the
+	// denominator in the update
+	private GrayF32 residual = new GrayF32(1,1);
+	private GrayF32 gain = new GrayF32(1,1);
+
+	// weighted sums used to densify the flow
+	private GrayF32 sumW = new GrayF32(1,1);
+	private GrayF32 sumU = new GrayF32(1,1);
+	private GrayF32 sumV = new GrayF32(1,1);
+
+	// coordinate of the lower extent of each patch along each axis
+	private GrowQueue_I32 gridX = new GrowQueue_I32();
+	private GrowQueue_I32 gridY = new GrowQueue_I32();
+	// displacement found for each patch
+	private GrowQueue_F32 patchU = new GrowQueue_F32();
+	private GrowQueue_F32 patchV = new GrowQueue_F32();
+
+	// gradient of the template and the patch sampled from the second image
+	private float gradX[];
+	private float gradY[];
+	private float sampled[];
+
+	// displacement of the most recently searched patch
+	private float patchDX, patchDY;
+
+	public DenseInverseSearch( ConfigDenseInverseSearch config ) {
+		config.checkValidity();
+
+		this.finestLayer = config.finestLayer;
+		this.patchRadius = config.patchRadius;
+		this.patchWidth = config.patchRadius*2+1;
+		this.patchStride = config.patchStride;
+		this.maxIterations = config.maxIterations;
+		this.convergeTolerance = config.convergeTolerance;
+		this.refine = config.refine;
+		this.refineIterations = config.refineIterations;
+		this.refineAlpha2 = config.refineAlpha*config.refineAlpha;
+
+		int N = patchWidth*patchWidth;
+		gradX = new float[N];
+		gradY = new float[N];
+		sampled = new float[N];
+	}
+
+	/**
+	 * Computes the optical flow from prev to curr.
+	 *
+	 * @param prev Pyramid of first image
+	 * @param prevDerivX Sobel x-derivative of each layer in the first image's pyramid
+	 * @param prevDerivY Sobel y-derivative of each layer in the first image's pyramid
+	 * @param curr Pyramid of second image
+	 * @param output (Output) Flow at the input image's resolution.  Every pixel is marked as valid.
+	 */
+	public void process( PyramidDiscrete<GrayF32> prev, GrayF32[] prevDerivX, GrayF32[] prevDerivY,
+						 PyramidDiscrete<GrayF32> curr , ImageFlow output ) {
+		int numLayers = prev.getNumLayers();
+		if( finestLayer >= numLayers )
+			throw new IllegalArgumentException("The finest layer is not inside the pyramid");
+
+		// start with no motion at the coarsest layer
+		int coarsest = numLayers-1;
+		flowX.reshape(prev.getWidth(coarsest),prev.getHeight(coarsest));
+		flowY.reshape(prev.getWidth(coarsest),prev.getHeight(coarsest));
+		ImageMiscOps.fill(flowX,0);
+		ImageMiscOps.fill(flowY,0);
+
+		for( int layer = coarsest; layer >= finestLayer; layer-- ) {
+			if( layer != coarsest ) {
+				// initialize the flow using the previous layer
+				GrayF32 tmp = prevFlowX; prevFlowX = flowX; flowX = tmp;
+				tmp = prevFlowY; prevFlowY = flowY; flowY = tmp;
+
+				int ratio = prev.getScales()[layer+1]/prev.getScales()[layer];
+				flowX.reshape(prev.getWidth(layer),prev.getHeight(layer));
+				flowY.reshape(prev.getWidth(layer),prev.getHeight(layer));
+				upsample(prevFlowX,flowX,ratio);
+				upsample(prevFlowY,flowY,ratio);
+			}
+
+			processLayer(prev.getLayer(layer),prevDerivX[layer],prevDerivY[layer],curr.getLayer(layer));
+		}
+
+		// upsample the flow to the input image's resolution
+		int scale = prev.getScales()[finestLayer];
+		if( scale != 1 ) {
+			GrayF32 tmp = prevFlowX; prevFlowX = flowX; flowX = tmp;
+			tmp = prevFlowY; prevFlowY = flowY; flowY = tmp;
+
+			flowX.reshape(output.width,output.height);
+			flowY.reshape(output.width,output.height);
+			upsample(prevFlowX,flowX,scale);
+			upsample(prevFlowY,flowY,scale);
+		}
+
+		int index = 0;
+		for( int y = 0; y < output.height; y++ ) {
+			for( int x = 0; x < output.width; x++, index++ ) {
+				output.unsafe_get(x,y).set(flowX.data[index],flowY.data[index]);
+			}
+		}
+	}
+
+	/**
+	 * Searches for the displacement of each patch, densifies the flow, and refines it.  Layers which are
+	 * smaller than two patches wide are skipped since almost every patch would touch the border, making
+	 * the estimate unreliable.  In which case the flow from the previous layer is left unmodified.
+	 */
+	protected void processLayer( GrayF32 prev , GrayF32 derivX , GrayF32 derivY , GrayF32 curr ) {
+		if( prev.width < 2*patchWidth || prev.height < 2*patchWidth )
+			return;
+
+		computeGrid(prev.width,gridX);
+		computeGrid(prev.height,gridY);
+
+		int numPatches = gridX.size*gridY.size;
+		patchU.resize(numPatches);
+		patchV.resize(numPatches);
+
+		int index = 0;
+		for( int i = 0; i < gridY.size; i++ ) {
+			int y0 = gridY.data[i];
+			for( int j = 0; j < gridX.size; j++, index++ ) {
+				searchPatch(prev,derivX,derivY,curr,gridX.data[j],y0);
+				patchU.data[index] = patchDX;
+				patchV.data[index] = patchDY;
+			}
+		}
+
+		densify(prev,curr);
+
+		if( refine )
+			refineFlow(prev,derivX,derivY,curr);
+	}
+
+	/**
+	 * Places patches along an axis so that each pixel is covered by at least one patch.  The last patch
+	 * is moved so that it touches the image border.
+	 */
+	void computeGrid( int length , GrowQueue_I32 grid ) {
+		grid.reset();
+		int last = length-patchWidth;
+		for( int i = 0; i <= last; i += patchStride ) {
+			grid.add(i);
+		}
+		if( grid.get(grid.size-1) != last )
+			grid.add(last);
+	}
+
+	/**
+	 * Finds the displacement of a single patch using inverse compositional Lucas-Kanade.  The result
+	 * is saved in patchDX and patchDY.
+	 *
+	 * @param x0 lower extent of the patch along x-axis
+	 * @param y0 lower extent of the patch along y-axis
+	 */
+	void searchPatch( GrayF32 prev , GrayF32 derivX , GrayF32 derivY , GrayF32 curr , int x0 , int y0 ) {
+		int N = patchWidth*patchWidth;
+
+		// the initial estimate comes from the dense flow at the patch's center
+		int indexCenter = (y0+patchRadius)*flowX.width + x0+patchRadius;
+		float u = flowX.data[indexCenter];
+		float v = flowY.data[indexCenter];
+		patchDX = u;
+		patchDY = v;
+
+		// save the template's gradient and compute the Hessian.  Sobel is twice the gradient
+		float sumT = 0, sumGx = 0, sumGy = 0, sumGxT = 0, sumGyT = 0;
+		float Hxx = 0, Hxy = 0, Hyy = 0;
+		int i = 0;
+		for( int y = 0; y < patchWidth; y++ ) {
+			int indexI = prev.startIndex + (y0+y)*prev.stride + x0;
+			int indexX = derivX.startIndex + (y0+y)*derivX.stride + x0;
+			int indexY = derivY.startIndex + (y0+y)*derivY.stride + x0;
+			for( int x = 0; x < patchWidth; x++, i++ ) {
+				float t = prev.data[indexI++];
+				float gx = 0.5f*derivX.data[indexX++];
+				float gy = 0.5f*derivY.data[indexY++];
+
+				gradX[i] = gx;
+				gradY[i] = gy;
+
+				sumT += t;
+				sumGx += gx;
+				sumGy += gy;
+				sumGxT += gx*t;
+				sumGyT += gy*t;
+				Hxx += gx*gx;
+				Hxy += gx*gy;
+				Hyy += gy*gy;
+			}
+		}
+
+		// patches without texture or along an edge can't be localized
+		float det = Hxx*Hyy - Hxy*Hxy;
+		float trace = Hxx + Hyy;
+		if( trace == 0 || det <= 1e-4f*trace*trace )
+			return;
+
+		// contribution of the mean normalized template to the steepest descent vector
+		float meanT = sumT/N;
+		float templX = sumGxT - meanT*sumGx;
+		float templY = sumGyT - meanT*sumGy;
+
+		float tol2 = convergeTolerance*convergeTolerance;
+		float u0 = u, v0 = v;
+		for( int iter = 0; iter < maxIterations; iter++ ) {
+			samplePatch(curr,x0+u,y0+v);
+
+			float sumW = 0, sumGxW = 0, sumGyW = 0;
+			for( i = 0; i < N; i++ ) {
+				float w = sampled[i];
+				sumW += w;
+				sumGxW += gradX[i]*w;
+				sumGyW += gradY[i]*w;
+			}
+			float meanW = sumW/N;
+			float bx = sumGxW - meanW*sumGx - templX;
+			float by = sumGyW - meanW*sumGy - templY;
+
+			float du = (Hyy*bx - Hxy*by)/det;
+			float dv = (Hxx*by - Hxy*bx)/det;
+
+			u -= du;
+			v -= dv;
+
+			if( du*du + dv*dv <= tol2 )
+				break;
+		}
+
+		// a patch which moved farther than its own width has most likely locked onto the wrong structure
+		float du = u-u0, dv = v-v0;
+		if( du*du + dv*dv > patchWidth*patchWidth )
+			return;
+
+		patchDX = u;
+		patchDY = v;
+	}
+
+	/**
+	 * Samples a patch from the image using bilinear interpolation.  Pixels outside the image are
+	 * set to the value of the closest pixel inside.
+	 *
+	 * @param px lower extent of the patch along x-axis
+	 * @param py lower extent of the patch along y-axis
+	 */
+	void samplePatch( GrayF32 image , float px , float py ) {
+		int ix = (int)Math.floor(px);
+		int iy = (int)Math.floor(py);
+
+		if( ix >= 0 && iy >= 0 && ix + patchWidth < image.width && iy + patchWidth < image.height ) {
+			// the fractional offset is the same for every pixel in the patch
+			float ax = px - ix;
+			float ay = py - iy;
+			float w00 = (1.0f-ax)*(1.0f-ay);
+			float w10 = ax*(1.0f-ay);
+			float w01 = (1.0f-ax)*ay;
+			float w11 = ax*ay;
+
+			int stride = image.stride;
+			int i = 0;
+			for( int y = 0; y < patchWidth; y++ ) {
+				int index = image.startIndex + (iy+y)*stride + ix;
+				for( int x = 0; x < patchWidth; x++, index++ ) {
+					sampled[i++] = w00*image.data[index] + w10*image.data[index+1] +
+							w01*image.data[index+stride] + w11*image.data[index+stride+1];
+				}
+			}
+		} else {
+			int i = 0;
+			for( int y = 0; y < patchWidth; y++ ) {
+				for( int x = 0; x < patchWidth; x++ ) {
+					sampled[i++] = interpolate(image,px+x,py+y);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Computes the dense flow from a weighted average of the displacement of each patch which overlaps a pixel.
+	 * Pixels which are not covered by any patch are left unmodified.
+	 */
+	void densify( GrayF32 prev , GrayF32 curr ) {
+		int width = prev.width;
+		int height = prev.height;
+
+		sumW.reshape(width,height);
+		sumU.reshape(width,height);
+		sumV.reshape(width,height);
+		ImageMiscOps.fill(sumW,0);
+		ImageMiscOps.fill(sumU,0);
+		ImageMiscOps.fill(sumV,0);
+
+		int index = 0;
+		for( int i = 0; i < gridY.size; i++ ) {
+			int y0 = gridY.data[i];
+			for( int j = 0; j < gridX.size; j++, index++ ) {
+				int x0 = gridX.data[j];
+				float u = patchU.data[index];
+				float v = patchV.data[index];
+
+				samplePatch(curr,x0+u,y0+v);
+
+				int k = 0;
+				for( int y = 0; y < patchWidth; y++ ) {
+					int indexI = prev.startIndex + (y0+y)*prev.stride + x0;
+					int indexS = (y0+y)*width + x0;
+					for( int x = 0; x < patchWidth; x++, indexS++ ) {
+						float error = Math.abs(sampled[k++] - prev.data[indexI++]);
+						float weight = 1.0f/Math.max(1.0f,error);
+
+						sumW.data[indexS] += weight;
+						sumU.data[indexS] += weight*u;
+						sumV.data[indexS] += weight*v;
+					}
+				}
+			}
+		}
+
+		int N = width*height;
+		for( int i = 0; i < N; i++ ) {
+			float w = sumW.data[i];
+			if( w > 0 ) {
+				flowX.data[i] = sumU.data[i]/w;
+				flowY.data[i] = sumV.data[i]/w;
+			}
+		}
+	}
+
+	/**
+	 * Refines the dense flow by minimizing a Horn-Schunck energy which has been linearized around the densified
+	 * flow.  Red-black Gauss-Seidel is used to update the flow in place.  The gradient of the first image is used
+	 * instead of the warped second image's gradient so that it doesn't need to be recomputed.  Like when
+	 * densifying, the brightness term at each pixel is weighted by the inverse of its photometric error.
+	 */
+	void refineFlow( GrayF32 prev , GrayF32 derivX , GrayF32 derivY , GrayF32 curr ) {
+		int width = prev.width;
+		int height = prev.height;
+
+		residual.reshape(width,height);
+		gain.reshape(width,height);
+		for( int y = 0; y < height; y++ ) {
+			int index = y*width;
+			int indexI = prev.startIndex + y*prev.stride;
+			int indexX = derivX.startIndex + y*derivX.stride;
+			int indexY = derivY.startIndex + y*derivY.stride;
+			for( int x = 0; x < width; x++, index++ ) {
+				float u = flowX.data[index];
+				float v = flowY.data[index];
+				float gx = 0.5f*derivX.data[indexX++];
+				float gy = 0.5f*derivY.data[indexY++];
+
+				float error = interpolate(curr,x+u,y+v) - prev.data[indexI++];
+				float d = 1.0f/Math.max(1.0f,Math.abs(error));
+
+				residual.data[index] = error - gx*u - gy*v;
+				gain.data[index] = d/(refineAlpha2 + d*(gx*gx + gy*gy));
+			}
+		}
+
+		// red-black ordering so that pixels updated in the same pass don't depend on each other
+		for( int iter = 0; iter < refineIterations; iter++ ) {
+			for( int color = 0; color < 2; color++ ) {
+				for( int y = 0; y < height; y++ ) {
+					refineRow(derivX,derivY,y,(y+color)%2);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Performs a Gauss-Seidel update on every other pixel in a row
+	 *
+	 * @param x0 First pixel in the row which is updated
+	 */
+	private void refineRow( GrayF32 derivX , GrayF32 derivY , int y , int x0 ) {
+		int width = flowX.width;
+		int height = flowX.height;
+
+		int index = y*width + x0;
+		int indexX = derivX.startIndex + y*derivX.stride + x0;
+		int indexY = derivY.startIndex + y*derivY.stride + x0;
+
+		// neighbors outside the image are replaced by the pixel itself
+		int offsetN = y > 0 ? -width : 0;
+		int offsetS = y < height-1 ? width : 0;
+
+		for( int x = x0; x < width; x += 2, index += 2 ) {
+			int offsetW = x > 0 ? -1 : 0;
+			int offsetE = x < width-1 ? 1 : 0;
+
+			float ub = 0.25f*(flowX.data[index+offsetW] + flowX.data[index+offsetE] +
+					flowX.data[index+offsetN] + flowX.data[index+offsetS]);
+			float vb = 0.25f*(flowY.data[index+offsetW] + flowY.data[index+offsetE] +
+					flowY.data[index+offsetN] + flowY.data[index+offsetS]);
+
+			float gx = 0.5f*derivX.data[indexX];
+			float gy = 0.5f*derivY.data[indexY];
+			indexX += 2;
+			indexY += 2;
+
+			float c = (residual.data[index] + gx*ub + gy*vb)*gain.data[index];
+
+			flowX.data[index] = ub - gx*c;
+			flowY.data[index] = vb - gy*c;
+		}
+	}
+
+	/**
+	 * Enlarges the flow from a coarser layer by an integer ratio using bilinear interpolation and adjusts for
+	 * the change in scale.  Pixel (x,y) in dst is sampled from (x/ratio,y/ratio) in src.
+	 */
+	static void upsample( GrayF32 src , GrayF32 dst , int ratio ) {
+		for( int y = 0; y < dst.height; y++ ) {
+			// pixels past the last row or column in src are set to the value at the border
+			int sy = Math.min(y/ratio,src.height-1);
+			float ay = (y-sy*ratio)/(float)ratio;
+			int indexSrc0 = src.startIndex + sy*src.stride;
+			int indexSrc1 = sy < src.height-1 ? indexSrc0 + src.stride : indexSrc0;
+
+			int indexDst = dst.startIndex + y*dst.stride;
+			int x = 0;
+			for( int sx = 0; x < dst.width; sx++ ) {
+				// values in src on either side of the block of pixels in dst
+				int sx0 = Math.min(sx,src.width-1);
+				int sx1 = sx < src.width-1 ? sx+1 : sx0;
+				float a = ((1.0f-ay)*src.data[indexSrc0+sx0] + ay*src.data[indexSrc1+sx0])*ratio;
+				float b = ((1.0f-ay)*src.data[indexSrc0+sx1] + ay*src.data[indexSrc1+sx1])*ratio;
+
+				float step = (b-a)/ratio;
+				for( int k = 0; k < ratio && x < dst.width; k++, x++ ) {
+					dst.data[indexDst++] = a + step*k;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Bilinear interpolation where coordinates outside the image are moved to the closest point inside
+	 */
+	static float interpolate( GrayF32 image , float x , float y ) {
+		if( x >= 0 && y >= 0 && x < image.width-1 && y < image.height-1 ) {
+			int x0 = (int)x;
+			int y0 = (int)y;
+			float ax = x - x0;
+			float ay = y - y0;
+
+			int index = image.startIndex + y0*image.stride + x0;
+			float[] data = image.data;
+			return (1.0f-ay)*((1.0f-ax)*data[index] + ax*data[index+1]) +
+					ay*((1.0f-ax)*data[index+image.stride] + ax*data[index+image.stride+1]);
+		}
+
+		if( x < 0 ) x = 0;
+		else if( x > image.width-1 ) x = image.width-1;
+		if( y < 0 ) y = 0;
+		else if( y > image.height-1 ) y = image.height-1;
+
+		int x0 = (int)x;
+		int y0 = (int)y;
+		float ax = x - x0;
+		float ay = y - y0;
+
+		int dx = x0 < image.width-1 ? 1 : 0;
+		int dy = y0 < image.height-1 ? image.stride : 0;
+
+		int index = image.startIndex + y0*image.stride + x0;
+		float[] data = image.data;
+
+		return (1.0f-ay)*((1.0f-ax)*data[index] + ax*data[index+dx]) +
+				ay*((1.0f-ax)*data[index+dy] + ax*data[index+dy+dx]);
+	}
+
+	public int getFinestLayer() {
+		return finestLayer;
+	}
+}
@@ -123,11 +123,19 @@ public abstract class HornSchunck<T extends ImageBase<T>, D extends ImageBase<D>
 	 * Computes average flow using an 8-connect neighborhood for the inner image
 	 */
 	protected static void innerAverageFlow( ImageFlow flow , ImageFlow averageFlow ) {
+		innerAverageFlow(flow, averageFlow, 1, flow.height-1);
+	}
+
+	/**
+	 * Computes average flow using an 8-connect neighborhood for inner image rows from y0 to y1, exclusive.
+	 */
+	protected static void innerAverageFlow( ImageFlow flow , ImageFlow averageFlow , int y0 , int y1 ) {
 
 		int endX = flow.width-1;
-		int endY = flow.height-1;
+		y0 = Math.max(1,y0);
+		y1 = Math.min(flow.height-1,y1);
 
-		for( int y = 1; y < endY; y++ ) {
+		for( int y = y0; y < y1; y++ ) {
 			int index = flow.width*y + 1;
 			for( int x = 1; x < endX; x++ , index++) {
 				ImageFlow.D average = averageFlow.data[index];
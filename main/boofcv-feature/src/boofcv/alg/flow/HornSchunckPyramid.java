@@ -220,9 +220,6 @@ public class HornSchunckPyramid<T extends ImageGray<T>>
 	 */
 	protected void processLayer(GrayF32 image1 , GrayF32 image2 , GrayF32 derivX2 , GrayF32 derivY2) {
 
-		float w = SOR_RELAXATION;
-		float uf,vf;
-
 		// outer Taylor expansion iterations
 		for( int warp = 0; warp < numWarps; warp++ ) {
 
@@ -238,61 +235,138 @@ public class HornSchunckPyramid<T extends ImageGray<T>>
 
 			do {
 				// inner SOR iteration.
-				error = 0;
+				error = iterationSor(image1);
+			} while( error > convergeTolerance*image1.width*image1.height && ++iter < maxInnerIterations);
+		}
+	}
 
-				// inner portion
-				for( int y = 1; y < image1.height-1; y++ ) {
-					int pixelIndex = y*image1.width+1;
-					for (int x = 1; x < image1.width-1; x++, pixelIndex++ ) {
-						// could speed this up a bit more by precomputing the constant portion before the do-while loop
-						float ui = initFlowX.data[pixelIndex];
-						float vi = initFlowY.data[pixelIndex];
+	/**
+	 * Performs a single SOR iteration across the whole image.  Pixels are updated in row-major order.
+	 *
+	 * @return Sum of the squared change in flow
+	 */
+	protected float iterationSor(GrayF32 image1) {
+		float w = SOR_RELAXATION;
+		float uf,vf;
+		float error = 0;
 
-						float u = flowX.data[pixelIndex];
-						float v = flowY.data[pixelIndex];
+		// inner portion
+		for( int y = 1; y < image1.height-1; y++ ) {
+			int pixelIndex = y*image1.width+1;
+			for (int x = 1; x < image1.width-1; x++, pixelIndex++ ) {
+				// could speed this up a bit more by precomputing the constant portion before the do-while loop
+				float ui = initFlowX.data[pixelIndex];
+				float vi = initFlowY.data[pixelIndex];
 
-						float I1 = image1.data[pixelIndex];
-						float I2 = warpImage2.data[pixelIndex];
+				float u = flowX.data[pixelIndex];
+				float v = flowY.data[pixelIndex];
 
-						float I2x = warpDeriv2X.data[pixelIndex];
-						float I2y = warpDeriv2Y.data[pixelIndex];
+				float I1 = image1.data[pixelIndex];
+				float I2 = warpImage2.data[pixelIndex];
 
-						float AU = A(x,y,flowX);
-						float AV = A(x,y,flowY);
+				float I2x = warpDeriv2X.data[pixelIndex];
+				float I2y = warpDeriv2Y.data[pixelIndex];
 
-						flowX.data[pixelIndex] = uf = (1-w)*u + w*((I1-I2+I2x*ui - I2y*(v-vi))*I2x + alpha2*AU)/(I2x*I2x + alpha2);
-						flowY.data[pixelIndex] = vf = (1-w)*v + w*((I1-I2+I2y*vi - I2x*(uf-ui))*I2y + alpha2*AV)/(I2y*I2y + alpha2);
+				float AU = A(x,y,flowX);
+				float AV = A(x,y,flowY);
 
-						error += (uf - u)*(uf - u) + (vf - v)*(vf - v);
-					}
-				}
+				flowX.data[pixelIndex] = uf = (1-w)*u + w*((I1-I2+I2x*ui - I2y*(v-vi))*I2x + alpha2*AU)/(I2x*I2x + alpha2);
+				flowY.data[pixelIndex] = vf = (1-w)*v + w*((I1-I2+I2y*vi - I2x*(uf-ui))*I2y + alpha2*AV)/(I2y*I2y + alpha2);
+
+				error += (uf - u)*(uf - u) + (vf - v)*(vf - v);
+			}
+		}
+
+		// border regions require special treatment
+		int pixelIndex0 = 0;
+		int pixelIndex1 = (image1.height-1)*image1.width;
+		for (int x = 0; x < image1.width; x++ ) {
+			error += iterationSorSafe(image1,x,0,pixelIndex0++);
+			error += iterationSorSafe(image1,x,image1.height-1,pixelIndex1++);
+		}
 
-				// border regions require special treatment
-				int pixelIndex0 = 0;
-				int pixelIndex1 = (image1.height-1)*image1.width;
-				for (int x = 0; x < image1.width; x++ ) {
-					error += iterationSorSafe(image1,x,0,pixelIndex0++);
-					error += iterationSorSafe(image1,x,image1.height-1,pixelIndex1++);
+		pixelIndex0 = image1.width;
+		pixelIndex1 = image1.width + image1.width-1;
+		for( int y = 1; y < image1.height-1; y++ ) {
+			error += iterationSorSafe(image1,0,y,pixelIndex0);
+			error += iterationSorSafe(image1,image1.width-1,y,pixelIndex1);
+
+			pixelIndex0 += image1.width;
+			pixelIndex1 += image1.width;
+		}
+
+		return error;
+	}
+
+	/**
+	 * <p>
+	 * SOR iteration for a single color in a four color ordering of the pixels.  Only pixels in rows y0 to y1,
+	 * exclusive, with x%2 == color%2 and y%2 == color/2 are updated.  Each pixel depends on its 8-connect
+	 * neighbors, which always have a different color, so pixels of the same color can be updated in any order
+	 * and produce the same result.
+	 * </p>
+	 *
+	 * @param image1 First image
+	 * @param color Which color, 0 to 3
+	 * @param y0 First row, inclusive
+	 * @param y1 Last row, exclusive
+	 * @param rowError (Output) The squared change in flow is added to the element for each row
+	 */
+	protected void iterationSorColor(GrayF32 image1, int color , int y0 , int y1 , float[] rowError ) {
+		float w = SOR_RELAXATION;
+		float uf,vf;
+
+		int x0 = color%2;
+		if( y0%2 != color/2 )
+			y0++;
+
+		for( int y = y0; y < y1; y += 2 ) {
+			float error = 0;
+
+			if( y == 0 || y == image1.height-1 ) {
+				for( int x = x0; x < image1.width; x += 2 ) {
+					error += iterationSorSafe(image1,x,y,y*image1.width+x);
 				}
+			} else {
+				if( x0 == 0 )
+					error += iterationSorSafe(image1,0,y,y*image1.width);
+
+				int endX = image1.width-1;
+				for (int x = x0 == 0 ? 2 : 1; x < endX; x += 2 ) {
+					int pixelIndex = y*image1.width+x;
+					float ui = initFlowX.data[pixelIndex];
+					float vi = initFlowY.data[pixelIndex];
+
+					float u = flowX.data[pixelIndex];
+					float v = flowY.data[pixelIndex];
+
+					float I1 = image1.data[pixelIndex];
+					float I2 = warpImage2.data[pixelIndex];
 
-				pixelIndex0 = image1.width;
-				 pixelIndex1 = image1.width + image1.width-1;
-				for( int y = 1; y < image1.height-1; y++ ) {
-					error += iterationSorSafe(image1,0,y,pixelIndex0);
-					error += iterationSorSafe(image1,image1.width-1,y,pixelIndex1);
+					float I2x = warpDeriv2X.data[pixelIndex];
+					float I2y = warpDeriv2Y.data[pixelIndex];
 
-					pixelIndex0 += image1.width;
-					pixelIndex1 += image1.width;
+					float AU = A(x,y,flowX);
+					float AV = A(x,y,flowY);
+
+					flowX.data[pixelIndex] = uf = (1-w)*u + w*((I1-I2+I2x*ui - I2y*(v-vi))*I2x + alpha2*AU)/(I2x*I2x + alpha2);
+					flowY.data[pixelIndex] = vf = (1-w)*v + w*((I1-I2+I2y*vi - I2x*(uf-ui))*I2y + alpha2*AV)/(I2y*I2y + alpha2);
+
+					error += (uf - u)*(uf - u) + (vf - v)*(vf - v);
 				}
 
-			} while( error > convergeTolerance*image1.width*image1.height && ++iter < maxInnerIterations);
+				if( endX > 0 && endX%2 == x0 )
+					error += iterationSorSafe(image1,endX,y,y*image1.width+endX);
+			}
+
+			rowError[y] += error;
 		}
 	}
 
 	/**
 	 * SOR iteration for border pixels
 	 */
-	private float iterationSorSafe(GrayF32 image1, int x, int y, int pixelIndex) {
+	protected float iterationSorSafe(GrayF32 image1, int x, int y, int pixelIndex) {
 		float w = SOR_RELAXATION;
 
 		float uf;
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.flow;
+
+import boofcv.alg.interpolate.InterpolatePixelS;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntBlockConsumer;
+import boofcv.factory.flow.ConfigHornSchunckPyramid;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.ImageGray;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Concurrent implementation of {@link HornSchunckPyramid}.  The SOR iterations are done in parallel using a four
+ * color ordering, see {@link #iterationSorColor}.  The four colors are processed one after another and the pixels
+ * inside a color are split up into bands of rows.  Since the pixels inside a color don't depend on each other
+ * the results don't depend on the number of threads, but they are different from the single threaded
+ * version which updates the pixels in row-major order.  Both converge towards the same solution.
+ * </p>
+ *
+ * <p>
+ * The squared change in flow is summed for each row and then the rows are summed in order, so the convergence
+ * test is the same no matter how many threads are used.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class HornSchunckPyramid_MT<T extends ImageGray<T>> extends HornSchunckPyramid<T> {
+
+	// squared change in flow for each row
+	private float[] rowError = new float[1];
+
+	// updates the pixels of one color in a band of rows
+	private ColorConsumer consumer = new ColorConsumer();
+
+	public HornSchunckPyramid_MT(ConfigHornSchunckPyramid config, InterpolatePixelS<GrayF32> interp) {
+		super(config, interp);
+	}
+
+	@Override
+	protected float iterationSor(GrayF32 image1) {
+		if( rowError.length < image1.height )
+			rowError = new float[image1.height];
+		Arrays.fill(rowError, 0, image1.height, 0);
+
+		int numBlocks = BoofConcurrency.useConcurrent(image1) ?
+				BoofConcurrency.computeNumberOfBlocks(image1.height,2) : 1;
+
+		consumer.image1 = image1;
+		for( int color = 0; color < 4; color++ ) {
+			consumer.color = color;
+			BoofConcurrency.loopBlocksIndexed(0, image1.height, numBlocks, consumer);
+		}
+		consumer.image1 = null;
+
+		float error = 0;
+		for (int y = 0; y < image1.height; y++) {
+			error += rowError[y];
+		}
+		return error;
+	}
+
+	private class ColorConsumer implements IntBlockConsumer {
+		GrayF32 image1;
+		int color;
+
+		@Override
+		public void accept(int block, int minInclusive, int maxExclusive) {
+			iterationSorColor(image1, color, minInclusive, maxExclusive, rowError);
+		}
+	}
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.flow;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeConsumer;
+import boofcv.struct.flow.ImageFlow;
+import boofcv.struct.image.GrayF32;
+
+/**
+ * <p>
+ * Concurrent implementation of {@link HornSchunck_F32}.  Each Jacobi iteration is done in two steps, the average
+ * flow is computed for bands of rows and then the flow is updated for bands of rows.  Since the new flow only
+ * depends on the previous iteration the results are identical to the single threaded version.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class HornSchunck_MT_F32 extends HornSchunck_F32 {
+
+	public HornSchunck_MT_F32(float alpha, int numIterations) {
+		super(alpha, numIterations);
+	}
+
+	@Override
+	protected void findFlow(final GrayF32 derivX , final GrayF32 derivY ,
+							final GrayF32 derivT , final ImageFlow output) {
+
+		final int width = output.width;
+
+		IntRangeConsumer average = new IntRangeConsumer() {
+			@Override
+			public void accept(int minInclusive, int maxExclusive) {
+				innerAverageFlow(output, averageFlow, minInclusive, maxExclusive);
+			}
+		};
+
+		IntRangeConsumer update = new IntRangeConsumer() {
+			@Override
+			public void accept(int minInclusive, int maxExclusive) {
+				updateFlow(derivX, derivY, derivT, output, minInclusive*width, maxExclusive*width);
+			}
+		};
+
+		for( int iter = 0; iter < numIterations; iter++ ) {
+
+			borderAverageFlow(output,averageFlow);
+			BoofConcurrency.loopBlocks(1, output.height-1, average);
+
+			BoofConcurrency.loopBlocks(0, output.height, update);
+		}
+	}
+}
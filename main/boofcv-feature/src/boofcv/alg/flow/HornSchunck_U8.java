@@ -158,21 +158,29 @@ public class HornSchunck_U8 extends HornSchunck<GrayU8,GrayS16> {
 			borderAverageFlow(output,averageFlow);
 			innerAverageFlow(output,averageFlow);
 
-			for( int i = 0; i < N; i++ ) {
-				float dx = derivX.data[i];
-				float dy = derivY.data[i];
-				float dt = derivT.data[i];
-
-				ImageFlow.D aveFlow = averageFlow.data[i];
-
-				float u = aveFlow.x;
-				float v = aveFlow.y;
+			updateFlow(derivX, derivY, derivT, output, 0, N);
+		}
+	}
 
-				ImageFlow.D flow = output.data[i];
-				float r = (dx*u + dy*v + dt)/(alpha2 + dx*dx + dy*dy);
-				flow.x = u - dx*r;
-				flow.y = v - dy*r;
-			}
+	/**
+	 * Updates the flow for pixels from index0 to index1, exclusive, using the average flow
+	 */
+	protected void updateFlow(GrayS16 derivX , GrayS16 derivY ,
+							  GrayS16 derivT , ImageFlow output , int index0 , int index1 ) {
+		for( int i = index0; i < index1; i++ ) {
+			float dx = derivX.data[i];
+			float dy = derivY.data[i];
+			float dt = derivT.data[i];
+
+			ImageFlow.D aveFlow = averageFlow.data[i];
+
+			float u = aveFlow.x;
+			float v = aveFlow.y;
+
+			ImageFlow.D flow = output.data[i];
+			float r = (dx*u + dy*v + dt)/(alpha2 + dx*dx + dy*dy);
+			flow.x = u - dx*r;
+			flow.y = v - dy*r;
 		}
 	}
 }
@@ -47,4 +47,9 @@ public class KltConfig {
 	 * Stop iterating of the change in x and y is less than this number.
 	 */
 	public float minPositionDelta = 0.01f;
+	/**
+	 * If true the tracker will be invariant to changes in lighting by estimating a gain and bias for each feature.
+	 * See {@link KltTrackerGainBias}
+	 */
+	public boolean gainBias = false;
 }
@@ -56,6 +56,12 @@ public class KltFeature {
 	 */
 	public float Gxx, Gxy, Gyy;
 
+	/**
+	 * Additional terms in the Hessian used by the gain and bias illumination model in {@link KltTrackerGainBias}.
+	 * Gradient times intensity, intensity squared, sum of gradient, sum of intensity, and number of pixels.
+	 */
+	public float Gxi, Gyi, Gii, Gx, Gy, Gi, Gn;
+
 	public KltFeature(int radius) {
 		this.radius = radius;
 		int sideLength = radius * 2 + 1;
@@ -418,7 +418,7 @@ public class KltTracker<I extends ImageGray<I>, D extends ImageGray<D>> {
 		return total;
 	}
 
-	private void computeSubImageBounds(KltFeature feature, float cx, float cy) {
+	protected void computeSubImageBounds(KltFeature feature, float cx, float cy) {
 		// initially include the whole destination image
 		dstX0 = 0;
 		dstY0 = 0;
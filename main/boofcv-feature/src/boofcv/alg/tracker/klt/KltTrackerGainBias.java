@@ -0,0 +1,385 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.tracker.klt;
+
+import boofcv.alg.interpolate.InterpolateRectangle;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.struct.image.ImageGray;
+
+/**
+ * <p>
+ * Variant of {@link KltTracker} which is invariant to changes in lighting.  The template's intensity is
+ * allowed to change by a gain and bias, e.g. I(x+d) = gain*T(x) + bias, which are estimated along with
+ * the feature's location.
+ * </p>
+ *
+ * <p>
+ * An inverse compositional formulation is used.  The steepest descent images [T<sub>x</sub>,T<sub>y</sub>,T,1]
+ * are computed from the template and the 4x4 Hessian is computed once in {@link #setDescription} and decomposed
+ * once each time the feature is tracked.  Each iteration only needs to interpolate the image and
+ * compute the residual.  When the feature is partially outside the image the Hessian is recomputed
+ * using the pixels which are inside the image, just like with {@link KltTracker}.
+ * </p>
+ *
+ * <p>
+ * The gain and bias are reset to 1 and 0 each time a feature is tracked.  Their values after the most recent
+ * call to {@link #track} can be found with {@link #getGain()} and {@link #getBias()}.
+ * </p>
+ *
+ * <p>
+ * Citation:<br>
+ * Baker, S. and Matthews, I. "Lucas-Kanade 20 Years On: A Unifying Framework: Part 3"
+ * Carnegie Mellon University Technical Report CMU-RI-TR-03-35, 2003
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class KltTrackerGainBias<I extends ImageGray<I>, D extends ImageGray<D>> extends KltTracker<I,D> {
+
+	// Hessian for the parameters (x,y,gain,bias) and its Cholesky decomposition. Row-major 4x4
+	protected double H[] = new double[16];
+	protected double L[] = new double[16];
+	// steepest descent images times the residual
+	protected double E[] = new double[4];
+	// change in parameters
+	protected double delta[] = new double[4];
+
+	// illumination model
+	protected float gain, bias;
+
+	public KltTrackerGainBias(InterpolateRectangle<I> interpInput,
+							  InterpolateRectangle<D> interpDeriv,
+							  KltConfig config) {
+		super(interpInput, interpDeriv, config);
+	}
+
+	/**
+	 * Sets the feature's description and the additional Hessian terms used by the illumination model.
+	 *
+	 * @see KltTracker#setDescription(KltFeature)
+	 */
+	@Override
+	public boolean setDescription(KltFeature feature) {
+		if( !super.setDescription(feature) )
+			return false;
+
+		float Gxi = 0, Gyi = 0, Gii = 0, Gx = 0, Gy = 0, Gi = 0;
+		int total = 0;
+		for (int i = 0; i < lengthFeature; i++) {
+			float v = feature.desc.data[i];
+			if( Float.isNaN(v))
+				continue;
+
+			float dX = feature.derivX.data[i];
+			float dY = feature.derivY.data[i];
+
+			Gxi += dX * v;
+			Gyi += dY * v;
+			Gii += v * v;
+			Gx += dX;
+			Gy += dY;
+			Gi += v;
+			total++;
+		}
+
+		feature.Gxi = Gxi;
+		feature.Gyi = Gyi;
+		feature.Gii = Gii;
+		feature.Gx = Gx;
+		feature.Gy = Gy;
+		feature.Gi = Gi;
+		feature.Gn = total;
+
+		return true;
+	}
+
+	@Override
+	public KltTrackFault track(KltFeature feature) {
+
+		// precompute bounds and other values
+		setAllowedBounds(feature);
+
+		// sanity check to make sure it is actually inside the image
+		if ( isFullyOutside(feature.x, feature.y))
+			return KltTrackFault.OUT_OF_BOUNDS;
+
+		if (currDesc.data.length < lengthFeature) {
+			currDesc.reshape(widthFeature,widthFeature);
+		}
+
+		// save the original location so that a drifting fault can be detected
+		float origX = feature.x, origY = feature.y;
+
+		// If the feature is complete then the fast code can be used when entirely inside
+		boolean complete = isDescriptionComplete(feature);
+
+		gain = 1;
+		bias = 0;
+
+		if ( complete ) {
+			Gxx = feature.Gxx;
+			Gyy = feature.Gyy;
+			Gxy = feature.Gxy;
+			float det = Gxx * Gyy - Gxy * Gxy;
+			if (det < config.minDeterminant*lengthFeature) {
+				return KltTrackFault.FAILED;
+			}
+
+			// the Hessian only depends on the template so it only needs to be decomposed once
+			setHessian(feature.Gxi, feature.Gyi, feature.Gii, feature.Gx, feature.Gy, feature.Gi, feature.Gn);
+			if( !decomposeHessian() )
+				return KltTrackFault.FAILED;
+		}
+
+		for (int iter = 0; iter < config.maxIterations; iter++) {
+			if( complete && isFullyInside(feature.x, feature.y) ) {
+				computeE(feature, feature.x, feature.y);
+			} else {
+				// once it goes outside it must remain outside.  If it starts outside
+				int length = computeHandE_border(feature, feature.x, feature.y);
+
+				float det = Gxx * Gyy - Gxy * Gxy;
+				if (det <= config.minDeterminant*length || !decomposeHessian() ) {
+					return KltTrackFault.FAILED;
+				}
+			}
+
+			solveHessian();
+
+			// undo the gain which is applied to the gradient
+			float dx = (float)(delta[0]/gain);
+			float dy = (float)(delta[1]/gain);
+
+			// inverse composition of the translation
+			feature.x -= dx;
+			feature.y -= dy;
+			gain += (float)delta[2];
+			bias += (float)delta[3];
+
+			// a negative gain would invert the template and means it has diverged
+			if( gain <= 0 )
+				return KltTrackFault.FAILED;
+
+			// see if it moved outside of the image
+			if ( isFullyOutside(feature.x, feature.y))
+				return KltTrackFault.OUT_OF_BOUNDS;
+
+			// see if it has moved more than possible if it is really tracking a target
+			// this happens in regions with little texture
+			if (Math.abs(feature.x - origX) > widthFeature
+					|| Math.abs(feature.y - origY) > widthFeature)
+				return KltTrackFault.DRIFTED;
+
+			// see if it has converged to a solution
+			if (Math.abs(dx) < config.minPositionDelta && Math.abs(dy) < config.minPositionDelta) {
+				break;
+			}
+		}
+
+		if ( (error=computeError(feature)) > config.maxPerPixelError)
+			return KltTrackFault.LARGE_ERROR;
+
+		return KltTrackFault.SUCCESS;
+	}
+
+	/**
+	 * Computes the steepest descent images times the residual.  Only the image needs to be interpolated.
+	 */
+	@Override
+	protected void computeE(KltFeature feature, float x, float y) {
+		// extract the region in the current image
+		interpInput.region(x - feature.radius, y - feature.radius, currDesc);
+
+		float Ex = 0, Ey = 0, Ei = 0, En = 0;
+		for (int i = 0; i < lengthFeature; i++) {
+			float template = feature.desc.data[i];
+
+			// difference between the current image and the template with illumination applied
+			float d = currDesc.data[i] - (gain*template + bias);
+
+			Ex += d * feature.derivX.data[i];
+			Ey += d * feature.derivY.data[i];
+			Ei += d * template;
+			En += d;
+		}
+
+		this.Ex = Ex;
+		this.Ey = Ey;
+		E[0] = Ex;
+		E[1] = Ey;
+		E[2] = Ei;
+		E[3] = En;
+	}
+
+	/**
+	 * When part of the region is outside the image the Hessian and E need to be recomputed using
+	 * only pixels inside the image.
+	 *
+	 * @return number of pixels inside the image
+	 */
+	protected int computeHandE_border(KltFeature feature, float cx, float cy) {
+
+		computeSubImageBounds(feature, cx, cy);
+
+		ImageMiscOps.fill(currDesc, Float.NaN);
+		currDesc.subimage(dstX0, dstY0, dstX1, dstY1, subimage);
+		interpInput.setImage(image);
+		interpInput.region(srcX0, srcY0, subimage);
+
+		int total = 0;
+
+		float Gxx = 0, Gyy = 0, Gxy = 0;
+		float Gxi = 0, Gyi = 0, Gii = 0, Gx = 0, Gy = 0, Gi = 0;
+		float Ex = 0, Ey = 0, Ei = 0, En = 0;
+
+		for( int i = 0; i < lengthFeature; i++ ) {
+			float template = feature.desc.data[i];
+			float current = currDesc.data[i];
+
+			// if the description was outside of the image here skip it
+			if( Float.isNaN(template) || Float.isNaN(current))
+				continue;
+
+			// count total number of points inbounds
+			total++;
+
+			float dX = feature.derivX.data[i];
+			float dY = feature.derivY.data[i];
+
+			float d = current - (gain*template + bias);
+
+			Ex += d * dX;
+			Ey += d * dY;
+			Ei += d * template;
+			En += d;
+
+			Gxx += dX * dX;
+			Gyy += dY * dY;
+			Gxy += dX * dY;
+			Gxi += dX * template;
+			Gyi += dY * template;
+			Gii += template * template;
+			Gx += dX;
+			Gy += dY;
+			Gi += template;
+		}
+
+		this.Gxx = Gxx;
+		this.Gyy = Gyy;
+		this.Gxy = Gxy;
+		this.Ex = Ex;
+		this.Ey = Ey;
+		E[0] = Ex;
+		E[1] = Ey;
+		E[2] = Ei;
+		E[3] = En;
+		setHessian(Gxi, Gyi, Gii, Gx, Gy, Gi, total);
+
+		return total;
+	}
+
+	/**
+	 * Fills in the Hessian.  The translation terms are taken from Gxx, Gxy, and Gyy.
+	 */
+	protected void setHessian( float Gxi , float Gyi , float Gii ,
+							   float Gx , float Gy , float Gi , float Gn ) {
+		H[0]  = Gxx; H[1]  = Gxy; H[2]  = Gxi; H[3]  = Gx;
+		H[4]  = Gxy; H[5]  = Gyy; H[6]  = Gyi; H[7]  = Gy;
+		H[8]  = Gxi; H[9]  = Gyi; H[10] = Gii; H[11] = Gi;
+		H[12] = Gx;  H[13] = Gy;  H[14] = Gi;  H[15] = Gn;
+	}
+
+	/**
+	 * Cholesky decomposition of the Hessian, H = L*L<sup>T</sup>
+	 *
+	 * @return false if the Hessian isn't positive definite
+	 */
+	protected boolean decomposeHessian() {
+		for (int i = 0; i < 4; i++) {
+			for (int j = 0; j <= i; j++) {
+				double sum = H[i*4+j];
+				for (int k = 0; k < j; k++) {
+					sum -= L[i*4+k]*L[j*4+k];
+				}
+				if( i == j ) {
+					if( sum <= 0 )
+						return false;
+					L[i*4+i] = Math.sqrt(sum);
+				} else {
+					L[i*4+j] = sum/L[j*4+j];
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Solves H*delta = E using the decomposed Hessian
+	 */
+	protected void solveHessian() {
+		// forward substitution L*y = E
+		for (int i = 0; i < 4; i++) {
+			double sum = E[i];
+			for (int k = 0; k < i; k++) {
+				sum -= L[i*4+k]*delta[k];
+			}
+			delta[i] = sum/L[i*4+i];
+		}
+		// back substitution L^T*delta = y
+		for (int i = 3; i >= 0; i--) {
+			double sum = delta[i];
+			for (int k = i+1; k < 4; k++) {
+				sum -= L[k*4+i]*delta[k];
+			}
+			delta[i] = sum/L[i*4+i];
+		}
+	}
+
+	/**
+	 * Average absolute difference between the image and the template after illumination has been applied
+	 */
+	protected float computeError(KltFeature feature) {
+		float error = 0;
+		int total = 0;
+		for (int i = 0; i < lengthFeature; i++) {
+			float template = feature.desc.data[i];
+			float current = currDesc.data[i];
+			if( Float.isNaN(template) || Float.isNaN(current))
+				continue;
+
+			error += Math.abs(gain*template + bias - current);
+			total++;
+		}
+		return error / total;
+	}
+
+	/**
+	 * Gain estimated for the most recently tracked feature
+	 */
+	public float getGain() {
+		return gain;
+	}
+
+	/**
+	 * Bias estimated for the most recently tracked feature
+	 */
+	public float getBias() {
+		return bias;
+	}
+}
@@ -18,6 +18,8 @@
 
 package boofcv.alg.tracker.klt;
 
+import boofcv.concurrency.BoofConcurrency;
+
 /**
  * Configuration class for {@link PyramidKltTracker}.
  *
@@ -33,6 +35,9 @@ public class PkltConfig{
 	/** Scale factor for each layer in the pyramid */
 	public int pyramidScaling[] = new int[]{1,2,4};
 
+	/** If true then features are tracked by multiple threads.  See {@link PyramidKltTracker_MT} */
+	public boolean concurrent = BoofConcurrency.USE_CONCURRENT;
+
 	public PkltConfig() {
 	}
 
@@ -21,6 +21,8 @@ package boofcv.alg.tracker.klt;
 import boofcv.struct.image.ImageGray;
 import boofcv.struct.pyramid.ImagePyramid;
 
+import java.util.List;
+
 /**
  * <p>
  * A pyramid Kanade-Lucas-Tomasi (KLT) tracker that allows features to be tracker over a larger region than the basic
@@ -150,6 +152,62 @@ public class PyramidKltTracker<InputImage extends ImageGray<InputImage>, Derivat
 		return KltTrackFault.SUCCESS;
 	}
 
+	/**
+	 * <p>
+	 * Tracks all the features in the list.  Each feature is tracked the same way as {@link #track(PyramidKltFeature)}.
+	 * A successfully tracked feature whose center is outside of the input image is marked as
+	 * {@link KltTrackFault#OUT_OF_BOUNDS}.
+	 * </p>
+	 *
+	 * <p>
+	 * If 'updateDescription' is true then the description of each successfully tracked feature is updated using
+	 * {@link #setDescription(PyramidKltFeature)}, which requires that the image gradient has been set.  A feature
+	 * whose description can't be updated is marked as {@link KltTrackFault#FAILED}.
+	 * </p>
+	 *
+	 * @param features The features being tracked.
+	 * @param updateDescription If true the description of successfully tracked features is updated
+	 * @param faults (Output) Results for each feature in the same order as the features.
+	 */
+	public void track( List<PyramidKltFeature> features , boolean updateDescription , List<KltTrackFault> faults ) {
+		declareFaults(features.size(), faults);
+		track(features, 0, features.size(), updateDescription, faults);
+	}
+
+	/**
+	 * Tracks features inside the specified range of indexes.  See {@link #track(List, boolean, List)}.
+	 */
+	protected void track( List<PyramidKltFeature> features , int idx0 , int idx1 ,
+						  boolean updateDescription , List<KltTrackFault> faults ) {
+		int width = image.getInputWidth();
+		int height = image.getInputHeight();
+
+		for (int i = idx0; i < idx1; i++) {
+			PyramidKltFeature f = features.get(i);
+			KltTrackFault ret = track(f);
+
+			if( ret == KltTrackFault.SUCCESS ) {
+				int x = (int)f.x, y = (int)f.y;
+				if( x < 0 || y < 0 || x >= width || y >= height ) {
+					ret = KltTrackFault.OUT_OF_BOUNDS;
+				} else if( updateDescription && !setDescription(f) ) {
+					ret = KltTrackFault.FAILED;
+				}
+			}
+			faults.set(i, ret);
+		}
+	}
+
+	/**
+	 * Makes the list of faults the same size as the list of features
+	 */
+	protected static void declareFaults( int size , List<KltTrackFault> faults ) {
+		faults.clear();
+		for (int i = 0; i < size; i++) {
+			faults.add(null);
+		}
+	}
+
 	/**
 	 * Average error between track template and the image.
 	 *
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.tracker.klt;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntBlockConsumer;
+import boofcv.concurrency.IntBlockLoop;
+import boofcv.concurrency.ObjectFactory;
+import boofcv.struct.image.ImageGray;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Concurrent implementation of {@link PyramidKltTracker}.  When a list of features is tracked the list is split
+ * up between threads.  Each thread has its own {@link KltTracker} since its internal buffers can't be shared.
+ * Once the image pyramid and gradient have been set each feature is independent, so the results are identical to
+ * the single threaded version.
+ * </p>
+ *
+ * <p>
+ * Features which are tracked one at a time are processed by the calling thread.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class PyramidKltTracker_MT<InputImage extends ImageGray<InputImage>, DerivativeImage extends ImageGray<DerivativeImage>>
+		extends PyramidKltTracker<InputImage,DerivativeImage>
+{
+	// creates a new KLT tracker for each thread
+	private ObjectFactory<KltTracker<InputImage, DerivativeImage>> factory;
+
+	// tracker used by each block of features
+	private List<PyramidKltTracker<InputImage, DerivativeImage>> workers = new ArrayList<>();
+
+	// input to track(List,boolean,List) which is being processed by the blocks
+	private List<PyramidKltFeature> features;
+	private boolean updateDescription;
+	private List<KltTrackFault> faults;
+
+	// tracks each block of features. Created once so that tracking does not create new objects
+	private final IntBlockLoop loop = new IntBlockLoop(new IntBlockConsumer() {
+		@Override
+		public void accept(int block, int minInclusive, int maxExclusive) {
+			workers.get(block).track(features, minInclusive, maxExclusive, updateDescription, faults);
+		}
+	});
+
+	/**
+	 * Specifies how the low level tracker is created
+	 *
+	 * @param factory Creates new instances of the KLT tracker.  Instances must not share any internal state.
+	 */
+	public PyramidKltTracker_MT(ObjectFactory<KltTracker<InputImage, DerivativeImage>> factory) {
+		super(factory.newInstance());
+		this.factory = factory;
+	}
+
+	@Override
+	public void track(List<PyramidKltFeature> features, boolean updateDescription,
+					  List<KltTrackFault> faults) {
+		declareFaults(features.size(), faults);
+		if( features.isEmpty() )
+			return;
+
+		int numBlocks = BoofConcurrency.useConcurrent(image.getLayer(0)) ?
+				BoofConcurrency.computeNumberOfBlocks(features.size(),1) : 1;
+		if( numBlocks == 1 ) {
+			track(features, 0, features.size(), updateDescription, faults);
+			return;
+		}
+
+		while( workers.size() < numBlocks ) {
+			workers.add(new PyramidKltTracker<>(factory.newInstance()));
+		}
+		for (int i = 0; i < numBlocks; i++) {
+			PyramidKltTracker<InputImage, DerivativeImage> w = workers.get(i);
+			w.image = image;
+			w.derivX = derivX;
+			w.derivY = derivY;
+		}
+
+		this.features = features;
+		this.updateDescription = updateDescription;
+		this.faults = faults;
+		try {
+			loop.process(0, features.size(), numBlocks);
+		} finally {
+			// don't hold onto references of the caller's lists
+			this.features = null;
+			this.faults = null;
+		}
+	}
+}
@@ -21,6 +21,8 @@ package boofcv.factory.background;
 import boofcv.alg.background.BackgroundModelStationary;
 import boofcv.alg.background.moving.*;
 import boofcv.alg.background.stationary.*;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.ObjectFactory;
 import boofcv.struct.distort.Point2Transform2Model_F32;
 import boofcv.struct.image.ImageBase;
 import boofcv.struct.image.ImageType;
@@ -99,6 +101,20 @@ public class FactoryBackgroundModel {
 	 */
 	public static <T extends ImageBase<T>>
 	BackgroundStationaryGaussian<T> stationaryGaussian( ConfigBackgroundGaussian config , ImageType<T> imageType ) {
+		return stationaryGaussian(config, imageType, BoofConcurrency.USE_CONCURRENT);
+	}
+
+	/**
+	 * Creates an instance of {@link BackgroundStationaryGaussian}.
+	 *
+	 * @param config Configures the background model
+	 * @param imageType Type of input image
+	 * @param concurrent If true then bands of rows will be processed by multiple threads.  Results are identical.
+	 * @return new instance of the background model
+	 */
+	public static <T extends ImageBase<T>>
+	BackgroundStationaryGaussian<T> stationaryGaussian( ConfigBackgroundGaussian config , ImageType<T> imageType ,
+														boolean concurrent ) {
 
 		config.checkValidity();
 
@@ -106,15 +122,24 @@ public class FactoryBackgroundModel {
 
 		switch( imageType.getFamily() ) {
 			case GRAY:
-				ret = new BackgroundStationaryGaussian_SB(config.learnRate,config.threshold,imageType.getImageClass());
+				if( concurrent )
+					ret = new BackgroundStationaryGaussian_SB_MT(config.learnRate,config.threshold,imageType.getImageClass());
+				else
+					ret = new BackgroundStationaryGaussian_SB(config.learnRate,config.threshold,imageType.getImageClass());
 				break;
 
 			case PLANAR:
-				ret =  new BackgroundStationaryGaussian_PL(config.learnRate,config.threshold,imageType);
+				if( concurrent )
+					ret =  new BackgroundStationaryGaussian_PL_MT(config.learnRate,config.threshold,imageType);
+				else
+					ret =  new BackgroundStationaryGaussian_PL(config.learnRate,config.threshold,imageType);
 				break;
 
 			case INTERLEAVED:
-				ret =  new BackgroundStationaryGaussian_IL(config.learnRate,config.threshold,imageType);
+				if( concurrent )
+					ret =  new BackgroundStationaryGaussian_IL_MT(config.learnRate,config.threshold,imageType);
+				else
+					ret =  new BackgroundStationaryGaussian_IL(config.learnRate,config.threshold,imageType);
 				break;
 
 			default:
@@ -138,6 +163,63 @@ public class FactoryBackgroundModel {
 	BackgroundMovingGaussian<T,Motion> movingGaussian( ConfigBackgroundGaussian config ,
 													   Point2Transform2Model_F32<Motion> transform,
 													   ImageType<T> imageType ) {
+		return movingGaussian(config, transform, imageType, BoofConcurrency.USE_CONCURRENT);
+	}
+
+	/**
+	 * Creates an instance of {@link BackgroundMovingGaussian}.
+	 *
+	 * @param config Configures the background model
+	 * @param transform Used to apply the motion model.  If concurrent then each thread uses a new instance of the
+	 *                  transform's class, which must have a constructor with no arguments.
+	 * @param imageType Type of input image
+	 * @param concurrent If true then bands of rows will be processed by multiple threads.  Results are identical.
+	 * @return new instance of the background model
+	 */
+	public static <T extends ImageBase<T>,Motion extends InvertibleTransform<Motion>>
+	BackgroundMovingGaussian<T,Motion> movingGaussian( ConfigBackgroundGaussian config ,
+													   final Point2Transform2Model_F32<Motion> transform,
+													   ImageType<T> imageType ,
+													   boolean concurrent ) {
+		if( !concurrent )
+			return createMovingGaussian(config, transform, imageType, null);
+
+		return createMovingGaussian(config, null, imageType, new ObjectFactory<Point2Transform2Model_F32<Motion>>() {
+			@Override
+			public Point2Transform2Model_F32<Motion> newInstance() {
+				try {
+					return transform.getClass().newInstance();
+				} catch (InstantiationException | IllegalAccessException e) {
+					throw new RuntimeException(e);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Creates a concurrent instance of {@link BackgroundMovingGaussian}.  Bands of rows are processed by
+	 * multiple threads and the results are identical to the single threaded version.
+	 *
+	 * @param config Configures the background model
+	 * @param transformFactory Creates the transform, which applies the motion model, used by each thread
+	 * @param imageType Type of input image
+	 * @return new instance of the background model
+	 */
+	public static <T extends ImageBase<T>,Motion extends InvertibleTransform<Motion>>
+	BackgroundMovingGaussian<T,Motion> movingGaussian( ConfigBackgroundGaussian config ,
+													   ObjectFactory<Point2Transform2Model_F32<Motion>> transformFactory,
+													   ImageType<T> imageType ) {
+		return createMovingGaussian(config, null, imageType, transformFactory);
+	}
+
+	/**
+	 * Creates the concurrent implementation if a transform factory is provided, otherwise the single threaded one
+	 */
+	private static <T extends ImageBase<T>,Motion extends InvertibleTransform<Motion>>
+	BackgroundMovingGaussian<T,Motion> createMovingGaussian( ConfigBackgroundGaussian config ,
+															 Point2Transform2Model_F32<Motion> transform,
+															 ImageType<T> imageType ,
+															 ObjectFactory<Point2Transform2Model_F32<Motion>> transformFactory ) {
 
 		config.checkValidity();
 
@@ -145,18 +227,30 @@ public class FactoryBackgroundModel {
 
 		switch( imageType.getFamily() ) {
 			case GRAY:
-				ret = new BackgroundMovingGaussian_SB(config.learnRate,config.threshold,
-						transform,config.interpolation,imageType.getImageClass());
+				if( transformFactory != null )
+					ret = new BackgroundMovingGaussian_SB_MT(config.learnRate,config.threshold,
+							transformFactory,config.interpolation,imageType.getImageClass());
+				else
+					ret = new BackgroundMovingGaussian_SB(config.learnRate,config.threshold,
+							transform,config.interpolation,imageType.getImageClass());
 				break;
 
 			case PLANAR:
-				ret =  new BackgroundMovingGaussian_PL(config.learnRate,config.threshold,
-						transform,config.interpolation,imageType);
+				if( transformFactory != null )
+					ret =  new BackgroundMovingGaussian_PL_MT(config.learnRate,config.threshold,
+							transformFactory,config.interpolation,imageType);
+				else
+					ret =  new BackgroundMovingGaussian_PL(config.learnRate,config.threshold,
+							transform,config.interpolation,imageType);
 				break;
 
 			case INTERLEAVED:
-				ret =  new BackgroundMovingGaussian_IL(config.learnRate,config.threshold,
-						transform,config.interpolation,imageType);
+				if( transformFactory != null )
+					ret =  new BackgroundMovingGaussian_IL_MT(config.learnRate,config.threshold,
+							transformFactory,config.interpolation,imageType);
+				else
+					ret =  new BackgroundMovingGaussian_IL(config.learnRate,config.threshold,
+							transform,config.interpolation,imageType);
 				break;
 
 			default:
@@ -20,10 +20,15 @@ package boofcv.factory.feature.associate;
 
 import boofcv.abst.feature.associate.*;
 import boofcv.alg.feature.associate.AssociateGreedy;
+import boofcv.alg.feature.associate.AssociateGreedyBlock;
+import boofcv.alg.feature.associate.nn.*;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.feature.*;
 import org.ddogleg.nn.FactoryNearestNeighbor;
 import org.ddogleg.nn.NearestNeighbor;
 
+import java.util.Random;
+
 
 /**
  * Creates algorithms for associating {@link boofcv.struct.feature.TupleDesc_F64} features.
@@ -55,6 +60,64 @@ public class FactoryAssociation {
 		return ret;
 	}
 
+	/**
+	 * Brute force greedy association which produces the same results as
+	 * {@link #greedy(ScoreAssociation, double, boolean)} but scores features in blocks and doesn't save
+	 * the score for every pair of features. Much faster and uses less memory when there are many features.
+	 * Concurrency is turned on if {@link BoofConcurrency#USE_CONCURRENT} is true.
+	 *
+	 * @see AssociateGreedyBlock
+	 *
+	 * @param score Computes the fit score between two features.
+	 * @param maxError Maximum allowed error/fit score between two features.  To disable set to Double.MAX_VALUE
+	 * @param backwardsValidation If true associations are validated by associating in the reverse direction.  If the
+	 *                  forward and reverse matches fit an association is excepted.
+	 * @param <D> Data structure being associated
+	 * @return AssociateDescription
+	 */
+	public static <D> AssociateDescription<D>
+	greedyBlock( ScoreAssociation<D> score ,
+				 double maxError ,
+				 boolean backwardsValidation )
+	{
+		return greedyBlock(score, maxError, backwardsValidation, BoofConcurrency.USE_CONCURRENT);
+	}
+
+	/**
+	 * Brute force greedy association which scores features in blocks.  See
+	 * {@link #greedyBlock(ScoreAssociation, double, boolean)}.
+	 *
+	 * @param concurrent If true then source features will be processed by multiple threads
+	 */
+	public static <D> AssociateDescription<D>
+	greedyBlock( ScoreAssociation<D> score ,
+				 double maxError ,
+				 boolean backwardsValidation ,
+				 boolean concurrent )
+	{
+		AssociateGreedyBlock<D> alg;
+
+		// use an implementation which is specialized for the descriptor type when possible
+		Class<?> scoreType = score.getClass();
+		if( scoreType == ScoreAssociateEuclideanSq_F64.class ) {
+			alg = (AssociateGreedyBlock<D>)new AssociateGreedyBlock.EuclideanSq_F64(
+					(ScoreAssociation<TupleDesc_F64>)score, backwardsValidation, concurrent);
+		} else if( scoreType == ScoreAssociateEuclideanSq_F32.class ) {
+			alg = (AssociateGreedyBlock<D>)new AssociateGreedyBlock.EuclideanSq_F32(
+					(ScoreAssociation<TupleDesc_F32>)score, backwardsValidation, concurrent);
+		} else if( scoreType == ScoreAssociateHamming_B.class ) {
+			alg = (AssociateGreedyBlock<D>)new AssociateGreedyBlock.Hamming_B(
+					(ScoreAssociation<TupleDesc_B>)score, backwardsValidation, concurrent);
+		} else if( scoreType == ScoreAssociateHamming_B64.class ) {
+			alg = (AssociateGreedyBlock<D>)new AssociateGreedyBlock.Hamming_B64(
+					(ScoreAssociation<TupleDesc_B64>)score, backwardsValidation, concurrent);
+		} else {
+			alg = new AssociateGreedyBlock.Generic<>(score, backwardsValidation, concurrent);
+		}
+		alg.setMaxFitError(maxError);
+		return new WrapAssociateGreedy<>(alg);
+	}
+
 
 	/**
 	 * Approximate association using a K-D tree degree of moderate size (10-15) that uses a best-bin-first search
@@ -99,6 +162,156 @@ public class FactoryAssociation {
 		return new AssociateNearestNeighbor<>(nn, dimension);
 	}
 
+	/**
+	 * <p>
+	 * Approximate association using a K-D forest with default settings, one tree and 16 checks, which were
+	 * selected to reach 95% recall in the least amount of time.  With 5,000 x 5,000 synthetic clustered 128-D
+	 * descriptors about 97% of the matches are the true nearest neighbor and it takes about 20 ms on a single
+	 * thread. Building the tree takes 5 ms of that. An exhaustive search takes about 3 s.  Adding trees builds
+	 * slower and only pays off when more checks are needed for the desired recall.
+	 * </p>
+	 *
+	 * <p>
+	 * If {@link BoofConcurrency#USE_CONCURRENT} is true then the destination features are split up between
+	 * threads.  Only the search is concurrent and building the tree is not, so at best the search time is divided
+	 * by the number of threads.  Use {@link #kdForest(Class, int, int, long)} to trade speed for accuracy.
+	 * </p>
+	 *
+	 * @param tupleType Type of descriptor being associated
+	 * @return Association using approximate nearest neighbor
+	 */
+	public static <D> AssociateDescription<D> kdForest( Class<D> tupleType ) {
+		return kdForest(tupleType, 16, 1, 234);
+	}
+
+	/**
+	 * Approximate association using a forest of randomized K-D trees which are searched together.  Supports
+	 * {@link TupleDesc_F64} and {@link TupleDesc_F32}. Works well for descriptors with a high degree of freedom,
+	 * such as SIFT and SURF.  The threshold is the Euclidean distance and the fit score is the Euclidean
+	 * distance squared.  See {@link #kdForest(Class)} for how the default settings perform. Concurrency is
+	 * turned on if {@link BoofConcurrency#USE_CONCURRENT} is true.
+	 *
+	 * @see AssociateDescriptorIndex
+	 * @see KdForestSearch
+	 *
+	 * @param tupleType Type of descriptor being associated
+	 * @param maxChecks Maximum number of descriptors which are checked. Controls speed and accuracy. Try 16.
+	 *                  If &le; 0 then the search is exact.
+	 * @param numTrees Number of trees in the forest.  Try 1 to 4
+	 * @param randomSeed Seed used by random number generator
+	 * @return Association using approximate nearest neighbor
+	 */
+	public static <D> AssociateDescription<D> kdForest( Class<D> tupleType ,
+														int maxChecks ,
+														int numTrees ,
+														long randomSeed ) {
+		return kdForest(tupleType, maxChecks, numTrees, randomSeed, BoofConcurrency.USE_CONCURRENT);
+	}
+
+	/**
+	 * Approximate association using a forest of randomized K-D trees.  See
+	 * {@link #kdForest(Class, int, int, long)}.
+	 *
+	 * @param concurrent If true then destination features will be searched for by multiple threads
+	 */
+	public static <D> AssociateDescription<D> kdForest( Class<D> tupleType ,
+														int maxChecks ,
+														int numTrees ,
+														long randomSeed ,
+														boolean concurrent ) {
+		EuclideanSearch search = new KdForestSearch(numTrees, 5, maxChecks, new Random(randomSeed));
+		return new AssociateDescriptorIndex<>(euclideanIndex(tupleType, search), concurrent);
+	}
+
+	/**
+	 * Approximate association using a hierarchical k-means tree.  Supports {@link TupleDesc_F64} and
+	 * {@link TupleDesc_F32}. Works well for descriptors with a high degree of freedom, such as SIFT and SURF.
+	 * The threshold is the Euclidean distance and the fit score is the Euclidean distance squared.  Concurrency is
+	 * turned on if {@link BoofConcurrency#USE_CONCURRENT} is true.
+	 *
+	 * @see AssociateDescriptorIndex
+	 * @see KMeansTreeSearch
+	 *
+	 * @param tupleType Type of descriptor being associated
+	 * @param maxChecks Maximum number of distances computed, to descriptors and cluster centers. Controls speed and
+	 *                  accuracy. Try 128. If &le; 0 then the search is exact.
+	 * @param branching Number of clusters in each node of the tree.  Try 16
+	 * @param randomSeed Seed used by random number generator
+	 * @return Association using approximate nearest neighbor
+	 */
+	public static <D> AssociateDescription<D> kmeansTree( Class<D> tupleType ,
+														  int maxChecks ,
+														  int branching ,
+														  long randomSeed ) {
+		return kmeansTree(tupleType, maxChecks, branching, randomSeed, BoofConcurrency.USE_CONCURRENT);
+	}
+
+	/**
+	 * Approximate association using a hierarchical k-means tree.  See
+	 * {@link #kmeansTree(Class, int, int, long)}.
+	 *
+	 * @param concurrent If true then destination features will be searched for by multiple threads
+	 */
+	public static <D> AssociateDescription<D> kmeansTree( Class<D> tupleType ,
+														  int maxChecks ,
+														  int branching ,
+														  long randomSeed ,
+														  boolean concurrent ) {
+		EuclideanSearch search = new KMeansTreeSearch(branching, 7, maxChecks, new Random(randomSeed));
+		return new AssociateDescriptorIndex<>(euclideanIndex(tupleType, search), concurrent);
+	}
+
+	private static <D> DescriptorIndex<D> euclideanIndex( Class<D> tupleType , EuclideanSearch search ) {
+		if( TupleDesc_F64.class.isAssignableFrom(tupleType) ) {
+			return (DescriptorIndex)new EuclideanDescriptorIndex.F64(search);
+		} else if( tupleType == TupleDesc_F32.class ) {
+			return (DescriptorIndex)new EuclideanDescriptorIndex.F32(search);
+		} else {
+			throw new IllegalArgumentException("Euclidean index not supported for type "+tupleType.getSimpleName());
+		}
+	}
+
+	/**
+	 * Association for binary descriptors using multi-index hashing.  Supports {@link TupleDesc_B} and
+	 * {@link TupleDesc_B64}.  Exact unless the maximum number of checks is exceeded. The threshold and fit score
+	 * are the Hamming distance.  Concurrency is turned on if {@link BoofConcurrency#USE_CONCURRENT} is true.
+	 *
+	 * @see AssociateDescriptorIndex
+	 * @see MultiIndexHashing
+	 *
+	 * @param tupleType Type of descriptor being associated
+	 * @param maxChecks Maximum number of descriptors which are checked. Controls speed and accuracy. Try 200.
+	 *                  If &le; 0 then the search is exact.
+	 * @param numTables Number of hash tables the bits are split between. If &le; 0 it's selected automatically.
+	 * @return Association using hashing
+	 */
+	public static <D> AssociateDescription<D> multiIndexHashing( Class<D> tupleType ,
+																 int maxChecks ,
+																 int numTables ) {
+		return multiIndexHashing(tupleType, maxChecks, numTables, BoofConcurrency.USE_CONCURRENT);
+	}
+
+	/**
+	 * Association for binary descriptors using multi-index hashing.  See
+	 * {@link #multiIndexHashing(Class, int, int)}.
+	 *
+	 * @param concurrent If true then destination features will be searched for by multiple threads
+	 */
+	public static <D> AssociateDescription<D> multiIndexHashing( Class<D> tupleType ,
+																 int maxChecks ,
+																 int numTables ,
+																 boolean concurrent ) {
+		DescriptorIndex index;
+		if( tupleType == TupleDesc_B.class ) {
+			index = new MultiIndexHashing.B(numTables, maxChecks);
+		} else if( tupleType == TupleDesc_B64.class ) {
+			index = new MultiIndexHashing.B64(numTables, maxChecks);
+		} else {
+			throw new IllegalArgumentException("Multi-index hashing not supported for type "+tupleType.getSimpleName());
+		}
+		return new AssociateDescriptorIndex<D>(index, concurrent);
+	}
+
 	/**
 	 * Given a feature descriptor type it returns a "reasonable" default {@link ScoreAssociation}.
 	 *
@@ -117,6 +330,8 @@ public class FactoryAssociation {
 			return (ScoreAssociation)new ScoreAssociateSad_U8();
 		} else if( tupleType == TupleDesc_B.class  ) {
 			return (ScoreAssociation)new ScoreAssociateHamming_B();
+		} else if( tupleType == TupleDesc_B64.class  ) {
+			return (ScoreAssociation)new ScoreAssociateHamming_B64();
 		} else {
 			throw new IllegalArgumentException("Unknown tuple type: "+tupleType);
 		}
@@ -185,6 +400,8 @@ public class FactoryAssociation {
 	ScoreAssociation<D> scoreHamming( Class<D> tupleType ) {
 		if( tupleType == TupleDesc_B.class ) {
 			return (ScoreAssociation)new ScoreAssociateHamming_B();
+		} else if( tupleType == TupleDesc_B64.class ) {
+			return (ScoreAssociation)new ScoreAssociateHamming_B64();
 		}
 
 		throw new IllegalArgumentException("Hamming distance not yet supported for type "+tupleType.getSimpleName());
@@ -25,8 +25,10 @@ import boofcv.alg.feature.dense.BaseDenseHog;
 import boofcv.alg.feature.dense.DescribeDenseHogAlg;
 import boofcv.alg.feature.dense.DescribeDenseHogFastAlg;
 import boofcv.alg.feature.dense.DescribeDenseSiftAlg;
+import boofcv.alg.feature.dense.DescribeDenseSiftAlg_MT;
 import boofcv.alg.feature.describe.DescribePointSurf;
 import boofcv.alg.filter.derivative.GImageDerivativeOps;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.factory.feature.describe.FactoryDescribeRegionPoint;
 import boofcv.struct.BoofDefaults;
 import boofcv.struct.feature.TupleDesc_F64;
@@ -108,6 +110,22 @@ public class FactoryDescribeImageDense {
 	 */
 	public static <T extends ImageGray<T>>
 	DescribeImageDense<T,TupleDesc_F64> sift(ConfigDenseSift config , Class<T> imageType ) {
+		return sift(config, imageType, BoofConcurrency.USE_CONCURRENT);
+	}
+
+	/**
+	 * Creates a dense SIFT descriptor.
+	 *
+	 * @see DescribeDenseSiftAlg
+	 * @see DescribeDenseSiftAlg_MT
+	 *
+	 * @param config Configuration for SIFT descriptor. null for defaults.
+	 * @param imageType Type of input image
+	 * @param concurrent If true then rows of pixels and descriptors will be processed by multiple threads
+	 * @return Dense SIFT
+	 */
+	public static <T extends ImageGray<T>>
+	DescribeImageDense<T,TupleDesc_F64> sift(ConfigDenseSift config , Class<T> imageType , boolean concurrent ) {
 		if( config == null )
 			config = new ConfigDenseSift();
 
@@ -117,8 +135,14 @@ public class FactoryDescribeImageDense {
 
 		Class derivType = GImageDerivativeOps.getDerivativeType(imageType);
 
-		DescribeDenseSiftAlg alg = new DescribeDenseSiftAlg(c.widthSubregion,c.widthGrid,
-				c.numHistogramBins,c.weightingSigmaFraction,c.maxDescriptorElementValue,1,1,derivType);
+		DescribeDenseSiftAlg alg;
+		if( concurrent ) {
+			alg = new DescribeDenseSiftAlg_MT(c.widthSubregion,c.widthGrid,
+					c.numHistogramBins,c.weightingSigmaFraction,c.maxDescriptorElementValue,1,1,derivType);
+		} else {
+			alg = new DescribeDenseSiftAlg(c.widthSubregion,c.widthGrid,
+					c.numHistogramBins,c.weightingSigmaFraction,c.maxDescriptorElementValue,1,1,derivType);
+		}
 
 		return new DescribeImageDenseSift(alg,config.sampling.periodX,config.sampling.periodY,imageType);
 	}
@@ -136,6 +160,22 @@ public class FactoryDescribeImageDense {
 	 */
 	public static <T extends ImageBase<T>>
 	DescribeImageDense<T,TupleDesc_F64> hog(ConfigDenseHoG config , ImageType<T> imageType ) {
+		return hog(config, imageType, BoofConcurrency.USE_CONCURRENT);
+	}
+
+	/**
+	 * Creates a dense HOG descriptor.
+	 *
+	 * @see DescribeDenseHogFastAlg
+	 * @see DescribeDenseHogAlg
+	 *
+	 * @param config Configuration for HOG descriptor.  Can't be null.
+	 * @param imageType Type of input image.  Can be single band or planar
+	 * @param concurrent If true then cells and blocks will be processed by multiple threads
+	 * @return Dense HOG extractor
+	 */
+	public static <T extends ImageBase<T>>
+	DescribeImageDense<T,TupleDesc_F64> hog(ConfigDenseHoG config , ImageType<T> imageType , boolean concurrent ) {
 		if( config == null )
 			config = new ConfigDenseHoG();
 
@@ -150,9 +190,9 @@ public class FactoryDescribeImageDense {
 
 		BaseDenseHog hog;
 		if( config.fastVariant ) {
-			hog = FactoryDescribeImageDenseAlg.hogFast(config, actualType);
+			hog = FactoryDescribeImageDenseAlg.hogFast(config, actualType, concurrent);
 		} else {
-			hog = FactoryDescribeImageDenseAlg.hog(config, actualType);
+			hog = FactoryDescribeImageDenseAlg.hog(config, actualType, concurrent);
 		}
 
 		DescribeImageDenseHoG output = new DescribeImageDenseHoG(hog);
@@ -19,7 +19,10 @@
 package boofcv.factory.feature.dense;
 
 import boofcv.alg.feature.dense.DescribeDenseHogAlg;
+import boofcv.alg.feature.dense.DescribeDenseHogAlg_MT;
 import boofcv.alg.feature.dense.DescribeDenseHogFastAlg;
+import boofcv.alg.feature.dense.DescribeDenseHogFastAlg_MT;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.image.ImageBase;
 import boofcv.struct.image.ImageType;
 
@@ -33,19 +36,53 @@ public class FactoryDescribeImageDenseAlg {
 
 	public static <T extends ImageBase<T>>
 	DescribeDenseHogAlg<T> hog(ConfigDenseHoG config , ImageType<T> imageType ) {
-		config.checkValidity();
+		return hog(config, imageType, BoofConcurrency.USE_CONCURRENT);
+	}
 
-		return new DescribeDenseHogAlg<>(config.orientationBins, config.pixelsPerCell,
-				config.cellsPerBlockX, config.cellsPerBlockY,
-				config.stepBlock, imageType);
+	/**
+	 * Creates the standard HOG algorithm
+	 *
+	 * @param config Configuration for HOG
+	 * @param imageType Type of input image
+	 * @param concurrent If true then rows of pixels and blocks will be processed by multiple threads
+	 */
+	public static <T extends ImageBase<T>>
+	DescribeDenseHogAlg<T> hog(ConfigDenseHoG config , ImageType<T> imageType , boolean concurrent ) {
+		config.checkValidity();
 
+		if( concurrent ) {
+			return new DescribeDenseHogAlg_MT<>(config.orientationBins, config.pixelsPerCell,
+					config.cellsPerBlockX, config.cellsPerBlockY,
+					config.stepBlock, imageType);
+		} else {
+			return new DescribeDenseHogAlg<>(config.orientationBins, config.pixelsPerCell,
+					config.cellsPerBlockX, config.cellsPerBlockY,
+					config.stepBlock, imageType);
+		}
 	}
 
 	public static <T extends ImageBase<T>>
 	DescribeDenseHogFastAlg<T> hogFast(ConfigDenseHoG config , ImageType<T> imageType ) {
+		return hogFast(config, imageType, BoofConcurrency.USE_CONCURRENT);
+	}
+
+	/**
+	 * Creates the fast HOG variant
+	 *
+	 * @param config Configuration for HOG
+	 * @param imageType Type of input image
+	 * @param concurrent If true then rows of cells and blocks will be processed by multiple threads
+	 */
+	public static <T extends ImageBase<T>>
+	DescribeDenseHogFastAlg<T> hogFast(ConfigDenseHoG config , ImageType<T> imageType , boolean concurrent ) {
 		config.checkValidity();
 
-		return new DescribeDenseHogFastAlg(config.orientationBins,config.pixelsPerCell
-							,config.cellsPerBlockX,config.cellsPerBlockY,config.stepBlock, imageType);
+		if( concurrent ) {
+			return new DescribeDenseHogFastAlg_MT(config.orientationBins,config.pixelsPerCell
+					,config.cellsPerBlockX,config.cellsPerBlockY,config.stepBlock, imageType);
+		} else {
+			return new DescribeDenseHogFastAlg(config.orientationBins,config.pixelsPerCell
+					,config.cellsPerBlockX,config.cellsPerBlockY,config.stepBlock, imageType);
+		}
 	}
 }
@@ -163,7 +163,7 @@ public class FactoryDescribeRegionPoint {
 		configSS.checkValidity();
 
 		SiftScaleSpace ss = new SiftScaleSpace(configSS.firstOctave, configSS.lastOctave, configSS.numScales,
-				configSS.sigma0);
+				configSS.sigma0,configSS.retainAllScales);
 
 		DescribePointSift<GrayF32> alg = FactoryDescribePointAlgs.sift(configDescribe,GrayF32.class);
 
@@ -200,6 +200,36 @@ public class FactoryDescribeRegionPoint {
 		}
 	}
 
+	/**
+	 * <p>
+	 * Creates a BRIEF descriptor which is stored in 64-bit words.  Identical to
+	 * {@link #brief(ConfigBrief, Class)} but the Hamming distance between descriptors can be computed faster.
+	 * </p>
+	 *
+	 * @see TupleDesc_B64
+	 *
+	 * @param config Configuration for BRIEF descriptor.  If null then default is used.
+	 * @param imageType Type of gray scale image it processes.
+	 * @return BRIEF descriptor
+	 */
+	public static <T extends ImageGray<T>>
+	DescribeRegionPoint<T,TupleDesc_B64> brief64( ConfigBrief config , Class<T> imageType)
+	{
+		if( config == null )
+			config = new ConfigBrief();
+		config.checkValidity();
+
+		BlurFilter<T> filter = FactoryBlurFilter.gaussian(ImageType.single(imageType),config.blurSigma,config.blurRadius);
+		BinaryCompareDefinition_I32 definition =
+				FactoryBriefDefinition.gaussian2(new Random(123), config.radius, config.numPoints);
+
+		if( config.fixed) {
+			return new WrapDescribeBrief64<>(FactoryDescribePointAlgs.brief(definition, filter), imageType);
+		} else {
+			return new WrapDescribeBriefSo64<>(FactoryDescribePointAlgs.briefso(definition, filter), imageType);
+		}
+	}
+
 	/**
 	 * Creates a region descriptor based on pixel intensity values alone.  A classic and fast to compute
 	 * descriptor, but much less stable than more modern ones.
@@ -34,11 +34,14 @@ import boofcv.alg.feature.describe.DescribePointSurf;
 import boofcv.alg.feature.describe.DescribePointSurfMod;
 import boofcv.alg.feature.describe.DescribePointSurfPlanar;
 import boofcv.alg.feature.detdesc.CompleteSift;
+import boofcv.alg.feature.detdesc.CompleteSift_MT;
 import boofcv.alg.feature.detdesc.DetectDescribeSurfPlanar;
 import boofcv.alg.feature.detect.interest.FastHessianFeatureDetector;
+import boofcv.alg.feature.detect.interest.FastHessianFeatureDetector_MT;
 import boofcv.alg.feature.detect.interest.SiftScaleSpace;
 import boofcv.alg.feature.orientation.OrientationHistogramSift;
 import boofcv.alg.transform.ii.GIntegralImageOps;
+import boofcv.concurrency.ObjectFactory;
 import boofcv.factory.feature.describe.FactoryDescribePointAlgs;
 import boofcv.factory.feature.detect.extract.FactoryFeatureExtractor;
 import boofcv.factory.feature.detect.interest.FactoryInterestPointAlgs;
@@ -67,27 +70,62 @@ public class FactoryDetectDescribe {
 	 */
 	public static <T extends ImageGray<T>>
 	DetectDescribePoint<T,BrightFeature> sift(ConfigCompleteSift config )
+	{
+		if( config == null )
+			config = new ConfigCompleteSift();
+		return sift(config, config.concurrent);
+	}
+
+	/**
+	 * Creates a new SIFT feature detector and describer.  See {@link #sift(ConfigCompleteSift)}.
+	 *
+	 * @see CompleteSift_MT
+	 *
+	 * @param config Configuration for the SIFT detector and descriptor.
+	 * @param concurrent If true then the key points in each scale will be described by multiple threads.
+	 *                   Overrides {@link ConfigCompleteSift#concurrent}.
+	 * @return SIFT
+	 */
+	public static <T extends ImageGray<T>>
+	DetectDescribePoint<T,BrightFeature> sift(ConfigCompleteSift config , boolean concurrent )
 	{
 		if( config == null )
 			config = new ConfigCompleteSift();
 
 		ConfigSiftScaleSpace configSS = config.scaleSpace;
 		ConfigSiftDetector configDetector = config.detector;
-		ConfigSiftOrientation configOri = config.orientation;
-		ConfigSiftDescribe configDesc = config.describe;
+		final ConfigSiftOrientation configOri = config.orientation;
+		final ConfigSiftDescribe configDesc = config.describe;
 
 		SiftScaleSpace scaleSpace = new SiftScaleSpace(
-				configSS.firstOctave,configSS.lastOctave,configSS.numScales,configSS.sigma0);
-		OrientationHistogramSift<GrayF32> orientation = new OrientationHistogramSift<>(
-				configOri.histogramSize,configOri.sigmaEnlarge,GrayF32.class);
-		DescribePointSift<GrayF32> describe = new DescribePointSift<>(
-				configDesc.widthSubregion,configDesc.widthGrid, configDesc.numHistogramBins,
-				configDesc.sigmaToPixels, configDesc.weightingSigmaFraction,
-				configDesc.maxDescriptorElementValue,GrayF32.class);
+				configSS.firstOctave,configSS.lastOctave,configSS.numScales,configSS.sigma0,configSS.retainAllScales);
+		ObjectFactory<OrientationHistogramSift<GrayF32>> factoryOrientation =
+				new ObjectFactory<OrientationHistogramSift<GrayF32>>() {
+			@Override
+			public OrientationHistogramSift<GrayF32> newInstance() {
+				return new OrientationHistogramSift<>(
+						configOri.histogramSize,configOri.sigmaEnlarge,GrayF32.class);
+			}
+		};
+		ObjectFactory<DescribePointSift<GrayF32>> factoryDescribe = new ObjectFactory<DescribePointSift<GrayF32>>() {
+			@Override
+			public DescribePointSift<GrayF32> newInstance() {
+				return new DescribePointSift<>(
+						configDesc.widthSubregion,configDesc.widthGrid, configDesc.numHistogramBins,
+						configDesc.sigmaToPixels, configDesc.weightingSigmaFraction,
+						configDesc.maxDescriptorElementValue,GrayF32.class);
+			}
+		};
 
 		NonMaxSuppression nns = FactoryFeatureExtractor.nonmax(configDetector.extract);
 		NonMaxLimiter nonMax = new NonMaxLimiter(nns,configDetector.maxFeaturesPerScale);
-		CompleteSift dds = new CompleteSift(scaleSpace,configDetector.edgeR,nonMax,orientation,describe);
+		CompleteSift dds;
+		if( concurrent ) {
+			dds = new CompleteSift_MT(scaleSpace,configDetector.edgeR,nonMax,factoryOrientation,factoryDescribe);
+		} else {
+			dds = new CompleteSift(scaleSpace,configDetector.edgeR,nonMax,
+					factoryOrientation.newInstance(),factoryDescribe.newInstance());
+		}
 		return new DetectDescribe_CompleteSift<>(dds);
 	}
 
@@ -116,14 +154,52 @@ public class FactoryDetectDescribe {
 												  ConfigSurfDescribe.Speed configDesc,
 												  ConfigAverageIntegral configOrientation,
 												  Class<T> imageType) {
+		if( configDetector == null )
+			configDetector = new ConfigFastHessian();
+		return surfFast(configDetector, configDesc, configOrientation, imageType, configDetector.concurrent);
+	}
+
+	/**
+	 * Creates a SURF descriptor designed for speed.  See
+	 * {@link #surfFast(ConfigFastHessian, ConfigSurfDescribe.Speed, ConfigAverageIntegral, Class)}.
+	 *
+	 * @see FastHessianFeatureDetector_MT
+	 * @see WrapDetectDescribeSurf_MT
+	 *
+	 * @param concurrent If true then detection and description will be done by multiple threads.
+	 *                   Overrides {@link ConfigFastHessian#concurrent}.
+	 */
+	public static <T extends ImageGray<T>, II extends ImageGray<II>>
+	DetectDescribePoint<T,BrightFeature> surfFast(ConfigFastHessian configDetector ,
+												  final ConfigSurfDescribe.Speed configDesc,
+												  final ConfigAverageIntegral configOrientation,
+												  Class<T> imageType,
+												  boolean concurrent ) {
 
-		Class<II> integralType = GIntegralImageOps.getIntegralType(imageType);
+		final Class<II> integralType = GIntegralImageOps.getIntegralType(imageType);
 
-		FastHessianFeatureDetector<II> detector = FactoryInterestPointAlgs.fastHessian(configDetector);
-		DescribePointSurf<II> describe = FactoryDescribePointAlgs.surfSpeed(configDesc, integralType);
-		OrientationIntegral<II> orientation = FactoryOrientationAlgs.average_ii(configOrientation, integralType);
+		FastHessianFeatureDetector<II> detector = FactoryInterestPointAlgs.fastHessian(configDetector,concurrent);
+
+		if( concurrent ) {
+			return new WrapDetectDescribeSurf_MT<>(detector,
+					new ObjectFactory<OrientationIntegral<II>>() {
+						@Override
+						public OrientationIntegral<II> newInstance() {
+							return FactoryOrientationAlgs.average_ii(configOrientation, integralType);
+						}
+					},
+					new ObjectFactory<DescribePointSurf<II>>() {
+						@Override
+						public DescribePointSurf<II> newInstance() {
+							return FactoryDescribePointAlgs.surfSpeed(configDesc, integralType);
+						}
+					});
+		} else {
+			DescribePointSurf<II> describe = FactoryDescribePointAlgs.surfSpeed(configDesc, integralType);
+			OrientationIntegral<II> orientation = FactoryOrientationAlgs.average_ii(configOrientation, integralType);
 
-		return new WrapDetectDescribeSurf<>(detector, orientation, describe);
+			return new WrapDetectDescribeSurf<>(detector, orientation, describe);
+		}
 	}
 
 	/**
@@ -194,14 +270,52 @@ public class FactoryDetectDescribe {
 													ConfigSurfDescribe.Stability configDescribe,
 													ConfigSlidingIntegral configOrientation,
 													Class<T> imageType ) {
+		if( configDetector == null )
+			configDetector = new ConfigFastHessian();
+		return surfStable(configDetector, configDescribe, configOrientation, imageType, configDetector.concurrent);
+	}
 
-		Class<II> integralType = GIntegralImageOps.getIntegralType(imageType);
+	/**
+	 * Creates a SURF descriptor designed for stability.  See
+	 * {@link #surfStable(ConfigFastHessian, ConfigSurfDescribe.Stability, ConfigSlidingIntegral, Class)}.
+	 *
+	 * @see FastHessianFeatureDetector_MT
+	 * @see WrapDetectDescribeSurf_MT
+	 *
+	 * @param concurrent If true then detection and description will be done by multiple threads.
+	 *                   Overrides {@link ConfigFastHessian#concurrent}.
+	 */
+	public static <T extends ImageGray<T>, II extends ImageGray<II>>
+	DetectDescribePoint<T,BrightFeature> surfStable(ConfigFastHessian configDetector,
+													final ConfigSurfDescribe.Stability configDescribe,
+													final ConfigSlidingIntegral configOrientation,
+													Class<T> imageType,
+													boolean concurrent ) {
 
-		FastHessianFeatureDetector<II> detector = FactoryInterestPointAlgs.fastHessian(configDetector);
-		DescribePointSurfMod<II> describe = FactoryDescribePointAlgs.surfStability(configDescribe, integralType);
-		OrientationIntegral<II> orientation = FactoryOrientationAlgs.sliding_ii(configOrientation, integralType);
+		final Class<II> integralType = GIntegralImageOps.getIntegralType(imageType);
+
+		FastHessianFeatureDetector<II> detector = FactoryInterestPointAlgs.fastHessian(configDetector,concurrent);
 
-		return new WrapDetectDescribeSurf( detector, orientation, describe );
+		if( concurrent ) {
+			return new WrapDetectDescribeSurf_MT<>(detector,
+					new ObjectFactory<OrientationIntegral<II>>() {
+						@Override
+						public OrientationIntegral<II> newInstance() {
+							return FactoryOrientationAlgs.sliding_ii(configOrientation, integralType);
+						}
+					},
+					new ObjectFactory<DescribePointSurf<II>>() {
+						@Override
+						public DescribePointSurf<II> newInstance() {
+							return FactoryDescribePointAlgs.surfStability(configDescribe, integralType);
+						}
+					});
+		} else {
+			DescribePointSurfMod<II> describe = FactoryDescribePointAlgs.surfStability(configDescribe, integralType);
+			OrientationIntegral<II> orientation = FactoryOrientationAlgs.sliding_ii(configOrientation, integralType);
+
+			return new WrapDetectDescribeSurf( detector, orientation, describe );
+		}
 	}
 
 	/**
@@ -22,6 +22,8 @@ import boofcv.abst.feature.detect.extract.*;
 import boofcv.abst.feature.detect.intensity.GeneralFeatureIntensity;
 import boofcv.alg.feature.detect.extract.*;
 import boofcv.alg.feature.detect.interest.GeneralFeatureDetector;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.ObjectFactory;
 import boofcv.struct.image.ImageGray;
 
 /**
@@ -58,28 +60,38 @@ public class FactoryFeatureExtractor {
 	 * @return A feature extractor.
 	 */
 	public static NonMaxSuppression nonmax( ConfigExtract config ) {
+		return nonmax(config, BoofConcurrency.USE_CONCURRENT);
+	}
+
+	/**
+	 * Standard non-max feature extractor.
+	 *
+	 * @see NonMaxBlock_MT
+	 *
+	 * @param config Configuration for extractor
+	 * @param concurrent If true then rows of blocks will be searched by multiple threads
+	 * @return A feature extractor.
+	 */
+	public static NonMaxSuppression nonmax( ConfigExtract config , boolean concurrent ) {
 
 		if( config == null )
 			config = new ConfigExtract();
 		config.checkValidity();
 
+		final boolean strict = config.useStrictRule;
+		final boolean minimums = config.detectMinimums;
+		final boolean maximums = config.detectMaximums;
+
 		NonMaxBlock ret;
-		if (config.useStrictRule) {
-			if( config.detectMaximums)
-				if( config.detectMinimums )
-					ret = new NonMaxBlockStrict.MinMax();
-				else
-					ret = new NonMaxBlockStrict.Max();
-			else
-				ret = new NonMaxBlockStrict.Min();
+		if( concurrent ) {
+			ret = new NonMaxBlock_MT(new ObjectFactory<NonMaxBlock>() {
+				@Override
+				public NonMaxBlock newInstance() {
+					return createNonMaxBlock(strict, minimums, maximums);
+				}
+			});
 		} else {
-			if( config.detectMaximums)
-				if( config.detectMinimums )
-					ret = new NonMaxBlockRelaxed.MinMax();
-				else
-					ret = new NonMaxBlockRelaxed.Max();
-			else
-				ret = new NonMaxBlockRelaxed.Min();
+			ret = createNonMaxBlock(strict, minimums, maximums);
 		}
 
 		ret.setSearchRadius(config.radius);
@@ -90,6 +102,29 @@ public class FactoryFeatureExtractor {
 		return new WrapperNonMaximumBlock(ret);
 	}
 
+	/**
+	 * Creates the single threaded block algorithm for the type of local extremes and rule
+	 */
+	private static NonMaxBlock createNonMaxBlock( boolean strict , boolean minimums , boolean maximums ) {
+		if (strict) {
+			if( maximums )
+				if( minimums )
+					return new NonMaxBlockStrict.MinMax();
+				else
+					return new NonMaxBlockStrict.Max();
+			else
+				return new NonMaxBlockStrict.Min();
+		} else {
+			if( maximums )
+				if( minimums )
+					return new NonMaxBlockRelaxed.MinMax();
+				else
+					return new NonMaxBlockRelaxed.Max();
+			else
+				return new NonMaxBlockRelaxed.Min();
+		}
+	}
+
 	/**
 	 * Non-max feature extractor which saves a candidate list of all the found local maximums..
 	 *
@@ -26,7 +26,10 @@ import boofcv.abst.filter.blur.BlurStorageFilter;
 import boofcv.alg.feature.detect.intensity.FastCornerIntensity;
 import boofcv.alg.feature.detect.intensity.GradientCornerIntensity;
 import boofcv.alg.feature.detect.intensity.HessianBlobIntensity;
+import boofcv.alg.feature.detect.interest.FastCornerDetector;
+import boofcv.alg.feature.detect.interest.FastCornerDetector_MT;
 import boofcv.alg.feature.detect.interest.GeneralFeatureDetector;
+import boofcv.concurrency.ObjectFactory;
 import boofcv.factory.feature.detect.extract.FactoryFeatureExtractor;
 import boofcv.factory.feature.detect.intensity.FactoryIntensityPoint;
 import boofcv.factory.feature.detect.intensity.FactoryIntensityPointAlg;
@@ -111,8 +114,8 @@ public class FactoryDetectPoint {
 	 * @param configDetector Configuration for feature extractor.
 	 * @param imageType       Type of input image.
 	 * @see FastCornerIntensity
+	 * @see #createFastFused
 	 */
-	@SuppressWarnings("UnnecessaryLocalVariable")
 	public static <T extends ImageGray<T>, D extends ImageGray<D>>
 	GeneralFeatureDetector<T, D> createFast( ConfigFast configFast ,
 											 ConfigGeneralDetector configDetector , Class<T> imageType) {
@@ -127,9 +130,60 @@ public class FactoryDetectPoint {
 		GeneralFeatureIntensity<T, D> intensity = new WrapperFastCornerIntensity<>(alg);
 		ConfigGeneralDetector configExtract =
 				new ConfigGeneralDetector(d.maxFeatures,d.radius,d.threshold,0,true,false,true);
+		configExtract.gridRows = d.gridRows;
+		configExtract.gridCols = d.gridCols;
+		configExtract.maxFeaturesPerCell = d.maxFeaturesPerCell;
 		return createGeneral(intensity, configExtract);
 	}
 
+	/**
+	 * Creates a Fast corner detector where the segment test and non-maximum suppression are fused together
+	 * so that an intensity image is never computed.  It finds the same corners as {@link #createFast} but
+	 * {@link GeneralFeatureDetector#getIntensity()} returns null, so it can't be used where the intensity image
+	 * is needed, e.g. by feature pyramids.
+	 *
+	 * @see FastCornerDetector
+	 * @see FastCornerDetector_MT
+	 *
+	 * @param configFast Configuration for FAST feature detector
+	 * @param configDetector Configuration for feature extractor.
+	 * @param imageType       Type of input image.
+	 * @param concurrent If true then rows will be scanned by multiple threads
+	 */
+	public static <T extends ImageGray<T>, D extends ImageGray<D>>
+	FastCornerDetector<T, D> createFastFused( ConfigFast configFast ,
+											  ConfigGeneralDetector configDetector ,
+											  final Class<T> imageType, boolean concurrent ) {
+
+		if( configFast == null )
+			configFast = new ConfigFast();
+		configFast.checkValidity();
+		if( configDetector == null )
+			configDetector = new ConfigGeneralDetector();
+
+		final int pixelTol = configFast.pixelTol;
+		final int minContinuous = configFast.minContinuous;
+		ObjectFactory<FastCornerIntensity<T>> factory = new ObjectFactory<FastCornerIntensity<T>>() {
+			@Override
+			public FastCornerIntensity<T> newInstance() {
+				return FactoryIntensityPointAlg.fast(pixelTol, minContinuous, imageType);
+			}
+		};
+
+		ConfigGeneralDetector d = configDetector;
+		FastCornerDetector<T, D> det;
+		if( concurrent )
+			det = new FastCornerDetector_MT<>(factory, d.radius, d.threshold);
+		else
+			det = new FastCornerDetector<>(factory, d.radius, d.threshold);
+
+		det.setMaxFeatures(d.maxFeatures);
+		det.setGrid(d.gridRows, d.gridCols);
+		det.setMaxFeaturesPerCell(d.maxFeaturesPerCell);
+
+		return det;
+	}
+
 	/**
 	 * Creates a median filter corner detector.
 	 *
@@ -180,6 +234,8 @@ public class FactoryDetectPoint {
 		NonMaxSuppression extractor = FactoryFeatureExtractor.nonmax(config);
 		GeneralFeatureDetector<T, D> det = new GeneralFeatureDetector<>(intensity, extractor);
 		det.setMaxFeatures(config.maxFeatures);
+		det.setGrid(config.gridRows, config.gridCols);
+		det.setMaxFeaturesPerCell(config.maxFeaturesPerCell);
 
 		return det;
 	}
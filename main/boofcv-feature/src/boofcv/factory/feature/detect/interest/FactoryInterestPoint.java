@@ -139,7 +139,7 @@ public class FactoryInterestPoint {
 			configDet = new ConfigSiftDetector();
 
 		SiftScaleSpace scaleSpace =
-				new SiftScaleSpace(configSS.firstOctave,configSS.lastOctave,configSS.numScales,configSS.sigma0);
+				new SiftScaleSpace(configSS.firstOctave,configSS.lastOctave,configSS.numScales,configSS.sigma0,configSS.retainAllScales);
 		NonMaxSuppression nonmax = FactoryFeatureExtractor.nonmax(configDet.extract);
 		NonMaxLimiter limiter = new NonMaxLimiter(nonmax,configDet.maxFeaturesPerScale);
 		SiftDetector detector = new SiftDetector(scaleSpace,configDet.edgeR,limiter);
@@ -167,6 +167,19 @@ public class FactoryInterestPointAlgs {
 	 */
 	public static <II extends ImageGray<II>>
 	FastHessianFeatureDetector<II> fastHessian( ConfigFastHessian config ) {
+		if( config == null )
+			config = new ConfigFastHessian();
+		return fastHessian(config, config.concurrent);
+	}
+
+	/**
+	 * Creates a Fast Hessian blob detector used by SURF.  See {@link #fastHessian(ConfigFastHessian)}.
+	 *
+	 * @param concurrent If true then the feature intensity for each size in an octave will be computed
+	 *                   by multiple threads.  Overrides {@link ConfigFastHessian#concurrent}.
+	 */
+	public static <II extends ImageGray<II>>
+	FastHessianFeatureDetector<II> fastHessian( ConfigFastHessian config , boolean concurrent ) {
 
 		if( config == null )
 			config = new ConfigFastHessian();
@@ -175,9 +188,15 @@ public class FactoryInterestPointAlgs {
 		// ignore border is overwritten by Fast Hessian at detection time
 		NonMaxSuppression extractor = FactoryFeatureExtractor.nonmax(
 				new ConfigExtract(config.extractRadius, config.detectThreshold, 0, true));
-		return new FastHessianFeatureDetector<>(extractor, config.maxFeaturesPerScale,
-				config.initialSampleSize, config.initialSize, config.numberScalesPerOctave,
-				config.numberOfOctaves, config.scaleStepSize);
+		if( concurrent ) {
+			return new FastHessianFeatureDetector_MT<>(extractor, config.maxFeaturesPerScale,
+					config.initialSampleSize, config.initialSize, config.numberScalesPerOctave,
+					config.numberOfOctaves, config.scaleStepSize);
+		} else {
+			return new FastHessianFeatureDetector<>(extractor, config.maxFeaturesPerScale,
+					config.initialSampleSize, config.initialSize, config.numberScalesPerOctave,
+					config.numberOfOctaves, config.scaleStepSize);
+		}
 	}
 
 	/**
@@ -194,7 +213,7 @@ public class FactoryInterestPointAlgs {
 		NonMaxLimiter nonmax = FactoryFeatureExtractor.nonmaxLimiter(
 				configDetector.extract,configDetector.maxFeaturesPerScale);
 		SiftScaleSpace ss = new SiftScaleSpace(configSS.firstOctave,configSS.lastOctave,
-				configSS.numScales,configSS.sigma0);
+				configSS.numScales,configSS.sigma0,configSS.retainAllScales);
 		return new SiftDetector(ss,configDetector.edgeR,nonmax);
 	}
 }
@@ -19,6 +19,8 @@
 package boofcv.factory.feature.detect.template;
 
 import boofcv.alg.feature.detect.template.*;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.ObjectFactory;
 import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.GrayU8;
 import boofcv.struct.image.ImageGray;
@@ -52,13 +54,7 @@ public class FactoryTemplateMatching {
 				}
 
 			case NCC:
-				if (imageType == GrayU8.class) {
-					return (TemplateMatchingIntensity<T>) new TemplateNCC.U8();
-				} else if (imageType == GrayF32.class) {
-					return (TemplateMatchingIntensity<T>) new TemplateNCC.F32();
-				} else {
-					throw new IllegalArgumentException("Image type not supported. " + imageType.getSimpleName());
-				}
+				return new TemplateNCCFFT<>(createNccDirect(imageType));
 
 			case CORRELATION:
 				if (imageType == GrayF32.class) {
@@ -70,6 +66,20 @@ public class FactoryTemplateMatching {
 		throw new IllegalArgumentException("Type not found: " + type);
 	}
 
+	/**
+	 * Creates an algorithm which computes NCC directly, without the Fourier transform
+	 */
+	private static <T extends ImageGray<T>>
+	TemplateNCC<T> createNccDirect(Class<T> imageType) {
+		if (imageType == GrayU8.class) {
+			return (TemplateNCC<T>) new TemplateNCC.U8();
+		} else if (imageType == GrayF32.class) {
+			return (TemplateNCC<T>) new TemplateNCC.F32();
+		} else {
+			throw new IllegalArgumentException("Image type not supported. " + imageType.getSimpleName());
+		}
+	}
+
 	/**
 	 * Creates an instance of {@link TemplateMatching} for the specified score type.
 	 *
@@ -83,4 +93,39 @@ public class FactoryTemplateMatching {
 
 		return new TemplateMatching<>(intensity);
 	}
+
+	/**
+	 * Creates {@link TemplateMatchingBatch} for searching for many templates inside the same image using NCC.
+	 *
+	 * @param imageType Image type being processed
+	 * @return {@link TemplateMatchingBatch}
+	 */
+	public static <T extends ImageGray<T>>
+	TemplateMatchingBatch<T> createBatchNCC(Class<T> imageType) {
+		return createBatchNCC(imageType, BoofConcurrency.USE_CONCURRENT);
+	}
+
+	/**
+	 * Creates {@link TemplateMatchingBatch} for searching for many templates inside the same image using NCC.
+	 *
+	 * @see TemplateMatchingBatch_MT
+	 *
+	 * @param imageType Image type being processed
+	 * @param concurrent If true then templates will be searched for by multiple threads
+	 * @return {@link TemplateMatchingBatch}
+	 */
+	public static <T extends ImageGray<T>>
+	TemplateMatchingBatch<T> createBatchNCC(final Class<T> imageType, boolean concurrent) {
+		ObjectFactory<TemplateNCCFFT<T>> factory = new ObjectFactory<TemplateNCCFFT<T>>() {
+			@Override
+			public TemplateNCCFFT<T> newInstance() {
+				return new TemplateNCCFFT<>(createNccDirect(imageType));
+			}
+		};
+
+		if( concurrent )
+			return new TemplateMatchingBatch_MT<>(factory);
+		else
+			return new TemplateMatchingBatch<>(factory);
+	}
 }
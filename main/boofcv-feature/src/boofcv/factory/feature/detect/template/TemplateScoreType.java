@@ -35,10 +35,11 @@ public enum TemplateScoreType {
 	/**
 	 * <p>
 	 * Normalized Cross Correlation (NCC) error metric.  Adds invariance to lighting conditions
-	 * but is more expensive to compute.
+	 * but is more expensive to compute.  Large templates are processed using the Fourier transform.
 	 * </p>
 	 *
 	 * @see boofcv.alg.feature.detect.template.TemplateNCC
+	 * @see boofcv.alg.feature.detect.template.TemplateNCCFFT
 	 */
 	NCC,
 
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.factory.feature.disparity;
+
+import boofcv.alg.feature.disparity.sgm.SgmCostAggregation;
+import boofcv.struct.Configuration;
+
+/**
+ * Configuration for {@link boofcv.alg.feature.disparity.sgm.SgmStereoDisparity semi-global matching}.
+ *
+ * @author Peter Abeles
+ */
+public class ConfigDisparitySGM implements Configuration {
+	/**
+	 * Minimum disparity that it will check. Must be &ge; 0 and &lt; maxDisparity
+	 */
+	public int minDisparity = 0;
+	/**
+	 * Maximum disparity that it will calculate. Must be &gt; 0
+	 */
+	public int maxDisparity = 100;
+
+	/**
+	 * Block matching algorithm used to compute the data term.  Census is invariant to differences in gain and bias
+	 * between the two images.
+	 */
+	public DisparityAlgorithms dataTerm = DisparityAlgorithms.RECT_CENSUS;
+	/**
+	 * Radius of the rectangular region along x-axis used by the data term.
+	 */
+	public int regionRadiusX = 1;
+	/**
+	 * Radius of the rectangular region along y-axis used by the data term.
+	 */
+	public int regionRadiusY = 1;
+
+	/**
+	 * Penalty for a change in disparity of one.  The data term is scaled so that its largest value is 2047.
+	 */
+	public int penaltySmallChange = 200;
+	/**
+	 * Penalty for a change in disparity larger than one.  Must be &ge; penaltySmallChange and &le; 2048.
+	 */
+	public int penaltyLargeChange = 2000;
+	/**
+	 * Number of paths the cost is aggregated along. 4 or 8.
+	 */
+	public int paths = 8;
+
+	/**
+	 * Tolerance for how difference the left to right associated values can be.  Disable with a value &lt; 0.
+	 */
+	public int validateRtoL = 1;
+	/**
+	 * Tolerance for how similar optimal disparity is to other disparities.  Disable with a value &le; 0.
+	 * Closer to zero is more tolerant.
+	 */
+	public double texture = 0.0;
+	/**
+	 * If true the disparity is computed to sub-pixel accuracy and the disparity image is GrayF32, otherwise GrayU8.
+	 */
+	public boolean subpixel = true;
+
+	/**
+	 * Bounds memory by processing the image in horizontal strips with this many rows.  If &le; 0 the
+	 * entire image is processed at once, which is exact but requires two shorts for every pixel and disparity.
+	 */
+	public int stripHeight = 0;
+	/**
+	 * Number of rows above and below a strip which are used when aggregating the cost.  Larger values
+	 * are closer to processing the entire image.
+	 */
+	public int stripOverlap = 32;
+
+	@Override
+	public void checkValidity() {
+		if( maxDisparity <= 0 || minDisparity < 0 || minDisparity >= maxDisparity )
+			throw new IllegalArgumentException("Must be 0 <= minDisparity < maxDisparity");
+		if( regionRadiusX < 0 || regionRadiusY < 0 )
+			throw new IllegalArgumentException("Region radius must be >= 0");
+		if( paths != 4 && paths != 8 )
+			throw new IllegalArgumentException("paths must be 4 or 8");
+		if( penaltySmallChange < 0 || penaltyLargeChange < penaltySmallChange ||
+				penaltyLargeChange > SgmCostAggregation.MAX_PENALTY )
+			throw new IllegalArgumentException("Penalties must satisfy 0 <= small <= large <= "+
+					SgmCostAggregation.MAX_PENALTY);
+		if( stripOverlap < 0 )
+			throw new IllegalArgumentException("stripOverlap must be >= 0");
+	}
+}
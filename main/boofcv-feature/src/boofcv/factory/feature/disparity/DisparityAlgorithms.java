@@ -35,5 +35,12 @@ public enum DisparityAlgorithms {
 	 *
 	 * @see boofcv.alg.feature.disparity.DisparityScoreWindowFive
 	 */
-	RECT_FIVE
+	RECT_FIVE,
+	/**
+	 * Rectangular region where the score is the Hamming distance between census transformed images.
+	 * Invariant to differences in gain and bias between the two images.
+	 *
+	 * @see boofcv.alg.feature.disparity.DisparityScoreCensusRect
+	 */
+	RECT_CENSUS
 }
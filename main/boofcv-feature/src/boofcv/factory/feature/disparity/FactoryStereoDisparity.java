@@ -21,11 +21,17 @@ package boofcv.factory.feature.disparity;
 import boofcv.abst.feature.disparity.StereoDisparity;
 import boofcv.abst.feature.disparity.StereoDisparitySparse;
 import boofcv.abst.feature.disparity.WrapDisparitySadRect;
+import boofcv.abst.feature.disparity.WrapDisparitySgm;
 import boofcv.abst.feature.disparity.WrapDisparitySparseSadRect;
 import boofcv.alg.feature.disparity.DisparityScoreRowFormat;
 import boofcv.alg.feature.disparity.DisparitySelect;
 import boofcv.alg.feature.disparity.DisparitySparseScoreSadRect;
 import boofcv.alg.feature.disparity.DisparitySparseSelect;
+import boofcv.alg.feature.disparity.sgm.SgmCostAggregation;
+import boofcv.alg.feature.disparity.sgm.SgmCostFromBlocks;
+import boofcv.alg.feature.disparity.sgm.SgmDisparitySelector;
+import boofcv.alg.feature.disparity.sgm.SgmStereoDisparity;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.GrayS16;
 import boofcv.struct.image.GrayU8;
@@ -71,6 +77,7 @@ public class FactoryStereoDisparity {
 	 * @param regionRadiusX Radius of the rectangular region along x-axis.
 	 * @param regionRadiusY Radius of the rectangular region along y-axis.
 	 * @param maxPerPixelError Maximum allowed error in a region per pixel.  Set to &lt; 0 to disable.
+	 *                         For RECT_CENSUS this is the number of bits which are different.
 	 * @param validateRtoL Tolerance for how difference the left to right associated values can be.  Try 6
 	 * @param texture Tolerance for how similar optimal region is to other region.  Closer to zero is more tolerant.
 	 *                Try 0.1
@@ -93,7 +100,8 @@ public class FactoryStereoDisparity {
 			maxError *= 3;
 
 		DisparitySelect select;
-		if( imageType == GrayU8.class || imageType == GrayS16.class ) {
+		if( whichAlg == DisparityAlgorithms.RECT_CENSUS || imageType == GrayU8.class || imageType == GrayS16.class ) {
+			// census scores are always integers
 			select = selectDisparity_S32((int) maxError, validateRtoL, texture);
 		} else if( imageType == GrayF32.class ) {
 			select = selectDisparity_F32((int) maxError, validateRtoL, texture);
@@ -130,6 +138,13 @@ public class FactoryStereoDisparity {
 				}
 				break;
 
+			case RECT_CENSUS:
+				if( imageType == GrayU8.class || imageType == GrayF32.class ) {
+					alg = FactoryStereoDisparityAlgs.scoreDisparityCensusRect(minDisparity,
+							maxDisparity, regionRadiusX, regionRadiusY, select, imageType);
+				}
+				break;
+
 			default:
 				throw new IllegalArgumentException("Unknown algorithms "+whichAlg);
 
@@ -154,6 +169,7 @@ public class FactoryStereoDisparity {
 	 * @param regionRadiusX Radius of the rectangular region along x-axis. Try 3.
 	 * @param regionRadiusY Radius of the rectangular region along y-axis. Try 3.
 	 * @param maxPerPixelError Maximum allowed error in a region per pixel.  Set to &lt; 0 to disable.
+	 *                         For RECT_CENSUS this is the number of bits which are different.
 	 * @param validateRtoL Tolerance for how difference the left to right associated values can be.  Try 6
 	 * @param texture Tolerance for how similar optimal region is to other region.  Disable with a value &le; 0.
 	 *                Closer to zero is more tolerant. Try 0.1
@@ -176,7 +192,8 @@ public class FactoryStereoDisparity {
 			maxError *= 3;
 
 		DisparitySelect select;
-		if( imageType == GrayU8.class || imageType == GrayS16.class ) {
+		if( whichAlg == DisparityAlgorithms.RECT_CENSUS || imageType == GrayU8.class || imageType == GrayS16.class ) {
+			// census scores are always integers
 			select = selectDisparitySubpixel_S32((int) maxError, validateRtoL, texture);
 		} else if( imageType == GrayF32.class ) {
 			select = selectDisparitySubpixel_F32((int) maxError, validateRtoL, texture);
@@ -213,6 +230,13 @@ public class FactoryStereoDisparity {
 				}
 				break;
 
+			case RECT_CENSUS:
+				if( imageType == GrayU8.class || imageType == GrayF32.class ) {
+					alg = FactoryStereoDisparityAlgs.scoreDisparityCensusRect(minDisparity,
+							maxDisparity, regionRadiusX, regionRadiusY, select, imageType);
+				}
+				break;
+
 			default:
 				throw new IllegalArgumentException("Unknown algorithms "+whichAlg);
 
@@ -273,4 +297,99 @@ public class FactoryStereoDisparity {
 		} else
 			throw new RuntimeException("Image type not supported: "+imageType.getSimpleName() );
 	}
+
+	/**
+	 * Dense disparity using semi-global matching (SGM).  Block matching is used to compute the data term, which
+	 * is then aggregated along multiple paths to enforce smoothness.  The disparity image is
+	 * {@link GrayF32} if sub-pixel is turned on and {@link GrayU8} otherwise.
+	 *
+	 * @see SgmStereoDisparity
+	 *
+	 * @param config Configuration. If null the default will be used.
+	 * @param imageType Type of input image.
+	 * @return SGM disparity algorithm
+	 */
+	public static <T extends ImageGray<T>, DI extends ImageGray<DI>> StereoDisparity<T,DI>
+	sgm( ConfigDisparitySGM config , Class<T> imageType ) {
+		return sgm(config, imageType, BoofConcurrency.USE_CONCURRENT);
+	}
+
+	/**
+	 * @param concurrent If true then the data term, aggregation, and selection use multiple threads.
+	 *                   The computed disparity is identical to the single threaded implementation.
+	 */
+	public static <T extends ImageGray<T>, DI extends ImageGray<DI>> StereoDisparity<T,DI>
+	sgm( ConfigDisparitySGM config , Class<T> imageType , boolean concurrent ) {
+		if( config == null )
+			config = new ConfigDisparitySGM();
+		config.checkValidity();
+
+		Class disparityType = config.subpixel ? GrayF32.class : GrayU8.class;
+		int minDisparity = config.minDisparity;
+		int maxDisparity = config.maxDisparity;
+		int radiusX = config.regionRadiusX;
+		int radiusY = config.regionRadiusY;
+
+		// largest possible score for a block
+		double maxBlockError = (radiusX*2+1)*(radiusY*2+1);
+		switch( config.dataTerm ) {
+			case RECT: maxBlockError *= 255; break;
+			// 3 regions are used not just one in this case
+			case RECT_FIVE: maxBlockError *= 3*255; break;
+			// 5x5 census transform has 24 bits
+			case RECT_CENSUS: maxBlockError *= 24; break;
+			default: throw new IllegalArgumentException("Unknown algorithms "+config.dataTerm);
+		}
+
+		SgmCostFromBlocks cost;
+		if( config.dataTerm == DisparityAlgorithms.RECT_CENSUS || imageType == GrayU8.class || imageType == GrayS16.class ) {
+			cost = new SgmCostFromBlocks.S32(maxBlockError, disparityType);
+		} else if( imageType == GrayF32.class ) {
+			cost = new SgmCostFromBlocks.F32(maxBlockError, disparityType);
+		} else {
+			throw new IllegalArgumentException("Unknown image type");
+		}
+
+		DisparityScoreRowFormat score = null;
+		switch( config.dataTerm ) {
+			case RECT:
+				if( imageType == GrayU8.class ) {
+					score = scoreDisparitySadRect_U8(minDisparity, maxDisparity, radiusX, radiusY, cost, concurrent);
+				} else if( imageType == GrayS16.class ) {
+					score = scoreDisparitySadRect_S16(minDisparity, maxDisparity, radiusX, radiusY, cost, concurrent);
+				} else if( imageType == GrayF32.class ) {
+					score = scoreDisparitySadRect_F32(minDisparity, maxDisparity, radiusX, radiusY, cost, concurrent);
+				}
+				break;
+
+			case RECT_FIVE:
+				if( imageType == GrayU8.class ) {
+					score = scoreDisparitySadRectFive_U8(minDisparity, maxDisparity, radiusX, radiusY, cost, concurrent);
+				} else if( imageType == GrayS16.class ) {
+					score = scoreDisparitySadRectFive_S16(minDisparity, maxDisparity, radiusX, radiusY, cost, concurrent);
+				} else if( imageType == GrayF32.class ) {
+					score = scoreDisparitySadRectFive_F32(minDisparity, maxDisparity, radiusX, radiusY, cost, concurrent);
+				}
+				break;
+
+			case RECT_CENSUS:
+				if( imageType == GrayU8.class || imageType == GrayF32.class ) {
+					score = scoreDisparityCensusRect(minDisparity, maxDisparity, radiusX, radiusY, cost,
+							imageType, concurrent);
+				}
+				break;
+		}
+		if( score == null )
+			throw new RuntimeException("Image type not supported: "+imageType.getSimpleName() );
+
+		SgmCostAggregation aggregation = new SgmCostAggregation(
+				config.penaltySmallChange, config.penaltyLargeChange, config.paths, concurrent);
+		SgmDisparitySelector selector = new SgmDisparitySelector(minDisparity, maxDisparity,
+				config.validateRtoL, config.texture, concurrent);
+
+		SgmStereoDisparity<T,DI> alg = new SgmStereoDisparity<>(score, cost, aggregation, selector,
+				config.stripHeight, config.stripOverlap);
+
+		return new WrapDisparitySgm<>(alg);
+	}
 }
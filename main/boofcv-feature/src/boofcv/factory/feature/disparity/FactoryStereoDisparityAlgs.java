@@ -20,8 +20,10 @@ package boofcv.factory.feature.disparity;
 
 import boofcv.alg.feature.disparity.*;
 import boofcv.alg.feature.disparity.impl.*;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.GrayS16;
+import boofcv.struct.image.GrayS32;
 import boofcv.struct.image.GrayU8;
 import boofcv.struct.image.ImageGray;
 
@@ -84,56 +86,199 @@ public class FactoryStereoDisparityAlgs {
 
 	public static <T extends ImageGray<T>> DisparityScoreSadRect<GrayU8,T>
 	scoreDisparitySadRect_U8( int minDisparity , int maxDisparity,
-						   int regionRadiusX, int regionRadiusY,
-						   DisparitySelect<int[],T> computeDisparity)
+			int regionRadiusX, int regionRadiusY,
+			DisparitySelect<int[],T> computeDisparity)
 	{
-		return new ImplDisparityScoreSadRect_U8<>(minDisparity,
-				maxDisparity, regionRadiusX, regionRadiusY, computeDisparity);
+		return scoreDisparitySadRect_U8(minDisparity, maxDisparity, regionRadiusX, regionRadiusY, computeDisparity,
+				BoofConcurrency.USE_CONCURRENT);
 	}
 
+	/**
+	 * @param concurrent If true then rows are split into stripes which are processed by multiple threads.
+	 *                   The computed disparity is identical to the single threaded implementation.  Only used
+	 *                   if computeDisparity implements {@link DisparitySelectConcurrent}.
+	 */
+	public static <T extends ImageGray<T>> DisparityScoreSadRect<GrayU8,T>
+	scoreDisparitySadRect_U8( int minDisparity , int maxDisparity,
+			int regionRadiusX, int regionRadiusY,
+			DisparitySelect<int[],T> computeDisparity, boolean concurrent )
+	{
+		if( concurrent && computeDisparity instanceof DisparitySelectConcurrent )
+			return new ImplDisparityScoreSadRect_MT_U8<>(minDisparity,
+					maxDisparity, regionRadiusX, regionRadiusY, (DisparitySelectConcurrent<int[],T>)computeDisparity);
+		else
+			return new ImplDisparityScoreSadRect_U8<>(minDisparity,
+					maxDisparity, regionRadiusX, regionRadiusY, computeDisparity);
+	}
+
+	public static <T extends ImageGray<T>> DisparityScoreSadRect<GrayS16,T>
+	scoreDisparitySadRect_S16( int minDisparity , int maxDisparity,
+			int regionRadiusX, int regionRadiusY,
+			DisparitySelect<int[],T> computeDisparity)
+	{
+		return scoreDisparitySadRect_S16(minDisparity, maxDisparity, regionRadiusX, regionRadiusY, computeDisparity,
+				BoofConcurrency.USE_CONCURRENT);
+	}
+
+	/**
+	 * @param concurrent If true then rows are split into stripes which are processed by multiple threads.
+	 *                   The computed disparity is identical to the single threaded implementation.  Only used
+	 *                   if computeDisparity implements {@link DisparitySelectConcurrent}.
+	 */
 	public static <T extends ImageGray<T>> DisparityScoreSadRect<GrayS16,T>
 	scoreDisparitySadRect_S16( int minDisparity , int maxDisparity,
-							  int regionRadiusX, int regionRadiusY,
-							  DisparitySelect<int[],T> computeDisparity)
+			int regionRadiusX, int regionRadiusY,
+			DisparitySelect<int[],T> computeDisparity, boolean concurrent )
 	{
-		return new ImplDisparityScoreSadRect_S16<>(minDisparity,
-				maxDisparity, regionRadiusX, regionRadiusY, computeDisparity);
+		if( concurrent && computeDisparity instanceof DisparitySelectConcurrent )
+			return new ImplDisparityScoreSadRect_MT_S16<>(minDisparity,
+					maxDisparity, regionRadiusX, regionRadiusY, (DisparitySelectConcurrent<int[],T>)computeDisparity);
+		else
+			return new ImplDisparityScoreSadRect_S16<>(minDisparity,
+					maxDisparity, regionRadiusX, regionRadiusY, computeDisparity);
+	}
+
+	public static <T extends ImageGray<T>> DisparityScoreSadRect<GrayF32,T>
+	scoreDisparitySadRect_F32( int minDisparity , int maxDisparity,
+			int regionRadiusX, int regionRadiusY,
+			DisparitySelect<float[],T> computeDisparity)
+	{
+		return scoreDisparitySadRect_F32(minDisparity, maxDisparity, regionRadiusX, regionRadiusY, computeDisparity,
+				BoofConcurrency.USE_CONCURRENT);
 	}
 
+	/**
+	 * @param concurrent If true then rows are split into stripes which are processed by multiple threads.
+	 *                   The computed disparity is identical to the single threaded implementation.  Only used
+	 *                   if computeDisparity implements {@link DisparitySelectConcurrent}.
+	 */
 	public static <T extends ImageGray<T>> DisparityScoreSadRect<GrayF32,T>
 	scoreDisparitySadRect_F32( int minDisparity , int maxDisparity,
-							  int regionRadiusX, int regionRadiusY,
-							  DisparitySelect<float[],T> computeDisparity)
+			int regionRadiusX, int regionRadiusY,
+			DisparitySelect<float[],T> computeDisparity, boolean concurrent )
+	{
+		if( concurrent && computeDisparity instanceof DisparitySelectConcurrent )
+			return new ImplDisparityScoreSadRect_MT_F32<>(minDisparity,
+					maxDisparity, regionRadiusX, regionRadiusY, (DisparitySelectConcurrent<float[],T>)computeDisparity);
+		else
+			return new ImplDisparityScoreSadRect_F32<>(minDisparity,
+					maxDisparity, regionRadiusX, regionRadiusY, computeDisparity);
+	}
+
+	public static <T extends ImageGray<T>> DisparityScoreWindowFive<GrayU8,T>
+	scoreDisparitySadRectFive_U8( int minDisparity , int maxDisparity,
+			int regionRadiusX, int regionRadiusY,
+			DisparitySelect<int[],T> computeDisparity)
 	{
-		return new ImplDisparityScoreSadRect_F32<>(minDisparity,
-				maxDisparity, regionRadiusX, regionRadiusY, computeDisparity);
+		return scoreDisparitySadRectFive_U8(minDisparity, maxDisparity, regionRadiusX, regionRadiusY, computeDisparity,
+				BoofConcurrency.USE_CONCURRENT);
 	}
 
+	/**
+	 * @param concurrent If true then rows are split into stripes which are processed by multiple threads.
+	 *                   The computed disparity is identical to the single threaded implementation.  Only used
+	 *                   if computeDisparity implements {@link DisparitySelectConcurrent}.
+	 */
 	public static <T extends ImageGray<T>> DisparityScoreWindowFive<GrayU8,T>
 	scoreDisparitySadRectFive_U8( int minDisparity , int maxDisparity,
-								  int regionRadiusX, int regionRadiusY,
-								  DisparitySelect<int[],T> computeDisparity)
+			int regionRadiusX, int regionRadiusY,
+			DisparitySelect<int[],T> computeDisparity, boolean concurrent )
 	{
-		return new ImplDisparityScoreSadRectFive_U8<>(minDisparity,
-				maxDisparity, regionRadiusX, regionRadiusY, computeDisparity);
+		if( concurrent && computeDisparity instanceof DisparitySelectConcurrent )
+			return new ImplDisparityScoreSadRectFive_MT_U8<>(minDisparity,
+					maxDisparity, regionRadiusX, regionRadiusY, (DisparitySelectConcurrent<int[],T>)computeDisparity);
+		else
+			return new ImplDisparityScoreSadRectFive_U8<>(minDisparity,
+					maxDisparity, regionRadiusX, regionRadiusY, computeDisparity);
 	}
 
 	public static <T extends ImageGray<T>> DisparityScoreWindowFive<GrayS16,T>
 	scoreDisparitySadRectFive_S16( int minDisparity , int maxDisparity,
-								  int regionRadiusX, int regionRadiusY,
-								  DisparitySelect<int[],T> computeDisparity)
+			int regionRadiusX, int regionRadiusY,
+			DisparitySelect<int[],T> computeDisparity)
+	{
+		return scoreDisparitySadRectFive_S16(minDisparity, maxDisparity, regionRadiusX, regionRadiusY, computeDisparity,
+				BoofConcurrency.USE_CONCURRENT);
+	}
+
+	/**
+	 * @param concurrent If true then rows are split into stripes which are processed by multiple threads.
+	 *                   The computed disparity is identical to the single threaded implementation.  Only used
+	 *                   if computeDisparity implements {@link DisparitySelectConcurrent}.
+	 */
+	public static <T extends ImageGray<T>> DisparityScoreWindowFive<GrayS16,T>
+	scoreDisparitySadRectFive_S16( int minDisparity , int maxDisparity,
+			int regionRadiusX, int regionRadiusY,
+			DisparitySelect<int[],T> computeDisparity, boolean concurrent )
+	{
+		if( concurrent && computeDisparity instanceof DisparitySelectConcurrent )
+			return new ImplDisparityScoreSadRectFive_MT_S16<>(minDisparity,
+					maxDisparity, regionRadiusX, regionRadiusY, (DisparitySelectConcurrent<int[],T>)computeDisparity);
+		else
+			return new ImplDisparityScoreSadRectFive_S16<>(minDisparity,
+					maxDisparity, regionRadiusX, regionRadiusY, computeDisparity);
+	}
+
+	public static <T extends ImageGray<T>> DisparityScoreWindowFive<GrayF32,T>
+	scoreDisparitySadRectFive_F32( int minDisparity , int maxDisparity,
+			int regionRadiusX, int regionRadiusY,
+			DisparitySelect<float[],T> computeDisparity)
 	{
-		return new ImplDisparityScoreSadRectFive_S16<>(minDisparity,
-				maxDisparity, regionRadiusX, regionRadiusY, computeDisparity);
+		return scoreDisparitySadRectFive_F32(minDisparity, maxDisparity, regionRadiusX, regionRadiusY, computeDisparity,
+				BoofConcurrency.USE_CONCURRENT);
 	}
 
+	/**
+	 * @param concurrent If true then rows are split into stripes which are processed by multiple threads.
+	 *                   The computed disparity is identical to the single threaded implementation.  Only used
+	 *                   if computeDisparity implements {@link DisparitySelectConcurrent}.
+	 */
 	public static <T extends ImageGray<T>> DisparityScoreWindowFive<GrayF32,T>
 	scoreDisparitySadRectFive_F32( int minDisparity , int maxDisparity,
-								   int regionRadiusX, int regionRadiusY,
-								   DisparitySelect<float[],T> computeDisparity)
+			int regionRadiusX, int regionRadiusY,
+			DisparitySelect<float[],T> computeDisparity, boolean concurrent )
+	{
+		if( concurrent && computeDisparity instanceof DisparitySelectConcurrent )
+			return new ImplDisparityScoreSadRectFive_MT_F32<>(minDisparity,
+					maxDisparity, regionRadiusX, regionRadiusY, (DisparitySelectConcurrent<float[],T>)computeDisparity);
+		else
+			return new ImplDisparityScoreSadRectFive_F32<>(minDisparity,
+					maxDisparity, regionRadiusX, regionRadiusY, computeDisparity);
+	}
+
+	/**
+	 * Disparity score using the Hamming distance between 5x5 census transforms of the input images.
+	 *
+	 * @see DisparityScoreCensusRect
+	 */
+	public static <T extends ImageGray<T>, DI extends ImageGray<DI>> DisparityScoreCensusRect<T,GrayS32,DI>
+	scoreDisparityCensusRect( int minDisparity , int maxDisparity,
+			int regionRadiusX, int regionRadiusY,
+			DisparitySelect<int[],DI> computeDisparity, Class<T> imageType )
 	{
-		return new ImplDisparityScoreSadRectFive_F32<>(minDisparity,
-				maxDisparity, regionRadiusX, regionRadiusY, computeDisparity);
+		return scoreDisparityCensusRect(minDisparity, maxDisparity, regionRadiusX, regionRadiusY, computeDisparity,
+				imageType, BoofConcurrency.USE_CONCURRENT);
+	}
+
+	/**
+	 * @param concurrent If true then rows are split into stripes which are processed by multiple threads.
+	 *                   The computed disparity is identical to the single threaded implementation.  Only used
+	 *                   if computeDisparity implements {@link DisparitySelectConcurrent}.
+	 */
+	public static <T extends ImageGray<T>, DI extends ImageGray<DI>> DisparityScoreCensusRect<T,GrayS32,DI>
+	scoreDisparityCensusRect( int minDisparity , int maxDisparity,
+			int regionRadiusX, int regionRadiusY,
+			DisparitySelect<int[],DI> computeDisparity, Class<T> imageType, boolean concurrent )
+	{
+		DisparityScoreRowFormat<GrayS32,DI> score;
+		if( concurrent && computeDisparity instanceof DisparitySelectConcurrent )
+			score = new ImplDisparityScoreHammingRect_MT_S32<>(minDisparity,
+					maxDisparity, regionRadiusX, regionRadiusY, (DisparitySelectConcurrent<int[],DI>)computeDisparity);
+		else
+			score = new ImplDisparityScoreHammingRect_S32<>(minDisparity,
+					maxDisparity, regionRadiusX, regionRadiusY, computeDisparity);
+
+		return new DisparityScoreCensusRect<>(score, imageType);
 	}
 
 	public static DisparitySparseScoreSadRect<int[],GrayU8>
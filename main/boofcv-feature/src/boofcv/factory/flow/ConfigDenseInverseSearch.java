@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.factory.flow;
+
+import boofcv.struct.Configuration;
+
+/**
+ * <p>
+ * Configuration for {@link boofcv.alg.flow.DenseInverseSearch}.  The defaults favor speed.  On a single thread
+ * they process 640x480 images at over 100 fps.  For a more accurate flow, at a lower frame rate:
+ * </p>
+ * <ul>
+ * <li>{@link #refine} = true smooths the flow and reduces outliers. About 75 to 100 fps</li>
+ * <li>{@link #finestLayer} = 0 searches at the input image's resolution. About 25 fps, 12 fps with refinement</li>
+ * </ul>
+ *
+ * @author Peter Abeles
+ */
+public class ConfigDenseInverseSearch implements Configuration {
+
+	/**
+	 * Scale factor of each layer in the image pyramid relative to the input image.
+	 */
+	public int pyramidScaling[] = new int[]{1,2,4,8,16};
+
+	/**
+	 * Index of the finest layer in the pyramid that patches are searched in.  Flow found at this layer is
+	 * upsampled to the input image's resolution.  0 is the most accurate but several times slower.  Each
+	 * layer skipped loses detail along motion boundaries and small objects.
+	 */
+	public int finestLayer = 2;
+
+	/**
+	 * Radius of each square patch.  Width is radius*2+1
+	 */
+	public int patchRadius = 4;
+
+	/**
+	 * Spacing between patches in the grid, in pixels.  Must be &le; the patch width so that every pixel is
+	 * covered by at least one patch.
+	 */
+	public int patchStride = 6;
+
+	/**
+	 * Maximum number of inverse compositional iterations for each patch
+	 */
+	public int maxIterations = 12;
+
+	/**
+	 * Stops iterating when the change in a patch's location is less than this number of pixels
+	 */
+	public float convergeTolerance = 0.01f;
+
+	/**
+	 * If true a variational refinement is applied to the densified flow at each layer.  This reduces outliers
+	 * and smooths the flow but increases the processing time by 30 to 40%, which takes the default settings
+	 * below 100 fps.  Off by default.
+	 */
+	public boolean refine = false;
+
+	/**
+	 * Number of Gauss-Seidel iterations used in the variational refinement
+	 */
+	public int refineIterations = 5;
+
+	/**
+	 * Weights smoothness of the flow against the brightness error in the variational refinement.  Larger
+	 * values produce a smoother flow.  Specified in units of pixel intensity.
+	 */
+	public float refineAlpha = 20;
+
+	@Override
+	public void checkValidity() {
+		if( pyramidScaling.length == 0 )
+			throw new IllegalArgumentException("The pyramid must have at least one layer");
+		if( finestLayer < 0 || finestLayer >= pyramidScaling.length )
+			throw new IllegalArgumentException("finestLayer must be a valid index of a pyramid layer");
+		if( patchRadius < 1 )
+			throw new IllegalArgumentException("patchRadius must be >= 1");
+		if( patchStride < 1 || patchStride > patchRadius*2+1 )
+			throw new IllegalArgumentException("patchStride must be from 1 to the patch width, inclusive");
+	}
+}
@@ -25,6 +25,7 @@ import boofcv.alg.flow.*;
 import boofcv.alg.interpolate.InterpolatePixelS;
 import boofcv.alg.tracker.klt.PkltConfig;
 import boofcv.alg.tracker.klt.PyramidKltTracker;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.core.image.border.BorderType;
 import boofcv.factory.filter.derivative.FactoryDerivative;
 import boofcv.factory.interpolate.FactoryInterpolation;
@@ -119,17 +120,39 @@ public class FactoryDenseOpticalFlow {
 	 */
 	public static <T extends ImageGray<T>,D extends ImageGray<D>>
 	DenseOpticalFlow<T> hornSchunck( ConfigHornSchunck config , Class<T> imageType )
+	{
+		return hornSchunck(config, imageType, BoofConcurrency.USE_CONCURRENT);
+	}
+
+	/**
+	 * The original Horn-Schunck algorithm.  Only good for very small motions.
+	 *
+	 * @see HornSchunck
+	 * @see HornSchunck_MT_F32
+	 *
+	 * @param config Configuration parameters.  If null then default is used.
+	 * @param imageType Type of input gray scale image
+	 * @param concurrent If true then bands of rows will be processed by multiple threads.  Results are identical.
+	 * @return dense optical flow
+	 */
+	public static <T extends ImageGray<T>,D extends ImageGray<D>>
+	DenseOpticalFlow<T> hornSchunck( ConfigHornSchunck config , Class<T> imageType , boolean concurrent )
 	{
 		if( config == null )
 			config = new ConfigHornSchunck();
 
 		HornSchunck<T,D> alg;
-		if( imageType == GrayU8.class )
-			alg = (HornSchunck)new HornSchunck_U8(config.alpha,config.numIterations);
-		else
-		if( imageType == GrayF32.class )
-			alg = (HornSchunck)new HornSchunck_F32(config.alpha,config.numIterations);
-		else
+		if( imageType == GrayU8.class ) {
+			if( concurrent )
+				alg = (HornSchunck)new HornSchunck_MT_U8(config.alpha,config.numIterations);
+			else
+				alg = (HornSchunck)new HornSchunck_U8(config.alpha,config.numIterations);
+		} else if( imageType == GrayF32.class ) {
+			if( concurrent )
+				alg = (HornSchunck)new HornSchunck_MT_F32(config.alpha,config.numIterations);
+			else
+				alg = (HornSchunck)new HornSchunck_F32(config.alpha,config.numIterations);
+		} else
 			throw new IllegalArgumentException("Unsupported image type "+imageType);
 
 		return new HornSchunck_to_DenseOpticalFlow<>(alg, ImageType.single(imageType));
@@ -145,6 +168,25 @@ public class FactoryDenseOpticalFlow {
 	 */
 	public static <T extends ImageGray<T>>
 	DenseOpticalFlow<T> hornSchunckPyramid( ConfigHornSchunckPyramid config , Class<T> imageType )
+	{
+		return hornSchunckPyramid(config, imageType, false);
+	}
+
+	/**
+	 * Creates an instance of {@link HornSchunckPyramid}
+	 *
+	 * @see HornSchunckPyramid
+	 * @see HornSchunckPyramid_MT
+	 *
+	 * @param config Configuration parameters.  If null defaults will be used.
+	 * @param concurrent If true then SOR is done by multiple threads using a four color ordering.  The
+	 *                   results are different from the row-major ordering used when false, but converge
+	 *                   to the same solution.
+	 * @return Dense optical flow implementation of HornSchunckPyramid
+	 */
+	public static <T extends ImageGray<T>>
+	DenseOpticalFlow<T> hornSchunckPyramid( ConfigHornSchunckPyramid config , Class<T> imageType ,
+											boolean concurrent )
 	{
 		if( config == null )
 			config = new ConfigHornSchunckPyramid();
@@ -152,13 +194,35 @@ public class FactoryDenseOpticalFlow {
 		InterpolatePixelS<GrayF32> interpolate =
 				FactoryInterpolation.createPixelS(0,255,config.interpolation, BorderType.EXTENDED, GrayF32.class);
 
-		HornSchunckPyramid<T> alg = new HornSchunckPyramid<>(config, interpolate);
+		HornSchunckPyramid<T> alg;
+		if( concurrent )
+			alg = new HornSchunckPyramid_MT<>(config, interpolate);
+		else
+			alg = new HornSchunckPyramid<>(config, interpolate);
 
 		return new HornSchunckPyramid_to_DenseOpticalFlow<>(alg, imageType);
 	}
 
 	public static <T extends ImageGray<T>>
 	DenseOpticalFlow<T> broxWarping( ConfigBroxWarping config , Class<T> imageType )
+	{
+		return broxWarping(config, imageType, false);
+	}
+
+	/**
+	 * Creates an instance of {@link BroxWarpingSpacial}
+	 *
+	 * @see BroxWarpingSpacial
+	 * @see BroxWarpingSpacial_MT
+	 *
+	 * @param config Configuration parameters.  If null defaults will be used.
+	 * @param concurrent If true then SOR is done by multiple threads using a red-black ordering.  The
+	 *                   results are different from the row-major ordering used when false, but converge
+	 *                   to the same solution.
+	 * @return Dense optical flow implementation of BroxWarpingSpacial
+	 */
+	public static <T extends ImageGray<T>>
+	DenseOpticalFlow<T> broxWarping( ConfigBroxWarping config , Class<T> imageType , boolean concurrent )
 	{
 		if( config == null )
 			config = new ConfigBroxWarping();
@@ -166,8 +230,39 @@ public class FactoryDenseOpticalFlow {
 		InterpolatePixelS<GrayF32> interpolate =
 				FactoryInterpolation.createPixelS(0,255,config.interpolation, BorderType.EXTENDED, GrayF32.class);
 
-		BroxWarpingSpacial<T> alg = new BroxWarpingSpacial<>(config, interpolate);
+		BroxWarpingSpacial<T> alg;
+		if( concurrent )
+			alg = new BroxWarpingSpacial_MT<>(config, interpolate);
+		else
+			alg = new BroxWarpingSpacial<>(config, interpolate);
 
 		return new BroxWarpingSpacial_to_DenseOpticalFlow<>(alg, imageType);
 	}
+
+	/**
+	 * Creates an instance of {@link DenseInverseSearch}, a fast patch based approach.  The default configuration
+	 * is tuned for speed and skips the variational refinement.  See {@link ConfigDenseInverseSearch} for how to
+	 * trade speed for accuracy.
+	 *
+	 * @see DenseInverseSearch
+	 *
+	 * @param config Configuration parameters.  If null defaults will be used.
+	 * @param imageType Type of input gray scale image
+	 * @return Dense optical flow implementation of DenseInverseSearch
+	 */
+	public static <T extends ImageGray<T>>
+	DenseOpticalFlow<T> denseInverseSearch( ConfigDenseInverseSearch config , Class<T> imageType )
+	{
+		if( config == null )
+			config = new ConfigDenseInverseSearch();
+
+		ImageType<GrayF32> floatType = ImageType.single(GrayF32.class);
+		PyramidDiscrete<GrayF32> pyramidA = FactoryPyramid.discreteGaussian(config.pyramidScaling, -1, 2, true, floatType);
+		PyramidDiscrete<GrayF32> pyramidB = FactoryPyramid.discreteGaussian(config.pyramidScaling, -1, 2, true, floatType);
+
+		DenseInverseSearch alg = new DenseInverseSearch(config);
+		ImageGradient<GrayF32, GrayF32> gradient = FactoryDerivative.sobel(GrayF32.class,GrayF32.class);
+
+		return new DenseInverseSearch_to_DenseOpticalFlow<>(alg, gradient, pyramidA, pyramidB, imageType);
+	}
 }
@@ -26,8 +26,12 @@ import boofcv.alg.tracker.combined.CombinedTrackerScalePoint;
 import boofcv.alg.tracker.combined.PyramidKltForCombined;
 import boofcv.alg.tracker.klt.KltConfig;
 import boofcv.alg.tracker.klt.KltTracker;
+import boofcv.alg.tracker.klt.KltTrackerGainBias;
 import boofcv.alg.tracker.klt.PkltConfig;
 import boofcv.alg.tracker.klt.PyramidKltTracker;
+import boofcv.alg.tracker.klt.PyramidKltTracker_MT;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.ObjectFactory;
 import boofcv.factory.interpolate.FactoryInterpolation;
 import boofcv.struct.feature.TupleDesc;
 import boofcv.struct.image.ImageGray;
@@ -40,7 +44,8 @@ import boofcv.struct.image.ImageGray;
 public class FactoryTrackerAlg {
 
 	/**
-	 * Creates a {@link KltTracker}.
+	 * Creates a {@link KltTracker}.  If {@link KltConfig#gainBias} is true then {@link KltTrackerGainBias}
+	 * is created instead.
 	 *
 	 * NOTE: The pyramid's structure is determined by the input pyramid that is processed.
 	 *
@@ -62,7 +67,10 @@ public class FactoryTrackerAlg {
 		InterpolateRectangle<I> interpInput = FactoryInterpolation.<I>bilinearRectangle(imageType);
 		InterpolateRectangle<D> interpDeriv = FactoryInterpolation.<D>bilinearRectangle(derivType);
 
-		return new KltTracker<>(interpInput, interpDeriv, config);
+		if( config.gainBias )
+			return new KltTrackerGainBias<>(interpInput, interpDeriv, config);
+		else
+			return new KltTracker<>(interpInput, interpDeriv, config);
 	}
 
 	/**
@@ -81,17 +89,48 @@ public class FactoryTrackerAlg {
 	PyramidKltTracker<I, D> kltPyramid( KltConfig config,
 										Class<I> imageType ,
 										Class<D> derivType )
+	{
+		return kltPyramid(config, imageType, derivType, BoofConcurrency.USE_CONCURRENT);
+	}
+
+	/**
+	 * Creates a {@link PyramidKltTracker}.
+	 *
+	 * NOTE: The pyramid's structure is determined by the input pyramid that is processed.
+	 *
+	 * @see PyramidKltTracker_MT
+	 *
+	 * @param config KLT configuration
+	 * @param imageType Type of input image
+	 * @param derivType Type of image derivative
+	 * @param concurrent If true then lists of features will be tracked by multiple threads
+	 * @param <I> Input image type.
+	 * @param <D> Derivative image type.
+	 * @return Tracker
+	 */
+	public static <I extends ImageGray<I>, D extends ImageGray<D>>
+	PyramidKltTracker<I, D> kltPyramid( KltConfig config,
+										final Class<I> imageType ,
+										Class<D> derivType ,
+										boolean concurrent )
 	{
 		if( config == null )
 			config = new KltConfig();
 		if( derivType == null )
 			derivType = GImageDerivativeOps.getDerivativeType(imageType);
 
-		InterpolateRectangle<I> interpInput = FactoryInterpolation.<I>bilinearRectangle(imageType);
-		InterpolateRectangle<D> interpDeriv = FactoryInterpolation.<D>bilinearRectangle(derivType);
-
-		KltTracker<I, D> klt = new KltTracker<>(interpInput, interpDeriv, config);
-		return new PyramidKltTracker<>(klt);
+		if( concurrent ) {
+			final KltConfig _config = config;
+			final Class<D> _derivType = derivType;
+			return new PyramidKltTracker_MT<>(new ObjectFactory<KltTracker<I, D>>() {
+				@Override
+				public KltTracker<I, D> newInstance() {
+					return klt(_config, imageType, _derivType);
+				}
+			});
+		} else {
+			return new PyramidKltTracker<>(klt(config, imageType, derivType));
+		}
 	}
 
 	/**
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.struct.feature;
+
+/**
+ * <p>
+ * Binary descriptor which is stored inside of an array of longs.  Functionally the same as {@link TupleDesc_B}, but
+ * the Hamming distance can be computed using half as many operations since {@link Long#bitCount(long)} is
+ * processed as a single instruction on most 64-bit hardware.
+ * </p>
+ *
+ * <p>
+ * Bit 'i' is stored in element i/64 at bit i%64.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class TupleDesc_B64 implements TupleDesc<TupleDesc_B64> {
+	public long[] data;
+	public int numBits;
+
+	public TupleDesc_B64(int numBits) {
+		int numLongs = numBits/64;
+		if( numBits % 64 != 0 ) {
+			numLongs++;
+		}
+
+		this.numBits = numBits;
+		data = new long[numLongs];
+	}
+
+	public TupleDesc_B64(int numBits, int numLongs) {
+		this.numBits = numBits;
+		data = new long[numLongs];
+	}
+
+	public boolean isBitTrue( int bit ) {
+		int index = bit/64;
+		return ((data[index] >> (bit%64)) & 0x01L) == 1;
+	}
+
+	/**
+	 * Copies the bits from a {@link TupleDesc_B}.  Bit 'i' will have the same value in both descriptors.
+	 *
+	 * @param source The descriptor which is to be copied
+	 */
+	public void setTo( TupleDesc_B source ) {
+		int numLongs = (source.data.length+1)/2;
+		if( data.length < numLongs )
+			throw new IllegalArgumentException("Data array is too small to store the source array.");
+
+		this.numBits = source.numBits;
+		for( int i = 0; i < numLongs; i++ ) {
+			long low = source.data[i*2] & 0xFFFFFFFFL;
+			long high = i*2+1 < source.data.length ? source.data[i*2+1] : 0;
+			data[i] = (high << 32) | low;
+		}
+	}
+
+	public TupleDesc_B64 copy() {
+		TupleDesc_B64 ret = new TupleDesc_B64(numBits);
+		System.arraycopy(data,0,ret.data,0,data.length);
+		return ret;
+	}
+
+	@Override
+	public void setTo(TupleDesc_B64 source) {
+		if( data.length < source.data.length )
+			throw new IllegalArgumentException("Data array is too small to store the source array.");
+
+		this.numBits = source.numBits;
+		System.arraycopy(source.data,0,data,0,source.data.length);
+	}
+
+	@Override
+	public double getDouble(int index) {
+		if( isBitTrue(index) )
+			return 1;
+		else
+			return -1;
+	}
+
+	@Override
+	public int size() {
+		return numBits;
+	}
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.associate;
+
+import boofcv.factory.feature.associate.FactoryAssociation;
+import boofcv.struct.feature.AssociatedIndex;
+import boofcv.struct.feature.TupleDesc_B;
+import boofcv.struct.feature.TupleDesc_F32;
+import boofcv.struct.feature.TupleDesc_F64;
+import boofcv.testing.ForceConcurrency;
+import org.ddogleg.struct.FastQueue;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestAssociateDescriptorIndex {
+
+	@Test
+	public void kdForest_F64() {
+		new F64() {
+			@Override
+			public AssociateDescription<TupleDesc_F64> createAlg() {
+				return FactoryAssociation.kdForest(TupleDesc_F64.class, 0, 4, 234);
+			}
+		}.allTests();
+	}
+
+	/**
+	 * The default settings are documented as reaching 95% recall on clustered data.  Compare against an exact search.
+	 */
+	@Test
+	public void kdForest_defaultRecall() {
+		Random rand = new Random(234);
+		int N = 2000, dof = 128;
+
+		double[][] centers = new double[100][dof];
+		for( double[] c : centers ) {
+			for( int j = 0; j < dof; j++ ) {
+				c[j] = rand.nextDouble();
+			}
+		}
+		FastQueue<TupleDesc_F64> src = new FastQueue<>(TupleDesc_F64.class, false);
+		FastQueue<TupleDesc_F64> dst = new FastQueue<>(TupleDesc_F64.class, false);
+		for( int i = 0; i < N; i++ ) {
+			TupleDesc_F64 s = new TupleDesc_F64(dof);
+			double[] c = centers[rand.nextInt(centers.length)];
+			for( int j = 0; j < dof; j++ ) {
+				s.value[j] = c[j] + rand.nextGaussian()*0.1;
+			}
+			src.add(s);
+		}
+		for( int i = 0; i < N; i++ ) {
+			TupleDesc_F64 d = new TupleDesc_F64(dof);
+			double[] s = src.get(rand.nextInt(N)).value;
+			for( int j = 0; j < dof; j++ ) {
+				d.value[j] = s[j] + rand.nextGaussian()*0.05;
+			}
+			dst.add(d);
+		}
+
+		int[] expected = associate(FactoryAssociation.kdForest(TupleDesc_F64.class, 0, 1, 234), src, dst);
+		int[] found = associate(FactoryAssociation.kdForest(TupleDesc_F64.class), src, dst);
+
+		int correct = 0;
+		for( int i = 0; i < N; i++ ) {
+			if( expected[i] == found[i] )
+				correct++;
+		}
+		assertTrue(correct >= 0.95*N);
+	}
+
+	private static int[] associate( AssociateDescription<TupleDesc_F64> alg ,
+									FastQueue<TupleDesc_F64> src , FastQueue<TupleDesc_F64> dst ) {
+		alg.setSource(src);
+		alg.setDestination(dst);
+		alg.associate();
+
+		int[] matches = new int[dst.size];
+		Arrays.fill(matches, -1);
+		for( int i = 0; i < alg.getMatches().size; i++ ) {
+			AssociatedIndex m = alg.getMatches().get(i);
+			matches[m.dst] = m.src;
+		}
+		return matches;
+	}
+
+	@Test
+	public void kmeansTree_F64() {
+		new F64() {
+			@Override
+			public AssociateDescription<TupleDesc_F64> createAlg() {
+				return FactoryAssociation.kmeansTree(TupleDesc_F64.class, 0, 8, 234);
+			}
+		}.allTests();
+	}
+
+	/**
+	 * Floats are converted into doubles so F32 and F64 should produce the same results
+	 */
+	@Test
+	public void compare_F32_F64() {
+		Random rand = new Random(234);
+		FastQueue<TupleDesc_F64> srcF64 = new FastQueue<>(TupleDesc_F64.class, false);
+		FastQueue<TupleDesc_F64> dstF64 = new FastQueue<>(TupleDesc_F64.class, false);
+		FastQueue<TupleDesc_F32> srcF32 = new FastQueue<>(TupleDesc_F32.class, false);
+		FastQueue<TupleDesc_F32> dstF32 = new FastQueue<>(TupleDesc_F32.class, false);
+
+		for( int i = 0; i < 200; i++ ) {
+			TupleDesc_F32 s = new TupleDesc_F32(10);
+			TupleDesc_F32 d = new TupleDesc_F32(10);
+			for( int j = 0; j < 10; j++ ) {
+				s.value[j] = rand.nextFloat();
+				d.value[j] = rand.nextFloat();
+			}
+			srcF32.add(s);
+			dstF32.add(d);
+			srcF64.add(convert(s));
+			dstF64.add(convert(d));
+		}
+
+		AssociateDescription<TupleDesc_F64> algF64 = FactoryAssociation.kmeansTree(TupleDesc_F64.class, 50, 8, 234);
+		AssociateDescription<TupleDesc_F32> algF32 = FactoryAssociation.kmeansTree(TupleDesc_F32.class, 50, 8, 234);
+
+		algF64.setSource(srcF64);
+		algF64.setDestination(dstF64);
+		algF64.associate();
+		algF32.setSource(srcF32);
+		algF32.setDestination(dstF32);
+		algF32.associate();
+
+		assertEquals(dstF64.size, algF64.getMatches().size);
+		assertEquals(algF64.getMatches().size, algF32.getMatches().size);
+		for( int i = 0; i < algF64.getMatches().size; i++ ) {
+			AssociatedIndex a = algF64.getMatches().get(i);
+			AssociatedIndex b = algF32.getMatches().get(i);
+			assertEquals(a.src, b.src);
+			assertEquals(a.dst, b.dst);
+			assertEquals(a.fitScore, b.fitScore, 0);
+		}
+	}
+
+	/**
+	 * Searching for the destination features in multiple threads should produce identical results
+	 */
+	@Test
+	public void compareToSingleThread() {
+		Random rand = new Random(234);
+		FastQueue<TupleDesc_F64> srcF64 = new FastQueue<>(TupleDesc_F64.class, false);
+		FastQueue<TupleDesc_F64> dstF64 = new FastQueue<>(TupleDesc_F64.class, false);
+		FastQueue<TupleDesc_B> srcB = new FastQueue<>(TupleDesc_B.class, false);
+		FastQueue<TupleDesc_B> dstB = new FastQueue<>(TupleDesc_B.class, false);
+		for( int i = 0; i < 300; i++ ) {
+			srcF64.add(randomF64(rand));
+			dstF64.add(randomF64(rand));
+			srcB.add(randomB(rand));
+			dstB.add(randomB(rand));
+		}
+
+		ForceConcurrency force = new ForceConcurrency();
+		force.apply();
+		try {
+			compare(FactoryAssociation.kdForest(TupleDesc_F64.class, 16, 2, 234, false),
+					FactoryAssociation.kdForest(TupleDesc_F64.class, 16, 2, 234, true), srcF64, dstF64);
+			compare(FactoryAssociation.kmeansTree(TupleDesc_F64.class, 50, 8, 234, false),
+					FactoryAssociation.kmeansTree(TupleDesc_F64.class, 50, 8, 234, true), srcF64, dstF64);
+			compare(FactoryAssociation.multiIndexHashing(TupleDesc_B.class, 20, 0, false),
+					FactoryAssociation.multiIndexHashing(TupleDesc_B.class, 20, 0, true), srcB, dstB);
+		} finally {
+			force.restore();
+		}
+	}
+
+	private static <D> void compare( AssociateDescription<D> single , AssociateDescription<D> concurrent ,
+									 FastQueue<D> src , FastQueue<D> dst ) {
+		single.setSource(src);
+		single.setDestination(dst);
+		single.associate();
+		concurrent.setSource(src);
+		concurrent.setDestination(dst);
+		concurrent.associate();
+
+		assertTrue(single.getMatches().size > 0);
+		assertEquals(single.getMatches().size, concurrent.getMatches().size);
+		for( int i = 0; i < single.getMatches().size; i++ ) {
+			AssociatedIndex a = single.getMatches().get(i);
+			AssociatedIndex b = concurrent.getMatches().get(i);
+			assertEquals(a.src, b.src);
+			assertEquals(a.dst, b.dst);
+			assertEquals(a.fitScore, b.fitScore, 0);
+		}
+	}
+
+	private static TupleDesc_F64 randomF64( Random rand ) {
+		TupleDesc_F64 ret = new TupleDesc_F64(20);
+		for( int i = 0; i < ret.size(); i++ ) {
+			ret.value[i] = rand.nextDouble();
+		}
+		return ret;
+	}
+
+	private static TupleDesc_B randomB( Random rand ) {
+		TupleDesc_B ret = new TupleDesc_B(128);
+		for( int i = 0; i < ret.data.length; i++ ) {
+			ret.data[i] = rand.nextInt();
+		}
+		return ret;
+	}
+
+	private static TupleDesc_F64 convert( TupleDesc_F32 input ) {
+		TupleDesc_F64 ret = new TupleDesc_F64(input.size());
+		for( int i = 0; i < input.size(); i++ ) {
+			ret.value[i] = input.value[i];
+		}
+		return ret;
+	}
+
+	public static abstract class F64 extends StandardAssociateDescriptionChecks<TupleDesc_F64> {
+		protected F64() {
+			super(TupleDesc_F64.class);
+		}
+
+		@Override
+		protected TupleDesc_F64 c(double value) {
+			TupleDesc_F64 s = new TupleDesc_F64(1);
+			s.value[0] = value;
+			return s;
+		}
+	}
+}
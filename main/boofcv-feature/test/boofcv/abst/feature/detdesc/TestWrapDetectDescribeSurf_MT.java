@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.detdesc;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.factory.feature.detdesc.FactoryDetectDescribe;
+import boofcv.struct.feature.BrightFeature;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.ImageType;
+import boofcv.testing.ForceConcurrency;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestWrapDetectDescribeSurf_MT extends GenericTestsDetectDescribePoint<GrayF32,BrightFeature>
+{
+	ForceConcurrency force = new ForceConcurrency();
+
+	public TestWrapDetectDescribeSurf_MT() {
+		super(true, true, ImageType.single(GrayF32.class), BrightFeature.class);
+	}
+
+	/**
+	 * Force the work to be split up, even for small images
+	 */
+	@Before
+	public void before() {
+		force.apply();
+	}
+
+	@After
+	public void after() {
+		force.restore();
+	}
+
+	@Override
+	public DetectDescribePoint<GrayF32, BrightFeature> createDetDesc() {
+		return FactoryDetectDescribe.surfStable(null,null,null, GrayF32.class, true);
+	}
+
+	@Test
+	public void compareToSingleThread_fast() {
+		compare(FactoryDetectDescribe.surfFast(null,null,null, GrayF32.class, false),
+				FactoryDetectDescribe.surfFast(null,null,null, GrayF32.class, true));
+	}
+
+	@Test
+	public void compareToSingleThread_stable() {
+		compare(FactoryDetectDescribe.surfStable(null,null,null, GrayF32.class, false),
+				FactoryDetectDescribe.surfStable(null,null,null, GrayF32.class, true));
+	}
+
+	private void compare( DetectDescribePoint<GrayF32, BrightFeature> single ,
+						  DetectDescribePoint<GrayF32, BrightFeature> multi ) {
+		assertTrue(multi instanceof WrapDetectDescribeSurf_MT);
+
+		Random rand = new Random(234);
+		GrayF32 input = new GrayF32(200,180);
+		ImageMiscOps.fillUniform(input,rand,0,100);
+
+		// process twice to make sure internal storage is handled correctly
+		for( int trial = 0; trial < 2; trial++ ) {
+			single.detect(input);
+			multi.detect(input);
+
+			int N = single.getNumberOfFeatures();
+			assertTrue(N > 10);
+			assertEquals(N, multi.getNumberOfFeatures());
+			for( int i = 0; i < N; i++ ) {
+				assertEquals(0, single.getLocation(i).distance(multi.getLocation(i)), 0);
+				assertEquals(single.getRadius(i), multi.getRadius(i), 0);
+				assertEquals(single.getOrientation(i), multi.getOrientation(i), 0);
+
+				BrightFeature a = single.getDescription(i);
+				BrightFeature b = multi.getDescription(i);
+				assertEquals(a.white, b.white);
+				for( int j = 0; j < a.size(); j++ ) {
+					assertEquals(a.value[j], b.value[j], 0);
+				}
+			}
+		}
+	}
+}
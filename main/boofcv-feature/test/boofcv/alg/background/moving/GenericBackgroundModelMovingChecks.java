@@ -350,7 +350,7 @@ public abstract class GenericBackgroundModelMovingChecks {
 		alg.segment(homeToCurrent, frame, segmented);
 	}
 
-	private void noise( double mean , double range , ImageBase image ) {
+	protected void noise( double mean , double range , ImageBase image ) {
 		GImageMiscOps.fill(image,mean);
 		GImageMiscOps.addUniform(image,rand,-range,range);
 	}
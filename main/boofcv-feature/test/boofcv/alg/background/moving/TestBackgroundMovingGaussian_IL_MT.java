@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.background.moving;
+
+import boofcv.alg.background.BackgroundModelMoving;
+import boofcv.alg.distort.PointTransformHomography_F32;
+import boofcv.alg.interpolate.InterpolationType;
+import boofcv.concurrency.ObjectFactory;
+import boofcv.struct.distort.Point2Transform2Model_F32;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageBase;
+import boofcv.struct.image.ImageType;
+import boofcv.struct.image.InterleavedF32;
+import boofcv.struct.image.InterleavedU8;
+import boofcv.testing.BoofTesting;
+import boofcv.testing.ForceConcurrency;
+import georegression.struct.homography.Homography2D_F32;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestBackgroundMovingGaussian_IL_MT extends GenericBackgroundMovingGaussianChecks
+{
+	ForceConcurrency force = new ForceConcurrency();
+
+	public TestBackgroundMovingGaussian_IL_MT() {
+		imageTypes.add(ImageType.il(2, InterleavedU8.class));
+		imageTypes.add(ImageType.il(3, InterleavedU8.class));
+		imageTypes.add(ImageType.il(3, InterleavedF32.class));
+	}
+
+	/**
+	 * Force the image to be split up into several blocks even though it's small
+	 */
+	@Before
+	public void before() {
+		force.apply();
+	}
+
+	@After
+	public void after() {
+		force.restore();
+	}
+
+	@Override
+	public <T extends ImageBase<T>> BackgroundModelMoving<T, Homography2D_F32>
+	create(ImageType<T> imageType) {
+		ObjectFactory<Point2Transform2Model_F32<Homography2D_F32>> factory =
+				new ObjectFactory<Point2Transform2Model_F32<Homography2D_F32>>() {
+			@Override
+			public Point2Transform2Model_F32<Homography2D_F32> newInstance() {
+				return new PointTransformHomography_F32();
+			}
+		};
+		BackgroundMovingGaussian_IL_MT alg =
+				new BackgroundMovingGaussian_IL_MT(0.05f,16,factory, InterpolationType.BILINEAR,imageType);
+		alg.setInitialVariance(12);
+		return alg;
+	}
+
+	/**
+	 * The background model and segmented image should be identical to the single threaded version
+	 */
+	@Test
+	public void compareToSingleThread() {
+		for( ImageType type : imageTypes ) {
+			compareToSingleThread(type);
+		}
+	}
+
+	private <T extends ImageBase<T>> void compareToSingleThread( ImageType<T> imageType ) {
+		BackgroundMovingGaussian_IL single = new BackgroundMovingGaussian_IL(0.05f,16,
+				new PointTransformHomography_F32(), InterpolationType.BILINEAR,imageType);
+		BackgroundMovingGaussian_IL multi = (BackgroundMovingGaussian_IL)create(imageType);
+		single.setInitialVariance(12);
+		single.setMinimumDifference(5);
+		multi.setMinimumDifference(5);
+		single.setUnknownValue(2);
+		multi.setUnknownValue(2);
+
+		Homography2D_F32 homeToWorld = new Homography2D_F32(1,0,width/2,0,1,height/2,0,0,1);
+		single.initialize(width*2,height*2,homeToWorld);
+		multi.initialize(width*2,height*2,homeToWorld);
+
+		T frame = imageType.createImage(width,height);
+		GrayU8 expected = new GrayU8(width,height);
+		GrayU8 found = new GrayU8(width,height);
+
+		for (int i = 0; i < 10; i++) {
+			Homography2D_F32 homeToCurrent = new Homography2D_F32();
+			homeToCurrent.a13 = rand.nextFloat()*10 - 5f;
+			homeToCurrent.a23 = rand.nextFloat()*10 - 5f;
+			noise(100, 30, frame);
+
+			single.segment(homeToCurrent, frame, expected);
+			multi.segment(homeToCurrent, frame, found);
+			single.updateBackground(homeToCurrent, frame);
+			multi.updateBackground(homeToCurrent, frame);
+
+			BoofTesting.assertEquals(expected, found, 0);
+			BoofTesting.assertEquals(single.background, multi.background, 0);
+		}
+	}
+}
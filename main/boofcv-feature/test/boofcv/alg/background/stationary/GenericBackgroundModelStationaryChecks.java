@@ -243,6 +243,46 @@ public abstract class GenericBackgroundModelStationaryChecks {
 		}
 	}
 
+	/**
+	 * Calling updateAndSegment() should produce the same results as segment() followed by updateBackground()
+	 */
+	@Test
+	public void updateAndSegment() {
+		for( ImageType type : imageTypes ) {
+			updateAndSegment(type);
+		}
+	}
+
+	private <T extends ImageBase<T>> void updateAndSegment( ImageType<T> imageType ) {
+		BackgroundModelStationary<T> algA = create(imageType);
+		BackgroundModelStationary<T> algB = create(imageType);
+		algA.setUnknownValue(2);
+		algB.setUnknownValue(2);
+
+		T frame = imageType.createImage(width,height);
+		GrayU8 expected = new GrayU8(width,height);
+		GrayU8 found = new GrayU8(width,height);
+
+		for (int i = 0; i < 10; i++) {
+			noise(100, 30, frame);
+			// a region which is clearly different so that there is something to segment
+			if( i >= 5 )
+				GImageMiscOps.fillRectangle(frame, 200, 10+i, 12, 20, 15);
+
+			algA.segment(frame, expected);
+			algA.updateBackground(frame);
+			algB.updateAndSegment(frame, found);
+
+			BoofTesting.assertEquals(expected, found, 1e-8);
+		}
+
+		// the background models should also be the same
+		noise(100, 30, frame);
+		algA.segment(frame, expected);
+		algB.segment(frame, found);
+		BoofTesting.assertEquals(expected, found, 1e-8);
+	}
+
 	protected void noiseBand( double mean , double range , ImageBase image , int band ) {
 		double pixel[] = new double[ image.getImageType().getNumBands() ];
 		Arrays.fill(pixel,10);
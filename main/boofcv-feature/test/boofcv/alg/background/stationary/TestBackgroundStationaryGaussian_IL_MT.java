@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.background.stationary;
+
+import boofcv.alg.background.BackgroundModelStationary;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageBase;
+import boofcv.struct.image.ImageType;
+import boofcv.struct.image.InterleavedF32;
+import boofcv.struct.image.InterleavedU8;
+import boofcv.testing.BoofTesting;
+import boofcv.testing.ForceConcurrency;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestBackgroundStationaryGaussian_IL_MT extends GenericBackgroundStationaryGaussianChecks {
+
+	ForceConcurrency force = new ForceConcurrency();
+
+	public TestBackgroundStationaryGaussian_IL_MT() {
+		imageTypes.add(ImageType.il(2, InterleavedU8.class));
+		imageTypes.add(ImageType.il(3, InterleavedU8.class));
+		imageTypes.add(ImageType.il(3, InterleavedF32.class));
+	}
+
+	/**
+	 * Force the image to be split up into several blocks even though it's small
+	 */
+	@Before
+	public void before() {
+		force.apply();
+	}
+
+	@After
+	public void after() {
+		force.restore();
+	}
+
+	@Override
+	public <T extends ImageBase<T>> BackgroundModelStationary<T>
+	create(ImageType<T> imageType) {
+		BackgroundStationaryGaussian alg = new BackgroundStationaryGaussian_IL_MT(0.05f,10f,imageType);
+		if( !Float.isNaN(initialVariance))
+			alg.setInitialVariance(initialVariance);
+		return alg;
+	}
+
+	/**
+	 * The background model and segmented image should be identical to the single threaded version
+	 */
+	@Test
+	public void compareToSingleThread() {
+		for( ImageType type : imageTypes ) {
+			compareToSingleThread(type);
+		}
+	}
+
+	private <T extends ImageBase<T>> void compareToSingleThread( ImageType<T> imageType ) {
+		BackgroundStationaryGaussian_IL single = new BackgroundStationaryGaussian_IL(0.05f,10f,imageType);
+		BackgroundStationaryGaussian_IL multi = (BackgroundStationaryGaussian_IL)create(imageType);
+		single.setInitialVariance(multi.getInitialVariance());
+		single.setMinimumDifference(5);
+		multi.setMinimumDifference(5);
+
+		T frame = imageType.createImage(width,height);
+		GrayU8 expected = new GrayU8(width,height);
+		GrayU8 found = new GrayU8(width,height);
+
+		for (int i = 0; i < 10; i++) {
+			noise(100, 30, frame);
+
+			if( i%2 == 0 ) {
+				single.segment(frame, expected);
+				multi.segment(frame, found);
+				single.updateBackground(frame);
+				multi.updateBackground(frame);
+			} else {
+				single.updateAndSegment(frame, expected);
+				multi.updateAndSegment(frame, found);
+			}
+
+			BoofTesting.assertEquals(expected, found, 0);
+			BoofTesting.assertEquals(single.background, multi.background, 0);
+		}
+	}
+}
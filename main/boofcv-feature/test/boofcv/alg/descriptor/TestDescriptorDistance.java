@@ -177,6 +177,28 @@ public class TestDescriptorDistance {
 		}
 	}
 
+	/**
+	 * Compare to the hamming distance of the same bits stored inside of ints
+	 */
+	@Test
+	public void hamming_B64() {
+		TupleDesc_B a = new TupleDesc_B(500);
+		TupleDesc_B b = new TupleDesc_B(500);
+		TupleDesc_B64 a64 = new TupleDesc_B64(500);
+		TupleDesc_B64 b64 = new TupleDesc_B64(500);
+
+		for( int numTries = 0; numTries < 20; numTries++ ) {
+			for( int i = 0; i < a.data.length; i++ ) {
+				a.data[i] = rand.nextInt();
+				b.data[i] = rand.nextInt();
+			}
+			a64.setTo(a);
+			b64.setTo(b);
+
+			assertEquals(hamming(a,b),DescriptorDistance.hamming(a64, b64));
+		}
+	}
+
 	@Test
 	public void hamming_int() {
 		assertEquals(0,DescriptorDistance.hamming(0));
@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.associate;
+
+import boofcv.abst.feature.associate.*;
+import boofcv.struct.feature.TupleDesc_B;
+import boofcv.struct.feature.TupleDesc_B64;
+import boofcv.struct.feature.TupleDesc_F32;
+import boofcv.struct.feature.TupleDesc_F64;
+import boofcv.testing.ForceConcurrency;
+import org.ddogleg.struct.FastQueue;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestAssociateGreedyBlock {
+
+	Random rand = new Random(234);
+
+	/**
+	 * Values are drawn from a small set so that there will be many ties
+	 */
+	@Test
+	public void compare_F64() {
+		FastQueue<TupleDesc_F64> src = createF64(90);
+		FastQueue<TupleDesc_F64> dst = createF64(110);
+		ScoreAssociation<TupleDesc_F64> score = new ScoreAssociateEuclideanSq_F64();
+
+		compare(new AssociateGreedyBlock.EuclideanSq_F64(score, false, false), src, dst);
+		compare(new AssociateGreedyBlock.EuclideanSq_F64(score, true, false), src, dst);
+	}
+
+	@Test
+	public void compare_F32() {
+		FastQueue<TupleDesc_F32> src = createF32(90);
+		FastQueue<TupleDesc_F32> dst = createF32(110);
+		ScoreAssociation<TupleDesc_F32> score = new ScoreAssociateEuclideanSq_F32();
+
+		compare(new AssociateGreedyBlock.EuclideanSq_F32(score, false, false), src, dst);
+		compare(new AssociateGreedyBlock.EuclideanSq_F32(score, true, false), src, dst);
+	}
+
+	@Test
+	public void compare_B() {
+		FastQueue<TupleDesc_B> src = createB(90);
+		FastQueue<TupleDesc_B> dst = createB(110);
+		ScoreAssociation<TupleDesc_B> score = new ScoreAssociateHamming_B();
+
+		compare(new AssociateGreedyBlock.Hamming_B(score, false, false), src, dst);
+		compare(new AssociateGreedyBlock.Hamming_B(score, true, false), src, dst);
+	}
+
+	@Test
+	public void compare_B64() {
+		FastQueue<TupleDesc_B64> src = createB64(90);
+		FastQueue<TupleDesc_B64> dst = createB64(110);
+		ScoreAssociation<TupleDesc_B64> score = new ScoreAssociateHamming_B64();
+
+		compare(new AssociateGreedyBlock.Hamming_B64(score, false, false), src, dst);
+		compare(new AssociateGreedyBlock.Hamming_B64(score, true, false), src, dst);
+	}
+
+	@Test
+	public void compare_Generic() {
+		FastQueue<TupleDesc_F64> src = createF64(90);
+		FastQueue<TupleDesc_F64> dst = createF64(110);
+		ScoreAssociation<TupleDesc_F64> score = new ScoreAssociateSad_F64();
+
+		compare(new AssociateGreedyBlock.Generic<>(score, false, false), src, dst);
+		compare(new AssociateGreedyBlock.Generic<>(score, true, false), src, dst);
+	}
+
+	@Test
+	public void compare_concurrent() {
+		ForceConcurrency force = new ForceConcurrency();
+		force.apply();
+		try {
+			FastQueue<TupleDesc_F64> src = createF64(130);
+			FastQueue<TupleDesc_F64> dst = createF64(70);
+			ScoreAssociation<TupleDesc_F64> score = new ScoreAssociateEuclideanSq_F64();
+
+			compare(new AssociateGreedyBlock.EuclideanSq_F64(score, false, true), src, dst);
+			compare(new AssociateGreedyBlock.EuclideanSq_F64(score, true, true), src, dst);
+		} finally {
+			force.restore();
+		}
+	}
+
+	/**
+	 * Calls associate multiple times with different sized inputs to see if it's reset correctly
+	 */
+	@Test
+	public void multipleCalls() {
+		ScoreAssociation<TupleDesc_F64> score = new ScoreAssociateEuclideanSq_F64();
+		AssociateGreedyBlock<TupleDesc_F64> alg = new AssociateGreedyBlock.EuclideanSq_F64(score, true, false);
+
+		compare(alg, createF64(100), createF64(120));
+		compare(alg, createF64(40), createF64(20));
+		compare(alg, createF64(0), createF64(20));
+		compare(alg, createF64(20), createF64(0));
+	}
+
+	/**
+	 * Compares the results against {@link AssociateGreedy} for several block sizes and max errors
+	 */
+	private <D> void compare( AssociateGreedyBlock<D> alg , FastQueue<D> src , FastQueue<D> dst ) {
+		AssociateGreedy<D> expected = new AssociateGreedy<>(alg.getScore(), alg.isBackwardsValidation());
+
+		int[] blockSizes = new int[]{1,7,32,256};
+		double[] maxErrors = new double[]{Double.MAX_VALUE,3};
+
+		for( double maxError : maxErrors ) {
+			expected.setMaxFitError(maxError);
+			expected.associate(src, dst);
+
+			for( int blockSize : blockSizes ) {
+				alg.setMaxFitError(maxError);
+				alg.setBlockSize(blockSize, blockSize*2+1);
+				alg.associate(src, dst);
+
+				for( int i = 0; i < src.size; i++ ) {
+					assertEquals(expected.getPairs()[i], alg.getPairs()[i]);
+					assertEquals(expected.getFitQuality()[i], alg.getFitQuality()[i], 0.0);
+				}
+			}
+		}
+	}
+
+	private FastQueue<TupleDesc_F64> createF64( int total ) {
+		FastQueue<TupleDesc_F64> ret = new FastQueue<>(TupleDesc_F64.class, false);
+		for( int i = 0; i < total; i++ ) {
+			TupleDesc_F64 d = new TupleDesc_F64(5);
+			for( int j = 0; j < d.size(); j++ ) {
+				d.value[j] = rand.nextInt(3)*0.5;
+			}
+			ret.add(d);
+		}
+		return ret;
+	}
+
+	private FastQueue<TupleDesc_F32> createF32( int total ) {
+		FastQueue<TupleDesc_F32> ret = new FastQueue<>(TupleDesc_F32.class, false);
+		for( int i = 0; i < total; i++ ) {
+			TupleDesc_F32 d = new TupleDesc_F32(5);
+			for( int j = 0; j < d.size(); j++ ) {
+				d.value[j] = rand.nextInt(3)*0.1f;
+			}
+			ret.add(d);
+		}
+		return ret;
+	}
+
+	private FastQueue<TupleDesc_B> createB( int total ) {
+		FastQueue<TupleDesc_B> ret = new FastQueue<>(TupleDesc_B.class, false);
+		for( int i = 0; i < total; i++ ) {
+			TupleDesc_B d = new TupleDesc_B(40);
+			for( int j = 0; j < d.data.length; j++ ) {
+				d.data[j] = rand.nextInt() & 0x1F;
+			}
+			ret.add(d);
+		}
+		return ret;
+	}
+
+	private FastQueue<TupleDesc_B64> createB64( int total ) {
+		FastQueue<TupleDesc_B64> ret = new FastQueue<>(TupleDesc_B64.class, false);
+		for( int i = 0; i < total; i++ ) {
+			TupleDesc_B64 d = new TupleDesc_B64(70);
+			for( int j = 0; j < d.data.length; j++ ) {
+				d.data[j] = rand.nextLong() & 0x1FL;
+			}
+			ret.add(d);
+		}
+		return ret;
+	}
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.associate.nn;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Standard tests for implementations of {@link EuclideanSearch}
+ *
+ * @author Peter Abeles
+ */
+public abstract class StandardEuclideanSearchChecks {
+
+	Random rand = new Random(234);
+
+	public abstract EuclideanSearch createAlg( int maxChecks );
+
+	/**
+	 * If every point can be checked then the result should be exact
+	 */
+	@Test
+	public void exact() {
+		EuclideanSearch alg = createAlg(0);
+
+		for( int dof : new int[]{1,3,20} ) {
+			List<double[]> points = createPoints(500, dof);
+			alg.setPoints(points);
+
+			for( int trial = 0; trial < 100; trial++ ) {
+				double[] target = createPoint(dof);
+				int found = alg.findNearest(target, Double.MAX_VALUE);
+				int expected = bruteForce(points, target, Double.MAX_VALUE);
+
+				assertTrue(found >= 0);
+				double expectedDistance = distanceSq(target, points.get(expected));
+				assertEquals(expectedDistance, distanceSq(target, points.get(found)), 1e-8);
+				assertEquals(expectedDistance, alg.getDistanceSq(), 1e-8);
+			}
+		}
+	}
+
+	/**
+	 * Search for points which are in the set.  Duplicate points are included
+	 */
+	@Test
+	public void pointsInSet() {
+		EuclideanSearch alg = createAlg(0);
+
+		List<double[]> points = createPoints(200, 5);
+		for( int i = 0; i < 50; i++ ) {
+			points.add(points.get(i).clone());
+		}
+		alg.setPoints(points);
+
+		for( int i = 0; i < points.size(); i++ ) {
+			int found = alg.findNearest(points.get(i), Double.MAX_VALUE);
+			assertEquals(0, distanceSq(points.get(i), points.get(found)), 0);
+			assertEquals(0, alg.getDistanceSq(), 0);
+		}
+	}
+
+	/**
+	 * All the points are identical
+	 */
+	@Test
+	public void allIdentical() {
+		EuclideanSearch alg = createAlg(0);
+
+		List<double[]> points = new ArrayList<>();
+		for( int i = 0; i < 100; i++ ) {
+			points.add(new double[]{1,2,3});
+		}
+		alg.setPoints(points);
+
+		assertTrue(alg.findNearest(new double[]{1,2,3.5}, Double.MAX_VALUE) >= 0);
+		assertEquals(0.25, alg.getDistanceSq(), 1e-8);
+	}
+
+	@Test
+	public void maxDistance() {
+		EuclideanSearch alg = createAlg(0);
+
+		List<double[]> points = new ArrayList<>();
+		points.add(new double[]{1,2});
+		points.add(new double[]{5,2});
+		alg.setPoints(points);
+
+		assertEquals(-1, alg.findNearest(new double[]{1,3}, 0.5));
+		// inclusive
+		assertEquals(0, alg.findNearest(new double[]{1,3}, 1.0));
+		assertEquals(1, alg.findNearest(new double[]{4,2}, 1.0));
+	}
+
+	@Test
+	public void empty() {
+		EuclideanSearch alg = createAlg(0);
+		alg.setPoints(new ArrayList<double[]>());
+		assertEquals(-1, alg.findNearest(new double[]{1,3}, Double.MAX_VALUE));
+	}
+
+	/**
+	 * Approximate search on clustered data should find the nearest neighbor most of the time while checking only
+	 * a fraction of the points
+	 */
+	@Test
+	public void approximate() {
+		int maxChecks = 100;
+		EuclideanSearch alg = createAlg(maxChecks);
+
+		int dof = 32;
+		List<double[]> centers = createPoints(50, dof);
+		List<double[]> points = new ArrayList<>();
+		for( int i = 0; i < 2000; i++ ) {
+			points.add(noisy(centers.get(i%centers.size()), 1.0));
+		}
+		alg.setPoints(points);
+
+		int total = 200;
+		int correct = 0;
+		for( int trial = 0; trial < total; trial++ ) {
+			double[] target = noisy(points.get(rand.nextInt(points.size())), 0.2);
+			int found = alg.findNearest(target, Double.MAX_VALUE);
+			int expected = bruteForce(points, target, Double.MAX_VALUE);
+			if( distanceSq(target,points.get(found)) == distanceSq(target,points.get(expected)))
+				correct++;
+		}
+
+		assertTrue(correct >= total*0.9);
+	}
+
+	/**
+	 * Calls setPoints multiple times with different sized sets to see if it's reset correctly
+	 */
+	@Test
+	public void multipleCalls() {
+		EuclideanSearch alg = createAlg(0);
+
+		for( int N : new int[]{300,20,1,150} ) {
+			List<double[]> points = createPoints(N, 4);
+			alg.setPoints(points);
+
+			for( int trial = 0; trial < 20; trial++ ) {
+				double[] target = createPoint(4);
+				int found = alg.findNearest(target, Double.MAX_VALUE);
+				int expected = bruteForce(points, target, Double.MAX_VALUE);
+				assertEquals(distanceSq(target, points.get(expected)), distanceSq(target, points.get(found)), 1e-8);
+			}
+		}
+	}
+
+	/**
+	 * Searchers should produce the same results as the search they were created from, even after the points change
+	 */
+	@Test
+	public void createSearcher() {
+		EuclideanSearch alg = createAlg(20);
+		EuclideanSearch.Searcher searcherA = alg.createSearcher();
+
+		for( int N : new int[]{300,500,20} ) {
+			List<double[]> points = createPoints(N, 6);
+			alg.setPoints(points);
+			EuclideanSearch.Searcher searcherB = alg.createSearcher();
+
+			for( int trial = 0; trial < 50; trial++ ) {
+				double[] target = createPoint(6);
+				int expected = alg.findNearest(target, Double.MAX_VALUE);
+				double expectedDistance = alg.getDistanceSq();
+
+				assertEquals(expected, searcherA.findNearest(target, Double.MAX_VALUE));
+				assertEquals(expectedDistance, searcherA.getDistanceSq(), 0);
+				assertEquals(expected, searcherB.findNearest(target, Double.MAX_VALUE));
+				assertEquals(expectedDistance, searcherB.getDistanceSq(), 0);
+			}
+		}
+	}
+
+	private int bruteForce( List<double[]> points , double[] target , double maxDistanceSq ) {
+		int best = -1;
+		double bestDistance = maxDistanceSq;
+		for( int i = 0; i < points.size(); i++ ) {
+			double d = distanceSq(target, points.get(i));
+			if( d <= bestDistance ) {
+				bestDistance = d;
+				best = i;
+			}
+		}
+		return best;
+	}
+
+	private static double distanceSq( double[] a , double[] b ) {
+		double total = 0;
+		for( int i = 0; i < a.length; i++ ) {
+			double d = a[i]-b[i];
+			total += d*d;
+		}
+		return total;
+	}
+
+	private List<double[]> createPoints( int N , int dof ) {
+		List<double[]> points = new ArrayList<>();
+		for( int i = 0; i < N; i++ ) {
+			points.add(createPoint(dof));
+		}
+		return points;
+	}
+
+	private double[] createPoint( int dof ) {
+		double[] p = new double[dof];
+		for( int j = 0; j < dof; j++ ) {
+			p[j] = rand.nextDouble()*10;
+		}
+		return p;
+	}
+
+	private double[] noisy( double[] p , double sigma ) {
+		double[] ret = new double[p.length];
+		for( int j = 0; j < p.length; j++ ) {
+			ret[j] = p[j] + rand.nextGaussian()*sigma;
+		}
+		return ret;
+	}
+}
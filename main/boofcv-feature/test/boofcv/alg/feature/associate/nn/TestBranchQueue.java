@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.associate.nn;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestBranchQueue {
+	@Test
+	public void sorted() {
+		Random rand = new Random(234);
+		BranchQueue alg = new BranchQueue();
+
+		// the queue should grow and be reused
+		for( int trial = 0; trial < 2; trial++ ) {
+			double[] keys = new double[100];
+			for( int i = 0; i < keys.length; i++ ) {
+				keys[i] = rand.nextInt(50);
+				alg.push(keys[i], (int)keys[i]*2);
+			}
+			Arrays.sort(keys);
+
+			for( int i = 0; i < keys.length; i++ ) {
+				assertEquals(keys[i], alg.peekKey(), 0);
+				assertEquals((int)keys[i]*2, alg.pop());
+			}
+			assertTrue(alg.isEmpty());
+		}
+	}
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.associate.nn;
+
+import boofcv.alg.descriptor.DescriptorDistance;
+import boofcv.struct.feature.TupleDesc_B;
+import boofcv.struct.feature.TupleDesc_B64;
+import org.ddogleg.struct.FastQueue;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestMultiIndexHashing {
+
+	Random rand = new Random(234);
+
+	/**
+	 * Without a limit on the number of checks the search is exact
+	 */
+	@Test
+	public void exact_B() {
+		for( int numTables : new int[]{0,16,32} ) {
+			for( int numBits : new int[]{64,100,256} ) {
+				MultiIndexHashing.B alg = new MultiIndexHashing.B(numTables, 0);
+				FastQueue<TupleDesc_B> set = createB(1000, numBits);
+				alg.setDescriptors(set);
+
+				for( int trial = 0; trial < 50; trial++ ) {
+					// make it close to a descriptor in the set so that the search is interesting
+					TupleDesc_B target = set.get(rand.nextInt(set.size)).copy();
+					for( int i = 0; i < 10; i++ ) {
+						int bit = rand.nextInt(numBits);
+						target.data[bit/32] ^= 1 << (bit%32);
+					}
+
+					int found = alg.findNearest(target, Double.MAX_VALUE);
+					int expected = bruteForce(set, target);
+					assertEquals(DescriptorDistance.hamming(target, set.get(expected)),
+							DescriptorDistance.hamming(target, set.get(found)));
+					assertEquals(DescriptorDistance.hamming(target, set.get(expected)), alg.getDistance(), 0);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Random targets will be far from everything and require a large search radius
+	 */
+	@Test
+	public void exact_farAway() {
+		MultiIndexHashing.B alg = new MultiIndexHashing.B(0, 0);
+		FastQueue<TupleDesc_B> set = createB(200, 64);
+		alg.setDescriptors(set);
+
+		for( int trial = 0; trial < 20; trial++ ) {
+			TupleDesc_B target = createB(1, 64).get(0);
+			int found = alg.findNearest(target, Double.MAX_VALUE);
+			int expected = bruteForce(set, target);
+			assertEquals(DescriptorDistance.hamming(target, set.get(expected)),
+					DescriptorDistance.hamming(target, set.get(found)));
+		}
+	}
+
+	/**
+	 * B and B64 should produce identical results when they have the same bits
+	 */
+	@Test
+	public void compare_B_to_B64() {
+		int numBits = 200;
+		FastQueue<TupleDesc_B> setB = createB(500, numBits);
+		FastQueue<TupleDesc_B64> setB64 = new FastQueue<>(TupleDesc_B64.class, false);
+		for( int i = 0; i < setB.size; i++ ) {
+			TupleDesc_B64 d = new TupleDesc_B64(numBits);
+			d.setTo(setB.get(i));
+			setB64.add(d);
+		}
+
+		MultiIndexHashing.B algB = new MultiIndexHashing.B(12, 50);
+		MultiIndexHashing.B64 algB64 = new MultiIndexHashing.B64(12, 50);
+		algB.setDescriptors(setB);
+		algB64.setDescriptors(setB64);
+
+		for( int trial = 0; trial < 50; trial++ ) {
+			TupleDesc_B target = createB(1, numBits).get(0);
+			TupleDesc_B64 target64 = new TupleDesc_B64(numBits);
+			target64.setTo(target);
+
+			assertEquals(algB.findNearest(target, Double.MAX_VALUE), algB64.findNearest(target64, Double.MAX_VALUE));
+			assertEquals(algB.getDistance(), algB64.getDistance(), 0);
+			assertEquals(algB.getChecks(), algB64.getChecks());
+		}
+	}
+
+	@Test
+	public void maxChecks() {
+		MultiIndexHashing.B alg = new MultiIndexHashing.B(0, 20);
+		FastQueue<TupleDesc_B> set = createB(1000, 128);
+		alg.setDescriptors(set);
+
+		for( int trial = 0; trial < 20; trial++ ) {
+			TupleDesc_B target = createB(1, 128).get(0);
+			alg.findNearest(target, Double.MAX_VALUE);
+			assertTrue(alg.getChecks() <= 20);
+		}
+	}
+
+	/**
+	 * Searchers should produce the same results as the index they were created from, even after the descriptors
+	 * change
+	 */
+	@Test
+	public void createSearcher() {
+		MultiIndexHashing.B alg = new MultiIndexHashing.B(0, 20);
+		DescriptorIndex.Searcher<TupleDesc_B> searcherA = alg.createSearcher();
+
+		for( int N : new int[]{300,500,20} ) {
+			alg.setDescriptors(createB(N, 128));
+			DescriptorIndex.Searcher<TupleDesc_B> searcherB = alg.createSearcher();
+
+			for( int trial = 0; trial < 50; trial++ ) {
+				TupleDesc_B target = createB(1, 128).get(0);
+				int expected = alg.findNearest(target, Double.MAX_VALUE);
+				double expectedDistance = alg.getDistance();
+
+				assertEquals(expected, searcherA.findNearest(target, Double.MAX_VALUE));
+				assertEquals(expectedDistance, searcherA.getDistance(), 0);
+				assertEquals(expected, searcherB.findNearest(target, Double.MAX_VALUE));
+				assertEquals(expectedDistance, searcherB.getDistance(), 0);
+			}
+		}
+	}
+
+	@Test
+	public void maxDistance() {
+		MultiIndexHashing.B alg = new MultiIndexHashing.B(4, 0);
+		FastQueue<TupleDesc_B> set = createB(50, 64);
+		alg.setDescriptors(set);
+
+		TupleDesc_B target = set.get(10).copy();
+		target.data[0] ^= 0x0F;
+
+		int expected = bruteForce(set, target);
+		int distance = DescriptorDistance.hamming(target, set.get(expected));
+
+		assertEquals(-1, alg.findNearest(target, distance-1));
+		assertEquals(expected, alg.findNearest(target, distance));
+	}
+
+	/**
+	 * Substrings would be too long to use as a key
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void tooFewTables() {
+		MultiIndexHashing.B alg = new MultiIndexHashing.B(4, 0);
+		alg.setDescriptors(createB(10, 256));
+	}
+
+	@Test
+	public void empty() {
+		MultiIndexHashing.B alg = new MultiIndexHashing.B(0, 0);
+		alg.setDescriptors(new FastQueue<>(TupleDesc_B.class, false));
+		assertEquals(-1, alg.findNearest(createB(1, 64).get(0), Double.MAX_VALUE));
+	}
+
+	private int bruteForce( FastQueue<TupleDesc_B> set , TupleDesc_B target ) {
+		int best = -1;
+		int bestDistance = Integer.MAX_VALUE;
+		for( int i = 0; i < set.size; i++ ) {
+			int d = DescriptorDistance.hamming(target, set.get(i));
+			if( d < bestDistance ) {
+				bestDistance = d;
+				best = i;
+			}
+		}
+		return best;
+	}
+
+	private FastQueue<TupleDesc_B> createB( int N , int numBits ) {
+		FastQueue<TupleDesc_B> ret = new FastQueue<>(TupleDesc_B.class, false);
+		for( int i = 0; i < N; i++ ) {
+			TupleDesc_B d = new TupleDesc_B(numBits);
+			for( int j = 0; j < numBits; j++ ) {
+				if( rand.nextBoolean() )
+					d.data[j/32] |= 1 << (j%32);
+			}
+			ret.add(d);
+		}
+		return ret;
+	}
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.dense;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.struct.feature.TupleDesc_F64;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.ImageType;
+import boofcv.testing.ForceConcurrency;
+import georegression.struct.point.Point2D_I32;
+import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_F32;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares the concurrent dense descriptors against their single threaded implementations for several image
+ * shapes and both types of output
+ *
+ * @author Peter Abeles
+ */
+public class TestDescribeDenseAlgs_MT {
+
+	Random rand = new Random(234);
+
+	ImageType<GrayF32> imageType = ImageType.single(GrayF32.class);
+
+	ForceConcurrency force = new ForceConcurrency();
+
+	@Before
+	public void before() {
+		force.apply();
+	}
+
+	@After
+	public void after() {
+		force.restore();
+	}
+
+	@Test
+	public void hog() {
+		int shapes[][] = new int[][]{{60,80},{101,45},{33,17},{10,10}};
+
+		for( int[] shape : shapes ) {
+			GrayF32 input = new GrayF32(shape[0],shape[1]);
+			ImageMiscOps.fillUniform(input,rand,0,200);
+
+			for( boolean matrix : new boolean[]{false,true}) {
+				compare(new DescribeDenseHogAlg<>(9,4,3,2,1,imageType),
+						new DescribeDenseHogAlg_MT<>(9,4,3,2,1,imageType), input, matrix);
+			}
+		}
+	}
+
+	@Test
+	public void hogFast() {
+		int shapes[][] = new int[][]{{60,80},{101,45},{33,17},{10,10}};
+
+		for( int[] shape : shapes ) {
+			GrayF32 input = new GrayF32(shape[0],shape[1]);
+			ImageMiscOps.fillUniform(input,rand,0,200);
+
+			for( boolean matrix : new boolean[]{false,true}) {
+				compare(new DescribeDenseHogFastAlg<>(9,4,3,2,1,imageType),
+						new DescribeDenseHogFastAlg_MT<>(9,4,3,2,1,imageType), input, matrix);
+			}
+		}
+	}
+
+	private void compare( BaseDenseHog<GrayF32> expected , BaseDenseHog<GrayF32> found ,
+						  GrayF32 input , boolean matrix ) {
+		expected.setOutputMatrix(matrix);
+		found.setOutputMatrix(matrix);
+
+		expected.setInput(input);
+		expected.process();
+		found.setInput(input);
+		found.process();
+
+		assertIdentical(expected.getLocations(), expected.getDescriptions(), expected.getDescriptorMatrix(),
+				found.getLocations(), found.getDescriptions(), found.getDescriptorMatrix());
+	}
+
+	@Test
+	public void sift() {
+		int shapes[][] = new int[][]{{100,102},{61,45},{40,33}};
+
+		for( int[] shape : shapes ) {
+			GrayF32 derivX = new GrayF32(shape[0],shape[1]);
+			GrayF32 derivY = new GrayF32(shape[0],shape[1]);
+			ImageMiscOps.fillUniform(derivX,rand,-100,100);
+			ImageMiscOps.fillUniform(derivY,rand,-100,100);
+
+			for( boolean matrix : new boolean[]{false,true}) {
+				DescribeDenseSiftAlg<GrayF32> expected =
+						new DescribeDenseSiftAlg<>(4,4,8,0.5,0.2,5,5,GrayF32.class);
+				DescribeDenseSiftAlg_MT<GrayF32> found =
+						new DescribeDenseSiftAlg_MT<>(4,4,8,0.5,0.2,5,5,GrayF32.class);
+
+				expected.setOutputMatrix(matrix);
+				found.setOutputMatrix(matrix);
+
+				expected.setImageGradient(derivX,derivY);
+				expected.process();
+				found.setImageGradient(derivX,derivY);
+				found.process();
+
+				assertIdentical(expected.getLocations(), expected.getDescriptors(), expected.getDescriptorMatrix(),
+						found.getLocations(), found.getDescriptors(), found.getDescriptorMatrix());
+			}
+		}
+	}
+
+	private static void assertIdentical( FastQueue<Point2D_I32> expectedLocations ,
+										 FastQueue<TupleDesc_F64> expectedDescriptions ,
+										 GrowQueue_F32 expectedMatrix ,
+										 FastQueue<Point2D_I32> foundLocations ,
+										 FastQueue<TupleDesc_F64> foundDescriptions ,
+										 GrowQueue_F32 foundMatrix ) {
+		assertEquals(expectedLocations.size(), foundLocations.size());
+		for (int i = 0; i < expectedLocations.size(); i++) {
+			assertEquals(expectedLocations.get(i).x, foundLocations.get(i).x);
+			assertEquals(expectedLocations.get(i).y, foundLocations.get(i).y);
+		}
+
+		assertEquals(expectedDescriptions.size(), foundDescriptions.size());
+		for (int i = 0; i < expectedDescriptions.size(); i++) {
+			TupleDesc_F64 a = expectedDescriptions.get(i);
+			TupleDesc_F64 b = foundDescriptions.get(i);
+			for (int j = 0; j < a.size(); j++) {
+				assertEquals(a.value[j], b.value[j], 0.0);
+			}
+		}
+
+		assertEquals(expectedMatrix.size(), foundMatrix.size());
+		for (int i = 0; i < expectedMatrix.size(); i++) {
+			assertEquals(expectedMatrix.get(i), foundMatrix.get(i), 0.0f);
+		}
+	}
+}
@@ -19,10 +19,17 @@
 package boofcv.alg.feature.dense;
 
 import boofcv.alg.misc.ImageMiscOps;
+import boofcv.struct.feature.TupleDesc_F64;
 import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.ImageType;
+import georegression.struct.point.Point2D_I32;
+import org.ddogleg.struct.GrowQueue_F32;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
 import static org.junit.Assert.*;
 
 /**
@@ -156,4 +163,42 @@ public class TestDescribeDenseHogAlg {
 		}
 		return -1;
 	}
+
+	/**
+	 * The descriptor matrix should contain the same descriptors as the list
+	 */
+	@Test
+	public void outputMatrix() {
+		GrayF32 input = new GrayF32(imgWidth,imgHeight);
+		ImageMiscOps.fillUniform(input,new Random(234),0,200);
+
+		DescribeDenseHogAlg<GrayF32> alg = new DescribeDenseHogAlg<>(10,pixelsPerCell,widthCellsX,widthCellsY,2,imageType);
+		alg.setInput(input);
+		alg.process();
+		List<TupleDesc_F64> expected = new ArrayList<>();
+		for( TupleDesc_F64 d : alg.getDescriptions().toList() )
+			expected.add(d.copy());
+		List<Point2D_I32> expectedLocations = new ArrayList<>();
+		for( Point2D_I32 p : alg.getLocations().toList() )
+			expectedLocations.add(p.copy());
+		assertTrue(expected.size() > 0);
+		assertEquals(expected.size(), alg.getBlockRows()*alg.getBlockCols());
+
+		alg.setOutputMatrix(true);
+		alg.process();
+		assertEquals(0, alg.getDescriptions().size());
+		assertEquals(expected.size(), alg.getLocations().size());
+
+		int N = alg.getDescriptorLength();
+		GrowQueue_F32 matrix = alg.getDescriptorMatrix();
+		assertEquals(expected.size()*N, matrix.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(expectedLocations.get(i).x, alg.getLocations().get(i).x);
+			assertEquals(expectedLocations.get(i).y, alg.getLocations().get(i).y);
+			for (int j = 0; j < N; j++) {
+				assertEquals(expected.get(i).value[j], matrix.get(i*N+j), 1e-6);
+			}
+		}
+	}
+
 }
@@ -25,6 +25,7 @@ import boofcv.struct.image.GrayF32;
 import boofcv.testing.BoofTesting;
 import georegression.metric.UtilAngle;
 import georegression.struct.point.Point2D_I32;
+import org.ddogleg.struct.GrowQueue_F32;
 import org.junit.Test;
 
 import java.util.ArrayList;
@@ -32,6 +33,7 @@ import java.util.List;
 import java.util.Random;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author Peter Abeles
@@ -156,4 +158,39 @@ public class TestDescribeDenseSiftAlg {
 		}
 
 	}
-}
\ No newline at end of file
+
+	/**
+	 * The descriptor matrix should contain the same descriptors as the list
+	 */
+	@Test
+	public void outputMatrix() {
+		GrayF32 derivX = new GrayF32(width,height);
+		GrayF32 derivY = new GrayF32(width,height);
+
+		GImageMiscOps.fillUniform(derivX,rand,0,200);
+		GImageMiscOps.fillUniform(derivY,rand,0,200);
+
+		DescribeDenseSiftAlg<GrayF32> alg = new DescribeDenseSiftAlg<>(4,4,8,0.5,0.2,5,5,GrayF32.class);
+		alg.setImageGradient(derivX,derivY);
+		alg.process();
+		List<TupleDesc_F64> expected = new ArrayList<>();
+		for( TupleDesc_F64 d : alg.getDescriptors().toList() )
+			expected.add(d.copy());
+		assertTrue(expected.size() > 0);
+
+		alg.setOutputMatrix(true);
+		alg.process();
+		assertEquals(0, alg.getDescriptors().size());
+		assertEquals(expected.size(), alg.getLocations().size());
+
+		int N = alg.getDescriptorLength();
+		GrowQueue_F32 matrix = alg.getDescriptorMatrix();
+		assertEquals(expected.size()*N, matrix.size());
+		for (int i = 0; i < expected.size(); i++) {
+			for (int j = 0; j < N; j++) {
+				assertEquals(expected.get(i).value[j], matrix.get(i*N+j), 1e-6);
+			}
+		}
+	}
+
+}
@@ -26,7 +26,9 @@ import boofcv.alg.misc.GPixelMath;
 import boofcv.core.image.FactoryGImageGray;
 import boofcv.core.image.GImageGray;
 import boofcv.core.image.GeneralizedImageOps;
+import boofcv.alg.descriptor.DescriptorDistance;
 import boofcv.struct.feature.TupleDesc_B;
+import boofcv.struct.feature.TupleDesc_B64;
 import boofcv.struct.image.ImageGray;
 import boofcv.testing.BoofTesting;
 import georegression.struct.point.Point2D_I32;
@@ -190,6 +192,72 @@ public abstract class BaseTestDescribePointBinaryCompare<T extends ImageGray<T>>
 			assertEquals(desc.getDouble(i),descInside.getDouble(i),1e-8);
 	}
 
+	/**
+	 * Converting the output of the {@link TupleDesc_B} path into a {@link TupleDesc_B64} should produce exactly
+	 * the same descriptor as computing it directly.  Uses enough comparisons to fill more than one word and
+	 * a partial last word.  Includes the image border.
+	 */
+	@Test
+	public void describe_B_setTo_equals_B64() {
+		BinaryCompareDefinition_I32 def = FactoryBriefDefinition.gaussian2(rand, 5, 100);
+		T input = createImage(width,height);
+
+		DescribePointBinaryCompare<T> alg = createAlg(def);
+		alg.setImage(input);
+
+		TupleDesc_B desc = new TupleDesc_B(def.getLength());
+		TupleDesc_B64 expected = new TupleDesc_B64(def.getLength());
+		TupleDesc_B64 found = new TupleDesc_B64(def.getLength());
+
+		int[] points = new int[]{width/2,height/2, 0,0, 1,2, width-2,height/2, width-1,height-1};
+		for( int i = 0; i < points.length; i += 2 ) {
+			alg.process(points[i], points[i+1], desc);
+			alg.process(points[i], points[i+1], found);
+
+			expected.setTo(desc);
+			assertEquals(expected.numBits,found.numBits);
+			for( int j = 0; j < expected.data.length; j++ )
+				assertEquals(expected.data[j],found.data[j]);
+			for( int j = 0; j < def.getLength(); j++ )
+				assertEquals(desc.isBitTrue(j),found.isBitTrue(j));
+		}
+	}
+
+	/**
+	 * The hamming distance should be the same no matter how the descriptor is stored. Includes the image border.
+	 */
+	@Test
+	public void compare_B_to_B64() {
+		BinaryCompareDefinition_I32 def = FactoryBriefDefinition.gaussian2(rand, 5, 100);
+		T input = createImage(width,height);
+
+		DescribePointBinaryCompare<T> alg = createAlg(def);
+		alg.setImage(input);
+
+		TupleDesc_B descA = new TupleDesc_B(def.getLength());
+		TupleDesc_B descB = new TupleDesc_B(def.getLength());
+		TupleDesc_B64 descA64 = new TupleDesc_B64(def.getLength());
+		TupleDesc_B64 descB64 = new TupleDesc_B64(def.getLength());
+
+		int[] points = new int[]{width/2,height/2, 1,2, width-2,height/2, width/2+3,height/2-2};
+		for( int i = 0; i < points.length; i += 2 ) {
+			for( int j = 0; j < points.length; j += 2 ) {
+				alg.process(points[i], points[i+1], descA);
+				alg.process(points[j], points[j+1], descB);
+				alg.process(points[i], points[i+1], descA64);
+				alg.process(points[j], points[j+1], descB64);
+
+				assertEquals(DescriptorDistance.hamming(descA,descB),DescriptorDistance.hamming(descA64,descB64));
+			}
+		}
+
+		// border and inside should produce the same result inside the image
+		alg.processBorder(width/2,height/2,descA64);
+		alg.processInside(width/2,height/2,descB64);
+		for( int i = 0; i < descA64.data.length; i++ )
+			assertEquals(descA64.data[i],descB64.data[i]);
+	}
+
 	public TupleDesc_B createFeature() {
 		return new TupleDesc_B(def.getLength());
 	}
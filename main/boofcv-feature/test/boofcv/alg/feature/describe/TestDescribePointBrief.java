@@ -23,6 +23,7 @@ import boofcv.alg.feature.describe.brief.BinaryCompareDefinition_I32;
 import boofcv.alg.misc.GImageMiscOps;
 import boofcv.factory.filter.blur.FactoryBlurFilter;
 import boofcv.struct.feature.TupleDesc_B;
+import boofcv.struct.feature.TupleDesc_B64;
 import boofcv.struct.image.GrayU8;
 import boofcv.struct.image.ImageType;
 import org.junit.Test;
@@ -51,11 +52,11 @@ public class TestDescribePointBrief {
 		DescribePointBrief<GrayU8> alg = new DescribePointBrief<>(helper,filterBlur);
 
 		alg.setImage(input);
-		alg.process(15,20,null);
+		alg.process(15,20,(TupleDesc_B)null);
 		assertEquals(1,helper.numInside);
 		assertEquals(0,helper.numOutside);
 
-		alg.process(0,0,null);
+		alg.process(0,0,(TupleDesc_B)null);
 		assertEquals(1,helper.numInside);
 		assertEquals(1,helper.numOutside);
 
@@ -79,5 +80,15 @@ public class TestDescribePointBrief {
 		public void processBorder(int c_x, int c_y, TupleDesc_B feature) {
 			numOutside++;
 		}
+
+		@Override
+		public void processInside(int c_x, int c_y, TupleDesc_B64 feature) {
+			numInside++;
+		}
+
+		@Override
+		public void processBorder(int c_x, int c_y, TupleDesc_B64 feature) {
+			numOutside++;
+		}
 	}
 }
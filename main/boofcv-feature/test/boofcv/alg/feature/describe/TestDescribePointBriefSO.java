@@ -29,6 +29,7 @@ import boofcv.factory.feature.describe.FactoryDescribePointAlgs;
 import boofcv.factory.filter.blur.FactoryBlurFilter;
 import boofcv.struct.BoofDefaults;
 import boofcv.struct.feature.TupleDesc_B;
+import boofcv.struct.feature.TupleDesc_B64;
 import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.ImageType;
 import boofcv.testing.BoofTesting;
@@ -224,6 +225,32 @@ public class TestDescribePointBriefSO {
 		}
 	}
 
+	/**
+	 * The 64-bit descriptor should have the same bits as the 32-bit descriptor
+	 */
+	@Test
+	public void compare_B_to_B64() {
+		GrayF32 input = createImage(width,height);
+
+		DescribePointBriefSO<GrayF32> alg = createAlg();
+		alg.setImage(input);
+
+		TupleDesc_B desc = alg.createFeature();
+		TupleDesc_B64 desc64 = alg.createFeature64();
+		TupleDesc_B64 expected = alg.createFeature64();
+
+		float[] points = new float[]{width/2,height/2, 0,0, width-1,height-1};
+		for( int i = 0; i < points.length; i += 2 ) {
+			alg.process(points[i],points[i+1],0.5f,briefRadius*1.2f,desc);
+			alg.process(points[i],points[i+1],0.5f,briefRadius*1.2f,desc64);
+
+			expected.setTo(desc);
+			for( int j = 0; j < desc64.data.length; j++ ) {
+				assertEquals(expected.data[j], desc64.data[j]);
+			}
+		}
+	}
+
 	/**
 	 * See if it handles the image border correctly.
 	 */
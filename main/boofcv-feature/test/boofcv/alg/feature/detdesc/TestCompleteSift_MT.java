@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detdesc;
+
+import boofcv.abst.feature.detect.extract.ConfigExtract;
+import boofcv.abst.feature.detect.extract.NonMaxLimiter;
+import boofcv.abst.feature.detect.extract.NonMaxSuppression;
+import boofcv.alg.feature.describe.DescribePointSift;
+import boofcv.alg.feature.detect.interest.SiftScaleSpace;
+import boofcv.alg.feature.orientation.OrientationHistogramSift;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.concurrency.ObjectFactory;
+import boofcv.factory.feature.detect.extract.FactoryFeatureExtractor;
+import boofcv.struct.feature.BrightFeature;
+import boofcv.struct.feature.ScalePoint;
+import boofcv.struct.image.GrayF32;
+import boofcv.testing.ForceConcurrency;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestCompleteSift_MT {
+
+	Random rand = new Random(234);
+
+	ForceConcurrency force = new ForceConcurrency();
+
+	/**
+	 * Force the work to be split up, even for small images
+	 */
+	@Before
+	public void before() {
+		force.apply();
+	}
+
+	@After
+	public void after() {
+		force.restore();
+	}
+
+	/**
+	 * The same features should be found in the same order as the single threaded version
+	 */
+	@Test
+	public void compareToSingleThread() {
+		GrayF32 image = new GrayF32(300,290);
+		GImageMiscOps.fillUniform(image,rand,0,200);
+
+		CompleteSift single = createAlg(false);
+		CompleteSift multi = createAlg(true);
+
+		// process twice to make sure internal storage is handled correctly
+		for( int trial = 0; trial < 2; trial++ ) {
+			single.process(image);
+			multi.process(image);
+
+			int N = single.getDescriptions().size;
+			assertTrue(N > 10);
+			assertEquals(N, multi.getDescriptions().size);
+			assertEquals(N, multi.getLocations().size);
+			assertEquals(N, multi.getOrientations().size);
+
+			for( int i = 0; i < N; i++ ) {
+				ScalePoint a = single.getLocations().get(i);
+				ScalePoint b = multi.getLocations().get(i);
+				assertEquals(a.x, b.x, 0);
+				assertEquals(a.y, b.y, 0);
+				assertEquals(a.scale, b.scale, 0);
+				assertEquals(single.getOrientations().get(i), multi.getOrientations().get(i), 0);
+
+				BrightFeature fa = single.getDescriptions().get(i);
+				BrightFeature fb = multi.getDescriptions().get(i);
+				assertEquals(fa.white, fb.white);
+				for( int j = 0; j < fa.size(); j++ ) {
+					assertEquals(fa.value[j], fb.value[j], 0);
+				}
+			}
+		}
+	}
+
+	private CompleteSift createAlg( boolean concurrent ) {
+
+		SiftScaleSpace ss = new SiftScaleSpace(-1,4,3,1.6);
+
+		NonMaxSuppression nonmax = FactoryFeatureExtractor.nonmax(new ConfigExtract(1,0,1,true,true,true));
+		NonMaxLimiter limiter = new NonMaxLimiter(nonmax,300);
+
+		ObjectFactory<OrientationHistogramSift<GrayF32>> factoryOri =
+				new ObjectFactory<OrientationHistogramSift<GrayF32>>() {
+			@Override
+			public OrientationHistogramSift<GrayF32> newInstance() {
+				return new OrientationHistogramSift<>(36,1.5,GrayF32.class);
+			}
+		};
+		ObjectFactory<DescribePointSift<GrayF32>> factoryDesc = new ObjectFactory<DescribePointSift<GrayF32>>() {
+			@Override
+			public DescribePointSift<GrayF32> newInstance() {
+				return new DescribePointSift<>(4,4,8,1.5,0.5,0.2,GrayF32.class);
+			}
+		};
+
+		if( concurrent )
+			return new CompleteSift_MT(ss,10,limiter,factoryOri,factoryDesc);
+		else
+			return new CompleteSift(ss,10,limiter,factoryOri.newInstance(),factoryDesc.newInstance());
+	}
+}
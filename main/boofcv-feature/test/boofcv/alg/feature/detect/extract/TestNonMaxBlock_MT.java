@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.extract;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.ObjectFactory;
+import boofcv.struct.QueueCorner;
+import boofcv.struct.image.GrayF32;
+import boofcv.testing.ForceConcurrency;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestNonMaxBlock_MT {
+
+	Random rand = new Random(234);
+
+	ForceConcurrency force = new ForceConcurrency();
+
+	/**
+	 * Force the image to be split up, even for small images
+	 */
+	@Before
+	public void before() {
+		force.apply();
+	}
+
+	@After
+	public void after() {
+		force.restore();
+	}
+
+	@Test
+	public void standardTests() {
+		for( final boolean strict : new boolean[]{true,false}) {
+			standardTests(strict, true, false);
+			standardTests(strict, false, true);
+			standardTests(strict, true, true);
+		}
+	}
+
+	private void standardTests( final boolean strict , final boolean min , final boolean max ) {
+		GenericNonMaxAlgorithmTests checks = new GenericNonMaxAlgorithmTests(strict,min,max) {
+			@Override
+			public void findMaximums(GrayF32 intensity, float threshold, int radius, int border,
+									 QueueCorner foundMinimum, QueueCorner foundMaximum)
+			{
+				NonMaxBlock alg = create(strict,min,max);
+				alg.setThresholdMin(-threshold);
+				alg.setThresholdMax(threshold);
+				alg.setBorder(border);
+				alg.setSearchRadius(radius);
+				alg.process(intensity,foundMinimum,foundMaximum);
+			}
+		};
+
+		checks.allStandard();
+	}
+
+	/**
+	 * Features should be found in the same order as the single threaded version
+	 */
+	@Test
+	public void compareToSingleThread() {
+		GrayF32 intensity = new GrayF32(120,97);
+		ImageMiscOps.fillUniform(intensity,rand,-10,10);
+
+		for( final boolean strict : new boolean[]{true,false}) {
+			for (int radius = 1; radius <= 3; radius++) {
+				for (int border = 0; border <= 4; border += 4) {
+					NonMaxBlock single = strict ? new NonMaxBlockStrict.MinMax() : new NonMaxBlockRelaxed.MinMax();
+					NonMaxBlock multi = create(strict,true,true);
+
+					for( NonMaxBlock alg : new NonMaxBlock[]{single,multi}) {
+						alg.setThresholdMin(-2);
+						alg.setThresholdMax(2);
+						alg.setBorder(border);
+						alg.setSearchRadius(radius);
+					}
+
+					QueueCorner expectedMin = new QueueCorner(), expectedMax = new QueueCorner();
+					QueueCorner foundMin = new QueueCorner(), foundMax = new QueueCorner();
+
+					single.process(intensity,expectedMin,expectedMax);
+					// call twice to make sure internal storage is reset
+					multi.process(intensity,foundMin,foundMax);
+					foundMin.reset(); foundMax.reset();
+					multi.process(intensity,foundMin,foundMax);
+
+					assertTrue(expectedMax.size > 10);
+					assertTrue(expectedMin.size > 10);
+					checkIdentical(expectedMin, foundMin);
+					checkIdentical(expectedMax, foundMax);
+				}
+			}
+		}
+	}
+
+	private static void checkIdentical( QueueCorner expected , QueueCorner found ) {
+		assertEquals(expected.size, found.size);
+		for (int i = 0; i < expected.size; i++) {
+			assertEquals(expected.get(i).x, found.get(i).x);
+			assertEquals(expected.get(i).y, found.get(i).y);
+		}
+	}
+
+	private static NonMaxBlock create( final boolean strict , final boolean min , final boolean max ) {
+		return new NonMaxBlock_MT(new ObjectFactory<NonMaxBlock>() {
+			@Override
+			public NonMaxBlock newInstance() {
+				if( strict ) {
+					if( min && max ) return new NonMaxBlockStrict.MinMax();
+					else if( min ) return new NonMaxBlockStrict.Min();
+					else return new NonMaxBlockStrict.Max();
+				} else {
+					if( min && max ) return new NonMaxBlockRelaxed.MinMax();
+					else if( min ) return new NonMaxBlockRelaxed.Min();
+					else return new NonMaxBlockRelaxed.Max();
+				}
+			}
+		});
+	}
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.extract;
+
+import boofcv.struct.QueueCorner;
+import boofcv.struct.image.GrayF32;
+import georegression.struct.point.Point2D_I16;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestSelectGridBestFeatures {
+
+	Random rand = new Random(234);
+
+	int width = 60;
+	int height = 50;
+
+	/**
+	 * Compare against a brute force implementation for different grids and quotas
+	 */
+	@Test
+	public void compareToBruteForce() {
+		GrayF32 intensity = new GrayF32(width,height);
+		QueueCorner corners = createCorners(intensity, 200);
+
+		for( boolean positive : new boolean[]{true,false}) {
+			for (int rows = 1; rows <= 4; rows++) {
+				for (int cols = 1; cols <= 5; cols += 2) {
+					for (int quota = 1; quota <= 20; quota += 4) {
+						SelectGridBestFeatures alg = new SelectGridBestFeatures(rows,cols,quota);
+						alg.process(intensity,corners,positive,null);
+
+						checkSelection(intensity, corners, alg.getBestCorners(), null, rows, cols, quota, positive);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Excluded features should reduce the quota in their cell
+	 */
+	@Test
+	public void exclude() {
+		GrayF32 intensity = new GrayF32(width,height);
+		QueueCorner corners = createCorners(intensity, 200);
+
+		QueueCorner exclude = new QueueCorner();
+		for (int i = 0; i < 30; i++) {
+			exclude.add(rand.nextInt(width),rand.nextInt(height));
+		}
+		// outside the image should be ignored
+		exclude.add(-1,5);
+		exclude.add(5,height);
+
+		SelectGridBestFeatures alg = new SelectGridBestFeatures(3,4,5);
+		alg.process(intensity,corners,true,exclude);
+
+		checkSelection(intensity, corners, alg.getBestCorners(), exclude, 3, 4, 5, true);
+	}
+
+	/**
+	 * Changing the quota and calling select should be the same as processing again
+	 */
+	@Test
+	public void changeQuota() {
+		GrayF32 intensity = new GrayF32(width,height);
+		QueueCorner corners = createCorners(intensity, 200);
+
+		SelectGridBestFeatures alg = new SelectGridBestFeatures(3,4,2);
+		alg.process(intensity,corners,true,null);
+
+		for( int quota : new int[]{1,7,3,100}) {
+			alg.setQuota(quota);
+			alg.select();
+
+			SelectGridBestFeatures expected = new SelectGridBestFeatures(3,4,quota);
+			expected.process(intensity,corners,true,null);
+
+			QueueCorner a = expected.getBestCorners();
+			QueueCorner b = alg.getBestCorners();
+			assertEquals(a.size,b.size);
+			for (int i = 0; i < a.size; i++) {
+				assertTrue(a.get(i).x == b.get(i).x && a.get(i).y == b.get(i).y);
+			}
+		}
+	}
+
+	/**
+	 * Fewer features than the quota should return all of them in the original order
+	 */
+	@Test
+	public void fewerThanQuota() {
+		GrayF32 intensity = new GrayF32(width,height);
+		QueueCorner corners = new QueueCorner();
+		corners.add(5,5);
+		corners.add(1,2);
+		corners.add(3,7);
+
+		SelectGridBestFeatures alg = new SelectGridBestFeatures(2,2,5);
+		alg.process(intensity,corners,true,null);
+
+		QueueCorner found = alg.getBestCorners();
+		assertEquals(3,found.size);
+		for (int i = 0; i < 3; i++) {
+			assertEquals(corners.get(i).x,found.get(i).x);
+			assertEquals(corners.get(i).y,found.get(i).y);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void selectBeforeProcess() {
+		new SelectGridBestFeatures(2,2,5).select();
+	}
+
+	/**
+	 * Creates unique corners with unique intensity values
+	 */
+	private QueueCorner createCorners( GrayF32 intensity , int total ) {
+		QueueCorner corners = new QueueCorner();
+		List<Integer> pixels = new ArrayList<>();
+		for (int i = 0; i < width*height; i++) {
+			pixels.add(i);
+		}
+		Collections.shuffle(pixels,rand);
+		for (int i = 0; i < total; i++) {
+			int x = pixels.get(i)%width;
+			int y = pixels.get(i)/width;
+			corners.add(x,y);
+			intensity.set(x,y,(rand.nextFloat()-0.5f)*100);
+		}
+		return corners;
+	}
+
+	private void checkSelection( GrayF32 intensity , QueueCorner corners , QueueCorner found ,
+								 QueueCorner exclude ,
+								 int rows , int cols , int quota , boolean positive ) {
+		int total = 0;
+		for (int row = 0; row < rows; row++) {
+			for (int col = 0; col < cols; col++) {
+				// pixels which map to this cell using x*cols/width
+				int x0 = (col*width+cols-1)/cols, x1 = ((col+1)*width+cols-1)/cols;
+				int y0 = (row*height+rows-1)/rows, y1 = ((row+1)*height+rows-1)/rows;
+
+				int cellQuota = quota;
+				if( exclude != null ) {
+					for (int i = 0; i < exclude.size; i++) {
+						if( contains(exclude.get(i),x0,y0,x1,y1))
+							cellQuota--;
+					}
+				}
+				cellQuota = Math.max(0,cellQuota);
+
+				// brute force selection by sorting
+				List<Float> values = new ArrayList<>();
+				for (int i = 0; i < corners.size; i++) {
+					Point2D_I16 p = corners.get(i);
+					if( contains(p,x0,y0,x1,y1))
+						values.add(positive ? -intensity.get(p.x,p.y) : intensity.get(p.x,p.y));
+				}
+				Collections.sort(values);
+				int expected = Math.min(cellQuota,values.size());
+
+				List<Float> selected = new ArrayList<>();
+				for (int i = 0; i < found.size; i++) {
+					Point2D_I16 p = found.get(i);
+					if( contains(p,x0,y0,x1,y1))
+						selected.add(positive ? -intensity.get(p.x,p.y) : intensity.get(p.x,p.y));
+				}
+				Collections.sort(selected);
+
+				assertEquals(expected, selected.size());
+				for (int i = 0; i < expected; i++) {
+					assertEquals(values.get(i), selected.get(i), 0);
+				}
+				total += expected;
+			}
+		}
+		assertEquals(total, found.size);
+	}
+
+	private static boolean contains( Point2D_I16 p , int x0 , int y0 , int x1 , int y1 ) {
+		return p.x >= x0 && p.x < x1 && p.y >= y0 && p.y < y1;
+	}
+}
@@ -0,0 +1,306 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.feature.detect.interest;
+
+import boofcv.abst.feature.detect.intensity.WrapperFastCornerIntensity;
+import boofcv.abst.feature.detect.interest.ConfigFast;
+import boofcv.abst.feature.detect.interest.ConfigGeneralDetector;
+import boofcv.alg.feature.detect.intensity.FastCornerIntensity;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.ObjectFactory;
+import boofcv.factory.feature.detect.intensity.FactoryIntensityPointAlg;
+import boofcv.factory.feature.detect.interest.FactoryDetectPoint;
+import boofcv.struct.QueueCorner;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
+import boofcv.testing.BoofTesting;
+import georegression.struct.point.Point2D_I16;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestFastCornerDetector {
+
+	Random rand = new Random(234);
+
+	GrayU8 image = new GrayU8(80,65);
+
+	int pixelTol = 15;
+	int minContinuous = 9;
+
+	public TestFastCornerDetector() {
+		ImageMiscOps.fillUniform(image,rand,0,255);
+	}
+
+	/**
+	 * Compare against FAST intensity image followed by non-maximum suppression.  The same features should be
+	 * found in the same order.
+	 */
+	@Test
+	public void compareToIntensityImage() {
+		for (int radius = 1; radius <= 4; radius++) {
+			for( float threshold : new float[]{0,200}) {
+				GeneralFeatureDetector<GrayU8,GrayU8> expected = createReference(0,radius,threshold);
+				GeneralFeatureDetector<GrayU8,GrayU8> found = create(radius,threshold);
+
+				expected.process(image,null,null,null,null,null);
+				found.process(image,null,null,null,null,null);
+
+				assertTrue(expected.getMaximums().size > 10);
+				checkIdentical(expected.getMaximums(), found.getMaximums());
+				assertEquals(0, found.getMinimums().size);
+			}
+		}
+	}
+
+	/**
+	 * Changing the threshold after the first image should produce the same results as a new detector
+	 */
+	@Test
+	public void changeThreshold() {
+		GeneralFeatureDetector<GrayU8,GrayU8> expected = createReference(0,2,2000);
+		GeneralFeatureDetector<GrayU8,GrayU8> found = create(2,0);
+
+		found.process(image,null,null,null,null,null);
+		int before = found.getMaximums().size;
+		found.setThreshold(2000);
+		expected.process(image,null,null,null,null,null);
+		found.process(image,null,null,null,null,null);
+
+		assertTrue(found.getMaximums().size > 0);
+		assertTrue(found.getMaximums().size < before);
+		checkIdentical(expected.getMaximums(), found.getMaximums());
+	}
+
+	@Test
+	public void subimage() {
+		GrayU8 sub = BoofTesting.createSubImageOf(image);
+
+		GeneralFeatureDetector<GrayU8,GrayU8> alg = create(2,0);
+		alg.process(image,null,null,null,null,null);
+		QueueCorner expected = copy(alg.getMaximums());
+		alg.process(sub,null,null,null,null,null);
+
+		checkIdentical(expected, alg.getMaximums());
+	}
+
+	@Test
+	public void imageTypeF32() {
+		GrayF32 imageF = new GrayF32(image.width,image.height);
+		for (int i = 0; i < image.data.length; i++) {
+			imageF.data[i] = image.data[i] & 0xFF;
+		}
+
+		GeneralFeatureDetector<GrayU8,GrayU8> expected = create(2,0);
+		expected.process(image,null,null,null,null,null);
+
+		GeneralFeatureDetector<GrayF32,GrayF32> found =
+				FactoryDetectPoint.createFastFused(new ConfigFast(pixelTol,minContinuous),
+						new ConfigGeneralDetector(0,2,0), GrayF32.class, false);
+		found.process(imageF,null,null,null,null,null);
+
+		checkIdentical(expected.getMaximums(), found.getMaximums());
+	}
+
+	/**
+	 * createFast() should still compute an intensity image, which the fused detector doesn't, and find the
+	 * same corners as the fused detector
+	 */
+	@Test
+	public void factory_createFastKeepsIntensity() {
+		ConfigGeneralDetector config = new ConfigGeneralDetector(0,2,0);
+		GeneralFeatureDetector<GrayU8,GrayU8> standard =
+				FactoryDetectPoint.createFast(new ConfigFast(pixelTol,minContinuous), config, GrayU8.class);
+		GeneralFeatureDetector<GrayU8,GrayU8> fused =
+				FactoryDetectPoint.createFastFused(new ConfigFast(pixelTol,minContinuous), config, GrayU8.class, false);
+
+		assertFalse(standard instanceof FastCornerDetector);
+		standard.process(image,null,null,null,null,null);
+		fused.process(image,null,null,null,null,null);
+
+		assertTrue(standard.getIntensity() != null);
+		assertNull(fused.getIntensity());
+		checkIdentical(standard.getMaximums(), fused.getMaximums());
+	}
+
+	/**
+	 * When the maximum number of features is specified the most intense ones should be selected
+	 */
+	@Test
+	public void maxFeatures() {
+		GeneralFeatureDetector<GrayU8,GrayU8> expected = createReference(0,2,0);
+		GeneralFeatureDetector<GrayU8,GrayU8> found = create(2,0);
+		expected.process(image,null,null,null,null,null);
+		int total = expected.getMaximums().size;
+
+		expected.setMaxFeatures(total/3);
+		found.setMaxFeatures(total/3);
+		expected.process(image,null,null,null,null,null);
+		found.process(image,null,null,null,null,null);
+
+		assertEquals(total/3, found.getMaximums().size);
+		checkSameIntensity(expected.getIntensity(), expected.getMaximums(), found.getMaximums());
+	}
+
+	/**
+	 * Excluded pixels should not be returned and suppress their neighbors
+	 */
+	@Test
+	public void exclude() {
+		GeneralFeatureDetector<GrayU8,GrayU8> expected = createReference(0,2,0);
+		GeneralFeatureDetector<GrayU8,GrayU8> found = create(2,0);
+		expected.process(image,null,null,null,null,null);
+		QueueCorner all = copy(expected.getMaximums());
+
+		// exclude corners and pixels next to corners
+		QueueCorner exclude = new QueueCorner();
+		for (int i = 0; i < all.size; i += 4) {
+			Point2D_I16 p = all.get(i);
+			exclude.add(p.x, p.y);
+			exclude.add(p.x+1, p.y-1);
+		}
+		expected = createReference(0,2,0);
+		expected.setExcludeMaximum(exclude);
+
+		// points outside the image should be ignored
+		exclude = copy(exclude);
+		exclude.add(-1,20);
+		exclude.add(20,image.height);
+		found.setExcludeMaximum(exclude);
+		expected.process(image,null,null,null,null,null);
+		found.process(image,null,null,null,null,null);
+
+		assertTrue(found.getMaximums().size < all.size);
+		checkIdentical(expected.getMaximums(), found.getMaximums());
+
+		// excluded features reduce the number selected
+		found.setMaxFeatures(exclude.size+5);
+		found.process(image,null,null,null,null,null);
+		assertEquals(5, found.getMaximums().size);
+		found.setMaxFeatures(exclude.size);
+		found.process(image,null,null,null,null,null);
+		assertEquals(0, found.getMaximums().size);
+	}
+
+	/**
+	 * Select features inside a grid
+	 */
+	@Test
+	public void selectGrid() {
+		GeneralFeatureDetector<GrayU8,GrayU8> expected = createReference(0,1,0);
+		GeneralFeatureDetector<GrayU8,GrayU8> found = create(1,0);
+		for( GeneralFeatureDetector<GrayU8,GrayU8> alg : Arrays.asList(expected,found)) {
+			alg.setGrid(3,4);
+			alg.setMaxFeaturesPerCell(4);
+		}
+
+		expected.process(image,null,null,null,null,null);
+		found.process(image,null,null,null,null,null);
+
+		assertEquals(3*4*4, found.getMaximums().size);
+		checkSameIntensity(expected.getIntensity(), expected.getMaximums(), found.getMaximums());
+
+		// change the quota without processing the image again
+		expected.setMaxFeaturesPerCell(2);
+		found.setMaxFeaturesPerCell(2);
+		expected.reselect();
+		found.reselect();
+
+		assertEquals(3*4*2, found.getMaximums().size);
+		checkSameIntensity(expected.getIntensity(), expected.getMaximums(), found.getMaximums());
+	}
+
+	@Test
+	public void noIntensityImage() {
+		GeneralFeatureDetector<GrayU8,GrayU8> alg = create(2,0);
+		alg.process(image,null,null,null,null,null);
+		assertNull(alg.getIntensity());
+		assertTrue(!alg.getRequiresGradient());
+		assertTrue(!alg.getRequiresHessian());
+	}
+
+	/**
+	 * The image is too small to contain any corners
+	 */
+	@Test
+	public void smallImage() {
+		GeneralFeatureDetector<GrayU8,GrayU8> alg = create(2,0);
+		alg.process(new GrayU8(6,50),null,null,null,null,null);
+		assertEquals(0, alg.getMaximums().size);
+		alg.process(new GrayU8(50,6),null,null,null,null,null);
+		assertEquals(0, alg.getMaximums().size);
+	}
+
+	private GeneralFeatureDetector<GrayU8,GrayU8> createReference( int maxFeatures , int radius , float threshold ) {
+		FastCornerIntensity<GrayU8> fast = FactoryIntensityPointAlg.fast(pixelTol, minContinuous, GrayU8.class);
+		ConfigGeneralDetector config = new ConfigGeneralDetector(maxFeatures,radius,threshold,0,true,false,true);
+		return FactoryDetectPoint.createGeneral(new WrapperFastCornerIntensity<GrayU8,GrayU8>(fast), config);
+	}
+
+	protected GeneralFeatureDetector<GrayU8,GrayU8> create( int radius , float threshold ) {
+		return new FastCornerDetector<>(new ObjectFactory<FastCornerIntensity<GrayU8>>() {
+			@Override
+			public FastCornerIntensity<GrayU8> newInstance() {
+				return FactoryIntensityPointAlg.fast(pixelTol, minContinuous, GrayU8.class);
+			}
+		}, radius, threshold);
+	}
+
+	static QueueCorner copy( QueueCorner src ) {
+		QueueCorner dst = new QueueCorner();
+		for (int i = 0; i < src.size; i++) {
+			dst.grow().set(src.get(i));
+		}
+		return dst;
+	}
+
+	static void checkIdentical( QueueCorner expected , QueueCorner found ) {
+		assertEquals(expected.size, found.size);
+		for (int i = 0; i < expected.size; i++) {
+			assertEquals(expected.get(i).x, found.get(i).x);
+			assertEquals(expected.get(i).y, found.get(i).y);
+		}
+	}
+
+	/**
+	 * Ties can cause different features to be selected but they should have the same intensity
+	 */
+	static void checkSameIntensity( GrayF32 intensity , QueueCorner expected , QueueCorner found ) {
+		assertEquals(expected.size, found.size);
+		float a[] = new float[expected.size];
+		float b[] = new float[found.size];
+		for (int i = 0; i < a.length; i++) {
+			a[i] = intensity.get(expected.get(i).x, expected.get(i).y);
+			b[i] = intensity.get(found.get(i).x, found.get(i).y);
+		}
+		Arrays.sort(a);
+		Arrays.sort(b);
+		for (int i = 0; i < a.length; i++) {
+			assertEquals(a[i], b[i], 0);
+		}
+	}
+}
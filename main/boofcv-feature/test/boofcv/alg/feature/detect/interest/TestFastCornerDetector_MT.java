@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.feature.detect.interest;
+
+import boofcv.abst.feature.detect.interest.ConfigFast;
+import boofcv.abst.feature.detect.interest.ConfigGeneralDetector;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.factory.feature.detect.interest.FactoryDetectPoint;
+import boofcv.struct.QueueCorner;
+import boofcv.struct.image.GrayU8;
+import boofcv.testing.ForceConcurrency;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestFastCornerDetector_MT {
+
+	Random rand = new Random(234);
+
+	ForceConcurrency force = new ForceConcurrency();
+
+	/**
+	 * Force the image to be split up, even for small images
+	 */
+	@Before
+	public void before() {
+		force.apply();
+	}
+
+	@After
+	public void after() {
+		force.restore();
+	}
+
+	/**
+	 * Features should be found in the same order as the single threaded version
+	 */
+	@Test
+	public void compareToSingleThread() {
+		GrayU8 image = new GrayU8(120,97);
+		ImageMiscOps.fillUniform(image,rand,0,255);
+
+		QueueCorner exclude = new QueueCorner();
+		for (int i = 0; i < 20; i++) {
+			exclude.add(rand.nextInt(image.width), rand.nextInt(image.height));
+		}
+
+		for (int radius = 1; radius <= 3; radius++) {
+			for (int maxFeatures = 0; maxFeatures <= 100; maxFeatures += 100) {
+				ConfigGeneralDetector config = new ConfigGeneralDetector(maxFeatures,radius,0);
+				GeneralFeatureDetector<GrayU8,GrayU8> single =
+						FactoryDetectPoint.createFastFused(new ConfigFast(15,9),config,GrayU8.class,false);
+				GeneralFeatureDetector<GrayU8,GrayU8> multi =
+						FactoryDetectPoint.createFastFused(new ConfigFast(15,9),config,GrayU8.class,true);
+				assertTrue(multi instanceof FastCornerDetector_MT);
+
+				single.setExcludeMaximum(exclude);
+				multi.setExcludeMaximum(exclude);
+
+				single.process(image,null,null,null,null,null);
+				// call twice to make sure internal storage is reset
+				multi.process(image,null,null,null,null,null);
+				multi.process(image,null,null,null,null,null);
+
+				QueueCorner expected = single.getMaximums();
+				QueueCorner found = multi.getMaximums();
+
+				assertTrue(expected.size > 10);
+				assertEquals(expected.size, found.size);
+				for (int i = 0; i < expected.size; i++) {
+					assertEquals(expected.get(i).x, found.get(i).x);
+					assertEquals(expected.get(i).y, found.get(i).y);
+				}
+			}
+		}
+	}
+}
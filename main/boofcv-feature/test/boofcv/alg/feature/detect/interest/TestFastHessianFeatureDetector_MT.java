@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.interest;
+
+import boofcv.abst.feature.detect.extract.ConfigExtract;
+import boofcv.abst.feature.detect.extract.NonMaxSuppression;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.alg.transform.ii.IntegralImageOps;
+import boofcv.factory.feature.detect.extract.FactoryFeatureExtractor;
+import boofcv.struct.feature.ScalePoint;
+import boofcv.struct.image.GrayF32;
+import boofcv.testing.ForceConcurrency;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestFastHessianFeatureDetector_MT extends TestFastHessianFeatureDetector {
+
+	ForceConcurrency force = new ForceConcurrency();
+
+	/**
+	 * Force the work to be split up, even for small images
+	 */
+	@Before
+	public void before() {
+		force.apply();
+	}
+
+	@After
+	public void after() {
+		force.restore();
+	}
+
+	@Override
+	protected Object createDetector( int maxFeatures ) {
+		NonMaxSuppression extractor = FactoryFeatureExtractor.nonmax(new ConfigExtract(1, 1, 5, true));
+		return new FastHessianFeatureDetector_MT(extractor,maxFeatures, 1, 9,4,4, 6);
+	}
+
+	/**
+	 * The same features should be found in the same order as the single threaded version
+	 */
+	@Test
+	public void compareToSingleThread() {
+		Random rand = new Random(234);
+		GrayF32 input = new GrayF32(200,180);
+		ImageMiscOps.fillUniform(input,rand,0,100);
+		for( int i = 0; i < 20; i++ ) {
+			int x = rand.nextInt(input.width-20);
+			int y = rand.nextInt(input.height-20);
+			ImageMiscOps.fillRectangle(input,200,x,y,4+rand.nextInt(12),4+rand.nextInt(12));
+		}
+		GrayF32 integral = IntegralImageOps.transform(input,null);
+
+		NonMaxSuppression extractorS = FactoryFeatureExtractor.nonmax(new ConfigExtract(2, 1, 0, true));
+		NonMaxSuppression extractorM = FactoryFeatureExtractor.nonmax(new ConfigExtract(2, 1, 0, true));
+		FastHessianFeatureDetector<GrayF32> single =
+				new FastHessianFeatureDetector<>(extractorS,-1, 1, 9,4,4, 6);
+		FastHessianFeatureDetector<GrayF32> multi =
+				new FastHessianFeatureDetector_MT<>(extractorM,-1, 1, 9,4,4, 6);
+
+		// process twice to make sure internal storage is handled correctly
+		for( int trial = 0; trial < 2; trial++ ) {
+			single.detect(integral);
+			multi.detect(integral);
+
+			List<ScalePoint> expected = single.getFoundPoints();
+			List<ScalePoint> found = multi.getFoundPoints();
+
+			assertTrue(expected.size() > 10);
+			assertEquals(expected.size(), found.size());
+			for( int i = 0; i < expected.size(); i++ ) {
+				ScalePoint e = expected.get(i);
+				ScalePoint f = found.get(i);
+				assertEquals(e.x, f.x, 0);
+				assertEquals(e.y, f.y, 0);
+				assertEquals(e.scale, f.scale, 0);
+				assertEquals(e.white, f.white);
+			}
+		}
+	}
+}
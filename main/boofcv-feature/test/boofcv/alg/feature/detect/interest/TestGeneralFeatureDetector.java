@@ -240,6 +240,59 @@ public class TestGeneralFeatureDetector {
 		assertEquals(2, detector.getMaximums().size());
 	}
 
+	/**
+	 * Features should be selected inside each grid cell and reselect should be the same as processing again
+	 */
+	@Test
+	public void selectGrid() {
+		HelperIntensity intensity = new HelperIntensity(false, false, false);
+		// two features in one quadrant and one in another
+		intensity.img.set(1, 1, 10);
+		intensity.img.set(3, 3, 20);
+		intensity.img.set(7, 9, 10);
+
+		NonMaxSuppression extractor = FactoryFeatureExtractor.nonmax(new ConfigExtract(1, 0.001f, 0, true, false, true));
+		GeneralFeatureDetector<GrayF32, GrayF32> detector =
+				new GeneralFeatureDetector<>(intensity, extractor);
+		detector.setGrid(2,2);
+		detector.setMaxFeaturesPerCell(1);
+		assertTrue(detector.isSelectGrid());
+
+		detector.process(new GrayF32(width, height), null, null, null, null, null);
+		QueueCorner found = detector.getMaximums();
+		assertEquals(2, found.size());
+		assertTrue(found.get(0).x == 3 && found.get(0).y == 3);
+		assertTrue(found.get(1).x == 7 && found.get(1).y == 9);
+
+		// change only the quota
+		detector.setMaxFeaturesPerCell(2);
+		detector.reselect();
+		assertEquals(3, detector.getMaximums().size());
+
+		// the quota should be found from max features when not specified
+		detector.setMaxFeaturesPerCell(0);
+		detector.setMaxFeatures(4);
+		detector.reselect();
+		assertEquals(2, detector.getMaximums().size());
+
+		// excluded features should reduce the quota
+		QueueCorner exclude = new QueueCorner();
+		exclude.add(8,2);
+		exclude.add(2,8);
+		exclude.add(9,9);
+		detector.setMaxFeaturesPerCell(1);
+		detector.setExcludeMaximum(exclude);
+		detector.process(new GrayF32(width, height), null, null, null, null, null);
+		assertEquals(1, detector.getMaximums().size());
+		assertEquals(3, detector.getMaximums().get(0).x);
+
+		// turn off the grid
+		detector.setGrid(0,0);
+		detector.setExcludeMaximum(null);
+		detector.setMaxFeatures(-1);
+		assertFalse(detector.isSelectGrid());
+	}
+
 	/**
 	 * Makes sure flags that indicate the presence of local minimums and maximums are handled correctly
 	 */
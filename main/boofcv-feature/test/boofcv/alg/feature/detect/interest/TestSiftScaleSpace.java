@@ -21,6 +21,7 @@ package boofcv.alg.feature.detect.interest;
 import boofcv.alg.filter.blur.GBlurImageOps;
 import boofcv.alg.misc.GImageMiscOps;
 import boofcv.struct.image.GrayF32;
+import boofcv.testing.BoofTesting;
 import org.junit.Test;
 
 import java.util.Random;
@@ -94,6 +95,62 @@ public class TestSiftScaleSpace {
 		}
 	}
 
+	/**
+	 * Not retaining all the scales should produce identical images when accessed in the same order as the detector
+	 */
+	@Test
+	public void retainAllScales_false_compare() {
+		GrayF32 original = new GrayF32(300,340);
+		GImageMiscOps.fillUniform(original,rand,0,100);
+
+		for (int firstOctave = -1; firstOctave < 2; firstOctave++) {
+			SiftScaleSpace expected = new SiftScaleSpace(firstOctave,4,3,1.6,true);
+			SiftScaleSpace found = new SiftScaleSpace(firstOctave,4,3,1.6,false);
+
+			// process twice to make sure the internal images are correctly reused
+			for (int trial = 0; trial < 2; trial++) {
+				expected.initialize(original);
+				found.initialize(original);
+
+				boolean more;
+				do {
+					for (int j = 1; j < found.getNumScales()+1; j++) {
+						for (int k = -1; k <= 1; k++) {
+							BoofTesting.assertEquals(expected.getDifferenceOfGaussian(j+k),
+									found.getDifferenceOfGaussian(j+k),0);
+						}
+						BoofTesting.assertEquals(expected.getImageScale(j), found.getImageScale(j),0);
+					}
+					more = expected.computeNextOctave();
+					assertEquals(more,found.computeNextOctave());
+				} while( more );
+			}
+		}
+	}
+
+	/**
+	 * Images which are no longer saved should not be silently returned
+	 */
+	@Test
+	public void retainAllScales_false_discarded() {
+		SiftScaleSpace alg = new SiftScaleSpace(0,4,3,1.6,false);
+		alg.initialize(new GrayF32(60,50));
+
+		alg.getDifferenceOfGaussian(3);
+		try {
+			alg.getDifferenceOfGaussian(0);
+			fail("Exception expected");
+		} catch( IllegalArgumentException ignore ){}
+		try {
+			alg.getImageScale(0);
+			fail("Exception expected");
+		} catch( IllegalArgumentException ignore ){}
+
+		// these should still be available
+		alg.getDifferenceOfGaussian(1);
+		alg.getImageScale(2);
+	}
+
 	@Test
 	public void computeSigmaScale() {
 		SiftScaleSpace alg = new SiftScaleSpace(-1,4,3,1.6);
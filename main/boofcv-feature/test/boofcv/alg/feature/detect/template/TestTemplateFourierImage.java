@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.feature.detect.template;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.struct.image.GrayU8;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestTemplateFourierImage {
+
+	Random rand = new Random(234);
+
+	/**
+	 * Sums are computed with the image's mean removed
+	 */
+	@Test
+	public void sums() {
+		GrayU8 image = new GrayU8(40,35);
+		ImageMiscOps.fillUniform(image,rand,0,200);
+
+		double mean = 0;
+		for (int i = 0; i < image.data.length; i++) {
+			mean += image.data[i] & 0xFF;
+		}
+		mean /= image.data.length;
+
+		TemplateFourierImage<GrayU8> alg = new TemplateFourierImage<>();
+		alg.setImage(image);
+
+		int x0 = 5, y0 = 7, x1 = 22, y1 = 30;
+		double sum = 0, sumSq = 0;
+		for (int y = y0; y < y1; y++) {
+			for (int x = x0; x < x1; x++) {
+				double v = image.get(x,y) - mean;
+				sum += v;
+				sumSq += v*v;
+			}
+		}
+
+		assertEquals(sum, alg.sum(x0,y0,x1,y1), 1e-2);
+		assertEquals(sumSq, alg.sumSq(x0,y0,x1,y1), 1e-1);
+		assertEquals(0, alg.sum(0,0,image.width,image.height), 1e-2);
+	}
+
+	/**
+	 * Tiles should cover every location the template can be placed at
+	 */
+	@Test
+	public void prepare_tiles() {
+		GrayU8 image = new GrayU8(200,150);
+		TemplateFourierImage<GrayU8> alg = new TemplateFourierImage<>();
+		alg.setImage(image);
+
+		alg.prepare(20,10);
+		assertEquals(128, alg.getTileWidth());
+		assertEquals(32, alg.getTileHeight());
+		assertEquals(128-20+1, alg.getStepX());
+		assertEquals(32-10+1, alg.getStepY());
+		assertTrue(alg.getStepX()*alg.getTileCols() >= image.width);
+		assertTrue(alg.getStepY()*alg.getTileRows() >= image.height);
+
+		// smaller templates don't change the tiles
+		alg.prepare(5,5);
+		assertEquals(20, alg.getMaxTemplateWidth());
+		assertEquals(10, alg.getMaxTemplateHeight());
+
+		// larger templates do
+		alg.prepare(5,20);
+		assertEquals(20, alg.getMaxTemplateWidth());
+		assertEquals(20, alg.getMaxTemplateHeight());
+		assertEquals(128, alg.getTileHeight());
+	}
+
+	@Test
+	public void selectTileLength() {
+		// always a power of two and at least twice the template
+		for (int length = 1; length < 100; length++) {
+			int found = TemplateFourierImage.selectTileLength(length, 640);
+			assertEquals(0, found & (found-1));
+			assertTrue(found >= 2*length);
+			assertTrue(found >= TemplateFourierImage.MIN_TILE);
+		}
+
+		// small images don't need large tiles
+		assertEquals(64, TemplateFourierImage.selectTileLength(30, 50));
+	}
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.feature.detect.template;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.factory.feature.detect.template.FactoryTemplateMatching;
+import boofcv.struct.feature.Match;
+import boofcv.struct.image.GrayF32;
+import org.ddogleg.struct.FastQueue;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestTemplateMatchingBatch {
+
+	Random rand = new Random(234);
+
+	GrayF32 image = new GrayF32(120,100);
+	List<GrayF32> templates = new ArrayList<>();
+	List<GrayF32> masks = new ArrayList<>();
+
+	public TestTemplateMatchingBatch() {
+		ImageMiscOps.fillUniform(image,rand,0,200);
+
+		// mix of templates which are processed directly and with the Fourier transform
+		int sizes[] = {3,12,20,9,15};
+		for (int i = 0; i < sizes.length; i++) {
+			GrayF32 template = new GrayF32(sizes[i],sizes[i]+1);
+			int x = rand.nextInt(image.width-template.width);
+			int y = rand.nextInt(image.height-template.height);
+			template.setTo(image.subimage(x,y,x+template.width,y+template.height,null));
+			templates.add(template);
+
+			if( i % 2 == 1 ) {
+				GrayF32 mask = new GrayF32(template.width,template.height);
+				ImageMiscOps.fillUniform(mask,rand,0.5f,1);
+				masks.add(mask);
+			} else {
+				masks.add(null);
+			}
+		}
+	}
+
+	/**
+	 * Each template should have the same results as searching for it individually
+	 */
+	@Test
+	public void compareToIndividual() {
+		TemplateMatchingBatch<GrayF32> alg = FactoryTemplateMatching.createBatchNCC(GrayF32.class,false);
+		checkBatch(alg);
+	}
+
+	void checkBatch( TemplateMatchingBatch<GrayF32> alg ) {
+		for (int i = 0; i < templates.size(); i++) {
+			assertEquals(i, alg.addTemplate(templates.get(i),masks.get(i),5));
+		}
+		assertEquals(templates.size(), alg.getTemplateCount());
+
+		// process twice with different images to make sure the cache is handled correctly
+		for (int trial = 0; trial < 2; trial++) {
+			alg.setImage(image);
+			alg.process();
+
+			for (int i = 0; i < templates.size(); i++) {
+				TemplateMatching<GrayF32> individual = new TemplateMatching<>(
+						new TemplateNCCFFT<>(new TemplateNCC.F32()));
+				individual.setImage(image);
+				individual.setTemplate(templates.get(i),masks.get(i),5);
+				individual.process();
+
+				checkSame(individual.getResults(), alg.getResults(i));
+			}
+
+			ImageMiscOps.addUniform(image,rand,-5,5);
+		}
+	}
+
+	private static void checkSame( FastQueue<Match> expected , FastQueue<Match> found ) {
+		assertTrue(expected.size > 0);
+		assertEquals(expected.size, found.size);
+		for (int i = 0; i < expected.size; i++) {
+			assertEquals(expected.get(i).x, found.get(i).x);
+			assertEquals(expected.get(i).y, found.get(i).y);
+			assertEquals(expected.get(i).score, found.get(i).score, 1e-4);
+		}
+	}
+
+	@Test
+	public void clearTemplates() {
+		TemplateMatchingBatch<GrayF32> alg = FactoryTemplateMatching.createBatchNCC(GrayF32.class,false);
+		alg.addTemplate(templates.get(0),null,5);
+		alg.clearTemplates();
+		assertEquals(0, alg.getTemplateCount());
+		alg.setImage(image);
+		alg.process();
+	}
+}
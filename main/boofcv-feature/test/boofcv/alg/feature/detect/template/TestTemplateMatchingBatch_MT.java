@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.feature.detect.template;
+
+import boofcv.factory.feature.detect.template.FactoryTemplateMatching;
+import boofcv.struct.image.GrayF32;
+import boofcv.testing.ForceConcurrency;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestTemplateMatchingBatch_MT {
+
+	ForceConcurrency force = new ForceConcurrency();
+
+	/**
+	 * Force the templates to be split up
+	 */
+	@Before
+	public void before() {
+		force.apply();
+	}
+
+	@After
+	public void after() {
+		force.restore();
+	}
+
+	/**
+	 * Each template should have the same results as searching for it individually
+	 */
+	@Test
+	public void compareToIndividual() {
+		TemplateMatchingBatch<GrayF32> alg = FactoryTemplateMatching.createBatchNCC(GrayF32.class,true);
+		assertTrue(alg instanceof TemplateMatchingBatch_MT);
+		new TestTemplateMatchingBatch().checkBatch(alg);
+	}
+}
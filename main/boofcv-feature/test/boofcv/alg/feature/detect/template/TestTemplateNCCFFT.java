@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.feature.detect.template;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestTemplateNCCFFT {
+
+	Random rand = new Random(234);
+
+	@Test
+	public void instanceF32() {
+		TemplateNCCFFT<GrayF32> alg = new TemplateNCCFFT<>(new TemplateNCC.F32());
+		alg.setMinimumArea(0);
+
+		new GeneralTemplateMatchTests<GrayF32>(alg, GrayF32.class) {
+		}.allTests();
+	}
+
+	@Test
+	public void instanceU8() {
+		TemplateNCCFFT<GrayU8> alg = new TemplateNCCFFT<>(new TemplateNCC.U8());
+		alg.setMinimumArea(0);
+
+		new GeneralTemplateMatchTests<GrayU8>(alg, GrayU8.class) {
+		}.allTests();
+	}
+
+	/**
+	 * The image is broken up into several tiles and should produce the same results as computing NCC directly
+	 */
+	@Test
+	public void compareToDirect() {
+		GrayF32 image = new GrayF32(150,120);
+		ImageMiscOps.fillUniform(image,rand,0,200);
+
+		for( int size : new int[]{10,17,40}) {
+			GrayF32 template = new GrayF32(size,size-3);
+			GrayF32 mask = new GrayF32(size,size-3);
+			ImageMiscOps.fillUniform(template,rand,0,200);
+			ImageMiscOps.fillUniform(mask,rand,0,1);
+
+			compareToDirect(image, template, null);
+			compareToDirect(image, template, mask);
+			compareToDirect(BoofTesting.createSubImageOf(image),
+					BoofTesting.createSubImageOf(template), BoofTesting.createSubImageOf(mask));
+		}
+	}
+
+	private void compareToDirect( GrayF32 image , GrayF32 template , GrayF32 mask ) {
+		TemplateNCC.F32 direct = new TemplateNCC.F32();
+		TemplateNCCFFT<GrayF32> alg = new TemplateNCCFFT<>(new TemplateNCC.F32());
+		alg.setMinimumArea(0);
+
+		direct.setInputImage(image);
+		direct.process(template, mask);
+		alg.setInputImage(image);
+		alg.process(template, mask);
+
+		checkSame(direct, alg, image, template);
+	}
+
+	private void checkSame(TemplateMatchingIntensity<GrayF32> expected , TemplateMatchingIntensity<GrayF32> found ,
+						   GrayF32 image , GrayF32 template ) {
+		assertEquals(expected.getBorderX0(), found.getBorderX0());
+		assertEquals(expected.getBorderY0(), found.getBorderY0());
+		assertEquals(expected.getBorderX1(), found.getBorderX1());
+		assertEquals(expected.getBorderY1(), found.getBorderY1());
+
+		GrayF32 a = expected.getIntensity();
+		GrayF32 b = found.getIntensity();
+
+		int x0 = expected.getBorderX0();
+		int y0 = expected.getBorderY0();
+		for (int y = 0; y < image.height-template.height; y++) {
+			for (int x = 0; x < image.width-template.width; x++) {
+				float va = a.get(x+x0,y+y0);
+				float vb = b.get(x+x0,y+y0);
+				assertEquals(va, vb, Math.max(1,Math.abs(va))*1e-3f);
+			}
+		}
+	}
+
+	/**
+	 * Small templates should be processed directly
+	 */
+	@Test
+	public void minimumArea() {
+		GrayF32 image = new GrayF32(60,50);
+		GrayF32 template = new GrayF32(8,9);
+		ImageMiscOps.fillUniform(image,rand,0,200);
+		ImageMiscOps.fillUniform(template,rand,0,200);
+
+		TemplateNCC.F32 direct = new TemplateNCC.F32();
+		TemplateNCCFFT<GrayF32> alg = new TemplateNCCFFT<>(direct);
+		alg.setMinimumArea(8*9+1);
+
+		alg.setInputImage(image);
+		alg.process(template);
+		assertSame(direct.getIntensity(), alg.getIntensity());
+
+		alg.setMinimumArea(8*9);
+		alg.process(template);
+		assertTrue(direct.getIntensity() != alg.getIntensity());
+		TemplateNCC.F32 expected = new TemplateNCC.F32();
+		expected.setInputImage(image);
+		expected.process(template);
+		checkSame(expected, alg, image, template);
+	}
+
+	/**
+	 * The template's spectrum should only be recomputed when the template changes
+	 */
+	@Test
+	public void cacheTemplate() {
+		GrayF32 image = new GrayF32(60,50);
+		GrayF32 template = new GrayF32(12,11);
+		ImageMiscOps.fillUniform(image,rand,0,200);
+		ImageMiscOps.fillUniform(template,rand,0,200);
+
+		TemplateNCCFFT<GrayF32> alg = new TemplateNCCFFT<>(new TemplateNCC.F32());
+		alg.setMinimumArea(0);
+		alg.setInputImage(image);
+		alg.process(template);
+
+		TemplateFourierKernel kernel = alg.getKernel();
+		int tileWidth = TemplateFourierImage.selectTileLength(template.width, image.width);
+		int tileHeight = TemplateFourierImage.selectTileLength(template.height, image.height);
+		assertFalse(kernel.update(template, null, tileWidth, tileHeight, null));
+
+		// new image, same template
+		ImageMiscOps.fillUniform(image,rand,0,200);
+		alg.setInputImage(image);
+		alg.process(template);
+		assertFalse(kernel.update(template, null, tileWidth, tileHeight, null));
+		TemplateNCC.F32 expected = new TemplateNCC.F32();
+		expected.setInputImage(image);
+		expected.process(template);
+		checkSame(expected, alg, image, template);
+
+		// modify the template inplace.  The change should be detected
+		template.set(3,4,template.get(3,4)+20);
+		alg.process(template);
+		expected.process(template);
+		checkSame(expected, alg, image, template);
+	}
+}
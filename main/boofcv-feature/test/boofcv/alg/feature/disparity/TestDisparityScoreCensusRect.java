@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity;
+
+import boofcv.alg.feature.disparity.impl.ImplDisparityScoreHammingRect_S32;
+import boofcv.alg.feature.disparity.impl.ImplDisparityScoreHammingRect_U8;
+import boofcv.alg.feature.disparity.impl.ImplSelectRectBasicWta_S32_U8;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.alg.transform.census.GCensusTransform;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.core.image.border.BorderType;
+import boofcv.core.image.border.FactoryImageBorder;
+import boofcv.struct.image.*;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestDisparityScoreCensusRect {
+
+	Random rand = new Random(234);
+
+	int width = 60, height = 40;
+	int radiusX = 2, radiusY = 3;
+	int minDisparity = 0, maxDisparity = 20;
+
+	Class imageTypes[] = new Class[]{GrayU8.class, GrayF32.class};
+
+	/**
+	 * The right image has a different gain and bias.  The census score should be unaffected by it.
+	 */
+	@Test
+	public void gainAndBias() {
+		int disparity = 7;
+
+		for( Class type : imageTypes ) {
+			ImageGray left = GeneralizedImageOps.createSingleBand(type, width, height);
+			ImageGray right = GeneralizedImageOps.createSingleBand(type, width, height);
+			GImageMiscOps.fillUniform(left, rand, 0, 100);
+			for (int y = 0; y < height; y++) {
+				for (int x = 0; x < width; x++) {
+					double value = GeneralizedImageOps.get(left, Math.min(width-1,x+disparity), y);
+					GeneralizedImageOps.set(right, x, y, 2*value + 10);
+				}
+			}
+
+			for( boolean large : new boolean[]{false,true}) {
+				DisparityScoreCensusRect alg = createAlg(large, type);
+				GrayU8 found = new GrayU8(width, height);
+				alg.process(left, right, found);
+
+				int r = large ? 2 : 1;
+				for (int y = radiusY; y < height-radiusY; y++) {
+					for (int x = radiusX+maxDisparity; x < width-disparity-radiusX-r; x++) {
+						assertEquals(disparity, found.get(x, y));
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Should be identical to computing the census transform and then the Hamming score
+	 */
+	@Test
+	public void compareToManual() {
+		for( Class type : imageTypes ) {
+			ImageGray left = GeneralizedImageOps.createSingleBand(type, width, height);
+			ImageGray right = GeneralizedImageOps.createSingleBand(type, width, height);
+			GImageMiscOps.fillUniform(left, rand, 0, 100);
+			GImageMiscOps.fillUniform(right, rand, 0, 100);
+
+			for( boolean large : new boolean[]{false,true}) {
+				ImageGray censusLeft = large ? new GrayS32(width, height) : new GrayU8(width, height);
+				ImageGray censusRight = large ? new GrayS32(width, height) : new GrayU8(width, height);
+				if( large ) {
+					GCensusTransform.region5x5(left, FactoryImageBorder.single(type, BorderType.EXTENDED), (GrayS32)censusLeft);
+					GCensusTransform.region5x5(right, FactoryImageBorder.single(type, BorderType.EXTENDED), (GrayS32)censusRight);
+				} else {
+					GCensusTransform.region3x3(left, FactoryImageBorder.single(type, BorderType.EXTENDED), (GrayU8)censusLeft);
+					GCensusTransform.region3x3(right, FactoryImageBorder.single(type, BorderType.EXTENDED), (GrayU8)censusRight);
+				}
+
+				GrayU8 expected = new GrayU8(width, height);
+				createScore(large).process(censusLeft, censusRight, expected);
+
+				GrayU8 found = new GrayU8(width, height);
+				createAlg(large, type).process(left, right, found);
+
+				BoofTesting.assertEquals(expected, found, 0);
+			}
+		}
+	}
+
+	private DisparityScoreCensusRect createAlg( boolean large , Class type ) {
+		return new DisparityScoreCensusRect(createScore(large), type);
+	}
+
+	private DisparityScoreRowFormat createScore( boolean large ) {
+		DisparitySelect select = new ImplSelectRectBasicWta_S32_U8();
+		if( large )
+			return new ImplDisparityScoreHammingRect_S32<>(minDisparity, maxDisparity, radiusX, radiusY, select);
+		else
+			return new ImplDisparityScoreHammingRect_U8<>(minDisparity, maxDisparity, radiusX, radiusY, select);
+	}
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.impl;
+
+import boofcv.alg.feature.disparity.DisparityScoreRowFormat;
+import boofcv.alg.feature.disparity.DisparitySelect;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageGray;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public abstract class ChecksImplDisparityScoreHammingRect<C extends ImageGray<C>> {
+
+	Random rand = new Random(234);
+
+	DisparitySelect compDisp = (DisparitySelect)new ImplSelectRectBasicWta_S32_U8();
+	Class<C> imageType;
+
+	// the census value is randomly selected up to this value
+	int maxValue;
+
+	public ChecksImplDisparityScoreHammingRect(Class<C> imageType ) {
+		this.imageType = imageType;
+		maxValue = imageType == GrayU8.class ? 256 : 1 << 24;
+	}
+
+	protected abstract DisparityScoreRowFormat<C, GrayU8>
+	createAlg( int minDisparity , int maxDisparity , int radiusX, int radiusY, DisparitySelect compDisp);
+
+	/**
+	 * The right image is the left image shifted by a known amount
+	 */
+	@Test
+	public void shiftedImage() {
+		int w = 40, h = 30;
+		int radiusX = 2, radiusY = 3;
+		int disparity = 6;
+
+		C left = GeneralizedImageOps.createSingleBand(imageType, w, h);
+		C right = GeneralizedImageOps.createSingleBand(imageType, w, h);
+		GImageMiscOps.fillUniform(left, rand, 0, maxValue);
+		for (int y = 0; y < h; y++) {
+			for (int x = 0; x < w-disparity; x++) {
+				GeneralizedImageOps.set(right, x, y, GeneralizedImageOps.get(left, x+disparity, y));
+			}
+		}
+
+		for( int minDisparity : new int[]{0,2} ) {
+			DisparityScoreRowFormat<C, GrayU8> alg = createAlg(minDisparity, 15, radiusX, radiusY, compDisp);
+			GrayU8 found = new GrayU8(w, h);
+			alg.process(left, right, found);
+
+			for (int y = radiusY; y < h-radiusY; y++) {
+				for (int x = radiusX+15; x < w-disparity-radiusX; x++) {
+					assertEquals(disparity-minDisparity, found.get(x, y));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Compare to a simplistic implementation of stereo disparity.
+	 */
+	@Test
+	public void compareToNaive() {
+		int w = 20, h = 25;
+		C left = GeneralizedImageOps.createSingleBand(imageType,w, h);
+		C right = GeneralizedImageOps.createSingleBand(imageType,w, h);
+
+		GImageMiscOps.fillUniform(left, rand, 0, maxValue);
+		GImageMiscOps.fillUniform(right, rand, 0, maxValue);
+
+		int radiusX = 3;
+		int radiusY = 2;
+
+		// compare to naive with different settings
+		compareToNaive(left, right, 0, 10, radiusX, radiusY);
+		compareToNaive(left, right, 4, 10, radiusX, radiusY);
+	}
+
+	private void compareToNaive(C left, C right,
+								int minDisparity, int maxDisparity,
+								int radiusX, int radiusY)
+	{
+		int w = left.width;
+		int h = left.height;
+
+		DisparityScoreRowFormat<C, GrayU8> alg = createAlg(minDisparity,maxDisparity,radiusX,radiusY,compDisp);
+		StereoDisparityWtoNaive<C> naive =
+				new StereoDisparityWtoNaive<C>(minDisparity, maxDisparity, radiusX, radiusY) {
+					@Override
+					protected double computeScore(int leftX, int rightX, int centerY) {
+						int ret = 0;
+						for( int y = -radiusY; y <= radiusY; y++ ) {
+							for( int x = -radiusX; x <= radiusX; x++ ) {
+								int l = (int)GeneralizedImageOps.get(imageLeft,leftX+x,centerY+y);
+								int r = (int)GeneralizedImageOps.get(imageRight,rightX+x,centerY+y);
+								ret += Integer.bitCount(l ^ r);
+							}
+						}
+						return ret;
+					}
+				};
+
+		GrayU8 found = new GrayU8(w,h);
+		GrayF32 expected = new GrayF32(w,h);
+
+		alg.process(left,right,found);
+		naive.process(left,right,expected);
+
+		BoofTesting.assertEquals(found, expected, 1);
+	}
+}
@@ -19,13 +19,18 @@
 package boofcv.alg.feature.disparity.impl;
 
 import boofcv.alg.feature.disparity.DisparitySelect;
+import boofcv.alg.feature.disparity.DisparitySelectConcurrent;
 import boofcv.alg.feature.disparity.SelectRectStandard;
 import boofcv.alg.misc.GImageMiscOps;
 import boofcv.core.image.GeneralizedImageOps;
 import boofcv.struct.image.ImageGray;
+import boofcv.testing.BoofTesting;
 import org.junit.Test;
 
+import java.util.Random;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Unit tests for implementers of {@link SelectRectStandardBase_S32}
@@ -107,6 +112,35 @@ public abstract class ChecksSelectRectStandardBase<ArrayData,T extends ImageGray
 		assertEquals(1, getDisparity(4 + 2, y), 1);
 	}
 
+	/**
+	 * The copy should be a new instance with the same configuration
+	 */
+	@Test
+	public void concurrentCopy() {
+		init(0,10);
+		int y = 3;
+
+		Random rand = new Random(234);
+		int scores[] = new int[w*maxDisparity];
+		for( int i = 0; i < scores.length; i++ ) {
+			scores[i] = rand.nextInt(100);
+		}
+
+		SelectRectStandard<ArrayData,T> alg = createSelector(60,1,0.1);
+		DisparitySelect<ArrayData,T> copy = ((DisparitySelectConcurrent<ArrayData,T>)alg).concurrentCopy();
+		assertTrue(copy != alg);
+		assertTrue(copy.getClass() == alg.getClass());
+
+		T found = GeneralizedImageOps.createSingleBand(disparityType,w,h);
+		GImageMiscOps.fill(found, reject);
+		alg.configure(disparity,0,maxDisparity,2);
+		copy.configure(found,0,maxDisparity,2);
+		alg.process(y, copyToCorrectType(scores,arrayType));
+		copy.process(y, copyToCorrectType(scores,arrayType));
+
+		BoofTesting.assertEquals(disparity, found, 1e-8);
+	}
+
 	/**
 	 * Could potentially return a sub-pixel accuracy but tests are only for pixel accuracy.
 	 *
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.impl;
+
+import boofcv.alg.feature.disparity.DisparityScoreRowFormat;
+import boofcv.alg.feature.disparity.DisparitySelect;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.factory.feature.disparity.FactoryStereoDisparityAlgs;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageGray;
+import boofcv.testing.BoofTesting;
+import boofcv.testing.ForceConcurrency;
+
+import java.util.Random;
+
+/**
+ * Checks to see if a concurrent dense disparity algorithm produces exactly the same output as the
+ * single threaded algorithm.  Images are large enough to be split into several blocks.
+ *
+ * @author Peter Abeles
+ */
+public abstract class CompareDisparityScoreToSingleThread<I extends ImageGray<I>> {
+
+	Random rand = new Random(234);
+
+	Class<I> imageType;
+
+	protected CompareDisparityScoreToSingleThread(Class<I> imageType) {
+		this.imageType = imageType;
+	}
+
+	public abstract <DI extends ImageGray<DI>> DisparityScoreRowFormat<I,DI>
+	createAlg( boolean concurrent , int minDisparity , int maxDisparity , int radiusX, int radiusY,
+			   DisparitySelect select );
+
+	public void compare() {
+		ForceConcurrency force = new ForceConcurrency();
+		try {
+			force.apply();
+
+			compare(GrayU8.class, 0, 20, 2, 2);
+			compare(GrayU8.class, 5, 20, 3, 1);
+			compare(GrayF32.class, 0, 20, 2, 2);
+			compare(GrayF32.class, 3, 15, 1, 3);
+		} finally {
+			force.restore();
+		}
+	}
+
+	private <DI extends ImageGray<DI>> void compare( Class<DI> disparityType ,
+													 int minDisparity, int maxDisparity,
+													 int radiusX, int radiusY ) {
+		DisparityScoreRowFormat<I,DI> expected = createAlg(false,minDisparity,maxDisparity,radiusX,radiusY,
+				createSelect(disparityType));
+		DisparityScoreRowFormat<I,DI> found = createAlg(true,minDisparity,maxDisparity,radiusX,radiusY,
+				createSelect(disparityType));
+
+		// process images of different sizes to make sure the storage is correctly recycled
+		int[][] shapes = new int[][]{{80,230},{45,31},{80,230}};
+		for( int[] shape : shapes ) {
+			I left = GeneralizedImageOps.createSingleBand(imageType, shape[0], shape[1]);
+			I right = GeneralizedImageOps.createSingleBand(imageType, shape[0], shape[1]);
+			GImageMiscOps.fillUniform(left, rand, 0, 30);
+			GImageMiscOps.fillUniform(right, rand, 0, 30);
+
+			DI dispExpected = GeneralizedImageOps.createSingleBand(disparityType, shape[0], shape[1]);
+			DI dispFound = GeneralizedImageOps.createSingleBand(disparityType, shape[0], shape[1]);
+
+			expected.process(left, right, dispExpected);
+			found.process(left, right, dispFound);
+
+			BoofTesting.assertEquals(dispExpected, dispFound, 0);
+		}
+	}
+
+	/**
+	 * Creates a select with right to left validation and texture turned on since those have the most state
+	 */
+	private DisparitySelect createSelect( Class disparityType ) {
+		boolean integer = imageType != GrayF32.class;
+		if( disparityType == GrayU8.class ) {
+			return integer ? FactoryStereoDisparityAlgs.selectDisparity_S32(-1, 2, 0.1) :
+					FactoryStereoDisparityAlgs.selectDisparity_F32(-1, 2, 0.1);
+		} else {
+			return integer ? FactoryStereoDisparityAlgs.selectDisparitySubpixel_S32(-1, 2, 0.1) :
+					FactoryStereoDisparityAlgs.selectDisparitySubpixel_F32(-1, 2, 0.1);
+		}
+	}
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.impl;
+
+import boofcv.alg.feature.disparity.DisparityScoreRowFormat;
+import boofcv.alg.feature.disparity.DisparitySelect;
+import boofcv.alg.feature.disparity.DisparitySelectConcurrent;
+import boofcv.struct.image.GrayS32;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageGray;
+import boofcv.testing.ForceConcurrency;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImplDisparityScoreHammingRect_MT_S32 extends ChecksImplDisparityScoreHammingRect<GrayS32> {
+
+	ForceConcurrency force = new ForceConcurrency();
+
+	public TestImplDisparityScoreHammingRect_MT_S32() {
+		super(GrayS32.class);
+	}
+
+	/**
+	 * Force the image to be split up, even for small images
+	 */
+	@Before
+	public void before() {
+		force.apply();
+	}
+
+	@After
+	public void after() {
+		force.restore();
+	}
+
+	@Override
+	protected DisparityScoreRowFormat<GrayS32, GrayU8>
+	createAlg(int minDisparity, int maxDisparity, int radiusX, int radiusY, DisparitySelect compDisp) {
+		return new ImplDisparityScoreHammingRect_MT_S32<>(minDisparity,maxDisparity,radiusX,radiusY,(DisparitySelectConcurrent)compDisp);
+	}
+
+	@Test
+	public void compareToSingleThread() {
+		new CompareDisparityScoreToSingleThread<GrayS32>(GrayS32.class) {
+			@Override
+			public <DI extends ImageGray<DI>> DisparityScoreRowFormat<GrayS32, DI>
+			createAlg(boolean concurrent, int minDisparity, int maxDisparity, int radiusX, int radiusY,
+					  DisparitySelect select) {
+				if( concurrent )
+					return new ImplDisparityScoreHammingRect_MT_S32<>(minDisparity,maxDisparity,radiusX,radiusY,(DisparitySelectConcurrent)select);
+				else
+					return new ImplDisparityScoreHammingRect_S32<>(minDisparity,maxDisparity,radiusX,radiusY,select);
+			}
+		}.compare();
+	}
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.sgm;
+
+import boofcv.testing.ForceConcurrency;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestSgmCostAggregation {
+
+	Random rand = new Random(234);
+
+	int width = 25, height = 18, range = 9;
+	int P1 = 100, P2 = 900;
+
+	/**
+	 * Compare against a straight forward implementation of the path recursion
+	 */
+	@Test
+	public void compareToNaive() {
+		short[] cost = randomCost();
+
+		for( int paths : new int[]{4,8}) {
+			SgmCostAggregation alg = new SgmCostAggregation(P1, P2, paths, false);
+			alg.process(cost, width, height, range);
+
+			int[] expected = naive(cost, paths);
+			for( int i = 0; i < expected.length; i++ ) {
+				assertEquals(expected[i], alg.getAggregated()[i]);
+			}
+		}
+	}
+
+	/**
+	 * Paths are processed in parallel and should produce identical results
+	 */
+	@Test
+	public void compareToSingleThread() {
+		short[] cost = randomCost();
+
+		ForceConcurrency force = new ForceConcurrency();
+		force.apply();
+		try {
+			for( int paths : new int[]{4,8}) {
+				SgmCostAggregation serial = new SgmCostAggregation(P1, P2, paths, false);
+				SgmCostAggregation concurrent = new SgmCostAggregation(P1, P2, paths, true);
+				serial.process(cost, width, height, range);
+				concurrent.process(cost, width, height, range);
+				// process twice to make sure the aggregated cost is reset
+				concurrent.process(cost, width, height, range);
+
+				for( int i = 0; i < width*height*range; i++ ) {
+					assertEquals(serial.getAggregated()[i], concurrent.getAggregated()[i]);
+				}
+			}
+		} finally {
+			force.restore();
+		}
+	}
+
+	/**
+	 * The largest possible cost with the largest penalty should not overflow
+	 */
+	@Test
+	public void noOverflow() {
+		short[] cost = new short[width*height*range];
+		for( int i = 0; i < cost.length; i++ ) {
+			cost[i] = (short)(rand.nextBoolean() ? 0 : SgmCostFromBlocks.MAX_COST);
+		}
+
+		SgmCostAggregation alg = new SgmCostAggregation(P1, SgmCostAggregation.MAX_PENALTY, 8, false);
+		alg.process(cost, width, height, range);
+
+		for( int i = 0; i < cost.length; i++ ) {
+			assertEquals(true, alg.getAggregated()[i] >= 0);
+		}
+	}
+
+	private short[] randomCost() {
+		short[] cost = new short[width*height*range];
+		for( int i = 0; i < cost.length; i++ ) {
+			cost[i] = (short)rand.nextInt(SgmCostFromBlocks.MAX_COST+1);
+		}
+		return cost;
+	}
+
+	private int[] naive( short[] cost , int paths ) {
+		int[][] directions = new int[][]{{1,0},{-1,0},{0,1},{0,-1},{1,1},{-1,-1},{1,-1},{-1,1}};
+		int[] total = new int[cost.length];
+
+		for( int path = 0; path < paths; path++ ) {
+			int dx = directions[path][0], dy = directions[path][1];
+			int[] L = new int[cost.length];
+
+			// traverse the pixels in an order which ensures that the previous pixel has already been computed
+			for( int i = 0; i < height; i++ ) {
+				int y = dy >= 0 ? i : height-1-i;
+				for( int j = 0; j < width; j++ ) {
+					int x = dx >= 0 ? j : width-1-j;
+					int px = x-dx, py = y-dy;
+					int index = (y*width+x)*range;
+
+					if( px < 0 || px >= width || py < 0 || py >= height ) {
+						for( int d = 0; d < range; d++ )
+							L[index+d] = cost[index+d];
+					} else {
+						int prev = (py*width+px)*range;
+						int minPrev = Integer.MAX_VALUE;
+						for( int d = 0; d < range; d++ )
+							minPrev = Math.min(minPrev, L[prev+d]);
+						for( int d = 0; d < range; d++ ) {
+							int best = L[prev+d];
+							if( d > 0 ) best = Math.min(best, L[prev+d-1]+P1);
+							if( d < range-1 ) best = Math.min(best, L[prev+d+1]+P1);
+							best = Math.min(best, minPrev+P2);
+							L[index+d] = cost[index+d] + best - minPrev;
+						}
+					}
+				}
+			}
+
+			for( int i = 0; i < total.length; i++ ) {
+				total[i] += L[i];
+			}
+		}
+		return total;
+	}
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.sgm;
+
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestSgmDisparitySelector {
+
+	int width = 30, height = 4;
+	int minDisparity = 1, maxDisparity = 11;
+	int range = maxDisparity-minDisparity;
+	int borderX = 2;
+	int invalid = range+1;
+
+	/**
+	 * Select the minimum in a simple cost volume. Pixels along the border should be marked invalid
+	 */
+	@Test
+	public void simpleMinimum() {
+		short[] aggregated = createVolume(4);
+
+		SgmDisparitySelector alg = new SgmDisparitySelector(minDisparity, maxDisparity, -1, 0, false);
+		GrayU8 disparity = new GrayU8(width, height);
+		alg.select(aggregated, width, 0, 0, height, borderX, disparity);
+
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				if( x < borderX+minDisparity || x >= width-borderX )
+					assertEquals(invalid, disparity.get(x,y));
+				else
+					assertEquals(Math.min(4, alg.localMax(x,borderX)-1), disparity.get(x,y));
+			}
+		}
+	}
+
+	/**
+	 * A parabola with its minimum between two disparities
+	 */
+	@Test
+	public void subpixel() {
+		short[] aggregated = new short[width*height*range];
+		for( int x = 0; x < width; x++ ) {
+			for( int d = 0; d < range; d++ ) {
+				float delta = d-4.25f;
+				aggregated[x*range+d] = (short)(100+10*delta*delta);
+			}
+		}
+
+		SgmDisparitySelector alg = new SgmDisparitySelector(minDisparity, maxDisparity, -1, 0, false);
+		GrayF32 disparity = new GrayF32(width, height);
+		alg.select(aggregated, width, 0, 0, 1, borderX, disparity);
+
+		assertEquals(4.25f, disparity.get(width/2, 0), 0.05f);
+	}
+
+	/**
+	 * Make sure the right to left check rejects pixels which are inconsistent
+	 */
+	@Test
+	public void rightToLeft() {
+		short[] aggregated = createVolume(4);
+		// the right pixel which x=20 matches to prefers a different disparity
+		int xr = 20-minDisparity-4;
+		for( int i = 0; i < range; i++ ) {
+			if( i == 4 )
+				continue;
+			int x = xr+minDisparity+i;
+			aggregated[x*range+i] = (short)(i == 8 ? 0 : 1000);
+		}
+
+		SgmDisparitySelector alg = new SgmDisparitySelector(minDisparity, maxDisparity, 1, 0, false);
+		GrayU8 disparity = new GrayU8(width, height);
+		alg.select(aggregated, width, 0, 0, 1, borderX, disparity);
+
+		assertEquals(invalid, disparity.get(20,0));
+		assertEquals(4, disparity.get(25,0));
+	}
+
+	/**
+	 * Creates a cost volume where the cost increases with the distance from the preferred disparity
+	 */
+	private short[] createVolume( int preferred ) {
+		short[] aggregated = new short[width*height*range];
+		for( int i = 0; i < width*height; i++ ) {
+			for( int d = 0; d < range; d++ ) {
+				aggregated[i*range+d] = (short)(10 + 100*Math.abs(d-preferred));
+			}
+		}
+		return aggregated;
+	}
+}
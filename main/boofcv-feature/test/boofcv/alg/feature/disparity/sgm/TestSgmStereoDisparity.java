@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.sgm;
+
+import boofcv.abst.feature.disparity.StereoDisparity;
+import boofcv.abst.feature.disparity.WrapDisparitySgm;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.factory.feature.disparity.ConfigDisparitySGM;
+import boofcv.factory.feature.disparity.DisparityAlgorithms;
+import boofcv.factory.feature.disparity.FactoryStereoDisparity;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageGray;
+import boofcv.testing.BoofTesting;
+import boofcv.testing.ForceConcurrency;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestSgmStereoDisparity {
+
+	Random rand = new Random(234);
+
+	int width = 60, height = 40;
+	int minDisparity = 2, maxDisparity = 20;
+
+	Class imageTypes[] = new Class[]{GrayU8.class, GrayF32.class};
+	DisparityAlgorithms dataTerms[] = new DisparityAlgorithms[]{DisparityAlgorithms.RECT, DisparityAlgorithms.RECT_CENSUS};
+
+	/**
+	 * The right image is the left image shifted by a constant disparity
+	 */
+	@Test
+	public void knownDisparity() {
+		int disparity = 7;
+
+		for( Class type : imageTypes ) {
+			ImageGray left = GeneralizedImageOps.createSingleBand(type, width, height);
+			ImageGray right = GeneralizedImageOps.createSingleBand(type, width, height);
+			createShifted(left, right, disparity);
+
+			for( DisparityAlgorithms dataTerm : dataTerms ) {
+				for( int paths : new int[]{4,8}) {
+					ConfigDisparitySGM config = createConfig(dataTerm);
+					config.paths = paths;
+					config.subpixel = false;
+					StereoDisparity<ImageGray, GrayU8> alg = FactoryStereoDisparity.sgm(config, type);
+					alg.process(left, right);
+					GrayU8 found = alg.getDisparity();
+
+					int total = 0, correct = 0;
+					for (int y = alg.getBorderY(); y < height - alg.getBorderY(); y++) {
+						for (int x = alg.getBorderX() + maxDisparity; x < width - disparity - alg.getBorderX() - 2; x++) {
+							total++;
+							if( found.get(x, y) == disparity - minDisparity )
+								correct++;
+						}
+					}
+					assertTrue(correct >= total*0.95);
+
+					// the border should be marked as invalid
+					int invalid = maxDisparity-minDisparity+1;
+					assertEquals(invalid, found.get(0, height/2));
+					assertEquals(invalid, found.get(width/2, 0));
+					assertEquals(invalid, found.get(width-1, height-1));
+				}
+			}
+		}
+	}
+
+	/**
+	 * If the strip covers the entire image or the overlap is larger than the image it should be identical to
+	 * processing the entire image at once
+	 */
+	@Test
+	public void strips_exact() {
+		GrayU8 left = new GrayU8(width, height);
+		GrayU8 right = new GrayU8(width, height);
+		GImageMiscOps.fillUniform(left, rand, 0, 100);
+		GImageMiscOps.fillUniform(right, rand, 0, 100);
+
+		for( DisparityAlgorithms dataTerm : dataTerms ) {
+			ConfigDisparitySGM config = createConfig(dataTerm);
+			GrayF32 expected = process(config, left, right, false);
+
+			config.stripHeight = height;
+			BoofTesting.assertEquals(expected, process(config, left, right, false), 1e-4);
+
+			config.stripHeight = 7;
+			config.stripOverlap = height;
+			BoofTesting.assertEquals(expected, process(config, left, right, false), 1e-4);
+		}
+	}
+
+	/**
+	 * The data term in a strip should be identical to when the entire image is processed.  Only aggregation
+	 * is approximated.
+	 */
+	@Test
+	public void strips_costExact() {
+		GrayF32 left = new GrayF32(width, height);
+		GrayF32 right = new GrayF32(width, height);
+		GImageMiscOps.fillUniform(left, rand, 0, 100);
+		GImageMiscOps.fillUniform(right, rand, 0, 100);
+
+		for( DisparityAlgorithms dataTerm : dataTerms ) {
+			ConfigDisparitySGM config = createConfig(dataTerm);
+			WrapDisparitySgm<GrayF32,GrayF32> full = (WrapDisparitySgm)FactoryStereoDisparity.sgm(config, GrayF32.class);
+			full.process(left, right);
+
+			// the last strip contains rows 30 to 40 and is expanded to 27 to 40
+			config.stripHeight = 15;
+			config.stripOverlap = 3;
+			WrapDisparitySgm<GrayF32,GrayF32> strips = (WrapDisparitySgm)FactoryStereoDisparity.sgm(config, GrayF32.class);
+			strips.process(left, right);
+
+			short[] expected = full.getAlg().getCost().getCost();
+			short[] found = strips.getAlg().getCost().getCost();
+			int rowLength = width*(maxDisparity-minDisparity);
+			for( int i = 0; i < 13*rowLength; i++ ) {
+				assertEquals(expected[27*rowLength + i], found[i]);
+			}
+		}
+	}
+
+	/**
+	 * Processing in strips is an approximation, but it should produce the same results for an easy problem
+	 */
+	@Test
+	public void strips_approximate() {
+		int disparity = 5;
+		GrayU8 left = new GrayU8(width, height);
+		GrayU8 right = new GrayU8(width, height);
+		createShifted(left, right, disparity);
+
+		ConfigDisparitySGM config = createConfig(DisparityAlgorithms.RECT_CENSUS);
+		GrayF32 expected = process(config, left, right, false);
+		config.stripHeight = 8;
+		config.stripOverlap = 4;
+		GrayF32 found = process(config, left, right, false);
+
+		int total = 0, same = 0;
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				total++;
+				if( Math.abs(expected.get(x,y) - found.get(x,y)) < 1e-4 )
+					same++;
+			}
+		}
+		assertTrue(same >= total*0.95);
+	}
+
+	@Test
+	public void compareToSingleThread() {
+		ForceConcurrency force = new ForceConcurrency();
+		force.apply();
+		try {
+			GrayU8 left = new GrayU8(width, height);
+			GrayU8 right = new GrayU8(width, height);
+			GImageMiscOps.fillUniform(left, rand, 0, 100);
+			GImageMiscOps.fillUniform(right, rand, 0, 100);
+
+			for( DisparityAlgorithms dataTerm : dataTerms ) {
+				for( int stripHeight : new int[]{0,12} ) {
+					ConfigDisparitySGM config = createConfig(dataTerm);
+					config.stripHeight = stripHeight;
+					config.texture = 0.05;
+
+					GrayF32 expected = process(config, left, right, false);
+					GrayF32 found = process(config, left, right, true);
+
+					BoofTesting.assertEquals(expected, found, 1e-4);
+				}
+			}
+		} finally {
+			force.restore();
+		}
+	}
+
+	private ConfigDisparitySGM createConfig( DisparityAlgorithms dataTerm ) {
+		ConfigDisparitySGM config = new ConfigDisparitySGM();
+		config.dataTerm = dataTerm;
+		config.minDisparity = minDisparity;
+		config.maxDisparity = maxDisparity;
+		config.regionRadiusX = 2;
+		config.regionRadiusY = 1;
+		return config;
+	}
+
+	private <T extends ImageGray<T>> GrayF32 process( ConfigDisparitySGM config , T left , T right , boolean concurrent ) {
+		config.subpixel = true;
+		StereoDisparity<T,GrayF32> alg = FactoryStereoDisparity.sgm(config, left.getImageType().getImageClass(), concurrent);
+		alg.process(left, right);
+		return alg.getDisparity().clone();
+	}
+
+	private void createShifted( ImageGray left , ImageGray right , int disparity ) {
+		GImageMiscOps.fillUniform(left, rand, 0, 100);
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				double value = GeneralizedImageOps.get(left, Math.min(width-1,x+disparity), y);
+				GeneralizedImageOps.set(right, x, y, value);
+			}
+		}
+	}
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.flow;
+
+import boofcv.alg.interpolate.InterpolatePixelS;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.core.image.border.BorderType;
+import boofcv.factory.interpolate.FactoryInterpolation;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.pyramid.PyramidFloat;
+import boofcv.testing.ForceConcurrency;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestBroxWarpingSpacial_MT {
+
+	int width = 30;
+	int height = 40;
+
+	ForceConcurrency force = new ForceConcurrency();
+
+	PyramidFloat<GrayF32> pyr1 = UtilDenseOpticalFlow.standardPyramid(width,height,0.7,0,5,12,GrayF32.class);
+	PyramidFloat<GrayF32> pyr2 = UtilDenseOpticalFlow.standardPyramid(width,height,0.7,0,5,12,GrayF32.class);
+
+	/**
+	 * Force the image to be split up, even for small images
+	 */
+	@Before
+	public void before() {
+		force.apply();
+
+		GrayF32 original1 = new GrayF32(width,height);
+		GrayF32 original2 = new GrayF32(width,height);
+
+		ImageMiscOps.fillRectangle(original1,40,10,0,10,height);
+		ImageMiscOps.fillRectangle(original2,40,15,0,10,height);
+
+		pyr1.process(original1);
+		pyr2.process(original2);
+	}
+
+	@After
+	public void after() {
+		force.restore();
+	}
+
+	private BroxWarpingSpacial<GrayF32> create( boolean concurrent ) {
+		InterpolatePixelS<GrayF32> interpolate = FactoryInterpolation.bilinearPixelS(
+				GrayF32.class, BorderType.EXTENDED);
+		ConfigBroxWarping config = new ConfigBroxWarping();
+		if( concurrent )
+			return new BroxWarpingSpacial_MT<>(config,interpolate);
+		else
+			return new BroxWarpingSpacial<>(config,interpolate);
+	}
+
+	/**
+	 * The red-black ordering should produce the same results no matter how many threads there are
+	 */
+	@Test
+	public void independentOfThreads() {
+		force.apply(1);
+		BroxWarpingSpacial<GrayF32> expected = create(true);
+		expected.process(pyr1,pyr2);
+
+		force.apply(4);
+		BroxWarpingSpacial<GrayF32> found = create(true);
+		found.process(pyr1,pyr2);
+
+		for (int i = 0; i < width*height; i++) {
+			assertTrue(expected.getFlowX().data[i] == found.getFlowX().data[i]);
+			assertTrue(expected.getFlowY().data[i] == found.getFlowY().data[i]);
+		}
+	}
+
+	/**
+	 * The ordering is different from the single threaded version but it should converge to the same solution
+	 */
+	@Test
+	public void compareToSingleThread() {
+		BroxWarpingSpacial<GrayF32> expected = create(false);
+		expected.process(pyr1,pyr2);
+
+		BroxWarpingSpacial<GrayF32> found = create(true);
+		found.process(pyr1,pyr2);
+
+		for (int y = 0; y < height; y++) {
+			for (int x = 10; x < 20; x++) {
+				assertEquals(5, found.getFlowX().get(x,y), 1);
+				assertEquals(0, found.getFlowY().get(x,y), 1);
+				assertEquals(expected.getFlowX().get(x,y), found.getFlowX().get(x,y), 0.05);
+				assertEquals(expected.getFlowY().get(x,y), found.getFlowY().get(x,y), 0.05);
+			}
+		}
+	}
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.flow;
+
+import boofcv.abst.filter.derivative.ImageGradient;
+import boofcv.alg.filter.blur.BlurImageOps;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.alg.transform.pyramid.PyramidOps;
+import boofcv.factory.filter.derivative.FactoryDerivative;
+import boofcv.factory.flow.ConfigDenseInverseSearch;
+import boofcv.factory.transform.pyramid.FactoryPyramid;
+import boofcv.struct.flow.ImageFlow;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.ImageType;
+import boofcv.struct.pyramid.PyramidDiscrete;
+import org.ddogleg.struct.GrowQueue_I32;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestDenseInverseSearch {
+
+	Random rand = new Random(234);
+
+	int width = 120;
+	int height = 100;
+
+	ConfigDenseInverseSearch config = new ConfigDenseInverseSearch();
+
+	ImageGradient<GrayF32, GrayF32> gradient = FactoryDerivative.sobel(GrayF32.class, GrayF32.class);
+
+	/**
+	 * Translate a smooth texture and see if the motion is found for all the different ways it can be configured
+	 */
+	@Test
+	public void process_translation() {
+		for( int finest = 0; finest < 2; finest++ ) {
+			for( boolean refine : new boolean[]{false,true} ) {
+				config.finestLayer = finest;
+				config.refine = refine;
+				// upsampling from a lower resolution smooths out the flow
+				double tol = finest == 0 ? 0.1 : 0.6;
+				checkTranslation(3,-2, tol);
+				checkTranslation(-5,4, tol);
+			}
+		}
+	}
+
+	private void checkTranslation( int dx , int dy , double tolPixel ) {
+		GrayF32 texture = new GrayF32(width+20,height+20);
+		ImageMiscOps.fillUniform(texture,rand,0,255);
+		texture = BlurImageOps.gaussian(texture,null,2,-1,null);
+
+		// image1(x+dx,y+dy) = image0(x,y)
+		GrayF32 image0 = texture.subimage(10,10,10+width,10+height).clone();
+		GrayF32 image1 = texture.subimage(10-dx,10-dy,10-dx+width,10-dy+height).clone();
+
+		PyramidDiscrete<GrayF32> prev = createPyramid();
+		PyramidDiscrete<GrayF32> curr = createPyramid();
+		prev.process(image0);
+		curr.process(image1);
+
+		GrayF32[] derivX = PyramidOps.declareOutput(prev,GrayF32.class);
+		GrayF32[] derivY = PyramidOps.declareOutput(prev,GrayF32.class);
+		PyramidOps.gradient(prev, gradient, derivX, derivY);
+
+		DenseInverseSearch alg = new DenseInverseSearch(config);
+		ImageFlow found = new ImageFlow(width,height);
+		found.invalidateAll();
+		alg.process(prev,derivX,derivY,curr,found);
+
+		// flow along the border is ambiguous since part of the texture moves out of view
+		double sumError = 0;
+		int total = 0;
+		for( int y = 20; y < height-20; y++ ) {
+			for( int x = 20; x < width-20; x++ ) {
+				ImageFlow.D f = found.get(x,y);
+				assertTrue(f.isValid());
+				assertEquals(dx,f.x,tolPixel);
+				assertEquals(dy,f.y,tolPixel);
+				sumError += Math.abs(f.x-dx) + Math.abs(f.y-dy);
+				total++;
+			}
+		}
+		// the vast majority of pixels should be much better than the worst case
+		assertTrue(sumError/total < 0.1);
+	}
+
+	private PyramidDiscrete<GrayF32> createPyramid() {
+		return FactoryPyramid.discreteGaussian(config.pyramidScaling, -1, 2, true, ImageType.single(GrayF32.class));
+	}
+
+	/**
+	 * Every pixel should be covered by a patch and patches should be inside the image
+	 */
+	@Test
+	public void computeGrid() {
+		config.patchRadius = 3;
+		config.patchStride = 5;
+		DenseInverseSearch alg = new DenseInverseSearch(config);
+
+		GrowQueue_I32 grid = new GrowQueue_I32();
+		for( int length = 7; length < 40; length++ ) {
+			alg.computeGrid(length,grid);
+
+			int covered[] = new int[length];
+			for( int i = 0; i < grid.size; i++ ) {
+				int x0 = grid.get(i);
+				assertTrue(x0 >= 0 && x0 + 7 <= length);
+				for( int j = 0; j < 7; j++ ) {
+					covered[x0+j]++;
+				}
+			}
+			for( int i = 0; i < length; i++ ) {
+				assertTrue(covered[i] > 0);
+			}
+		}
+	}
+
+	/**
+	 * Upsample a linear function.  Should be reproduced exactly inside and be scaled by the ratio
+	 */
+	@Test
+	public void upsample() {
+		GrayF32 src = new GrayF32(10,8);
+		for( int y = 0; y < src.height; y++ ) {
+			for( int x = 0; x < src.width; x++ ) {
+				src.set(x,y, 2*x + 3*y);
+			}
+		}
+
+		for( int ratio = 1; ratio <= 4; ratio++ ) {
+			// sizes which aren't a multiple of the ratio are handled by extending the border
+			GrayF32 dst = new GrayF32(src.width*ratio+1,src.height*ratio+1);
+			DenseInverseSearch.upsample(src,dst,ratio);
+
+			for( int y = 0; y < dst.height; y++ ) {
+				float sy = Math.min(y/(float)ratio,src.height-1);
+				for( int x = 0; x < dst.width; x++ ) {
+					float sx = Math.min(x/(float)ratio,src.width-1);
+					assertEquals((2*sx + 3*sy)*ratio, dst.get(x,y), 1e-4f);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void interpolate() {
+		GrayF32 image = new GrayF32(10,8);
+		ImageMiscOps.fillUniform(image,rand,0,100);
+		GrayF32 sub = image.subimage(2,1,8,7);
+
+		float expected = 0.7f*(0.6f*sub.get(2,3) + 0.4f*sub.get(3,3)) + 0.3f*(0.6f*sub.get(2,4) + 0.4f*sub.get(3,4));
+		assertEquals(expected, DenseInverseSearch.interpolate(sub,2.4f,3.3f), 1e-4f);
+
+		// outside the image it should be the closest point inside
+		assertEquals(sub.get(0,0), DenseInverseSearch.interpolate(sub,-2f,-1f), 1e-4f);
+		assertEquals(sub.get(5,5), DenseInverseSearch.interpolate(sub,7.5f,9f), 1e-4f);
+		assertEquals(0.5f*(sub.get(5,2) + sub.get(5,3)), DenseInverseSearch.interpolate(sub,5.2f,2.5f), 1e-4f);
+	}
+}
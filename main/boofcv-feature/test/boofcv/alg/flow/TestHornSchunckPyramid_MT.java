@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.flow;
+
+import boofcv.alg.filter.blur.BlurImageOps;
+import boofcv.alg.interpolate.InterpolatePixelS;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.core.image.border.BorderType;
+import boofcv.factory.flow.ConfigHornSchunckPyramid;
+import boofcv.factory.interpolate.FactoryInterpolation;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.pyramid.PyramidFloat;
+import boofcv.testing.ForceConcurrency;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestHornSchunckPyramid_MT {
+
+	int width = 40;
+	int height = 45;
+	Random rand = new Random(234);
+
+	ForceConcurrency force = new ForceConcurrency();
+
+	PyramidFloat<GrayF32> pyr1 = UtilDenseOpticalFlow.standardPyramid(width,height,0.7,0,5,12,GrayF32.class);
+	PyramidFloat<GrayF32> pyr2 = UtilDenseOpticalFlow.standardPyramid(width,height,0.7,0,5,12,GrayF32.class);
+
+	/**
+	 * Force the image to be split up, even for small images
+	 */
+	@Before
+	public void before() {
+		force.apply();
+
+		GrayF32 original1 = new GrayF32(width,height);
+		GrayF32 original2 = new GrayF32(width,height);
+
+		GrayF32 texture = new GrayF32(width+5,height);
+		ImageMiscOps.fillUniform(texture, rand, 0, 100);
+		texture = BlurImageOps.gaussian(texture, null, -1, 2, null);
+		original1.setTo(texture.subimage(2,0,2+width,height));
+		original2.setTo(texture.subimage(0,0,width,height));
+
+		pyr1.process(original1);
+		pyr2.process(original2);
+	}
+
+	@After
+	public void after() {
+		force.restore();
+	}
+
+	private HornSchunckPyramid<GrayF32> create( boolean concurrent ) {
+		InterpolatePixelS<GrayF32> interpolate = FactoryInterpolation.bilinearPixelS(
+				GrayF32.class, BorderType.EXTENDED);
+		ConfigHornSchunckPyramid config = new ConfigHornSchunckPyramid(20f,100);
+		if( concurrent )
+			return new HornSchunckPyramid_MT<>(config,interpolate);
+		else
+			return new HornSchunckPyramid<>(config,interpolate);
+	}
+
+	/**
+	 * The four color ordering should produce the same results no matter how many threads there are
+	 */
+	@Test
+	public void independentOfThreads() {
+		force.apply(1);
+		HornSchunckPyramid<GrayF32> expected = create(true);
+		expected.process(pyr1,pyr2);
+
+		force.apply(4);
+		HornSchunckPyramid<GrayF32> found = create(true);
+		found.process(pyr1,pyr2);
+
+		for (int i = 0; i < width*height; i++) {
+			assertTrue(expected.getFlowX().data[i] == found.getFlowX().data[i]);
+			assertTrue(expected.getFlowY().data[i] == found.getFlowY().data[i]);
+		}
+	}
+
+	/**
+	 * The ordering is different from the single threaded version but it should converge to the same solution
+	 */
+	@Test
+	public void compareToSingleThread() {
+		HornSchunckPyramid<GrayF32> expected = create(false);
+		expected.process(pyr1,pyr2);
+
+		HornSchunckPyramid<GrayF32> found = create(true);
+		found.process(pyr1,pyr2);
+
+		for (int y = 5; y < height-5; y++) {
+			for (int x = 5; x < width-5; x++) {
+				assertEquals(2, expected.getFlowX().get(x,y), 0.2);
+				assertEquals(expected.getFlowX().get(x,y), found.getFlowX().get(x,y), 0.05);
+				assertEquals(expected.getFlowY().get(x,y), found.getFlowY().get(x,y), 0.05);
+			}
+		}
+	}
+
+	/**
+	 * After all four colors have been processed every pixel should have been updated
+	 */
+	@Test
+	public void iterationSorColor_allPixels() {
+		HornSchunckPyramid<GrayF32> alg = create(true);
+
+		alg.initFlowX.reshape(width,height);
+		alg.initFlowY.reshape(width,height);
+		alg.flowX.reshape(width,height);
+		alg.flowY.reshape(width,height);
+		alg.warpDeriv2X.reshape(width,height);
+		alg.warpDeriv2Y.reshape(width,height);
+		alg.warpImage2.reshape(width,height);
+
+		// the flow at every pixel will move away from zero
+		GrayF32 image1 = pyr1.getLayer(0);
+		ImageMiscOps.fillUniform(alg.warpImage2, rand, 0, 100);
+		ImageMiscOps.fillUniform(alg.warpDeriv2X, rand, 1, 5);
+
+		float[] rowError = new float[height];
+		for (int color = 0; color < 4; color++) {
+			alg.iterationSorColor(image1, color, 0, height, rowError);
+		}
+
+		for (int y = 0; y < height; y++) {
+			assertTrue(rowError[y] > 0);
+			for (int x = 0; x < width; x++) {
+				assertTrue(x+" "+y,alg.flowX.get(x,y) != 0);
+			}
+		}
+	}
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.flow;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.struct.flow.ImageFlow;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayF32;
+import boofcv.testing.ForceConcurrency;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestHornSchunck_MT_F32 extends ChecksHornSchunck<GrayF32,GrayF32> {
+
+	ForceConcurrency force = new ForceConcurrency();
+
+	public TestHornSchunck_MT_F32() {
+		super(GrayF32.class, GrayF32.class);
+	}
+
+	/**
+	 * Force the image to be split up, even for small images
+	 */
+	@Before
+	public void before() {
+		force.apply();
+	}
+
+	@After
+	public void after() {
+		force.restore();
+	}
+
+	@Override
+	public HornSchunck<GrayF32, GrayF32> createAlg() {
+		return new HornSchunck_MT_F32(0.2f,1);
+	}
+
+	/**
+	 * Jacobi iterations should produce identical results to the single threaded version
+	 */
+	@Test
+	public void compareToSingleThread() {
+		GrayF32 image1 = new GrayF32(35,42);
+		GrayF32 image2 = new GrayF32(35,42);
+		GImageMiscOps.fillUniform(image1, rand, 0, 100);
+		GImageMiscOps.fillUniform(image2, rand, 0, 100);
+
+		HornSchunck_F32 expected = new HornSchunck_F32(20,50);
+		HornSchunck_MT_F32 found = new HornSchunck_MT_F32(20,50);
+
+		ImageFlow flowExpected = new ImageFlow(35,42);
+		ImageFlow flowFound = new ImageFlow(35,42);
+
+		expected.process(image1,image2,flowExpected);
+		found.process(image1,image2,flowFound);
+
+		for (int i = 0; i < flowExpected.data.length; i++) {
+			assertTrue(flowExpected.data[i].x == flowFound.data[i].x);
+			assertTrue(flowExpected.data[i].y == flowFound.data[i].y);
+		}
+	}
+}
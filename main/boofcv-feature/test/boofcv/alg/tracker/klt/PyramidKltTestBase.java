@@ -27,6 +27,8 @@ import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.ImageType;
 import boofcv.struct.pyramid.PyramidDiscrete;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 
 
@@ -72,6 +74,25 @@ public class PyramidKltTestBase {
 	}
 
 
+	/**
+	 * Creates features with a description at random locations, including along the image border, and then
+	 * randomly moves them.  The same seed will always produce the same features
+	 */
+	List<PyramidKltFeature> createRandomFeatures( int total , long seed ) {
+		Random rand = new Random(seed);
+		List<PyramidKltFeature> features = new ArrayList<>();
+
+		tracker.setImage(pyramid,derivX,derivY);
+		for (int i = 0; i < total; i++) {
+			PyramidKltFeature f = new PyramidKltFeature(pyramid.getNumLayers(),featureReadius);
+			f.setPosition(rand.nextFloat()*width, rand.nextFloat()*height);
+			tracker.setDescription(f);
+			f.setPosition(f.x + (rand.nextFloat()-0.5f)*6, f.y + (rand.nextFloat()-0.5f)*6);
+			features.add(f);
+		}
+		return features;
+	}
+
 	private PyramidKltTracker<GrayF32,GrayF32> createDefaultTracker() {
 		KltTracker<GrayF32, GrayF32> klt = TestKltTracker.createDefaultTracker();
 
@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.tracker.klt;
+
+import boofcv.alg.filter.blur.BlurImageOps;
+import boofcv.alg.filter.derivative.GradientSobel;
+import boofcv.alg.interpolate.InterpolateRectangle;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.alg.misc.PixelMath;
+import boofcv.core.image.border.BorderIndex1D_Extend;
+import boofcv.core.image.border.ImageBorder1D_F32;
+import boofcv.factory.interpolate.FactoryInterpolation;
+import boofcv.struct.image.GrayF32;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestKltTrackerGainBias {
+
+	Random rand = new Random(234);
+
+	int imageWidth = 40;
+	int imageHeight = 50;
+
+	GrayF32 image = new GrayF32(imageWidth, imageHeight);
+	GrayF32 derivX = new GrayF32(imageWidth, imageHeight);
+	GrayF32 derivY = new GrayF32(imageWidth, imageHeight);
+
+	// same as image but with a different illumination
+	GrayF32 brighter = new GrayF32(imageWidth, imageHeight);
+
+	float gain = 1.3f;
+	float bias = 15;
+
+	@Before
+	public void before() {
+		// blur the image so that the gradient is a good approximation between pixels
+		GrayF32 noise = new GrayF32(imageWidth, imageHeight);
+		ImageMiscOps.fillUniform(noise, rand, 0, 100);
+		BlurImageOps.gaussian(noise, image, -1, 2, null);
+		GradientSobel.process(image, derivX, derivY, new ImageBorder1D_F32(BorderIndex1D_Extend.class));
+
+		PixelMath.multiply(image, gain, brighter);
+		PixelMath.plus(brighter, bias, brighter);
+	}
+
+	/**
+	 * Change the lighting and see if it recovers the original location, gain, and bias
+	 */
+	@Test
+	public void tracking_illumination() {
+		KltTrackerGainBias<GrayF32, GrayF32> tracker = createDefaultTracker();
+		tracker.setImage(image, derivX, derivY);
+
+		KltFeature feature = new KltFeature(3);
+		feature.setPosition(20, 25);
+		assertTrue(tracker.setDescription(feature));
+
+		tracker.setImage(brighter, derivX, derivY);
+		feature.setPosition(20.6f, 24.5f);
+
+		assertTrue(tracker.track(feature) == KltTrackFault.SUCCESS);
+		assertEquals(20, feature.x, 0.01);
+		assertEquals(25, feature.y, 0.01);
+		assertEquals(gain, tracker.getGain(), 0.01);
+		assertEquals(bias, tracker.getBias(), 0.5);
+		assertEquals(0, tracker.getError(), 0.1);
+
+		// the regular tracker can't handle the change in lighting
+		KltTracker<GrayF32, GrayF32> original = TestKltTracker.createDefaultTracker();
+		original.setImage(image, derivX, derivY);
+		feature.setPosition(20, 25);
+		assertTrue(original.setDescription(feature));
+		original.setImage(brighter, derivX, derivY);
+		feature.setPosition(20.6f, 24.5f);
+		assertTrue(original.track(feature) != KltTrackFault.SUCCESS);
+	}
+
+	/**
+	 * When the lighting doesn't change it should produce the same solution as the regular tracker
+	 */
+	@Test
+	public void tracking_noChange() {
+		KltTrackerGainBias<GrayF32, GrayF32> trackerA = createDefaultTracker();
+		KltTracker<GrayF32, GrayF32> trackerB = TestKltTracker.createDefaultTracker();
+		trackerA.setImage(image, derivX, derivY);
+		trackerB.setImage(image, derivX, derivY);
+
+		for( int y = 5; y < imageHeight-5; y += 6) {
+			for( int x = 5; x < imageWidth-5; x += 6) {
+				KltFeature featureA = new KltFeature(3);
+				KltFeature featureB = new KltFeature(3);
+
+				featureA.setPosition(x,y);
+				featureB.setPosition(x,y);
+
+				assertTrue(trackerA.setDescription(featureA));
+				assertTrue(trackerB.setDescription(featureB));
+
+				float dx = rand.nextFloat()-0.5f;
+				float dy = rand.nextFloat()-0.5f;
+
+				featureA.setPosition(x+dx,y+dy);
+				featureB.setPosition(x+dx,y+dy);
+
+				assertTrue(trackerA.track(featureA) == KltTrackFault.SUCCESS);
+				assertTrue(trackerB.track(featureB) == KltTrackFault.SUCCESS);
+
+				assertEquals(featureB.x, featureA.x, 0.01);
+				assertEquals(featureB.y, featureA.y, 0.01);
+				assertEquals(1, trackerA.getGain(), 0.01);
+				assertEquals(0, trackerA.getBias(), 0.5);
+			}
+		}
+	}
+
+	/**
+	 * Create a description next to the border, then place the feature partially outside the image with
+	 * a different illumination
+	 */
+	@Test
+	public void tracking_border() {
+		KltTrackerGainBias<GrayF32, GrayF32> tracker = createDefaultTracker();
+		tracker.setImage(image, derivX, derivY);
+		KltFeature feature = new KltFeature(3);
+
+		feature.setPosition(imageWidth-4, imageHeight-4);
+		assertTrue(tracker.setDescription(feature));
+
+		tracker.setImage(brighter, derivX, derivY);
+		feature.setPosition(imageWidth-3.5f, imageHeight-3.4f);
+
+		assertTrue(tracker.track(feature) == KltTrackFault.SUCCESS);
+		assertEquals(imageWidth-4, feature.x, 0.01);
+		assertEquals(imageHeight-4, feature.y, 0.01);
+		assertEquals(gain, tracker.getGain(), 0.01);
+	}
+
+	/**
+	 * The border code when fully inside the image should produce the same Hessian and E as the inner code
+	 */
+	@Test
+	public void compare_computeHandE_border_toInsideImage() {
+		KltTrackerGainBias<GrayF32, GrayF32> tracker = createDefaultTracker();
+		tracker.setImage(image, derivX, derivY);
+		KltFeature feature = new KltFeature(2);
+
+		feature.setPosition(20, 22);
+		assertTrue(tracker.setDescription(feature));
+		tracker.currDesc.reshape(5,5);
+		tracker.gain = 1.1f;
+		tracker.bias = 2;
+
+		// need to compute E from a shifted location or else it will be zero
+		tracker.computeE(feature,21,23);
+		double[] expectedE = tracker.E.clone();
+		copyTranslationTerms(tracker,feature);
+		tracker.setHessian(feature.Gxi, feature.Gyi, feature.Gii, feature.Gx, feature.Gy, feature.Gi, feature.Gn);
+		double[] expectedH = tracker.H.clone();
+
+		assertTrue( 0 != expectedE[2] );
+		assertEquals(25, feature.Gn, 0);
+
+		assertEquals(25, tracker.computeHandE_border(feature,21,23));
+
+		for (int i = 0; i < 4; i++) {
+			assertEquals(expectedE[i], tracker.E[i], Math.abs(expectedE[i])*1e-5);
+		}
+		for (int i = 0; i < 16; i++) {
+			assertEquals(expectedH[i], tracker.H[i], Math.abs(expectedH[i])*1e-5);
+		}
+	}
+
+	private static void copyTranslationTerms( KltTracker tracker , KltFeature feature ) {
+		tracker.Gxx = feature.Gxx;
+		tracker.Gxy = feature.Gxy;
+		tracker.Gyy = feature.Gyy;
+	}
+
+	@Test
+	public void decomposeAndSolve() {
+		KltTrackerGainBias<GrayF32, GrayF32> tracker = createDefaultTracker();
+
+		// symmetric positive definite matrix
+		double A[] = new double[]{4,1,0.5,0.2, 1,3,0.3,0.1, 0.5,0.3,2,0.4, 0.2,0.1,0.4,1};
+		double x[] = new double[]{1,-2,0.5,3};
+
+		System.arraycopy(A,0,tracker.H,0,16);
+		for (int i = 0; i < 4; i++) {
+			tracker.E[i] = 0;
+			for (int j = 0; j < 4; j++) {
+				tracker.E[i] += A[i*4+j]*x[j];
+			}
+		}
+
+		assertTrue(tracker.decomposeHessian());
+		tracker.solveHessian();
+
+		for (int i = 0; i < 4; i++) {
+			assertEquals(x[i], tracker.delta[i], 1e-8);
+		}
+
+		// not positive definite
+		tracker.H[15] = -1;
+		assertFalse(tracker.decomposeHessian());
+	}
+
+	/**
+	 * Pass in a feature with a small determinant and see if it returns a fault.
+	 */
+	@Test
+	public void detectBadFeature() {
+		KltTrackerGainBias<GrayF32, GrayF32> tracker = createDefaultTracker();
+		tracker.setImage(new GrayF32(imageWidth,imageHeight), derivX, derivY);
+		KltFeature feature = new KltFeature(2);
+
+		feature.setPosition(20, 20);
+		// Gxx, Gyy, and Gxy will all be zero, which is bad
+		assertTrue(tracker.track(feature) != KltTrackFault.SUCCESS);
+	}
+
+	public static KltTrackerGainBias<GrayF32, GrayF32> createDefaultTracker() {
+		KltConfig config = new KltConfig();
+		config.maxPerPixelError = 10;
+		config.maxIterations = 30;
+		config.minDeterminant = 0.01f;
+		config.minPositionDelta = 0.001f;
+		config.gainBias = true;
+
+		InterpolateRectangle<GrayF32> interp1 = FactoryInterpolation.bilinearRectangle(GrayF32.class);
+		InterpolateRectangle<GrayF32> interp2 = FactoryInterpolation.bilinearRectangle(GrayF32.class);
+
+		return new KltTrackerGainBias<>(interp1, interp2, config);
+	}
+}
@@ -25,6 +25,9 @@ import boofcv.core.image.border.ImageBorder1D_F32;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.Assert.*;
 
 /**
@@ -200,4 +203,47 @@ public class TestPyramidKltTracker extends PyramidKltTestBase {
 
 		assertTrue( tracker.track(feature) == KltTrackFault.LARGE_ERROR);
 	}
+
+	/**
+	 * Tracking a list should produce the same results as tracking each feature individually
+	 */
+	@Test
+	public void track_list() {
+		for( boolean update : new boolean[]{false,true} ) {
+			List<PyramidKltFeature> expected = createRandomFeatures(100, 345);
+			List<PyramidKltFeature> found = createRandomFeatures(100, 345);
+
+			tracker.setImage(pyramid, derivX, derivY);
+			List<KltTrackFault> faults = new ArrayList<>();
+			tracker.track(found, update, faults);
+			assertEquals(found.size(), faults.size());
+
+			int total = 0;
+			for (int i = 0; i < expected.size(); i++) {
+				PyramidKltFeature e = expected.get(i);
+				PyramidKltFeature f = found.get(i);
+
+				KltTrackFault ret = tracker.track(e);
+				if( ret == KltTrackFault.SUCCESS ) {
+					if( !image.isInBounds((int)e.x,(int)e.y) )
+						ret = KltTrackFault.OUT_OF_BOUNDS;
+					else if( update && !tracker.setDescription(e) )
+						ret = KltTrackFault.FAILED;
+					else
+						total++;
+				}
+
+				assertEquals(ret, faults.get(i));
+				assertEquals(e.x, f.x, 0.0f);
+				assertEquals(e.y, f.y, 0.0f);
+				for (int layer = 0; layer < pyramid.getNumLayers(); layer++) {
+					assertEquals(e.desc[layer].Gxx, f.desc[layer].Gxx, 0.0f);
+					assertEquals(e.desc[layer].desc.get(1,2), f.desc[layer].desc.get(1,2), 0.0f);
+				}
+			}
+			// sanity check to make sure the test isn't trivial
+			assertTrue(total > 10);
+			assertTrue(total < expected.size());
+		}
+	}
 }
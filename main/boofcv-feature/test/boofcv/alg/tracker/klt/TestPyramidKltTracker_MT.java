@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.tracker.klt;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.ObjectFactory;
+import boofcv.struct.image.GrayF32;
+import boofcv.testing.ForceConcurrency;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestPyramidKltTracker_MT extends PyramidKltTestBase {
+
+	ForceConcurrency force = new ForceConcurrency();
+
+	/**
+	 * Force the features to be split up, even for small images
+	 */
+	@Before
+	public void before() {
+		setup();
+		force.apply();
+	}
+
+	@After
+	public void after() {
+		force.restore();
+	}
+
+	private PyramidKltTracker_MT<GrayF32,GrayF32> createAlg() {
+		return new PyramidKltTracker_MT<>(new ObjectFactory<KltTracker<GrayF32, GrayF32>>() {
+			@Override
+			public KltTracker<GrayF32, GrayF32> newInstance() {
+				return TestKltTracker.createDefaultTracker();
+			}
+		});
+	}
+
+	/**
+	 * Compare to the single threaded implementation
+	 */
+	@Test
+	public void compareToSingleThread() {
+		PyramidKltTracker_MT<GrayF32,GrayF32> alg = createAlg();
+
+		for( int total : new int[]{0,1,3,200} ) {
+			for( boolean update : new boolean[]{false,true} ) {
+				List<PyramidKltFeature> expected = createRandomFeatures(total, 345);
+				List<PyramidKltFeature> found = createRandomFeatures(total, 345);
+
+				List<KltTrackFault> expectedFaults = new ArrayList<>();
+				List<KltTrackFault> foundFaults = new ArrayList<>();
+
+				tracker.setImage(pyramid, derivX, derivY);
+				tracker.track(expected, update, expectedFaults);
+				alg.setImage(pyramid, derivX, derivY);
+				alg.track(found, update, foundFaults);
+
+				assertEquals(expectedFaults.size(), foundFaults.size());
+				for (int i = 0; i < expected.size(); i++) {
+					PyramidKltFeature e = expected.get(i);
+					PyramidKltFeature f = found.get(i);
+
+					assertEquals(expectedFaults.get(i), foundFaults.get(i));
+					assertEquals(e.x, f.x, 0.0f);
+					assertEquals(e.y, f.y, 0.0f);
+					for (int layer = 0; layer < pyramid.getNumLayers(); layer++) {
+						assertEquals(e.desc[layer].Gxx, f.desc[layer].Gxx, 0.0f);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Once warmed up, tracking a list of features in a large image should not create new objects in the calling
+	 * thread when the features are split up between threads.  Measured using the number of bytes allocated by
+	 * this thread.  A few hundred bytes can still be allocated by the JVM on a single call, e.g. when the JIT
+	 * deoptimizes a method, so the total must be less than if one object was created on every call.
+	 */
+	@Test
+	public void track_noAllocation() {
+		ThreadMXBean mxBean = ManagementFactory.getThreadMXBean();
+		Assume.assumeTrue(mxBean instanceof com.sun.management.ThreadMXBean);
+		com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean)mxBean;
+		Assume.assumeTrue(bean.isThreadAllocatedMemorySupported());
+		bean.setThreadAllocatedMemoryEnabled(true);
+		long threadID = Thread.currentThread().getId();
+
+		width = 640;
+		height = 480;
+		image = new GrayF32(width,height);
+		setup();
+
+		PyramidKltTracker_MT<GrayF32,GrayF32> alg = createAlg();
+		List<PyramidKltFeature> original = createRandomFeatures(500, 345);
+		List<PyramidKltFeature> features = createRandomFeatures(500, 345);
+		List<KltTrackFault> faults = new ArrayList<>();
+		alg.setImage(pyramid, derivX, derivY);
+
+		// sanity check. make sure the features are being split up
+		assertTrue(BoofConcurrency.useConcurrent(image));
+		assertTrue(BoofConcurrency.computeNumberOfBlocks(features.size(),1) > 1);
+
+		// the overhead of reading the allocated bytes
+		long overhead = -bean.getThreadAllocatedBytes(threadID);
+		overhead += bean.getThreadAllocatedBytes(threadID);
+
+		int warmUp = 50;
+		int measured = 200;
+
+		long total = 0;
+		for (int trial = 0; trial < warmUp+measured; trial++) {
+			for (int i = 0; i < features.size(); i++) {
+				PyramidKltFeature o = original.get(i);
+				features.get(i).setPosition(o.x, o.y);
+			}
+
+			long before = bean.getThreadAllocatedBytes(threadID);
+			alg.track(features, false, faults);
+			long after = bean.getThreadAllocatedBytes(threadID);
+
+			if( trial >= warmUp ) {
+				long bytes = after - before - overhead;
+				assertTrue("trial "+trial+" allocated "+bytes, bytes <= 1024);
+				total += bytes;
+			}
+		}
+
+		// the smallest object is 16 bytes. If something was allocated every call this would fail
+		assertTrue("total allocated "+total, total < 16*measured);
+	}
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.factory.feature.detdesc;
+
+import boofcv.abst.feature.detdesc.ConfigCompleteSift;
+import boofcv.abst.feature.detdesc.DetectDescribe_CompleteSift;
+import boofcv.abst.feature.detdesc.DetectDescribePoint;
+import boofcv.abst.feature.detdesc.WrapDetectDescribeSurf;
+import boofcv.abst.feature.detdesc.WrapDetectDescribeSurf_MT;
+import boofcv.abst.feature.detect.interest.ConfigFastHessian;
+import boofcv.alg.feature.detdesc.CompleteSift_MT;
+import boofcv.alg.feature.detect.interest.FastHessianFeatureDetector_MT;
+import boofcv.factory.feature.detect.interest.FactoryInterestPointAlgs;
+import boofcv.struct.feature.BrightFeature;
+import boofcv.struct.image.GrayF32;
+import boofcv.testing.ForceConcurrency;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestFactoryDetectDescribe {
+
+	ForceConcurrency force = new ForceConcurrency();
+
+	/**
+	 * Turn on concurrency so that the configurations default to the concurrent implementations
+	 */
+	@Before
+	public void before() {
+		force.setUseConcurrent(true);
+	}
+
+	@After
+	public void after() {
+		force.restore();
+	}
+
+	@Test
+	public void sift_concurrent() {
+		ConfigCompleteSift config = new ConfigCompleteSift();
+		assertTrue(config.concurrent);
+		assertTrue(sift(FactoryDetectDescribe.<GrayF32>sift(null)) instanceof CompleteSift_MT);
+		assertTrue(sift(FactoryDetectDescribe.<GrayF32>sift(config)) instanceof CompleteSift_MT);
+		config.concurrent = false;
+		assertFalse(sift(FactoryDetectDescribe.<GrayF32>sift(config)) instanceof CompleteSift_MT);
+
+		// the argument overrides the config
+		assertFalse(sift(FactoryDetectDescribe.<GrayF32>sift(null, false)) instanceof CompleteSift_MT);
+		assertTrue(sift(FactoryDetectDescribe.<GrayF32>sift(config, true)) instanceof CompleteSift_MT);
+	}
+
+	@Test
+	public void surfFast_concurrent() {
+		ConfigFastHessian config = new ConfigFastHessian();
+		checkSurf(FactoryDetectDescribe.surfFast(null, null, null, GrayF32.class), true);
+		checkSurf(FactoryDetectDescribe.surfFast(config, null, null, GrayF32.class), true);
+		config.concurrent = false;
+		checkSurf(FactoryDetectDescribe.surfFast(config, null, null, GrayF32.class), false);
+
+		checkSurf(FactoryDetectDescribe.surfFast(null, null, null, GrayF32.class, false), false);
+		checkSurf(FactoryDetectDescribe.surfFast(config, null, null, GrayF32.class, true), true);
+	}
+
+	@Test
+	public void surfStable_concurrent() {
+		ConfigFastHessian config = new ConfigFastHessian();
+		checkSurf(FactoryDetectDescribe.surfStable(null, null, null, GrayF32.class), true);
+		checkSurf(FactoryDetectDescribe.surfStable(config, null, null, GrayF32.class), true);
+		config.concurrent = false;
+		checkSurf(FactoryDetectDescribe.surfStable(config, null, null, GrayF32.class), false);
+
+		checkSurf(FactoryDetectDescribe.surfStable(null, null, null, GrayF32.class, false), false);
+		checkSurf(FactoryDetectDescribe.surfStable(config, null, null, GrayF32.class, true), true);
+	}
+
+	@Test
+	public void fastHessian_concurrent() {
+		ConfigFastHessian config = new ConfigFastHessian();
+		assertTrue(FactoryInterestPointAlgs.fastHessian(null) instanceof FastHessianFeatureDetector_MT);
+		assertTrue(FactoryInterestPointAlgs.fastHessian(config) instanceof FastHessianFeatureDetector_MT);
+		config.concurrent = false;
+		assertFalse(FactoryInterestPointAlgs.fastHessian(config) instanceof FastHessianFeatureDetector_MT);
+
+		assertFalse(FactoryInterestPointAlgs.fastHessian(null, false) instanceof FastHessianFeatureDetector_MT);
+		assertTrue(FactoryInterestPointAlgs.fastHessian(config, true) instanceof FastHessianFeatureDetector_MT);
+	}
+
+	/**
+	 * With concurrency turned off the configurations default to the single threaded implementations
+	 */
+	@Test
+	public void defaults_notConcurrent() {
+		force.setUseConcurrent(false);
+		assertFalse(sift(FactoryDetectDescribe.<GrayF32>sift(null)) instanceof CompleteSift_MT);
+		checkSurf(FactoryDetectDescribe.surfFast(null, null, null, GrayF32.class), false);
+		checkSurf(FactoryDetectDescribe.surfStable(null, null, null, GrayF32.class), false);
+		assertFalse(FactoryInterestPointAlgs.fastHessian(null) instanceof FastHessianFeatureDetector_MT);
+	}
+
+	private static Object sift( DetectDescribePoint<GrayF32,BrightFeature> alg ) {
+		return ((DetectDescribe_CompleteSift)alg).getAlg();
+	}
+
+	private static void checkSurf( DetectDescribePoint<GrayF32,BrightFeature> alg , boolean concurrent ) {
+		assertTrue(alg instanceof WrapDetectDescribeSurf);
+		assertTrue(concurrent == alg instanceof WrapDetectDescribeSurf_MT);
+		WrapDetectDescribeSurf surf = (WrapDetectDescribeSurf)alg;
+		assertTrue(concurrent == surf.getDetector() instanceof FastHessianFeatureDetector_MT);
+	}
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.feature;
+
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestTupleDesc_B64 {
+
+	Random rand = new Random(234);
+
+	@Test
+	public void isBitTrue() {
+		int N = 100;
+		TupleDesc_B64 desc = new TupleDesc_B64(N);
+		assertEquals(2,desc.data.length);
+
+		boolean expected[] = new boolean[N];
+		for( int i = 0; i < N; i++ ) {
+			expected[i] = rand.nextBoolean();
+
+			int index = i/64;
+			desc.data[index] |= expected[i] ? 1L << (i%64) : 0;
+		}
+
+		for( int i = 0; i < N; i++ ) {
+			assertEquals(desc.isBitTrue(i),expected[i]);
+		}
+	}
+
+	@Test
+	public void setTo() {
+		int N = 100;
+		TupleDesc_B64 a = new TupleDesc_B64(N);
+
+		for( int i = 0; i < a.data.length; i++ ) {
+			a.data[i] = rand.nextLong();
+		}
+
+		TupleDesc_B64 b = new TupleDesc_B64(200);
+		b.setTo(a);
+
+		for( int i = 0; i < a.data.length; i++ ) {
+			assertEquals(a.data[i],b.data[i]);
+		}
+		assertEquals(a.numBits,b.numBits);
+	}
+
+	/**
+	 * Every bit should have the same value after converting
+	 */
+	@Test
+	public void setTo_B() {
+		for( int N : new int[]{32,70,100,512}) {
+			TupleDesc_B a = new TupleDesc_B(N);
+			for( int i = 0; i < a.data.length; i++ ) {
+				a.data[i] = rand.nextInt();
+			}
+
+			TupleDesc_B64 b = new TupleDesc_B64(N);
+			b.setTo(a);
+
+			assertEquals(a.numBits,b.numBits);
+			for( int i = 0; i < N; i++ ) {
+				assertEquals(a.isBitTrue(i),b.isBitTrue(i));
+			}
+		}
+	}
+
+	@Test
+	public void copy() {
+		TupleDesc_B64 a = new TupleDesc_B64(512);
+		for( int i = 0; i < a.data.length; i++ ) {
+			a.data[i] = 100+i;
+		}
+
+		TupleDesc_B64 b = a.copy();
+		assertEquals(a.numBits,b.numBits);
+		for( int i = 0; i < a.data.length; i++ ) {
+			assertEquals(100+i,b.data[i]);
+		}
+	}
+}
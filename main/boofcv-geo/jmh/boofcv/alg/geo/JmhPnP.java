@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.geo;
+
+import boofcv.abst.geo.Estimate1ofPnP;
+import boofcv.alg.geo.pose.PnPLepetitEPnP;
+import boofcv.factory.geo.EnumPNP;
+import boofcv.factory.geo.FactoryMultiView;
+import boofcv.struct.geo.Point2D3D;
+import georegression.struct.se.Se3_F64;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark for solving the Perspective-n-Point problem using noise free observations.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JmhPnP {
+
+	@Param({"50"})
+	public int numPoints;
+
+	ArtificialStereoScene scene = new ArtificialStereoScene();
+	Se3_F64 found = new Se3_F64();
+
+	PnPLepetitEPnP epnp0 = new PnPLepetitEPnP();
+	PnPLepetitEPnP epnp5 = new PnPLepetitEPnP();
+
+	Estimate1ofPnP grunert = FactoryMultiView.computePnP_1(EnumPNP.P3P_GRUNERT,-1,1);
+	Estimate1ofPnP finster = FactoryMultiView.computePnP_1(EnumPNP.P3P_FINSTERWALDER,-1,1);
+	Estimate1ofPnP epnp = FactoryMultiView.computePnP_1(EnumPNP.EPNP,5,0);
+
+	// minimal set of observations for P3P plus one to select the best solution
+	List<Point2D3D> obsP3P = new ArrayList<>();
+
+	@Setup
+	public void setup() {
+		scene.init(numPoints,false,false);
+
+		epnp0.setNumIterations(0);
+		epnp5.setNumIterations(5);
+
+		obsP3P.clear();
+		for( int i = 0; i < grunert.getMinimumPoints()+1; i++ ) {
+			obsP3P.add(scene.observationPose.get(i));
+		}
+	}
+
+	@Benchmark
+	public Se3_F64 epnp_iter0() {
+		epnp0.process(scene.worldPoints,scene.observationCurrent,found);
+		return found;
+	}
+
+	@Benchmark
+	public Se3_F64 epnp_iter5() {
+		epnp5.process(scene.worldPoints,scene.observationCurrent,found);
+		return found;
+	}
+
+	@Benchmark
+	public Se3_F64 epnp_interface() {
+		epnp.process(scene.observationPose,found);
+		return found;
+	}
+
+	@Benchmark
+	public Se3_F64 p3p_grunert() {
+		grunert.process(obsP3P,found);
+		return found;
+	}
+
+	@Benchmark
+	public Se3_F64 p3p_finsterwalder() {
+		finster.process(obsP3P,found);
+		return found;
+	}
+}
@@ -282,7 +282,7 @@ public class DetectDescribeAssociate<I extends ImageGray<I>, Desc extends TupleD
 
 	@Override
 	public void dropAllTracks() {
-		unused.addAll(tracksAll);
+		addAllToList(tracksAll,unused);
 		tracksActive.clear();
 		tracksInactive.clear();
 		tracksAll.clear();
@@ -312,7 +312,7 @@ public class DetectDescribeAssociate<I extends ImageGray<I>, Desc extends TupleD
 		if( list == null )
 			list = new ArrayList<>();
 
-		list.addAll(tracksActive);
+		addAllToList(tracksActive,list);
 		return list;
 	}
 
@@ -321,7 +321,7 @@ public class DetectDescribeAssociate<I extends ImageGray<I>, Desc extends TupleD
 		if( list == null )
 			list = new ArrayList<>();
 
-		list.addAll(tracksDropped);
+		addAllToList(tracksDropped,list);
 		return list;
 	}
 
@@ -330,7 +330,7 @@ public class DetectDescribeAssociate<I extends ImageGray<I>, Desc extends TupleD
 		if( list == null )
 			list = new ArrayList<>();
 
-		list.addAll(tracksNew);
+		addAllToList(tracksNew,list);
 		return list;
 	}
 
@@ -339,7 +339,7 @@ public class DetectDescribeAssociate<I extends ImageGray<I>, Desc extends TupleD
 		if( list == null )
 			list = new ArrayList<>();
 
-		list.addAll(tracksAll);
+		addAllToList(tracksAll,list);
 		return list;
 	}
 
@@ -348,7 +348,16 @@ public class DetectDescribeAssociate<I extends ImageGray<I>, Desc extends TupleD
 		if( list == null )
 			list = new ArrayList<>();
 
-		list.addAll(tracksInactive);
+		addAllToList(tracksInactive,list);
 		return list;
 	}
+
+	/**
+	 * Adds all the elements in 'src' to 'dst'.  Unlike {@link List#addAll} it does not create a temporary array
+	 */
+	protected static void addAllToList( List<PointTrack> src , List<PointTrack> dst ) {
+		for( int i = 0; i < src.size(); i++ ) {
+			dst.add(src.get(i));
+		}
+	}
 }
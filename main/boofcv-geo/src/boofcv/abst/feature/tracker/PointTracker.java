@@ -48,7 +48,9 @@ import java.util.List;
  * the user or automatically, the reference should be saved and the user provided cookie
  * left unmodified.  When a new track is added the track information should be updated and the
  * cookie left unmodified again.  The intended purpose of this requirement is to reduce the
- * burden of memory maintenance on the user and to encourage good memory management.
+ * burden of memory maintenance on the user and to encourage good memory management.  If the user provides
+ * the list that tracks are written into then, once in a steady state, processing an image should not
+ * create new objects.
  * </p>
  *
  * <p>
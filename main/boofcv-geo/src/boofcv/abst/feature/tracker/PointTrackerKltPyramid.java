@@ -69,6 +69,8 @@ public class PointTrackerKltPyramid<I extends ImageGray<I>,D extends ImageGray<D
 
 	// the tracker
 	protected PyramidKltTracker<I, D> tracker;
+	// results from tracking each active feature
+	protected ArrayList<KltTrackFault> faults = new ArrayList<>();
 
 	// selects point features
 	private GeneralFeatureDetector<I, D> detector;
@@ -99,14 +101,35 @@ public class PointTrackerKltPyramid<I extends ImageGray<I>,D extends ImageGray<D
 								  InterpolateRectangle<D> interpDeriv,
 								  Class<D> derivType ) {
 
+		this(config, templateRadius, pyramid, detector, gradient,
+				new PyramidKltTracker<>(new KltTracker<>(interpInput, interpDeriv, config)), derivType);
+	}
+
+	/**
+	 * Constructor which specified the KLT tracker and how the image pyramids are computed.
+	 *
+	 * @param config KLT tracker configuration
+	 * @param templateRadius Radius of square templates that are tracked
+	 * @param pyramid The image pyramid which KLT is tracking inside of
+	 * @param detector Feature detector.   If null then no feature detector will be available and spawn won't work.
+	 * @param gradient Computes gradient image pyramid.
+	 * @param tracker Pyramidal KLT tracker.  Use {@link PyramidKltTracker_MT} to track features concurrently.
+	 * @param derivType Type of image the gradient is
+	 */
+	public PointTrackerKltPyramid(KltConfig config,
+								  int templateRadius ,
+								  PyramidDiscrete<I> pyramid,
+								  GeneralFeatureDetector<I, D> detector,
+								  ImageGradient<I, D> gradient,
+								  PyramidKltTracker<I, D> tracker,
+								  Class<D> derivType ) {
+
 		this.config = config;
 		this.templateRadius = templateRadius;
 		this.gradient = gradient;
 		this.basePyramid = pyramid;
 		this.derivType = derivType;
-
-		KltTracker<I, D> klt = new KltTracker<>(interpInput, interpDeriv, config);
-		tracker = new PyramidKltTracker<>(klt);
+		this.tracker = tracker;
 
 		if( detector != null) {
 			if (detector.getRequiresHessian())
@@ -125,6 +148,9 @@ public class PointTrackerKltPyramid<I extends ImageGray<I>,D extends ImageGray<D
 		t.cookie = p;
 
 		unused.add(t);
+
+		// declare storage now so that tracking doesn't need to
+		faults.ensureCapacity(active.size() + unused.size());
 	}
 
 	/**
@@ -221,7 +247,9 @@ public class PointTrackerKltPyramid<I extends ImageGray<I>,D extends ImageGray<D
 
 	@Override
 	public void dropAllTracks() {
-		unused.addAll(active);
+		for (int i = 0; i < active.size(); i++) {
+			unused.add(active.get(i));
+		}
 		active.clear();
 		dropped.clear();
 	}
@@ -238,30 +266,28 @@ public class PointTrackerKltPyramid<I extends ImageGray<I>,D extends ImageGray<D
 		declareOutput();
 		PyramidOps.gradient(basePyramid, gradient, derivX,derivY);
 
-		// track features
+		// track features and update their description.  Tracks which drift outside the image are discarded
 		tracker.setImage(basePyramid,derivX,derivY);
-		for( int i = 0; i < active.size(); ) {
+		tracker.track(active, true, faults);
+
+		int N = active.size();
+		int index = 0;
+		for( int i = 0; i < N; i++ ) {
 			PyramidKltFeature t = active.get(i);
-			KltTrackFault ret = tracker.track(t);
-
-			boolean success = false;
-
-			if( ret == KltTrackFault.SUCCESS ) {
-				// discard a track if its center drifts outside the image.
-				if( image.isInBounds((int)t.x,(int)t.y) && tracker.setDescription(t) ) {
-					PointTrack p = t.getCookie();
-					p.set(t.x,t.y);
-					i++;
-					success = true;
-				}
-			}
 
-			if( !success ) {
-				active.remove(i);
+			if( faults.get(i) == KltTrackFault.SUCCESS ) {
+				PointTrack p = t.getCookie();
+				p.set(t.x,t.y);
+				active.set(index++, t);
+			} else {
 				dropped.add( t );
 				unused.add( t );
 			}
 		}
+		// remove the dropped tracks from the end of the active list
+		for( int i = N-1; i >= index; i-- ) {
+			active.remove(i);
+		}
 	}
 
 	protected void declareOutput() {
@@ -336,8 +362,9 @@ public class PointTrackerKltPyramid<I extends ImageGray<I>,D extends ImageGray<D
 	}
 
 	protected void addToList( List<PyramidKltFeature> in , List<PointTrack> out ) {
-		for( PyramidKltFeature t : in ) {
-			out.add( (PointTrack)t.cookie );
+		// don't use an iterator since it creates a new object each call
+		for( int i = 0; i < in.size(); i++ ) {
+			out.add( (PointTrack)in.get(i).cookie );
 		}
 	}
 
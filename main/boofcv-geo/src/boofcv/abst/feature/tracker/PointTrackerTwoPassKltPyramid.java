@@ -24,6 +24,7 @@ import boofcv.alg.interpolate.InterpolateRectangle;
 import boofcv.alg.tracker.klt.KltConfig;
 import boofcv.alg.tracker.klt.KltTrackFault;
 import boofcv.alg.tracker.klt.PyramidKltFeature;
+import boofcv.alg.tracker.klt.PyramidKltTracker;
 import boofcv.alg.transform.pyramid.PyramidOps;
 import boofcv.misc.BoofMiscOps;
 import boofcv.struct.image.ImageGray;
@@ -61,6 +62,17 @@ public class PointTrackerTwoPassKltPyramid<I extends ImageGray<I>,D extends Imag
 				gradient.getDerivativeType().getImageClass());
 	}
 
+	public PointTrackerTwoPassKltPyramid(KltConfig config,
+										 int templateRadius ,
+										 PyramidDiscrete<I> pyramid,
+										 GeneralFeatureDetector<I, D> detector,
+										 ImageGradient<I, D> gradient,
+										 PyramidKltTracker<I, D> tracker)
+	{
+		super(config, templateRadius, pyramid , detector, gradient, tracker,
+				gradient.getDerivativeType().getImageClass());
+	}
+
 	@Override
 	public void process(I image) {
 		this.input = image;
@@ -83,9 +95,10 @@ public class PointTrackerTwoPassKltPyramid<I extends ImageGray<I>,D extends Imag
 		active.clear();
 
 		tracker.setImage(basePyramid,derivX,derivY);
+		tracker.track(originalActive, false, faults);
 		for( int i = 0; i < originalActive.size(); i++ ) {
 			PyramidKltFeature t = originalActive.get(i);
-			KltTrackFault ret = tracker.track(t);
+			KltTrackFault ret = faults.get(i);
 
 			boolean success = false;
 
@@ -110,9 +123,10 @@ public class PointTrackerTwoPassKltPyramid<I extends ImageGray<I>,D extends Imag
 		candidateDrop.clear();
 		active.clear();
 
+		tracker.track(originalActive, false, faults);
 		for( int i = 0; i < originalActive.size(); i++ ) {
 			PyramidKltFeature t = originalActive.get(i);
-			KltTrackFault ret = tracker.track(t);
+			KltTrackFault ret = faults.get(i);
 
 			boolean success = false;
 
@@ -18,13 +18,18 @@
 
 package boofcv.abst.feature.tracker;
 
+import boofcv.alg.filter.blur.BlurImageOps;
 import boofcv.alg.misc.GImageMiscOps;
 import boofcv.alg.misc.ImageMiscOps;
 import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.ImageGray;
+import boofcv.testing.ForceConcurrency;
+import org.junit.Assume;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
@@ -46,6 +51,8 @@ public abstract class StandardPointTracker<T extends ImageGray<T>> {
 	GrayF32 image = new GrayF32(width,height);
 	boolean shouldDropTracks;
 	boolean shouldCreateInactive;
+	// if true then once in a steady state no memory should be allocated when processing an image
+	boolean shouldBeAllocationFree = false;
 
 	protected StandardPointTracker(boolean shouldCreateInactive, boolean shouldDropTracks) {
 		this.shouldCreateInactive = shouldCreateInactive;
@@ -422,6 +429,109 @@ public abstract class StandardPointTracker<T extends ImageGray<T>> {
 		checkIdentical(input, ret);
 	}
 
+	/**
+	 * After a warm up period process(), spawnTracks(), and the track request functions should not allocate
+	 * any memory when the motion is periodic.  Tracks and descriptions are recycled and output lists are
+	 * provided.  Measured using the number of bytes allocated by this thread.  The tracker is created with
+	 * the default concurrency settings.
+	 *
+	 * Concurrency forced on for an image this small isn't checked.  Image operations which are split up with
+	 * BoofConcurrency.loopBlocks() create new fork-join tasks every call.  Concurrent KLT tracking reuses its
+	 * tasks and is checked by TestPyramidKltTracker_MT.
+	 */
+	@Test
+	public void steadyState_noAllocation() {
+		Assume.assumeTrue(shouldBeAllocationFree);
+		checkSteadyStateNoAllocation();
+	}
+
+	/**
+	 * Same as {@link #steadyState_noAllocation()} but with concurrency turned off
+	 */
+	@Test
+	public void steadyState_noAllocation_singleThread() {
+		Assume.assumeTrue(shouldBeAllocationFree);
+
+		ForceConcurrency force = new ForceConcurrency();
+		force.setUseConcurrent(false);
+		try {
+			checkSteadyStateNoAllocation();
+		} finally {
+			force.restore();
+		}
+	}
+
+	/**
+	 * Processes a periodic sequence and requires that a window of frames is processed without allocating a
+	 * single byte.  While the JIT is still compiling and deoptimizing methods the JVM can allocate in this
+	 * thread, e.g. when an object removed by escape analysis is put back on the heap.  That can't happen when
+	 * interpreted (-Xint), where these trackers allocate nothing after the first few frames.  So the window is
+	 * measured again a few times until the JIT settles.  Something allocated by the tracker every frame will
+	 * still fail every window.
+	 */
+	private void checkSteadyStateNoAllocation() {
+		ThreadMXBean mxBean = ManagementFactory.getThreadMXBean();
+		Assume.assumeTrue(mxBean instanceof com.sun.management.ThreadMXBean);
+		com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean)mxBean;
+		Assume.assumeTrue(bean.isThreadAllocatedMemorySupported());
+		bean.setThreadAllocatedMemoryEnabled(true);
+		long threadID = Thread.currentThread().getId();
+
+		// smooth texture so that tracks aren't immediately lost
+		GrayF32 texture = new GrayF32(width+10,height+10);
+		ImageMiscOps.fillUniform(texture, rand, 0, 100);
+		texture = BlurImageOps.gaussian(texture,null,-1,2,null);
+
+		tracker = createTracker();
+		List<PointTrack> active = new ArrayList<>();
+		List<PointTrack> inactive = new ArrayList<>();
+		List<PointTrack> spawned = new ArrayList<>();
+
+		// the overhead of reading the allocated bytes
+		long overhead = -bean.getThreadAllocatedBytes(threadID);
+		overhead += bean.getThreadAllocatedBytes(threadID);
+
+		int warmUp = 80;
+		int window = 100;
+		int maxWindows = 10;
+
+		int frame = 0;
+		long total = 0;
+		for( int trial = -1; trial < maxWindows; trial++ ) {
+			// the first pass is the warm up period and isn't checked
+			int length = trial < 0 ? warmUp : window;
+			total = 0;
+			for( int i = 0; i < length; i++, frame++ ) {
+				int offset = frame % 4;
+				ImageMiscOps.copy(offset,offset,0,0,width,height,texture,image);
+
+				long before = bean.getThreadAllocatedBytes(threadID);
+
+				processImage((T)image);
+				active.clear();
+				inactive.clear();
+				tracker.getActiveTracks(active);
+				tracker.getInactiveTracks(inactive);
+				for (int j = 0; j < inactive.size(); j++) {
+					tracker.dropTrack(inactive.get(j));
+				}
+				if( frame % 4 == 0 ) {
+					tracker.spawnTracks();
+					spawned.clear();
+					tracker.getNewTracks(spawned);
+				}
+
+				long after = bean.getThreadAllocatedBytes(threadID);
+				total += after - before - overhead;
+			}
+			if( trial >= 0 && total == 0 )
+				break;
+		}
+
+		assertTrue(tracker.getAllTracks(null).size() > 0);
+		assertEquals("bytes allocated in the last window of "+window+" frames",0,total);
+	}
+
 	private void checkIdentical( List<PointTrack> a , List<PointTrack> b ){
 		assertEquals(a.size(),b.size());
 
@@ -46,6 +46,7 @@ public class TestDdaManagerDetectDescribePoint extends StandardPointTracker<Gray
 
 	public TestDdaManagerDetectDescribePoint() {
 		super(true, false);
+		shouldBeAllocationFree = true;
 	}
 
 	@Override
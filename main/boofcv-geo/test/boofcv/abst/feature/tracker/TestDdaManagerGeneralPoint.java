@@ -45,6 +45,7 @@ public class TestDdaManagerGeneralPoint extends StandardPointTracker<GrayF32> {
 
 	public TestDdaManagerGeneralPoint() {
 		super(true, false);
+		shouldBeAllocationFree = true;
 	}
 
 	@Override
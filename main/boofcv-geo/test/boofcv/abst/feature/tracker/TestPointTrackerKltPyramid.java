@@ -19,12 +19,20 @@
 package boofcv.abst.feature.tracker;
 
 import boofcv.abst.feature.detect.interest.ConfigGeneralDetector;
+import boofcv.alg.filter.blur.BlurImageOps;
 import boofcv.alg.misc.GImageMiscOps;
+import boofcv.alg.misc.PixelMath;
 import boofcv.alg.tracker.klt.*;
 import boofcv.factory.feature.tracker.FactoryPointTracker;
 import boofcv.struct.image.GrayF32;
+import boofcv.testing.ForceConcurrency;
+import georegression.struct.point.Point2D_F64;
 import org.junit.Test;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
@@ -38,6 +46,7 @@ public class TestPointTrackerKltPyramid extends StandardPointTracker<GrayF32> {
 
 	public TestPointTrackerKltPyramid() {
 		super(false, true);
+		shouldBeAllocationFree = true;
 	}
 
 	@Override
@@ -157,6 +166,93 @@ public class TestPointTrackerKltPyramid extends StandardPointTracker<GrayF32> {
 
 	}
 
+	/**
+	 * Tracking features concurrently should produce the same tracks as a single thread
+	 */
+	@Test
+	public void concurrent_sameResults() {
+		ForceConcurrency force = new ForceConcurrency();
+		force.apply();
+
+		try {
+			PkltConfig configA = new PkltConfig();
+			configA.concurrent = false;
+			PkltConfig configB = new PkltConfig();
+			configB.concurrent = true;
+
+			PointTracker<GrayF32> trackerA = FactoryPointTracker.klt(configA,
+					new ConfigGeneralDetector(200, 3, 1000, 0, true), GrayF32.class, GrayF32.class);
+			PointTracker<GrayF32> trackerB = FactoryPointTracker.klt(configB,
+					new ConfigGeneralDetector(200, 3, 1000, 0, true), GrayF32.class, GrayF32.class);
+
+			GrayF32 texture = new GrayF32(width+10,height+10);
+			GImageMiscOps.fillUniform(texture, rand, 0, 100);
+			texture = BlurImageOps.gaussian(texture,null,-1,2,null);
+
+			for (int frame = 0; frame < 6; frame++) {
+				GImageMiscOps.copy(frame,frame/2,0,0,width,height,texture,image);
+				trackerA.process(image);
+				trackerB.process(image);
+				if( frame == 0 ) {
+					trackerA.spawnTracks();
+					trackerB.spawnTracks();
+				}
+
+				List<PointTrack> tracksA = trackerA.getActiveTracks(null);
+				List<PointTrack> tracksB = trackerB.getActiveTracks(null);
+				assertTrue(tracksA.size() > 0);
+				assertEquals(tracksA.size(), tracksB.size());
+				assertEquals(trackerA.getDroppedTracks(null).size(), trackerB.getDroppedTracks(null).size());
+				for (int i = 0; i < tracksA.size(); i++) {
+					assertEquals(tracksA.get(i).featureId, tracksB.get(i).featureId);
+					assertEquals(0, tracksA.get(i).distance(tracksB.get(i)), 0.0);
+				}
+			}
+		} finally {
+			force.restore();
+		}
+	}
+
+	/**
+	 * With the illumination model turned on tracks should survive a large change in lighting
+	 */
+	@Test
+	public void gainBias_illuminationChange() {
+		PkltConfig config = new PkltConfig();
+		config.config.gainBias = true;
+
+		PointTracker<GrayF32> tracker = FactoryPointTracker.klt(config,
+				new ConfigGeneralDetector(200, 3, 1000, 0, true), GrayF32.class, GrayF32.class);
+
+		GrayF32 texture = new GrayF32(width+10,height+10);
+		GImageMiscOps.fillUniform(texture, rand, 0, 100);
+		texture = BlurImageOps.gaussian(texture,null,-1,2,null);
+
+		GImageMiscOps.copy(0,0,0,0,width,height,texture,image);
+		tracker.process(image);
+		tracker.spawnTracks();
+		Map<Long,Point2D_F64> original = new HashMap<>();
+		for( PointTrack t : tracker.getActiveTracks(null) ) {
+			original.put(t.featureId, t.copy());
+		}
+		int total = original.size();
+		assertTrue(total > 0);
+
+		// shift the image and make it much brighter
+		GImageMiscOps.copy(1,0,0,0,width,height,texture,image);
+		PixelMath.multiply(image, 1.5f, image);
+		PixelMath.plus(image, 20, image);
+		tracker.process(image);
+
+		List<PointTrack> tracks = tracker.getActiveTracks(null);
+		assertTrue(tracks.size() >= total*0.9);
+		for( PointTrack t : tracks ) {
+			Point2D_F64 p = original.get(t.featureId);
+			assertEquals(p.x-1, t.x, 0.05);
+			assertEquals(p.y, t.y, 0.05);
+		}
+	}
+
 	/**
 	 * Don't change the track state
 	 */
@@ -18,10 +18,13 @@
 
 package boofcv.alg.filter.blur;
 
+import boofcv.alg.filter.blur.impl.ImplMedianHistogramConstant;
 import boofcv.alg.filter.blur.impl.ImplMedianHistogramInner;
 import boofcv.alg.filter.blur.impl.ImplMedianHistogramInnerNaive;
 import boofcv.alg.filter.blur.impl.ImplMedianSortNaive;
 import boofcv.alg.misc.ImageMiscOps;
+import boofcv.misc.PerformerBase;
+import boofcv.misc.ProfileOperation;
 import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.GrayS16;
 import boofcv.struct.image.GrayS32;
@@ -46,6 +49,9 @@ public class BenchmarkMedianFilter  {
 	static GrayS16 out_I16 = new GrayS16(imgWidth,imgHeight);
 	static GrayS32 out_I32 = new GrayS32(imgWidth,imgHeight);
 
+	static ImplMedianHistogramConstant constant_I8 = new ImplMedianHistogramConstant();
+	static ImplMedianHistogramConstant constant_F32 = new ImplMedianHistogramConstant(10);
+
 	// iterate through different sized kernel radius
 	private int radius;
 
@@ -79,6 +85,18 @@ public class BenchmarkMedianFilter  {
 		return 0;
 	}
 
+	public int timeHistogramConstant_I8(int reps) {
+		for( int i = 0; i < reps; i++ )
+			constant_I8.process(imgInt8,out_I8,radius);
+		return 0;
+	}
+
+	public int timeHistogramConstant_F32(int reps) {
+		for( int i = 0; i < reps; i++ )
+			constant_F32.process(imgFloat32,out_F32,radius,0,200);
+		return 0;
+	}
+
 	public int timeSortNaive_I8(int reps) {
 		for( int i = 0; i < reps; i++ )
 			ImplMedianSortNaive.process(imgInt8,out_I8,radius,null);
@@ -91,10 +109,59 @@ public class BenchmarkMedianFilter  {
 		return 0;
 	}
 
+	/**
+	 * Runs the specified function with the radius set
+	 */
+	public static class Timed extends PerformerBase {
+		BenchmarkMedianFilter benchmark = new BenchmarkMedianFilter();
+		String name;
+
+		public Timed(String name, int radius) {
+			this.name = name;
+			benchmark.radius = radius;
+		}
+
+		@Override
+		public void process() {
+			switch( name ) {
+				case "Inner_I8": benchmark.timeHistogram_I8(1); break;
+				case "Constant_I8": benchmark.timeHistogramConstant_I8(1); break;
+				case "SortNaive_F32": benchmark.timeSortNaive_F32(1); break;
+				case "Constant_F32": benchmark.timeHistogramConstant_F32(1); break;
+				default: throw new RuntimeException("Unknown "+name);
+			}
+		}
+	}
+
+	/**
+	 * Prints milliseconds per image for each algorithm as the radius increases.  The constant time
+	 * algorithm should be flat while the others grow with the radius, showing where they cross over.
+	 */
 	public static void main( String args[] ) {
 		System.out.println("=========  Profile Image Size "+imgWidth+" x "+imgHeight+" ==========");
 		System.out.println();
 
+		String names[] = new String[]{"Inner_I8","Constant_I8","SortNaive_F32","Constant_F32"};
+
+		System.out.printf("%6s","radius");
+		for( String name : names )
+			System.out.printf(" %14s",name);
+		System.out.println();
+
+		for( int radius = 1; radius <= 20; radius++ ) {
+			System.out.printf("%6d",radius);
+			for( String name : names ) {
+				// the naive sort is too slow to be worth waiting for at large radii
+				if( name.equals("SortNaive_F32") && radius > 8 ) {
+					System.out.printf(" %14s","-");
+					continue;
+				}
+				double opsPerSec = ProfileOperation.profileOpsPerSec(new Timed(name,radius),TEST_TIME,true);
+				System.out.printf(" %14.2f",1000.0/opsPerSec);
+			}
+			System.out.println();
+		}
+
 //		Runner.main(BenchmarkMedianFilter.class, args);
 	}
 }
@@ -21,8 +21,12 @@ package boofcv.alg.filter.convolve;
 import boofcv.misc.AutoTypeImage;
 import boofcv.misc.CodeGeneratorBase;
 
+import java.util.Arrays;
+import java.util.List;
+
 /**
- * NOTE: There is a tinny bit of manual work required.  need to comment out a few lines to unroll
+ * Generates {@link ConvolveImageNoBorder}.  Selects between the concurrent and single threaded implementations
+ * using {@link boofcv.concurrency.BoofConcurrency#useConcurrent(boofcv.struct.image.ImageBase)}.
  *
  * @author Peter Abeles
  */
@@ -33,6 +37,10 @@ public class GenerateConvolveImageNoBorder extends CodeGeneratorBase {
 
 	int totalFunctions = 0;
 
+	// list of image types which have unrolled implementations. See GenerateConvolvedUnrolled_SB
+	List<String> unrolled = Arrays.asList("F32_F32","F64_F64","U8_I8_Div","U8_I16",
+			"S16_I16","S16_I16_Div","S32_S32","S32_S32_Div");
+
 	@Override
 	public void generate() {
 		printPreamble();
@@ -57,6 +65,7 @@ public class GenerateConvolveImageNoBorder extends CodeGeneratorBase {
 		out.print(
 				"import boofcv.alg.InputSanityCheck;\n" +
 				"import boofcv.alg.filter.convolve.noborder.*;\n" +
+				"import boofcv.concurrency.BoofConcurrency;\n" +
 				"import boofcv.struct.convolve.*;\n" +
 				"import boofcv.struct.image.*;\n");
 		out.println();
@@ -76,6 +85,11 @@ public class GenerateConvolveImageNoBorder extends CodeGeneratorBase {
 				" * the whole kernel can be convolved image borders are skipped.  In special cases where there is a clear way to\n" +
 				" * handle image edges specialized functions are provided.\n" +
 				" * </p>\n" +
+				" * <p>\n" +
+				" * If {@link BoofConcurrency#useConcurrent} is true then concurrent implementations are used.  The image\n" +
+				" * is split into bands of rows which are processed in parallel.  Results are identical to the single\n" +
+				" * threaded implementations.\n" +
+				" * </p>\n" +
 				" * <p>Automatically generated by "+getClass().getSimpleName()+" DO NOT MODIFY</p>\n" +
 				" *\n" +
 				" * @author Peter Abeles\n" +
@@ -139,15 +153,34 @@ public class GenerateConvolveImageNoBorder extends CodeGeneratorBase {
 				"\t\t\t\t\t\t\t\t  "+inputName+" input, "+outputName+" output"+divideArg+") {\n" +
 				"\t\tInputSanityCheck.checkSameShape(input, output);\n" +
 				"\n");
+		String args = "(kernel, input, output"+divideInput+");\n";
+		String unrolledName = typeIn+"_"+typeOut+divideSuf;
+
+		out.print("\t\tif( BoofConcurrency.useConcurrent(input) ) {\n");
+		if( singleBand ) {
+			printSingleBand("\t\t\t", name, "_MT", unrolledName, args);
+		} else {
+			out.print("\t\t\tConvolveImageStandard_IL_MT."+name+args);
+		}
+		out.print("\t\t} else {\n");
 		if( singleBand ) {
-			out.print("\t\tif (!ConvolveImageUnrolled_"+typeIn+"_"+typeOut+divideSuf+"."+name+"(kernel, input, output"+divideInput+"))\n" +
-					"\t\t\tConvolveImageStandard_SB."+name+"(kernel, input, output"+divideInput+");\n");
+			printSingleBand("\t\t\t", name, "", unrolledName, args);
 		} else {
-			out.print("\t\tConvolveImageStandard_IL."+name+"(kernel, input, output"+divideInput+");\n");
+			out.print("\t\t\tConvolveImageStandard_IL."+name+args);
 		}
+		out.print("\t\t}\n");
 		out.print("\t}\n\n");
 	}
 
+	private void printSingleBand( String indent , String name , String suffix , String unrolledName , String args ) {
+		if( unrolled.contains(unrolledName)) {
+			out.print(indent+"if (!ConvolveImageUnrolled_SB"+suffix+"_"+unrolledName+"."+name+args.replace(";\n",")\n"));
+			out.print(indent+"\tConvolveImageStandard_SB"+suffix+"."+name+args);
+		} else {
+			out.print(indent+"ConvolveImageStandard_SB"+suffix+"."+name+args);
+		}
+	}
+
 	public static void main(String[] args) {
 		GenerateConvolveImageNoBorder gen = new GenerateConvolveImageNoBorder();
 		gen.generate();
@@ -24,7 +24,7 @@ import boofcv.misc.CodeGeneratorBase;
 import java.io.FileNotFoundException;
 
 /**
- * Code generator for {@link ConvolveImageStandard_SB}.
+ * Code generator for {@link ConvolveImageStandard_IL} and {@link ConvolveImageStandard_IL_MT}.
  *
  * @author Peter Abeles
  */
@@ -40,8 +40,14 @@ public class GenerateConvolveImageStandard_IL extends CodeGeneratorBase {
 	String bitWise;
 	boolean hasDivide;
 
+	public GenerateConvolveImageStandard_IL( boolean concurrent ) {
+		super(false);
+		this.concurrent = concurrent;
+	}
+
 	@Override
-	public void generate() {
+	public void generate() throws FileNotFoundException {
+		setOutputFile(concurrent ? "ConvolveImageStandard_IL_MT" : "ConvolveImageStandard_IL");
 		printPreamble();
 		printAllOps(AutoTypeImage.F32, AutoTypeImage.F32, false);
 //		printAllOps(AutoTypeImage.F32, AutoTypeImage.F32, false, true);
@@ -61,6 +67,9 @@ public class GenerateConvolveImageStandard_IL extends CodeGeneratorBase {
 	}
 
 	private void printPreamble() {
+		if( concurrent )
+			out.print("import boofcv.concurrency.BoofConcurrency;\n" +
+					"import boofcv.concurrency.IntRangeConsumer;\n");
 		out.print("import boofcv.struct.convolve.*;\n" +
 				"import boofcv.struct.image.*;\n");
 		out.println();
@@ -70,6 +79,11 @@ public class GenerateConvolveImageStandard_IL extends CodeGeneratorBase {
 				" * Standard algorithms with no fancy optimization for convolving 1D and 2D kernels across an image.\n" +
 				" * </p>\n" +
 				" * \n" +
+				(concurrent ? " * <p>\n" +
+				" * Concurrent version of {@link ConvolveImageStandard_IL}.  The image is split into bands of rows which are\n" +
+				" * processed in parallel.  Output is identical to the single threaded version.\n" +
+				" * </p>\n" +
+				" * \n" : "") +
 				" * <p>\n" +
 				" * NOTE: This code was automatically generated using "+getClass().getSimpleName()+".\n" +
 				" * </p>\n" +
@@ -93,6 +107,9 @@ public class GenerateConvolveImageStandard_IL extends CodeGeneratorBase {
 		kernelData = input.getKernelDataType();
 		inputType = input.getInterleavedName();
 		outputType = output.getInterleavedName();
+		// the I8 and I16 images are generic, avoid raw types in the concurrent code
+		if( concurrent && (output == AutoTypeImage.I8 || output == AutoTypeImage.I16) )
+			outputType += "<?>";
 		inputData = input.getDataType();
 		outputData = output.getDataType();
 		sumType = input.getSumType();
@@ -109,11 +126,13 @@ public class GenerateConvolveImageStandard_IL extends CodeGeneratorBase {
 	}
 
 	private void printHorizontal() {
-		String paramDiv = hasDivide ? " , int divisor" : "";
+		String paramDiv = hasDivide ? " , "+finalConcurrent()+"int divisor" : "";
 		String totalDiv = hasDivide ? "((total+halfDivisor)/divisor)" : "total";
 
-		out.print("\tpublic static void horizontal( Kernel1D_"+kernelType+" kernel ,\n" +
-				"\t\t\t\t\t\t\t\t   "+inputType+" src, "+outputType+" dst"+paramDiv+" ) {\n" +
+		String f = finalConcurrent();
+
+		out.print("\tpublic static void horizontal( "+f+"Kernel1D_"+kernelType+" kernel ,\n" +
+				"\t\t\t\t\t\t\t\t   "+f+inputType+" src, "+f+outputType+" dst"+paramDiv+" ) {\n" +
 				"\t\tfinal "+inputData+"[] dataSrc = src.data;\n" +
 				"\t\tfinal "+outputData+"[] dataDst = dst.data;\n" +
 				"\t\tfinal "+kernelData+"[] dataKer = kernel.data;\n" +
@@ -125,9 +144,9 @@ public class GenerateConvolveImageStandard_IL extends CodeGeneratorBase {
 			out.print("\t\tfinal int halfDivisor = divisor/2;\n");
 		out.print("\n" +
 				"\t\tfinal int endJ = src.width - (kernelWidth - 1);\n" +
-				"\n" +
-				"\t\tfor( int i = 0; i < src.height; i++ ) {\n" +
-				"\t\t\tint indexDst = dst.startIndex + i*dst.stride+offset*numBands;\n" +
+				"\n");
+		openRowLoop("\t\t","i","0","src.height");
+		out.print("\t\t\tint indexDst = dst.startIndex + i*dst.stride+offset*numBands;\n" +
 				"\n" +
 				"\t\t\tfor (int j = 0; j < endJ; j++) {\n" +
 				"\t\t\t\tint indexSrcStart = src.startIndex + i*src.stride + j*numBands;\n" +
@@ -140,16 +159,19 @@ public class GenerateConvolveImageStandard_IL extends CodeGeneratorBase {
 				"\t\t\t\t\tdataDst[indexDst++] = "+typeCast+totalDiv+";\n" +
 				"\t\t\t\t}\n" +
 				"\t\t\t}\n" +
-				"\t\t}\n" +
-				"\t}\n\n");
+				"\t\t}\n");
+		closeRowLoop();
+		out.print("\t}\n\n");
 	}
 
 	private void printVertical() {
-		String paramDiv = hasDivide ? " , int divisor" : "";
+		String paramDiv = hasDivide ? " , "+finalConcurrent()+"int divisor" : "";
 		String totalDiv = hasDivide ? "((total+halfDivisor)/divisor)" : "total";
 
-		out.print("\tpublic static void vertical( Kernel1D_"+kernelType+" kernel,\n" +
-				"\t\t\t\t\t\t\t\t "+inputType+" src, "+outputType+" dst"+paramDiv+" )\n" +
+		String f = finalConcurrent();
+
+		out.print("\tpublic static void vertical( "+f+"Kernel1D_"+kernelType+" kernel,\n" +
+				"\t\t\t\t\t\t\t\t "+f+inputType+" src, "+f+outputType+" dst"+paramDiv+" )\n" +
 				"\t{\n" +
 				"\t\tfinal "+inputData+"[] dataSrc = src.data;\n" +
 				"\t\tfinal "+outputData+"[] dataDst = dst.data;\n" +
@@ -165,9 +187,9 @@ public class GenerateConvolveImageStandard_IL extends CodeGeneratorBase {
 				"\t\tfinal int imgHeight = dst.getHeight();\n" +
 				"\n" +
 				"\t\tfinal int yEnd = imgHeight-(kernelWidth-offset-1);\n" +
-				"\n" +
-				"\t\tfor( int y = offset; y < yEnd; y++ ) {\n" +
-				"\t\t\tint indexDst = dst.startIndex+y*dst.stride;\n" +
+				"\n");
+		openRowLoop("\t\t","y","offset","yEnd");
+		out.print("\t\t\tint indexDst = dst.startIndex+y*dst.stride;\n" +
 				"\t\t\tint indexSrcStart = src.startIndex+(y-offset)*src.stride;\n" +
 				"\n" +
 				"\t\t\tfor (int x = 0; x < imgWidth; x++) {\n" +
@@ -183,17 +205,20 @@ public class GenerateConvolveImageStandard_IL extends CodeGeneratorBase {
 				"\t\t\t\t}\n" +
 				"\t\t\t\tindexSrcStart += numBands;\n" +
 				"\t\t\t}\n" +
-				"\t\t}\n" +
-				"\t}\n\n");
+				"\t\t}\n");
+		closeRowLoop();
+		out.print("\t}\n\n");
 	}
 
 	private void printConvolve2D() {
 
-		String paramDiv = hasDivide ? ", int divisor " : "";
+		String paramDiv = hasDivide ? ", "+finalConcurrent()+"int divisor " : "";
 		String totalDiv = hasDivide ? "((total+halfDivisor)/divisor)" : "total";
 		String performBound = "";
 
-		out.print("\tpublic static void convolve( Kernel2D_"+kernelType+" kernel , "+inputType+" src , "+outputType+" dst "+paramDiv+")\n" +
+		String f = finalConcurrent();
+
+		out.print("\tpublic static void convolve( "+f+"Kernel2D_"+kernelType+" kernel , "+f+inputType+" src , "+f+outputType+" dst "+paramDiv+")\n" +
 				"\t{\n" +
 				"\t\tfinal "+kernelData+"[] dataKernel = kernel.data;\n" +
 				"\t\tfinal "+inputData+"[] dataSrc = src.data;\n" +
@@ -205,11 +230,11 @@ public class GenerateConvolveImageStandard_IL extends CodeGeneratorBase {
 		if( hasDivide )
 			out.print("\t\tfinal int halfDivisor = divisor/2;\n");
 		out.print("\n" +
-				"\t\tint offsetL = kernel.offset;\n" +
-				"\t\tint offsetR = kernel.width-kernel.offset-1;\n" +
-				"\n" +
-				"\t\tfor( int y = offsetL; y < height-offsetR; y++ ) {\n" +
-				"\t\t\tint indexDst = dst.startIndex + y*dst.stride+offsetL*numBands;\n" +
+				"\t\t"+f+"int offsetL = kernel.offset;\n" +
+				"\t\t"+f+"int offsetR = kernel.width-kernel.offset-1;\n" +
+				"\n");
+		openRowLoop("\t\t","y","offsetL","height-offsetR");
+		out.print("\t\t\tint indexDst = dst.startIndex + y*dst.stride+offsetL*numBands;\n" +
 				"\t\t\tfor( int x = offsetL; x < width-offsetR; x++ ) {\n" +
 				"\t\t\t\tint indexSrcStart = src.startIndex + (y-offsetL)*src.stride + (x-offsetL)*numBands;\n" +
 				"\n" +
@@ -227,12 +252,15 @@ public class GenerateConvolveImageStandard_IL extends CodeGeneratorBase {
 				"\t\t\t\t\tdataDst[indexDst++] = "+ typeCast + totalDiv +";\n" +
 				"\t\t\t\t}\n" +
 				"\t\t\t}\n" +
-				"\t\t}\n" +
-				"\t}\n\n");
+				"\t\t}\n");
+		closeRowLoop();
+		out.print("\t}\n\n");
 	}
 
 	public static void main(String args[]) throws FileNotFoundException {
-		GenerateConvolveImageStandard_IL gen = new GenerateConvolveImageStandard_IL();
+		GenerateConvolveImageStandard_IL gen = new GenerateConvolveImageStandard_IL(false);
+		gen.generate();
+		gen = new GenerateConvolveImageStandard_IL(true);
 		gen.generate();
 	}
 }
@@ -24,7 +24,7 @@ import boofcv.misc.CodeGeneratorBase;
 import java.io.FileNotFoundException;
 
 /**
- * Code generator for {@link ConvolveImageStandard_SB}.
+ * Code generator for {@link ConvolveImageStandard_SB} and {@link ConvolveImageStandard_SB_MT}.
  *
  * @author Peter Abeles
  */
@@ -41,8 +41,14 @@ public class GenerateConvolveImageStandard_SB extends CodeGeneratorBase {
 	String bitWise;
 	boolean hasDivide;
 
+	public GenerateConvolveImageStandard_SB( boolean concurrent ) {
+		super(false);
+		this.concurrent = concurrent;
+	}
+
 	@Override
 	public void generate()throws FileNotFoundException {
+		setOutputFile(concurrent ? "ConvolveImageStandard_SB_MT" : "ConvolveImageStandard_SB");
 		printPreamble();
 		printAllOps(AutoTypeImage.F32, AutoTypeImage.F32, false);
 //		printAllOps(AutoTypeImage.F32, AutoTypeImage.F32, false, true);
@@ -62,6 +68,9 @@ public class GenerateConvolveImageStandard_SB extends CodeGeneratorBase {
 	}
 
 	private void printPreamble() {
+		if( concurrent )
+			out.print("import boofcv.concurrency.BoofConcurrency;\n" +
+					"import boofcv.concurrency.IntRangeConsumer;\n");
 		out.print("import boofcv.struct.convolve.*;\n" +
 				"import boofcv.struct.image.*;\n");
 		out.println();
@@ -71,6 +80,11 @@ public class GenerateConvolveImageStandard_SB extends CodeGeneratorBase {
 				" * Standard algorithms with no fancy optimization for convolving 1D and 2D kernels across an image.\n" +
 				" * </p>\n" +
 				" * \n" +
+				(concurrent ? " * <p>\n" +
+				" * Concurrent version of {@link ConvolveImageStandard_SB}.  The image is split into bands of rows which are\n" +
+				" * processed in parallel.  Output is identical to the single threaded version.\n" +
+				" * </p>\n" +
+				" * \n" : "") +
 				" * <p>\n" +
 				" * NOTE: This code was automatically generated using "+getClass().getSimpleName()+".\n" +
 				" * </p>\n" +
@@ -91,8 +105,11 @@ public class GenerateConvolveImageStandard_SB extends CodeGeneratorBase {
 	{
 		typeCast = output.getTypeCastFromSum();
 		kernelType = input.getKernelType();
-		inputType = input.getInterleavedName();
-		outputType = output.getInterleavedName();
+		inputType = input.getSingleBandName();
+		outputType = output.getSingleBandName();
+		// the I8 and I16 images are generic, avoid raw types in the concurrent code
+		if( concurrent && (output == AutoTypeImage.I8 || output == AutoTypeImage.I16) )
+			outputType += "<?>";
 		kernelData = input.getKernelDataType();
 		inputData = input.getDataType();
 		outputData = output.getDataType();
@@ -110,11 +127,13 @@ public class GenerateConvolveImageStandard_SB extends CodeGeneratorBase {
 	}
 
 	private void printHorizontal() {
-		String paramDiv = hasDivide ? " , int divisor" : "";
+		String paramDiv = hasDivide ? " , "+finalConcurrent()+"int divisor" : "";
 		String totalDiv = hasDivide ? "((total+halfDivisor)/divisor)" : "total";
 
-		out.print("\tpublic static void horizontal( Kernel1D_" + kernelType + " kernel ,\n");
-		out.print("\t\t\t\t\t\t\t\t  " + inputType + " image, " + outputType + " dest" + paramDiv + " ) {\n" +
+		String f = finalConcurrent();
+
+		out.print("\tpublic static void horizontal( "+f+"Kernel1D_" + kernelType + " kernel ,\n");
+		out.print("\t\t\t\t\t\t\t\t  "+f + inputType + " image, "+f + outputType + " dest" + paramDiv + " ) {\n" +
 				"\t\tfinal " + inputData + "[] dataSrc = image.data;\n" +
 				"\t\tfinal " + outputData + "[] dataDst = dest.data;\n" +
 				"\t\tfinal " + kernelData + "[] dataKer = kernel.data;\n" +
@@ -125,9 +144,9 @@ public class GenerateConvolveImageStandard_SB extends CodeGeneratorBase {
 			out.print("\t\tfinal int halfDivisor = divisor/2;\n");
 		out.print("\n" +
 				"\t\tfinal int width = image.getWidth();\n" +
-				"\n" +
-				"\t\tfor( int i = 0; i < image.height; i++ ) {\n" +
-				"\t\t\tint indexDst = dest.startIndex + i*dest.stride+offset;\n" +
+				"\n");
+		openRowLoop("\t\t","i","0","image.height");
+		out.print("\t\t\tint indexDst = dest.startIndex + i*dest.stride+offset;\n" +
 				"\t\t\tint j = image.startIndex + i*image.stride;\n" +
 				"\t\t\tfinal int jEnd = j+width-(kernelWidth-1);\n" +
 				"\n" +
@@ -139,16 +158,19 @@ public class GenerateConvolveImageStandard_SB extends CodeGeneratorBase {
 				"\t\t\t\t}\n" +
 				"\t\t\t\tdataDst[indexDst++] = " + typeCast + totalDiv + ";\n" +
 				"\t\t\t}\n" +
-				"\t\t}\n" +
-				"\t}\n\n");
+				"\t\t}\n");
+		closeRowLoop();
+		out.print("\t}\n\n");
 	}
 
 	private void printVertical() {
-		String paramDiv = hasDivide ? " , int divisor" : "";
+		String paramDiv = hasDivide ? " , "+finalConcurrent()+"int divisor" : "";
 		String totalDiv = hasDivide ? "((total+halfDivisor)/divisor)" : "total";
 
-		out.print("\tpublic static void vertical( Kernel1D_" + kernelType + " kernel,\n" +
-				"\t\t\t\t\t\t\t\t " + inputType + " image, " + outputType + " dest" + paramDiv +" )\n" +
+		String f = finalConcurrent();
+
+		out.print("\tpublic static void vertical( "+f+"Kernel1D_" + kernelType + " kernel,\n" +
+				"\t\t\t\t\t\t\t\t "+f + inputType + " image, "+f + outputType + " dest" + paramDiv +" )\n" +
 				"\t{\n" +
 				"\t\tfinal " + inputData + "[] dataSrc = image.data;\n" +
 				"\t\tfinal " + outputData + "[] dataDst = dest.data;\n" +
@@ -163,9 +185,9 @@ public class GenerateConvolveImageStandard_SB extends CodeGeneratorBase {
 				"\t\tfinal int imgHeight = dest.getHeight();\n" +
 				"\n" +
 				"\t\tfinal int yEnd = imgHeight-(kernelWidth-offset-1);\n" +
-				"\n" +
-				"\t\tfor( int y = offset; y < yEnd; y++ ) {\n" +
-				"\t\t\tint indexDst = dest.startIndex+y*dest.stride;\n" +
+				"\n");
+		openRowLoop("\t\t","y","offset","yEnd");
+		out.print("\t\t\tint indexDst = dest.startIndex+y*dest.stride;\n" +
 				"\t\t\tint i = image.startIndex + (y-offset)*image.stride;\n" +
 				"\t\t\tfinal int iEnd = i+imgWidth;\n" +
 				"\n" +
@@ -178,17 +200,20 @@ public class GenerateConvolveImageStandard_SB extends CodeGeneratorBase {
 				"\t\t\t\t}\n" +
 				"\t\t\t\tdataDst[indexDst++] = " + typeCast + totalDiv + ";\n" +
 				"\t\t\t}\n" +
-				"\t\t}\n" +
-				"\t}\n\n");
+				"\t\t}\n");
+		closeRowLoop();
+		out.print("\t}\n\n");
 	}
 
 	private void printConvolve2D() {
 
-		String paramDiv = hasDivide ? ", int divisor " : "";
+		String paramDiv = hasDivide ? ", "+finalConcurrent()+"int divisor " : "";
 		String totalDiv = hasDivide ? "((total+halfDivisor)/divisor)" : "total";
 		String performBound = "";
 
-		out.print("\tpublic static void convolve( Kernel2D_" + kernelType + " kernel , " + inputType + " src , " + outputType + " dest " + paramDiv + ")\n" +
+		String f = finalConcurrent();
+
+		out.print("\tpublic static void convolve( "+f+"Kernel2D_" + kernelType + " kernel , "+f + inputType + " src , "+f + outputType + " dest " + paramDiv + ")\n" +
 				"\t{\n" +
 				"\t\tfinal " + kernelData + "[] dataKernel = kernel.data;\n" +
 				"\t\tfinal " + inputData + "[] dataSrc = src.data;\n" +
@@ -199,11 +224,11 @@ public class GenerateConvolveImageStandard_SB extends CodeGeneratorBase {
 		if( hasDivide )
 			out.print("\t\tfinal int halfDivisor = divisor/2;\n");
 		out.print("\n" +
-				"\t\tint offsetL = kernel.offset;\n" +
-				"\t\tint offsetR = kernel.width-kernel.offset-1;\n" +
-				"\n" +
-				"\t\tfor( int y = offsetL; y < height-offsetR; y++ ) {\n" +
-				"\t\t\tint indexDst = dest.startIndex + y*dest.stride+offsetL;\n" +
+				"\t\t"+f+"int offsetL = kernel.offset;\n" +
+				"\t\t"+f+"int offsetR = kernel.width-kernel.offset-1;\n" +
+				"\n");
+		openRowLoop("\t\t","y","offsetL","height-offsetR");
+		out.print("\t\t\tint indexDst = dest.startIndex + y*dest.stride+offsetL;\n" +
 				"\t\t\tfor( int x = offsetL; x < width-offsetR; x++ ) {\n" +
 				"\t\t\t\t" + sumType + " total = 0;\n" +
 				"\t\t\t\tint indexKer = 0;\n" +
@@ -216,12 +241,15 @@ public class GenerateConvolveImageStandard_SB extends CodeGeneratorBase {
 				performBound +
 				"\t\t\t\tdataDst[indexDst++] = " + typeCast + totalDiv + ";\n" +
 				"\t\t\t}\n" +
-				"\t\t}\n" +
-				"\t}\n\n");
+				"\t\t}\n");
+		closeRowLoop();
+		out.print("\t}\n\n");
 	}
 
 	public static void main(String args[]) throws FileNotFoundException {
-		GenerateConvolveImageStandard_SB gen = new GenerateConvolveImageStandard_SB();
+		GenerateConvolveImageStandard_SB gen = new GenerateConvolveImageStandard_SB(false);
+		gen.generate();
+		gen = new GenerateConvolveImageStandard_SB(true);
 		gen.generate();
 	}
 }
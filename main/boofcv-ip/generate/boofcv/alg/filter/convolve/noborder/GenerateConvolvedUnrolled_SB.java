@@ -24,6 +24,8 @@ import boofcv.misc.CodeGeneratorBase;
 import java.io.FileNotFoundException;
 
 /**
+ * Code generator for ConvolveImageUnrolled_SB_* and the concurrent ConvolveImageUnrolled_SB_MT_* variants.
+ *
  * @author Peter Abeles
  */
 public class GenerateConvolvedUnrolled_SB extends CodeGeneratorBase {
@@ -33,6 +35,8 @@ public class GenerateConvolvedUnrolled_SB extends CodeGeneratorBase {
 	String typeKernel;
 	String typeInput;
 	String typeOutput;
+	// type of the output image in function declarations
+	String declareOutput;
 	String dataKernel;
 	String dataInput;
 	String dataOutput;
@@ -44,6 +48,11 @@ public class GenerateConvolvedUnrolled_SB extends CodeGeneratorBase {
 	String declareHalf;
 	String divide;
 
+	public GenerateConvolvedUnrolled_SB( boolean concurrent ) {
+		super(false);
+		this.concurrent = concurrent;
+	}
+
 	@Override
 	public void generate() throws FileNotFoundException {
 		create(AutoTypeImage.F32,AutoTypeImage.F32,false);
@@ -59,13 +68,15 @@ public class GenerateConvolvedUnrolled_SB extends CodeGeneratorBase {
 	protected void create( AutoTypeImage inputImg , AutoTypeImage outputImg , boolean divided ) throws FileNotFoundException {
 		isInteger = inputImg.isInteger();
 
-		String name = "ConvolveImageUnrolled_SB_"+inputImg.getAbbreviatedType()+"_"+outputImg.getAbbreviatedType();
+		String name = "ConvolveImageUnrolled_SB_"+(concurrent ? "MT_" : "")+inputImg.getAbbreviatedType()+"_"+outputImg.getAbbreviatedType();
 		if( divided )
 			name += "_Div";
 
-		typeKernel = isInteger ? "I32" : "F"+inputImg.getNumBits();
+		typeKernel = isInteger ? "S32" : "F"+inputImg.getNumBits();
 		typeInput = inputImg.getSingleBandName();
 		typeOutput = outputImg.getSingleBandName();
+		// GrayI8 and GrayI16 are generic, avoid raw types in the concurrent code
+		declareOutput = typeOutput + (concurrent && isGeneric(outputImg) ? "<?>" : "");
 		dataKernel = inputImg.getSumType();
 		dataInput = inputImg.getDataType();
 		dataOutput = outputImg.getDataType();
@@ -100,15 +111,31 @@ public class GenerateConvolvedUnrolled_SB extends CodeGeneratorBase {
 		}
 
 		out.println("}");
+		out.close();
+		className = null;
+	}
+
+	private static boolean isGeneric( AutoTypeImage image ) {
+		return image == AutoTypeImage.I8 || image == AutoTypeImage.I16;
 	}
 
 	public void printPreamble() {
-		out.print("import boofcv.struct.convolve.*;\n");
-		out.print("import boofcv.struct.image." + typeInput + ";\n"+
+		if( concurrent )
+			out.print("import boofcv.concurrency.BoofConcurrency;\n" +
+					"import boofcv.concurrency.IntRangeConsumer;\n");
+		out.print("import boofcv.struct.convolve.Kernel1D_" + typeKernel + ";\n" +
+				"import boofcv.struct.convolve.Kernel2D_" + typeKernel + ";\n");
+		if (typeInput.compareTo(typeOutput) != 0) {
+			// keep the imports sorted
+			String a = typeInput.compareTo(typeOutput) < 0 ? typeInput : typeOutput;
+			String b = typeInput.compareTo(typeOutput) < 0 ? typeOutput : typeInput;
+			out.print("import boofcv.struct.image." + a + ";\n" +
+					"import boofcv.struct.image." + b + ";\n");
+		} else {
+			out.print("import boofcv.struct.image." + typeInput + ";\n");
+		}
+		out.print("\n" +
 				"import javax.annotation.Generated;\n");
-
-		if (typeInput.compareTo(typeOutput) != 0)
-			out.print("import boofcv.struct.image." + typeOutput + ";\n");
 		out.print("\n" +
 				"/**\n" +
 				" * <p>\n" +
@@ -120,6 +147,11 @@ public class GenerateConvolvedUnrolled_SB extends CodeGeneratorBase {
 				" * see commented out code below.  Due to the added complexity it was decided that this performance boost was\n" +
 				" * not worth it.  By comparison, unrolling the kernel causes a performance boost between 2 and 3 times.\n" +
 				" * </p>\n" +
+				(concurrent ? " *\n" +
+				" * <p>\n" +
+				" * Concurrent version of {@link "+className.replace("_MT","")+"}.  The image is split into bands of rows\n" +
+				" * which are processed in parallel.  Output is identical to the single threaded version.\n" +
+				" * </p>\n" : "") +
 				" * \n" +
 				" * <p>\n" +
 				" * DO NOT MODIFY.  This class was automatically generated by "+getClass().getSimpleName()+".\n" +
@@ -135,7 +167,7 @@ public class GenerateConvolvedUnrolled_SB extends CodeGeneratorBase {
 		String kernel = "Kernel"+kernelDOF+"D_"+typeKernel;
 
 		out.print("\tpublic static boolean " + opName + "( " + kernel + " kernel ,\n" +
-				"\t\t\t\t\t\t\t\t   " + typeInput + " image, " + typeOutput + " dest");
+				"\t\t\t\t\t\t\t\t   " + typeInput + " image, " + declareOutput + " dest");
 
 
 		if( hasDivisor ) {
@@ -172,11 +204,13 @@ public class GenerateConvolvedUnrolled_SB extends CodeGeneratorBase {
 	void addHorizontal(int num, boolean hasDivisor ) {
 		String typeCast = generateTypeCast();
 
-		out.print("\tpublic static void horizontal" + num + "( Kernel1D_" + typeKernel + " kernel , "
-				+ typeInput + " image, " + typeOutput + " dest ");
+		String f = finalConcurrent();
+
+		out.print("\tpublic static void horizontal" + num + "( "+f+"Kernel1D_" + typeKernel + " kernel , "
+				+ f + typeInput + " image, " + f + declareOutput + " dest ");
 
 		if( hasDivisor ) {
-			out.print(", int divisor )\n");
+			out.print(", "+f+"int divisor )\n");
 		} else {
 			out.print(")\n");
 		}
@@ -193,9 +227,9 @@ public class GenerateConvolvedUnrolled_SB extends CodeGeneratorBase {
 				"\n" +
 				"\t\tfinal int width = image.getWidth();\n" +
 				(hasDivisor ? declareHalf : "")+
-				"\n" +
-				"\t\tfor( int i = 0; i < image.height; i++ ) {\n" +
-				"\t\t\tint indexDst = dest.startIndex + i*dest.stride+radius;\n" +
+				"\n");
+		openRowLoop("\t\t","i","0","image.height");
+		out.print("\t\t\tint indexDst = dest.startIndex + i*dest.stride+radius;\n" +
 				"\t\t\tint j = image.startIndex + i*image.stride - radius;\n" +
 				"\t\t\tfinal int jEnd = j+width-radius;\n" +
 				"\n" +
@@ -214,17 +248,20 @@ public class GenerateConvolvedUnrolled_SB extends CodeGeneratorBase {
 		}
 
 		out.print("\t\t\t}\n" +
-				"\t\t}\n" +
-				"\t}\n\n");
+				"\t\t}\n");
+		closeRowLoop();
+		out.print("\t}\n\n");
 	}
 
 	void addVertical(int num, boolean hasDivisor) {
 		String typeCast = generateTypeCast();
 
-		out.print("\tpublic static void vertical" + num + "( Kernel1D_" + typeKernel + " kernel , "
-				 + typeInput + " image, " + typeOutput + " dest ");
+		String f = finalConcurrent();
+
+		out.print("\tpublic static void vertical" + num + "( "+f+"Kernel1D_" + typeKernel + " kernel , "
+				 + f + typeInput + " image, " + f + declareOutput + " dest ");
 		if( hasDivisor )
-			out.print(", int divisor )\n");
+			out.print(", "+f+"int divisor )\n");
 		else
 			out.print(")\n");
 
@@ -243,9 +280,9 @@ public class GenerateConvolvedUnrolled_SB extends CodeGeneratorBase {
 				(hasDivisor ? declareHalf : "") +
 				"\n" +
 				"\t\tfinal int yEnd = imgHeight-radius;\n" +
-				"\n" +
-				"\t\tfor( int y = radius; y < yEnd; y++ ) {\n" +
-				"\t\t\tint indexDst = dest.startIndex+y*dest.stride;\n" +
+				"\n");
+		openRowLoop("\t\t","y","radius","yEnd");
+		out.print("\t\t\tint indexDst = dest.startIndex+y*dest.stride;\n" +
 				"\t\t\tint i = image.startIndex + (y-radius)*image.stride;\n" +
 				"\t\t\tfinal int iEnd = i+imgWidth;\n" +
 				"\n" +
@@ -263,14 +300,17 @@ public class GenerateConvolvedUnrolled_SB extends CodeGeneratorBase {
 		else
 			out.print("\t\t\t\tdataDst[indexDst++] = " + typeCast + "total;\n");
 		out.print("\t\t\t}\n" +
-				"\t\t}\n" +
-				"\t}\n\n");
+				"\t\t}\n");
+		closeRowLoop();
+		out.print("\t}\n\n");
 	}
 
 	void addConvolve(int num ) {
 		String typeCast = generateTypeCast();
 
-		out.print("\tpublic static void convolve" + num + "( Kernel2D_" + typeKernel + " kernel, " + typeInput + " src, " + typeOutput + " dest)\n");
+		String f = finalConcurrent();
+
+		out.print("\tpublic static void convolve" + num + "( "+f+"Kernel2D_" + typeKernel + " kernel, " + f + typeInput + " src, " + f + declareOutput + " dest)\n");
 
 		out.print("\t{\n" +
 				"\t\tfinal " + dataInput + "[] dataSrc = src.data;\n" +
@@ -280,9 +320,9 @@ public class GenerateConvolvedUnrolled_SB extends CodeGeneratorBase {
 				"\t\tfinal int height = src.getHeight();\n" +
 				"\n" +
 				"\t\tfinal int kernelRadius = kernel.getRadius();\n" +
-				"\n" +
-				"\t\tfor( int y = kernelRadius; y < height-kernelRadius; y++ ) {\n" +
-				"\n" +
+				"\n");
+		openRowLoop("\t\t","y","kernelRadius","height-kernelRadius");
+		out.print("\n" +
 				"\t\t\t// first time through the value needs to be set\n");
 		for( int i = 0; i < num; i++ ) {
 			out.print("\t\t\t"+sumType+" k"+(i+1)+" = kernel.data["+i+"];\n");
@@ -323,14 +363,17 @@ public class GenerateConvolvedUnrolled_SB extends CodeGeneratorBase {
 				"\t\t\t\t\tdataDst[indexDst++] += "+typeCast+"total;\n" +
 				"\t\t\t\t}\n" +
 				"\t\t\t}\n" +
-				"\t\t}\n" +
-				"\t}\n\n");
+				"\t\t}\n");
+		closeRowLoop();
+		out.print("\t}\n\n");
 	}
 
 	void addConvolveDiv(int num ) {
 		String typeCast = generateTypeCast();
 
-		out.print("\tpublic static void convolve" + num + "( Kernel2D_" + typeKernel + " kernel, " + typeInput + " src, " + typeOutput + " dest , int divisor )\n");
+		String f = finalConcurrent();
+
+		out.print("\tpublic static void convolve" + num + "( "+f+"Kernel2D_" + typeKernel + " kernel, " + f + typeInput + " src, " + f + declareOutput + " dest , "+f+"int divisor )\n");
 
 		out.print("\t{\n" +
 				"\t\tfinal " + dataInput + "[] dataSrc = src.data;\n" +
@@ -341,10 +384,17 @@ public class GenerateConvolvedUnrolled_SB extends CodeGeneratorBase {
 				declareHalf +
 				"\n" +
 				"\t\tfinal int kernelRadius = kernel.getRadius();\n");
-		out.print("\t\tfinal "+sumType+" totalRow[] = new int[ width ];\n");
+		String declareTotalRow = "\t\tfinal "+sumType+" totalRow[] = new int[ width ];\n";
+		if( concurrent ) {
+			out.print("\n");
+			// each band needs its own work space
+			openRowLoop("\t\t","y","kernelRadius","height-kernelRadius",declareTotalRow);
+		} else {
+			out.print(declareTotalRow);
+			out.print("\n");
+			openRowLoop("\t\t","y","kernelRadius","height-kernelRadius");
+		}
 		out.print("\n" +
-				"\t\tfor( int y = kernelRadius; y < height-kernelRadius; y++ ) {\n" +
-				"\n" +
 				"\t\t\t// first time through the value needs to be set\n");
 		for( int i = 0; i < num; i++ ) {
 			out.print("\t\t\t"+sumType+" k"+(i+1)+" = kernel.data["+i+"];\n");
@@ -387,8 +437,9 @@ public class GenerateConvolvedUnrolled_SB extends CodeGeneratorBase {
 				"\t\t\tfor( int x = kernelRadius; x < width-kernelRadius; x++ ) {\n" +
 				"\t\t\t\tdataDst[indexDst++] = "+typeCast+"((totalRow[x]+halfDivisor)/ divisor);\n" +
 				"\t\t\t}\n"+
-				"\t\t}\n" +
-				"\t}\n\n");
+				"\t\t}\n");
+		closeRowLoop();
+		out.print("\t}\n\n");
 	}
 
 	private String generateTypeCast() {
@@ -396,8 +447,9 @@ public class GenerateConvolvedUnrolled_SB extends CodeGeneratorBase {
 	}
 
 	public static void main(String args[]) throws FileNotFoundException {
-		GenerateConvolvedUnrolled_SB a = new GenerateConvolvedUnrolled_SB();
-
+		GenerateConvolvedUnrolled_SB a = new GenerateConvolvedUnrolled_SB(false);
+		a.generate();
+		a = new GenerateConvolvedUnrolled_SB(true);
 		a.generate();
 	}
 }
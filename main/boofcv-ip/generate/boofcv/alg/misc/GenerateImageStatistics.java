@@ -28,7 +28,7 @@ import java.util.List;
 
 
 /**
- * Generates functions inside of {@link ImageMiscOps}.
+ * Generates {@link ImageStatistics} and its concurrent variant {@link ImageStatistics_MT}.
  *
  * @author Peter Abeles
  */
@@ -36,20 +36,47 @@ public class GenerateImageStatistics extends CodeGeneratorBase {
 
 	private AutoTypeImage input;
 
+	public GenerateImageStatistics( boolean concurrent ) {
+		super(false);
+		this.concurrent = concurrent;
+	}
+
 	public void generate() throws FileNotFoundException {
+		setOutputFile(concurrent ? "ImageStatistics_MT" : "ImageStatistics");
 		printPreamble();
 		printAll();
 		out.println("}");
 	}
 
 	private void printPreamble() throws FileNotFoundException {
-		out.print("import boofcv.struct.image.*;\n" +
+		out.print("import boofcv.alg.InputSanityCheck;\n" +
+				"import boofcv.concurrency.BoofConcurrency;\n" +
+				(concurrent ? "import boofcv.concurrency.IntBlockConsumer;\n" : "") +
+				"import boofcv.struct.image.*;\n" +
+				"import org.ddogleg.struct.GrowQueue_I32;\n" +
+				"\n" +
 				"import javax.annotation.Generated;\n" +
-				"import boofcv.alg.InputSanityCheck;\n" +
 				"\n" +
-				"/**\n" +
-				" * Computes statistical properties of pixels inside an image.\n" +
-				" *\n" +
+				"/**\n");
+		if( concurrent ) {
+			out.print(" * <p>\n" +
+					" * Concurrent version of {@link ImageStatistics}.  The image is split into blocks of rows which are\n" +
+					" * processed in parallel.  Each block computes a partial result and the partial results are combined\n" +
+					" * in block order.  With floating point images the sums are accumulated in double, but the results\n" +
+					" * can still be slightly different from the single threaded code and depend on the number of threads,\n" +
+					" * since values are added in a different order.  For that reason {@link ImageStatistics} only calls\n" +
+					" * the sum, variance, and difference functions in this class for integer images.\n" +
+					" * </p>\n");
+		} else {
+			out.print(" * Computes statistical properties of pixels inside an image.\n" +
+					" *\n" +
+					" * <p>\n" +
+					" * If {@link BoofConcurrency#useConcurrent} is true then the concurrent implementation in\n" +
+					" * {@link ImageStatistics_MT} is called.  Sums of floating point images are always computed\n" +
+					" * by a single thread so that the results don't depend on the number of threads.\n" +
+					" * </p>\n");
+		}
+		out.print(" *\n" +
 				" * <p>DO NOT MODIFY: Generated by "+getClass().getName()+"</p>.\n"+
 				" *\n"+
 				" * @author Peter Abeles\n" +
@@ -58,6 +85,54 @@ public class GenerateImageStatistics extends CodeGeneratorBase {
 				"public class "+className+" {\n\n");
 	}
 
+	/**
+	 * In the single threaded code this passes the call on to the concurrent implementation when it should be used
+	 */
+	private void printDispatch( String image , String call , boolean hasReturn ) {
+		if( concurrent )
+			return;
+		if( hasReturn ) {
+			out.print("\t\tif( BoofConcurrency.useConcurrent("+image+") )\n" +
+					"\t\t\treturn ImageStatistics_MT."+call+";\n" +
+					"\n");
+		} else {
+			out.print("\t\tif( BoofConcurrency.useConcurrent("+image+") ) {\n" +
+					"\t\t\tImageStatistics_MT."+call+";\n" +
+					"\t\t\treturn;\n" +
+					"\t\t}\n" +
+					"\n");
+		}
+	}
+
+	/**
+	 * Adds together the partial sums computed by each block in concurrent code
+	 */
+	private void printSumPartials( String sumType , String variable ) {
+		if( !concurrent )
+			return;
+		out.print("\n" +
+				"\t\t"+partialSumType(sumType)+" "+variable+" = 0;\n" +
+				"\t\tfor( int i = 0; i < numBlocks; i++ ) {\n" +
+				"\t\t\t"+variable+" += partial[i];\n" +
+				"\t\t}\n");
+	}
+
+	/**
+	 * Type of a block's partial sum in concurrent code.  Floats are summed in double to reduce round off error.
+	 */
+	private String partialSumType( String sumType ) {
+		return concurrent && sumType.equals("float") ? "double" : sumType;
+	}
+
+	/**
+	 * Floating point sums depend on the order values are added in, so they are only computed concurrently
+	 * for integer images.
+	 */
+	private void printSumDispatch( String image , String call ) {
+		if( input.isInteger() )
+			printDispatch(image,call,true);
+	}
+
 	public void printAll() {
 		AutoTypeImage types[] = AutoTypeImage.getSpecificTypes();
 
@@ -91,6 +166,8 @@ public class GenerateImageStatistics extends CodeGeneratorBase {
 
 	public void printHistogram() {
 		String sumType = input.getSumType();
+		String f = finalConcurrent();
+		String bandName = input.getSingleBandName();
 
 		out.print("\t/**\n" +
 				"\t * Computes the histogram of intensity values for the image.\n" +
@@ -99,26 +176,82 @@ public class GenerateImageStatistics extends CodeGeneratorBase {
 				"\t * @param minValue (input) Minimum possible intensity value   \n" +
 				"\t * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.\n" +
 				"\t */\n" +
-				"\tpublic static void histogram( "+input.getSingleBandName()+" input , "+sumType+" minValue , int histogram[] ) {\n" +
-				"\t\tfor( int i = 0; i < histogram.length; i++ )\n" +
+				"\tpublic static void histogram( "+bandName+" input , "+sumType+" minValue , int histogram[] ) {\n" +
+				"\t\thistogram(input,minValue,histogram,null);\n" +
+				"\t}\n\n");
+
+		out.print("\t/**\n" +
+				"\t * Computes the histogram of intensity values for the image.\n" +
+				"\t * \n" +
+				"\t * @param input (input) Image.\n" +
+				"\t * @param minValue (input) Minimum possible intensity value   \n" +
+				"\t * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.\n" +
+				"\t * @param work (Optional) Storage for each thread's histogram in the concurrent implementation.\n" +
+				"\t *             Pass in the same instance to avoid creating new arrays each call. Can be null.\n" +
+				"\t */\n" +
+				"\tpublic static void histogram( "+f+bandName+" input , "+f+sumType+" minValue , "+f+"int histogram[] ,\n" +
+				"\t\t\t\t\t\t\t\t  GrowQueue_I32 work ) {\n");
+		printDispatch("input","histogram(input,minValue,histogram,work)",false);
+
+		out.print("\t\tfor( int i = 0; i < histogram.length; i++ )\n" +
 				"\t\t\thistogram[i] = 0;\n" +
-				"\t\t\n" +
-				"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
-				"\t\t\tint index = input.startIndex + y*input.stride;\n" +
-				"\t\t\tint end = index + input.width;\n" +
+				"\t\t\n");
+
+		String indent = "\t\t";
+		String bins = "histogram";
+		String offset = "";
+		if( concurrent ) {
+			// the first block adds to the output histogram and the other blocks have their own in the work array
+			out.print("\t\tfinal int numBlocks = BoofConcurrency.computeNumberOfBlocks(input.height,1);\n" +
+					"\t\tif( work == null )\n" +
+					"\t\t\twork = new GrowQueue_I32();\n" +
+					"\t\twork.resize((numBlocks-1)*histogram.length);\n" +
+					"\t\tfinal int[] workData = work.data;\n" +
+					"\n" +
+					"\t\tBoofConcurrency.loopBlocksIndexed(0, input.height, numBlocks, new IntBlockConsumer() {\n" +
+					"\t\t\t@Override\n" +
+					"\t\t\tpublic void accept( int block , int y0 , int y1 ) {\n" +
+					"\t\t\t\tint[] local = histogram;\n" +
+					"\t\t\t\tint offset = 0;\n" +
+					"\t\t\t\tif( block > 0 ) {\n" +
+					"\t\t\t\t\tlocal = workData;\n" +
+					"\t\t\t\t\toffset = (block-1)*histogram.length;\n" +
+					"\t\t\t\t\tfor( int i = 0; i < histogram.length; i++ )\n" +
+					"\t\t\t\t\t\tlocal[offset+i] = 0;\n" +
+					"\t\t\t\t}\n" +
+					"\n" +
+					"\t\t\t\tfor( int y = y0; y < y1; y++ ) {\n");
+			indent = "\t\t\t\t";
+			bins = "local";
+			offset = "offset + ";
+		} else {
+			out.print("\t\tfor( int y = 0; y < input.height; y++ ) {\n");
+		}
+		out.print(indent+"\tint index = input.startIndex + y*input.stride;\n" +
+				indent+"\tint end = index + input.width;\n" +
 				"\n" +
-				"\t\t\tfor( ; index < end; index++ ) {\n");
+				indent+"\tfor( ; index < end; index++ ) {\n");
 		if( input.isInteger()) {
 			if( input.getNumBits() == 64 )
-				out.print("\t\t\t\thistogram[(int)(input.data[index] - minValue)]++;\n");
+				out.print(indent+"\t\t"+bins+"["+offset+"(int)(input.data[index] - minValue)]++;\n");
 			else
-				out.print("\t\t\t\thistogram[(input.data[index]"+input.getBitWise()+") - minValue ]++;\n");
+				out.print(indent+"\t\t"+bins+"["+offset+"(input.data[index]"+input.getBitWise()+") - minValue ]++;\n");
 		} else {
-			out.print("\t\t\t\thistogram[(int)(input.data[index] - minValue)]++;\n");
+			out.print(indent+"\t\t"+bins+"["+offset+"(int)(input.data[index] - minValue)]++;\n");
 		}
-		out.print("\t\t\t}\n" +
-				"\t\t}\n" +
-				"\t}\n\n");
+		out.print(indent+"\t}\n" +
+				indent+"}\n");
+		if( concurrent ) {
+			out.print("\t\t\t}\n" +
+					"\t\t});\n" +
+					"\n" +
+					"\t\tfor( int block = 1; block < numBlocks; block++ ) {\n" +
+					"\t\t\tint offset = (block-1)*histogram.length;\n" +
+					"\t\t\tfor( int i = 0; i < histogram.length; i++ )\n" +
+					"\t\t\t\thistogram[i] += workData[offset+i];\n" +
+					"\t\t}\n");
+		}
+		out.print("\t}\n\n");
 	}
 
 	public void printMaxAbs() {
@@ -212,23 +345,31 @@ public class GenerateImageStatistics extends CodeGeneratorBase {
 				"\t * \n" +
 				"\t * @param img Input image. Not modified.\n" +
 				"\t */\n" +
-				"\tpublic static "+sumType+" sum( "+input.getImageName(family)+" img ) {\n" +
-				"\n" +
-				"\t\tfinal int rows = img.height;\n" +
+				"\tpublic static "+sumType+" sum( "+finalConcurrent()+input.getImageName(family)+" img ) {\n" +
+				"\n");
+		printSumDispatch("img","sum(img)");
+		out.print("\t\tfinal int rows = img.height;\n" +
 				"\t\tfinal int columns = img.width"+columns+";\n" +
-				"\n" +
-				"\t\t"+sumType+" total = 0;\n" +
-				"\t\t\n" +
-				"\t\tfor (int y = 0; y < rows; y++) {\n" +
-				"\t\t\tint index = img.startIndex + y * img.stride;\n" +
+				"\n");
+		if( !concurrent ) {
+			out.print("\t\t"+sumType+" total = 0;\n" +
+					"\t\t\n");
+		}
+		String partialType = partialSumType(sumType);
+		looseForLoop = true;
+		openReductionLoop("\t\t","y","0","rows",partialType,"\t\t"+partialType+" total = 0;\n\n");
+		looseForLoop = false;
+		out.print("\t\t\tint index = img.startIndex + y * img.stride;\n" +
 				"\t\t\t\n" +
 				"\t\t\tint indexEnd = index+columns;\n" +
 				"\t\t\tfor (; index < indexEnd; index++ ) {\n" +
 				"\t\t\t\ttotal += img.data[index] "+bitWise+";\n" +
 				"\t\t\t}\n" +
-				"\t\t}\n" +
-				"\t\t\n" +
-				"\t\treturn total;\n" +
+				"\t\t}\n");
+		closeReductionLoop("total");
+		printSumPartials(sumType,"total");
+		out.print("\t\t\n" +
+				"\t\treturn "+(partialType.equals(sumType) ? "" : "("+sumType+")")+"total;\n" +
 				"\t}\n\n");
 	}
 
@@ -251,6 +392,7 @@ public class GenerateImageStatistics extends CodeGeneratorBase {
 
 		String bitWise = input.getBitWise();
 		String sumType = input.isInteger() ? "double" : input.getSumType();
+		String f = finalConcurrent();
 
 		out.print("\t/**\n" +
 				"\t * Computes the variance of pixel intensity values inside the image.\n" +
@@ -259,12 +401,18 @@ public class GenerateImageStatistics extends CodeGeneratorBase {
 				"\t * @param mean Mean pixel intensity value.   \n" +
 				"\t * @return Pixel variance   \n" +
 				"\t */\n" +
-				"\tpublic static "+sumType+" variance( "+input.getSingleBandName()+" img , "+sumType+" mean ) {\n" +
-				"\n" +
-				"\t\t"+sumType+" variance = 0;\n" +
-				"\n" +
-				"\t\tfor (int y = 0; y < img.height; y++) {\n" +
-				"\t\t\tint index = img.getStartIndex() + y * img.getStride();\n" +
+				"\tpublic static "+sumType+" variance( "+f+input.getSingleBandName()+" img , "+f+sumType+" mean ) {\n" +
+				"\n");
+		printSumDispatch("img","variance(img,mean)");
+		if( !concurrent ) {
+			out.print("\t\t"+sumType+" variance = 0;\n" +
+					"\n");
+		}
+		String partialType = partialSumType(sumType);
+		looseForLoop = true;
+		openReductionLoop("\t\t","y","0","img.height",partialType,"\t\t"+partialType+" variance = 0;\n\n");
+		looseForLoop = false;
+		out.print("\t\t\tint index = img.getStartIndex() + y * img.getStride();\n" +
 				"\n" +
 				"\t\t\tint indexEnd = index+img.width;\n" +
 				"\t\t\t// for(int x = 0; x < img.width; x++ ) {\n" +
@@ -272,9 +420,12 @@ public class GenerateImageStatistics extends CodeGeneratorBase {
 				"\t\t\t\t"+sumType+" d = (img.data[index]"+bitWise+") - mean; \n" +
 				"\t\t\t\tvariance += d*d;\n" +
 				"\t\t\t}\n" +
-				"\t\t}\n" +
-				"\n" +
-				"\t\treturn variance/(img.width*img.height);\n" +
+				"\t\t}\n");
+		closeReductionLoop("variance");
+		printSumPartials(sumType,"variance");
+		out.print("\n" +
+				"\t\treturn "+(partialType.equals(sumType) ? "" : "("+sumType+")(")+"variance/(img.width*img.height)"+
+				(partialType.equals(sumType) ? "" : ")")+";\n" +
 				"\t}\n\n");
 	}
 
@@ -439,8 +590,9 @@ public class GenerateImageStatistics extends CodeGeneratorBase {
 			String nameUn = this.name + (input.isSigned() ? "" : "U");
 
 			out.println(javaDoc);
-			out.print("\tpublic static "+sumType+" "+name+"( "+input.getImageName(family)+" input ) {\n" +
-					"\t\treturn "+nameUn+"( input.data, input.startIndex, input.height, "+columns+" , input.stride );\n" +
+			out.print("\tpublic static "+sumType+" "+name+"( "+input.getImageName(family)+" input ) {\n");
+			printDispatch("input",name+"(input)",true);
+			out.print("\t\treturn "+nameUn+"( input.data, input.startIndex, input.height, "+columns+" , input.stride );\n" +
 					"\t}\n\n");
 		}
 
@@ -448,12 +600,18 @@ public class GenerateImageStatistics extends CodeGeneratorBase {
 			String sumType = input.getSumType();
 			String name = this.name + (input.isSigned() ? "" : "U");
 
-			out.print("\tprivate static "+sumType+" "+name+"( "+input.getDataType()+"[] array , int startIndex , int rows , int columns , int stride ) {\n" +
-					"\n" +
-					"\t\t"+sumType+" output = array[startIndex]"+input.getBitWise()+";\n" +
-					"\n" +
-					"\t\tfor( int y = 0; y < rows; y++ ) {\n" +
-					"\t\t\tint index = startIndex + y*stride;\n" +
+			String f = finalConcurrent();
+
+			out.print("\tprivate static "+sumType+" "+name+"( "+f+input.getDataType()+"[] array , "+f+"int startIndex , int rows , "+
+					f+"int columns , "+f+"int stride ) {\n" +
+					"\n");
+			if( !concurrent ) {
+				out.print("\t\t"+sumType+" output = array[startIndex]"+input.getBitWise()+";\n" +
+						"\n");
+			}
+			openReductionLoop("\t\t","y","0","rows",sumType,
+					"\t\t"+sumType+" output = array[startIndex + y0*stride]"+input.getBitWise()+";\n\n");
+			out.print("\t\t\tint index = startIndex + y*stride;\n" +
 					"\t\t\tint end = index + columns;\n" +
 					"\n" +
 					"\t\t\tfor( ; index < end; index++ ) {\n" +
@@ -461,8 +619,18 @@ public class GenerateImageStatistics extends CodeGeneratorBase {
 					"\t\t\t\tif( "+conditional+" )\n" +
 					"\t\t\t\t\toutput = v;\n" +
 					"\t\t\t}\n" +
-					"\t\t}\n" +
-					"\t\treturn output;\n" +
+					"\t\t}\n");
+			closeReductionLoop("output");
+			if( concurrent ) {
+				out.print("\n" +
+						"\t\t"+sumType+" output = partial[0];\n" +
+						"\t\tfor( int i = 1; i < numBlocks; i++ ) {\n" +
+						"\t\t\t"+sumType+" v = partial[i];\n" +
+						"\t\t\tif( "+conditional+" )\n" +
+						"\t\t\t\toutput = v;\n" +
+						"\t\t}\n");
+			}
+			out.print("\t\treturn output;\n" +
 					"\t}\n\n");
 		}
 
@@ -488,8 +656,9 @@ public class GenerateImageStatistics extends CodeGeneratorBase {
 			String imageName = input.getImageName(family);
 
 			out.println(javaDoc);
-			out.print("\tpublic static double "+name+"("+imageName+" imgA, "+imageName+" imgB ) {\n" +
-					"\t\tInputSanityCheck.checkSameShape(imgA,imgB);\n" +
+			out.print("\tpublic static double "+name+"("+imageName+" imgA, "+imageName+" imgB ) {\n");
+			printSumDispatch("imgA",name+"(imgA,imgB)");
+			out.print("\t\tInputSanityCheck.checkSameShape(imgA,imgB);\n" +
 					"\t\treturn "+nameUn+"(imgA.data,imgA.startIndex,imgA.stride, imgB.data,imgB.startIndex,imgB.stride,\n" +
 					"\t\t\t\timgA.height, "+columns+");\n" +
 					"\t}\n\n");
@@ -502,13 +671,20 @@ public class GenerateImageStatistics extends CodeGeneratorBase {
 			String name = this.name + (input.isSigned() ? "" : "U");
 			String bitWise = input.getBitWise();
 
-			out.print("\tprivate static double "+name+"("+dataType+" []dataA, int startIndexA , int strideA,\n" +
-					"\t\t\t\t\t\t\t\t\t"+dataType+" []dataB, int startIndexB , int strideB,\n" +
-					"\t\t\t\t\t\t\t\t\tint rows , int columns ) {\n" +
-					"\t\t"+sumType+" total = 0;\n" +
-					"\n" +
-					"\t\tfor (int y = 0; y < rows; y++) {\n" +
-					"\t\t\tint indexA = startIndexA + y * strideA;\n" +
+			String f = finalConcurrent();
+
+			out.print("\tprivate static double "+name+"("+f+dataType+" []dataA, "+f+"int startIndexA , "+f+"int strideA,\n" +
+					"\t\t\t\t\t\t\t\t\t"+f+dataType+" []dataB, "+f+"int startIndexB , "+f+"int strideB,\n" +
+					"\t\t\t\t\t\t\t\t\tint rows , "+f+"int columns ) {\n");
+			if( !concurrent ) {
+				out.print("\t\t"+sumType+" total = 0;\n" +
+						"\n");
+			}
+			String partialType = partialSumType(sumType);
+			looseForLoop = true;
+			openReductionLoop("\t\t","y","0","rows",partialType,"\t\t"+partialType+" total = 0;\n\n");
+			looseForLoop = false;
+			out.print("\t\t\tint indexA = startIndexA + y * strideA;\n" +
 					"\t\t\tint indexB = startIndexB + y * strideB;\n" +
 					"\t\t\t\n" +
 					"\t\t\tint indexEnd = indexA+columns;\n" +
@@ -517,8 +693,10 @@ public class GenerateImageStatistics extends CodeGeneratorBase {
 					"\t\t\t\t"+sumType+" difference = (dataA[indexA]"+bitWise+")-(dataB[indexB]"+bitWise+");\n" +
 					"\t\t\t\ttotal += "+operation+";\n" +
 					"\t\t\t}\n" +
-					"\t\t}\n" +
-					"\n" +
+					"\t\t}\n");
+			closeReductionLoop("total");
+			printSumPartials(sumType,"total");
+			out.print("\n" +
 					"\t\treturn total / (double)(rows*columns);\n" +
 					"\t}\n\n");
 		}
@@ -531,7 +709,9 @@ public class GenerateImageStatistics extends CodeGeneratorBase {
 	}
 
 	public static void main( String args[] ) throws FileNotFoundException {
-		GenerateImageStatistics gen = new GenerateImageStatistics();
+		GenerateImageStatistics gen = new GenerateImageStatistics(false);
+		gen.generate();
+		gen = new GenerateImageStatistics(true);
 		gen.generate();
 	}
 }
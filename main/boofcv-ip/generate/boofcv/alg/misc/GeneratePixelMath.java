@@ -30,18 +30,21 @@ import static boofcv.misc.AutoTypeImage.*;
 
 
 /**
- * Generates functions inside of {@link boofcv.alg.misc.ImageMiscOps}.
+ * Generates {@link PixelMath} and its concurrent variant {@link PixelMath_MT}.
  *
  * @author Peter Abeles
  */
 public class GeneratePixelMath extends CodeGeneratorBase {
 
-	String className = "PixelMath";
-
 	private AutoTypeImage input;
 
 	ImageType.Family families[] = new ImageType.Family[]{ImageType.Family.GRAY,ImageType.Family.INTERLEAVED};
 
+	public GeneratePixelMath( boolean concurrent ) {
+		super(false);
+		this.concurrent = concurrent;
+	}
+
 	public void generate() throws FileNotFoundException {
 		printPreamble();
 
@@ -65,16 +68,28 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 	}
 
 	private void printPreamble() throws FileNotFoundException {
-		setOutputFile(className);
-		out.print("import boofcv.struct.image.*;\n" +
+		setOutputFile(concurrent ? "PixelMath_MT" : "PixelMath");
+		out.print("import boofcv.alg.InputSanityCheck;\n" +
+				"import boofcv.concurrency.BoofConcurrency;\n" +
+				(concurrent ? "import boofcv.concurrency.IntRangeConsumer;\n" : "") +
+				"import boofcv.struct.image.*;\n" +
 				"\n" +
-				"import boofcv.alg.InputSanityCheck;\n" +
 				"import javax.annotation.Generated;\n" +
 				"\n" +
-				"/**\n" +
-				" * Functions which perform basic arithmetic (e.g. addition, subtraction, multiplication, or " +
-				"division) on a pixel by pixel basis.\n" +
-				" *\n" +
+				"/**\n");
+		if( concurrent ) {
+			out.print(" * Concurrent version of {@link PixelMath}.  The image is split into bands of rows which are processed\n" +
+					" * in parallel.  Output is identical to the single threaded version.\n");
+		} else {
+			out.print(" * Functions which perform basic arithmetic (e.g. addition, subtraction, multiplication, or " +
+					"division) on a pixel by pixel basis.\n" +
+					" *\n" +
+					" * <p>\n" +
+					" * If {@link BoofConcurrency#useConcurrent} is true then the concurrent implementation in {@link PixelMath_MT}\n" +
+					" * is called.\n" +
+					" * </p>\n");
+		}
+		out.print(" *\n" +
 				" * <p>DO NOT MODIFY: Generated by " + getClass().getName() + ".</p>\n" +
 				" *\n" +
 				" * @author Peter Abeles\n" +
@@ -83,6 +98,49 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"public class " + className + " {\n\n");
 	}
 
+	/**
+	 * In the single threaded code this passes the call on to the concurrent implementation when it should be used
+	 */
+	private void printDispatch( String image , String call ) {
+		if( concurrent )
+			return;
+		out.print("\t\tif( BoofConcurrency.useConcurrent("+image+") ) {\n" +
+				"\t\t\tPixelMath_MT."+call+";\n" +
+				"\t\t\treturn;\n" +
+				"\t\t}\n\n");
+	}
+
+	/**
+	 * Opening parenthesis of a public function.  Matches the formatting of the code before it was regenerated.
+	 */
+	private static String openParen( ImageType.Family family ) {
+		return family == ImageType.Family.INTERLEAVED ? "( " : "(";
+	}
+
+	/**
+	 * Returns a cast to the specified type.  In the concurrent code casts which javac reports as redundant are
+	 * omitted.  The single threaded code is left as it was.
+	 *
+	 * @param redundant true if the expression being cast already has the specified type
+	 */
+	private String castTo( String type , boolean redundant ) {
+		return concurrent && redundant ? "" : "("+type+")";
+	}
+
+	/**
+	 * True if arithmetic on integers stored in the smaller type already produces the specified type
+	 */
+	private static boolean isPromoted( String type ) {
+		return type.equals("int") || type.equals("long");
+	}
+
+	/**
+	 * True if the operation rounds a double to a long, which is the specified type
+	 */
+	private static boolean isRoundToLong( String type , String varType , String operation ) {
+		return type.equals("long") && varType.equals("double") && operation.startsWith("Math.round");
+	}
+
 	public void printAll() {
 
 		AutoTypeImage types[] = AutoTypeImage.getSpecificTypes();
@@ -117,6 +175,7 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 			input = t;
 			for (ImageType.Family family : families) {
 				String inputName, columns;
+				String open = openParen(family);
 				if (family == ImageType.Family.INTERLEAVED) {
 					inputName = input.getInterleavedName();
 					columns = "input.width*input.numBands";
@@ -125,10 +184,11 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 					columns = "input.width";
 				}
 
-				out.println(javadoc + "\n" +
-						"\tpublic static void " + funcName + "( " + inputName + " input , " + inputName + " output ) {\n" +
-						"\n" +
-						"\t\tInputSanityCheck.checkSameShape(input,output);\n" +
+				out.print(javadoc + "\n" +
+						"\tpublic static void " + funcName + open + inputName + " input , " + inputName + " output ) {\n" +
+						"\n");
+				printDispatch("input",funcName+"(input,output)");
+				out.println("\t\tInputSanityCheck.checkSameShape(input,output);\n" +
 						"\n" +
 						"\t\tint columns = " + columns + ";\n" +
 						"\t\t" + funcName + "(input.data,input.startIndex,input.stride,\n" +
@@ -143,21 +203,23 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 	public void printArray( String funcName , String operation )
 	{
 		String arrayType = input.getDataType();
-
-		out.println("\tprivate static void "+funcName+"( "+arrayType+"[] input , int inputStart , int inputStride ,\n" +
-				"\t\t\t\t\t\t\t   "+arrayType+"[] output , int outputStart , int outputStride ,\n" +
-				"\t\t\t\t\t\t\t   int rows , int cols )\n" +
-				"\t{\n" +
-				"\t\tfor( int y = 0; y < rows; y++ ) {\n" +
-				"\t\t\tint indexSrc = inputStart + y*inputStride;\n" +
+		String f = finalConcurrent();
+
+		out.print("\tprivate static void "+funcName+"( "+f+arrayType+"[] input , "+f+"int inputStart , "+f+"int inputStride ,\n" +
+				"\t\t\t\t\t\t\t   "+f+arrayType+"[] output , "+f+"int outputStart , "+f+"int outputStride ,\n" +
+				"\t\t\t\t\t\t\t   int rows , "+f+"int cols )\n" +
+				"\t{\n");
+		openRowLoop("\t\t","y","0","rows");
+		out.print("\t\t\tint indexSrc = inputStart + y*inputStride;\n" +
 				"\t\t\tint indexDst = outputStart + y*outputStride;\n" +
 				"\t\t\tint end = indexSrc + cols;\n" +
 				"\n" +
 				"\t\t\tfor( ; indexSrc < end; indexSrc++ , indexDst++) {\n" +
 				"\t\t\t\toutput[indexDst] = "+input.getTypeCastFromSum()+operation +";\n" +
 				"\t\t\t}\n" +
-				"\t\t}\n" +
-				"\t}\n");
+				"\t\t}\n");
+		closeRowLoop();
+		out.println("\t}\n");
 	}
 
 	public void printAbs()
@@ -203,6 +265,7 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 
 			for (ImageType.Family family : families) {
 				String inputName, columns, banded;
+				String open = openParen(family);
 				if (family == ImageType.Family.INTERLEAVED) {
 					inputName = input.getInterleavedName();
 					columns = "input.width*input.numBands";
@@ -216,19 +279,22 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				if( bounded ) {
 					String sumType = input.getSumType();
 
-					String prototype;
+					String prototype, call;
 					if (template.isImageFirst()) {
-						prototype = "( " + inputName + " input , " + variableType + " " + varName +
+						prototype = open + inputName + " input , " + variableType + " " + varName +
 								" , " + sumType +" lower , " +sumType+ " upper , " + inputName + " output )";
+						call = funcName + "(input," + varName + ",lower,upper,output)";
 					} else {
-						prototype = "( " + variableType + " " + varName + " , " + inputName + " input , " +
-								sumType +" lower , " +sumType+ " upper , " + inputName + " output )";;
+						prototype = open + variableType + " " + varName + " , " + inputName + " input , " +
+								sumType +" lower , " +sumType+ " upper , " + inputName + " output )";
+						call = funcName + "(" + varName + ",input,lower,upper,output)";
 					}
 
 					out.println(template.getJavaDoc());
-					out.println("\tpublic static void " + funcName + prototype + " {\n" +
-							"\n" +
-							"\t\tInputSanityCheck.checkSameShape(input,output);\n" +
+					out.print("\tpublic static void " + funcName + prototype + " {\n" +
+							"\n");
+					printDispatch("input",call);
+					out.println("\t\tInputSanityCheck.checkSameShape(input,output);\n" +
 							"\n" +
 							"\t\tint columns = " + columns + ";\n" +
 							"\t\t" + funcArrayName + "(input.data,input.startIndex,input.stride," + varName + ", lower, upper ,\n" +
@@ -236,17 +302,20 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 							"\t\t\t\tinput.height,columns);\n" +
 							"\t}\n");
 				} else {
-					String prototype;
+					String prototype, call;
 					if (template.isImageFirst()) {
-						prototype = "( " + inputName + " input , " + variableType + " " + varName + " , " + inputName + " output )";
+						prototype = open + inputName + " input , " + variableType + " " + varName + " , " + inputName + " output )";
+						call = funcName + "(input," + varName + ",output)";
 					} else {
-						prototype = "( " + variableType + " " + varName + " , " + inputName + " input , " + inputName + " output )";
+						prototype = open + variableType + " " + varName + " , " + inputName + " input , " + inputName + " output )";
+						call = funcName + "(" + varName + ",input,output)";
 					}
 
 					out.println(template.getJavaDoc());
-					out.println("\tpublic static void " + funcName + prototype + " {\n" +
-							"\n" +
-							"\t\tInputSanityCheck.checkSameShape"+banded+"(input,output);\n" +
+					out.print("\tpublic static void " + funcName + prototype + " {\n" +
+							"\n");
+					printDispatch("input",call);
+					out.println("\t\tInputSanityCheck.checkSameShape"+banded+"(input,output);\n" +
 							"\n" +
 							"\t\tint columns = " + columns + ";\n" +
 							"\t\t" + funcArrayName + "(input.data,input.startIndex,input.stride," + varName + " , \n" +
@@ -267,23 +336,26 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 	{
 		String arrayType = input.getDataType();
 
-		String typeCast = varType.equals(input.getDataType()) ? "" : "("+input.getDataType()+")";
-
-		out.println("\tprivate static void "+funcName+"( "+arrayType+"[] input , int inputStart , int inputStride , \n" +
-				"\t\t\t\t\t\t\t   "+varType+" "+varName+" ,\n" +
-				"\t\t\t\t\t\t\t   "+arrayType+"[] output , int outputStart , int outputStride ,\n" +
-				"\t\t\t\t\t\t\t   int rows , int cols )\n" +
-				"\t{\n" +
-				"\t\tfor( int y = 0; y < rows; y++ ) {\n" +
-				"\t\t\tint indexSrc = inputStart + y*inputStride;\n" +
+		String typeCast = varType.equals(input.getDataType()) ? "" :
+				castTo(input.getDataType(), isRoundToLong(input.getDataType(), varType, operation));
+		String f = finalConcurrent();
+
+		out.print("\tprivate static void "+funcName+"( "+f+arrayType+"[] input , "+f+"int inputStart , "+f+"int inputStride , \n" +
+				"\t\t\t\t\t\t\t   "+f+varType+" "+varName+" ,\n" +
+				"\t\t\t\t\t\t\t   "+f+arrayType+"[] output , "+f+"int outputStart , "+f+"int outputStride ,\n" +
+				"\t\t\t\t\t\t\t   int rows , "+f+"int cols )\n" +
+				"\t{\n");
+		openRowLoop("\t\t","y","0","rows");
+		out.print("\t\t\tint indexSrc = inputStart + y*inputStride;\n" +
 				"\t\t\tint indexDst = outputStart + y*outputStride;\n" +
 				"\t\t\tint end = indexSrc + cols;\n" +
 				"\n" +
 				"\t\t\tfor( ; indexSrc < end; indexSrc++ , indexDst++) {\n" +
 				"\t\t\t\toutput[indexDst] = "+typeCast+operation +";\n" +
 				"\t\t\t}\n" +
-				"\t\t}\n" +
-				"\t}\n");
+				"\t\t}\n");
+		closeRowLoop();
+		out.println("\t}\n");
 	}
 
 	public void print_array_scalar_bounded(String funcName , String varType , String varName , String operation  )
@@ -291,15 +363,16 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 		String arrayType = input.getDataType();
 
 		String sumType = input.getSumType();
-		String typeCast = varType.equals(sumType) ? "" : "("+sumType+")";
-
-		out.println("\tprivate static void "+funcName+"( "+arrayType+"[] input , int inputStart , int inputStride , \n" +
-				"\t\t\t\t\t\t\t   "+varType+" "+varName+" , "+sumType+" lower , "+sumType+" upper ,\n" +
-				"\t\t\t\t\t\t\t   "+arrayType+"[] output , int outputStart , int outputStride ,\n" +
-				"\t\t\t\t\t\t\t   int rows , int cols )\n" +
-				"\t{\n" +
-				"\t\tfor( int y = 0; y < rows; y++ ) {\n" +
-				"\t\t\tint indexSrc = inputStart + y*inputStride;\n" +
+		String typeCast = varType.equals(sumType) ? "" : castTo(sumType, isRoundToLong(sumType, varType, operation));
+		String f = finalConcurrent();
+
+		out.print("\tprivate static void "+funcName+"( "+f+arrayType+"[] input , "+f+"int inputStart , "+f+"int inputStride , \n" +
+				"\t\t\t\t\t\t\t   "+f+varType+" "+varName+" , "+f+sumType+" lower , "+f+sumType+" upper ,\n" +
+				"\t\t\t\t\t\t\t   "+f+arrayType+"[] output , "+f+"int outputStart , "+f+"int outputStride ,\n" +
+				"\t\t\t\t\t\t\t   int rows , "+f+"int cols )\n" +
+				"\t{\n");
+		openRowLoop("\t\t","y","0","rows");
+		out.print("\t\t\tint indexSrc = inputStart + y*inputStride;\n" +
 				"\t\t\tint indexDst = outputStart + y*outputStride;\n" +
 				"\t\t\tint end = indexSrc + cols;\n" +
 				"\n" +
@@ -309,14 +382,16 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t\t\t\tif( val > upper ) val = upper;\n" +
 				"\t\t\t\toutput[indexDst] = "+input.getTypeCastFromSum()+"val;\n"+
 				"\t\t\t}\n" +
-				"\t\t}\n" +
-				"\t}\n");
+				"\t\t}\n");
+		closeRowLoop();
+		out.println("\t}\n");
 	}
 
 	public void printBoundImage() {
 
 		String bitWise = input.getBitWise();
 		String sumType = input.getSumType();
+		String f = finalConcurrent();
 
 		out.print("\t/**\n" +
 				"\t * Bounds image pixels to be between these two values\n" +
@@ -325,14 +400,17 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t * @param min minimum value.\n" +
 				"\t * @param max maximum value.\n" +
 				"\t */\n" +
-				"\tpublic static void boundImage( "+input.getSingleBandName()+" img , "+sumType+" min , "+sumType+" max ) {\n" +
-				"\t\tfinal int h = img.getHeight();\n" +
+				"\tpublic static void boundImage("+f+input.getSingleBandName()+" img , "+f+sumType+" min , "+f+sumType+" max ) {\n");
+		printDispatch("img","boundImage(img,min,max)");
+		out.print("\t\tfinal int h = img.getHeight();\n" +
 				"\t\tfinal int w = img.getWidth();\n" +
 				"\n" +
-				"\t\t"+input.getDataType()+"[] data = img.data;\n" +
-				"\n" +
-				"\t\tfor (int y = 0; y < h; y++) {\n" +
-				"\t\t\tint index = img.getStartIndex() + y * img.getStride();\n" +
+				"\t\t"+f+input.getDataType()+"[] data = img.data;\n" +
+				"\n");
+		looseForLoop = true;
+		openRowLoop("\t\t","y","0","h");
+		looseForLoop = false;
+		out.print("\t\t\tint index = img.getStartIndex() + y * img.getStride();\n" +
 				"\t\t\tint indexEnd = index+w;\n" +
 				"\t\t\t// for(int x = 0; x < w; x++ ) {\n" +
 				"\t\t\tfor (; index < indexEnd; index++) {\n" +
@@ -342,16 +420,17 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t\t\t\telse if( value > max )\n" +
 				"\t\t\t\t\tdata[index] = "+input.getTypeCastFromSum()+"max;\n" +
 				"\t\t\t}\n" +
-				"\t\t}\n" +
-				"\t}\n\n");
+				"\t\t}\n");
+		closeRowLoop();
+		out.print("\t}\n\n");
 	}
 
 	public void printDiffAbs() {
 
 		String bitWise = input.getBitWise();
-		String typeCast = input.isInteger() ? "("+input.getDataType()+")" : "";
+		String typeCast = input.isInteger() ? castTo(input.getDataType(), isPromoted(input.getDataType())) : "";
 
-		out.print("\t/**\n" +
+		String javaDoc = "\t/**\n" +
 				"\t * <p>\n" +
 				"\t * Computes the absolute value of the difference between each pixel in the two images.<br>\n" +
 				"\t * d(x,y) = |img1(x,y) - img2(x,y)|\n" +
@@ -359,33 +438,18 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t * @param imgA Input image. Not modified.\n" +
 				"\t * @param imgB Input image. Not modified.\n" +
 				"\t * @param diff Absolute value of difference image. Modified.\n" +
-				"\t */\n" +
-				"\tpublic static void diffAbs( "+input.getSingleBandName()+" imgA , "+input.getSingleBandName()+" imgB , "+input.getSingleBandName()+" diff ) {\n" +
-				"\t\tInputSanityCheck.checkSameShape(imgA,imgB,diff);\n" +
-				"\t\t\n" +
-				"\t\tfinal int h = imgA.getHeight();\n" +
-				"\t\tfinal int w = imgA.getWidth();\n" +
-				"\n" +
-				"\t\tfor (int y = 0; y < h; y++) {\n" +
-				"\t\t\tint indexA = imgA.getStartIndex() + y * imgA.getStride();\n" +
-				"\t\t\tint indexB = imgB.getStartIndex() + y * imgB.getStride();\n" +
-				"\t\t\tint indexDiff = diff.getStartIndex() + y * diff.getStride();\n" +
-				"\t\t\t\n" +
-				"\t\t\tint indexEnd = indexA+w;\n" +
-				"\t\t\t// for(int x = 0; x < w; x++ ) {\n" +
-				"\t\t\tfor (; indexA < indexEnd; indexA++, indexB++, indexDiff++ ) {\n" +
-				"\t\t\t\tdiff.data[indexDiff] = "+typeCast+"Math.abs((imgA.data[indexA] "+bitWise+") - (imgB.data[indexB] "+bitWise+"));\n" +
-				"\t\t\t}\n" +
-				"\t\t}\n" +
-				"\t}\n\n");
+				"\t */\n";
+
+		printTwoImages("diffAbs",javaDoc,input,input,"diff","indexDiff",
+				typeCast+"Math.abs((imgA.data[indexA] "+bitWise+") - (imgB.data[indexB] "+bitWise+"))");
 	}
 
 	public void printAddTwoImages( AutoTypeImage typeIn , AutoTypeImage typeOut  ) {
 
 		String bitWise = typeIn.getBitWise();
-		String typeCast = typeOut.isInteger() ? "("+typeOut.getDataType()+")" : "";
+		String typeCast = typeOut.isInteger() ? castTo(typeOut.getDataType(), isPromoted(typeOut.getDataType())) : "";
 
-		out.print("\t/**\n" +
+		String javaDoc = "\t/**\n" +
 				"\t * <p>\n" +
 				"\t * Performs pixel-wise addition<br>\n" +
 				"\t * output(x,y) = imgA(x,y) + imgB(x,y)\n" +
@@ -393,33 +457,18 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t * @param imgA Input image. Not modified.\n" +
 				"\t * @param imgB Input image. Not modified.\n" +
 				"\t * @param output Output image. Modified.\n" +
-				"\t */\n" +
-				"\tpublic static void add( "+typeIn.getSingleBandName()+" imgA , "+typeIn.getSingleBandName()+" imgB , "+typeOut.getSingleBandName()+" output ) {\n" +
-				"\t\tInputSanityCheck.checkSameShape(imgA,imgB,output);\n" +
-				"\t\t\n" +
-				"\t\tfinal int h = imgA.getHeight();\n" +
-				"\t\tfinal int w = imgA.getWidth();\n" +
-				"\n" +
-				"\t\tfor (int y = 0; y < h; y++) {\n" +
-				"\t\t\tint indexA = imgA.getStartIndex() + y * imgA.getStride();\n" +
-				"\t\t\tint indexB = imgB.getStartIndex() + y * imgB.getStride();\n" +
-				"\t\t\tint indexOut = output.getStartIndex() + y * output.getStride();\n" +
-				"\t\t\t\n" +
-				"\t\t\tint indexEnd = indexA+w;\n" +
-				"\t\t\t// for(int x = 0; x < w; x++ ) {\n" +
-				"\t\t\tfor (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {\n" +
-				"\t\t\t\toutput.data[indexOut] = "+typeCast+"((imgA.data[indexA] "+bitWise+") + (imgB.data[indexB] "+bitWise+"));\n" +
-				"\t\t\t}\n" +
-				"\t\t}\n" +
-				"\t}\n\n");
+				"\t */\n";
+
+		printTwoImages("add",javaDoc,typeIn,typeOut,"output","indexOut",
+				typeCast+"((imgA.data[indexA] "+bitWise+") + (imgB.data[indexB] "+bitWise+"))");
 	}
 
 	public void printSubtractTwoImages( AutoTypeImage typeIn , AutoTypeImage typeOut ) {
 
 		String bitWise = typeIn.getBitWise();
-		String typeCast = typeOut.isInteger() ? "("+typeOut.getDataType()+")" : "";
+		String typeCast = typeOut.isInteger() ? castTo(typeOut.getDataType(), isPromoted(typeOut.getDataType())) : "";
 
-		out.print("\t/**\n" +
+		String javaDoc = "\t/**\n" +
 				"\t * <p>\n" +
 				"\t * Performs pixel-wise subtraction.<br>\n" +
 				"\t * output(x,y) = imgA(x,y) - imgB(x,y)\n" +
@@ -427,26 +476,10 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t * @param imgA Input image. Not modified.\n" +
 				"\t * @param imgB Input image. Not modified.\n" +
 				"\t * @param output Output image. Modified.\n" +
-				"\t */\n" +
-				"\tpublic static void subtract( "+typeIn.getSingleBandName()+" imgA , "+typeIn.getSingleBandName()+" imgB , "
-				+typeOut.getSingleBandName()+" output ) {\n" +
-				"\t\tInputSanityCheck.checkSameShape(imgA,imgB,output);\n" +
-				"\t\t\n" +
-				"\t\tfinal int h = imgA.getHeight();\n" +
-				"\t\tfinal int w = imgA.getWidth();\n" +
-				"\n" +
-				"\t\tfor (int y = 0; y < h; y++) {\n" +
-				"\t\t\tint indexA = imgA.getStartIndex() + y * imgA.getStride();\n" +
-				"\t\t\tint indexB = imgB.getStartIndex() + y * imgB.getStride();\n" +
-				"\t\t\tint indexOut = output.getStartIndex() + y * output.getStride();\n" +
-				"\t\t\t\n" +
-				"\t\t\tint indexEnd = indexA+w;\n" +
-				"\t\t\t// for(int x = 0; x < w; x++ ) {\n" +
-				"\t\t\tfor (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {\n" +
-				"\t\t\t\toutput.data[indexOut] = "+typeCast+"((imgA.data[indexA] "+bitWise+") - (imgB.data[indexB] "+bitWise+"));\n" +
-				"\t\t\t}\n" +
-				"\t\t}\n" +
-				"\t}\n\n");
+				"\t */\n";
+
+		printTwoImages("subtract",javaDoc,typeIn,typeOut,"output","indexOut",
+				typeCast+"((imgA.data[indexA] "+bitWise+") - (imgB.data[indexB] "+bitWise+"))");
 	}
 
 	public void printMultTwoImages( AutoTypeImage typeIn , AutoTypeImage typeOut  ) {
@@ -454,7 +487,7 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 		String bitWise = typeIn.getBitWise();
 		String typeCast = typeOut.isInteger() ? "("+typeOut.getDataType()+")" : "";
 
-		out.print("\t/**\n" +
+		String javaDoc = "\t/**\n" +
 				"\t * <p>\n" +
 				"\t * Performs pixel-wise multiplication<br>\n" +
 				"\t * output(x,y) = imgA(x,y) * imgB(x,y)\n" +
@@ -462,149 +495,154 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t * @param imgA Input image. Not modified.\n" +
 				"\t * @param imgB Input image. Not modified.\n" +
 				"\t * @param output Output image. Modified.\n" +
-				"\t */\n" +
-				"\tpublic static void multiply( "+typeIn.getSingleBandName()+" imgA , "+typeIn.getSingleBandName()+" imgB , "+typeOut.getSingleBandName()+" output ) {\n" +
-				"\t\tInputSanityCheck.checkSameShape(imgA,imgB,output);\n" +
+				"\t */\n";
+
+		printTwoImages("multiply",javaDoc,typeIn,typeOut,"output","indexOut",
+				typeCast+"((imgA.data[indexA] "+bitWise+") * (imgB.data[indexB] "+bitWise+"))");
+	}
+
+	public void printDivTwoImages( AutoTypeImage typeIn , AutoTypeImage typeOut  ) {
+
+		String bitWise = typeIn.getBitWise();
+		String typeCast = typeOut.isInteger() ? "("+typeOut.getDataType()+")" : "";
+
+		String javaDoc = "\t/**\n" +
+				"\t * <p>\n" +
+				"\t * Performs pixel-wise division<br>\n" +
+				"\t * output(x,y) = imgA(x,y) / imgB(x,y)\n" +
+				"\t * </p>\n" +
+				"\t * @param imgA Input image. Not modified.\n" +
+				"\t * @param imgB Input image. Not modified.\n" +
+				"\t * @param output Output image. Modified.\n" +
+				"\t */\n";
+
+		printTwoImages("divide",javaDoc,typeIn,typeOut,"output","indexOut",
+				typeCast+"((imgA.data[indexA] "+bitWise+") / (imgB.data[indexB] "+bitWise+"))");
+	}
+
+	/**
+	 * Prints a function which applies an operation to each pair of pixels in two images
+	 *
+	 * @param outputName Name of the output image
+	 * @param indexOut Name of the index variable for the output image
+	 * @param operation The value which is assigned to the output pixel
+	 */
+	private void printTwoImages( String funcName , String javaDoc ,
+								 AutoTypeImage typeIn , AutoTypeImage typeOut ,
+								 String outputName , String indexOut , String operation ) {
+		String f = finalConcurrent();
+		// GrayI16 is generic, avoid a raw type in the new code
+		String outputType = typeOut.getSingleBandName() + (concurrent && typeOut == AutoTypeImage.I16 ? "<?>" : "");
+
+		out.print(javaDoc +
+				"\tpublic static void "+funcName+"("+f+typeIn.getSingleBandName()+" imgA , "+f+typeIn.getSingleBandName()+" imgB , "
+				+f+outputType+" "+outputName+" ) {\n");
+		printDispatch("imgA",funcName+"(imgA,imgB,"+outputName+")");
+		out.print("\t\tInputSanityCheck.checkSameShape(imgA,imgB,"+outputName+");\n" +
 				"\t\t\n" +
 				"\t\tfinal int h = imgA.getHeight();\n" +
 				"\t\tfinal int w = imgA.getWidth();\n" +
-				"\n" +
-				"\t\tfor (int y = 0; y < h; y++) {\n" +
-				"\t\t\tint indexA = imgA.getStartIndex() + y * imgA.getStride();\n" +
+				"\n");
+		looseForLoop = true;
+		openRowLoop("\t\t","y","0","h");
+		looseForLoop = false;
+		out.print("\t\t\tint indexA = imgA.getStartIndex() + y * imgA.getStride();\n" +
 				"\t\t\tint indexB = imgB.getStartIndex() + y * imgB.getStride();\n" +
-				"\t\t\tint indexOut = output.getStartIndex() + y * output.getStride();\n" +
+				"\t\t\tint "+indexOut+" = "+outputName+".getStartIndex() + y * "+outputName+".getStride();\n" +
 				"\t\t\t\n" +
 				"\t\t\tint indexEnd = indexA+w;\n" +
 				"\t\t\t// for(int x = 0; x < w; x++ ) {\n" +
-				"\t\t\tfor (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {\n" +
-				"\t\t\t\toutput.data[indexOut] = "+typeCast+"((imgA.data[indexA] "+bitWise+") * (imgB.data[indexB] "+bitWise+"));\n" +
+				"\t\t\tfor (; indexA < indexEnd; indexA++, indexB++, "+indexOut+"++ ) {\n" +
+				"\t\t\t\t"+outputName+".data["+indexOut+"] = "+operation+";\n" +
 				"\t\t\t}\n" +
-				"\t\t}\n" +
-				"\t}\n\n");
+				"\t\t}\n");
+		closeRowLoop();
+		out.print("\t}\n\n");
 	}
 
 	public void printLog( AutoTypeImage typeIn , AutoTypeImage typeOut ) {
 		String bitWise = typeIn.getBitWise();
 		String typeCast = typeOut != AutoTypeImage.F64 ? "("+typeOut.getDataType()+")" : "";
 
-		out.print("\t/**\n" +
+		String javaDoc = "\t/**\n" +
 				"\t * Sets each pixel in the output image to log( 1 + input(x,y)) of the input image.\n" +
 				"\t * Both the input and output image can be the same instance.\n" +
 				"\t *\n" +
 				"\t * @param input The input image. Not modified.\n" +
 				"\t * @param output Where the log image is written to. Modified.\n" +
-				"\t */\n" +
-				"\tpublic static void log( "+typeIn.getSingleBandName()+" input , "+typeOut.getSingleBandName()+" output ) {\n" +
-				"\n" +
-				"\t\tInputSanityCheck.checkSameShape(input,output);\n" +
-				"\n" +
-				"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
-				"\t\t\tint indexSrc = input.startIndex + y* input.stride;\n" +
-				"\t\t\tint indexDst = output.startIndex + y* output.stride;\n" +
-				"\t\t\tint end = indexSrc + input.width;\n" +
-				"\n" +
-				"\t\t\tfor( ; indexSrc < end; indexSrc++ , indexDst++) {\n" +
-				"\t\t\t\toutput.data[indexDst] = "+typeCast+"Math.log(1 + input.data[indexSrc]"+bitWise+");\n" +
-				"\t\t\t}\n" +
-				"\t\t}\n" +
-				"\t}\n\n");
+				"\t */\n";
+
+		printOneImage("log",javaDoc,typeIn,typeOut,
+				"\t\t\t\toutput.data[indexDst] = "+typeCast+"Math.log(1 + input.data[indexSrc]"+bitWise+");\n");
 	}
 
 	public void printPow2( AutoTypeImage typeIn , AutoTypeImage typeOut ) {
 		String bitWise = typeIn.getBitWise();
 
-		out.print("\t/**\n" +
+		String javaDoc = "\t/**\n" +
 				"\t * Raises each pixel in the input image to the power of two. Both the input and output image can be the \n" +
 				"\t * same instance." +
 				"\t *\n" +
 				"\t * @param input The input image. Not modified.\n" +
 				"\t * @param output Where the pow2 image is written to. Modified.\n" +
-				"\t */\n" +
-				"\tpublic static void pow2( "+typeIn.getSingleBandName()+" input , "+typeOut.getSingleBandName()+" output ) {\n" +
-				"\n" +
-				"\t\tInputSanityCheck.checkSameShape(input,output);\n" +
-				"\n" +
-				"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
-				"\t\t\tint indexSrc = input.startIndex + y* input.stride;\n" +
-				"\t\t\tint indexDst = output.startIndex + y* output.stride;\n" +
-				"\t\t\tint end = indexSrc + input.width;\n" +
-				"\n" +
-				"\t\t\tfor( ; indexSrc < end; indexSrc++ , indexDst++) {\n" +
+				"\t */\n";
+
+		printOneImage("pow2",javaDoc,typeIn,typeOut,
 				"\t\t\t\t"+typeOut.getDataType()+" v = input.data[indexSrc]"+bitWise+";\n" +
-				"\t\t\t\toutput.data[indexDst] = v*v;\n" +
-				"\t\t\t}\n" +
-				"\t\t}\n" +
-				"\t}\n\n");
+				"\t\t\t\toutput.data[indexDst] = v*v;\n");
 	}
 
 	public void printSqrt( AutoTypeImage typeIn , AutoTypeImage typeOut ) {
 		String bitWise = typeIn.getBitWise();
 		String typeCast = typeOut != AutoTypeImage.F64 ? "("+typeOut.getDataType()+")" : "";
 
-		out.print("\t/**\n" +
+		String javaDoc = "\t/**\n" +
 				"\t * Computes the square root of each pixel in the input image. Both the input and output image can be the\n" +
 				"\t * same instance.\n" +
 				"\t *\n" +
 				"\t * @param input The input image. Not modified.\n" +
 				"\t * @param output Where the sqrt() image is written to. Modified.\n" +
-				"\t */\n" +
-				"\tpublic static void sqrt( "+typeIn.getSingleBandName()+" input , "+typeOut.getSingleBandName()+" output ) {\n" +
-				"\n" +
-				"\t\tInputSanityCheck.checkSameShape(input,output);\n" +
-				"\n" +
-				"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
-				"\t\t\tint indexSrc = input.startIndex + y* input.stride;\n" +
+				"\t */\n";
+
+		printOneImage("sqrt",javaDoc,typeIn,typeOut,
+				"\t\t\t\toutput.data[indexDst] = "+typeCast+"Math.sqrt(input.data[indexSrc]"+bitWise+");\n");
+	}
+
+	/**
+	 * Prints a function which applies an operation to each pixel in the input image and writes it to the output
+	 *
+	 * @param operation Code inside the inner loop
+	 */
+	private void printOneImage( String funcName , String javaDoc ,
+								AutoTypeImage typeIn , AutoTypeImage typeOut , String operation ) {
+		String f = finalConcurrent();
+
+		out.print(javaDoc +
+				"\tpublic static void "+funcName+"("+f+typeIn.getSingleBandName()+" input , "+f+typeOut.getSingleBandName()+" output ) {\n" +
+				"\n");
+		printDispatch("input",funcName+"(input,output)");
+		out.print("\t\tInputSanityCheck.checkSameShape(input,output);\n" +
+				"\n");
+		openRowLoop("\t\t","y","0","input.height");
+		out.print("\t\t\tint indexSrc = input.startIndex + y* input.stride;\n" +
 				"\t\t\tint indexDst = output.startIndex + y* output.stride;\n" +
 				"\t\t\tint end = indexSrc + input.width;\n" +
 				"\n" +
 				"\t\t\tfor( ; indexSrc < end; indexSrc++ , indexDst++) {\n" +
-				"\t\t\t\toutput.data[indexDst] = "+typeCast+"Math.sqrt(input.data[indexSrc]"+bitWise+");\n" +
+				operation +
 				"\t\t\t}\n" +
-				"\t\t}\n" +
-				"\t}\n\n");
+				"\t\t}\n");
+		closeRowLoop();
+		out.print("\t}\n\n");
 	}
 
-	public void printDivTwoImages( AutoTypeImage typeIn , AutoTypeImage typeOut  ) {
-
-		String bitWise = typeIn.getBitWise();
-		String typeCast = typeOut.isInteger() ? "("+typeOut.getDataType()+")" : "";
-
-		out.print("\t/**\n" +
-				"\t * <p>\n" +
-				"\t * Performs pixel-wise division<br>\n" +
-				"\t * output(x,y) = imgA(x,y) / imgB(x,y)\n" +
-				"\t * </p>\n" +
-				"\t * @param imgA Input image. Not modified.\n" +
-				"\t * @param imgB Input image. Not modified.\n" +
-				"\t * @param output Output image. Modified.\n" +
-				"\t */\n" +
-				"\tpublic static void divide( "+typeIn.getSingleBandName()+" imgA , "+typeIn.getSingleBandName()+" imgB , "+typeOut.getSingleBandName()+" output ) {\n" +
-				"\t\tInputSanityCheck.checkSameShape(imgA,imgB,output);\n" +
-				"\t\t\n" +
-				"\t\tfinal int h = imgA.getHeight();\n" +
-				"\t\tfinal int w = imgA.getWidth();\n" +
-				"\n" +
-				"\t\tfor (int y = 0; y < h; y++) {\n" +
-				"\t\t\tint indexA = imgA.getStartIndex() + y * imgA.getStride();\n" +
-				"\t\t\tint indexB = imgB.getStartIndex() + y * imgB.getStride();\n" +
-				"\t\t\tint indexOut = output.getStartIndex() + y * output.getStride();\n" +
-				"\t\t\t\n" +
-				"\t\t\tint indexEnd = indexA+w;\n" +
-				"\t\t\t// for(int x = 0; x < w; x++ ) {\n" +
-				"\t\t\tfor (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {\n" +
-				"\t\t\t\toutput.data[indexOut] = "+typeCast+"((imgA.data[indexA] "+bitWise+") / (imgB.data[indexB] "+bitWise+"));\n" +
-				"\t\t\t}\n" +
-				"\t\t}\n" +
-				"\t}\n\n");
-	}
-
-
 	public void printAverageBand() {
 		
 		String imageName = input.getSingleBandName();
 		String sumType = input.getSumType();
 		String typecast = input.getTypeCastFromSum();
 		String bitwise = input.getBitWise();
+		String f = finalConcurrent();
 		
 		out.print("\t/**\n" +
 				"\t * Computes the average for each pixel across all bands in the {@link Planar} image.\n" +
@@ -612,14 +650,17 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t * @param input Planar image\n" +
 				"\t * @param output Gray scale image containing average pixel values\n" +
 				"\t */\n" +
-				"\tpublic static void averageBand( Planar<"+imageName+"> input , "+imageName+" output ) {\n" +
-				"\t\tfinal int h = input.getHeight();\n" +
+				"\tpublic static void averageBand("+f+"Planar<"+imageName+"> input , "+f+imageName+" output ) {\n");
+		printDispatch("input","averageBand(input,output)");
+		out.print("\t\tfinal int h = input.getHeight();\n" +
 				"\t\tfinal int w = input.getWidth();\n" +
 				"\n" +
-				"\t\t"+imageName+"[] bands = input.bands;\n" +
-				"\t\t\n" +
-				"\t\tfor (int y = 0; y < h; y++) {\n" +
-				"\t\t\tint indexInput = input.getStartIndex() + y * input.getStride();\n" +
+				"\t\t"+f+imageName+"[] bands = input.bands;\n" +
+				"\t\t\n");
+		looseForLoop = true;
+		openRowLoop("\t\t","y","0","h");
+		looseForLoop = false;
+		out.print("\t\t\tint indexInput = input.getStartIndex() + y * input.getStride();\n" +
 				"\t\t\tint indexOutput = output.getStartIndex() + y * output.getStride();\n" +
 				"\n" +
 				"\t\t\tint indexEnd = indexInput+w;\n" +
@@ -631,8 +672,9 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t\t\t\t}\n" +
 				"\t\t\t\toutput.data[indexOutput] = "+typecast+"(total / bands.length);\n" +
 				"\t\t\t}\n" +
-				"\t\t}\n" +
-				"\t}\n\n");
+				"\t\t}\n");
+		closeRowLoop();
+		out.print("\t}\n\n");
 	}
 
 
@@ -802,7 +844,9 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 	}
 
 	public static void main( String args[] ) throws FileNotFoundException {
-		GeneratePixelMath gen = new GeneratePixelMath();
+		GeneratePixelMath gen = new GeneratePixelMath(false);
+		gen.generate();
+		gen = new GeneratePixelMath(true);
 		gen.generate();
 	}
 }
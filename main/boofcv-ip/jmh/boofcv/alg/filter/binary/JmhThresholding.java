@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.binary;
+
+import boofcv.alg.filter.binary.impl.ThresholdSauvola;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.alg.misc.ImageStatistics;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark for global and locally adaptive thresholding.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JmhThresholding {
+
+	@Param({"640"})
+	public int width;
+	@Param({"480"})
+	public int height;
+	@Param({"10"})
+	public int radius;
+
+	GrayU8 inputU8 = new GrayU8(1,1);
+	GrayF32 inputF32 = new GrayF32(1,1);
+	GrayU8 output = new GrayU8(1,1);
+	GrayU8 work1U8 = new GrayU8(1,1);
+	GrayU8 work2U8 = new GrayU8(1,1);
+	GrayF32 work1F32 = new GrayF32(1,1);
+	GrayF32 work2F32 = new GrayF32(1,1);
+
+	int histogram[] = new int[256];
+
+	ThresholdSauvola sauvola;
+
+	@Setup
+	public void setup() {
+		Random rand = new Random(234);
+
+		inputU8.reshape(width,height);
+		inputF32.reshape(width,height);
+		output.reshape(width,height);
+		work1U8.reshape(width,height);
+		work2U8.reshape(width,height);
+		work1F32.reshape(width,height);
+		work2F32.reshape(width,height);
+		ImageMiscOps.fillUniform(inputU8,rand,0,256);
+		ImageMiscOps.fillUniform(inputF32,rand,0,256);
+
+		sauvola = new ThresholdSauvola(radius,0.3f,true);
+	}
+
+	@Benchmark
+	public void global_U8() {
+		ThresholdImageOps.threshold(inputU8,output,125,true);
+	}
+
+	@Benchmark
+	public void global_F32() {
+		ThresholdImageOps.threshold(inputF32,output,125,true);
+	}
+
+	@Benchmark
+	public void globalOtsu_U8() {
+		ImageStatistics.histogram(inputU8,0,histogram);
+		int threshold = GThresholdImageOps.computeOtsu(histogram,histogram.length,inputU8.width*inputU8.height);
+		ThresholdImageOps.threshold(inputU8,output,threshold,true);
+	}
+
+	@Benchmark
+	public void localSquare_U8() {
+		ThresholdImageOps.localSquare(inputU8,output,radius,0.95f,true,work1U8,work2U8);
+	}
+
+	@Benchmark
+	public void localSquare_F32() {
+		ThresholdImageOps.localSquare(inputF32,output,radius,0.95f,true,work1F32,work2F32);
+	}
+
+	@Benchmark
+	public void localGaussian_U8() {
+		ThresholdImageOps.localGaussian(inputU8,output,radius,0.95f,true,work1U8,work2U8);
+	}
+
+	@Benchmark
+	public void localSauvola_F32() {
+		sauvola.process(inputF32,output);
+	}
+}
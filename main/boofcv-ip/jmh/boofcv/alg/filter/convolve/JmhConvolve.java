@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.convolve;
+
+import boofcv.alg.filter.blur.BlurImageOps;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.factory.filter.kernel.FactoryKernelGaussian;
+import boofcv.struct.convolve.Kernel1D_F32;
+import boofcv.struct.convolve.Kernel1D_S32;
+import boofcv.struct.convolve.Kernel2D_F32;
+import boofcv.struct.convolve.Kernel2D_S32;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayS16;
+import boofcv.struct.image.GrayU8;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark for image convolution and the blur operations which are built on top of it.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JmhConvolve {
+
+	@Param({"640"})
+	public int width;
+	@Param({"480"})
+	public int height;
+	@Param({"2","5"})
+	public int radius;
+
+	Kernel1D_F32 kernelF32;
+	Kernel1D_S32 kernelI32;
+	Kernel2D_F32 kernel2F32;
+	Kernel2D_S32 kernel2I32;
+
+	GrayU8 inputU8 = new GrayU8(1,1);
+	GrayS16 outputS16 = new GrayS16(1,1);
+	GrayU8 outputU8 = new GrayU8(1,1);
+	GrayU8 storageU8 = new GrayU8(1,1);
+	GrayF32 inputF32 = new GrayF32(1,1);
+	GrayF32 outputF32 = new GrayF32(1,1);
+	GrayF32 storageF32 = new GrayF32(1,1);
+
+	@Setup
+	public void setup() {
+		Random rand = new Random(234);
+
+		kernelF32 = FactoryKernelGaussian.gaussian(Kernel1D_F32.class,-1,radius);
+		kernelI32 = FactoryKernelGaussian.gaussian(Kernel1D_S32.class,-1,radius);
+		kernel2F32 = FactoryKernelGaussian.gaussian(Kernel2D_F32.class,-1,radius);
+		kernel2I32 = FactoryKernelGaussian.gaussian(Kernel2D_S32.class,-1,radius);
+
+		inputU8.reshape(width,height);
+		outputS16.reshape(width,height);
+		outputU8.reshape(width,height);
+		storageU8.reshape(width,height);
+		inputF32.reshape(width,height);
+		outputF32.reshape(width,height);
+		storageF32.reshape(width,height);
+
+		ImageMiscOps.fillUniform(inputU8,rand,0,200);
+		ImageMiscOps.fillUniform(inputF32,rand,0,200);
+	}
+
+	@Benchmark
+	public void horizontal_F32() {
+		ConvolveImageNoBorder.horizontal(kernelF32,inputF32,outputF32);
+	}
+
+	@Benchmark
+	public void vertical_F32() {
+		ConvolveImageNoBorder.vertical(kernelF32,inputF32,outputF32);
+	}
+
+	@Benchmark
+	public void convolve2D_F32() {
+		ConvolveImageNoBorder.convolve(kernel2F32,inputF32,outputF32);
+	}
+
+	@Benchmark
+	public void horizontal_U8_I16() {
+		ConvolveImageNoBorder.horizontal(kernelI32,inputU8,outputS16);
+	}
+
+	@Benchmark
+	public void vertical_U8_I16() {
+		ConvolveImageNoBorder.vertical(kernelI32,inputU8,outputS16);
+	}
+
+	@Benchmark
+	public void convolve2D_U8_I16() {
+		ConvolveImageNoBorder.convolve(kernel2I32,inputU8,outputS16);
+	}
+
+	@Benchmark
+	public void blurGaussian_U8() {
+		BlurImageOps.gaussian(inputU8,outputU8,-1,radius,storageU8);
+	}
+
+	@Benchmark
+	public void blurGaussian_F32() {
+		BlurImageOps.gaussian(inputF32,outputF32,-1,radius,storageF32);
+	}
+
+	@Benchmark
+	public void blurMean_U8() {
+		BlurImageOps.mean(inputU8,outputU8,radius,storageU8);
+	}
+
+	@Benchmark
+	public void blurMean_F32() {
+		BlurImageOps.mean(inputF32,outputF32,radius,storageF32);
+	}
+}
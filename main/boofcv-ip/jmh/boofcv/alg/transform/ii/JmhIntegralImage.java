@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.ii;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayS32;
+import boofcv.struct.image.GrayU8;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark for computing integral images and convolving kernels across them.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JmhIntegralImage {
+
+	@Param({"640"})
+	public int width;
+	@Param({"480"})
+	public int height;
+
+	GrayU8 inputU8 = new GrayU8(1,1);
+	GrayF32 inputF32 = new GrayF32(1,1);
+	GrayS32 integralS32 = new GrayS32(1,1);
+	GrayF32 integralF32 = new GrayF32(1,1);
+	GrayF32 outputF32 = new GrayF32(1,1);
+
+	IntegralKernel kernelXX;
+
+	@Setup
+	public void setup() {
+		Random rand = new Random(234);
+
+		inputU8.reshape(width,height);
+		inputF32.reshape(width,height);
+		integralS32.reshape(width,height);
+		integralF32.reshape(width,height);
+		outputF32.reshape(width,height);
+		ImageMiscOps.fillUniform(inputU8,rand,0,200);
+		ImageMiscOps.fillUniform(inputF32,rand,0,200);
+
+		IntegralImageOps.transform(inputF32,integralF32);
+		kernelXX = DerivativeIntegralImage.kernelDerivXX(9,null);
+	}
+
+	@Benchmark
+	public void transform_U8() {
+		IntegralImageOps.transform(inputU8,integralS32);
+	}
+
+	@Benchmark
+	public void transform_F32() {
+		IntegralImageOps.transform(inputF32,integralF32);
+	}
+
+	@Benchmark
+	public void convolve_F32() {
+		IntegralImageOps.convolve(integralF32,kernelXX,outputF32);
+	}
+
+	@Benchmark
+	public void convolveBorder_F32() {
+		IntegralImageOps.convolveBorder(integralF32,kernelXX,outputF32,4,4);
+	}
+}
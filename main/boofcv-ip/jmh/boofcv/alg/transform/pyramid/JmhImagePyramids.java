@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.pyramid;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.factory.transform.pyramid.FactoryPyramid;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageType;
+import boofcv.struct.pyramid.PyramidDiscrete;
+import boofcv.struct.pyramid.PyramidFloat;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark for updating the different types of image pyramids.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JmhImagePyramids {
+
+	@Param({"640"})
+	public int width;
+	@Param({"480"})
+	public int height;
+	@Param({"false","true"})
+	public boolean concurrent;
+
+	GrayU8 inputU8 = new GrayU8(1,1);
+	GrayF32 inputF32 = new GrayF32(1,1);
+
+	PyramidDiscrete<GrayU8> discreteU8;
+	PyramidDiscrete<GrayF32> discreteF32;
+	PyramidDiscrete<GrayF32> averageF32;
+	PyramidFloat<GrayF32> floatF32;
+	PyramidFloat<GrayF32> scaleSpaceF32;
+
+	@Setup
+	public void setup() {
+		Random rand = new Random(234);
+		BoofConcurrency.USE_CONCURRENT = concurrent;
+
+		inputU8.reshape(width,height);
+		inputF32.reshape(width,height);
+		ImageMiscOps.fillUniform(inputU8,rand,0,200);
+		ImageMiscOps.fillUniform(inputF32,rand,0,200);
+
+		int scales[] = new int[]{1,2,4,8};
+		discreteU8 = FactoryPyramid.discreteGaussian(scales,-1,2,false, ImageType.single(GrayU8.class));
+		discreteF32 = FactoryPyramid.discreteGaussian(scales,-1,2,false, ImageType.single(GrayF32.class));
+		averageF32 = FactoryPyramid.discreteAverage(scales,false, ImageType.single(GrayF32.class),concurrent);
+		floatF32 = FactoryPyramid.floatGaussian(new double[]{1,1.5,2,3,4},new double[]{1,1,1,1,1},GrayF32.class);
+		scaleSpaceF32 = FactoryPyramid.scaleSpacePyramid(new double[]{1,2,4,8},GrayF32.class);
+
+		// the first call declares all the layers
+		discreteU8.process(inputU8);
+		discreteF32.process(inputF32);
+		averageF32.process(inputF32);
+		floatF32.process(inputF32);
+		scaleSpaceF32.process(inputF32);
+	}
+
+	@Benchmark
+	public void discreteGaussian_U8() {
+		discreteU8.process(inputU8);
+	}
+
+	@Benchmark
+	public void discreteGaussian_F32() {
+		discreteF32.process(inputF32);
+	}
+
+	@Benchmark
+	public void discreteAverage_F32() {
+		averageF32.process(inputF32);
+	}
+
+	@Benchmark
+	public void floatGaussian_F32() {
+		floatF32.process(inputF32);
+	}
+
+	@Benchmark
+	public void scaleSpacePyramid_F32() {
+		scaleSpaceF32.process(inputF32);
+	}
+}
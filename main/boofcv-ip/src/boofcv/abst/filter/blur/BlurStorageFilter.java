@@ -18,10 +18,18 @@
 
 package boofcv.abst.filter.blur;
 
+import boofcv.alg.filter.blur.BlurImageOps;
 import boofcv.alg.filter.blur.GBlurImageOps;
-import boofcv.core.image.GeneralizedImageOps;
+import boofcv.alg.filter.blur.impl.ImplMedianHistogramConstant;
+import boofcv.alg.filter.convolve.GConvolveImageOps;
+import boofcv.factory.filter.kernel.FactoryKernel;
+import boofcv.factory.filter.kernel.FactoryKernelGaussian;
+import boofcv.struct.convolve.Kernel1D;
+import boofcv.struct.image.GrayU8;
 import boofcv.struct.image.ImageBase;
+import boofcv.struct.image.ImageGray;
 import boofcv.struct.image.ImageType;
+import boofcv.struct.image.Planar;
 
 /**
  * Simplified interface for using a blur filter that requires storage.  Reflections are used to look up a function inside
@@ -32,7 +40,7 @@ import boofcv.struct.image.ImageType;
 public class BlurStorageFilter<T extends ImageBase<T>> implements BlurFilter<T> {
 
 	// Wrapper around performed operation
-	private BlurOperation operation;
+	private BlurOperation<T> operation;
 
 	// the Gaussian's standard deviation
 	private double sigma;
@@ -40,6 +48,8 @@ public class BlurStorageFilter<T extends ImageBase<T>> implements BlurFilter<T>
 	private int radius;
 	// stores intermediate results
 	private T storage;
+	// stores intermediate results for each band when the input is Planar
+	private ImageGray<?> storageBand;
 
 	// type of image it processes
 	ImageType<T> inputType;
@@ -68,7 +78,7 @@ public class BlurStorageFilter<T extends ImageBase<T>> implements BlurFilter<T>
 
 	private void createStorage() {
 		if( inputType.getFamily() == ImageType.Family.PLANAR ) {
-			storage = (T)GeneralizedImageOps.createSingleBand(inputType.getImageClass(),1,1);
+			storageBand = ImageType.single(inputType.getDataType()).createImage(1,1);
 		} else {
 			storage = inputType.createImage(1,1);
 		}
@@ -93,6 +103,8 @@ public class BlurStorageFilter<T extends ImageBase<T>> implements BlurFilter<T>
 	public void process(T input, T output) {
 		if( storage != null )
 			storage.reshape(output.width, output.height);
+		if( storageBand != null )
+			storageBand.reshape(output.width, output.height);
 		operation.process(input,output);
 	}
 
@@ -116,28 +128,72 @@ public class BlurStorageFilter<T extends ImageBase<T>> implements BlurFilter<T>
 		return inputType;
 	}
 
-	private interface BlurOperation {
-		public void process(ImageBase input , ImageBase output );
+	private interface BlurOperation<T> {
+		public void process(T input , T output );
 	}
 
-	private class MeanOperation implements BlurOperation {
+	private class MeanOperation implements BlurOperation<T> {
 		@Override
-		public void process(ImageBase input, ImageBase output) {
-			GBlurImageOps.mean(input,output,radius,storage);
+		public void process(T input, T output) {
+			GBlurImageOps.mean(input,output,radius,storageBand != null ? storageBand : storage);
 		}
 	}
 
-	private class GaussianOperation implements BlurOperation {
+	/**
+	 * Same as {@link GBlurImageOps#gaussian} but the kernel is only created when the radius changes instead of
+	 * every time an image is processed.
+	 */
+	private class GaussianOperation implements BlurOperation<T> {
+		Kernel1D kernel;
+		// the radius the kernel was created with
+		int kernelRadius;
+
 		@Override
-		public void process(ImageBase input, ImageBase output) {
-			GBlurImageOps.gaussian(input,output,sigma,radius,storage);
+		public void process(T input, T output) {
+			if( kernel == null || kernelRadius != radius ) {
+				Class<Kernel1D> kernelType = FactoryKernel.getKernelType(inputType.getDataType(),1);
+				kernel = FactoryKernelGaussian.gaussian(kernelType,sigma,radius);
+				kernelRadius = radius;
+			}
+
+			if( input instanceof Planar ) {
+				processBands((Planar<?>)input,(Planar<?>)output);
+			} else {
+				convolve(input, output, storage);
+			}
+		}
+
+		private <B extends ImageGray<B>> void processBands( Planar<B> input , Planar<?> output ) {
+			Class<B> bandType = input.getBandType();
+			B work = bandType.cast(storageBand);
+			for( int i = 0; i < input.getNumBands(); i++ ) {
+				convolve(input.getBand(i), bandType.cast(output.getBand(i)), work);
+			}
+		}
+
+		private <I extends ImageBase<I>> void convolve( I input , I output , I work ) {
+			GConvolveImageOps.horizontalNormalized(kernel, input, work);
+			GConvolveImageOps.verticalNormalized(kernel, work, output);
 		}
 	}
 
-	private class MedianOperator implements BlurOperation {
+	private class MedianOperator implements BlurOperation<T> {
+		// storage for the constant time algorithm, which is used with large radii
+		ImplMedianHistogramConstant work = new ImplMedianHistogramConstant();
+
 		@Override
-		public void process(ImageBase input, ImageBase output) {
-			GBlurImageOps.median(input,output,radius);
+		public void process(T input, T output) {
+			if( input instanceof GrayU8 ) {
+				BlurImageOps.median((GrayU8)input,(GrayU8)output,radius,work);
+			} else if( input instanceof Planar && ((Planar<?>)input).getBandType() == GrayU8.class ) {
+				Planar<?> in = (Planar<?>)input;
+				Planar<?> out = (Planar<?>)output;
+				for( int i = 0; i < in.getNumBands(); i++ ) {
+					BlurImageOps.median((GrayU8)in.getBand(i),(GrayU8)out.getBand(i),radius,work);
+				}
+			} else {
+				GBlurImageOps.median(input,output,radius);
+			}
 		}
 	}
 }
@@ -44,6 +44,9 @@ public class GenericConvolveDown<Input extends ImageBase<Input>, Output extends
 	ImageType<Input> inputType;
 	ImageType<Output> outputType;
 
+	// arguments passed to the method.  Saved to avoid creating a new array each call
+	private Object args[] = new Object[4];
+
 	public GenericConvolveDown(Method m, KernelBase kernel,
 							   BorderType type, int skip ,
 							   ImageType<Input> inputType,
@@ -67,9 +70,16 @@ public class GenericConvolveDown<Input extends ImageBase<Input>, Output extends
 	@Override
 	public void process(Input input, Output output) {
 		try {
-			m.invoke(null,kernel,input,output,skip);
+			args[0] = kernel;
+			args[1] = input;
+			args[2] = output;
+			args[3] = skip;
+			m.invoke(null,args);
 		} catch (IllegalAccessException | InvocationTargetException e) {
 			throw new RuntimeException(e);
+		} finally {
+			// don't hold onto references to the images
+			args[1] = args[2] = null;
 		}
 	}
 
@@ -44,6 +44,9 @@ public class ImageGradient_Reflection<Input extends ImageGray<Input>, Output ext
 	// the image derivative function
 	private Method m;
 
+	// arguments passed to the method.  Saved to avoid creating a new array each call
+	private Object args[] = new Object[4];
+
 	public ImageGradient_Reflection(Method m) {
 		this.m = m;
 		setBorderType(borderType);
@@ -52,9 +55,16 @@ public class ImageGradient_Reflection<Input extends ImageGray<Input>, Output ext
 	@Override
 	public void process(Input inputImage , Output derivX, Output derivY) {
 		try {
-			m.invoke(null,inputImage, derivX, derivY, border);
+			args[0] = inputImage;
+			args[1] = derivX;
+			args[2] = derivY;
+			args[3] = border;
+			m.invoke(null,args);
 		} catch (IllegalAccessException | InvocationTargetException e) {
 			throw new RuntimeException(e);
+		} finally {
+			// don't hold onto references to the images
+			args[0] = args[1] = args[2] = null;
 		}
 	}
 
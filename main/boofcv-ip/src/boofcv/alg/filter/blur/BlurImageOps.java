@@ -19,11 +19,13 @@
 package boofcv.alg.filter.blur;
 
 import boofcv.alg.InputSanityCheck;
+import boofcv.alg.filter.blur.impl.ImplMedianHistogramConstant;
 import boofcv.alg.filter.blur.impl.ImplMedianHistogramInner;
 import boofcv.alg.filter.blur.impl.ImplMedianSortEdgeNaive;
 import boofcv.alg.filter.blur.impl.ImplMedianSortNaive;
 import boofcv.alg.filter.convolve.ConvolveImageMean;
 import boofcv.alg.filter.convolve.ConvolveNormalized;
+import boofcv.alg.misc.ImageStatistics;
 import boofcv.core.image.GeneralizedImageOps;
 import boofcv.factory.filter.kernel.FactoryKernelGaussian;
 import boofcv.struct.convolve.Kernel1D_F32;
@@ -39,6 +41,12 @@ import boofcv.struct.image.*;
  */
 public class BlurImageOps {
 
+	/**
+	 * Median filters with a radius at least this large use {@link ImplMedianHistogramConstant}, which
+	 * takes constant time per pixel.  Found using BenchmarkMedianFilter.
+	 */
+	public static final int MEDIAN_CONSTANT_RADIUS = 7;
+
 	/**
 	 * Applies a mean box filter.
 	 *
@@ -63,7 +71,8 @@ public class BlurImageOps {
 	}
 
 	/**
-	 * Applies a median filter.
+	 * Applies a median filter.  For large radii an algorithm which takes constant time per pixel is used,
+	 * see {@link #MEDIAN_CONSTANT_RADIUS}.
 	 *
 	 * @param input Input image.  Not modified.
 	 * @param output (Optional) Storage for output image, Can be null.  Modified.
@@ -71,6 +80,21 @@ public class BlurImageOps {
 	 * @return Output blurred image.
 	 */
 	public static GrayU8 median(GrayU8 input, GrayU8 output, int radius) {
+		return median(input, output, radius, null);
+	}
+
+	/**
+	 * Applies a median filter.  For large radii an algorithm which takes constant time per pixel is used,
+	 * see {@link #MEDIAN_CONSTANT_RADIUS}.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output (Optional) Storage for output image, Can be null.  Modified.
+	 * @param radius Radius of the median blur function.
+	 * @param work (Optional) Work storage for the constant time algorithm.  Can be reused between calls.
+	 *             Must have 256 bins.  Can be null.
+	 * @return Output blurred image.
+	 */
+	public static GrayU8 median(GrayU8 input, GrayU8 output, int radius, ImplMedianHistogramConstant work) {
 		if( radius <= 0 )
 			throw new IllegalArgumentException("Radius must be > 0");
 
@@ -78,9 +102,15 @@ public class BlurImageOps {
 
 		int w = radius*2+1;
 		int offset[] = new int[ w*w ];
-		int histogram[] = new int[ 256 ];
 
-		ImplMedianHistogramInner.process(input, output, radius, offset, histogram);
+		if( radius >= MEDIAN_CONSTANT_RADIUS ) {
+			if( work == null )
+				work = new ImplMedianHistogramConstant();
+			work.process(input, output, radius);
+		} else {
+			int histogram[] = new int[ 256 ];
+			ImplMedianHistogramInner.process(input, output, radius, offset, histogram);
+		}
 		ImplMedianSortEdgeNaive.process(input, output, radius, offset);
 
 		return output;
@@ -214,6 +244,52 @@ public class BlurImageOps {
 		return output;
 	}
 
+	/**
+	 * Applies an approximate median filter which takes constant time per pixel.  Pixel values are quantized
+	 * into a histogram and the median is then estimated inside of the bin which contains it.  The error is less than
+	 * (max-min)/1024, where min and max are the image's minimum and maximum values.  Pixels along the image border
+	 * are computed exactly.
+	 *
+	 * @see ImplMedianHistogramConstant
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output (Optional) Storage for output image, Can be null.  Modified.
+	 * @param radius Radius of the median blur function.
+	 * @return Output blurred image.
+	 */
+	public static GrayF32 medianApprox(GrayF32 input, GrayF32 output, int radius) {
+		return medianApprox(input, output, radius, null);
+	}
+
+	/**
+	 * Same as {@link #medianApprox(GrayF32, GrayF32, int)} but with work storage that can be reused between calls.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output (Optional) Storage for output image, Can be null.  Modified.
+	 * @param radius Radius of the median blur function.
+	 * @param work (Optional) Work storage.  The number of bins it was created with determines the error.
+	 *             If null then one with 2<sup>10</sup> bins is declared.
+	 * @return Output blurred image.
+	 */
+	public static GrayF32 medianApprox(GrayF32 input, GrayF32 output, int radius,
+									   ImplMedianHistogramConstant work ) {
+
+		if( radius <= 0 )
+			throw new IllegalArgumentException("Radius must be > 0");
+
+		output = InputSanityCheck.checkDeclare(input,output);
+
+		float min = ImageStatistics.min(input);
+		float max = ImageStatistics.max(input);
+
+		if( work == null )
+			work = new ImplMedianHistogramConstant(10);
+		work.process(input,output,radius,min,max);
+		ImplMedianSortEdgeNaive.process(input,output,radius,null);
+
+		return output;
+	}
+
 	/**
 	 * Applies Gaussian blur.
 	 *
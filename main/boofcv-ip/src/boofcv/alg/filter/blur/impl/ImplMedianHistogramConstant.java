@@ -0,0 +1,322 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.blur.impl;
+
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageGray;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Median filter which takes constant time per pixel, independent of the radius.  Only the inner portion of the
+ * image is processed.  A histogram is maintained for each column in the image, covering the rows inside the
+ * kernel.  As the kernel moves down a row each column histogram is updated by removing one pixel and adding one.
+ * The kernel's histogram is then found by adding and subtracting column histograms as it moves along a row.
+ * </p>
+ *
+ * <p>
+ * Histograms are split into a coarse level and a fine level.  The coarse level is always kept up to date and is used
+ * to find which segment of the fine histogram contains the median.  Each segment of the fine histogram is only
+ * brought up to date when the median falls inside of it, either incrementally or by rebuilding it from the
+ * column histograms, whichever is cheaper.
+ * </p>
+ *
+ * <p>
+ * {@link GrayU8} images are filtered exactly.  {@link GrayF32} images are quantized into bins, the bin which
+ * contains the median is found, and then the value is refined by assuming the values are uniformly distributed
+ * inside the bin.  The error is less than the width of a bin.
+ * </p>
+ *
+ * <p>
+ * Perreault, Simon, and Patrick Hébert. "Median filtering in constant time." IEEE Transactions on Image
+ * Processing 16.9 (2007): 2389-2394.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplMedianHistogramConstant {
+	// total number of bins in the histogram
+	private final int numBins;
+	// number of bins in the coarse histogram and in each segment of the fine histogram
+	private final int numCoarse, numFine;
+	// converts a bin into a coarse bin
+	private final int shift;
+
+	// histogram of each column. Fine has numBins elements per column and coarse has numCoarse
+	private int colFine[] = new int[0];
+	private int colCoarse[] = new int[0];
+
+	// histogram of the pixels inside the kernel
+	private final int kernelCoarse[];
+	private final int kernelFine[];
+	// the x-coordinate each segment in the fine kernel histogram was last updated at
+	private final int segmentX[];
+
+	// pixel values which are being added/removed from the column histograms, converted into bins
+	private int rowAdd[] = new int[0];
+	private int rowRemove[] = new int[0];
+
+	// the median's bin, number of pixels in bins before it, and the number of pixels in its bin
+	private int medianBin[] = new int[0];
+	private int medianBefore[] = new int[0];
+	private int medianCount[] = new int[0];
+
+	// used to convert floating point values into bins
+	private float minValue;
+	private float scale;
+
+	/**
+	 * Creates a filter which can process {@link GrayU8} images.  Same as calling this(8).
+	 */
+	public ImplMedianHistogramConstant() {
+		this(8);
+	}
+
+	/**
+	 * Specifies the number of bins in the histogram.
+	 *
+	 * @param bits The histogram has 2<sup>bits</sup> bins.  Must be 8 for {@link GrayU8}. For {@link GrayF32} more
+	 *             bits reduce the error but use more memory.
+	 */
+	public ImplMedianHistogramConstant( int bits ) {
+		if( bits < 2 || bits > 16 )
+			throw new IllegalArgumentException("bits must be from 2 to 16");
+		int bitsFine = bits/2;
+		this.numBins = 1 << bits;
+		this.numFine = 1 << bitsFine;
+		this.numCoarse = numBins/numFine;
+		this.shift = bitsFine;
+
+		kernelCoarse = new int[numCoarse];
+		kernelFine = new int[numBins];
+		segmentX = new int[numCoarse];
+	}
+
+	/**
+	 * Applies the median filter to the inner portion of the image.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Filtered output image. Modified.
+	 * @param radius Size of the filter region.
+	 */
+	public void process( GrayU8 input , GrayU8 output , int radius ) {
+		if( numBins != 256 )
+			throw new IllegalArgumentException("Must have 256 bins to process GrayU8 images");
+		processInner(input, output, radius);
+	}
+
+	/**
+	 * Applies the median filter to the inner portion of the image.  Values are assumed to be inside the range
+	 * [minValue, maxValue].  Values outside of the range are treated as if they were at its limits.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Filtered output image. Modified.
+	 * @param radius Size of the filter region.
+	 * @param minValue Minimum possible pixel value
+	 * @param maxValue Maximum possible pixel value
+	 */
+	public void process( GrayF32 input , GrayF32 output , int radius , float minValue , float maxValue ) {
+		this.minValue = minValue;
+		this.scale = maxValue > minValue ? numBins/(maxValue-minValue) : 0;
+		processInner(input, output, radius);
+	}
+
+	private void processInner( ImageGray input , ImageGray output , int radius ) {
+		int width = input.width;
+		int height = input.height;
+		int w = 2*radius+1;
+
+		if( width < w || height < w )
+			return;
+
+		declareWorkSpace(width);
+
+		int threshold = (w*w)/2+1;
+
+		// initialize the column histograms using the first rows
+		Arrays.fill(colFine,0,width*numBins,0);
+		Arrays.fill(colCoarse,0,width*numCoarse,0);
+		for( int y = 0; y < w; y++ ) {
+			convertRow(input, y, rowAdd);
+			for( int x = 0; x < width; x++ ) {
+				int bin = rowAdd[x];
+				colFine[x*numBins + bin]++;
+				colCoarse[x*numCoarse + (bin >> shift)]++;
+			}
+		}
+
+		for( int y = radius; y < height-radius; y++ ) {
+			if( y > radius ) {
+				// move the column histograms down one row
+				convertRow(input, y-radius-1, rowRemove);
+				convertRow(input, y+radius, rowAdd);
+				for( int x = 0; x < width; x++ ) {
+					int binRemove = rowRemove[x];
+					int binAdd = rowAdd[x];
+					colFine[x*numBins + binRemove]--;
+					colCoarse[x*numCoarse + (binRemove >> shift)]--;
+					colFine[x*numBins + binAdd]++;
+					colCoarse[x*numCoarse + (binAdd >> shift)]++;
+				}
+			}
+
+			processRow(width, radius, threshold);
+			writeRow(output, y, radius);
+		}
+	}
+
+	/**
+	 * Finds the median for each pixel along the row using the column histograms
+	 */
+	private void processRow( int width , int radius , int threshold ) {
+		int w = 2*radius+1;
+
+		// the coarse kernel histogram for the first pixel
+		Arrays.fill(kernelCoarse,0);
+		for( int x = 0; x < w; x++ ) {
+			int index = x*numCoarse;
+			for( int k = 0; k < numCoarse; k++ ) {
+				kernelCoarse[k] += colCoarse[index+k];
+			}
+		}
+		// force every segment in the fine histogram to be rebuilt
+		Arrays.fill(segmentX,-w-1);
+
+		for( int x = radius; x < width-radius; x++ ) {
+			if( x > radius ) {
+				int indexAdd = (x+radius)*numCoarse;
+				int indexRemove = (x-radius-1)*numCoarse;
+				for( int k = 0; k < numCoarse; k++ ) {
+					kernelCoarse[k] += colCoarse[indexAdd+k] - colCoarse[indexRemove+k];
+				}
+			}
+
+			// find the segment which contains the median
+			int before = 0;
+			int k = 0;
+			for( ; k < numCoarse; k++ ) {
+				if( before + kernelCoarse[k] >= threshold )
+					break;
+				before += kernelCoarse[k];
+			}
+
+			// bring the segment up to date using which ever approach is cheaper
+			int segment = k*numFine;
+			int steps = x - segmentX[k];
+			if( steps*2 >= w ) {
+				Arrays.fill(kernelFine,segment,segment+numFine,0);
+				for( int c = x-radius; c <= x+radius; c++ ) {
+					int index = c*numBins + segment;
+					for( int i = 0; i < numFine; i++ ) {
+						kernelFine[segment+i] += colFine[index+i];
+					}
+				}
+			} else {
+				for( int c = segmentX[k]+1; c <= x; c++ ) {
+					int indexAdd = (c+radius)*numBins + segment;
+					int indexRemove = (c-radius-1)*numBins + segment;
+					for( int i = 0; i < numFine; i++ ) {
+						kernelFine[segment+i] += colFine[indexAdd+i] - colFine[indexRemove+i];
+					}
+				}
+			}
+			segmentX[k] = x;
+
+			// find the median inside the segment
+			int i = 0;
+			for( ; i < numFine; i++ ) {
+				int count = kernelFine[segment+i];
+				if( before + count >= threshold )
+					break;
+				before += count;
+			}
+
+			medianBin[x] = segment+i;
+			medianBefore[x] = before;
+			medianCount[x] = kernelFine[segment+i];
+		}
+	}
+
+	/**
+	 * Converts the pixel values in a row into bins
+	 */
+	private void convertRow( ImageGray input , int y , int row[] ) {
+		int index = input.startIndex + y*input.stride;
+		if( input instanceof GrayU8 ) {
+			byte[] data = ((GrayU8)input).data;
+			for( int x = 0; x < input.width; x++ ) {
+				row[x] = data[index++] & 0xFF;
+			}
+		} else {
+			float[] data = ((GrayF32)input).data;
+			int maxBin = numBins-1;
+			for( int x = 0; x < input.width; x++ ) {
+				int bin = (int)((data[index++] - minValue)*scale);
+				if( bin < 0 ) bin = 0;
+				else if( bin > maxBin ) bin = maxBin;
+				row[x] = bin;
+			}
+		}
+	}
+
+	/**
+	 * Writes the median values for the inner portion of a row into the output image
+	 */
+	private void writeRow( ImageGray output , int y , int radius ) {
+		int width = output.width;
+		int index = output.startIndex + y*output.stride + radius;
+		if( output instanceof GrayU8 ) {
+			byte[] data = ((GrayU8)output).data;
+			for( int x = radius; x < width-radius; x++ ) {
+				data[index++] = (byte)medianBin[x];
+			}
+		} else {
+			float[] data = ((GrayF32)output).data;
+			int w = 2*radius+1;
+			int threshold = (w*w)/2+1;
+			for( int x = radius; x < width-radius; x++ ) {
+				if( scale == 0 ) {
+					data[index++] = minValue;
+				} else {
+					// assume the values are evenly spread out inside the bin
+					float offset = (threshold - medianBefore[x] - 0.5f)/medianCount[x];
+					data[index++] = minValue + (medianBin[x] + offset)/scale;
+				}
+			}
+		}
+	}
+
+	private void declareWorkSpace( int width ) {
+		if( rowAdd.length < width ) {
+			colFine = new int[ width*numBins ];
+			colCoarse = new int[ width*numCoarse ];
+			rowAdd = new int[ width ];
+			rowRemove = new int[ width ];
+			medianBin = new int[ width ];
+			medianBefore = new int[ width ];
+			medianCount = new int[ width ];
+		}
+	}
+
+	public int getNumBins() {
+		return numBins;
+	}
+}
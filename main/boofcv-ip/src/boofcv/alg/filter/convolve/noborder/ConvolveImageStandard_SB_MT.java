@@ -0,0 +1,1049 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.convolve.noborder;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeConsumer;
+import boofcv.struct.convolve.*;
+import boofcv.struct.image.*;
+
+
+/**
+ * <p>
+ * Standard algorithms with no fancy optimization for convolving 1D and 2D kernels across an image.
+ * </p>
+ * 
+ * <p>
+ * Concurrent version of {@link ConvolveImageStandard_SB}.  The image is split into bands of rows which are
+ * processed in parallel.  Output is identical to the single threaded version.
+ * </p>
+ * 
+ * <p>
+ * NOTE: This code was automatically generated using GenerateConvolveImageStandard_SB.
+ * </p>
+ * 
+ * @author Peter Abeles
+ */
+@SuppressWarnings({"ForLoopReplaceableByForEach"})
+public class ConvolveImageStandard_SB_MT {
+
+	public static void horizontal( final Kernel1D_F32 kernel ,
+								  final GrayF32 image, final GrayF32 dest ) {
+		final float[] dataSrc = image.data;
+		final float[] dataDst = dest.data;
+		final float[] dataKer = kernel.data;
+
+		final int offset = kernel.getOffset();
+		final int kernelWidth = kernel.getWidth();
+
+		final int width = image.getWidth();
+
+		BoofConcurrency.loopBlocks(0, image.height, new IntRangeConsumer() {
+			@Override
+			public void accept( int i0 , int i1 ) {
+				for( int i = i0; i < i1; i++ ) {
+					int indexDst = dest.startIndex + i*dest.stride+offset;
+					int j = image.startIndex + i*image.stride;
+					final int jEnd = j+width-(kernelWidth-1);
+
+					for( ; j < jEnd; j++ ) {
+						float total = 0;
+						int indexSrc = j;
+						for( int k = 0; k < kernelWidth; k++ ) {
+							total += (dataSrc[indexSrc++] ) * dataKer[k];
+						}
+						dataDst[indexDst++] = total;
+					}
+				}
+			}
+		});
+	}
+
+	public static void vertical( final Kernel1D_F32 kernel,
+								 final GrayF32 image, final GrayF32 dest )
+	{
+		final float[] dataSrc = image.data;
+		final float[] dataDst = dest.data;
+		final float[] dataKer = kernel.data;
+
+		final int offset = kernel.getOffset();
+		final int kernelWidth = kernel.getWidth();
+
+		final int imgWidth = dest.getWidth();
+		final int imgHeight = dest.getHeight();
+
+		final int yEnd = imgHeight-(kernelWidth-offset-1);
+
+		BoofConcurrency.loopBlocks(offset, yEnd, new IntRangeConsumer() {
+			@Override
+			public void accept( int y0 , int y1 ) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexDst = dest.startIndex+y*dest.stride;
+					int i = image.startIndex + (y-offset)*image.stride;
+					final int iEnd = i+imgWidth;
+
+					for( ; i < iEnd; i++ ) {
+						float total = 0;
+						int indexSrc = i;
+						for( int k = 0; k < kernelWidth; k++ ) {
+							total += (dataSrc[indexSrc] )* dataKer[k];
+							indexSrc += image.stride;
+						}
+						dataDst[indexDst++] = total;
+					}
+				}
+			}
+		});
+	}
+
+	public static void convolve( final Kernel2D_F32 kernel , final GrayF32 src , final GrayF32 dest )
+	{
+		final float[] dataKernel = kernel.data;
+		final float[] dataSrc = src.data;
+		final float[] dataDst = dest.data;
+
+		final int width = src.getWidth();
+		final int height = src.getHeight();
+
+		final int offsetL = kernel.offset;
+		final int offsetR = kernel.width-kernel.offset-1;
+
+		BoofConcurrency.loopBlocks(offsetL, height-offsetR, new IntRangeConsumer() {
+			@Override
+			public void accept( int y0 , int y1 ) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexDst = dest.startIndex + y*dest.stride+offsetL;
+					for( int x = offsetL; x < width-offsetR; x++ ) {
+						float total = 0;
+						int indexKer = 0;
+						for( int ki = 0; ki < kernel.width; ki++ ) {
+							int indexSrc = src.startIndex + (y+ki-offsetL)*src.stride + x-offsetL;
+							for( int kj = 0; kj <  kernel.width; kj++ ) {
+								total += (dataSrc[indexSrc+kj]  )* dataKernel[indexKer++];
+							}
+						}
+						dataDst[indexDst++] = total;
+					}
+				}
+			}
+		});
+	}
+
+	public static void horizontal( final Kernel1D_F64 kernel ,
+								  final GrayF64 image, final GrayF64 dest ) {
+		final double[] dataSrc = image.data;
+		final double[] dataDst = dest.data;
+		final double[] dataKer = kernel.data;
+
+		final int offset = kernel.getOffset();
+		final int kernelWidth = kernel.getWidth();
+
+		final int width = image.getWidth();
+
+		BoofConcurrency.loopBlocks(0, image.height, new IntRangeConsumer() {
+			@Override
+			public void accept( int i0 , int i1 ) {
+				for( int i = i0; i < i1; i++ ) {
+					int indexDst = dest.startIndex + i*dest.stride+offset;
+					int j = image.startIndex + i*image.stride;
+					final int jEnd = j+width-(kernelWidth-1);
+
+					for( ; j < jEnd; j++ ) {
+						double total = 0;
+						int indexSrc = j;
+						for( int k = 0; k < kernelWidth; k++ ) {
+							total += (dataSrc[indexSrc++] ) * dataKer[k];
+						}
+						dataDst[indexDst++] = total;
+					}
+				}
+			}
+		});
+	}
+
+	public static void vertical( final Kernel1D_F64 kernel,
+								 final GrayF64 image, final GrayF64 dest )
+	{
+		final double[] dataSrc = image.data;
+		final double[] dataDst = dest.data;
+		final double[] dataKer = kernel.data;
+
+		final int offset = kernel.getOffset();
+		final int kernelWidth = kernel.getWidth();
+
+		final int imgWidth = dest.getWidth();
+		final int imgHeight = dest.getHeight();
+
+		final int yEnd = imgHeight-(kernelWidth-offset-1);
+
+		BoofConcurrency.loopBlocks(offset, yEnd, new IntRangeConsumer() {
+			@Override
+			public void accept( int y0 , int y1 ) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexDst = dest.startIndex+y*dest.stride;
+					int i = image.startIndex + (y-offset)*image.stride;
+					final int iEnd = i+imgWidth;
+
+					for( ; i < iEnd; i++ ) {
+						double total = 0;
+						int indexSrc = i;
+						for( int k = 0; k < kernelWidth; k++ ) {
+							total += (dataSrc[indexSrc] )* dataKer[k];
+							indexSrc += image.stride;
+						}
+						dataDst[indexDst++] = total;
+					}
+				}
+			}
+		});
+	}
+
+	public static void convolve( final Kernel2D_F64 kernel , final GrayF64 src , final GrayF64 dest )
+	{
+		final double[] dataKernel = kernel.data;
+		final double[] dataSrc = src.data;
+		final double[] dataDst = dest.data;
+
+		final int width = src.getWidth();
+		final int height = src.getHeight();
+
+		final int offsetL = kernel.offset;
+		final int offsetR = kernel.width-kernel.offset-1;
+
+		BoofConcurrency.loopBlocks(offsetL, height-offsetR, new IntRangeConsumer() {
+			@Override
+			public void accept( int y0 , int y1 ) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexDst = dest.startIndex + y*dest.stride+offsetL;
+					for( int x = offsetL; x < width-offsetR; x++ ) {
+						double total = 0;
+						int indexKer = 0;
+						for( int ki = 0; ki < kernel.width; ki++ ) {
+							int indexSrc = src.startIndex + (y+ki-offsetL)*src.stride + x-offsetL;
+							for( int kj = 0; kj <  kernel.width; kj++ ) {
+								total += (dataSrc[indexSrc+kj]  )* dataKernel[indexKer++];
+							}
+						}
+						dataDst[indexDst++] = total;
+					}
+				}
+			}
+		});
+	}
+
+	public static void horizontal( final Kernel1D_S32 kernel ,
+								  final GrayU8 image, final GrayI16<?> dest ) {
+		final byte[] dataSrc = image.data;
+		final short[] dataDst = dest.data;
+		final int[] dataKer = kernel.data;
+
+		final int offset = kernel.getOffset();
+		final int kernelWidth = kernel.getWidth();
+
+		final int width = image.getWidth();
+
+		BoofConcurrency.loopBlocks(0, image.height, new IntRangeConsumer() {
+			@Override
+			public void accept( int i0 , int i1 ) {
+				for( int i = i0; i < i1; i++ ) {
+					int indexDst = dest.startIndex + i*dest.stride+offset;
+					int j = image.startIndex + i*image.stride;
+					final int jEnd = j+width-(kernelWidth-1);
+
+					for( ; j < jEnd; j++ ) {
+						int total = 0;
+						int indexSrc = j;
+						for( int k = 0; k < kernelWidth; k++ ) {
+							total += (dataSrc[indexSrc++] & 0xFF) * dataKer[k];
+						}
+						dataDst[indexDst++] = (short)total;
+					}
+				}
+			}
+		});
+	}
+
+	public static void vertical( final Kernel1D_S32 kernel,
+								 final GrayU8 image, final GrayI16<?> dest )
+	{
+		final byte[] dataSrc = image.data;
+		final short[] dataDst = dest.data;
+		final int[] dataKer = kernel.data;
+
+		final int offset = kernel.getOffset();
+		final int kernelWidth = kernel.getWidth();
+
+		final int imgWidth = dest.getWidth();
+		final int imgHeight = dest.getHeight();
+
+		final int yEnd = imgHeight-(kernelWidth-offset-1);
+
+		BoofConcurrency.loopBlocks(offset, yEnd, new IntRangeConsumer() {
+			@Override
+			public void accept( int y0 , int y1 ) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexDst = dest.startIndex+y*dest.stride;
+					int i = image.startIndex + (y-offset)*image.stride;
+					final int iEnd = i+imgWidth;
+
+					for( ; i < iEnd; i++ ) {
+						int total = 0;
+						int indexSrc = i;
+						for( int k = 0; k < kernelWidth; k++ ) {
+							total += (dataSrc[indexSrc] & 0xFF)* dataKer[k];
+							indexSrc += image.stride;
+						}
+						dataDst[indexDst++] = (short)total;
+					}
+				}
+			}
+		});
+	}
+
+	public static void convolve( final Kernel2D_S32 kernel , final GrayU8 src , final GrayI16<?> dest )
+	{
+		final int[] dataKernel = kernel.data;
+		final byte[] dataSrc = src.data;
+		final short[] dataDst = dest.data;
+
+		final int width = src.getWidth();
+		final int height = src.getHeight();
+
+		final int offsetL = kernel.offset;
+		final int offsetR = kernel.width-kernel.offset-1;
+
+		BoofConcurrency.loopBlocks(offsetL, height-offsetR, new IntRangeConsumer() {
+			@Override
+			public void accept( int y0 , int y1 ) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexDst = dest.startIndex + y*dest.stride+offsetL;
+					for( int x = offsetL; x < width-offsetR; x++ ) {
+						int total = 0;
+						int indexKer = 0;
+						for( int ki = 0; ki < kernel.width; ki++ ) {
+							int indexSrc = src.startIndex + (y+ki-offsetL)*src.stride + x-offsetL;
+							for( int kj = 0; kj <  kernel.width; kj++ ) {
+								total += (dataSrc[indexSrc+kj] & 0xFF )* dataKernel[indexKer++];
+							}
+						}
+						dataDst[indexDst++] = (short)total;
+					}
+				}
+			}
+		});
+	}
+
+	public static void horizontal( final Kernel1D_S32 kernel ,
+								  final GrayU8 image, final GrayS32 dest ) {
+		final byte[] dataSrc = image.data;
+		final int[] dataDst = dest.data;
+		final int[] dataKer = kernel.data;
+
+		final int offset = kernel.getOffset();
+		final int kernelWidth = kernel.getWidth();
+
+		final int width = image.getWidth();
+
+		BoofConcurrency.loopBlocks(0, image.height, new IntRangeConsumer() {
+			@Override
+			public void accept( int i0 , int i1 ) {
+				for( int i = i0; i < i1; i++ ) {
+					int indexDst = dest.startIndex + i*dest.stride+offset;
+					int j = image.startIndex + i*image.stride;
+					final int jEnd = j+width-(kernelWidth-1);
+
+					for( ; j < jEnd; j++ ) {
+						int total = 0;
+						int indexSrc = j;
+						for( int k = 0; k < kernelWidth; k++ ) {
+							total += (dataSrc[indexSrc++] & 0xFF) * dataKer[k];
+						}
+						dataDst[indexDst++] = total;
+					}
+				}
+			}
+		});
+	}
+
+	public static void vertical( final Kernel1D_S32 kernel,
+								 final GrayU8 image, final GrayS32 dest )
+	{
+		final byte[] dataSrc = image.data;
+		final int[] dataDst = dest.data;
+		final int[] dataKer = kernel.data;
+
+		final int offset = kernel.getOffset();
+		final int kernelWidth = kernel.getWidth();
+
+		final int imgWidth = dest.getWidth();
+		final int imgHeight = dest.getHeight();
+
+		final int yEnd = imgHeight-(kernelWidth-offset-1);
+
+		BoofConcurrency.loopBlocks(offset, yEnd, new IntRangeConsumer() {
+			@Override
+			public void accept( int y0 , int y1 ) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexDst = dest.startIndex+y*dest.stride;
+					int i = image.startIndex + (y-offset)*image.stride;
+					final int iEnd = i+imgWidth;
+
+					for( ; i < iEnd; i++ ) {
+						int total = 0;
+						int indexSrc = i;
+						for( int k = 0; k < kernelWidth; k++ ) {
+							total += (dataSrc[indexSrc] & 0xFF)* dataKer[k];
+							indexSrc += image.stride;
+						}
+						dataDst[indexDst++] = total;
+					}
+				}
+			}
+		});
+	}
+
+	public static void convolve( final Kernel2D_S32 kernel , final GrayU8 src , final GrayS32 dest )
+	{
+		final int[] dataKernel = kernel.data;
+		final byte[] dataSrc = src.data;
+		final int[] dataDst = dest.data;
+
+		final int width = src.getWidth();
+		final int height = src.getHeight();
+
+		final int offsetL = kernel.offset;
+		final int offsetR = kernel.width-kernel.offset-1;
+
+		BoofConcurrency.loopBlocks(offsetL, height-offsetR, new IntRangeConsumer() {
+			@Override
+			public void accept( int y0 , int y1 ) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexDst = dest.startIndex + y*dest.stride+offsetL;
+					for( int x = offsetL; x < width-offsetR; x++ ) {
+						int total = 0;
+						int indexKer = 0;
+						for( int ki = 0; ki < kernel.width; ki++ ) {
+							int indexSrc = src.startIndex + (y+ki-offsetL)*src.stride + x-offsetL;
+							for( int kj = 0; kj <  kernel.width; kj++ ) {
+								total += (dataSrc[indexSrc+kj] & 0xFF )* dataKernel[indexKer++];
+							}
+						}
+						dataDst[indexDst++] = total;
+					}
+				}
+			}
+		});
+	}
+
+	public static void vertical( final Kernel1D_S32 kernel,
+								 final GrayU16 image, final GrayI8<?> dest , final int divisor )
+	{
+		final short[] dataSrc = image.data;
+		final byte[] dataDst = dest.data;
+		final int[] dataKer = kernel.data;
+
+		final int offset = kernel.getOffset();
+		final int kernelWidth = kernel.getWidth();
+		final int halfDivisor = divisor/2;
+
+		final int imgWidth = dest.getWidth();
+		final int imgHeight = dest.getHeight();
+
+		final int yEnd = imgHeight-(kernelWidth-offset-1);
+
+		BoofConcurrency.loopBlocks(offset, yEnd, new IntRangeConsumer() {
+			@Override
+			public void accept( int y0 , int y1 ) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexDst = dest.startIndex+y*dest.stride;
+					int i = image.startIndex + (y-offset)*image.stride;
+					final int iEnd = i+imgWidth;
+
+					for( ; i < iEnd; i++ ) {
+						int total = 0;
+						int indexSrc = i;
+						for( int k = 0; k < kernelWidth; k++ ) {
+							total += (dataSrc[indexSrc] & 0xFFFF)* dataKer[k];
+							indexSrc += image.stride;
+						}
+						dataDst[indexDst++] = (byte)((total+halfDivisor)/divisor);
+					}
+				}
+			}
+		});
+	}
+
+	public static void horizontal( final Kernel1D_S32 kernel ,
+								  final GrayS16 image, final GrayI16<?> dest ) {
+		final short[] dataSrc = image.data;
+		final short[] dataDst = dest.data;
+		final int[] dataKer = kernel.data;
+
+		final int offset = kernel.getOffset();
+		final int kernelWidth = kernel.getWidth();
+
+		final int width = image.getWidth();
+
+		BoofConcurrency.loopBlocks(0, image.height, new IntRangeConsumer() {
+			@Override
+			public void accept( int i0 , int i1 ) {
+				for( int i = i0; i < i1; i++ ) {
+					int indexDst = dest.startIndex + i*dest.stride+offset;
+					int j = image.startIndex + i*image.stride;
+					final int jEnd = j+width-(kernelWidth-1);
+
+					for( ; j < jEnd; j++ ) {
+						int total = 0;
+						int indexSrc = j;
+						for( int k = 0; k < kernelWidth; k++ ) {
+							total += (dataSrc[indexSrc++] ) * dataKer[k];
+						}
+						dataDst[indexDst++] = (short)total;
+					}
+				}
+			}
+		});
+	}
+
+	public static void vertical( final Kernel1D_S32 kernel,
+								 final GrayS16 image, final GrayI16<?> dest )
+	{
+		final short[] dataSrc = image.data;
+		final short[] dataDst = dest.data;
+		final int[] dataKer = kernel.data;
+
+		final int offset = kernel.getOffset();
+		final int kernelWidth = kernel.getWidth();
+
+		final int imgWidth = dest.getWidth();
+		final int imgHeight = dest.getHeight();
+
+		final int yEnd = imgHeight-(kernelWidth-offset-1);
+
+		BoofConcurrency.loopBlocks(offset, yEnd, new IntRangeConsumer() {
+			@Override
+			public void accept( int y0 , int y1 ) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexDst = dest.startIndex+y*dest.stride;
+					int i = image.startIndex + (y-offset)*image.stride;
+					final int iEnd = i+imgWidth;
+
+					for( ; i < iEnd; i++ ) {
+						int total = 0;
+						int indexSrc = i;
+						for( int k = 0; k < kernelWidth; k++ ) {
+							total += (dataSrc[indexSrc] )* dataKer[k];
+							indexSrc += image.stride;
+						}
+						dataDst[indexDst++] = (short)total;
+					}
+				}
+			}
+		});
+	}
+
+	public static void convolve( final Kernel2D_S32 kernel , final GrayS16 src , final GrayI16<?> dest )
+	{
+		final int[] dataKernel = kernel.data;
+		final short[] dataSrc = src.data;
+		final short[] dataDst = dest.data;
+
+		final int width = src.getWidth();
+		final int height = src.getHeight();
+
+		final int offsetL = kernel.offset;
+		final int offsetR = kernel.width-kernel.offset-1;
+
+		BoofConcurrency.loopBlocks(offsetL, height-offsetR, new IntRangeConsumer() {
+			@Override
+			public void accept( int y0 , int y1 ) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexDst = dest.startIndex + y*dest.stride+offsetL;
+					for( int x = offsetL; x < width-offsetR; x++ ) {
+						int total = 0;
+						int indexKer = 0;
+						for( int ki = 0; ki < kernel.width; ki++ ) {
+							int indexSrc = src.startIndex + (y+ki-offsetL)*src.stride + x-offsetL;
+							for( int kj = 0; kj <  kernel.width; kj++ ) {
+								total += (dataSrc[indexSrc+kj]  )* dataKernel[indexKer++];
+							}
+						}
+						dataDst[indexDst++] = (short)total;
+					}
+				}
+			}
+		});
+	}
+
+	public static void horizontal( final Kernel1D_S32 kernel ,
+								  final GrayU8 image, final GrayI8<?> dest , final int divisor ) {
+		final byte[] dataSrc = image.data;
+		final byte[] dataDst = dest.data;
+		final int[] dataKer = kernel.data;
+
+		final int offset = kernel.getOffset();
+		final int kernelWidth = kernel.getWidth();
+		final int halfDivisor = divisor/2;
+
+		final int width = image.getWidth();
+
+		BoofConcurrency.loopBlocks(0, image.height, new IntRangeConsumer() {
+			@Override
+			public void accept( int i0 , int i1 ) {
+				for( int i = i0; i < i1; i++ ) {
+					int indexDst = dest.startIndex + i*dest.stride+offset;
+					int j = image.startIndex + i*image.stride;
+					final int jEnd = j+width-(kernelWidth-1);
+
+					for( ; j < jEnd; j++ ) {
+						int total = 0;
+						int indexSrc = j;
+						for( int k = 0; k < kernelWidth; k++ ) {
+							total += (dataSrc[indexSrc++] & 0xFF) * dataKer[k];
+						}
+						dataDst[indexDst++] = (byte)((total+halfDivisor)/divisor);
+					}
+				}
+			}
+		});
+	}
+
+	public static void vertical( final Kernel1D_S32 kernel,
+								 final GrayU8 image, final GrayI8<?> dest , final int divisor )
+	{
+		final byte[] dataSrc = image.data;
+		final byte[] dataDst = dest.data;
+		final int[] dataKer = kernel.data;
+
+		final int offset = kernel.getOffset();
+		final int kernelWidth = kernel.getWidth();
+		final int halfDivisor = divisor/2;
+
+		final int imgWidth = dest.getWidth();
+		final int imgHeight = dest.getHeight();
+
+		final int yEnd = imgHeight-(kernelWidth-offset-1);
+
+		BoofConcurrency.loopBlocks(offset, yEnd, new IntRangeConsumer() {
+			@Override
+			public void accept( int y0 , int y1 ) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexDst = dest.startIndex+y*dest.stride;
+					int i = image.startIndex + (y-offset)*image.stride;
+					final int iEnd = i+imgWidth;
+
+					for( ; i < iEnd; i++ ) {
+						int total = 0;
+						int indexSrc = i;
+						for( int k = 0; k < kernelWidth; k++ ) {
+							total += (dataSrc[indexSrc] & 0xFF)* dataKer[k];
+							indexSrc += image.stride;
+						}
+						dataDst[indexDst++] = (byte)((total+halfDivisor)/divisor);
+					}
+				}
+			}
+		});
+	}
+
+	public static void convolve( final Kernel2D_S32 kernel , final GrayU8 src , final GrayI8<?> dest , final int divisor )
+	{
+		final int[] dataKernel = kernel.data;
+		final byte[] dataSrc = src.data;
+		final byte[] dataDst = dest.data;
+
+		final int width = src.getWidth();
+		final int height = src.getHeight();
+		final int halfDivisor = divisor/2;
+
+		final int offsetL = kernel.offset;
+		final int offsetR = kernel.width-kernel.offset-1;
+
+		BoofConcurrency.loopBlocks(offsetL, height-offsetR, new IntRangeConsumer() {
+			@Override
+			public void accept( int y0 , int y1 ) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexDst = dest.startIndex + y*dest.stride+offsetL;
+					for( int x = offsetL; x < width-offsetR; x++ ) {
+						int total = 0;
+						int indexKer = 0;
+						for( int ki = 0; ki < kernel.width; ki++ ) {
+							int indexSrc = src.startIndex + (y+ki-offsetL)*src.stride + x-offsetL;
+							for( int kj = 0; kj <  kernel.width; kj++ ) {
+								total += (dataSrc[indexSrc+kj] & 0xFF )* dataKernel[indexKer++];
+							}
+						}
+						dataDst[indexDst++] = (byte)((total+halfDivisor)/divisor);
+					}
+				}
+			}
+		});
+	}
+
+	public static void horizontal( final Kernel1D_S32 kernel ,
+								  final GrayS16 image, final GrayI16<?> dest , final int divisor ) {
+		final short[] dataSrc = image.data;
+		final short[] dataDst = dest.data;
+		final int[] dataKer = kernel.data;
+
+		final int offset = kernel.getOffset();
+		final int kernelWidth = kernel.getWidth();
+		final int halfDivisor = divisor/2;
+
+		final int width = image.getWidth();
+
+		BoofConcurrency.loopBlocks(0, image.height, new IntRangeConsumer() {
+			@Override
+			public void accept( int i0 , int i1 ) {
+				for( int i = i0; i < i1; i++ ) {
+					int indexDst = dest.startIndex + i*dest.stride+offset;
+					int j = image.startIndex + i*image.stride;
+					final int jEnd = j+width-(kernelWidth-1);
+
+					for( ; j < jEnd; j++ ) {
+						int total = 0;
+						int indexSrc = j;
+						for( int k = 0; k < kernelWidth; k++ ) {
+							total += (dataSrc[indexSrc++] ) * dataKer[k];
+						}
+						dataDst[indexDst++] = (short)((total+halfDivisor)/divisor);
+					}
+				}
+			}
+		});
+	}
+
+	public static void vertical( final Kernel1D_S32 kernel,
+								 final GrayS16 image, final GrayI16<?> dest , final int divisor )
+	{
+		final short[] dataSrc = image.data;
+		final short[] dataDst = dest.data;
+		final int[] dataKer = kernel.data;
+
+		final int offset = kernel.getOffset();
+		final int kernelWidth = kernel.getWidth();
+		final int halfDivisor = divisor/2;
+
+		final int imgWidth = dest.getWidth();
+		final int imgHeight = dest.getHeight();
+
+		final int yEnd = imgHeight-(kernelWidth-offset-1);
+
+		BoofConcurrency.loopBlocks(offset, yEnd, new IntRangeConsumer() {
+			@Override
+			public void accept( int y0 , int y1 ) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexDst = dest.startIndex+y*dest.stride;
+					int i = image.startIndex + (y-offset)*image.stride;
+					final int iEnd = i+imgWidth;
+
+					for( ; i < iEnd; i++ ) {
+						int total = 0;
+						int indexSrc = i;
+						for( int k = 0; k < kernelWidth; k++ ) {
+							total += (dataSrc[indexSrc] )* dataKer[k];
+							indexSrc += image.stride;
+						}
+						dataDst[indexDst++] = (short)((total+halfDivisor)/divisor);
+					}
+				}
+			}
+		});
+	}
+
+	public static void convolve( final Kernel2D_S32 kernel , final GrayS16 src , final GrayI16<?> dest , final int divisor )
+	{
+		final int[] dataKernel = kernel.data;
+		final short[] dataSrc = src.data;
+		final short[] dataDst = dest.data;
+
+		final int width = src.getWidth();
+		final int height = src.getHeight();
+		final int halfDivisor = divisor/2;
+
+		final int offsetL = kernel.offset;
+		final int offsetR = kernel.width-kernel.offset-1;
+
+		BoofConcurrency.loopBlocks(offsetL, height-offsetR, new IntRangeConsumer() {
+			@Override
+			public void accept( int y0 , int y1 ) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexDst = dest.startIndex + y*dest.stride+offsetL;
+					for( int x = offsetL; x < width-offsetR; x++ ) {
+						int total = 0;
+						int indexKer = 0;
+						for( int ki = 0; ki < kernel.width; ki++ ) {
+							int indexSrc = src.startIndex + (y+ki-offsetL)*src.stride + x-offsetL;
+							for( int kj = 0; kj <  kernel.width; kj++ ) {
+								total += (dataSrc[indexSrc+kj]  )* dataKernel[indexKer++];
+							}
+						}
+						dataDst[indexDst++] = (short)((total+halfDivisor)/divisor);
+					}
+				}
+			}
+		});
+	}
+
+	public static void vertical( final Kernel1D_S32 kernel,
+								 final GrayS32 image, final GrayI16<?> dest , final int divisor )
+	{
+		final int[] dataSrc = image.data;
+		final short[] dataDst = dest.data;
+		final int[] dataKer = kernel.data;
+
+		final int offset = kernel.getOffset();
+		final int kernelWidth = kernel.getWidth();
+		final int halfDivisor = divisor/2;
+
+		final int imgWidth = dest.getWidth();
+		final int imgHeight = dest.getHeight();
+
+		final int yEnd = imgHeight-(kernelWidth-offset-1);
+
+		BoofConcurrency.loopBlocks(offset, yEnd, new IntRangeConsumer() {
+			@Override
+			public void accept( int y0 , int y1 ) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexDst = dest.startIndex+y*dest.stride;
+					int i = image.startIndex + (y-offset)*image.stride;
+					final int iEnd = i+imgWidth;
+
+					for( ; i < iEnd; i++ ) {
+						int total = 0;
+						int indexSrc = i;
+						for( int k = 0; k < kernelWidth; k++ ) {
+							total += (dataSrc[indexSrc] )* dataKer[k];
+							indexSrc += image.stride;
+						}
+						dataDst[indexDst++] = (short)((total+halfDivisor)/divisor);
+					}
+				}
+			}
+		});
+	}
+
+	public static void horizontal( final Kernel1D_S32 kernel ,
+								  final GrayS32 image, final GrayS32 dest ) {
+		final int[] dataSrc = image.data;
+		final int[] dataDst = dest.data;
+		final int[] dataKer = kernel.data;
+
+		final int offset = kernel.getOffset();
+		final int kernelWidth = kernel.getWidth();
+
+		final int width = image.getWidth();
+
+		BoofConcurrency.loopBlocks(0, image.height, new IntRangeConsumer() {
+			@Override
+			public void accept( int i0 , int i1 ) {
+				for( int i = i0; i < i1; i++ ) {
+					int indexDst = dest.startIndex + i*dest.stride+offset;
+					int j = image.startIndex + i*image.stride;
+					final int jEnd = j+width-(kernelWidth-1);
+
+					for( ; j < jEnd; j++ ) {
+						int total = 0;
+						int indexSrc = j;
+						for( int k = 0; k < kernelWidth; k++ ) {
+							total += (dataSrc[indexSrc++] ) * dataKer[k];
+						}
+						dataDst[indexDst++] = total;
+					}
+				}
+			}
+		});
+	}
+
+	public static void vertical( final Kernel1D_S32 kernel,
+								 final GrayS32 image, final GrayS32 dest )
+	{
+		final int[] dataSrc = image.data;
+		final int[] dataDst = dest.data;
+		final int[] dataKer = kernel.data;
+
+		final int offset = kernel.getOffset();
+		final int kernelWidth = kernel.getWidth();
+
+		final int imgWidth = dest.getWidth();
+		final int imgHeight = dest.getHeight();
+
+		final int yEnd = imgHeight-(kernelWidth-offset-1);
+
+		BoofConcurrency.loopBlocks(offset, yEnd, new IntRangeConsumer() {
+			@Override
+			public void accept( int y0 , int y1 ) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexDst = dest.startIndex+y*dest.stride;
+					int i = image.startIndex + (y-offset)*image.stride;
+					final int iEnd = i+imgWidth;
+
+					for( ; i < iEnd; i++ ) {
+						int total = 0;
+						int indexSrc = i;
+						for( int k = 0; k < kernelWidth; k++ ) {
+							total += (dataSrc[indexSrc] )* dataKer[k];
+							indexSrc += image.stride;
+						}
+						dataDst[indexDst++] = total;
+					}
+				}
+			}
+		});
+	}
+
+	public static void convolve( final Kernel2D_S32 kernel , final GrayS32 src , final GrayS32 dest )
+	{
+		final int[] dataKernel = kernel.data;
+		final int[] dataSrc = src.data;
+		final int[] dataDst = dest.data;
+
+		final int width = src.getWidth();
+		final int height = src.getHeight();
+
+		final int offsetL = kernel.offset;
+		final int offsetR = kernel.width-kernel.offset-1;
+
+		BoofConcurrency.loopBlocks(offsetL, height-offsetR, new IntRangeConsumer() {
+			@Override
+			public void accept( int y0 , int y1 ) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexDst = dest.startIndex + y*dest.stride+offsetL;
+					for( int x = offsetL; x < width-offsetR; x++ ) {
+						int total = 0;
+						int indexKer = 0;
+						for( int ki = 0; ki < kernel.width; ki++ ) {
+							int indexSrc = src.startIndex + (y+ki-offsetL)*src.stride + x-offsetL;
+							for( int kj = 0; kj <  kernel.width; kj++ ) {
+								total += (dataSrc[indexSrc+kj]  )* dataKernel[indexKer++];
+							}
+						}
+						dataDst[indexDst++] = total;
+					}
+				}
+			}
+		});
+	}
+
+	public static void horizontal( final Kernel1D_S32 kernel ,
+								  final GrayS32 image, final GrayS32 dest , final int divisor ) {
+		final int[] dataSrc = image.data;
+		final int[] dataDst = dest.data;
+		final int[] dataKer = kernel.data;
+
+		final int offset = kernel.getOffset();
+		final int kernelWidth = kernel.getWidth();
+		final int halfDivisor = divisor/2;
+
+		final int width = image.getWidth();
+
+		BoofConcurrency.loopBlocks(0, image.height, new IntRangeConsumer() {
+			@Override
+			public void accept( int i0 , int i1 ) {
+				for( int i = i0; i < i1; i++ ) {
+					int indexDst = dest.startIndex + i*dest.stride+offset;
+					int j = image.startIndex + i*image.stride;
+					final int jEnd = j+width-(kernelWidth-1);
+
+					for( ; j < jEnd; j++ ) {
+						int total = 0;
+						int indexSrc = j;
+						for( int k = 0; k < kernelWidth; k++ ) {
+							total += (dataSrc[indexSrc++] ) * dataKer[k];
+						}
+						dataDst[indexDst++] = ((total+halfDivisor)/divisor);
+					}
+				}
+			}
+		});
+	}
+
+	public static void vertical( final Kernel1D_S32 kernel,
+								 final GrayS32 image, final GrayS32 dest , final int divisor )
+	{
+		final int[] dataSrc = image.data;
+		final int[] dataDst = dest.data;
+		final int[] dataKer = kernel.data;
+
+		final int offset = kernel.getOffset();
+		final int kernelWidth = kernel.getWidth();
+		final int halfDivisor = divisor/2;
+
+		final int imgWidth = dest.getWidth();
+		final int imgHeight = dest.getHeight();
+
+		final int yEnd = imgHeight-(kernelWidth-offset-1);
+
+		BoofConcurrency.loopBlocks(offset, yEnd, new IntRangeConsumer() {
+			@Override
+			public void accept( int y0 , int y1 ) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexDst = dest.startIndex+y*dest.stride;
+					int i = image.startIndex + (y-offset)*image.stride;
+					final int iEnd = i+imgWidth;
+
+					for( ; i < iEnd; i++ ) {
+						int total = 0;
+						int indexSrc = i;
+						for( int k = 0; k < kernelWidth; k++ ) {
+							total += (dataSrc[indexSrc] )* dataKer[k];
+							indexSrc += image.stride;
+						}
+						dataDst[indexDst++] = ((total+halfDivisor)/divisor);
+					}
+				}
+			}
+		});
+	}
+
+	public static void convolve( final Kernel2D_S32 kernel , final GrayS32 src , final GrayS32 dest , final int divisor )
+	{
+		final int[] dataKernel = kernel.data;
+		final int[] dataSrc = src.data;
+		final int[] dataDst = dest.data;
+
+		final int width = src.getWidth();
+		final int height = src.getHeight();
+		final int halfDivisor = divisor/2;
+
+		final int offsetL = kernel.offset;
+		final int offsetR = kernel.width-kernel.offset-1;
+
+		BoofConcurrency.loopBlocks(offsetL, height-offsetR, new IntRangeConsumer() {
+			@Override
+			public void accept( int y0 , int y1 ) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexDst = dest.startIndex + y*dest.stride+offsetL;
+					for( int x = offsetL; x < width-offsetR; x++ ) {
+						int total = 0;
+						int indexKer = 0;
+						for( int ki = 0; ki < kernel.width; ki++ ) {
+							int indexSrc = src.startIndex + (y+ki-offsetL)*src.stride + x-offsetL;
+							for( int kj = 0; kj <  kernel.width; kj++ ) {
+								total += (dataSrc[indexSrc+kj]  )* dataKernel[indexKer++];
+							}
+						}
+						dataDst[indexDst++] = ((total+halfDivisor)/divisor);
+					}
+				}
+			}
+		});
+	}
+
+}
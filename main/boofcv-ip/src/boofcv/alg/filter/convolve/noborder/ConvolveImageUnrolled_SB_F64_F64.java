@@ -36,12 +36,12 @@ import javax.annotation.Generated;
  * </p>
  * 
  * <p>
- * DO NOT MODIFY.  This class was automatically generated by GenerateConvolvedUnrolled.
+ * DO NOT MODIFY.  This class was automatically generated by GenerateConvolvedUnrolled_SB.
  * </p>
  *
  * @author Peter Abeles
  */
-@Generated({"boofcv.alg.filter.convolve.noborder.GenerateConvolvedUnrolled"})
+@Generated({"boofcv.alg.filter.convolve.noborder.GenerateConvolvedUnrolled_SB"})
 public class ConvolveImageUnrolled_SB_F64_F64 {
 	public static boolean horizontal( Kernel1D_F64 kernel ,
 								   GrayF64 image, GrayF64 dest) {
@@ -37,12 +37,12 @@ import javax.annotation.Generated;
  * </p>
  * 
  * <p>
- * DO NOT MODIFY.  This class was automatically generated by GenerateConvolvedUnrolled.
+ * DO NOT MODIFY.  This class was automatically generated by GenerateConvolvedUnrolled_SB.
  * </p>
  *
  * @author Peter Abeles
  */
-@Generated({"boofcv.alg.filter.convolve.noborder.GenerateConvolvedUnrolled"})
+@Generated({"boofcv.alg.filter.convolve.noborder.GenerateConvolvedUnrolled_SB"})
 public class ConvolveImageUnrolled_SB_S16_I16 {
 	public static boolean horizontal( Kernel1D_S32 kernel ,
 								   GrayS16 image, GrayI16 dest) {
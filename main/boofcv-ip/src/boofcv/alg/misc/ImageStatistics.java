@@ -15,16 +15,25 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
+
 package boofcv.alg.misc;
 
 import boofcv.alg.InputSanityCheck;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.image.*;
+import org.ddogleg.struct.GrowQueue_I32;
 
 import javax.annotation.Generated;
 
 /**
  * Computes statistical properties of pixels inside an image.
  *
+ * <p>
+ * If {@link BoofConcurrency#useConcurrent} is true then the concurrent implementation in
+ * {@link ImageStatistics_MT} is called.  Sums of floating point images are always computed
+ * by a single thread so that the results don't depend on the number of threads.
+ * </p>
+ *
  * <p>DO NOT MODIFY: Generated by boofcv.alg.misc.GenerateImageStatistics</p>.
  *
  * @author Peter Abeles
@@ -39,6 +48,9 @@ public class ImageStatistics {
 	 * @return Minimum pixel value.
 	 */
 	public static int min( GrayU8 input ) {
+		if( BoofConcurrency.useConcurrent(input) )
+			return ImageStatistics_MT.min(input);
+
 		return minU( input.data, input.startIndex, input.height, input.width , input.stride );
 	}
 
@@ -49,6 +61,9 @@ public class ImageStatistics {
 	 * @return Minimum pixel value.
 	 */
 	public static int min( InterleavedU8 input ) {
+		if( BoofConcurrency.useConcurrent(input) )
+			return ImageStatistics_MT.min(input);
+
 		return minU( input.data, input.startIndex, input.height, input.width*input.numBands , input.stride );
 	}
 
@@ -76,6 +91,9 @@ public class ImageStatistics {
 	 * @return Maximum pixel value.
 	 */
 	public static int max( GrayU8 input ) {
+		if( BoofConcurrency.useConcurrent(input) )
+			return ImageStatistics_MT.max(input);
+
 		return maxU( input.data, input.startIndex, input.height, input.width , input.stride );
 	}
 
@@ -86,6 +104,9 @@ public class ImageStatistics {
 	 * @return Maximum pixel value.
 	 */
 	public static int max( InterleavedU8 input ) {
+		if( BoofConcurrency.useConcurrent(input) )
+			return ImageStatistics_MT.max(input);
+
 		return maxU( input.data, input.startIndex, input.height, input.width*input.numBands , input.stride );
 	}
 
@@ -113,6 +134,9 @@ public class ImageStatistics {
 	 * @return Maximum pixel value.
 	 */
 	public static int maxAbs( GrayU8 input ) {
+		if( BoofConcurrency.useConcurrent(input) )
+			return ImageStatistics_MT.maxAbs(input);
+
 		return maxAbsU( input.data, input.startIndex, input.height, input.width , input.stride );
 	}
 
@@ -123,6 +147,9 @@ public class ImageStatistics {
 	 * @return Maximum pixel value.
 	 */
 	public static int maxAbs( InterleavedU8 input ) {
+		if( BoofConcurrency.useConcurrent(input) )
+			return ImageStatistics_MT.maxAbs(input);
+
 		return maxAbsU( input.data, input.startIndex, input.height, input.width*input.numBands , input.stride );
 	}
 
@@ -151,6 +178,9 @@ public class ImageStatistics {
 	 * @return error between the two images.
 	 */
 	public static double meanDiffSq(GrayU8 imgA, GrayU8 imgB ) {
+		if( BoofConcurrency.useConcurrent(imgA) )
+			return ImageStatistics_MT.meanDiffSq(imgA,imgB);
+
 		InputSanityCheck.checkSameShape(imgA,imgB);
 		return meanDiffSqU(imgA.data,imgA.startIndex,imgA.stride, imgB.data,imgB.startIndex,imgB.stride,
 				imgA.height, imgA.width);
@@ -164,6 +194,9 @@ public class ImageStatistics {
 	 * @return error between the two images.
 	 */
 	public static double meanDiffSq(InterleavedU8 imgA, InterleavedU8 imgB ) {
+		if( BoofConcurrency.useConcurrent(imgA) )
+			return ImageStatistics_MT.meanDiffSq(imgA,imgB);
+
 		InputSanityCheck.checkSameShape(imgA,imgB);
 		return meanDiffSqU(imgA.data,imgA.startIndex,imgA.stride, imgB.data,imgB.startIndex,imgB.stride,
 				imgA.height, imgA.width*imgA.numBands);
@@ -197,6 +230,9 @@ public class ImageStatistics {
 	 * @return error between the two images.
 	 */
 	public static double meanDiffAbs(GrayU8 imgA, GrayU8 imgB ) {
+		if( BoofConcurrency.useConcurrent(imgA) )
+			return ImageStatistics_MT.meanDiffAbs(imgA,imgB);
+
 		InputSanityCheck.checkSameShape(imgA,imgB);
 		return meanDiffAbsU(imgA.data,imgA.startIndex,imgA.stride, imgB.data,imgB.startIndex,imgB.stride,
 				imgA.height, imgA.width);
@@ -210,6 +246,9 @@ public class ImageStatistics {
 	 * @return error between the two images.
 	 */
 	public static double meanDiffAbs(InterleavedU8 imgA, InterleavedU8 imgB ) {
+		if( BoofConcurrency.useConcurrent(imgA) )
+			return ImageStatistics_MT.meanDiffAbs(imgA,imgB);
+
 		InputSanityCheck.checkSameShape(imgA,imgB);
 		return meanDiffAbsU(imgA.data,imgA.startIndex,imgA.stride, imgB.data,imgB.startIndex,imgB.stride,
 				imgA.height, imgA.width*imgA.numBands);
@@ -244,6 +283,9 @@ public class ImageStatistics {
 	 */
 	public static int sum( GrayU8 img ) {
 
+		if( BoofConcurrency.useConcurrent(img) )
+			return ImageStatistics_MT.sum(img);
+
 		final int rows = img.height;
 		final int columns = img.width;
 
@@ -280,6 +322,9 @@ public class ImageStatistics {
 	 */
 	public static int sum( InterleavedU8 img ) {
 
+		if( BoofConcurrency.useConcurrent(img) )
+			return ImageStatistics_MT.sum(img);
+
 		final int rows = img.height;
 		final int columns = img.width*img.numBands;
 
@@ -316,6 +361,9 @@ public class ImageStatistics {
 	 */
 	public static double variance( GrayU8 img , double mean ) {
 
+		if( BoofConcurrency.useConcurrent(img) )
+			return ImageStatistics_MT.variance(img,mean);
+
 		double variance = 0;
 
 		for (int y = 0; y < img.height; y++) {
@@ -340,6 +388,25 @@ public class ImageStatistics {
 	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
 	 */
 	public static void histogram( GrayU8 input , int minValue , int histogram[] ) {
+		histogram(input,minValue,histogram,null);
+	}
+
+	/**
+	 * Computes the histogram of intensity values for the image.
+	 * 
+	 * @param input (input) Image.
+	 * @param minValue (input) Minimum possible intensity value   
+	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
+	 * @param work (Optional) Storage for each thread's histogram in the concurrent implementation.
+	 *             Pass in the same instance to avoid creating new arrays each call. Can be null.
+	 */
+	public static void histogram( GrayU8 input , int minValue , int histogram[] ,
+								  GrowQueue_I32 work ) {
+		if( BoofConcurrency.useConcurrent(input) ) {
+			ImageStatistics_MT.histogram(input,minValue,histogram,work);
+			return;
+		}
+
 		for( int i = 0; i < histogram.length; i++ )
 			histogram[i] = 0;
 		
@@ -360,6 +427,9 @@ public class ImageStatistics {
 	 * @return Minimum pixel value.
 	 */
 	public static int min( GrayS8 input ) {
+		if( BoofConcurrency.useConcurrent(input) )
+			return ImageStatistics_MT.min(input);
+
 		return min( input.data, input.startIndex, input.height, input.width , input.stride );
 	}
 
@@ -370,6 +440,9 @@ public class ImageStatistics {
 	 * @return Minimum pixel value.
 	 */
 	public static int min( InterleavedS8 input ) {
+		if( BoofConcurrency.useConcurrent(input) )
+			return ImageStatistics_MT.min(input);
+
 		return min( input.data, input.startIndex, input.height, input.width*input.numBands , input.stride );
 	}
 
@@ -397,6 +470,9 @@ public class ImageStatistics {
 	 * @return Maximum pixel value.
 	 */
 	public static int max( GrayS8 input ) {
+		if( BoofConcurrency.useConcurrent(input) )
+			return ImageStatistics_MT.max(input);
+
 		return max( input.data, input.startIndex, input.height, input.width , input.stride );
 	}
 
@@ -407,6 +483,9 @@ public class ImageStatistics {
 	 * @return Maximum pixel value.
 	 */
 	public static int max( InterleavedS8 input ) {
+		if( BoofConcurrency.useConcurrent(input) )
+			return ImageStatistics_MT.max(input);
+
 		return max( input.data, input.startIndex, input.height, input.width*input.numBands , input.stride );
 	}
 
@@ -434,6 +513,9 @@ public class ImageStatistics {
 	 * @return Maximum pixel value.
 	 */
 	public static int maxAbs( GrayS8 input ) {
+		if( BoofConcurrency.useConcurrent(input) )
+			return ImageStatistics_MT.maxAbs(input);
+
 		return maxAbs( input.data, input.startIndex, input.height, input.width , input.stride );
 	}
 
@@ -444,6 +526,9 @@ public class ImageStatistics {
 	 * @return Maximum pixel value.
 	 */
 	public static int maxAbs( InterleavedS8 input ) {
+		if( BoofConcurrency.useConcurrent(input) )
+			return ImageStatistics_MT.maxAbs(input);
+
 		return maxAbs( input.data, input.startIndex, input.height, input.width*input.numBands , input.stride );
 	}
 
@@ -472,6 +557,9 @@ public class ImageStatistics {
 	 * @return error between the two images.
 	 */
 	public static double meanDiffSq(GrayS8 imgA, GrayS8 imgB ) {
+		if( BoofConcurrency.useConcurrent(imgA) )
+			return ImageStatistics_MT.meanDiffSq(imgA,imgB);
+
 		InputSanityCheck.checkSameShape(imgA,imgB);
 		return meanDiffSq(imgA.data,imgA.startIndex,imgA.stride, imgB.data,imgB.startIndex,imgB.stride,
 				imgA.height, imgA.width);
@@ -485,6 +573,9 @@ public class ImageStatistics {
 	 * @return error between the two images.
 	 */
 	public static double meanDiffSq(InterleavedS8 imgA, InterleavedS8 imgB ) {
+		if( BoofConcurrency.useConcurrent(imgA) )
+			return ImageStatistics_MT.meanDiffSq(imgA,imgB);
+
 		InputSanityCheck.checkSameShape(imgA,imgB);
 		return meanDiffSq(imgA.data,imgA.startIndex,imgA.stride, imgB.data,imgB.startIndex,imgB.stride,
 				imgA.height, imgA.width*imgA.numBands);
@@ -518,6 +609,9 @@ public class ImageStatistics {
 	 * @return error between the two images.
 	 */
 	public static double meanDiffAbs(GrayS8 imgA, GrayS8 imgB ) {
+		if( BoofConcurrency.useConcurrent(imgA) )
+			return ImageStatistics_MT.meanDiffAbs(imgA,imgB);
+
 		InputSanityCheck.checkSameShape(imgA,imgB);
 		return meanDiffAbs(imgA.data,imgA.startIndex,imgA.stride, imgB.data,imgB.startIndex,imgB.stride,
 				imgA.height, imgA.width);
@@ -531,6 +625,9 @@ public class ImageStatistics {
 	 * @return error between the two images.
 	 */
 	public static double meanDiffAbs(InterleavedS8 imgA, InterleavedS8 imgB ) {
+		if( BoofConcurrency.useConcurrent(imgA) )
+			return ImageStatistics_MT.meanDiffAbs(imgA,imgB);
+
 		InputSanityCheck.checkSameShape(imgA,imgB);
 		return meanDiffAbs(imgA.data,imgA.startIndex,imgA.stride, imgB.data,imgB.startIndex,imgB.stride,
 				imgA.height, imgA.width*imgA.numBands);
@@ -565,6 +662,9 @@ public class ImageStatistics {
 	 */
 	public static int sum( GrayS8 img ) {
 
+		if( BoofConcurrency.useConcurrent(img) )
+			return ImageStatistics_MT.sum(img);
+
 		final int rows = img.height;
 		final int columns = img.width;
 
@@ -601,6 +701,9 @@ public class ImageStatistics {
 	 */
 	public static int sum( InterleavedS8 img ) {
 
+		if( BoofConcurrency.useConcurrent(img) )
+			return ImageStatistics_MT.sum(img);
+
 		final int rows = img.height;
 		final int columns = img.width*img.numBands;
 
@@ -637,6 +740,9 @@ public class ImageStatistics {
 	 */
 	public static double variance( GrayS8 img , double mean ) {
 
+		if( BoofConcurrency.useConcurrent(img) )
+			return ImageStatistics_MT.variance(img,mean);
+
 		double variance = 0;
 
 		for (int y = 0; y < img.height; y++) {
@@ -661,6 +767,25 @@ public class ImageStatistics {
 	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
 	 */
 	public static void histogram( GrayS8 input , int minValue , int histogram[] ) {
+		histogram(input,minValue,histogram,null);
+	}
+
+	/**
+	 * Computes the histogram of intensity values for the image.
+	 * 
+	 * @param input (input) Image.
+	 * @param minValue (input) Minimum possible intensity value   
+	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
+	 * @param work (Optional) Storage for each thread's histogram in the concurrent implementation.
+	 *             Pass in the same instance to avoid creating new arrays each call. Can be null.
+	 */
+	public static void histogram( GrayS8 input , int minValue , int histogram[] ,
+								  GrowQueue_I32 work ) {
+		if( BoofConcurrency.useConcurrent(input) ) {
+			ImageStatistics_MT.histogram(input,minValue,histogram,work);
+			return;
+		}
+
 		for( int i = 0; i < histogram.length; i++ )
 			histogram[i] = 0;
 		
@@ -681,6 +806,9 @@ public class ImageStatistics {
 	 * @return Minimum pixel value.
 	 */
 	public static int min( GrayU16 input ) {
+		if( BoofConcurrency.useConcurrent(input) )
+			return ImageStatistics_MT.min(input);
+
 		return minU( input.data, input.startIndex, input.height, input.width , input.stride );
 	}
 
@@ -691,6 +819,9 @@ public class ImageStatistics {
 	 * @return Minimum pixel value.
 	 */
 	public static int min( InterleavedU16 input ) {
+		if( BoofConcurrency.useConcurrent(input) )
+			return ImageStatistics_MT.min(input);
+
 		return minU( input.data, input.startIndex, input.height, input.width*input.numBands , input.stride );
 	}
 
@@ -718,6 +849,9 @@ public class ImageStatistics {
 	 * @return Maximum pixel value.
 	 */
 	public static int max( GrayU16 input ) {
+		if( BoofConcurrency.useConcurrent(input) )
+			return ImageStatistics_MT.max(input);
+
 		return maxU( input.data, input.startIndex, input.height, input.width , input.stride );
 	}
 
@@ -728,6 +862,9 @@ public class ImageStatistics {
 	 * @return Maximum pixel value.
 	 */
 	public static int max( InterleavedU16 input ) {
+		if( BoofConcurrency.useConcurrent(input) )
+			return ImageStatistics_MT.max(input);
+
 		return maxU( input.data, input.startIndex, input.height, input.width*input.numBands , input.stride );
 	}
 
@@ -755,6 +892,9 @@ public class ImageStatistics {
 	 * @return Maximum pixel value.
 	 */
 	public static int maxAbs( GrayU16 input ) {
+		if( BoofConcurrency.useConcurrent(input) )
+			return ImageStatistics_MT.maxAbs(input);
+
 		return maxAbsU( input.data, input.startIndex, input.height, input.width , input.stride );
 	}
 
@@ -765,6 +905,9 @@ public class ImageStatistics {
 	 * @return Maximum pixel value.
 	 */
 	public static int maxAbs( InterleavedU16 input ) {
+		if( BoofConcurrency.useConcurrent(input) )
+			return ImageStatistics_MT.maxAbs(input);
+
 		return maxAbsU( input.data, input.startIndex, input.height, input.width*input.numBands , input.stride );
 	}
 
@@ -793,6 +936,9 @@ public class ImageStatistics {
 	 * @return error between the two images.
 	 */
 	public static double meanDiffSq(GrayU16 imgA, GrayU16 imgB ) {
+		if( BoofConcurrency.useConcurrent(imgA) )
+			return ImageStatistics_MT.meanDiffSq(imgA,imgB);
+
 		InputSanityCheck.checkSameShape(imgA,imgB);
 		return meanDiffSqU(imgA.data,imgA.startIndex,imgA.stride, imgB.data,imgB.startIndex,imgB.stride,
 				imgA.height, imgA.width);
@@ -806,6 +952,9 @@ public class ImageStatistics {
 	 * @return error between the two images.
 	 */
 	public static double meanDiffSq(InterleavedU16 imgA, InterleavedU16 imgB ) {
+		if( BoofConcurrency.useConcurrent(imgA) )
+			return ImageStatistics_MT.meanDiffSq(imgA,imgB);
+
 		InputSanityCheck.checkSameShape(imgA,imgB);
 		return meanDiffSqU(imgA.data,imgA.startIndex,imgA.stride, imgB.data,imgB.startIndex,imgB.stride,
 				imgA.height, imgA.width*imgA.numBands);
@@ -839,6 +988,9 @@ public class ImageStatistics {
 	 * @return error between the two images.
 	 */
 	public static double meanDiffAbs(GrayU16 imgA, GrayU16 imgB ) {
+		if( BoofConcurrency.useConcurrent(imgA) )
+			return ImageStatistics_MT.meanDiffAbs(imgA,imgB);
+
 		InputSanityCheck.checkSameShape(imgA,imgB);
 		return meanDiffAbsU(imgA.data,imgA.startIndex,imgA.stride, imgB.data,imgB.startIndex,imgB.stride,
 				imgA.height, imgA.width);
@@ -852,6 +1004,9 @@ public class ImageStatistics {
 	 * @return error between the two images.
 	 */
 	public static double meanDiffAbs(InterleavedU16 imgA, InterleavedU16 imgB ) {
+		if( BoofConcurrency.useConcurrent(imgA) )
+			return ImageStatistics_MT.meanDiffAbs(imgA,imgB);
+
 		InputSanityCheck.checkSameShape(imgA,imgB);
 		return meanDiffAbsU(imgA.data,imgA.startIndex,imgA.stride, imgB.data,imgB.startIndex,imgB.stride,
 				imgA.height, imgA.width*imgA.numBands);
@@ -886,6 +1041,9 @@ public class ImageStatistics {
 	 */
 	public static int sum( GrayU16 img ) {
 
+		if( BoofConcurrency.useConcurrent(img) )
+			return ImageStatistics_MT.sum(img);
+
 		final int rows = img.height;
 		final int columns = img.width;
 
@@ -922,6 +1080,9 @@ public class ImageStatistics {
 	 */
 	public static int sum( InterleavedU16 img ) {
 
+		if( BoofConcurrency.useConcurrent(img) )
+			return ImageStatistics_MT.sum(img);
+
 		final int rows = img.height;
 		final int columns = img.width*img.numBands;
 
@@ -958,6 +1119,9 @@ public class ImageStatistics {
 	 */
 	public static double variance( GrayU16 img , double mean ) {
 
+		if( BoofConcurrency.useConcurrent(img) )
+			return ImageStatistics_MT.variance(img,mean);
+
 		double variance = 0;
 
 		for (int y = 0; y < img.height; y++) {
@@ -982,6 +1146,25 @@ public class ImageStatistics {
 	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
 	 */
 	public static void histogram( GrayU16 input , int minValue , int histogram[] ) {
+		histogram(input,minValue,histogram,null);
+	}
+
+	/**
+	 * Computes the histogram of intensity values for the image.
+	 * 
+	 * @param input (input) Image.
+	 * @param minValue (input) Minimum possible intensity value   
+	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
+	 * @param work (Optional) Storage for each thread's histogram in the concurrent implementation.
+	 *             Pass in the same instance to avoid creating new arrays each call. Can be null.
+	 */
+	public static void histogram( GrayU16 input , int minValue , int histogram[] ,
+								  GrowQueue_I32 work ) {
+		if( BoofConcurrency.useConcurrent(input) ) {
+			ImageStatistics_MT.histogram(input,minValue,histogram,work);
+			return;
+		}
+
 		for( int i = 0; i < histogram.length; i++ )
 			histogram[i] = 0;
 		
@@ -1002,6 +1185,9 @@ public class ImageStatistics {
 	 * @return Minimum pixel value.
 	 */
 	public static int min( GrayS16 input ) {
+		if( BoofConcurrency.useConcurrent(input) )
+			return ImageStatistics_MT.min(input);
+
 		return min( input.data, input.startIndex, input.height, input.width , input.stride );
 	}
 
@@ -1012,6 +1198,9 @@ public class ImageStatistics {
 	 * @return Minimum pixel value.
 	 */
 	public static int min( InterleavedS16 input ) {
+		if( BoofConcurrency.useConcurrent(input) )
+			return ImageStatistics_MT.min(input);
+
 		return min( input.data, input.startIndex, input.height, input.width*input.numBands , input.stride );
 	}
 
@@ -1039,6 +1228,9 @@ public class ImageStatistics {
 	 * @return Maximum pixel value.
 	 */
 	public static int max( GrayS16 input ) {
+		if( BoofConcurrency.useConcurrent(input) )
+			return ImageStatistics_MT.max(input);
+
 		return max( input.data, input.startIndex, input.height, input.width , input.stride );
 	}
 
@@ -1049,6 +1241,9 @@ public class ImageStatistics {
 	 * @return Maximum pixel value.
 	 */
 	public static int max( InterleavedS16 input ) {
+		if( BoofConcurrency.useConcurrent(input) )
+			return ImageStatistics_MT.max(input);
+
 		return max( input.data, input.startIndex, input.height, input.width*input.numBands , input.stride );
 	}
 
@@ -1076,6 +1271,9 @@ public class ImageStatistics {
 	 * @return Maximum pixel value.
 	 */
 	public static int maxAbs( GrayS16 input ) {
+		if( BoofConcurrency.useConcurrent(input) )
+			return ImageStatistics_MT.maxAbs(input);
+
 		return maxAbs( input.data, input.startIndex, input.height, input.width , input.stride );
 	}
 
@@ -1086,6 +1284,9 @@ public class ImageStatistics {
 	 * @return Maximum pixel value.
 	 */
 	public static int maxAbs( InterleavedS16 input ) {
+		if( BoofConcurrency.useConcurrent(input) )
+			return ImageStatistics_MT.maxAbs(input);
+
 		return maxAbs( input.data, input.startIndex, input.height, input.width*input.numBands , input.stride );
 	}
 
@@ -1114,6 +1315,9 @@ public class ImageStatistics {
 	 * @return error between the two images.
 	 */
 	public static double meanDiffSq(GrayS16 imgA, GrayS16 imgB ) {
+		if( BoofConcurrency.useConcurrent(imgA) )
+			return ImageStatistics_MT.meanDiffSq(imgA,imgB);
+
 		InputSanityCheck.checkSameShape(imgA,imgB);
 		return meanDiffSq(imgA.data,imgA.startIndex,imgA.stride, imgB.data,imgB.startIndex,imgB.stride,
 				imgA.height, imgA.width);
@@ -1127,6 +1331,9 @@ public class ImageStatistics {
 	 * @return error between the two images.
 	 */
 	public static double meanDiffSq(InterleavedS16 imgA, InterleavedS16 imgB ) {
+		if( BoofConcurrency.useConcurrent(imgA) )
+			return ImageStatistics_MT.meanDiffSq(imgA,imgB);
+
 		InputSanityCheck.checkSameShape(imgA,imgB);
 		return meanDiffSq(imgA.data,imgA.startIndex,imgA.stride, imgB.data,imgB.startIndex,imgB.stride,
 				imgA.height, imgA.width*imgA.numBands);
@@ -1160,6 +1367,9 @@ public class ImageStatistics {
 	 * @return error between the two images.
 	 */
 	public static double meanDiffAbs(GrayS16 imgA, GrayS16 imgB ) {
+		if( BoofConcurrency.useConcurrent(imgA) )
+			return ImageStatistics_MT.meanDiffAbs(imgA,imgB);
+
 		InputSanityCheck.checkSameShape(imgA,imgB);
 		return meanDiffAbs(imgA.data,imgA.startIndex,imgA.stride, imgB.data,imgB.startIndex,imgB.stride,
 				imgA.height, imgA.width);
@@ -1173,6 +1383,9 @@ public class ImageStatistics {
 	 * @return error between the two images.
 	 */
 	public static double meanDiffAbs(InterleavedS16 imgA, InterleavedS16 imgB ) {
+		if( BoofConcurrency.useConcurrent(imgA) )
+			return ImageStatistics_MT.meanDiffAbs(imgA,imgB);
+
 		InputSanityCheck.checkSameShape(imgA,imgB);
 		return meanDiffAbs(imgA.data,imgA.startIndex,imgA.stride, imgB.data,imgB.startIndex,imgB.stride,
 				imgA.height, imgA.width*imgA.numBands);
@@ -1207,6 +1420,9 @@ public class ImageStatistics {
 	 */
 	public static int sum( GrayS16 img ) {
 
+		if( BoofConcurrency.useConcurrent(img) )
+			return ImageStatistics_MT.sum(img);
+
 		final int rows = img.height;
 		final int columns = img.width;
 
@@ -1243,6 +1459,9 @@ public class ImageStatistics {
 	 */
 	public static int sum( InterleavedS16 img ) {
 
+		if( BoofConcurrency.useConcurrent(img) )
+			return ImageStatistics_MT.sum(img);
+
 		final int rows = img.height;
 		final int columns = img.width*img.numBands;
 
@@ -1279,6 +1498,9 @@ public class ImageStatistics {
 	 */
 	public static double variance( GrayS16 img , double mean ) {
 
+		if( BoofConcurrency.useConcurrent(img) )
+			return ImageStatistics_MT.variance(img,mean);
+
 		double variance = 0;
 
 		for (int y = 0; y < img.height; y++) {
@@ -1303,6 +1525,25 @@ public class ImageStatistics {
 	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
 	 */
 	public static void histogram( GrayS16 input , int minValue , int histogram[] ) {
+		histogram(input,minValue,histogram,null);
+	}
+
+	/**
+	 * Computes the histogram of intensity values for the image.
+	 * 
+	 * @param input (input) Image.
+	 * @param minValue (input) Minimum possible intensity value   
+	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
+	 * @param work (Optional) Storage for each thread's histogram in the concurrent implementation.
+	 *             Pass in the same instance to avoid creating new arrays each call. Can be null.
+	 */
+	public static void histogram( GrayS16 input , int minValue , int histogram[] ,
+								  GrowQueue_I32 work ) {
+		if( BoofConcurrency.useConcurrent(input) ) {
+			ImageStatistics_MT.histogram(input,minValue,histogram,work);
+			return;
+		}
+
 		for( int i = 0; i < histogram.length; i++ )
 			histogram[i] = 0;
 		
@@ -1323,6 +1564,9 @@ public class ImageStatistics {
 	 * @return Minimum pixel value.
 	 */
 	public static int min( GrayS32 input ) {
+		if( BoofConcurrency.useConcurrent(input) )
+			return ImageStatistics_MT.min(input);
+
 		return min( input.data, input.startIndex, input.height, input.width , input.stride );
 	}
 
@@ -1333,6 +1577,9 @@ public class ImageStatistics {
 	 * @return Minimum pixel value.
 	 */
 	public static int min( InterleavedS32 input ) {
+		if( BoofConcurrency.useConcurrent(input) )
+			return ImageStatistics_MT.min(input);
+
 		return min( input.data, input.startIndex, input.height, input.width*input.numBands , input.stride );
 	}
 
@@ -1360,6 +1607,9 @@ public class ImageStatistics {
 	 * @return Maximum pixel value.
 	 */
 	public static int max( GrayS32 input ) {
+		if( BoofConcurrency.useConcurrent(input) )
+			return ImageStatistics_MT.max(input);
+
 		return max( input.data, input.startIndex, input.height, input.width , input.stride );
 	}
 
@@ -1370,6 +1620,9 @@ public class ImageStatistics {
 	 * @return Maximum pixel value.
 	 */
 	public static int max( InterleavedS32 input ) {
+		if( BoofConcurrency.useConcurrent(input) )
+			return ImageStatistics_MT.max(input);
+
 		return max( input.data, input.startIndex, input.height, input.width*input.numBands , input.stride );
 	}
 
@@ -1397,6 +1650,9 @@ public class ImageStatistics {
 	 * @return Maximum pixel value.
 	 */
 	public static int maxAbs( GrayS32 input ) {
+		if( BoofConcurrency.useConcurrent(input) )
+			return ImageStatistics_MT.maxAbs(input);
+
 		return maxAbs( input.data, input.startIndex, input.height, input.width , input.stride );
 	}
 
@@ -1407,6 +1663,9 @@ public class ImageStatistics {
 	 * @return Maximum pixel value.
 	 */
 	public static int maxAbs( InterleavedS32 input ) {
+		if( BoofConcurrency.useConcurrent(input) )
+			return ImageStatistics_MT.maxAbs(input);
+
 		return maxAbs( input.data, input.startIndex, input.height, input.width*input.numBands , input.stride );
 	}
 
@@ -1435,6 +1694,9 @@ public class ImageStatistics {
 	 * @return error between the two images.
 	 */
 	public static double meanDiffSq(GrayS32 imgA, GrayS32 imgB ) {
+		if( BoofConcurrency.useConcurrent(imgA) )
+			return ImageStatistics_MT.meanDiffSq(imgA,imgB);
+
 		InputSanityCheck.checkSameShape(imgA,imgB);
 		return meanDiffSq(imgA.data,imgA.startIndex,imgA.stride, imgB.data,imgB.startIndex,imgB.stride,
 				imgA.height, imgA.width);
@@ -1448,6 +1710,9 @@ public class ImageStatistics {
 	 * @return error between the two images.
 	 */
 	public static double meanDiffSq(InterleavedS32 imgA, InterleavedS32 imgB ) {
+		if( BoofConcurrency.useConcurrent(imgA) )
+			return ImageStatistics_MT.meanDiffSq(imgA,imgB);
+
 		InputSanityCheck.checkSameShape(imgA,imgB);
 		return meanDiffSq(imgA.data,imgA.startIndex,imgA.stride, imgB.data,imgB.startIndex,imgB.stride,
 				imgA.height, imgA.width*imgA.numBands);
@@ -1481,6 +1746,9 @@ public class ImageStatistics {
 	 * @return error between the two images.
 	 */
 	public static double meanDiffAbs(GrayS32 imgA, GrayS32 imgB ) {
+		if( BoofConcurrency.useConcurrent(imgA) )
+			return ImageStatistics_MT.meanDiffAbs(imgA,imgB);
+
 		InputSanityCheck.checkSameShape(imgA,imgB);
 		return meanDiffAbs(imgA.data,imgA.startIndex,imgA.stride, imgB.data,imgB.startIndex,imgB.stride,
 				imgA.height, imgA.width);
@@ -1494,6 +1762,9 @@ public class ImageStatistics {
 	 * @return error between the two images.
 	 */
 	public static double meanDiffAbs(InterleavedS32 imgA, InterleavedS32 imgB ) {
+		if( BoofConcurrency.useConcurrent(imgA) )
+			return ImageStatistics_MT.meanDiffAbs(imgA,imgB);
+
 		InputSanityCheck.checkSameShape(imgA,imgB);
 		return meanDiffAbs(imgA.data,imgA.startIndex,imgA.stride, imgB.data,imgB.startIndex,imgB.stride,
 				imgA.height, imgA.width*imgA.numBands);
@@ -1528,6 +1799,9 @@ public class ImageStatistics {
 	 */
 	public static int sum( GrayS32 img ) {
 
+		if( BoofConcurrency.useConcurrent(img) )
+			return ImageStatistics_MT.sum(img);
+
 		final int rows = img.height;
 		final int columns = img.width;
 
@@ -1564,6 +1838,9 @@ public class ImageStatistics {
 	 */
 	public static int sum( InterleavedS32 img ) {
 
+		if( BoofConcurrency.useConcurrent(img) )
+			return ImageStatistics_MT.sum(img);
+
 		final int rows = img.height;
 		final int columns = img.width*img.numBands;
 
@@ -1600,6 +1877,9 @@ public class ImageStatistics {
 	 */
 	public static double variance( GrayS32 img , double mean ) {
 
+		if( BoofConcurrency.useConcurrent(img) )
+			return ImageStatistics_MT.variance(img,mean);
+
 		double variance = 0;
 
 		for (int y = 0; y < img.height; y++) {
@@ -1624,6 +1904,25 @@ public class ImageStatistics {
 	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
 	 */
 	public static void histogram( GrayS32 input , int minValue , int histogram[] ) {
+		histogram(input,minValue,histogram,null);
+	}
+
+	/**
+	 * Computes the histogram of intensity values for the image.
+	 * 
+	 * @param input (input) Image.
+	 * @param minValue (input) Minimum possible intensity value   
+	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
+	 * @param work (Optional) Storage for each thread's histogram in the concurrent implementation.
+	 *             Pass in the same instance to avoid creating new arrays each call. Can be null.
+	 */
+	public static void histogram( GrayS32 input , int minValue , int histogram[] ,
+								  GrowQueue_I32 work ) {
+		if( BoofConcurrency.useConcurrent(input) ) {
+			ImageStatistics_MT.histogram(input,minValue,histogram,work);
+			return;
+		}
+
 		for( int i = 0; i < histogram.length; i++ )
 			histogram[i] = 0;
 		
@@ -1644,6 +1943,9 @@ public class ImageStatistics {
 	 * @return Minimum pixel value.
 	 */
 	public static long min( GrayS64 input ) {
+		if( BoofConcurrency.useConcurrent(input) )
+			return ImageStatistics_MT.min(input);
+
 		return min( input.data, input.startIndex, input.height, input.width , input.stride );
 	}
 
@@ -1654,6 +1956,9 @@ public class ImageStatistics {
 	 * @return Minimum pixel value.
 	 */
 	public static long min( InterleavedS64 input ) {
+		if( BoofConcurrency.useConcurrent(input) )
+			return ImageStatistics_MT.min(input);
+
 		return min( input.data, input.startIndex, input.height, input.width*input.numBands , input.stride );
 	}
 
@@ -1681,6 +1986,9 @@ public class ImageStatistics {
 	 * @return Maximum pixel value.
 	 */
 	public static long max( GrayS64 input ) {
+		if( BoofConcurrency.useConcurrent(input) )
+			return ImageStatistics_MT.max(input);
+
 		return max( input.data, input.startIndex, input.height, input.width , input.stride );
 	}
 
@@ -1691,6 +1999,9 @@ public class ImageStatistics {
 	 * @return Maximum pixel value.
 	 */
 	public static long max( InterleavedS64 input ) {
+		if( BoofConcurrency.useConcurrent(input) )
+			return ImageStatistics_MT.max(input);
+
 		return max( input.data, input.startIndex, input.height, input.width*input.numBands , input.stride );
 	}
 
@@ -1718,6 +2029,9 @@ public class ImageStatistics {
 	 * @return Maximum pixel value.
 	 */
 	public static long maxAbs( GrayS64 input ) {
+		if( BoofConcurrency.useConcurrent(input) )
+			return ImageStatistics_MT.maxAbs(input);
+
 		return maxAbs( input.data, input.startIndex, input.height, input.width , input.stride );
 	}
 
@@ -1728,6 +2042,9 @@ public class ImageStatistics {
 	 * @return Maximum pixel value.
 	 */
 	public static long maxAbs( InterleavedS64 input ) {
+		if( BoofConcurrency.useConcurrent(input) )
+			return ImageStatistics_MT.maxAbs(input);
+
 		return maxAbs( input.data, input.startIndex, input.height, input.width*input.numBands , input.stride );
 	}
 
@@ -1756,6 +2073,9 @@ public class ImageStatistics {
 	 * @return error between the two images.
 	 */
 	public static double meanDiffSq(GrayS64 imgA, GrayS64 imgB ) {
+		if( BoofConcurrency.useConcurrent(imgA) )
+			return ImageStatistics_MT.meanDiffSq(imgA,imgB);
+
 		InputSanityCheck.checkSameShape(imgA,imgB);
 		return meanDiffSq(imgA.data,imgA.startIndex,imgA.stride, imgB.data,imgB.startIndex,imgB.stride,
 				imgA.height, imgA.width);
@@ -1769,6 +2089,9 @@ public class ImageStatistics {
 	 * @return error between the two images.
 	 */
 	public static double meanDiffSq(InterleavedS64 imgA, InterleavedS64 imgB ) {
+		if( BoofConcurrency.useConcurrent(imgA) )
+			return ImageStatistics_MT.meanDiffSq(imgA,imgB);
+
 		InputSanityCheck.checkSameShape(imgA,imgB);
 		return meanDiffSq(imgA.data,imgA.startIndex,imgA.stride, imgB.data,imgB.startIndex,imgB.stride,
 				imgA.height, imgA.width*imgA.numBands);
@@ -1802,6 +2125,9 @@ public class ImageStatistics {
 	 * @return error between the two images.
 	 */
 	public static double meanDiffAbs(GrayS64 imgA, GrayS64 imgB ) {
+		if( BoofConcurrency.useConcurrent(imgA) )
+			return ImageStatistics_MT.meanDiffAbs(imgA,imgB);
+
 		InputSanityCheck.checkSameShape(imgA,imgB);
 		return meanDiffAbs(imgA.data,imgA.startIndex,imgA.stride, imgB.data,imgB.startIndex,imgB.stride,
 				imgA.height, imgA.width);
@@ -1815,6 +2141,9 @@ public class ImageStatistics {
 	 * @return error between the two images.
 	 */
 	public static double meanDiffAbs(InterleavedS64 imgA, InterleavedS64 imgB ) {
+		if( BoofConcurrency.useConcurrent(imgA) )
+			return ImageStatistics_MT.meanDiffAbs(imgA,imgB);
+
 		InputSanityCheck.checkSameShape(imgA,imgB);
 		return meanDiffAbs(imgA.data,imgA.startIndex,imgA.stride, imgB.data,imgB.startIndex,imgB.stride,
 				imgA.height, imgA.width*imgA.numBands);
@@ -1849,6 +2178,9 @@ public class ImageStatistics {
 	 */
 	public static long sum( GrayS64 img ) {
 
+		if( BoofConcurrency.useConcurrent(img) )
+			return ImageStatistics_MT.sum(img);
+
 		final int rows = img.height;
 		final int columns = img.width;
 
@@ -1885,6 +2217,9 @@ public class ImageStatistics {
 	 */
 	public static long sum( InterleavedS64 img ) {
 
+		if( BoofConcurrency.useConcurrent(img) )
+			return ImageStatistics_MT.sum(img);
+
 		final int rows = img.height;
 		final int columns = img.width*img.numBands;
 
@@ -1921,6 +2256,9 @@ public class ImageStatistics {
 	 */
 	public static double variance( GrayS64 img , double mean ) {
 
+		if( BoofConcurrency.useConcurrent(img) )
+			return ImageStatistics_MT.variance(img,mean);
+
 		double variance = 0;
 
 		for (int y = 0; y < img.height; y++) {
@@ -1945,6 +2283,25 @@ public class ImageStatistics {
 	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
 	 */
 	public static void histogram( GrayS64 input , long minValue , int histogram[] ) {
+		histogram(input,minValue,histogram,null);
+	}
+
+	/**
+	 * Computes the histogram of intensity values for the image.
+	 * 
+	 * @param input (input) Image.
+	 * @param minValue (input) Minimum possible intensity value   
+	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
+	 * @param work (Optional) Storage for each thread's histogram in the concurrent implementation.
+	 *             Pass in the same instance to avoid creating new arrays each call. Can be null.
+	 */
+	public static void histogram( GrayS64 input , long minValue , int histogram[] ,
+								  GrowQueue_I32 work ) {
+		if( BoofConcurrency.useConcurrent(input) ) {
+			ImageStatistics_MT.histogram(input,minValue,histogram,work);
+			return;
+		}
+
 		for( int i = 0; i < histogram.length; i++ )
 			histogram[i] = 0;
 		
@@ -1965,6 +2322,9 @@ public class ImageStatistics {
 	 * @return Minimum pixel value.
 	 */
 	public static float min( GrayF32 input ) {
+		if( BoofConcurrency.useConcurrent(input) )
+			return ImageStatistics_MT.min(input);
+
 		return min( input.data, input.startIndex, input.height, input.width , input.stride );
 	}
 
@@ -1975,6 +2335,9 @@ public class ImageStatistics {
 	 * @return Minimum pixel value.
 	 */
 	public static float min( InterleavedF32 input ) {
+		if( BoofConcurrency.useConcurrent(input) )
+			return ImageStatistics_MT.min(input);
+
 		return min( input.data, input.startIndex, input.height, input.width*input.numBands , input.stride );
 	}
 
@@ -2002,6 +2365,9 @@ public class ImageStatistics {
 	 * @return Maximum pixel value.
 	 */
 	public static float max( GrayF32 input ) {
+		if( BoofConcurrency.useConcurrent(input) )
+			return ImageStatistics_MT.max(input);
+
 		return max( input.data, input.startIndex, input.height, input.width , input.stride );
 	}
 
@@ -2012,6 +2378,9 @@ public class ImageStatistics {
 	 * @return Maximum pixel value.
 	 */
 	public static float max( InterleavedF32 input ) {
+		if( BoofConcurrency.useConcurrent(input) )
+			return ImageStatistics_MT.max(input);
+
 		return max( input.data, input.startIndex, input.height, input.width*input.numBands , input.stride );
 	}
 
@@ -2039,6 +2408,9 @@ public class ImageStatistics {
 	 * @return Maximum pixel value.
 	 */
 	public static float maxAbs( GrayF32 input ) {
+		if( BoofConcurrency.useConcurrent(input) )
+			return ImageStatistics_MT.maxAbs(input);
+
 		return maxAbs( input.data, input.startIndex, input.height, input.width , input.stride );
 	}
 
@@ -2049,6 +2421,9 @@ public class ImageStatistics {
 	 * @return Maximum pixel value.
 	 */
 	public static float maxAbs( InterleavedF32 input ) {
+		if( BoofConcurrency.useConcurrent(input) )
+			return ImageStatistics_MT.maxAbs(input);
+
 		return maxAbs( input.data, input.startIndex, input.height, input.width*input.numBands , input.stride );
 	}
 
@@ -2266,6 +2641,25 @@ public class ImageStatistics {
 	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
 	 */
 	public static void histogram( GrayF32 input , float minValue , int histogram[] ) {
+		histogram(input,minValue,histogram,null);
+	}
+
+	/**
+	 * Computes the histogram of intensity values for the image.
+	 * 
+	 * @param input (input) Image.
+	 * @param minValue (input) Minimum possible intensity value   
+	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
+	 * @param work (Optional) Storage for each thread's histogram in the concurrent implementation.
+	 *             Pass in the same instance to avoid creating new arrays each call. Can be null.
+	 */
+	public static void histogram( GrayF32 input , float minValue , int histogram[] ,
+								  GrowQueue_I32 work ) {
+		if( BoofConcurrency.useConcurrent(input) ) {
+			ImageStatistics_MT.histogram(input,minValue,histogram,work);
+			return;
+		}
+
 		for( int i = 0; i < histogram.length; i++ )
 			histogram[i] = 0;
 		
@@ -2286,6 +2680,9 @@ public class ImageStatistics {
 	 * @return Minimum pixel value.
 	 */
 	public static double min( GrayF64 input ) {
+		if( BoofConcurrency.useConcurrent(input) )
+			return ImageStatistics_MT.min(input);
+
 		return min( input.data, input.startIndex, input.height, input.width , input.stride );
 	}
 
@@ -2296,6 +2693,9 @@ public class ImageStatistics {
 	 * @return Minimum pixel value.
 	 */
 	public static double min( InterleavedF64 input ) {
+		if( BoofConcurrency.useConcurrent(input) )
+			return ImageStatistics_MT.min(input);
+
 		return min( input.data, input.startIndex, input.height, input.width*input.numBands , input.stride );
 	}
 
@@ -2323,6 +2723,9 @@ public class ImageStatistics {
 	 * @return Maximum pixel value.
 	 */
 	public static double max( GrayF64 input ) {
+		if( BoofConcurrency.useConcurrent(input) )
+			return ImageStatistics_MT.max(input);
+
 		return max( input.data, input.startIndex, input.height, input.width , input.stride );
 	}
 
@@ -2333,6 +2736,9 @@ public class ImageStatistics {
 	 * @return Maximum pixel value.
 	 */
 	public static double max( InterleavedF64 input ) {
+		if( BoofConcurrency.useConcurrent(input) )
+			return ImageStatistics_MT.max(input);
+
 		return max( input.data, input.startIndex, input.height, input.width*input.numBands , input.stride );
 	}
 
@@ -2360,6 +2766,9 @@ public class ImageStatistics {
 	 * @return Maximum pixel value.
 	 */
 	public static double maxAbs( GrayF64 input ) {
+		if( BoofConcurrency.useConcurrent(input) )
+			return ImageStatistics_MT.maxAbs(input);
+
 		return maxAbs( input.data, input.startIndex, input.height, input.width , input.stride );
 	}
 
@@ -2370,6 +2779,9 @@ public class ImageStatistics {
 	 * @return Maximum pixel value.
 	 */
 	public static double maxAbs( InterleavedF64 input ) {
+		if( BoofConcurrency.useConcurrent(input) )
+			return ImageStatistics_MT.maxAbs(input);
+
 		return maxAbs( input.data, input.startIndex, input.height, input.width*input.numBands , input.stride );
 	}
 
@@ -2587,6 +2999,25 @@ public class ImageStatistics {
 	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
 	 */
 	public static void histogram( GrayF64 input , double minValue , int histogram[] ) {
+		histogram(input,minValue,histogram,null);
+	}
+
+	/**
+	 * Computes the histogram of intensity values for the image.
+	 * 
+	 * @param input (input) Image.
+	 * @param minValue (input) Minimum possible intensity value   
+	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
+	 * @param work (Optional) Storage for each thread's histogram in the concurrent implementation.
+	 *             Pass in the same instance to avoid creating new arrays each call. Can be null.
+	 */
+	public static void histogram( GrayF64 input , double minValue , int histogram[] ,
+								  GrowQueue_I32 work ) {
+		if( BoofConcurrency.useConcurrent(input) ) {
+			ImageStatistics_MT.histogram(input,minValue,histogram,work);
+			return;
+		}
+
 		for( int i = 0; i < histogram.length; i++ )
 			histogram[i] = 0;
 		
@@ -0,0 +1,3878 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.misc;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntBlockConsumer;
+import boofcv.struct.image.*;
+import org.ddogleg.struct.GrowQueue_I32;
+
+import javax.annotation.Generated;
+
+/**
+ * <p>
+ * Concurrent version of {@link ImageStatistics}.  The image is split into blocks of rows which are
+ * processed in parallel.  Each block computes a partial result and the partial results are combined
+ * in block order.  With floating point images the sums are accumulated in double, but the results
+ * can still be slightly different from the single threaded code and depend on the number of threads,
+ * since values are added in a different order.  For that reason {@link ImageStatistics} only calls
+ * the sum, variance, and difference functions in this class for integer images.
+ * </p>
+ *
+ * <p>DO NOT MODIFY: Generated by boofcv.alg.misc.GenerateImageStatistics</p>.
+ *
+ * @author Peter Abeles
+ */
+@Generated("boofcv.alg.misc.GenerateImageStatistics")
+public class ImageStatistics_MT {
+
+	/**
+	 * Returns the minimum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Minimum pixel value.
+	 */
+	public static int min( GrayU8 input ) {
+		return minU( input.data, input.startIndex, input.height, input.width , input.stride );
+	}
+
+	/**
+	 * Returns the minimum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Minimum pixel value.
+	 */
+	public static int min( InterleavedU8 input ) {
+		return minU( input.data, input.startIndex, input.height, input.width*input.numBands , input.stride );
+	}
+
+	private static int minU( final byte[] array , final int startIndex , int rows , final int columns , final int stride ) {
+
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(rows,1);
+		final int[] partial = new int[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, rows, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				int output = array[startIndex + y0*stride]& 0xFF;
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = startIndex + y*stride;
+					int end = index + columns;
+
+					for( ; index < end; index++ ) {
+						int v = array[index] & 0xFF;
+						if( v < output )
+							output = v;
+					}
+				}
+				partial[block] = output;
+			}
+		});
+
+		int output = partial[0];
+		for( int i = 1; i < numBlocks; i++ ) {
+			int v = partial[i];
+			if( v < output )
+				output = v;
+		}
+		return output;
+	}
+
+	/**
+	 * Returns the maximum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Maximum pixel value.
+	 */
+	public static int max( GrayU8 input ) {
+		return maxU( input.data, input.startIndex, input.height, input.width , input.stride );
+	}
+
+	/**
+	 * Returns the maximum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Maximum pixel value.
+	 */
+	public static int max( InterleavedU8 input ) {
+		return maxU( input.data, input.startIndex, input.height, input.width*input.numBands , input.stride );
+	}
+
+	private static int maxU( final byte[] array , final int startIndex , int rows , final int columns , final int stride ) {
+
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(rows,1);
+		final int[] partial = new int[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, rows, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				int output = array[startIndex + y0*stride]& 0xFF;
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = startIndex + y*stride;
+					int end = index + columns;
+
+					for( ; index < end; index++ ) {
+						int v = array[index] & 0xFF;
+						if( v > output )
+							output = v;
+					}
+				}
+				partial[block] = output;
+			}
+		});
+
+		int output = partial[0];
+		for( int i = 1; i < numBlocks; i++ ) {
+			int v = partial[i];
+			if( v > output )
+				output = v;
+		}
+		return output;
+	}
+
+	/**
+	 * Returns the maximum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Maximum pixel value.
+	 */
+	public static int maxAbs( GrayU8 input ) {
+		return maxAbsU( input.data, input.startIndex, input.height, input.width , input.stride );
+	}
+
+	/**
+	 * Returns the maximum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Maximum pixel value.
+	 */
+	public static int maxAbs( InterleavedU8 input ) {
+		return maxAbsU( input.data, input.startIndex, input.height, input.width*input.numBands , input.stride );
+	}
+
+	private static int maxAbsU( final byte[] array , final int startIndex , int rows , final int columns , final int stride ) {
+
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(rows,1);
+		final int[] partial = new int[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, rows, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				int output = array[startIndex + y0*stride]& 0xFF;
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = startIndex + y*stride;
+					int end = index + columns;
+
+					for( ; index < end; index++ ) {
+						int v = array[index] & 0xFF;
+						if( v > output )
+							output = v;
+					}
+				}
+				partial[block] = output;
+			}
+		});
+
+		int output = partial[0];
+		for( int i = 1; i < numBlocks; i++ ) {
+			int v = partial[i];
+			if( v > output )
+				output = v;
+		}
+		return output;
+	}
+
+	/**
+	 * <p>Computes the mean squared error (MSE) between the two images.</p>
+	 *
+	 * @param imgA first image. Not modified.
+	 * @param imgB second image. Not modified.
+	 * @return error between the two images.
+	 */
+	public static double meanDiffSq(GrayU8 imgA, GrayU8 imgB ) {
+		InputSanityCheck.checkSameShape(imgA,imgB);
+		return meanDiffSqU(imgA.data,imgA.startIndex,imgA.stride, imgB.data,imgB.startIndex,imgB.stride,
+				imgA.height, imgA.width);
+	}
+
+	/**
+	 * <p>Computes the mean squared error (MSE) between the two images.</p>
+	 *
+	 * @param imgA first image. Not modified.
+	 * @param imgB second image. Not modified.
+	 * @return error between the two images.
+	 */
+	public static double meanDiffSq(InterleavedU8 imgA, InterleavedU8 imgB ) {
+		InputSanityCheck.checkSameShape(imgA,imgB);
+		return meanDiffSqU(imgA.data,imgA.startIndex,imgA.stride, imgB.data,imgB.startIndex,imgB.stride,
+				imgA.height, imgA.width*imgA.numBands);
+	}
+
+	private static double meanDiffSqU(final byte []dataA, final int startIndexA , final int strideA,
+									final byte []dataB, final int startIndexB , final int strideB,
+									int rows , final int columns ) {
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(rows,1);
+		final int[] partial = new int[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, rows, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				int total = 0;
+
+				for (int y = y0; y < y1; y++) {
+					int indexA = startIndexA + y * strideA;
+					int indexB = startIndexB + y * strideB;
+					
+					int indexEnd = indexA+columns;
+					
+					for (; indexA < indexEnd; indexA++,indexB++) {
+						int difference = (dataA[indexA]& 0xFF)-(dataB[indexB]& 0xFF);
+						total += difference*difference;
+					}
+				}
+				partial[block] = total;
+			}
+		});
+
+		int total = 0;
+		for( int i = 0; i < numBlocks; i++ ) {
+			total += partial[i];
+		}
+
+		return total / (double)(rows*columns);
+	}
+
+	/**
+	 * <p>Computes the mean of absolute value error between the two images.</p>
+	 *
+	 * @param imgA first image. Not modified.
+	 * @param imgB second image. Not modified.
+	 * @return error between the two images.
+	 */
+	public static double meanDiffAbs(GrayU8 imgA, GrayU8 imgB ) {
+		InputSanityCheck.checkSameShape(imgA,imgB);
+		return meanDiffAbsU(imgA.data,imgA.startIndex,imgA.stride, imgB.data,imgB.startIndex,imgB.stride,
+				imgA.height, imgA.width);
+	}
+
+	/**
+	 * <p>Computes the mean of absolute value error between the two images.</p>
+	 *
+	 * @param imgA first image. Not modified.
+	 * @param imgB second image. Not modified.
+	 * @return error between the two images.
+	 */
+	public static double meanDiffAbs(InterleavedU8 imgA, InterleavedU8 imgB ) {
+		InputSanityCheck.checkSameShape(imgA,imgB);
+		return meanDiffAbsU(imgA.data,imgA.startIndex,imgA.stride, imgB.data,imgB.startIndex,imgB.stride,
+				imgA.height, imgA.width*imgA.numBands);
+	}
+
+	private static double meanDiffAbsU(final byte []dataA, final int startIndexA , final int strideA,
+									final byte []dataB, final int startIndexB , final int strideB,
+									int rows , final int columns ) {
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(rows,1);
+		final int[] partial = new int[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, rows, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				int total = 0;
+
+				for (int y = y0; y < y1; y++) {
+					int indexA = startIndexA + y * strideA;
+					int indexB = startIndexB + y * strideB;
+					
+					int indexEnd = indexA+columns;
+					
+					for (; indexA < indexEnd; indexA++,indexB++) {
+						int difference = (dataA[indexA]& 0xFF)-(dataB[indexB]& 0xFF);
+						total += Math.abs(difference);
+					}
+				}
+				partial[block] = total;
+			}
+		});
+
+		int total = 0;
+		for( int i = 0; i < numBlocks; i++ ) {
+			total += partial[i];
+		}
+
+		return total / (double)(rows*columns);
+	}
+
+	/**
+	 * <p>
+	 * Returns the sum of all the pixels in the image.
+	 * </p>
+	 * 
+	 * @param img Input image. Not modified.
+	 */
+	public static int sum( final GrayU8 img ) {
+
+		final int rows = img.height;
+		final int columns = img.width;
+
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(rows,1);
+		final int[] partial = new int[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, rows, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				int total = 0;
+
+				for (int y = y0; y < y1; y++) {
+					int index = img.startIndex + y * img.stride;
+					
+					int indexEnd = index+columns;
+					for (; index < indexEnd; index++ ) {
+						total += img.data[index] & 0xFF;
+					}
+				}
+				partial[block] = total;
+			}
+		});
+
+		int total = 0;
+		for( int i = 0; i < numBlocks; i++ ) {
+			total += partial[i];
+		}
+		
+		return total;
+	}
+
+	/**
+	 * Returns the mean pixel intensity value.
+	 * 
+	 * @param img Input image.  Not modified.
+	 * @return Mean pixel intensity value
+	 */
+	public static double mean( GrayU8 img ) {
+		return sum(img)/(double)(img.width*img.height);
+	}
+
+	/**
+	 * <p>
+	 * Returns the sum of all the pixels in the image.
+	 * </p>
+	 * 
+	 * @param img Input image. Not modified.
+	 */
+	public static int sum( final InterleavedU8 img ) {
+
+		final int rows = img.height;
+		final int columns = img.width*img.numBands;
+
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(rows,1);
+		final int[] partial = new int[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, rows, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				int total = 0;
+
+				for (int y = y0; y < y1; y++) {
+					int index = img.startIndex + y * img.stride;
+					
+					int indexEnd = index+columns;
+					for (; index < indexEnd; index++ ) {
+						total += img.data[index] & 0xFF;
+					}
+				}
+				partial[block] = total;
+			}
+		});
+
+		int total = 0;
+		for( int i = 0; i < numBlocks; i++ ) {
+			total += partial[i];
+		}
+		
+		return total;
+	}
+
+	/**
+	 * Returns the mean pixel intensity value.
+	 * 
+	 * @param img Input image.  Not modified.
+	 * @return Mean pixel intensity value
+	 */
+	public static double mean( InterleavedU8 img ) {
+		return sum(img)/(double)(img.width*img.height*img.numBands);
+	}
+
+	/**
+	 * Computes the variance of pixel intensity values inside the image.
+	 *
+	 * @param img Input image. Not modified.
+	 * @param mean Mean pixel intensity value.   
+	 * @return Pixel variance   
+	 */
+	public static double variance( final GrayU8 img , final double mean ) {
+
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(img.height,1);
+		final double[] partial = new double[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, img.height, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				double variance = 0;
+
+				for (int y = y0; y < y1; y++) {
+					int index = img.getStartIndex() + y * img.getStride();
+
+					int indexEnd = index+img.width;
+					// for(int x = 0; x < img.width; x++ ) {
+					for (; index < indexEnd; index++ ) {
+						double d = (img.data[index]& 0xFF) - mean; 
+						variance += d*d;
+					}
+				}
+				partial[block] = variance;
+			}
+		});
+
+		double variance = 0;
+		for( int i = 0; i < numBlocks; i++ ) {
+			variance += partial[i];
+		}
+
+		return variance/(img.width*img.height);
+	}
+
+	/**
+	 * Computes the histogram of intensity values for the image.
+	 * 
+	 * @param input (input) Image.
+	 * @param minValue (input) Minimum possible intensity value   
+	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
+	 */
+	public static void histogram( GrayU8 input , int minValue , int histogram[] ) {
+		histogram(input,minValue,histogram,null);
+	}
+
+	/**
+	 * Computes the histogram of intensity values for the image.
+	 * 
+	 * @param input (input) Image.
+	 * @param minValue (input) Minimum possible intensity value   
+	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
+	 * @param work (Optional) Storage for each thread's histogram in the concurrent implementation.
+	 *             Pass in the same instance to avoid creating new arrays each call. Can be null.
+	 */
+	public static void histogram( final GrayU8 input , final int minValue , final int histogram[] ,
+								  GrowQueue_I32 work ) {
+		for( int i = 0; i < histogram.length; i++ )
+			histogram[i] = 0;
+		
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(input.height,1);
+		if( work == null )
+			work = new GrowQueue_I32();
+		work.resize((numBlocks-1)*histogram.length);
+		final int[] workData = work.data;
+
+		BoofConcurrency.loopBlocksIndexed(0, input.height, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				int[] local = histogram;
+				int offset = 0;
+				if( block > 0 ) {
+					local = workData;
+					offset = (block-1)*histogram.length;
+					for( int i = 0; i < histogram.length; i++ )
+						local[offset+i] = 0;
+				}
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					for( ; index < end; index++ ) {
+						local[offset + (input.data[index]& 0xFF) - minValue ]++;
+					}
+				}
+			}
+		});
+
+		for( int block = 1; block < numBlocks; block++ ) {
+			int offset = (block-1)*histogram.length;
+			for( int i = 0; i < histogram.length; i++ )
+				histogram[i] += workData[offset+i];
+		}
+	}
+
+	/**
+	 * Returns the minimum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Minimum pixel value.
+	 */
+	public static int min( GrayS8 input ) {
+		return min( input.data, input.startIndex, input.height, input.width , input.stride );
+	}
+
+	/**
+	 * Returns the minimum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Minimum pixel value.
+	 */
+	public static int min( InterleavedS8 input ) {
+		return min( input.data, input.startIndex, input.height, input.width*input.numBands , input.stride );
+	}
+
+	private static int min( final byte[] array , final int startIndex , int rows , final int columns , final int stride ) {
+
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(rows,1);
+		final int[] partial = new int[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, rows, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				int output = array[startIndex + y0*stride];
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = startIndex + y*stride;
+					int end = index + columns;
+
+					for( ; index < end; index++ ) {
+						int v = array[index] ;
+						if( v < output )
+							output = v;
+					}
+				}
+				partial[block] = output;
+			}
+		});
+
+		int output = partial[0];
+		for( int i = 1; i < numBlocks; i++ ) {
+			int v = partial[i];
+			if( v < output )
+				output = v;
+		}
+		return output;
+	}
+
+	/**
+	 * Returns the maximum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Maximum pixel value.
+	 */
+	public static int max( GrayS8 input ) {
+		return max( input.data, input.startIndex, input.height, input.width , input.stride );
+	}
+
+	/**
+	 * Returns the maximum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Maximum pixel value.
+	 */
+	public static int max( InterleavedS8 input ) {
+		return max( input.data, input.startIndex, input.height, input.width*input.numBands , input.stride );
+	}
+
+	private static int max( final byte[] array , final int startIndex , int rows , final int columns , final int stride ) {
+
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(rows,1);
+		final int[] partial = new int[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, rows, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				int output = array[startIndex + y0*stride];
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = startIndex + y*stride;
+					int end = index + columns;
+
+					for( ; index < end; index++ ) {
+						int v = array[index] ;
+						if( v > output )
+							output = v;
+					}
+				}
+				partial[block] = output;
+			}
+		});
+
+		int output = partial[0];
+		for( int i = 1; i < numBlocks; i++ ) {
+			int v = partial[i];
+			if( v > output )
+				output = v;
+		}
+		return output;
+	}
+
+	/**
+	 * Returns the maximum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Maximum pixel value.
+	 */
+	public static int maxAbs( GrayS8 input ) {
+		return maxAbs( input.data, input.startIndex, input.height, input.width , input.stride );
+	}
+
+	/**
+	 * Returns the maximum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Maximum pixel value.
+	 */
+	public static int maxAbs( InterleavedS8 input ) {
+		return maxAbs( input.data, input.startIndex, input.height, input.width*input.numBands , input.stride );
+	}
+
+	private static int maxAbs( final byte[] array , final int startIndex , int rows , final int columns , final int stride ) {
+
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(rows,1);
+		final int[] partial = new int[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, rows, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				int output = array[startIndex + y0*stride];
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = startIndex + y*stride;
+					int end = index + columns;
+
+					for( ; index < end; index++ ) {
+						int v = Math.abs(array[index]);
+						if( v > output )
+							output = v;
+					}
+				}
+				partial[block] = output;
+			}
+		});
+
+		int output = partial[0];
+		for( int i = 1; i < numBlocks; i++ ) {
+			int v = partial[i];
+			if( v > output )
+				output = v;
+		}
+		return output;
+	}
+
+	/**
+	 * <p>Computes the mean squared error (MSE) between the two images.</p>
+	 *
+	 * @param imgA first image. Not modified.
+	 * @param imgB second image. Not modified.
+	 * @return error between the two images.
+	 */
+	public static double meanDiffSq(GrayS8 imgA, GrayS8 imgB ) {
+		InputSanityCheck.checkSameShape(imgA,imgB);
+		return meanDiffSq(imgA.data,imgA.startIndex,imgA.stride, imgB.data,imgB.startIndex,imgB.stride,
+				imgA.height, imgA.width);
+	}
+
+	/**
+	 * <p>Computes the mean squared error (MSE) between the two images.</p>
+	 *
+	 * @param imgA first image. Not modified.
+	 * @param imgB second image. Not modified.
+	 * @return error between the two images.
+	 */
+	public static double meanDiffSq(InterleavedS8 imgA, InterleavedS8 imgB ) {
+		InputSanityCheck.checkSameShape(imgA,imgB);
+		return meanDiffSq(imgA.data,imgA.startIndex,imgA.stride, imgB.data,imgB.startIndex,imgB.stride,
+				imgA.height, imgA.width*imgA.numBands);
+	}
+
+	private static double meanDiffSq(final byte []dataA, final int startIndexA , final int strideA,
+									final byte []dataB, final int startIndexB , final int strideB,
+									int rows , final int columns ) {
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(rows,1);
+		final int[] partial = new int[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, rows, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				int total = 0;
+
+				for (int y = y0; y < y1; y++) {
+					int indexA = startIndexA + y * strideA;
+					int indexB = startIndexB + y * strideB;
+					
+					int indexEnd = indexA+columns;
+					
+					for (; indexA < indexEnd; indexA++,indexB++) {
+						int difference = (dataA[indexA])-(dataB[indexB]);
+						total += difference*difference;
+					}
+				}
+				partial[block] = total;
+			}
+		});
+
+		int total = 0;
+		for( int i = 0; i < numBlocks; i++ ) {
+			total += partial[i];
+		}
+
+		return total / (double)(rows*columns);
+	}
+
+	/**
+	 * <p>Computes the mean of absolute value error between the two images.</p>
+	 *
+	 * @param imgA first image. Not modified.
+	 * @param imgB second image. Not modified.
+	 * @return error between the two images.
+	 */
+	public static double meanDiffAbs(GrayS8 imgA, GrayS8 imgB ) {
+		InputSanityCheck.checkSameShape(imgA,imgB);
+		return meanDiffAbs(imgA.data,imgA.startIndex,imgA.stride, imgB.data,imgB.startIndex,imgB.stride,
+				imgA.height, imgA.width);
+	}
+
+	/**
+	 * <p>Computes the mean of absolute value error between the two images.</p>
+	 *
+	 * @param imgA first image. Not modified.
+	 * @param imgB second image. Not modified.
+	 * @return error between the two images.
+	 */
+	public static double meanDiffAbs(InterleavedS8 imgA, InterleavedS8 imgB ) {
+		InputSanityCheck.checkSameShape(imgA,imgB);
+		return meanDiffAbs(imgA.data,imgA.startIndex,imgA.stride, imgB.data,imgB.startIndex,imgB.stride,
+				imgA.height, imgA.width*imgA.numBands);
+	}
+
+	private static double meanDiffAbs(final byte []dataA, final int startIndexA , final int strideA,
+									final byte []dataB, final int startIndexB , final int strideB,
+									int rows , final int columns ) {
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(rows,1);
+		final int[] partial = new int[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, rows, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				int total = 0;
+
+				for (int y = y0; y < y1; y++) {
+					int indexA = startIndexA + y * strideA;
+					int indexB = startIndexB + y * strideB;
+					
+					int indexEnd = indexA+columns;
+					
+					for (; indexA < indexEnd; indexA++,indexB++) {
+						int difference = (dataA[indexA])-(dataB[indexB]);
+						total += Math.abs(difference);
+					}
+				}
+				partial[block] = total;
+			}
+		});
+
+		int total = 0;
+		for( int i = 0; i < numBlocks; i++ ) {
+			total += partial[i];
+		}
+
+		return total / (double)(rows*columns);
+	}
+
+	/**
+	 * <p>
+	 * Returns the sum of all the pixels in the image.
+	 * </p>
+	 * 
+	 * @param img Input image. Not modified.
+	 */
+	public static int sum( final GrayS8 img ) {
+
+		final int rows = img.height;
+		final int columns = img.width;
+
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(rows,1);
+		final int[] partial = new int[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, rows, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				int total = 0;
+
+				for (int y = y0; y < y1; y++) {
+					int index = img.startIndex + y * img.stride;
+					
+					int indexEnd = index+columns;
+					for (; index < indexEnd; index++ ) {
+						total += img.data[index] ;
+					}
+				}
+				partial[block] = total;
+			}
+		});
+
+		int total = 0;
+		for( int i = 0; i < numBlocks; i++ ) {
+			total += partial[i];
+		}
+		
+		return total;
+	}
+
+	/**
+	 * Returns the mean pixel intensity value.
+	 * 
+	 * @param img Input image.  Not modified.
+	 * @return Mean pixel intensity value
+	 */
+	public static double mean( GrayS8 img ) {
+		return sum(img)/(double)(img.width*img.height);
+	}
+
+	/**
+	 * <p>
+	 * Returns the sum of all the pixels in the image.
+	 * </p>
+	 * 
+	 * @param img Input image. Not modified.
+	 */
+	public static int sum( final InterleavedS8 img ) {
+
+		final int rows = img.height;
+		final int columns = img.width*img.numBands;
+
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(rows,1);
+		final int[] partial = new int[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, rows, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				int total = 0;
+
+				for (int y = y0; y < y1; y++) {
+					int index = img.startIndex + y * img.stride;
+					
+					int indexEnd = index+columns;
+					for (; index < indexEnd; index++ ) {
+						total += img.data[index] ;
+					}
+				}
+				partial[block] = total;
+			}
+		});
+
+		int total = 0;
+		for( int i = 0; i < numBlocks; i++ ) {
+			total += partial[i];
+		}
+		
+		return total;
+	}
+
+	/**
+	 * Returns the mean pixel intensity value.
+	 * 
+	 * @param img Input image.  Not modified.
+	 * @return Mean pixel intensity value
+	 */
+	public static double mean( InterleavedS8 img ) {
+		return sum(img)/(double)(img.width*img.height*img.numBands);
+	}
+
+	/**
+	 * Computes the variance of pixel intensity values inside the image.
+	 *
+	 * @param img Input image. Not modified.
+	 * @param mean Mean pixel intensity value.   
+	 * @return Pixel variance   
+	 */
+	public static double variance( final GrayS8 img , final double mean ) {
+
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(img.height,1);
+		final double[] partial = new double[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, img.height, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				double variance = 0;
+
+				for (int y = y0; y < y1; y++) {
+					int index = img.getStartIndex() + y * img.getStride();
+
+					int indexEnd = index+img.width;
+					// for(int x = 0; x < img.width; x++ ) {
+					for (; index < indexEnd; index++ ) {
+						double d = (img.data[index]) - mean; 
+						variance += d*d;
+					}
+				}
+				partial[block] = variance;
+			}
+		});
+
+		double variance = 0;
+		for( int i = 0; i < numBlocks; i++ ) {
+			variance += partial[i];
+		}
+
+		return variance/(img.width*img.height);
+	}
+
+	/**
+	 * Computes the histogram of intensity values for the image.
+	 * 
+	 * @param input (input) Image.
+	 * @param minValue (input) Minimum possible intensity value   
+	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
+	 */
+	public static void histogram( GrayS8 input , int minValue , int histogram[] ) {
+		histogram(input,minValue,histogram,null);
+	}
+
+	/**
+	 * Computes the histogram of intensity values for the image.
+	 * 
+	 * @param input (input) Image.
+	 * @param minValue (input) Minimum possible intensity value   
+	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
+	 * @param work (Optional) Storage for each thread's histogram in the concurrent implementation.
+	 *             Pass in the same instance to avoid creating new arrays each call. Can be null.
+	 */
+	public static void histogram( final GrayS8 input , final int minValue , final int histogram[] ,
+								  GrowQueue_I32 work ) {
+		for( int i = 0; i < histogram.length; i++ )
+			histogram[i] = 0;
+		
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(input.height,1);
+		if( work == null )
+			work = new GrowQueue_I32();
+		work.resize((numBlocks-1)*histogram.length);
+		final int[] workData = work.data;
+
+		BoofConcurrency.loopBlocksIndexed(0, input.height, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				int[] local = histogram;
+				int offset = 0;
+				if( block > 0 ) {
+					local = workData;
+					offset = (block-1)*histogram.length;
+					for( int i = 0; i < histogram.length; i++ )
+						local[offset+i] = 0;
+				}
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					for( ; index < end; index++ ) {
+						local[offset + (input.data[index]) - minValue ]++;
+					}
+				}
+			}
+		});
+
+		for( int block = 1; block < numBlocks; block++ ) {
+			int offset = (block-1)*histogram.length;
+			for( int i = 0; i < histogram.length; i++ )
+				histogram[i] += workData[offset+i];
+		}
+	}
+
+	/**
+	 * Returns the minimum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Minimum pixel value.
+	 */
+	public static int min( GrayU16 input ) {
+		return minU( input.data, input.startIndex, input.height, input.width , input.stride );
+	}
+
+	/**
+	 * Returns the minimum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Minimum pixel value.
+	 */
+	public static int min( InterleavedU16 input ) {
+		return minU( input.data, input.startIndex, input.height, input.width*input.numBands , input.stride );
+	}
+
+	private static int minU( final short[] array , final int startIndex , int rows , final int columns , final int stride ) {
+
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(rows,1);
+		final int[] partial = new int[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, rows, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				int output = array[startIndex + y0*stride]& 0xFFFF;
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = startIndex + y*stride;
+					int end = index + columns;
+
+					for( ; index < end; index++ ) {
+						int v = array[index] & 0xFFFF;
+						if( v < output )
+							output = v;
+					}
+				}
+				partial[block] = output;
+			}
+		});
+
+		int output = partial[0];
+		for( int i = 1; i < numBlocks; i++ ) {
+			int v = partial[i];
+			if( v < output )
+				output = v;
+		}
+		return output;
+	}
+
+	/**
+	 * Returns the maximum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Maximum pixel value.
+	 */
+	public static int max( GrayU16 input ) {
+		return maxU( input.data, input.startIndex, input.height, input.width , input.stride );
+	}
+
+	/**
+	 * Returns the maximum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Maximum pixel value.
+	 */
+	public static int max( InterleavedU16 input ) {
+		return maxU( input.data, input.startIndex, input.height, input.width*input.numBands , input.stride );
+	}
+
+	private static int maxU( final short[] array , final int startIndex , int rows , final int columns , final int stride ) {
+
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(rows,1);
+		final int[] partial = new int[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, rows, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				int output = array[startIndex + y0*stride]& 0xFFFF;
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = startIndex + y*stride;
+					int end = index + columns;
+
+					for( ; index < end; index++ ) {
+						int v = array[index] & 0xFFFF;
+						if( v > output )
+							output = v;
+					}
+				}
+				partial[block] = output;
+			}
+		});
+
+		int output = partial[0];
+		for( int i = 1; i < numBlocks; i++ ) {
+			int v = partial[i];
+			if( v > output )
+				output = v;
+		}
+		return output;
+	}
+
+	/**
+	 * Returns the maximum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Maximum pixel value.
+	 */
+	public static int maxAbs( GrayU16 input ) {
+		return maxAbsU( input.data, input.startIndex, input.height, input.width , input.stride );
+	}
+
+	/**
+	 * Returns the maximum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Maximum pixel value.
+	 */
+	public static int maxAbs( InterleavedU16 input ) {
+		return maxAbsU( input.data, input.startIndex, input.height, input.width*input.numBands , input.stride );
+	}
+
+	private static int maxAbsU( final short[] array , final int startIndex , int rows , final int columns , final int stride ) {
+
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(rows,1);
+		final int[] partial = new int[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, rows, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				int output = array[startIndex + y0*stride]& 0xFFFF;
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = startIndex + y*stride;
+					int end = index + columns;
+
+					for( ; index < end; index++ ) {
+						int v = array[index] & 0xFFFF;
+						if( v > output )
+							output = v;
+					}
+				}
+				partial[block] = output;
+			}
+		});
+
+		int output = partial[0];
+		for( int i = 1; i < numBlocks; i++ ) {
+			int v = partial[i];
+			if( v > output )
+				output = v;
+		}
+		return output;
+	}
+
+	/**
+	 * <p>Computes the mean squared error (MSE) between the two images.</p>
+	 *
+	 * @param imgA first image. Not modified.
+	 * @param imgB second image. Not modified.
+	 * @return error between the two images.
+	 */
+	public static double meanDiffSq(GrayU16 imgA, GrayU16 imgB ) {
+		InputSanityCheck.checkSameShape(imgA,imgB);
+		return meanDiffSqU(imgA.data,imgA.startIndex,imgA.stride, imgB.data,imgB.startIndex,imgB.stride,
+				imgA.height, imgA.width);
+	}
+
+	/**
+	 * <p>Computes the mean squared error (MSE) between the two images.</p>
+	 *
+	 * @param imgA first image. Not modified.
+	 * @param imgB second image. Not modified.
+	 * @return error between the two images.
+	 */
+	public static double meanDiffSq(InterleavedU16 imgA, InterleavedU16 imgB ) {
+		InputSanityCheck.checkSameShape(imgA,imgB);
+		return meanDiffSqU(imgA.data,imgA.startIndex,imgA.stride, imgB.data,imgB.startIndex,imgB.stride,
+				imgA.height, imgA.width*imgA.numBands);
+	}
+
+	private static double meanDiffSqU(final short []dataA, final int startIndexA , final int strideA,
+									final short []dataB, final int startIndexB , final int strideB,
+									int rows , final int columns ) {
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(rows,1);
+		final int[] partial = new int[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, rows, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				int total = 0;
+
+				for (int y = y0; y < y1; y++) {
+					int indexA = startIndexA + y * strideA;
+					int indexB = startIndexB + y * strideB;
+					
+					int indexEnd = indexA+columns;
+					
+					for (; indexA < indexEnd; indexA++,indexB++) {
+						int difference = (dataA[indexA]& 0xFFFF)-(dataB[indexB]& 0xFFFF);
+						total += difference*difference;
+					}
+				}
+				partial[block] = total;
+			}
+		});
+
+		int total = 0;
+		for( int i = 0; i < numBlocks; i++ ) {
+			total += partial[i];
+		}
+
+		return total / (double)(rows*columns);
+	}
+
+	/**
+	 * <p>Computes the mean of absolute value error between the two images.</p>
+	 *
+	 * @param imgA first image. Not modified.
+	 * @param imgB second image. Not modified.
+	 * @return error between the two images.
+	 */
+	public static double meanDiffAbs(GrayU16 imgA, GrayU16 imgB ) {
+		InputSanityCheck.checkSameShape(imgA,imgB);
+		return meanDiffAbsU(imgA.data,imgA.startIndex,imgA.stride, imgB.data,imgB.startIndex,imgB.stride,
+				imgA.height, imgA.width);
+	}
+
+	/**
+	 * <p>Computes the mean of absolute value error between the two images.</p>
+	 *
+	 * @param imgA first image. Not modified.
+	 * @param imgB second image. Not modified.
+	 * @return error between the two images.
+	 */
+	public static double meanDiffAbs(InterleavedU16 imgA, InterleavedU16 imgB ) {
+		InputSanityCheck.checkSameShape(imgA,imgB);
+		return meanDiffAbsU(imgA.data,imgA.startIndex,imgA.stride, imgB.data,imgB.startIndex,imgB.stride,
+				imgA.height, imgA.width*imgA.numBands);
+	}
+
+	private static double meanDiffAbsU(final short []dataA, final int startIndexA , final int strideA,
+									final short []dataB, final int startIndexB , final int strideB,
+									int rows , final int columns ) {
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(rows,1);
+		final int[] partial = new int[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, rows, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				int total = 0;
+
+				for (int y = y0; y < y1; y++) {
+					int indexA = startIndexA + y * strideA;
+					int indexB = startIndexB + y * strideB;
+					
+					int indexEnd = indexA+columns;
+					
+					for (; indexA < indexEnd; indexA++,indexB++) {
+						int difference = (dataA[indexA]& 0xFFFF)-(dataB[indexB]& 0xFFFF);
+						total += Math.abs(difference);
+					}
+				}
+				partial[block] = total;
+			}
+		});
+
+		int total = 0;
+		for( int i = 0; i < numBlocks; i++ ) {
+			total += partial[i];
+		}
+
+		return total / (double)(rows*columns);
+	}
+
+	/**
+	 * <p>
+	 * Returns the sum of all the pixels in the image.
+	 * </p>
+	 * 
+	 * @param img Input image. Not modified.
+	 */
+	public static int sum( final GrayU16 img ) {
+
+		final int rows = img.height;
+		final int columns = img.width;
+
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(rows,1);
+		final int[] partial = new int[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, rows, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				int total = 0;
+
+				for (int y = y0; y < y1; y++) {
+					int index = img.startIndex + y * img.stride;
+					
+					int indexEnd = index+columns;
+					for (; index < indexEnd; index++ ) {
+						total += img.data[index] & 0xFFFF;
+					}
+				}
+				partial[block] = total;
+			}
+		});
+
+		int total = 0;
+		for( int i = 0; i < numBlocks; i++ ) {
+			total += partial[i];
+		}
+		
+		return total;
+	}
+
+	/**
+	 * Returns the mean pixel intensity value.
+	 * 
+	 * @param img Input image.  Not modified.
+	 * @return Mean pixel intensity value
+	 */
+	public static double mean( GrayU16 img ) {
+		return sum(img)/(double)(img.width*img.height);
+	}
+
+	/**
+	 * <p>
+	 * Returns the sum of all the pixels in the image.
+	 * </p>
+	 * 
+	 * @param img Input image. Not modified.
+	 */
+	public static int sum( final InterleavedU16 img ) {
+
+		final int rows = img.height;
+		final int columns = img.width*img.numBands;
+
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(rows,1);
+		final int[] partial = new int[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, rows, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				int total = 0;
+
+				for (int y = y0; y < y1; y++) {
+					int index = img.startIndex + y * img.stride;
+					
+					int indexEnd = index+columns;
+					for (; index < indexEnd; index++ ) {
+						total += img.data[index] & 0xFFFF;
+					}
+				}
+				partial[block] = total;
+			}
+		});
+
+		int total = 0;
+		for( int i = 0; i < numBlocks; i++ ) {
+			total += partial[i];
+		}
+		
+		return total;
+	}
+
+	/**
+	 * Returns the mean pixel intensity value.
+	 * 
+	 * @param img Input image.  Not modified.
+	 * @return Mean pixel intensity value
+	 */
+	public static double mean( InterleavedU16 img ) {
+		return sum(img)/(double)(img.width*img.height*img.numBands);
+	}
+
+	/**
+	 * Computes the variance of pixel intensity values inside the image.
+	 *
+	 * @param img Input image. Not modified.
+	 * @param mean Mean pixel intensity value.   
+	 * @return Pixel variance   
+	 */
+	public static double variance( final GrayU16 img , final double mean ) {
+
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(img.height,1);
+		final double[] partial = new double[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, img.height, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				double variance = 0;
+
+				for (int y = y0; y < y1; y++) {
+					int index = img.getStartIndex() + y * img.getStride();
+
+					int indexEnd = index+img.width;
+					// for(int x = 0; x < img.width; x++ ) {
+					for (; index < indexEnd; index++ ) {
+						double d = (img.data[index]& 0xFFFF) - mean; 
+						variance += d*d;
+					}
+				}
+				partial[block] = variance;
+			}
+		});
+
+		double variance = 0;
+		for( int i = 0; i < numBlocks; i++ ) {
+			variance += partial[i];
+		}
+
+		return variance/(img.width*img.height);
+	}
+
+	/**
+	 * Computes the histogram of intensity values for the image.
+	 * 
+	 * @param input (input) Image.
+	 * @param minValue (input) Minimum possible intensity value   
+	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
+	 */
+	public static void histogram( GrayU16 input , int minValue , int histogram[] ) {
+		histogram(input,minValue,histogram,null);
+	}
+
+	/**
+	 * Computes the histogram of intensity values for the image.
+	 * 
+	 * @param input (input) Image.
+	 * @param minValue (input) Minimum possible intensity value   
+	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
+	 * @param work (Optional) Storage for each thread's histogram in the concurrent implementation.
+	 *             Pass in the same instance to avoid creating new arrays each call. Can be null.
+	 */
+	public static void histogram( final GrayU16 input , final int minValue , final int histogram[] ,
+								  GrowQueue_I32 work ) {
+		for( int i = 0; i < histogram.length; i++ )
+			histogram[i] = 0;
+		
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(input.height,1);
+		if( work == null )
+			work = new GrowQueue_I32();
+		work.resize((numBlocks-1)*histogram.length);
+		final int[] workData = work.data;
+
+		BoofConcurrency.loopBlocksIndexed(0, input.height, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				int[] local = histogram;
+				int offset = 0;
+				if( block > 0 ) {
+					local = workData;
+					offset = (block-1)*histogram.length;
+					for( int i = 0; i < histogram.length; i++ )
+						local[offset+i] = 0;
+				}
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					for( ; index < end; index++ ) {
+						local[offset + (input.data[index]& 0xFFFF) - minValue ]++;
+					}
+				}
+			}
+		});
+
+		for( int block = 1; block < numBlocks; block++ ) {
+			int offset = (block-1)*histogram.length;
+			for( int i = 0; i < histogram.length; i++ )
+				histogram[i] += workData[offset+i];
+		}
+	}
+
+	/**
+	 * Returns the minimum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Minimum pixel value.
+	 */
+	public static int min( GrayS16 input ) {
+		return min( input.data, input.startIndex, input.height, input.width , input.stride );
+	}
+
+	/**
+	 * Returns the minimum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Minimum pixel value.
+	 */
+	public static int min( InterleavedS16 input ) {
+		return min( input.data, input.startIndex, input.height, input.width*input.numBands , input.stride );
+	}
+
+	private static int min( final short[] array , final int startIndex , int rows , final int columns , final int stride ) {
+
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(rows,1);
+		final int[] partial = new int[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, rows, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				int output = array[startIndex + y0*stride];
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = startIndex + y*stride;
+					int end = index + columns;
+
+					for( ; index < end; index++ ) {
+						int v = array[index] ;
+						if( v < output )
+							output = v;
+					}
+				}
+				partial[block] = output;
+			}
+		});
+
+		int output = partial[0];
+		for( int i = 1; i < numBlocks; i++ ) {
+			int v = partial[i];
+			if( v < output )
+				output = v;
+		}
+		return output;
+	}
+
+	/**
+	 * Returns the maximum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Maximum pixel value.
+	 */
+	public static int max( GrayS16 input ) {
+		return max( input.data, input.startIndex, input.height, input.width , input.stride );
+	}
+
+	/**
+	 * Returns the maximum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Maximum pixel value.
+	 */
+	public static int max( InterleavedS16 input ) {
+		return max( input.data, input.startIndex, input.height, input.width*input.numBands , input.stride );
+	}
+
+	private static int max( final short[] array , final int startIndex , int rows , final int columns , final int stride ) {
+
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(rows,1);
+		final int[] partial = new int[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, rows, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				int output = array[startIndex + y0*stride];
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = startIndex + y*stride;
+					int end = index + columns;
+
+					for( ; index < end; index++ ) {
+						int v = array[index] ;
+						if( v > output )
+							output = v;
+					}
+				}
+				partial[block] = output;
+			}
+		});
+
+		int output = partial[0];
+		for( int i = 1; i < numBlocks; i++ ) {
+			int v = partial[i];
+			if( v > output )
+				output = v;
+		}
+		return output;
+	}
+
+	/**
+	 * Returns the maximum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Maximum pixel value.
+	 */
+	public static int maxAbs( GrayS16 input ) {
+		return maxAbs( input.data, input.startIndex, input.height, input.width , input.stride );
+	}
+
+	/**
+	 * Returns the maximum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Maximum pixel value.
+	 */
+	public static int maxAbs( InterleavedS16 input ) {
+		return maxAbs( input.data, input.startIndex, input.height, input.width*input.numBands , input.stride );
+	}
+
+	private static int maxAbs( final short[] array , final int startIndex , int rows , final int columns , final int stride ) {
+
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(rows,1);
+		final int[] partial = new int[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, rows, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				int output = array[startIndex + y0*stride];
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = startIndex + y*stride;
+					int end = index + columns;
+
+					for( ; index < end; index++ ) {
+						int v = Math.abs(array[index]);
+						if( v > output )
+							output = v;
+					}
+				}
+				partial[block] = output;
+			}
+		});
+
+		int output = partial[0];
+		for( int i = 1; i < numBlocks; i++ ) {
+			int v = partial[i];
+			if( v > output )
+				output = v;
+		}
+		return output;
+	}
+
+	/**
+	 * <p>Computes the mean squared error (MSE) between the two images.</p>
+	 *
+	 * @param imgA first image. Not modified.
+	 * @param imgB second image. Not modified.
+	 * @return error between the two images.
+	 */
+	public static double meanDiffSq(GrayS16 imgA, GrayS16 imgB ) {
+		InputSanityCheck.checkSameShape(imgA,imgB);
+		return meanDiffSq(imgA.data,imgA.startIndex,imgA.stride, imgB.data,imgB.startIndex,imgB.stride,
+				imgA.height, imgA.width);
+	}
+
+	/**
+	 * <p>Computes the mean squared error (MSE) between the two images.</p>
+	 *
+	 * @param imgA first image. Not modified.
+	 * @param imgB second image. Not modified.
+	 * @return error between the two images.
+	 */
+	public static double meanDiffSq(InterleavedS16 imgA, InterleavedS16 imgB ) {
+		InputSanityCheck.checkSameShape(imgA,imgB);
+		return meanDiffSq(imgA.data,imgA.startIndex,imgA.stride, imgB.data,imgB.startIndex,imgB.stride,
+				imgA.height, imgA.width*imgA.numBands);
+	}
+
+	private static double meanDiffSq(final short []dataA, final int startIndexA , final int strideA,
+									final short []dataB, final int startIndexB , final int strideB,
+									int rows , final int columns ) {
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(rows,1);
+		final int[] partial = new int[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, rows, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				int total = 0;
+
+				for (int y = y0; y < y1; y++) {
+					int indexA = startIndexA + y * strideA;
+					int indexB = startIndexB + y * strideB;
+					
+					int indexEnd = indexA+columns;
+					
+					for (; indexA < indexEnd; indexA++,indexB++) {
+						int difference = (dataA[indexA])-(dataB[indexB]);
+						total += difference*difference;
+					}
+				}
+				partial[block] = total;
+			}
+		});
+
+		int total = 0;
+		for( int i = 0; i < numBlocks; i++ ) {
+			total += partial[i];
+		}
+
+		return total / (double)(rows*columns);
+	}
+
+	/**
+	 * <p>Computes the mean of absolute value error between the two images.</p>
+	 *
+	 * @param imgA first image. Not modified.
+	 * @param imgB second image. Not modified.
+	 * @return error between the two images.
+	 */
+	public static double meanDiffAbs(GrayS16 imgA, GrayS16 imgB ) {
+		InputSanityCheck.checkSameShape(imgA,imgB);
+		return meanDiffAbs(imgA.data,imgA.startIndex,imgA.stride, imgB.data,imgB.startIndex,imgB.stride,
+				imgA.height, imgA.width);
+	}
+
+	/**
+	 * <p>Computes the mean of absolute value error between the two images.</p>
+	 *
+	 * @param imgA first image. Not modified.
+	 * @param imgB second image. Not modified.
+	 * @return error between the two images.
+	 */
+	public static double meanDiffAbs(InterleavedS16 imgA, InterleavedS16 imgB ) {
+		InputSanityCheck.checkSameShape(imgA,imgB);
+		return meanDiffAbs(imgA.data,imgA.startIndex,imgA.stride, imgB.data,imgB.startIndex,imgB.stride,
+				imgA.height, imgA.width*imgA.numBands);
+	}
+
+	private static double meanDiffAbs(final short []dataA, final int startIndexA , final int strideA,
+									final short []dataB, final int startIndexB , final int strideB,
+									int rows , final int columns ) {
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(rows,1);
+		final int[] partial = new int[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, rows, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				int total = 0;
+
+				for (int y = y0; y < y1; y++) {
+					int indexA = startIndexA + y * strideA;
+					int indexB = startIndexB + y * strideB;
+					
+					int indexEnd = indexA+columns;
+					
+					for (; indexA < indexEnd; indexA++,indexB++) {
+						int difference = (dataA[indexA])-(dataB[indexB]);
+						total += Math.abs(difference);
+					}
+				}
+				partial[block] = total;
+			}
+		});
+
+		int total = 0;
+		for( int i = 0; i < numBlocks; i++ ) {
+			total += partial[i];
+		}
+
+		return total / (double)(rows*columns);
+	}
+
+	/**
+	 * <p>
+	 * Returns the sum of all the pixels in the image.
+	 * </p>
+	 * 
+	 * @param img Input image. Not modified.
+	 */
+	public static int sum( final GrayS16 img ) {
+
+		final int rows = img.height;
+		final int columns = img.width;
+
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(rows,1);
+		final int[] partial = new int[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, rows, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				int total = 0;
+
+				for (int y = y0; y < y1; y++) {
+					int index = img.startIndex + y * img.stride;
+					
+					int indexEnd = index+columns;
+					for (; index < indexEnd; index++ ) {
+						total += img.data[index] ;
+					}
+				}
+				partial[block] = total;
+			}
+		});
+
+		int total = 0;
+		for( int i = 0; i < numBlocks; i++ ) {
+			total += partial[i];
+		}
+		
+		return total;
+	}
+
+	/**
+	 * Returns the mean pixel intensity value.
+	 * 
+	 * @param img Input image.  Not modified.
+	 * @return Mean pixel intensity value
+	 */
+	public static double mean( GrayS16 img ) {
+		return sum(img)/(double)(img.width*img.height);
+	}
+
+	/**
+	 * <p>
+	 * Returns the sum of all the pixels in the image.
+	 * </p>
+	 * 
+	 * @param img Input image. Not modified.
+	 */
+	public static int sum( final InterleavedS16 img ) {
+
+		final int rows = img.height;
+		final int columns = img.width*img.numBands;
+
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(rows,1);
+		final int[] partial = new int[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, rows, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				int total = 0;
+
+				for (int y = y0; y < y1; y++) {
+					int index = img.startIndex + y * img.stride;
+					
+					int indexEnd = index+columns;
+					for (; index < indexEnd; index++ ) {
+						total += img.data[index] ;
+					}
+				}
+				partial[block] = total;
+			}
+		});
+
+		int total = 0;
+		for( int i = 0; i < numBlocks; i++ ) {
+			total += partial[i];
+		}
+		
+		return total;
+	}
+
+	/**
+	 * Returns the mean pixel intensity value.
+	 * 
+	 * @param img Input image.  Not modified.
+	 * @return Mean pixel intensity value
+	 */
+	public static double mean( InterleavedS16 img ) {
+		return sum(img)/(double)(img.width*img.height*img.numBands);
+	}
+
+	/**
+	 * Computes the variance of pixel intensity values inside the image.
+	 *
+	 * @param img Input image. Not modified.
+	 * @param mean Mean pixel intensity value.   
+	 * @return Pixel variance   
+	 */
+	public static double variance( final GrayS16 img , final double mean ) {
+
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(img.height,1);
+		final double[] partial = new double[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, img.height, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				double variance = 0;
+
+				for (int y = y0; y < y1; y++) {
+					int index = img.getStartIndex() + y * img.getStride();
+
+					int indexEnd = index+img.width;
+					// for(int x = 0; x < img.width; x++ ) {
+					for (; index < indexEnd; index++ ) {
+						double d = (img.data[index]) - mean; 
+						variance += d*d;
+					}
+				}
+				partial[block] = variance;
+			}
+		});
+
+		double variance = 0;
+		for( int i = 0; i < numBlocks; i++ ) {
+			variance += partial[i];
+		}
+
+		return variance/(img.width*img.height);
+	}
+
+	/**
+	 * Computes the histogram of intensity values for the image.
+	 * 
+	 * @param input (input) Image.
+	 * @param minValue (input) Minimum possible intensity value   
+	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
+	 */
+	public static void histogram( GrayS16 input , int minValue , int histogram[] ) {
+		histogram(input,minValue,histogram,null);
+	}
+
+	/**
+	 * Computes the histogram of intensity values for the image.
+	 * 
+	 * @param input (input) Image.
+	 * @param minValue (input) Minimum possible intensity value   
+	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
+	 * @param work (Optional) Storage for each thread's histogram in the concurrent implementation.
+	 *             Pass in the same instance to avoid creating new arrays each call. Can be null.
+	 */
+	public static void histogram( final GrayS16 input , final int minValue , final int histogram[] ,
+								  GrowQueue_I32 work ) {
+		for( int i = 0; i < histogram.length; i++ )
+			histogram[i] = 0;
+		
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(input.height,1);
+		if( work == null )
+			work = new GrowQueue_I32();
+		work.resize((numBlocks-1)*histogram.length);
+		final int[] workData = work.data;
+
+		BoofConcurrency.loopBlocksIndexed(0, input.height, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				int[] local = histogram;
+				int offset = 0;
+				if( block > 0 ) {
+					local = workData;
+					offset = (block-1)*histogram.length;
+					for( int i = 0; i < histogram.length; i++ )
+						local[offset+i] = 0;
+				}
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					for( ; index < end; index++ ) {
+						local[offset + (input.data[index]) - minValue ]++;
+					}
+				}
+			}
+		});
+
+		for( int block = 1; block < numBlocks; block++ ) {
+			int offset = (block-1)*histogram.length;
+			for( int i = 0; i < histogram.length; i++ )
+				histogram[i] += workData[offset+i];
+		}
+	}
+
+	/**
+	 * Returns the minimum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Minimum pixel value.
+	 */
+	public static int min( GrayS32 input ) {
+		return min( input.data, input.startIndex, input.height, input.width , input.stride );
+	}
+
+	/**
+	 * Returns the minimum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Minimum pixel value.
+	 */
+	public static int min( InterleavedS32 input ) {
+		return min( input.data, input.startIndex, input.height, input.width*input.numBands , input.stride );
+	}
+
+	private static int min( final int[] array , final int startIndex , int rows , final int columns , final int stride ) {
+
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(rows,1);
+		final int[] partial = new int[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, rows, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				int output = array[startIndex + y0*stride];
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = startIndex + y*stride;
+					int end = index + columns;
+
+					for( ; index < end; index++ ) {
+						int v = array[index] ;
+						if( v < output )
+							output = v;
+					}
+				}
+				partial[block] = output;
+			}
+		});
+
+		int output = partial[0];
+		for( int i = 1; i < numBlocks; i++ ) {
+			int v = partial[i];
+			if( v < output )
+				output = v;
+		}
+		return output;
+	}
+
+	/**
+	 * Returns the maximum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Maximum pixel value.
+	 */
+	public static int max( GrayS32 input ) {
+		return max( input.data, input.startIndex, input.height, input.width , input.stride );
+	}
+
+	/**
+	 * Returns the maximum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Maximum pixel value.
+	 */
+	public static int max( InterleavedS32 input ) {
+		return max( input.data, input.startIndex, input.height, input.width*input.numBands , input.stride );
+	}
+
+	private static int max( final int[] array , final int startIndex , int rows , final int columns , final int stride ) {
+
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(rows,1);
+		final int[] partial = new int[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, rows, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				int output = array[startIndex + y0*stride];
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = startIndex + y*stride;
+					int end = index + columns;
+
+					for( ; index < end; index++ ) {
+						int v = array[index] ;
+						if( v > output )
+							output = v;
+					}
+				}
+				partial[block] = output;
+			}
+		});
+
+		int output = partial[0];
+		for( int i = 1; i < numBlocks; i++ ) {
+			int v = partial[i];
+			if( v > output )
+				output = v;
+		}
+		return output;
+	}
+
+	/**
+	 * Returns the maximum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Maximum pixel value.
+	 */
+	public static int maxAbs( GrayS32 input ) {
+		return maxAbs( input.data, input.startIndex, input.height, input.width , input.stride );
+	}
+
+	/**
+	 * Returns the maximum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Maximum pixel value.
+	 */
+	public static int maxAbs( InterleavedS32 input ) {
+		return maxAbs( input.data, input.startIndex, input.height, input.width*input.numBands , input.stride );
+	}
+
+	private static int maxAbs( final int[] array , final int startIndex , int rows , final int columns , final int stride ) {
+
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(rows,1);
+		final int[] partial = new int[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, rows, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				int output = array[startIndex + y0*stride];
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = startIndex + y*stride;
+					int end = index + columns;
+
+					for( ; index < end; index++ ) {
+						int v = Math.abs(array[index]);
+						if( v > output )
+							output = v;
+					}
+				}
+				partial[block] = output;
+			}
+		});
+
+		int output = partial[0];
+		for( int i = 1; i < numBlocks; i++ ) {
+			int v = partial[i];
+			if( v > output )
+				output = v;
+		}
+		return output;
+	}
+
+	/**
+	 * <p>Computes the mean squared error (MSE) between the two images.</p>
+	 *
+	 * @param imgA first image. Not modified.
+	 * @param imgB second image. Not modified.
+	 * @return error between the two images.
+	 */
+	public static double meanDiffSq(GrayS32 imgA, GrayS32 imgB ) {
+		InputSanityCheck.checkSameShape(imgA,imgB);
+		return meanDiffSq(imgA.data,imgA.startIndex,imgA.stride, imgB.data,imgB.startIndex,imgB.stride,
+				imgA.height, imgA.width);
+	}
+
+	/**
+	 * <p>Computes the mean squared error (MSE) between the two images.</p>
+	 *
+	 * @param imgA first image. Not modified.
+	 * @param imgB second image. Not modified.
+	 * @return error between the two images.
+	 */
+	public static double meanDiffSq(InterleavedS32 imgA, InterleavedS32 imgB ) {
+		InputSanityCheck.checkSameShape(imgA,imgB);
+		return meanDiffSq(imgA.data,imgA.startIndex,imgA.stride, imgB.data,imgB.startIndex,imgB.stride,
+				imgA.height, imgA.width*imgA.numBands);
+	}
+
+	private static double meanDiffSq(final int []dataA, final int startIndexA , final int strideA,
+									final int []dataB, final int startIndexB , final int strideB,
+									int rows , final int columns ) {
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(rows,1);
+		final int[] partial = new int[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, rows, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				int total = 0;
+
+				for (int y = y0; y < y1; y++) {
+					int indexA = startIndexA + y * strideA;
+					int indexB = startIndexB + y * strideB;
+					
+					int indexEnd = indexA+columns;
+					
+					for (; indexA < indexEnd; indexA++,indexB++) {
+						int difference = (dataA[indexA])-(dataB[indexB]);
+						total += difference*difference;
+					}
+				}
+				partial[block] = total;
+			}
+		});
+
+		int total = 0;
+		for( int i = 0; i < numBlocks; i++ ) {
+			total += partial[i];
+		}
+
+		return total / (double)(rows*columns);
+	}
+
+	/**
+	 * <p>Computes the mean of absolute value error between the two images.</p>
+	 *
+	 * @param imgA first image. Not modified.
+	 * @param imgB second image. Not modified.
+	 * @return error between the two images.
+	 */
+	public static double meanDiffAbs(GrayS32 imgA, GrayS32 imgB ) {
+		InputSanityCheck.checkSameShape(imgA,imgB);
+		return meanDiffAbs(imgA.data,imgA.startIndex,imgA.stride, imgB.data,imgB.startIndex,imgB.stride,
+				imgA.height, imgA.width);
+	}
+
+	/**
+	 * <p>Computes the mean of absolute value error between the two images.</p>
+	 *
+	 * @param imgA first image. Not modified.
+	 * @param imgB second image. Not modified.
+	 * @return error between the two images.
+	 */
+	public static double meanDiffAbs(InterleavedS32 imgA, InterleavedS32 imgB ) {
+		InputSanityCheck.checkSameShape(imgA,imgB);
+		return meanDiffAbs(imgA.data,imgA.startIndex,imgA.stride, imgB.data,imgB.startIndex,imgB.stride,
+				imgA.height, imgA.width*imgA.numBands);
+	}
+
+	private static double meanDiffAbs(final int []dataA, final int startIndexA , final int strideA,
+									final int []dataB, final int startIndexB , final int strideB,
+									int rows , final int columns ) {
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(rows,1);
+		final int[] partial = new int[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, rows, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				int total = 0;
+
+				for (int y = y0; y < y1; y++) {
+					int indexA = startIndexA + y * strideA;
+					int indexB = startIndexB + y * strideB;
+					
+					int indexEnd = indexA+columns;
+					
+					for (; indexA < indexEnd; indexA++,indexB++) {
+						int difference = (dataA[indexA])-(dataB[indexB]);
+						total += Math.abs(difference);
+					}
+				}
+				partial[block] = total;
+			}
+		});
+
+		int total = 0;
+		for( int i = 0; i < numBlocks; i++ ) {
+			total += partial[i];
+		}
+
+		return total / (double)(rows*columns);
+	}
+
+	/**
+	 * <p>
+	 * Returns the sum of all the pixels in the image.
+	 * </p>
+	 * 
+	 * @param img Input image. Not modified.
+	 */
+	public static int sum( final GrayS32 img ) {
+
+		final int rows = img.height;
+		final int columns = img.width;
+
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(rows,1);
+		final int[] partial = new int[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, rows, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				int total = 0;
+
+				for (int y = y0; y < y1; y++) {
+					int index = img.startIndex + y * img.stride;
+					
+					int indexEnd = index+columns;
+					for (; index < indexEnd; index++ ) {
+						total += img.data[index] ;
+					}
+				}
+				partial[block] = total;
+			}
+		});
+
+		int total = 0;
+		for( int i = 0; i < numBlocks; i++ ) {
+			total += partial[i];
+		}
+		
+		return total;
+	}
+
+	/**
+	 * Returns the mean pixel intensity value.
+	 * 
+	 * @param img Input image.  Not modified.
+	 * @return Mean pixel intensity value
+	 */
+	public static double mean( GrayS32 img ) {
+		return sum(img)/(double)(img.width*img.height);
+	}
+
+	/**
+	 * <p>
+	 * Returns the sum of all the pixels in the image.
+	 * </p>
+	 * 
+	 * @param img Input image. Not modified.
+	 */
+	public static int sum( final InterleavedS32 img ) {
+
+		final int rows = img.height;
+		final int columns = img.width*img.numBands;
+
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(rows,1);
+		final int[] partial = new int[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, rows, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				int total = 0;
+
+				for (int y = y0; y < y1; y++) {
+					int index = img.startIndex + y * img.stride;
+					
+					int indexEnd = index+columns;
+					for (; index < indexEnd; index++ ) {
+						total += img.data[index] ;
+					}
+				}
+				partial[block] = total;
+			}
+		});
+
+		int total = 0;
+		for( int i = 0; i < numBlocks; i++ ) {
+			total += partial[i];
+		}
+		
+		return total;
+	}
+
+	/**
+	 * Returns the mean pixel intensity value.
+	 * 
+	 * @param img Input image.  Not modified.
+	 * @return Mean pixel intensity value
+	 */
+	public static double mean( InterleavedS32 img ) {
+		return sum(img)/(double)(img.width*img.height*img.numBands);
+	}
+
+	/**
+	 * Computes the variance of pixel intensity values inside the image.
+	 *
+	 * @param img Input image. Not modified.
+	 * @param mean Mean pixel intensity value.   
+	 * @return Pixel variance   
+	 */
+	public static double variance( final GrayS32 img , final double mean ) {
+
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(img.height,1);
+		final double[] partial = new double[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, img.height, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				double variance = 0;
+
+				for (int y = y0; y < y1; y++) {
+					int index = img.getStartIndex() + y * img.getStride();
+
+					int indexEnd = index+img.width;
+					// for(int x = 0; x < img.width; x++ ) {
+					for (; index < indexEnd; index++ ) {
+						double d = (img.data[index]) - mean; 
+						variance += d*d;
+					}
+				}
+				partial[block] = variance;
+			}
+		});
+
+		double variance = 0;
+		for( int i = 0; i < numBlocks; i++ ) {
+			variance += partial[i];
+		}
+
+		return variance/(img.width*img.height);
+	}
+
+	/**
+	 * Computes the histogram of intensity values for the image.
+	 * 
+	 * @param input (input) Image.
+	 * @param minValue (input) Minimum possible intensity value   
+	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
+	 */
+	public static void histogram( GrayS32 input , int minValue , int histogram[] ) {
+		histogram(input,minValue,histogram,null);
+	}
+
+	/**
+	 * Computes the histogram of intensity values for the image.
+	 * 
+	 * @param input (input) Image.
+	 * @param minValue (input) Minimum possible intensity value   
+	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
+	 * @param work (Optional) Storage for each thread's histogram in the concurrent implementation.
+	 *             Pass in the same instance to avoid creating new arrays each call. Can be null.
+	 */
+	public static void histogram( final GrayS32 input , final int minValue , final int histogram[] ,
+								  GrowQueue_I32 work ) {
+		for( int i = 0; i < histogram.length; i++ )
+			histogram[i] = 0;
+		
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(input.height,1);
+		if( work == null )
+			work = new GrowQueue_I32();
+		work.resize((numBlocks-1)*histogram.length);
+		final int[] workData = work.data;
+
+		BoofConcurrency.loopBlocksIndexed(0, input.height, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				int[] local = histogram;
+				int offset = 0;
+				if( block > 0 ) {
+					local = workData;
+					offset = (block-1)*histogram.length;
+					for( int i = 0; i < histogram.length; i++ )
+						local[offset+i] = 0;
+				}
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					for( ; index < end; index++ ) {
+						local[offset + (input.data[index]) - minValue ]++;
+					}
+				}
+			}
+		});
+
+		for( int block = 1; block < numBlocks; block++ ) {
+			int offset = (block-1)*histogram.length;
+			for( int i = 0; i < histogram.length; i++ )
+				histogram[i] += workData[offset+i];
+		}
+	}
+
+	/**
+	 * Returns the minimum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Minimum pixel value.
+	 */
+	public static long min( GrayS64 input ) {
+		return min( input.data, input.startIndex, input.height, input.width , input.stride );
+	}
+
+	/**
+	 * Returns the minimum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Minimum pixel value.
+	 */
+	public static long min( InterleavedS64 input ) {
+		return min( input.data, input.startIndex, input.height, input.width*input.numBands , input.stride );
+	}
+
+	private static long min( final long[] array , final int startIndex , int rows , final int columns , final int stride ) {
+
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(rows,1);
+		final long[] partial = new long[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, rows, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				long output = array[startIndex + y0*stride];
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = startIndex + y*stride;
+					int end = index + columns;
+
+					for( ; index < end; index++ ) {
+						long v = array[index] ;
+						if( v < output )
+							output = v;
+					}
+				}
+				partial[block] = output;
+			}
+		});
+
+		long output = partial[0];
+		for( int i = 1; i < numBlocks; i++ ) {
+			long v = partial[i];
+			if( v < output )
+				output = v;
+		}
+		return output;
+	}
+
+	/**
+	 * Returns the maximum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Maximum pixel value.
+	 */
+	public static long max( GrayS64 input ) {
+		return max( input.data, input.startIndex, input.height, input.width , input.stride );
+	}
+
+	/**
+	 * Returns the maximum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Maximum pixel value.
+	 */
+	public static long max( InterleavedS64 input ) {
+		return max( input.data, input.startIndex, input.height, input.width*input.numBands , input.stride );
+	}
+
+	private static long max( final long[] array , final int startIndex , int rows , final int columns , final int stride ) {
+
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(rows,1);
+		final long[] partial = new long[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, rows, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				long output = array[startIndex + y0*stride];
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = startIndex + y*stride;
+					int end = index + columns;
+
+					for( ; index < end; index++ ) {
+						long v = array[index] ;
+						if( v > output )
+							output = v;
+					}
+				}
+				partial[block] = output;
+			}
+		});
+
+		long output = partial[0];
+		for( int i = 1; i < numBlocks; i++ ) {
+			long v = partial[i];
+			if( v > output )
+				output = v;
+		}
+		return output;
+	}
+
+	/**
+	 * Returns the maximum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Maximum pixel value.
+	 */
+	public static long maxAbs( GrayS64 input ) {
+		return maxAbs( input.data, input.startIndex, input.height, input.width , input.stride );
+	}
+
+	/**
+	 * Returns the maximum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Maximum pixel value.
+	 */
+	public static long maxAbs( InterleavedS64 input ) {
+		return maxAbs( input.data, input.startIndex, input.height, input.width*input.numBands , input.stride );
+	}
+
+	private static long maxAbs( final long[] array , final int startIndex , int rows , final int columns , final int stride ) {
+
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(rows,1);
+		final long[] partial = new long[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, rows, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				long output = array[startIndex + y0*stride];
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = startIndex + y*stride;
+					int end = index + columns;
+
+					for( ; index < end; index++ ) {
+						long v = Math.abs(array[index]);
+						if( v > output )
+							output = v;
+					}
+				}
+				partial[block] = output;
+			}
+		});
+
+		long output = partial[0];
+		for( int i = 1; i < numBlocks; i++ ) {
+			long v = partial[i];
+			if( v > output )
+				output = v;
+		}
+		return output;
+	}
+
+	/**
+	 * <p>Computes the mean squared error (MSE) between the two images.</p>
+	 *
+	 * @param imgA first image. Not modified.
+	 * @param imgB second image. Not modified.
+	 * @return error between the two images.
+	 */
+	public static double meanDiffSq(GrayS64 imgA, GrayS64 imgB ) {
+		InputSanityCheck.checkSameShape(imgA,imgB);
+		return meanDiffSq(imgA.data,imgA.startIndex,imgA.stride, imgB.data,imgB.startIndex,imgB.stride,
+				imgA.height, imgA.width);
+	}
+
+	/**
+	 * <p>Computes the mean squared error (MSE) between the two images.</p>
+	 *
+	 * @param imgA first image. Not modified.
+	 * @param imgB second image. Not modified.
+	 * @return error between the two images.
+	 */
+	public static double meanDiffSq(InterleavedS64 imgA, InterleavedS64 imgB ) {
+		InputSanityCheck.checkSameShape(imgA,imgB);
+		return meanDiffSq(imgA.data,imgA.startIndex,imgA.stride, imgB.data,imgB.startIndex,imgB.stride,
+				imgA.height, imgA.width*imgA.numBands);
+	}
+
+	private static double meanDiffSq(final long []dataA, final int startIndexA , final int strideA,
+									final long []dataB, final int startIndexB , final int strideB,
+									int rows , final int columns ) {
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(rows,1);
+		final long[] partial = new long[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, rows, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				long total = 0;
+
+				for (int y = y0; y < y1; y++) {
+					int indexA = startIndexA + y * strideA;
+					int indexB = startIndexB + y * strideB;
+					
+					int indexEnd = indexA+columns;
+					
+					for (; indexA < indexEnd; indexA++,indexB++) {
+						long difference = (dataA[indexA])-(dataB[indexB]);
+						total += difference*difference;
+					}
+				}
+				partial[block] = total;
+			}
+		});
+
+		long total = 0;
+		for( int i = 0; i < numBlocks; i++ ) {
+			total += partial[i];
+		}
+
+		return total / (double)(rows*columns);
+	}
+
+	/**
+	 * <p>Computes the mean of absolute value error between the two images.</p>
+	 *
+	 * @param imgA first image. Not modified.
+	 * @param imgB second image. Not modified.
+	 * @return error between the two images.
+	 */
+	public static double meanDiffAbs(GrayS64 imgA, GrayS64 imgB ) {
+		InputSanityCheck.checkSameShape(imgA,imgB);
+		return meanDiffAbs(imgA.data,imgA.startIndex,imgA.stride, imgB.data,imgB.startIndex,imgB.stride,
+				imgA.height, imgA.width);
+	}
+
+	/**
+	 * <p>Computes the mean of absolute value error between the two images.</p>
+	 *
+	 * @param imgA first image. Not modified.
+	 * @param imgB second image. Not modified.
+	 * @return error between the two images.
+	 */
+	public static double meanDiffAbs(InterleavedS64 imgA, InterleavedS64 imgB ) {
+		InputSanityCheck.checkSameShape(imgA,imgB);
+		return meanDiffAbs(imgA.data,imgA.startIndex,imgA.stride, imgB.data,imgB.startIndex,imgB.stride,
+				imgA.height, imgA.width*imgA.numBands);
+	}
+
+	private static double meanDiffAbs(final long []dataA, final int startIndexA , final int strideA,
+									final long []dataB, final int startIndexB , final int strideB,
+									int rows , final int columns ) {
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(rows,1);
+		final long[] partial = new long[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, rows, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				long total = 0;
+
+				for (int y = y0; y < y1; y++) {
+					int indexA = startIndexA + y * strideA;
+					int indexB = startIndexB + y * strideB;
+					
+					int indexEnd = indexA+columns;
+					
+					for (; indexA < indexEnd; indexA++,indexB++) {
+						long difference = (dataA[indexA])-(dataB[indexB]);
+						total += Math.abs(difference);
+					}
+				}
+				partial[block] = total;
+			}
+		});
+
+		long total = 0;
+		for( int i = 0; i < numBlocks; i++ ) {
+			total += partial[i];
+		}
+
+		return total / (double)(rows*columns);
+	}
+
+	/**
+	 * <p>
+	 * Returns the sum of all the pixels in the image.
+	 * </p>
+	 * 
+	 * @param img Input image. Not modified.
+	 */
+	public static long sum( final GrayS64 img ) {
+
+		final int rows = img.height;
+		final int columns = img.width;
+
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(rows,1);
+		final long[] partial = new long[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, rows, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				long total = 0;
+
+				for (int y = y0; y < y1; y++) {
+					int index = img.startIndex + y * img.stride;
+					
+					int indexEnd = index+columns;
+					for (; index < indexEnd; index++ ) {
+						total += img.data[index] ;
+					}
+				}
+				partial[block] = total;
+			}
+		});
+
+		long total = 0;
+		for( int i = 0; i < numBlocks; i++ ) {
+			total += partial[i];
+		}
+		
+		return total;
+	}
+
+	/**
+	 * Returns the mean pixel intensity value.
+	 * 
+	 * @param img Input image.  Not modified.
+	 * @return Mean pixel intensity value
+	 */
+	public static double mean( GrayS64 img ) {
+		return sum(img)/(double)(img.width*img.height);
+	}
+
+	/**
+	 * <p>
+	 * Returns the sum of all the pixels in the image.
+	 * </p>
+	 * 
+	 * @param img Input image. Not modified.
+	 */
+	public static long sum( final InterleavedS64 img ) {
+
+		final int rows = img.height;
+		final int columns = img.width*img.numBands;
+
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(rows,1);
+		final long[] partial = new long[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, rows, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				long total = 0;
+
+				for (int y = y0; y < y1; y++) {
+					int index = img.startIndex + y * img.stride;
+					
+					int indexEnd = index+columns;
+					for (; index < indexEnd; index++ ) {
+						total += img.data[index] ;
+					}
+				}
+				partial[block] = total;
+			}
+		});
+
+		long total = 0;
+		for( int i = 0; i < numBlocks; i++ ) {
+			total += partial[i];
+		}
+		
+		return total;
+	}
+
+	/**
+	 * Returns the mean pixel intensity value.
+	 * 
+	 * @param img Input image.  Not modified.
+	 * @return Mean pixel intensity value
+	 */
+	public static double mean( InterleavedS64 img ) {
+		return sum(img)/(double)(img.width*img.height*img.numBands);
+	}
+
+	/**
+	 * Computes the variance of pixel intensity values inside the image.
+	 *
+	 * @param img Input image. Not modified.
+	 * @param mean Mean pixel intensity value.   
+	 * @return Pixel variance   
+	 */
+	public static double variance( final GrayS64 img , final double mean ) {
+
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(img.height,1);
+		final double[] partial = new double[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, img.height, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				double variance = 0;
+
+				for (int y = y0; y < y1; y++) {
+					int index = img.getStartIndex() + y * img.getStride();
+
+					int indexEnd = index+img.width;
+					// for(int x = 0; x < img.width; x++ ) {
+					for (; index < indexEnd; index++ ) {
+						double d = (img.data[index]) - mean; 
+						variance += d*d;
+					}
+				}
+				partial[block] = variance;
+			}
+		});
+
+		double variance = 0;
+		for( int i = 0; i < numBlocks; i++ ) {
+			variance += partial[i];
+		}
+
+		return variance/(img.width*img.height);
+	}
+
+	/**
+	 * Computes the histogram of intensity values for the image.
+	 * 
+	 * @param input (input) Image.
+	 * @param minValue (input) Minimum possible intensity value   
+	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
+	 */
+	public static void histogram( GrayS64 input , long minValue , int histogram[] ) {
+		histogram(input,minValue,histogram,null);
+	}
+
+	/**
+	 * Computes the histogram of intensity values for the image.
+	 * 
+	 * @param input (input) Image.
+	 * @param minValue (input) Minimum possible intensity value   
+	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
+	 * @param work (Optional) Storage for each thread's histogram in the concurrent implementation.
+	 *             Pass in the same instance to avoid creating new arrays each call. Can be null.
+	 */
+	public static void histogram( final GrayS64 input , final long minValue , final int histogram[] ,
+								  GrowQueue_I32 work ) {
+		for( int i = 0; i < histogram.length; i++ )
+			histogram[i] = 0;
+		
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(input.height,1);
+		if( work == null )
+			work = new GrowQueue_I32();
+		work.resize((numBlocks-1)*histogram.length);
+		final int[] workData = work.data;
+
+		BoofConcurrency.loopBlocksIndexed(0, input.height, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				int[] local = histogram;
+				int offset = 0;
+				if( block > 0 ) {
+					local = workData;
+					offset = (block-1)*histogram.length;
+					for( int i = 0; i < histogram.length; i++ )
+						local[offset+i] = 0;
+				}
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					for( ; index < end; index++ ) {
+						local[offset + (int)(input.data[index] - minValue)]++;
+					}
+				}
+			}
+		});
+
+		for( int block = 1; block < numBlocks; block++ ) {
+			int offset = (block-1)*histogram.length;
+			for( int i = 0; i < histogram.length; i++ )
+				histogram[i] += workData[offset+i];
+		}
+	}
+
+	/**
+	 * Returns the minimum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Minimum pixel value.
+	 */
+	public static float min( GrayF32 input ) {
+		return min( input.data, input.startIndex, input.height, input.width , input.stride );
+	}
+
+	/**
+	 * Returns the minimum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Minimum pixel value.
+	 */
+	public static float min( InterleavedF32 input ) {
+		return min( input.data, input.startIndex, input.height, input.width*input.numBands , input.stride );
+	}
+
+	private static float min( final float[] array , final int startIndex , int rows , final int columns , final int stride ) {
+
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(rows,1);
+		final float[] partial = new float[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, rows, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				float output = array[startIndex + y0*stride];
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = startIndex + y*stride;
+					int end = index + columns;
+
+					for( ; index < end; index++ ) {
+						float v = array[index] ;
+						if( v < output )
+							output = v;
+					}
+				}
+				partial[block] = output;
+			}
+		});
+
+		float output = partial[0];
+		for( int i = 1; i < numBlocks; i++ ) {
+			float v = partial[i];
+			if( v < output )
+				output = v;
+		}
+		return output;
+	}
+
+	/**
+	 * Returns the maximum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Maximum pixel value.
+	 */
+	public static float max( GrayF32 input ) {
+		return max( input.data, input.startIndex, input.height, input.width , input.stride );
+	}
+
+	/**
+	 * Returns the maximum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Maximum pixel value.
+	 */
+	public static float max( InterleavedF32 input ) {
+		return max( input.data, input.startIndex, input.height, input.width*input.numBands , input.stride );
+	}
+
+	private static float max( final float[] array , final int startIndex , int rows , final int columns , final int stride ) {
+
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(rows,1);
+		final float[] partial = new float[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, rows, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				float output = array[startIndex + y0*stride];
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = startIndex + y*stride;
+					int end = index + columns;
+
+					for( ; index < end; index++ ) {
+						float v = array[index] ;
+						if( v > output )
+							output = v;
+					}
+				}
+				partial[block] = output;
+			}
+		});
+
+		float output = partial[0];
+		for( int i = 1; i < numBlocks; i++ ) {
+			float v = partial[i];
+			if( v > output )
+				output = v;
+		}
+		return output;
+	}
+
+	/**
+	 * Returns the maximum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Maximum pixel value.
+	 */
+	public static float maxAbs( GrayF32 input ) {
+		return maxAbs( input.data, input.startIndex, input.height, input.width , input.stride );
+	}
+
+	/**
+	 * Returns the maximum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Maximum pixel value.
+	 */
+	public static float maxAbs( InterleavedF32 input ) {
+		return maxAbs( input.data, input.startIndex, input.height, input.width*input.numBands , input.stride );
+	}
+
+	private static float maxAbs( final float[] array , final int startIndex , int rows , final int columns , final int stride ) {
+
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(rows,1);
+		final float[] partial = new float[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, rows, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				float output = array[startIndex + y0*stride];
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = startIndex + y*stride;
+					int end = index + columns;
+
+					for( ; index < end; index++ ) {
+						float v = Math.abs(array[index]);
+						if( v > output )
+							output = v;
+					}
+				}
+				partial[block] = output;
+			}
+		});
+
+		float output = partial[0];
+		for( int i = 1; i < numBlocks; i++ ) {
+			float v = partial[i];
+			if( v > output )
+				output = v;
+		}
+		return output;
+	}
+
+	/**
+	 * <p>Computes the mean squared error (MSE) between the two images.</p>
+	 *
+	 * @param imgA first image. Not modified.
+	 * @param imgB second image. Not modified.
+	 * @return error between the two images.
+	 */
+	public static double meanDiffSq(GrayF32 imgA, GrayF32 imgB ) {
+		InputSanityCheck.checkSameShape(imgA,imgB);
+		return meanDiffSq(imgA.data,imgA.startIndex,imgA.stride, imgB.data,imgB.startIndex,imgB.stride,
+				imgA.height, imgA.width);
+	}
+
+	/**
+	 * <p>Computes the mean squared error (MSE) between the two images.</p>
+	 *
+	 * @param imgA first image. Not modified.
+	 * @param imgB second image. Not modified.
+	 * @return error between the two images.
+	 */
+	public static double meanDiffSq(InterleavedF32 imgA, InterleavedF32 imgB ) {
+		InputSanityCheck.checkSameShape(imgA,imgB);
+		return meanDiffSq(imgA.data,imgA.startIndex,imgA.stride, imgB.data,imgB.startIndex,imgB.stride,
+				imgA.height, imgA.width*imgA.numBands);
+	}
+
+	private static double meanDiffSq(final float []dataA, final int startIndexA , final int strideA,
+									final float []dataB, final int startIndexB , final int strideB,
+									int rows , final int columns ) {
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(rows,1);
+		final double[] partial = new double[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, rows, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				double total = 0;
+
+				for (int y = y0; y < y1; y++) {
+					int indexA = startIndexA + y * strideA;
+					int indexB = startIndexB + y * strideB;
+					
+					int indexEnd = indexA+columns;
+					
+					for (; indexA < indexEnd; indexA++,indexB++) {
+						float difference = (dataA[indexA])-(dataB[indexB]);
+						total += difference*difference;
+					}
+				}
+				partial[block] = total;
+			}
+		});
+
+		double total = 0;
+		for( int i = 0; i < numBlocks; i++ ) {
+			total += partial[i];
+		}
+
+		return total / (double)(rows*columns);
+	}
+
+	/**
+	 * <p>Computes the mean of absolute value error between the two images.</p>
+	 *
+	 * @param imgA first image. Not modified.
+	 * @param imgB second image. Not modified.
+	 * @return error between the two images.
+	 */
+	public static double meanDiffAbs(GrayF32 imgA, GrayF32 imgB ) {
+		InputSanityCheck.checkSameShape(imgA,imgB);
+		return meanDiffAbs(imgA.data,imgA.startIndex,imgA.stride, imgB.data,imgB.startIndex,imgB.stride,
+				imgA.height, imgA.width);
+	}
+
+	/**
+	 * <p>Computes the mean of absolute value error between the two images.</p>
+	 *
+	 * @param imgA first image. Not modified.
+	 * @param imgB second image. Not modified.
+	 * @return error between the two images.
+	 */
+	public static double meanDiffAbs(InterleavedF32 imgA, InterleavedF32 imgB ) {
+		InputSanityCheck.checkSameShape(imgA,imgB);
+		return meanDiffAbs(imgA.data,imgA.startIndex,imgA.stride, imgB.data,imgB.startIndex,imgB.stride,
+				imgA.height, imgA.width*imgA.numBands);
+	}
+
+	private static double meanDiffAbs(final float []dataA, final int startIndexA , final int strideA,
+									final float []dataB, final int startIndexB , final int strideB,
+									int rows , final int columns ) {
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(rows,1);
+		final double[] partial = new double[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, rows, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				double total = 0;
+
+				for (int y = y0; y < y1; y++) {
+					int indexA = startIndexA + y * strideA;
+					int indexB = startIndexB + y * strideB;
+					
+					int indexEnd = indexA+columns;
+					
+					for (; indexA < indexEnd; indexA++,indexB++) {
+						float difference = (dataA[indexA])-(dataB[indexB]);
+						total += Math.abs(difference);
+					}
+				}
+				partial[block] = total;
+			}
+		});
+
+		double total = 0;
+		for( int i = 0; i < numBlocks; i++ ) {
+			total += partial[i];
+		}
+
+		return total / (double)(rows*columns);
+	}
+
+	/**
+	 * <p>
+	 * Returns the sum of all the pixels in the image.
+	 * </p>
+	 * 
+	 * @param img Input image. Not modified.
+	 */
+	public static float sum( final GrayF32 img ) {
+
+		final int rows = img.height;
+		final int columns = img.width;
+
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(rows,1);
+		final double[] partial = new double[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, rows, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				double total = 0;
+
+				for (int y = y0; y < y1; y++) {
+					int index = img.startIndex + y * img.stride;
+					
+					int indexEnd = index+columns;
+					for (; index < indexEnd; index++ ) {
+						total += img.data[index] ;
+					}
+				}
+				partial[block] = total;
+			}
+		});
+
+		double total = 0;
+		for( int i = 0; i < numBlocks; i++ ) {
+			total += partial[i];
+		}
+		
+		return (float)total;
+	}
+
+	/**
+	 * Returns the mean pixel intensity value.
+	 * 
+	 * @param img Input image.  Not modified.
+	 * @return Mean pixel intensity value
+	 */
+	public static float mean( GrayF32 img ) {
+		return sum(img)/(float)(img.width*img.height);
+	}
+
+	/**
+	 * <p>
+	 * Returns the sum of all the pixels in the image.
+	 * </p>
+	 * 
+	 * @param img Input image. Not modified.
+	 */
+	public static float sum( final InterleavedF32 img ) {
+
+		final int rows = img.height;
+		final int columns = img.width*img.numBands;
+
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(rows,1);
+		final double[] partial = new double[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, rows, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				double total = 0;
+
+				for (int y = y0; y < y1; y++) {
+					int index = img.startIndex + y * img.stride;
+					
+					int indexEnd = index+columns;
+					for (; index < indexEnd; index++ ) {
+						total += img.data[index] ;
+					}
+				}
+				partial[block] = total;
+			}
+		});
+
+		double total = 0;
+		for( int i = 0; i < numBlocks; i++ ) {
+			total += partial[i];
+		}
+		
+		return (float)total;
+	}
+
+	/**
+	 * Returns the mean pixel intensity value.
+	 * 
+	 * @param img Input image.  Not modified.
+	 * @return Mean pixel intensity value
+	 */
+	public static float mean( InterleavedF32 img ) {
+		return sum(img)/(float)(img.width*img.height*img.numBands);
+	}
+
+	/**
+	 * Computes the variance of pixel intensity values inside the image.
+	 *
+	 * @param img Input image. Not modified.
+	 * @param mean Mean pixel intensity value.   
+	 * @return Pixel variance   
+	 */
+	public static float variance( final GrayF32 img , final float mean ) {
+
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(img.height,1);
+		final double[] partial = new double[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, img.height, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				double variance = 0;
+
+				for (int y = y0; y < y1; y++) {
+					int index = img.getStartIndex() + y * img.getStride();
+
+					int indexEnd = index+img.width;
+					// for(int x = 0; x < img.width; x++ ) {
+					for (; index < indexEnd; index++ ) {
+						float d = (img.data[index]) - mean; 
+						variance += d*d;
+					}
+				}
+				partial[block] = variance;
+			}
+		});
+
+		double variance = 0;
+		for( int i = 0; i < numBlocks; i++ ) {
+			variance += partial[i];
+		}
+
+		return (float)(variance/(img.width*img.height));
+	}
+
+	/**
+	 * Computes the histogram of intensity values for the image.
+	 * 
+	 * @param input (input) Image.
+	 * @param minValue (input) Minimum possible intensity value   
+	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
+	 */
+	public static void histogram( GrayF32 input , float minValue , int histogram[] ) {
+		histogram(input,minValue,histogram,null);
+	}
+
+	/**
+	 * Computes the histogram of intensity values for the image.
+	 * 
+	 * @param input (input) Image.
+	 * @param minValue (input) Minimum possible intensity value   
+	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
+	 * @param work (Optional) Storage for each thread's histogram in the concurrent implementation.
+	 *             Pass in the same instance to avoid creating new arrays each call. Can be null.
+	 */
+	public static void histogram( final GrayF32 input , final float minValue , final int histogram[] ,
+								  GrowQueue_I32 work ) {
+		for( int i = 0; i < histogram.length; i++ )
+			histogram[i] = 0;
+		
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(input.height,1);
+		if( work == null )
+			work = new GrowQueue_I32();
+		work.resize((numBlocks-1)*histogram.length);
+		final int[] workData = work.data;
+
+		BoofConcurrency.loopBlocksIndexed(0, input.height, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				int[] local = histogram;
+				int offset = 0;
+				if( block > 0 ) {
+					local = workData;
+					offset = (block-1)*histogram.length;
+					for( int i = 0; i < histogram.length; i++ )
+						local[offset+i] = 0;
+				}
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					for( ; index < end; index++ ) {
+						local[offset + (int)(input.data[index] - minValue)]++;
+					}
+				}
+			}
+		});
+
+		for( int block = 1; block < numBlocks; block++ ) {
+			int offset = (block-1)*histogram.length;
+			for( int i = 0; i < histogram.length; i++ )
+				histogram[i] += workData[offset+i];
+		}
+	}
+
+	/**
+	 * Returns the minimum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Minimum pixel value.
+	 */
+	public static double min( GrayF64 input ) {
+		return min( input.data, input.startIndex, input.height, input.width , input.stride );
+	}
+
+	/**
+	 * Returns the minimum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Minimum pixel value.
+	 */
+	public static double min( InterleavedF64 input ) {
+		return min( input.data, input.startIndex, input.height, input.width*input.numBands , input.stride );
+	}
+
+	private static double min( final double[] array , final int startIndex , int rows , final int columns , final int stride ) {
+
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(rows,1);
+		final double[] partial = new double[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, rows, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				double output = array[startIndex + y0*stride];
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = startIndex + y*stride;
+					int end = index + columns;
+
+					for( ; index < end; index++ ) {
+						double v = array[index] ;
+						if( v < output )
+							output = v;
+					}
+				}
+				partial[block] = output;
+			}
+		});
+
+		double output = partial[0];
+		for( int i = 1; i < numBlocks; i++ ) {
+			double v = partial[i];
+			if( v < output )
+				output = v;
+		}
+		return output;
+	}
+
+	/**
+	 * Returns the maximum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Maximum pixel value.
+	 */
+	public static double max( GrayF64 input ) {
+		return max( input.data, input.startIndex, input.height, input.width , input.stride );
+	}
+
+	/**
+	 * Returns the maximum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Maximum pixel value.
+	 */
+	public static double max( InterleavedF64 input ) {
+		return max( input.data, input.startIndex, input.height, input.width*input.numBands , input.stride );
+	}
+
+	private static double max( final double[] array , final int startIndex , int rows , final int columns , final int stride ) {
+
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(rows,1);
+		final double[] partial = new double[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, rows, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				double output = array[startIndex + y0*stride];
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = startIndex + y*stride;
+					int end = index + columns;
+
+					for( ; index < end; index++ ) {
+						double v = array[index] ;
+						if( v > output )
+							output = v;
+					}
+				}
+				partial[block] = output;
+			}
+		});
+
+		double output = partial[0];
+		for( int i = 1; i < numBlocks; i++ ) {
+			double v = partial[i];
+			if( v > output )
+				output = v;
+		}
+		return output;
+	}
+
+	/**
+	 * Returns the maximum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Maximum pixel value.
+	 */
+	public static double maxAbs( GrayF64 input ) {
+		return maxAbs( input.data, input.startIndex, input.height, input.width , input.stride );
+	}
+
+	/**
+	 * Returns the maximum element value.
+	 * 
+	 * @param input Input image. Not modified.
+	 * @return Maximum pixel value.
+	 */
+	public static double maxAbs( InterleavedF64 input ) {
+		return maxAbs( input.data, input.startIndex, input.height, input.width*input.numBands , input.stride );
+	}
+
+	private static double maxAbs( final double[] array , final int startIndex , int rows , final int columns , final int stride ) {
+
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(rows,1);
+		final double[] partial = new double[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, rows, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				double output = array[startIndex + y0*stride];
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = startIndex + y*stride;
+					int end = index + columns;
+
+					for( ; index < end; index++ ) {
+						double v = Math.abs(array[index]);
+						if( v > output )
+							output = v;
+					}
+				}
+				partial[block] = output;
+			}
+		});
+
+		double output = partial[0];
+		for( int i = 1; i < numBlocks; i++ ) {
+			double v = partial[i];
+			if( v > output )
+				output = v;
+		}
+		return output;
+	}
+
+	/**
+	 * <p>Computes the mean squared error (MSE) between the two images.</p>
+	 *
+	 * @param imgA first image. Not modified.
+	 * @param imgB second image. Not modified.
+	 * @return error between the two images.
+	 */
+	public static double meanDiffSq(GrayF64 imgA, GrayF64 imgB ) {
+		InputSanityCheck.checkSameShape(imgA,imgB);
+		return meanDiffSq(imgA.data,imgA.startIndex,imgA.stride, imgB.data,imgB.startIndex,imgB.stride,
+				imgA.height, imgA.width);
+	}
+
+	/**
+	 * <p>Computes the mean squared error (MSE) between the two images.</p>
+	 *
+	 * @param imgA first image. Not modified.
+	 * @param imgB second image. Not modified.
+	 * @return error between the two images.
+	 */
+	public static double meanDiffSq(InterleavedF64 imgA, InterleavedF64 imgB ) {
+		InputSanityCheck.checkSameShape(imgA,imgB);
+		return meanDiffSq(imgA.data,imgA.startIndex,imgA.stride, imgB.data,imgB.startIndex,imgB.stride,
+				imgA.height, imgA.width*imgA.numBands);
+	}
+
+	private static double meanDiffSq(final double []dataA, final int startIndexA , final int strideA,
+									final double []dataB, final int startIndexB , final int strideB,
+									int rows , final int columns ) {
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(rows,1);
+		final double[] partial = new double[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, rows, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				double total = 0;
+
+				for (int y = y0; y < y1; y++) {
+					int indexA = startIndexA + y * strideA;
+					int indexB = startIndexB + y * strideB;
+					
+					int indexEnd = indexA+columns;
+					
+					for (; indexA < indexEnd; indexA++,indexB++) {
+						double difference = (dataA[indexA])-(dataB[indexB]);
+						total += difference*difference;
+					}
+				}
+				partial[block] = total;
+			}
+		});
+
+		double total = 0;
+		for( int i = 0; i < numBlocks; i++ ) {
+			total += partial[i];
+		}
+
+		return total / (double)(rows*columns);
+	}
+
+	/**
+	 * <p>Computes the mean of absolute value error between the two images.</p>
+	 *
+	 * @param imgA first image. Not modified.
+	 * @param imgB second image. Not modified.
+	 * @return error between the two images.
+	 */
+	public static double meanDiffAbs(GrayF64 imgA, GrayF64 imgB ) {
+		InputSanityCheck.checkSameShape(imgA,imgB);
+		return meanDiffAbs(imgA.data,imgA.startIndex,imgA.stride, imgB.data,imgB.startIndex,imgB.stride,
+				imgA.height, imgA.width);
+	}
+
+	/**
+	 * <p>Computes the mean of absolute value error between the two images.</p>
+	 *
+	 * @param imgA first image. Not modified.
+	 * @param imgB second image. Not modified.
+	 * @return error between the two images.
+	 */
+	public static double meanDiffAbs(InterleavedF64 imgA, InterleavedF64 imgB ) {
+		InputSanityCheck.checkSameShape(imgA,imgB);
+		return meanDiffAbs(imgA.data,imgA.startIndex,imgA.stride, imgB.data,imgB.startIndex,imgB.stride,
+				imgA.height, imgA.width*imgA.numBands);
+	}
+
+	private static double meanDiffAbs(final double []dataA, final int startIndexA , final int strideA,
+									final double []dataB, final int startIndexB , final int strideB,
+									int rows , final int columns ) {
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(rows,1);
+		final double[] partial = new double[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, rows, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				double total = 0;
+
+				for (int y = y0; y < y1; y++) {
+					int indexA = startIndexA + y * strideA;
+					int indexB = startIndexB + y * strideB;
+					
+					int indexEnd = indexA+columns;
+					
+					for (; indexA < indexEnd; indexA++,indexB++) {
+						double difference = (dataA[indexA])-(dataB[indexB]);
+						total += Math.abs(difference);
+					}
+				}
+				partial[block] = total;
+			}
+		});
+
+		double total = 0;
+		for( int i = 0; i < numBlocks; i++ ) {
+			total += partial[i];
+		}
+
+		return total / (double)(rows*columns);
+	}
+
+	/**
+	 * <p>
+	 * Returns the sum of all the pixels in the image.
+	 * </p>
+	 * 
+	 * @param img Input image. Not modified.
+	 */
+	public static double sum( final GrayF64 img ) {
+
+		final int rows = img.height;
+		final int columns = img.width;
+
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(rows,1);
+		final double[] partial = new double[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, rows, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				double total = 0;
+
+				for (int y = y0; y < y1; y++) {
+					int index = img.startIndex + y * img.stride;
+					
+					int indexEnd = index+columns;
+					for (; index < indexEnd; index++ ) {
+						total += img.data[index] ;
+					}
+				}
+				partial[block] = total;
+			}
+		});
+
+		double total = 0;
+		for( int i = 0; i < numBlocks; i++ ) {
+			total += partial[i];
+		}
+		
+		return total;
+	}
+
+	/**
+	 * Returns the mean pixel intensity value.
+	 * 
+	 * @param img Input image.  Not modified.
+	 * @return Mean pixel intensity value
+	 */
+	public static double mean( GrayF64 img ) {
+		return sum(img)/(double)(img.width*img.height);
+	}
+
+	/**
+	 * <p>
+	 * Returns the sum of all the pixels in the image.
+	 * </p>
+	 * 
+	 * @param img Input image. Not modified.
+	 */
+	public static double sum( final InterleavedF64 img ) {
+
+		final int rows = img.height;
+		final int columns = img.width*img.numBands;
+
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(rows,1);
+		final double[] partial = new double[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, rows, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				double total = 0;
+
+				for (int y = y0; y < y1; y++) {
+					int index = img.startIndex + y * img.stride;
+					
+					int indexEnd = index+columns;
+					for (; index < indexEnd; index++ ) {
+						total += img.data[index] ;
+					}
+				}
+				partial[block] = total;
+			}
+		});
+
+		double total = 0;
+		for( int i = 0; i < numBlocks; i++ ) {
+			total += partial[i];
+		}
+		
+		return total;
+	}
+
+	/**
+	 * Returns the mean pixel intensity value.
+	 * 
+	 * @param img Input image.  Not modified.
+	 * @return Mean pixel intensity value
+	 */
+	public static double mean( InterleavedF64 img ) {
+		return sum(img)/(double)(img.width*img.height*img.numBands);
+	}
+
+	/**
+	 * Computes the variance of pixel intensity values inside the image.
+	 *
+	 * @param img Input image. Not modified.
+	 * @param mean Mean pixel intensity value.   
+	 * @return Pixel variance   
+	 */
+	public static double variance( final GrayF64 img , final double mean ) {
+
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(img.height,1);
+		final double[] partial = new double[numBlocks];
+
+		BoofConcurrency.loopBlocksIndexed(0, img.height, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				double variance = 0;
+
+				for (int y = y0; y < y1; y++) {
+					int index = img.getStartIndex() + y * img.getStride();
+
+					int indexEnd = index+img.width;
+					// for(int x = 0; x < img.width; x++ ) {
+					for (; index < indexEnd; index++ ) {
+						double d = (img.data[index]) - mean; 
+						variance += d*d;
+					}
+				}
+				partial[block] = variance;
+			}
+		});
+
+		double variance = 0;
+		for( int i = 0; i < numBlocks; i++ ) {
+			variance += partial[i];
+		}
+
+		return variance/(img.width*img.height);
+	}
+
+	/**
+	 * Computes the histogram of intensity values for the image.
+	 * 
+	 * @param input (input) Image.
+	 * @param minValue (input) Minimum possible intensity value   
+	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
+	 */
+	public static void histogram( GrayF64 input , double minValue , int histogram[] ) {
+		histogram(input,minValue,histogram,null);
+	}
+
+	/**
+	 * Computes the histogram of intensity values for the image.
+	 * 
+	 * @param input (input) Image.
+	 * @param minValue (input) Minimum possible intensity value   
+	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
+	 * @param work (Optional) Storage for each thread's histogram in the concurrent implementation.
+	 *             Pass in the same instance to avoid creating new arrays each call. Can be null.
+	 */
+	public static void histogram( final GrayF64 input , final double minValue , final int histogram[] ,
+								  GrowQueue_I32 work ) {
+		for( int i = 0; i < histogram.length; i++ )
+			histogram[i] = 0;
+		
+		final int numBlocks = BoofConcurrency.computeNumberOfBlocks(input.height,1);
+		if( work == null )
+			work = new GrowQueue_I32();
+		work.resize((numBlocks-1)*histogram.length);
+		final int[] workData = work.data;
+
+		BoofConcurrency.loopBlocksIndexed(0, input.height, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept( int block , int y0 , int y1 ) {
+				int[] local = histogram;
+				int offset = 0;
+				if( block > 0 ) {
+					local = workData;
+					offset = (block-1)*histogram.length;
+					for( int i = 0; i < histogram.length; i++ )
+						local[offset+i] = 0;
+				}
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					for( ; index < end; index++ ) {
+						local[offset + (int)(input.data[index] - minValue)]++;
+					}
+				}
+			}
+		});
+
+		for( int block = 1; block < numBlocks; block++ ) {
+			int offset = (block-1)*histogram.length;
+			for( int i = 0; i < histogram.length; i++ )
+				histogram[i] += workData[offset+i];
+		}
+	}
+
+}
@@ -19,6 +19,7 @@
 package boofcv.alg.misc;
 
 import boofcv.alg.InputSanityCheck;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.image.*;
 
 import javax.annotation.Generated;
@@ -26,6 +27,11 @@ import javax.annotation.Generated;
 /**
  * Functions which perform basic arithmetic (e.g. addition, subtraction, multiplication, or division) on a pixel by pixel basis.
  *
+ * <p>
+ * If {@link BoofConcurrency#useConcurrent} is true then the concurrent implementation in {@link PixelMath_MT}
+ * is called.
+ * </p>
+ *
  * <p>DO NOT MODIFY: Generated by boofcv.alg.misc.GeneratePixelMath.</p>
  *
  * @author Peter Abeles
@@ -42,6 +48,11 @@ public class PixelMath {
 	 */
 	public static void abs(GrayS8 input , GrayS8 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.abs(input,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -59,6 +70,11 @@ public class PixelMath {
 	 */
 	public static void abs( InterleavedS8 input , InterleavedS8 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.abs(input,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width*input.numBands;
@@ -91,6 +107,11 @@ public class PixelMath {
 	 */
 	public static void abs(GrayS16 input , GrayS16 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.abs(input,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -108,6 +129,11 @@ public class PixelMath {
 	 */
 	public static void abs( InterleavedS16 input , InterleavedS16 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.abs(input,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width*input.numBands;
@@ -140,6 +166,11 @@ public class PixelMath {
 	 */
 	public static void abs(GrayS32 input , GrayS32 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.abs(input,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -157,6 +188,11 @@ public class PixelMath {
 	 */
 	public static void abs( InterleavedS32 input , InterleavedS32 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.abs(input,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width*input.numBands;
@@ -189,6 +225,11 @@ public class PixelMath {
 	 */
 	public static void abs(GrayS64 input , GrayS64 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.abs(input,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -206,6 +247,11 @@ public class PixelMath {
 	 */
 	public static void abs( InterleavedS64 input , InterleavedS64 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.abs(input,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width*input.numBands;
@@ -238,6 +284,11 @@ public class PixelMath {
 	 */
 	public static void abs(GrayF32 input , GrayF32 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.abs(input,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -255,6 +306,11 @@ public class PixelMath {
 	 */
 	public static void abs( InterleavedF32 input , InterleavedF32 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.abs(input,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width*input.numBands;
@@ -287,6 +343,11 @@ public class PixelMath {
 	 */
 	public static void abs(GrayF64 input , GrayF64 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.abs(input,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -304,6 +365,11 @@ public class PixelMath {
 	 */
 	public static void abs( InterleavedF64 input , InterleavedF64 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.abs(input,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width*input.numBands;
@@ -335,6 +401,11 @@ public class PixelMath {
 	 */
 	public static void invert(GrayS8 input , GrayS8 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.invert(input,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -351,6 +422,11 @@ public class PixelMath {
 	 */
 	public static void invert( InterleavedS8 input , InterleavedS8 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.invert(input,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width*input.numBands;
@@ -382,6 +458,11 @@ public class PixelMath {
 	 */
 	public static void invert(GrayS16 input , GrayS16 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.invert(input,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -398,6 +479,11 @@ public class PixelMath {
 	 */
 	public static void invert( InterleavedS16 input , InterleavedS16 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.invert(input,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width*input.numBands;
@@ -429,6 +515,11 @@ public class PixelMath {
 	 */
 	public static void invert(GrayS32 input , GrayS32 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.invert(input,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -445,6 +536,11 @@ public class PixelMath {
 	 */
 	public static void invert( InterleavedS32 input , InterleavedS32 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.invert(input,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width*input.numBands;
@@ -476,6 +572,11 @@ public class PixelMath {
 	 */
 	public static void invert(GrayS64 input , GrayS64 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.invert(input,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -492,6 +593,11 @@ public class PixelMath {
 	 */
 	public static void invert( InterleavedS64 input , InterleavedS64 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.invert(input,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width*input.numBands;
@@ -523,6 +629,11 @@ public class PixelMath {
 	 */
 	public static void invert(GrayF32 input , GrayF32 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.invert(input,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -539,6 +650,11 @@ public class PixelMath {
 	 */
 	public static void invert( InterleavedF32 input , InterleavedF32 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.invert(input,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width*input.numBands;
@@ -570,6 +686,11 @@ public class PixelMath {
 	 */
 	public static void invert(GrayF64 input , GrayF64 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.invert(input,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -586,6 +707,11 @@ public class PixelMath {
 	 */
 	public static void invert( InterleavedF64 input , InterleavedF64 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.invert(input,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width*input.numBands;
@@ -619,6 +745,11 @@ public class PixelMath {
 	 */
 	public static void multiply(GrayU8 input , double value , GrayU8 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.multiply(input,value,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -637,6 +768,11 @@ public class PixelMath {
 	 */
 	public static void multiply( InterleavedU8 input , double value , InterleavedU8 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.multiply(input,value,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShapeB(input,output);
 
 		int columns = input.width*input.numBands;
@@ -671,6 +807,11 @@ public class PixelMath {
 	 */
 	public static void multiply(GrayS8 input , double value , GrayS8 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.multiply(input,value,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -689,6 +830,11 @@ public class PixelMath {
 	 */
 	public static void multiply( InterleavedS8 input , double value , InterleavedS8 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.multiply(input,value,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShapeB(input,output);
 
 		int columns = input.width*input.numBands;
@@ -723,6 +869,11 @@ public class PixelMath {
 	 */
 	public static void multiply(GrayU16 input , double value , GrayU16 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.multiply(input,value,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -741,6 +892,11 @@ public class PixelMath {
 	 */
 	public static void multiply( InterleavedU16 input , double value , InterleavedU16 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.multiply(input,value,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShapeB(input,output);
 
 		int columns = input.width*input.numBands;
@@ -775,6 +931,11 @@ public class PixelMath {
 	 */
 	public static void multiply(GrayS16 input , double value , GrayS16 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.multiply(input,value,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -793,6 +954,11 @@ public class PixelMath {
 	 */
 	public static void multiply( InterleavedS16 input , double value , InterleavedS16 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.multiply(input,value,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShapeB(input,output);
 
 		int columns = input.width*input.numBands;
@@ -827,6 +993,11 @@ public class PixelMath {
 	 */
 	public static void multiply(GrayS32 input , double value , GrayS32 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.multiply(input,value,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -845,6 +1016,11 @@ public class PixelMath {
 	 */
 	public static void multiply( InterleavedS32 input , double value , InterleavedS32 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.multiply(input,value,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShapeB(input,output);
 
 		int columns = input.width*input.numBands;
@@ -879,6 +1055,11 @@ public class PixelMath {
 	 */
 	public static void multiply(GrayS64 input , double value , GrayS64 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.multiply(input,value,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -897,6 +1078,11 @@ public class PixelMath {
 	 */
 	public static void multiply( InterleavedS64 input , double value , InterleavedS64 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.multiply(input,value,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShapeB(input,output);
 
 		int columns = input.width*input.numBands;
@@ -931,6 +1117,11 @@ public class PixelMath {
 	 */
 	public static void multiply(GrayF32 input , float value , GrayF32 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.multiply(input,value,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -949,6 +1140,11 @@ public class PixelMath {
 	 */
 	public static void multiply( InterleavedF32 input , float value , InterleavedF32 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.multiply(input,value,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShapeB(input,output);
 
 		int columns = input.width*input.numBands;
@@ -983,6 +1179,11 @@ public class PixelMath {
 	 */
 	public static void multiply(GrayF64 input , double value , GrayF64 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.multiply(input,value,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -1001,6 +1202,11 @@ public class PixelMath {
 	 */
 	public static void multiply( InterleavedF64 input , double value , InterleavedF64 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.multiply(input,value,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShapeB(input,output);
 
 		int columns = input.width*input.numBands;
@@ -1035,6 +1241,11 @@ public class PixelMath {
 	 */
 	public static void multiply(GrayU8 input , double value , int lower , int upper , GrayU8 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.multiply(input,value,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -1053,6 +1264,11 @@ public class PixelMath {
 	 */
 	public static void multiply( InterleavedU8 input , double value , int lower , int upper , InterleavedU8 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.multiply(input,value,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width*input.numBands;
@@ -1090,6 +1306,11 @@ public class PixelMath {
 	 */
 	public static void multiply(GrayS8 input , double value , int lower , int upper , GrayS8 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.multiply(input,value,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -1108,6 +1329,11 @@ public class PixelMath {
 	 */
 	public static void multiply( InterleavedS8 input , double value , int lower , int upper , InterleavedS8 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.multiply(input,value,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width*input.numBands;
@@ -1145,6 +1371,11 @@ public class PixelMath {
 	 */
 	public static void multiply(GrayU16 input , double value , int lower , int upper , GrayU16 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.multiply(input,value,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -1163,6 +1394,11 @@ public class PixelMath {
 	 */
 	public static void multiply( InterleavedU16 input , double value , int lower , int upper , InterleavedU16 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.multiply(input,value,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width*input.numBands;
@@ -1200,6 +1436,11 @@ public class PixelMath {
 	 */
 	public static void multiply(GrayS16 input , double value , int lower , int upper , GrayS16 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.multiply(input,value,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -1218,6 +1459,11 @@ public class PixelMath {
 	 */
 	public static void multiply( InterleavedS16 input , double value , int lower , int upper , InterleavedS16 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.multiply(input,value,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width*input.numBands;
@@ -1255,6 +1501,11 @@ public class PixelMath {
 	 */
 	public static void multiply(GrayS32 input , double value , int lower , int upper , GrayS32 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.multiply(input,value,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -1273,6 +1524,11 @@ public class PixelMath {
 	 */
 	public static void multiply( InterleavedS32 input , double value , int lower , int upper , InterleavedS32 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.multiply(input,value,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width*input.numBands;
@@ -1310,6 +1566,11 @@ public class PixelMath {
 	 */
 	public static void multiply(GrayS64 input , double value , long lower , long upper , GrayS64 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.multiply(input,value,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -1328,6 +1589,11 @@ public class PixelMath {
 	 */
 	public static void multiply( InterleavedS64 input , double value , long lower , long upper , InterleavedS64 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.multiply(input,value,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width*input.numBands;
@@ -1365,6 +1631,11 @@ public class PixelMath {
 	 */
 	public static void multiply(GrayF32 input , float value , float lower , float upper , GrayF32 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.multiply(input,value,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -1383,6 +1654,11 @@ public class PixelMath {
 	 */
 	public static void multiply( InterleavedF32 input , float value , float lower , float upper , InterleavedF32 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.multiply(input,value,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width*input.numBands;
@@ -1420,6 +1696,11 @@ public class PixelMath {
 	 */
 	public static void multiply(GrayF64 input , double value , double lower , double upper , GrayF64 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.multiply(input,value,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -1438,6 +1719,11 @@ public class PixelMath {
 	 */
 	public static void multiply( InterleavedF64 input , double value , double lower , double upper , InterleavedF64 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.multiply(input,value,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width*input.numBands;
@@ -1474,6 +1760,11 @@ public class PixelMath {
 	 */
 	public static void divide(GrayU8 input , double denominator , GrayU8 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.divide(input,denominator,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -1491,6 +1782,11 @@ public class PixelMath {
 	 */
 	public static void divide( InterleavedU8 input , double denominator , InterleavedU8 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.divide(input,denominator,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShapeB(input,output);
 
 		int columns = input.width*input.numBands;
@@ -1524,6 +1820,11 @@ public class PixelMath {
 	 */
 	public static void divide(GrayS8 input , double denominator , GrayS8 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.divide(input,denominator,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -1541,6 +1842,11 @@ public class PixelMath {
 	 */
 	public static void divide( InterleavedS8 input , double denominator , InterleavedS8 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.divide(input,denominator,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShapeB(input,output);
 
 		int columns = input.width*input.numBands;
@@ -1574,6 +1880,11 @@ public class PixelMath {
 	 */
 	public static void divide(GrayU16 input , double denominator , GrayU16 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.divide(input,denominator,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -1591,6 +1902,11 @@ public class PixelMath {
 	 */
 	public static void divide( InterleavedU16 input , double denominator , InterleavedU16 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.divide(input,denominator,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShapeB(input,output);
 
 		int columns = input.width*input.numBands;
@@ -1624,6 +1940,11 @@ public class PixelMath {
 	 */
 	public static void divide(GrayS16 input , double denominator , GrayS16 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.divide(input,denominator,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -1641,6 +1962,11 @@ public class PixelMath {
 	 */
 	public static void divide( InterleavedS16 input , double denominator , InterleavedS16 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.divide(input,denominator,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShapeB(input,output);
 
 		int columns = input.width*input.numBands;
@@ -1674,6 +2000,11 @@ public class PixelMath {
 	 */
 	public static void divide(GrayS32 input , double denominator , GrayS32 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.divide(input,denominator,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -1691,6 +2022,11 @@ public class PixelMath {
 	 */
 	public static void divide( InterleavedS32 input , double denominator , InterleavedS32 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.divide(input,denominator,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShapeB(input,output);
 
 		int columns = input.width*input.numBands;
@@ -1724,6 +2060,11 @@ public class PixelMath {
 	 */
 	public static void divide(GrayS64 input , double denominator , GrayS64 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.divide(input,denominator,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -1741,6 +2082,11 @@ public class PixelMath {
 	 */
 	public static void divide( InterleavedS64 input , double denominator , InterleavedS64 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.divide(input,denominator,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShapeB(input,output);
 
 		int columns = input.width*input.numBands;
@@ -1774,6 +2120,11 @@ public class PixelMath {
 	 */
 	public static void divide(GrayF32 input , float denominator , GrayF32 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.divide(input,denominator,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -1791,6 +2142,11 @@ public class PixelMath {
 	 */
 	public static void divide( InterleavedF32 input , float denominator , InterleavedF32 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.divide(input,denominator,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShapeB(input,output);
 
 		int columns = input.width*input.numBands;
@@ -1824,6 +2180,11 @@ public class PixelMath {
 	 */
 	public static void divide(GrayF64 input , double denominator , GrayF64 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.divide(input,denominator,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -1841,6 +2202,11 @@ public class PixelMath {
 	 */
 	public static void divide( InterleavedF64 input , double denominator , InterleavedF64 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.divide(input,denominator,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShapeB(input,output);
 
 		int columns = input.width*input.numBands;
@@ -1874,6 +2240,11 @@ public class PixelMath {
 	 */
 	public static void divide(GrayU8 input , double denominator , int lower , int upper , GrayU8 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.divide(input,denominator,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -1891,6 +2262,11 @@ public class PixelMath {
 	 */
 	public static void divide( InterleavedU8 input , double denominator , int lower , int upper , InterleavedU8 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.divide(input,denominator,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width*input.numBands;
@@ -1927,6 +2303,11 @@ public class PixelMath {
 	 */
 	public static void divide(GrayS8 input , double denominator , int lower , int upper , GrayS8 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.divide(input,denominator,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -1944,6 +2325,11 @@ public class PixelMath {
 	 */
 	public static void divide( InterleavedS8 input , double denominator , int lower , int upper , InterleavedS8 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.divide(input,denominator,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width*input.numBands;
@@ -1980,6 +2366,11 @@ public class PixelMath {
 	 */
 	public static void divide(GrayU16 input , double denominator , int lower , int upper , GrayU16 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.divide(input,denominator,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -1997,6 +2388,11 @@ public class PixelMath {
 	 */
 	public static void divide( InterleavedU16 input , double denominator , int lower , int upper , InterleavedU16 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.divide(input,denominator,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width*input.numBands;
@@ -2033,6 +2429,11 @@ public class PixelMath {
 	 */
 	public static void divide(GrayS16 input , double denominator , int lower , int upper , GrayS16 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.divide(input,denominator,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -2050,6 +2451,11 @@ public class PixelMath {
 	 */
 	public static void divide( InterleavedS16 input , double denominator , int lower , int upper , InterleavedS16 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.divide(input,denominator,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width*input.numBands;
@@ -2086,6 +2492,11 @@ public class PixelMath {
 	 */
 	public static void divide(GrayS32 input , double denominator , int lower , int upper , GrayS32 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.divide(input,denominator,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -2103,6 +2514,11 @@ public class PixelMath {
 	 */
 	public static void divide( InterleavedS32 input , double denominator , int lower , int upper , InterleavedS32 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.divide(input,denominator,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width*input.numBands;
@@ -2139,6 +2555,11 @@ public class PixelMath {
 	 */
 	public static void divide(GrayS64 input , double denominator , long lower , long upper , GrayS64 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.divide(input,denominator,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -2156,6 +2577,11 @@ public class PixelMath {
 	 */
 	public static void divide( InterleavedS64 input , double denominator , long lower , long upper , InterleavedS64 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.divide(input,denominator,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width*input.numBands;
@@ -2192,6 +2618,11 @@ public class PixelMath {
 	 */
 	public static void divide(GrayF32 input , float denominator , float lower , float upper , GrayF32 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.divide(input,denominator,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -2209,6 +2640,11 @@ public class PixelMath {
 	 */
 	public static void divide( InterleavedF32 input , float denominator , float lower , float upper , InterleavedF32 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.divide(input,denominator,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width*input.numBands;
@@ -2245,6 +2681,11 @@ public class PixelMath {
 	 */
 	public static void divide(GrayF64 input , double denominator , double lower , double upper , GrayF64 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.divide(input,denominator,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -2262,6 +2703,11 @@ public class PixelMath {
 	 */
 	public static void divide( InterleavedF64 input , double denominator , double lower , double upper , InterleavedF64 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.divide(input,denominator,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width*input.numBands;
@@ -2298,6 +2744,11 @@ public class PixelMath {
 	 */
 	public static void plus(GrayU8 input , int value , GrayU8 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.plus(input,value,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -2315,6 +2766,11 @@ public class PixelMath {
 	 */
 	public static void plus( InterleavedU8 input , int value , InterleavedU8 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.plus(input,value,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShapeB(input,output);
 
 		int columns = input.width*input.numBands;
@@ -2348,6 +2804,11 @@ public class PixelMath {
 	 */
 	public static void plus(GrayS8 input , int value , GrayS8 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.plus(input,value,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -2365,6 +2826,11 @@ public class PixelMath {
 	 */
 	public static void plus( InterleavedS8 input , int value , InterleavedS8 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.plus(input,value,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShapeB(input,output);
 
 		int columns = input.width*input.numBands;
@@ -2398,6 +2864,11 @@ public class PixelMath {
 	 */
 	public static void plus(GrayU16 input , int value , GrayU16 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.plus(input,value,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -2415,6 +2886,11 @@ public class PixelMath {
 	 */
 	public static void plus( InterleavedU16 input , int value , InterleavedU16 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.plus(input,value,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShapeB(input,output);
 
 		int columns = input.width*input.numBands;
@@ -2448,6 +2924,11 @@ public class PixelMath {
 	 */
 	public static void plus(GrayS16 input , int value , GrayS16 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.plus(input,value,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -2465,6 +2946,11 @@ public class PixelMath {
 	 */
 	public static void plus( InterleavedS16 input , int value , InterleavedS16 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.plus(input,value,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShapeB(input,output);
 
 		int columns = input.width*input.numBands;
@@ -2498,6 +2984,11 @@ public class PixelMath {
 	 */
 	public static void plus(GrayS32 input , int value , GrayS32 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.plus(input,value,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -2515,6 +3006,11 @@ public class PixelMath {
 	 */
 	public static void plus( InterleavedS32 input , int value , InterleavedS32 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.plus(input,value,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShapeB(input,output);
 
 		int columns = input.width*input.numBands;
@@ -2548,6 +3044,11 @@ public class PixelMath {
 	 */
 	public static void plus(GrayS64 input , long value , GrayS64 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.plus(input,value,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -2565,6 +3066,11 @@ public class PixelMath {
 	 */
 	public static void plus( InterleavedS64 input , long value , InterleavedS64 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.plus(input,value,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShapeB(input,output);
 
 		int columns = input.width*input.numBands;
@@ -2598,6 +3104,11 @@ public class PixelMath {
 	 */
 	public static void plus(GrayF32 input , float value , GrayF32 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.plus(input,value,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -2615,6 +3126,11 @@ public class PixelMath {
 	 */
 	public static void plus( InterleavedF32 input , float value , InterleavedF32 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.plus(input,value,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShapeB(input,output);
 
 		int columns = input.width*input.numBands;
@@ -2648,6 +3164,11 @@ public class PixelMath {
 	 */
 	public static void plus(GrayF64 input , double value , GrayF64 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.plus(input,value,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -2665,6 +3186,11 @@ public class PixelMath {
 	 */
 	public static void plus( InterleavedF64 input , double value , InterleavedF64 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.plus(input,value,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShapeB(input,output);
 
 		int columns = input.width*input.numBands;
@@ -2698,6 +3224,11 @@ public class PixelMath {
 	 */
 	public static void plus(GrayU8 input , int value , int lower , int upper , GrayU8 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.plus(input,value,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -2715,6 +3246,11 @@ public class PixelMath {
 	 */
 	public static void plus( InterleavedU8 input , int value , int lower , int upper , InterleavedU8 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.plus(input,value,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width*input.numBands;
@@ -2751,6 +3287,11 @@ public class PixelMath {
 	 */
 	public static void plus(GrayS8 input , int value , int lower , int upper , GrayS8 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.plus(input,value,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -2768,6 +3309,11 @@ public class PixelMath {
 	 */
 	public static void plus( InterleavedS8 input , int value , int lower , int upper , InterleavedS8 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.plus(input,value,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width*input.numBands;
@@ -2804,6 +3350,11 @@ public class PixelMath {
 	 */
 	public static void plus(GrayU16 input , int value , int lower , int upper , GrayU16 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.plus(input,value,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -2821,6 +3372,11 @@ public class PixelMath {
 	 */
 	public static void plus( InterleavedU16 input , int value , int lower , int upper , InterleavedU16 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.plus(input,value,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width*input.numBands;
@@ -2857,6 +3413,11 @@ public class PixelMath {
 	 */
 	public static void plus(GrayS16 input , int value , int lower , int upper , GrayS16 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.plus(input,value,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -2874,6 +3435,11 @@ public class PixelMath {
 	 */
 	public static void plus( InterleavedS16 input , int value , int lower , int upper , InterleavedS16 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.plus(input,value,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width*input.numBands;
@@ -2910,6 +3476,11 @@ public class PixelMath {
 	 */
 	public static void plus(GrayS32 input , int value , int lower , int upper , GrayS32 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.plus(input,value,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -2927,6 +3498,11 @@ public class PixelMath {
 	 */
 	public static void plus( InterleavedS32 input , int value , int lower , int upper , InterleavedS32 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.plus(input,value,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width*input.numBands;
@@ -2963,6 +3539,11 @@ public class PixelMath {
 	 */
 	public static void plus(GrayS64 input , long value , long lower , long upper , GrayS64 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.plus(input,value,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -2980,6 +3561,11 @@ public class PixelMath {
 	 */
 	public static void plus( InterleavedS64 input , long value , long lower , long upper , InterleavedS64 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.plus(input,value,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width*input.numBands;
@@ -3016,6 +3602,11 @@ public class PixelMath {
 	 */
 	public static void plus(GrayF32 input , float value , float lower , float upper , GrayF32 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.plus(input,value,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -3033,6 +3624,11 @@ public class PixelMath {
 	 */
 	public static void plus( InterleavedF32 input , float value , float lower , float upper , InterleavedF32 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.plus(input,value,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width*input.numBands;
@@ -3069,6 +3665,11 @@ public class PixelMath {
 	 */
 	public static void plus(GrayF64 input , double value , double lower , double upper , GrayF64 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.plus(input,value,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -3086,6 +3687,11 @@ public class PixelMath {
 	 */
 	public static void plus( InterleavedF64 input , double value , double lower , double upper , InterleavedF64 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.plus(input,value,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width*input.numBands;
@@ -3122,6 +3728,11 @@ public class PixelMath {
 	 */
 	public static void minus(GrayU8 input , int value , GrayU8 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(input,value,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -3139,6 +3750,11 @@ public class PixelMath {
 	 */
 	public static void minus( InterleavedU8 input , int value , InterleavedU8 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(input,value,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShapeB(input,output);
 
 		int columns = input.width*input.numBands;
@@ -3172,6 +3788,11 @@ public class PixelMath {
 	 */
 	public static void minus(GrayS8 input , int value , GrayS8 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(input,value,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -3189,6 +3810,11 @@ public class PixelMath {
 	 */
 	public static void minus( InterleavedS8 input , int value , InterleavedS8 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(input,value,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShapeB(input,output);
 
 		int columns = input.width*input.numBands;
@@ -3222,6 +3848,11 @@ public class PixelMath {
 	 */
 	public static void minus(GrayU16 input , int value , GrayU16 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(input,value,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -3239,6 +3870,11 @@ public class PixelMath {
 	 */
 	public static void minus( InterleavedU16 input , int value , InterleavedU16 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(input,value,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShapeB(input,output);
 
 		int columns = input.width*input.numBands;
@@ -3272,6 +3908,11 @@ public class PixelMath {
 	 */
 	public static void minus(GrayS16 input , int value , GrayS16 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(input,value,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -3289,6 +3930,11 @@ public class PixelMath {
 	 */
 	public static void minus( InterleavedS16 input , int value , InterleavedS16 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(input,value,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShapeB(input,output);
 
 		int columns = input.width*input.numBands;
@@ -3322,6 +3968,11 @@ public class PixelMath {
 	 */
 	public static void minus(GrayS32 input , int value , GrayS32 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(input,value,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -3339,6 +3990,11 @@ public class PixelMath {
 	 */
 	public static void minus( InterleavedS32 input , int value , InterleavedS32 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(input,value,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShapeB(input,output);
 
 		int columns = input.width*input.numBands;
@@ -3372,6 +4028,11 @@ public class PixelMath {
 	 */
 	public static void minus(GrayS64 input , long value , GrayS64 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(input,value,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -3389,6 +4050,11 @@ public class PixelMath {
 	 */
 	public static void minus( InterleavedS64 input , long value , InterleavedS64 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(input,value,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShapeB(input,output);
 
 		int columns = input.width*input.numBands;
@@ -3422,6 +4088,11 @@ public class PixelMath {
 	 */
 	public static void minus(GrayF32 input , float value , GrayF32 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(input,value,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -3439,6 +4110,11 @@ public class PixelMath {
 	 */
 	public static void minus( InterleavedF32 input , float value , InterleavedF32 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(input,value,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShapeB(input,output);
 
 		int columns = input.width*input.numBands;
@@ -3472,6 +4148,11 @@ public class PixelMath {
 	 */
 	public static void minus(GrayF64 input , double value , GrayF64 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(input,value,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -3489,6 +4170,11 @@ public class PixelMath {
 	 */
 	public static void minus( InterleavedF64 input , double value , InterleavedF64 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(input,value,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShapeB(input,output);
 
 		int columns = input.width*input.numBands;
@@ -3522,6 +4208,11 @@ public class PixelMath {
 	 */
 	public static void minus(GrayU8 input , int value , int lower , int upper , GrayU8 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(input,value,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -3539,6 +4230,11 @@ public class PixelMath {
 	 */
 	public static void minus( InterleavedU8 input , int value , int lower , int upper , InterleavedU8 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(input,value,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width*input.numBands;
@@ -3575,6 +4271,11 @@ public class PixelMath {
 	 */
 	public static void minus(GrayS8 input , int value , int lower , int upper , GrayS8 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(input,value,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -3592,6 +4293,11 @@ public class PixelMath {
 	 */
 	public static void minus( InterleavedS8 input , int value , int lower , int upper , InterleavedS8 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(input,value,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width*input.numBands;
@@ -3628,6 +4334,11 @@ public class PixelMath {
 	 */
 	public static void minus(GrayU16 input , int value , int lower , int upper , GrayU16 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(input,value,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -3645,6 +4356,11 @@ public class PixelMath {
 	 */
 	public static void minus( InterleavedU16 input , int value , int lower , int upper , InterleavedU16 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(input,value,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width*input.numBands;
@@ -3681,6 +4397,11 @@ public class PixelMath {
 	 */
 	public static void minus(GrayS16 input , int value , int lower , int upper , GrayS16 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(input,value,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -3698,6 +4419,11 @@ public class PixelMath {
 	 */
 	public static void minus( InterleavedS16 input , int value , int lower , int upper , InterleavedS16 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(input,value,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width*input.numBands;
@@ -3734,6 +4460,11 @@ public class PixelMath {
 	 */
 	public static void minus(GrayS32 input , int value , int lower , int upper , GrayS32 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(input,value,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -3751,6 +4482,11 @@ public class PixelMath {
 	 */
 	public static void minus( InterleavedS32 input , int value , int lower , int upper , InterleavedS32 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(input,value,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width*input.numBands;
@@ -3787,6 +4523,11 @@ public class PixelMath {
 	 */
 	public static void minus(GrayS64 input , long value , long lower , long upper , GrayS64 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(input,value,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -3804,6 +4545,11 @@ public class PixelMath {
 	 */
 	public static void minus( InterleavedS64 input , long value , long lower , long upper , InterleavedS64 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(input,value,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width*input.numBands;
@@ -3840,6 +4586,11 @@ public class PixelMath {
 	 */
 	public static void minus(GrayF32 input , float value , float lower , float upper , GrayF32 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(input,value,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -3857,6 +4608,11 @@ public class PixelMath {
 	 */
 	public static void minus( InterleavedF32 input , float value , float lower , float upper , InterleavedF32 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(input,value,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width*input.numBands;
@@ -3893,6 +4649,11 @@ public class PixelMath {
 	 */
 	public static void minus(GrayF64 input , double value , double lower , double upper , GrayF64 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(input,value,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -3910,6 +4671,11 @@ public class PixelMath {
 	 */
 	public static void minus( InterleavedF64 input , double value , double lower , double upper , InterleavedF64 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(input,value,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width*input.numBands;
@@ -3946,6 +4712,11 @@ public class PixelMath {
 	 */
 	public static void minus(int value , GrayU8 input , GrayU8 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(value,input,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -3963,6 +4734,11 @@ public class PixelMath {
 	 */
 	public static void minus( int value , InterleavedU8 input , InterleavedU8 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(value,input,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShapeB(input,output);
 
 		int columns = input.width*input.numBands;
@@ -3996,6 +4772,11 @@ public class PixelMath {
 	 */
 	public static void minus(int value , GrayS8 input , GrayS8 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(value,input,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -4013,6 +4794,11 @@ public class PixelMath {
 	 */
 	public static void minus( int value , InterleavedS8 input , InterleavedS8 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(value,input,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShapeB(input,output);
 
 		int columns = input.width*input.numBands;
@@ -4046,6 +4832,11 @@ public class PixelMath {
 	 */
 	public static void minus(int value , GrayU16 input , GrayU16 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(value,input,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -4063,6 +4854,11 @@ public class PixelMath {
 	 */
 	public static void minus( int value , InterleavedU16 input , InterleavedU16 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(value,input,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShapeB(input,output);
 
 		int columns = input.width*input.numBands;
@@ -4096,6 +4892,11 @@ public class PixelMath {
 	 */
 	public static void minus(int value , GrayS16 input , GrayS16 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(value,input,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -4113,6 +4914,11 @@ public class PixelMath {
 	 */
 	public static void minus( int value , InterleavedS16 input , InterleavedS16 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(value,input,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShapeB(input,output);
 
 		int columns = input.width*input.numBands;
@@ -4146,6 +4952,11 @@ public class PixelMath {
 	 */
 	public static void minus(int value , GrayS32 input , GrayS32 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(value,input,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -4163,6 +4974,11 @@ public class PixelMath {
 	 */
 	public static void minus( int value , InterleavedS32 input , InterleavedS32 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(value,input,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShapeB(input,output);
 
 		int columns = input.width*input.numBands;
@@ -4196,6 +5012,11 @@ public class PixelMath {
 	 */
 	public static void minus(long value , GrayS64 input , GrayS64 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(value,input,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -4213,6 +5034,11 @@ public class PixelMath {
 	 */
 	public static void minus( long value , InterleavedS64 input , InterleavedS64 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(value,input,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShapeB(input,output);
 
 		int columns = input.width*input.numBands;
@@ -4246,6 +5072,11 @@ public class PixelMath {
 	 */
 	public static void minus(float value , GrayF32 input , GrayF32 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(value,input,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -4263,6 +5094,11 @@ public class PixelMath {
 	 */
 	public static void minus( float value , InterleavedF32 input , InterleavedF32 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(value,input,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShapeB(input,output);
 
 		int columns = input.width*input.numBands;
@@ -4296,6 +5132,11 @@ public class PixelMath {
 	 */
 	public static void minus(double value , GrayF64 input , GrayF64 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(value,input,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -4313,6 +5154,11 @@ public class PixelMath {
 	 */
 	public static void minus( double value , InterleavedF64 input , InterleavedF64 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(value,input,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShapeB(input,output);
 
 		int columns = input.width*input.numBands;
@@ -4346,6 +5192,11 @@ public class PixelMath {
 	 */
 	public static void minus(int value , GrayU8 input , int lower , int upper , GrayU8 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(value,input,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -4363,6 +5214,11 @@ public class PixelMath {
 	 */
 	public static void minus( int value , InterleavedU8 input , int lower , int upper , InterleavedU8 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(value,input,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width*input.numBands;
@@ -4399,6 +5255,11 @@ public class PixelMath {
 	 */
 	public static void minus(int value , GrayS8 input , int lower , int upper , GrayS8 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(value,input,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -4416,6 +5277,11 @@ public class PixelMath {
 	 */
 	public static void minus( int value , InterleavedS8 input , int lower , int upper , InterleavedS8 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(value,input,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width*input.numBands;
@@ -4452,6 +5318,11 @@ public class PixelMath {
 	 */
 	public static void minus(int value , GrayU16 input , int lower , int upper , GrayU16 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(value,input,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -4469,6 +5340,11 @@ public class PixelMath {
 	 */
 	public static void minus( int value , InterleavedU16 input , int lower , int upper , InterleavedU16 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(value,input,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width*input.numBands;
@@ -4505,6 +5381,11 @@ public class PixelMath {
 	 */
 	public static void minus(int value , GrayS16 input , int lower , int upper , GrayS16 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(value,input,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -4522,6 +5403,11 @@ public class PixelMath {
 	 */
 	public static void minus( int value , InterleavedS16 input , int lower , int upper , InterleavedS16 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(value,input,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width*input.numBands;
@@ -4558,6 +5444,11 @@ public class PixelMath {
 	 */
 	public static void minus(int value , GrayS32 input , int lower , int upper , GrayS32 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(value,input,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -4575,6 +5466,11 @@ public class PixelMath {
 	 */
 	public static void minus( int value , InterleavedS32 input , int lower , int upper , InterleavedS32 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(value,input,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width*input.numBands;
@@ -4611,6 +5507,11 @@ public class PixelMath {
 	 */
 	public static void minus(long value , GrayS64 input , long lower , long upper , GrayS64 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(value,input,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -4628,6 +5529,11 @@ public class PixelMath {
 	 */
 	public static void minus( long value , InterleavedS64 input , long lower , long upper , InterleavedS64 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(value,input,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width*input.numBands;
@@ -4664,6 +5570,11 @@ public class PixelMath {
 	 */
 	public static void minus(float value , GrayF32 input , float lower , float upper , GrayF32 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(value,input,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -4681,6 +5592,11 @@ public class PixelMath {
 	 */
 	public static void minus( float value , InterleavedF32 input , float lower , float upper , InterleavedF32 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(value,input,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width*input.numBands;
@@ -4717,6 +5633,11 @@ public class PixelMath {
 	 */
 	public static void minus(double value , GrayF64 input , double lower , double upper , GrayF64 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(value,input,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width;
@@ -4734,6 +5655,11 @@ public class PixelMath {
 	 */
 	public static void minus( double value , InterleavedF64 input , double lower , double upper , InterleavedF64 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.minus(value,input,lower,upper,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		int columns = input.width*input.numBands;
@@ -4769,6 +5695,11 @@ public class PixelMath {
 	 * @param max maximum value.
 	 */
 	public static void boundImage(GrayU8 img , int min , int max ) {
+		if( BoofConcurrency.useConcurrent(img) ) {
+			PixelMath_MT.boundImage(img,min,max);
+			return;
+		}
+
 		final int h = img.getHeight();
 		final int w = img.getWidth();
 
@@ -4798,6 +5729,11 @@ public class PixelMath {
 	 * @param diff Absolute value of difference image. Modified.
 	 */
 	public static void diffAbs(GrayU8 imgA , GrayU8 imgB , GrayU8 diff ) {
+		if( BoofConcurrency.useConcurrent(imgA) ) {
+			PixelMath_MT.diffAbs(imgA,imgB,diff);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(imgA,imgB,diff);
 		
 		final int h = imgA.getHeight();
@@ -4823,6 +5759,11 @@ public class PixelMath {
 	 * @param output Gray scale image containing average pixel values
 	 */
 	public static void averageBand(Planar<GrayU8> input , GrayU8 output ) {
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.averageBand(input,output);
+			return;
+		}
+
 		final int h = input.getHeight();
 		final int w = input.getWidth();
 
@@ -4852,6 +5793,11 @@ public class PixelMath {
 	 * @param max maximum value.
 	 */
 	public static void boundImage(GrayS8 img , int min , int max ) {
+		if( BoofConcurrency.useConcurrent(img) ) {
+			PixelMath_MT.boundImage(img,min,max);
+			return;
+		}
+
 		final int h = img.getHeight();
 		final int w = img.getWidth();
 
@@ -4881,6 +5827,11 @@ public class PixelMath {
 	 * @param diff Absolute value of difference image. Modified.
 	 */
 	public static void diffAbs(GrayS8 imgA , GrayS8 imgB , GrayS8 diff ) {
+		if( BoofConcurrency.useConcurrent(imgA) ) {
+			PixelMath_MT.diffAbs(imgA,imgB,diff);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(imgA,imgB,diff);
 		
 		final int h = imgA.getHeight();
@@ -4906,6 +5857,11 @@ public class PixelMath {
 	 * @param output Gray scale image containing average pixel values
 	 */
 	public static void averageBand(Planar<GrayS8> input , GrayS8 output ) {
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.averageBand(input,output);
+			return;
+		}
+
 		final int h = input.getHeight();
 		final int w = input.getWidth();
 
@@ -4935,6 +5891,11 @@ public class PixelMath {
 	 * @param max maximum value.
 	 */
 	public static void boundImage(GrayU16 img , int min , int max ) {
+		if( BoofConcurrency.useConcurrent(img) ) {
+			PixelMath_MT.boundImage(img,min,max);
+			return;
+		}
+
 		final int h = img.getHeight();
 		final int w = img.getWidth();
 
@@ -4964,6 +5925,11 @@ public class PixelMath {
 	 * @param diff Absolute value of difference image. Modified.
 	 */
 	public static void diffAbs(GrayU16 imgA , GrayU16 imgB , GrayU16 diff ) {
+		if( BoofConcurrency.useConcurrent(imgA) ) {
+			PixelMath_MT.diffAbs(imgA,imgB,diff);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(imgA,imgB,diff);
 		
 		final int h = imgA.getHeight();
@@ -4989,6 +5955,11 @@ public class PixelMath {
 	 * @param output Gray scale image containing average pixel values
 	 */
 	public static void averageBand(Planar<GrayU16> input , GrayU16 output ) {
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.averageBand(input,output);
+			return;
+		}
+
 		final int h = input.getHeight();
 		final int w = input.getWidth();
 
@@ -5018,6 +5989,11 @@ public class PixelMath {
 	 * @param max maximum value.
 	 */
 	public static void boundImage(GrayS16 img , int min , int max ) {
+		if( BoofConcurrency.useConcurrent(img) ) {
+			PixelMath_MT.boundImage(img,min,max);
+			return;
+		}
+
 		final int h = img.getHeight();
 		final int w = img.getWidth();
 
@@ -5047,6 +6023,11 @@ public class PixelMath {
 	 * @param diff Absolute value of difference image. Modified.
 	 */
 	public static void diffAbs(GrayS16 imgA , GrayS16 imgB , GrayS16 diff ) {
+		if( BoofConcurrency.useConcurrent(imgA) ) {
+			PixelMath_MT.diffAbs(imgA,imgB,diff);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(imgA,imgB,diff);
 		
 		final int h = imgA.getHeight();
@@ -5072,6 +6053,11 @@ public class PixelMath {
 	 * @param output Gray scale image containing average pixel values
 	 */
 	public static void averageBand(Planar<GrayS16> input , GrayS16 output ) {
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.averageBand(input,output);
+			return;
+		}
+
 		final int h = input.getHeight();
 		final int w = input.getWidth();
 
@@ -5101,6 +6087,11 @@ public class PixelMath {
 	 * @param max maximum value.
 	 */
 	public static void boundImage(GrayS32 img , int min , int max ) {
+		if( BoofConcurrency.useConcurrent(img) ) {
+			PixelMath_MT.boundImage(img,min,max);
+			return;
+		}
+
 		final int h = img.getHeight();
 		final int w = img.getWidth();
 
@@ -5130,6 +6121,11 @@ public class PixelMath {
 	 * @param diff Absolute value of difference image. Modified.
 	 */
 	public static void diffAbs(GrayS32 imgA , GrayS32 imgB , GrayS32 diff ) {
+		if( BoofConcurrency.useConcurrent(imgA) ) {
+			PixelMath_MT.diffAbs(imgA,imgB,diff);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(imgA,imgB,diff);
 		
 		final int h = imgA.getHeight();
@@ -5155,6 +6151,11 @@ public class PixelMath {
 	 * @param output Gray scale image containing average pixel values
 	 */
 	public static void averageBand(Planar<GrayS32> input , GrayS32 output ) {
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.averageBand(input,output);
+			return;
+		}
+
 		final int h = input.getHeight();
 		final int w = input.getWidth();
 
@@ -5184,6 +6185,11 @@ public class PixelMath {
 	 * @param max maximum value.
 	 */
 	public static void boundImage(GrayS64 img , long min , long max ) {
+		if( BoofConcurrency.useConcurrent(img) ) {
+			PixelMath_MT.boundImage(img,min,max);
+			return;
+		}
+
 		final int h = img.getHeight();
 		final int w = img.getWidth();
 
@@ -5213,6 +6219,11 @@ public class PixelMath {
 	 * @param diff Absolute value of difference image. Modified.
 	 */
 	public static void diffAbs(GrayS64 imgA , GrayS64 imgB , GrayS64 diff ) {
+		if( BoofConcurrency.useConcurrent(imgA) ) {
+			PixelMath_MT.diffAbs(imgA,imgB,diff);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(imgA,imgB,diff);
 		
 		final int h = imgA.getHeight();
@@ -5238,6 +6249,11 @@ public class PixelMath {
 	 * @param output Gray scale image containing average pixel values
 	 */
 	public static void averageBand(Planar<GrayS64> input , GrayS64 output ) {
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.averageBand(input,output);
+			return;
+		}
+
 		final int h = input.getHeight();
 		final int w = input.getWidth();
 
@@ -5267,6 +6283,11 @@ public class PixelMath {
 	 * @param max maximum value.
 	 */
 	public static void boundImage(GrayF32 img , float min , float max ) {
+		if( BoofConcurrency.useConcurrent(img) ) {
+			PixelMath_MT.boundImage(img,min,max);
+			return;
+		}
+
 		final int h = img.getHeight();
 		final int w = img.getWidth();
 
@@ -5296,6 +6317,11 @@ public class PixelMath {
 	 * @param diff Absolute value of difference image. Modified.
 	 */
 	public static void diffAbs(GrayF32 imgA , GrayF32 imgB , GrayF32 diff ) {
+		if( BoofConcurrency.useConcurrent(imgA) ) {
+			PixelMath_MT.diffAbs(imgA,imgB,diff);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(imgA,imgB,diff);
 		
 		final int h = imgA.getHeight();
@@ -5321,6 +6347,11 @@ public class PixelMath {
 	 * @param output Gray scale image containing average pixel values
 	 */
 	public static void averageBand(Planar<GrayF32> input , GrayF32 output ) {
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.averageBand(input,output);
+			return;
+		}
+
 		final int h = input.getHeight();
 		final int w = input.getWidth();
 
@@ -5350,6 +6381,11 @@ public class PixelMath {
 	 * @param max maximum value.
 	 */
 	public static void boundImage(GrayF64 img , double min , double max ) {
+		if( BoofConcurrency.useConcurrent(img) ) {
+			PixelMath_MT.boundImage(img,min,max);
+			return;
+		}
+
 		final int h = img.getHeight();
 		final int w = img.getWidth();
 
@@ -5379,6 +6415,11 @@ public class PixelMath {
 	 * @param diff Absolute value of difference image. Modified.
 	 */
 	public static void diffAbs(GrayF64 imgA , GrayF64 imgB , GrayF64 diff ) {
+		if( BoofConcurrency.useConcurrent(imgA) ) {
+			PixelMath_MT.diffAbs(imgA,imgB,diff);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(imgA,imgB,diff);
 		
 		final int h = imgA.getHeight();
@@ -5404,6 +6445,11 @@ public class PixelMath {
 	 * @param output Gray scale image containing average pixel values
 	 */
 	public static void averageBand(Planar<GrayF64> input , GrayF64 output ) {
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.averageBand(input,output);
+			return;
+		}
+
 		final int h = input.getHeight();
 		final int w = input.getWidth();
 
@@ -5435,6 +6481,11 @@ public class PixelMath {
 	 * @param output Output image. Modified.
 	 */
 	public static void add(GrayU8 imgA , GrayU8 imgB , GrayU16 output ) {
+		if( BoofConcurrency.useConcurrent(imgA) ) {
+			PixelMath_MT.add(imgA,imgB,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
 		
 		final int h = imgA.getHeight();
@@ -5463,6 +6514,11 @@ public class PixelMath {
 	 * @param output Output image. Modified.
 	 */
 	public static void subtract(GrayU8 imgA , GrayU8 imgB , GrayI16 output ) {
+		if( BoofConcurrency.useConcurrent(imgA) ) {
+			PixelMath_MT.subtract(imgA,imgB,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
 		
 		final int h = imgA.getHeight();
@@ -5491,6 +6547,11 @@ public class PixelMath {
 	 * @param output Output image. Modified.
 	 */
 	public static void add(GrayS8 imgA , GrayS8 imgB , GrayS16 output ) {
+		if( BoofConcurrency.useConcurrent(imgA) ) {
+			PixelMath_MT.add(imgA,imgB,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
 		
 		final int h = imgA.getHeight();
@@ -5519,6 +6580,11 @@ public class PixelMath {
 	 * @param output Output image. Modified.
 	 */
 	public static void subtract(GrayS8 imgA , GrayS8 imgB , GrayS16 output ) {
+		if( BoofConcurrency.useConcurrent(imgA) ) {
+			PixelMath_MT.subtract(imgA,imgB,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
 		
 		final int h = imgA.getHeight();
@@ -5547,6 +6613,11 @@ public class PixelMath {
 	 * @param output Output image. Modified.
 	 */
 	public static void add(GrayU16 imgA , GrayU16 imgB , GrayS32 output ) {
+		if( BoofConcurrency.useConcurrent(imgA) ) {
+			PixelMath_MT.add(imgA,imgB,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
 		
 		final int h = imgA.getHeight();
@@ -5575,6 +6646,11 @@ public class PixelMath {
 	 * @param output Output image. Modified.
 	 */
 	public static void subtract(GrayU16 imgA , GrayU16 imgB , GrayS32 output ) {
+		if( BoofConcurrency.useConcurrent(imgA) ) {
+			PixelMath_MT.subtract(imgA,imgB,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
 		
 		final int h = imgA.getHeight();
@@ -5603,6 +6679,11 @@ public class PixelMath {
 	 * @param output Output image. Modified.
 	 */
 	public static void add(GrayS16 imgA , GrayS16 imgB , GrayS32 output ) {
+		if( BoofConcurrency.useConcurrent(imgA) ) {
+			PixelMath_MT.add(imgA,imgB,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
 		
 		final int h = imgA.getHeight();
@@ -5631,6 +6712,11 @@ public class PixelMath {
 	 * @param output Output image. Modified.
 	 */
 	public static void subtract(GrayS16 imgA , GrayS16 imgB , GrayS32 output ) {
+		if( BoofConcurrency.useConcurrent(imgA) ) {
+			PixelMath_MT.subtract(imgA,imgB,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
 		
 		final int h = imgA.getHeight();
@@ -5659,6 +6745,11 @@ public class PixelMath {
 	 * @param output Output image. Modified.
 	 */
 	public static void add(GrayS32 imgA , GrayS32 imgB , GrayS32 output ) {
+		if( BoofConcurrency.useConcurrent(imgA) ) {
+			PixelMath_MT.add(imgA,imgB,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
 		
 		final int h = imgA.getHeight();
@@ -5687,6 +6778,11 @@ public class PixelMath {
 	 * @param output Output image. Modified.
 	 */
 	public static void subtract(GrayS32 imgA , GrayS32 imgB , GrayS32 output ) {
+		if( BoofConcurrency.useConcurrent(imgA) ) {
+			PixelMath_MT.subtract(imgA,imgB,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
 		
 		final int h = imgA.getHeight();
@@ -5715,6 +6811,11 @@ public class PixelMath {
 	 * @param output Output image. Modified.
 	 */
 	public static void add(GrayS64 imgA , GrayS64 imgB , GrayS64 output ) {
+		if( BoofConcurrency.useConcurrent(imgA) ) {
+			PixelMath_MT.add(imgA,imgB,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
 		
 		final int h = imgA.getHeight();
@@ -5743,6 +6844,11 @@ public class PixelMath {
 	 * @param output Output image. Modified.
 	 */
 	public static void subtract(GrayS64 imgA , GrayS64 imgB , GrayS64 output ) {
+		if( BoofConcurrency.useConcurrent(imgA) ) {
+			PixelMath_MT.subtract(imgA,imgB,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
 		
 		final int h = imgA.getHeight();
@@ -5771,6 +6877,11 @@ public class PixelMath {
 	 * @param output Output image. Modified.
 	 */
 	public static void add(GrayF32 imgA , GrayF32 imgB , GrayF32 output ) {
+		if( BoofConcurrency.useConcurrent(imgA) ) {
+			PixelMath_MT.add(imgA,imgB,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
 		
 		final int h = imgA.getHeight();
@@ -5799,6 +6910,11 @@ public class PixelMath {
 	 * @param output Output image. Modified.
 	 */
 	public static void subtract(GrayF32 imgA , GrayF32 imgB , GrayF32 output ) {
+		if( BoofConcurrency.useConcurrent(imgA) ) {
+			PixelMath_MT.subtract(imgA,imgB,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
 		
 		final int h = imgA.getHeight();
@@ -5827,6 +6943,11 @@ public class PixelMath {
 	 * @param output Output image. Modified.
 	 */
 	public static void multiply(GrayF32 imgA , GrayF32 imgB , GrayF32 output ) {
+		if( BoofConcurrency.useConcurrent(imgA) ) {
+			PixelMath_MT.multiply(imgA,imgB,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
 		
 		final int h = imgA.getHeight();
@@ -5855,6 +6976,11 @@ public class PixelMath {
 	 * @param output Output image. Modified.
 	 */
 	public static void divide(GrayF32 imgA , GrayF32 imgB , GrayF32 output ) {
+		if( BoofConcurrency.useConcurrent(imgA) ) {
+			PixelMath_MT.divide(imgA,imgB,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
 		
 		final int h = imgA.getHeight();
@@ -5882,6 +7008,11 @@ public class PixelMath {
 	 */
 	public static void log(GrayF32 input , GrayF32 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.log(input,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		for( int y = 0; y < input.height; y++ ) {
@@ -5903,6 +7034,11 @@ public class PixelMath {
 	 */
 	public static void pow2(GrayF32 input , GrayF32 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.pow2(input,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		for( int y = 0; y < input.height; y++ ) {
@@ -5926,6 +7062,11 @@ public class PixelMath {
 	 */
 	public static void sqrt(GrayF32 input , GrayF32 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.sqrt(input,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		for( int y = 0; y < input.height; y++ ) {
@@ -5949,6 +7090,11 @@ public class PixelMath {
 	 * @param output Output image. Modified.
 	 */
 	public static void add(GrayF64 imgA , GrayF64 imgB , GrayF64 output ) {
+		if( BoofConcurrency.useConcurrent(imgA) ) {
+			PixelMath_MT.add(imgA,imgB,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
 		
 		final int h = imgA.getHeight();
@@ -5977,6 +7123,11 @@ public class PixelMath {
 	 * @param output Output image. Modified.
 	 */
 	public static void subtract(GrayF64 imgA , GrayF64 imgB , GrayF64 output ) {
+		if( BoofConcurrency.useConcurrent(imgA) ) {
+			PixelMath_MT.subtract(imgA,imgB,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
 		
 		final int h = imgA.getHeight();
@@ -6005,6 +7156,11 @@ public class PixelMath {
 	 * @param output Output image. Modified.
 	 */
 	public static void multiply(GrayF64 imgA , GrayF64 imgB , GrayF64 output ) {
+		if( BoofConcurrency.useConcurrent(imgA) ) {
+			PixelMath_MT.multiply(imgA,imgB,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
 		
 		final int h = imgA.getHeight();
@@ -6033,6 +7189,11 @@ public class PixelMath {
 	 * @param output Output image. Modified.
 	 */
 	public static void divide(GrayF64 imgA , GrayF64 imgB , GrayF64 output ) {
+		if( BoofConcurrency.useConcurrent(imgA) ) {
+			PixelMath_MT.divide(imgA,imgB,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
 		
 		final int h = imgA.getHeight();
@@ -6060,6 +7221,11 @@ public class PixelMath {
 	 */
 	public static void log(GrayF64 input , GrayF64 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.log(input,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		for( int y = 0; y < input.height; y++ ) {
@@ -6081,6 +7247,11 @@ public class PixelMath {
 	 */
 	public static void pow2(GrayF64 input , GrayF64 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.pow2(input,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		for( int y = 0; y < input.height; y++ ) {
@@ -6104,6 +7275,11 @@ public class PixelMath {
 	 */
 	public static void sqrt(GrayF64 input , GrayF64 output ) {
 
+		if( BoofConcurrency.useConcurrent(input) ) {
+			PixelMath_MT.sqrt(input,output);
+			return;
+		}
+
 		InputSanityCheck.checkSameShape(input,output);
 
 		for( int y = 0; y < input.height; y++ ) {
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.transform.census;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.alg.transform.census.impl.ImplCensusTransformBorder;
+import boofcv.alg.transform.census.impl.ImplCensusTransformInner;
+import boofcv.core.image.border.ImageBorder_F32;
+import boofcv.core.image.border.ImageBorder_S32;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayS32;
+import boofcv.struct.image.GrayU8;
+
+/**
+ * <p>
+ * The Census Transform [1] describes the local structure around a pixel by comparing it to each of its neighbors
+ * in a square region.  A bit is set to 1 if the neighbor is brighter than the center pixel and 0 otherwise.
+ * The bits are packed into a single integer.  Neighbors are visited row by row, starting in the top left
+ * corner of the region, and the first neighbor is assigned to the least significant bit.
+ * </p>
+ *
+ * <p>
+ * Since only the order of pixel intensities matter the transform is invariant to changes in gain and bias,
+ * making it well suited for matching images from cameras with different exposure settings. Two transformed
+ * pixels are compared using the Hamming distance.
+ * </p>
+ *
+ * <p>
+ * If a border is provided then pixels along the image border are computed using it.  Otherwise
+ * pixels which are within the region's radius of the border are not modified.
+ * </p>
+ *
+ * <p>
+ * [1] Zabih, Ramin, and John Woodfill. "Non-parametric local transforms for computing visual correspondence."
+ * European conference on computer vision. Springer, Berlin, Heidelberg, 1994.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class CensusTransform {
+
+	/**
+	 * Census transform for a 3x3 region.  The 8 bits are stored in a single byte.
+	 *
+	 * @param input Input image
+	 * @param border (Optional) How the border is handled. If null the border is skipped.
+	 * @param output Census transformed image. Modified.
+	 */
+	public static void region3x3( GrayU8 input , ImageBorder_S32<GrayU8> border , GrayU8 output ) {
+		InputSanityCheck.checkReshape(output,input,GrayU8.class);
+
+		ImplCensusTransformInner.region3x3(input,output);
+
+		if( border != null ) {
+			border.setImage(input);
+			ImplCensusTransformBorder.region3x3(border,output);
+		}
+	}
+
+	/**
+	 * Census transform for a 3x3 region.  The 8 bits are stored in a single byte.
+	 *
+	 * @param input Input image
+	 * @param border (Optional) How the border is handled. If null the border is skipped.
+	 * @param output Census transformed image. Modified.
+	 */
+	public static void region3x3( GrayF32 input , ImageBorder_F32 border , GrayU8 output ) {
+		InputSanityCheck.checkReshape(output,input,GrayU8.class);
+
+		ImplCensusTransformInner.region3x3(input,output);
+
+		if( border != null ) {
+			border.setImage(input);
+			ImplCensusTransformBorder.region3x3(border,output);
+		}
+	}
+
+	/**
+	 * Census transform for a 5x5 region.  The 24 bits are stored in a single int.
+	 *
+	 * @param input Input image
+	 * @param border (Optional) How the border is handled. If null the border is skipped.
+	 * @param output Census transformed image. Modified.
+	 */
+	public static void region5x5( GrayU8 input , ImageBorder_S32<GrayU8> border , GrayS32 output ) {
+		InputSanityCheck.checkReshape(output,input,GrayS32.class);
+
+		ImplCensusTransformInner.region5x5(input,output);
+
+		if( border != null ) {
+			border.setImage(input);
+			ImplCensusTransformBorder.region5x5(border,output);
+		}
+	}
+
+	/**
+	 * Census transform for a 5x5 region.  The 24 bits are stored in a single int.
+	 *
+	 * @param input Input image
+	 * @param border (Optional) How the border is handled. If null the border is skipped.
+	 * @param output Census transformed image. Modified.
+	 */
+	public static void region5x5( GrayF32 input , ImageBorder_F32 border , GrayS32 output ) {
+		InputSanityCheck.checkReshape(output,input,GrayS32.class);
+
+		ImplCensusTransformInner.region5x5(input,output);
+
+		if( border != null ) {
+			border.setImage(input);
+			ImplCensusTransformBorder.region5x5(border,output);
+		}
+	}
+}
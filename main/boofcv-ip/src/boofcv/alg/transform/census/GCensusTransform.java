@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.transform.census;
+
+import boofcv.core.image.border.ImageBorder;
+import boofcv.core.image.border.ImageBorder_F32;
+import boofcv.core.image.border.ImageBorder_S32;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayS32;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageGray;
+
+/**
+ * Generalized version of {@link CensusTransform} which takes in the abstract image type
+ *
+ * @author Peter Abeles
+ */
+public class GCensusTransform {
+
+	/**
+	 * @see CensusTransform#region3x3
+	 */
+	public static <T extends ImageGray<T>>
+	void region3x3( T input , ImageBorder<T> border , GrayU8 output ) {
+		if( input instanceof GrayU8 ) {
+			CensusTransform.region3x3((GrayU8)input,(ImageBorder_S32<GrayU8>)border,output);
+		} else if( input instanceof GrayF32 ) {
+			CensusTransform.region3x3((GrayF32)input,(ImageBorder_F32)border,output);
+		} else {
+			throw new IllegalArgumentException("Unsupported image type "+input.getClass().getSimpleName());
+		}
+	}
+
+	/**
+	 * @see CensusTransform#region5x5
+	 */
+	public static <T extends ImageGray<T>>
+	void region5x5( T input , ImageBorder<T> border , GrayS32 output ) {
+		if( input instanceof GrayU8 ) {
+			CensusTransform.region5x5((GrayU8)input,(ImageBorder_S32<GrayU8>)border,output);
+		} else if( input instanceof GrayF32 ) {
+			CensusTransform.region5x5((GrayF32)input,(ImageBorder_F32)border,output);
+		} else {
+			throw new IllegalArgumentException("Unsupported image type "+input.getClass().getSimpleName());
+		}
+	}
+}
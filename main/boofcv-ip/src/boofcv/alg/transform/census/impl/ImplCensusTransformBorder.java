@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.transform.census.impl;
+
+import boofcv.core.image.border.ImageBorder_F32;
+import boofcv.core.image.border.ImageBorder_S32;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayS32;
+import boofcv.struct.image.GrayU8;
+
+/**
+ * Implementation of {@link boofcv.alg.transform.census.CensusTransform} for the image border, where
+ * the region extends outside the image.  Only pixels which are within the radius of the border are processed.
+ *
+ * @author Peter Abeles
+ */
+public class ImplCensusTransformBorder {
+
+	public static void region3x3( ImageBorder_S32<GrayU8> input , GrayU8 output ) {
+		final GrayU8 image = input.getImage();
+		for (int y = 0; y < image.height; y++) {
+			boolean all = y < 1 || y >= image.height-1;
+			for (int x = 0; x < image.width; x++) {
+				if( !all && x == 1 )
+					x = Math.max(1,image.width-1);
+				output.unsafe_set(x,y,census(input,1,x,y));
+			}
+		}
+	}
+
+	public static void region3x3( ImageBorder_F32 input , GrayU8 output ) {
+		final GrayF32 image = input.getImage();
+		for (int y = 0; y < image.height; y++) {
+			boolean all = y < 1 || y >= image.height-1;
+			for (int x = 0; x < image.width; x++) {
+				if( !all && x == 1 )
+					x = Math.max(1,image.width-1);
+				output.unsafe_set(x,y,census(input,1,x,y));
+			}
+		}
+	}
+
+	public static void region5x5( ImageBorder_S32<GrayU8> input , GrayS32 output ) {
+		final GrayU8 image = input.getImage();
+		for (int y = 0; y < image.height; y++) {
+			boolean all = y < 2 || y >= image.height-2;
+			for (int x = 0; x < image.width; x++) {
+				if( !all && x == 2 )
+					x = Math.max(2,image.width-2);
+				output.unsafe_set(x,y,census(input,2,x,y));
+			}
+		}
+	}
+
+	public static void region5x5( ImageBorder_F32 input , GrayS32 output ) {
+		final GrayF32 image = input.getImage();
+		for (int y = 0; y < image.height; y++) {
+			boolean all = y < 2 || y >= image.height-2;
+			for (int x = 0; x < image.width; x++) {
+				if( !all && x == 2 )
+					x = Math.max(2,image.width-2);
+				output.unsafe_set(x,y,census(input,2,x,y));
+			}
+		}
+	}
+
+	private static int census( ImageBorder_S32 input , int radius , int cx , int cy ) {
+		int center = input.get(cx,cy);
+		int census = 0;
+		int bit = 1;
+		for (int y = -radius; y <= radius; y++) {
+			for (int x = -radius; x <= radius; x++) {
+				if( x == 0 && y == 0 )
+					continue;
+				if( input.get(cx+x,cy+y) > center )
+					census |= bit;
+				bit <<= 1;
+			}
+		}
+		return census;
+	}
+
+	private static int census( ImageBorder_F32 input , int radius , int cx , int cy ) {
+		float center = input.get(cx,cy);
+		int census = 0;
+		int bit = 1;
+		for (int y = -radius; y <= radius; y++) {
+			for (int x = -radius; x <= radius; x++) {
+				if( x == 0 && y == 0 )
+					continue;
+				if( input.get(cx+x,cy+y) > center )
+					census |= bit;
+				bit <<= 1;
+			}
+		}
+		return census;
+	}
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.transform.census.impl;
+
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayS32;
+import boofcv.struct.image.GrayU8;
+
+/**
+ * Implementation of {@link boofcv.alg.transform.census.CensusTransform} for the inner portion of the image,
+ * where the entire region is contained inside the image.
+ *
+ * @author Peter Abeles
+ */
+public class ImplCensusTransformInner {
+
+	public static void region3x3( GrayU8 input , GrayU8 output ) {
+		final int offsets[] = createOffsets(1,input.stride);
+		final byte src[] = input.data;
+		final int height = input.height-1;
+
+		for (int y = 1; y < height; y++) {
+			int indexSrc = input.startIndex + y*input.stride + 1;
+			int indexDst = output.startIndex + y*output.stride + 1;
+			final int end = indexSrc + input.width-2;
+
+			for (; indexSrc < end; indexSrc++) {
+				int center = src[indexSrc] & 0xFF;
+
+				int census = 0;
+				for (int i = 0; i < offsets.length; i++) {
+					if( (src[indexSrc+offsets[i]] & 0xFF) > center )
+						census |= 1 << i;
+				}
+				output.data[indexDst++] = (byte)census;
+			}
+		}
+	}
+
+	public static void region3x3( GrayF32 input , GrayU8 output ) {
+		final int offsets[] = createOffsets(1,input.stride);
+		final float src[] = input.data;
+		final int height = input.height-1;
+
+		for (int y = 1; y < height; y++) {
+			int indexSrc = input.startIndex + y*input.stride + 1;
+			int indexDst = output.startIndex + y*output.stride + 1;
+			final int end = indexSrc + input.width-2;
+
+			for (; indexSrc < end; indexSrc++) {
+				float center = src[indexSrc];
+
+				int census = 0;
+				for (int i = 0; i < offsets.length; i++) {
+					if( src[indexSrc+offsets[i]] > center )
+						census |= 1 << i;
+				}
+				output.data[indexDst++] = (byte)census;
+			}
+		}
+	}
+
+	public static void region5x5( GrayU8 input , GrayS32 output ) {
+		final int offsets[] = createOffsets(2,input.stride);
+		final byte src[] = input.data;
+		final int height = input.height-2;
+
+		for (int y = 2; y < height; y++) {
+			int indexSrc = input.startIndex + y*input.stride + 2;
+			int indexDst = output.startIndex + y*output.stride + 2;
+			final int end = indexSrc + input.width-4;
+
+			for (; indexSrc < end; indexSrc++) {
+				int center = src[indexSrc] & 0xFF;
+
+				int census = 0;
+				for (int i = 0; i < offsets.length; i++) {
+					if( (src[indexSrc+offsets[i]] & 0xFF) > center )
+						census |= 1 << i;
+				}
+				output.data[indexDst++] = census;
+			}
+		}
+	}
+
+	public static void region5x5( GrayF32 input , GrayS32 output ) {
+		final int offsets[] = createOffsets(2,input.stride);
+		final float src[] = input.data;
+		final int height = input.height-2;
+
+		for (int y = 2; y < height; y++) {
+			int indexSrc = input.startIndex + y*input.stride + 2;
+			int indexDst = output.startIndex + y*output.stride + 2;
+			final int end = indexSrc + input.width-4;
+
+			for (; indexSrc < end; indexSrc++) {
+				float center = src[indexSrc];
+
+				int census = 0;
+				for (int i = 0; i < offsets.length; i++) {
+					if( src[indexSrc+offsets[i]] > center )
+						census |= 1 << i;
+				}
+				output.data[indexDst++] = census;
+			}
+		}
+	}
+
+	/**
+	 * Creates a list of index offsets for every pixel in the square region, excluding the center.  Pixels are
+	 * ordered row by row, which is the same order the bits are assigned in.
+	 */
+	public static int[] createOffsets( int radius , int stride ) {
+		int width = radius*2+1;
+		int offsets[] = new int[width*width-1];
+		int index = 0;
+		for (int y = -radius; y <= radius; y++) {
+			for (int x = -radius; x <= radius; x++) {
+				if( x == 0 && y == 0 )
+					continue;
+				offsets[index++] = y*stride + x;
+			}
+		}
+		return offsets;
+	}
+}
@@ -55,15 +55,26 @@ public class PyramidDiscreteAverage<T extends ImageBase<T>> extends PyramidDiscr
 				getLayer(0).setTo(input);
 			}
 		} else {
-			AverageDownSampleOps.down(input, scale[0], getLayer(0));
+			down(input, scale[0], getLayer(0));
 		}
 
 		for (int index = 1; index < getNumLayers(); index++) {
 			int width = scale[index]/scale[index-1];
-			AverageDownSampleOps.down(getLayer(index-1),width,getLayer(index));
+			down(getLayer(index-1),width,getLayer(index));
 		}
 	}
 
+	/**
+	 * Down samples the input image by averaging square regions
+	 *
+	 * @param input Image which is to be down sampled. Not modified.
+	 * @param sampleWidth Width of square region
+	 * @param output Down sampled image. Modified.
+	 */
+	protected void down( T input , int sampleWidth , T output ) {
+		AverageDownSampleOps.down(input, sampleWidth, output);
+	}
+
 	/**
 	 * The center of the sampling kernel is 1/2 the square region's width
 	 *
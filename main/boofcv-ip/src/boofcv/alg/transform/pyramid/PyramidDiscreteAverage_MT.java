@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.transform.pyramid;
+
+import boofcv.alg.filter.misc.AverageDownSampleOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntBlockConsumer;
+import boofcv.struct.image.ImageBase;
+import boofcv.struct.image.ImageType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Concurrent implementation of {@link PyramidDiscreteAverage}.  Each layer is split into bands of rows.  A band
+ * of output rows is computed from a band of input rows which is a multiple of the square width, so each band is
+ * down sampled independently using sub-images and the output is identical to the single threaded version.
+ *
+ * @author Peter Abeles
+ */
+public class PyramidDiscreteAverage_MT<T extends ImageBase<T>> extends PyramidDiscreteAverage<T> {
+
+	// sub-images of the input and output image for each block
+	final List<T> storageSrc = new ArrayList<>();
+	final List<T> storageDst = new ArrayList<>();
+
+	/**
+	 * See {@link PyramidDiscreteAverage#PyramidDiscreteAverage} for a description of each parameter.
+	 */
+	public PyramidDiscreteAverage_MT(ImageType<T> imageType,
+									 boolean saveOriginalReference, int... scaleFactors)
+	{
+		super(imageType, saveOriginalReference, scaleFactors);
+	}
+
+	@Override
+	protected void down(final T input, final int sampleWidth, final T output) {
+		if( !BoofConcurrency.useConcurrent(input) ) {
+			super.down(input, sampleWidth, output);
+			return;
+		}
+
+		int numBlocks = BoofConcurrency.computeNumberOfBlocks(output.height,1);
+		while( storageSrc.size() < numBlocks ) {
+			storageSrc.add(null);
+			storageDst.add(null);
+		}
+
+		BoofConcurrency.loopBlocksIndexed(0, output.height, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept(int block, int y0, int y1) {
+				int inputY1 = Math.min(input.height,y1*sampleWidth);
+				T src = input.subimage(0,y0*sampleWidth,input.width,inputY1,storageSrc.get(block));
+				T dst = output.subimage(0,y0,output.width,y1,storageDst.get(block));
+				storageSrc.set(block,src);
+				storageDst.set(block,dst);
+
+				AverageDownSampleOps.down(src, sampleWidth, dst);
+			}
+		});
+	}
+}
@@ -48,7 +48,7 @@ import boofcv.struct.pyramid.PyramidDiscrete;
 public class PyramidDiscreteSampleBlur<T extends ImageBase<T>> extends PyramidDiscrete<T> {
 
 	// stores the results from the first convolution
-	private T temp;
+	protected T temp;
 	ConvolveDown<T,T> horizontal;
 	ConvolveDown<T,T> vertical;
 
@@ -100,27 +100,30 @@ public class PyramidDiscreteSampleBlur<T extends ImageBase<T>> extends PyramidDi
 				getLayer(0).setTo(input);
 			}
 		} else {
-			int skip = scale[0];
-
-			horizontal.setSkip(skip);
-			vertical.setSkip(skip);
-
-			temp.reshape(input.width/skip,input.height);
-			horizontal.process(input,temp);
-			vertical.process(temp,getLayer(0));
+			blurDown(input, scale[0], getLayer(0));
 		}
 
 		for (int index = 1; index < getNumLayers(); index++) {
 			int skip = scale[index]/scale[index-1];
-			T prev = getLayer(index-1);
-			temp.reshape(prev.width/skip,prev.height);
+			blurDown(getLayer(index-1), skip, getLayer(index));
+		}
+	}
 
-			horizontal.setSkip(skip);
-			vertical.setSkip(skip);
+	/**
+	 * Blurs the input image and down samples it by the specified amount
+	 *
+	 * @param input Image which is to be down sampled. Not modified.
+	 * @param skip Amount it is down sampled by
+	 * @param output Down sampled image. Modified.
+	 */
+	protected void blurDown( T input , int skip , T output ) {
+		temp.reshape(input.width/skip,input.height);
 
-			horizontal.process(prev,temp);
-			vertical.process(temp,getLayer(index));
-		}
+		horizontal.setSkip(skip);
+		vertical.setSkip(skip);
+
+		horizontal.process(input,temp);
+		vertical.process(temp,output);
 	}
 
 	/**
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.transform.pyramid;
+
+import boofcv.abst.filter.convolve.ConvolveDown;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntBlockConsumer;
+import boofcv.core.image.border.BorderType;
+import boofcv.factory.filter.convolve.FactoryConvolveDown;
+import boofcv.struct.convolve.Kernel1D;
+import boofcv.struct.image.ImageBase;
+import boofcv.struct.image.ImageType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Concurrent implementation of {@link PyramidDiscreteSampleBlur}.  The horizontal pass is split into bands
+ * of rows and the vertical pass into bands of columns.  Along each row the horizontal convolution only depends on
+ * that row, and the same is true for columns in the vertical pass, so each band is processed using sub-images and
+ * the output is identical to the single threaded version.
+ * </p>
+ *
+ * <p>
+ * Each thread has its own convolution and sub-image storage, which is declared the first time it's needed and
+ * then recycled.  Layers which are too small to benefit from concurrency are processed by a single thread,
+ * see {@link BoofConcurrency#useConcurrent(ImageBase)}.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class PyramidDiscreteSampleBlur_MT<T extends ImageBase<T>> extends PyramidDiscreteSampleBlur<T> {
+
+	// The blur kernel.  Used to declare the convolution for each thread
+	Kernel1D kernel;
+
+	// storage for each block
+	final List<BlockStorage> storage = new ArrayList<>();
+
+	/**
+	 * See {@link PyramidDiscreteSampleBlur#PyramidDiscreteSampleBlur} for a description of each parameter.
+	 */
+	public PyramidDiscreteSampleBlur_MT(Kernel1D kernel, double sigma, ImageType<T> imageType,
+										boolean saveOriginalReference, int... scaleFactors)
+	{
+		super(kernel, sigma, imageType, saveOriginalReference, scaleFactors);
+		this.kernel = kernel;
+	}
+
+	@Override
+	protected void blurDown(final T input, final int skip, final T output) {
+		if( !BoofConcurrency.useConcurrent(input) ) {
+			super.blurDown(input, skip, output);
+			return;
+		}
+
+		temp.reshape(input.width/skip,input.height);
+
+		// each output row in the horizontal pass only depends on the same row in the input
+		int numBlocks = BoofConcurrency.computeNumberOfBlocks(input.height,1);
+		declareStorage(numBlocks);
+		BoofConcurrency.loopBlocksIndexed(0, input.height, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept(int block, int y0, int y1) {
+				BlockStorage s = storage.get(block);
+				s.src = input.subimage(0,y0,input.width,y1,s.src);
+				s.dst = temp.subimage(0,y0,temp.width,y1,s.dst);
+				s.horizontal.setSkip(skip);
+				s.horizontal.process(s.src,s.dst);
+			}
+		});
+
+		// each output column in the vertical pass only depends on the same column in the input.  Bands must be
+		// wider than the kernel or the down convolution will switch to a different algorithm
+		numBlocks = BoofConcurrency.computeNumberOfBlocks(temp.width,kernel.width+1);
+		declareStorage(numBlocks);
+		BoofConcurrency.loopBlocksIndexed(0, temp.width, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept(int block, int x0, int x1) {
+				BlockStorage s = storage.get(block);
+				s.src = temp.subimage(x0,0,x1,temp.height,s.src);
+				s.dst = output.subimage(x0,0,x1,output.height,s.dst);
+				s.vertical.setSkip(skip);
+				s.vertical.process(s.src,s.dst);
+			}
+		});
+	}
+
+	/**
+	 * Makes sure there is storage for each block
+	 */
+	private void declareStorage( int numBlocks ) {
+		ImageType<T> imageType = getImageType();
+		while( storage.size() < numBlocks ) {
+			BlockStorage s = new BlockStorage();
+			s.horizontal = FactoryConvolveDown.convolve(kernel, BorderType.NORMALIZED, true, 1, imageType,imageType);
+			s.vertical = FactoryConvolveDown.convolve(kernel, BorderType.NORMALIZED, false, 1, imageType,imageType);
+			storage.add(s);
+		}
+	}
+
+	/**
+	 * Storage used by a single block
+	 */
+	class BlockStorage {
+		ConvolveDown<T,T> horizontal;
+		ConvolveDown<T,T> vertical;
+		// sub-images of the input and output image
+		T src,dst;
+	}
+}
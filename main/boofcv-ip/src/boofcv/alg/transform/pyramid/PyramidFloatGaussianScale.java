@@ -53,6 +53,12 @@ public class PyramidFloatGaussianScale< T extends ImageGray<T>> extends PyramidF
 	// used to store the blurred image
 	protected T tempImage;
 
+	// blur applied to the previous layer when constructing each layer
+	protected BlurStorageFilter<T>[] blurs;
+
+	// transform from the layer to the blurred previous layer
+	protected PixelTransformAffine_F32 model = new PixelTransformAffine_F32();
+
 	// how much each layer is blurred before sub-sampling
 	protected float[] sigmaLayers;
 
@@ -85,6 +91,11 @@ public class PyramidFloatGaussianScale< T extends ImageGray<T>> extends PyramidF
 			double effectiveSigma = sigmaLayers[i]*scales[i-1];
 			sigma[i] = Math.sqrt(sigma[i-1]*sigma[i-1] + effectiveSigma*effectiveSigma);
 		}
+
+		blurs = new BlurStorageFilter[ sigmaLayers.length ];
+		for( int i = 0; i < sigmaLayers.length; i++ ) {
+			blurs[i] = (BlurStorageFilter<T>) FactoryBlurFilter.gaussian(getImageType(), this.sigmaLayers[i],-1);
+		}
 	}
 
 
@@ -104,20 +115,29 @@ public class PyramidFloatGaussianScale< T extends ImageGray<T>> extends PyramidF
 			T layer = getLayer(i);
 
 			// Apply the requested blur to the previous layer
-			BlurStorageFilter<T> blur = (BlurStorageFilter<T>) FactoryBlurFilter.gaussian(layer.getImageType(), sigmaLayers[i],-1);
 			tempImage.reshape(prev.width,prev.height);
-			blur.process(prev,tempImage);
+			blurs[i].process(prev,tempImage);
 
 			// Resample the blurred image
 			if( scale[i] == 1 ) {
 				layer.setTo(tempImage);
 			} else {
-				PixelTransformAffine_F32 model = DistortSupport.transformScale(layer,tempImage, null);
-				DistortImageOps.distortSingle(tempImage,layer, true, model,interpolate);
+				resample(tempImage,layer);
 			}
 		}
 	}
 
+	/**
+	 * Re-samples the blurred previous layer to create the current layer
+	 *
+	 * @param blurred The blurred previous layer. Not modified.
+	 * @param layer The layer being constructed. Modified.
+	 */
+	protected void resample( T blurred , T layer ) {
+		DistortSupport.transformScale(layer,blurred, model);
+		DistortImageOps.distortSingle(blurred,layer, true, model,interpolate);
+	}
+
 	public InterpolatePixelS<T> getInterpolate() {
 		return interpolate;
 	}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.transform.pyramid;
+
+import boofcv.abst.distort.FDistort;
+import boofcv.alg.distort.ImageDistort;
+import boofcv.alg.distort.PixelTransformAffine_F32;
+import boofcv.alg.distort.impl.DistortSupport;
+import boofcv.alg.interpolate.InterpolatePixelS;
+import boofcv.alg.interpolate.InterpolationType;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntBlockConsumer;
+import boofcv.core.image.border.BorderType;
+import boofcv.factory.distort.FactoryDistort;
+import boofcv.factory.interpolate.FactoryInterpolation;
+import boofcv.struct.image.ImageGray;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Concurrent implementation of {@link PyramidFloatGaussianScale}.  Re-sampling of the blurred previous layer is
+ * split into bands of rows in the layer being constructed.  The blur is already done concurrently by the
+ * convolution it uses.  Output is identical to the single threaded version.
+ * </p>
+ *
+ * <p>
+ * Interpolation has internal state so each thread needs its own instance.  That's why the type of interpolation
+ * is specified instead of an instance and {@link #setInterpolate} is not supported.  Pixel values are bounded
+ * from 0 to 255, the same as in {@link FDistort}.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class PyramidFloatGaussianScale_MT< T extends ImageGray<T>> extends PyramidFloatGaussianScale<T> {
+
+	// Used to declare the interpolation for each thread
+	InterpolationType interpType;
+	BorderType borderType;
+
+	// storage for each block
+	final List<BlockStorage> storage = new ArrayList<>();
+
+	/**
+	 * Configures the pyramid
+	 *
+	 * @param interpType Type of interpolation used to sub-sample.
+	 * @param borderType How the image border is handled by interpolation.
+	 * @param scales Scales of each layer in the pyramid relative to the input image
+	 * @param sigmaLayers Amount of blur applied to the previous layer while constructing the pyramid.
+	 * @param imageType Type of image it's processing
+	 */
+	public PyramidFloatGaussianScale_MT(InterpolationType interpType, BorderType borderType,
+										double scales[], double sigmaLayers[],
+										Class<T> imageType) {
+		super(FactoryInterpolation.createPixelS(0, 255, interpType, borderType, imageType),
+				scales, sigmaLayers, imageType);
+		this.interpType = interpType;
+		this.borderType = borderType;
+	}
+
+	@Override
+	protected void resample(final T blurred, final T layer) {
+		if( !BoofConcurrency.useConcurrent(layer) ) {
+			super.resample(blurred, layer);
+			return;
+		}
+
+		int numBlocks = BoofConcurrency.computeNumberOfBlocks(layer.height,1);
+		while( storage.size() < numBlocks ) {
+			storage.add( new BlockStorage() );
+		}
+
+		BoofConcurrency.loopBlocksIndexed(0, layer.height, numBlocks, new IntBlockConsumer() {
+			@Override
+			public void accept(int block, int y0, int y1) {
+				BlockStorage s = storage.get(block);
+				DistortSupport.transformScale(layer, blurred, s.model);
+				s.distort.apply(blurred, layer, 0, y0, layer.width, y1);
+			}
+		});
+	}
+
+	/**
+	 * Not supported since each thread needs its own interpolation.  Specify the type in the constructor instead.
+	 */
+	@Override
+	public void setInterpolate(InterpolatePixelS<T> interpolate) {
+		throw new UnsupportedOperationException("Specify the interpolation type in the constructor instead");
+	}
+
+	/**
+	 * Storage used by a single block
+	 */
+	class BlockStorage {
+		PixelTransformAffine_F32 model = new PixelTransformAffine_F32();
+		ImageDistort<T,T> distort;
+
+		BlockStorage() {
+			Class<T> imageClass = getImageType().getImageClass();
+			InterpolatePixelS<T> interp =
+					FactoryInterpolation.createPixelS(0, 255, interpType, borderType, imageClass);
+			distort = FactoryDistort.distortSB(false, interp, imageClass);
+			distort.setRenderAll(true);
+			distort.setModel(model);
+		}
+	}
+}
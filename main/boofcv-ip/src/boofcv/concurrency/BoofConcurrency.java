@@ -0,0 +1,288 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.concurrency;
+
+import boofcv.struct.image.ImageBase;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * <p>
+ * Central location for controlling concurrency inside of BoofCV.  Algorithms which have a concurrent implementation
+ * call {@link #useConcurrent(ImageBase)} to decide if the concurrent or the single threaded variant should be called.
+ * Concurrent code is used if {@link #USE_CONCURRENT} is true and the image has at least
+ * {@link #getMinimumPixels() minimum pixels}.  All concurrent code is run inside of a single shared
+ * {@link ForkJoinPool}, which can be replaced with a pool owned by the application.
+ * </p>
+ *
+ * <p>
+ * Work is divided up into contiguous blocks of indexes, e.g. a band of image rows.  How a range is divided up only
+ * depends on the size of the range and the number of threads, which ensures that the output does not depend on
+ * the order in which threads are scheduled.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class BoofConcurrency {
+	/**
+	 * If true then concurrent implementations of algorithms will be used, when available.
+	 */
+	public static boolean USE_CONCURRENT = true;
+
+	// thread pool that all concurrent code is run inside of
+	private static volatile ForkJoinPool pool = new ForkJoinPool();
+	// true if the pool was created by BoofCV and not provided by the user
+	private static volatile boolean ownsPool = true;
+
+	// the maximum number of blocks a range is split into
+	private static volatile int maxThreads = pool.getParallelism();
+
+	// images with fewer pixels than this are processed by a single thread
+	private static volatile int minimumPixels = 100*100;
+
+	/**
+	 * Returns true if an operation on the image should use the concurrent implementation.  Small images are
+	 * processed with the single threaded code since the overhead of splitting up the work outweighs the
+	 * gain.
+	 *
+	 * @param image The image being processed
+	 * @return true if concurrent code should be used
+	 */
+	public static boolean useConcurrent( ImageBase image ) {
+		return useConcurrent(image.width*image.height);
+	}
+
+	/**
+	 * Returns true if an operation which processes the specified number of pixels should use the concurrent
+	 * implementation.
+	 *
+	 * @param numPixels Number of pixels being processed by the operation
+	 * @return true if concurrent code should be used
+	 */
+	public static boolean useConcurrent( int numPixels ) {
+		return USE_CONCURRENT && maxThreads > 1 && numPixels >= minimumPixels;
+	}
+
+	/**
+	 * Changes the maximum number of threads which concurrent algorithms will use.  If the thread pool was created
+	 * by BoofCV then it will be replaced by a pool with this many threads.  If the pool was provided by the
+	 * user then this just limits the number of blocks that work is split into.
+	 *
+	 * @param maxThreads Maximum number of threads. Must be at least 1.
+	 */
+	public static synchronized void setMaxThreads( int maxThreads ) {
+		if( maxThreads < 1 )
+			throw new IllegalArgumentException("Must have at least one thread");
+		if( ownsPool && maxThreads != pool.getParallelism() ) {
+			ForkJoinPool old = pool;
+			pool = new ForkJoinPool(maxThreads);
+			old.shutdown();
+		}
+		BoofConcurrency.maxThreads = maxThreads;
+	}
+
+	/**
+	 * Returns the maximum number of threads which concurrent algorithms will use.
+	 */
+	public static int getMaxThreads() {
+		return maxThreads;
+	}
+
+	/**
+	 * Specifies the thread pool which concurrent algorithms will run inside of.  The maximum number of
+	 * threads is set to the pool's parallelism.  BoofCV will not shutdown a pool it was given.
+	 *
+	 * @param pool The thread pool.  If null then BoofCV will create its own pool.
+	 */
+	public static synchronized void setPool( ForkJoinPool pool ) {
+		ForkJoinPool old = BoofConcurrency.pool;
+		boolean ownedOld = ownsPool;
+		if( pool == null ) {
+			BoofConcurrency.pool = new ForkJoinPool();
+			ownsPool = true;
+		} else {
+			BoofConcurrency.pool = pool;
+			ownsPool = false;
+		}
+		if( ownedOld && old != pool )
+			old.shutdown();
+		maxThreads = BoofConcurrency.pool.getParallelism();
+	}
+
+	/**
+	 * Returns the thread pool that concurrent algorithms run inside of
+	 */
+	public static ForkJoinPool getPool() {
+		return pool;
+	}
+
+	/**
+	 * Images with fewer pixels than this will be processed using single threaded code.
+	 *
+	 * @param minimumPixels Minimum number of pixels.  0 to always use concurrent code.
+	 */
+	public static void setMinimumPixels( int minimumPixels ) {
+		if( minimumPixels < 0 )
+			throw new IllegalArgumentException("Can't be negative");
+		BoofConcurrency.minimumPixels = minimumPixels;
+	}
+
+	/**
+	 * Images with fewer pixels than this will be processed using single threaded code.
+	 */
+	public static int getMinimumPixels() {
+		return minimumPixels;
+	}
+
+	/**
+	 * Splits the range of indexes into one block for each thread and processes the blocks concurrently.  The
+	 * function returns after all the blocks have been processed.
+	 *
+	 * @param start First index, inclusive
+	 * @param endExclusive Last index, exclusive
+	 * @param consumer Processes each block
+	 */
+	public static void loopBlocks( int start , int endExclusive , IntRangeConsumer consumer ) {
+		loopBlocks(start, endExclusive, 1, consumer);
+	}
+
+	/**
+	 * Splits the range of indexes into blocks and processes the blocks concurrently.  The
+	 * function returns after all the blocks have been processed.
+	 *
+	 * @param start First index, inclusive
+	 * @param endExclusive Last index, exclusive
+	 * @param minBlock The minimum number of indexes in a block
+	 * @param consumer Processes each block
+	 */
+	public static void loopBlocks( int start , int endExclusive , int minBlock , final IntRangeConsumer consumer ) {
+		int range = endExclusive-start;
+		if( range <= 0 )
+			return;
+
+		int numBlocks = computeNumberOfBlocks(range, minBlock);
+
+		if( numBlocks == 1 ) {
+			consumer.accept(start, endExclusive);
+		} else {
+			invoke(new BlockTask(start,range,numBlocks,0,numBlocks,new IntBlockConsumer() {
+				@Override
+				public void accept(int block, int minInclusive, int maxExclusive) {
+					consumer.accept(minInclusive, maxExclusive);
+				}
+			}));
+		}
+	}
+
+	/**
+	 * <p>
+	 * Splits the range of indexes into the specified number of blocks and processes the blocks concurrently.  The
+	 * function returns after all the blocks have been processed.
+	 * </p>
+	 *
+	 * <p>
+	 * Block boundaries only depend on the range and number of blocks.  This is intended for reductions, e.g. the
+	 * sum of all pixels, where each block saves its partial result and the partial results are then combined in
+	 * block order.  Floating point results are then the same every time for the same number of blocks, no matter
+	 * how the threads are scheduled.  Typically the number of blocks is found using
+	 * {@link #computeNumberOfBlocks}.
+	 * </p>
+	 *
+	 * @param start First index, inclusive
+	 * @param endExclusive Last index, exclusive
+	 * @param numBlocks Number of blocks.  If 1 then the consumer is always called, even if the range is empty.
+	 * @param consumer Processes each block
+	 */
+	public static void loopBlocksIndexed( int start , int endExclusive , int numBlocks , IntBlockConsumer consumer ) {
+		if( numBlocks <= 1 ) {
+			consumer.accept(0, start, endExclusive);
+		} else {
+			int range = endExclusive-start;
+			if( range < numBlocks )
+				throw new IllegalArgumentException("More blocks than indexes in the range");
+			invoke(new BlockTask(start,range,numBlocks,0,numBlocks,consumer));
+		}
+	}
+
+	private static void invoke( BlockTask task ) {
+		// if already inside a pool just fork inside the current pool
+		if( ForkJoinTask.inForkJoinPool() )
+			task.invoke();
+		else
+			pool.invoke(task);
+	}
+
+	/**
+	 * Number of blocks a range of the specified size will be split up into
+	 *
+	 * @param range Number of indexes in the range
+	 * @param minBlock The minimum number of indexes in a block
+	 */
+	public static int computeNumberOfBlocks( int range , int minBlock ) {
+		int numBlocks = Math.min(getMaxThreads(), range/Math.max(1,minBlock));
+		return Math.max(1,numBlocks);
+	}
+
+	/**
+	 * Returns the first index in a block
+	 *
+	 * @param start First index in the range
+	 * @param range Number of indexes in the range
+	 * @param numBlocks Total number of blocks
+	 * @param block Which block
+	 */
+	public static int blockStart( int start , int range , int numBlocks , int block ) {
+		return start + (int)((long)range*block/numBlocks);
+	}
+
+	/**
+	 * Recursively splits the set of blocks in half until a single block remains which is then processed
+	 */
+	private static class BlockTask extends RecursiveAction {
+		int start, range, numBlocks;
+		int blockLow, blockHigh;
+		IntBlockConsumer consumer;
+
+		public BlockTask(int start, int range, int numBlocks,
+						 int blockLow, int blockHigh,
+						 IntBlockConsumer consumer) {
+			this.start = start;
+			this.range = range;
+			this.numBlocks = numBlocks;
+			this.blockLow = blockLow;
+			this.blockHigh = blockHigh;
+			this.consumer = consumer;
+		}
+
+		@Override
+		protected void compute() {
+			if( blockHigh-blockLow == 1 ) {
+				consumer.accept(blockLow,blockStart(start,range,numBlocks,blockLow),
+						blockStart(start,range,numBlocks,blockHigh));
+			} else {
+				int blockMid = (blockLow+blockHigh)/2;
+				invokeAll(new BlockTask(start,range,numBlocks,blockLow,blockMid,consumer),
+						new BlockTask(start,range,numBlocks,blockMid,blockHigh,consumer));
+			}
+		}
+	}
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.concurrency;
+
+/**
+ * Processes a range of integer indexes which belongs to a numbered block.  The block number is used to store
+ * partial results, which are later combined in block order.
+ *
+ * @author Peter Abeles
+ */
+public interface IntBlockConsumer {
+	/**
+	 * Processes all the indexes inside the block.
+	 *
+	 * @param block which block is being processed.  0 to numBlocks-1
+	 * @param minInclusive first index in the range, inclusive
+	 * @param maxExclusive last index in the range, exclusive
+	 */
+	void accept( int block , int minInclusive , int maxExclusive );
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.concurrency;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * <p>
+ * Reusable version of {@link BoofConcurrency#loopBlocksIndexed}.  The consumer and the tasks submitted to the
+ * thread pool are saved and recycled, so once it has been called with the largest number of blocks no new
+ * objects are created.  Useful for code which is called many times a second, e.g. once for every frame in a video,
+ * and should not create garbage.  Blocks are identical to the ones used by {@link BoofConcurrency#loopBlocksIndexed}.
+ * </p>
+ *
+ * <p>
+ * When called from a thread outside of the pool the calling thread processes the first block itself and then
+ * parks until the pool has processed the others.  It never joins a task from outside of the pool, since
+ * depending on the JDK that creates a node to keep track of the waiting thread.  Inside of the pool the blocks
+ * are forked and joined as usual.
+ * </p>
+ *
+ * <p>
+ * Not thread safe.  Each instance can only process one range at a time.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class IntBlockLoop {
+	// processes each block
+	private final IntBlockConsumer consumer;
+
+	// one task for each block. Grows as needed
+	private final List<BlockTask> blocks = new ArrayList<>();
+	// forks the blocks inside of the pool
+	private final RootTask root = new RootTask();
+
+	// number of blocks submitted to the pool which have not finished yet
+	private final AtomicInteger pending = new AtomicInteger();
+	// thread which is waiting for the blocks to finish
+	private volatile Thread waiting;
+	// first exception thrown by a block
+	private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+	/**
+	 * @param consumer Processes each block
+	 */
+	public IntBlockLoop(IntBlockConsumer consumer) {
+		this.consumer = consumer;
+	}
+
+	/**
+	 * Splits the range of indexes into the specified number of blocks and processes the blocks concurrently.  The
+	 * function returns after all the blocks have been processed.
+	 *
+	 * @param start First index, inclusive
+	 * @param endExclusive Last index, exclusive
+	 * @param numBlocks Number of blocks.  If 1 then the consumer is always called, even if the range is empty.
+	 */
+	public void process( int start , int endExclusive , int numBlocks ) {
+		if( numBlocks <= 1 ) {
+			consumer.accept(0, start, endExclusive);
+			return;
+		}
+
+		int range = endExclusive-start;
+		if( range < numBlocks )
+			throw new IllegalArgumentException("More blocks than indexes in the range");
+
+		while( blocks.size() < numBlocks ) {
+			blocks.add(new BlockTask());
+		}
+		for (int i = 0; i < numBlocks; i++) {
+			BlockTask task = blocks.get(i);
+			task.reinitialize();
+			task.block = i;
+			task.minInclusive = BoofConcurrency.blockStart(start,range,numBlocks,i);
+			task.maxExclusive = BoofConcurrency.blockStart(start,range,numBlocks,i+1);
+		}
+		failure.set(null);
+		pending.set(numBlocks-1);
+
+		if( ForkJoinTask.inForkJoinPool() ) {
+			// if already inside a pool just fork inside the current pool
+			root.reinitialize();
+			root.numBlocks = numBlocks;
+			root.invoke();
+		} else {
+			waiting = Thread.currentThread();
+			ForkJoinPool pool = BoofConcurrency.getPool();
+			for (int i = numBlocks-1; i > 0; i--) {
+				pool.execute(blocks.get(i));
+			}
+			blocks.get(0).process();
+			while( pending.get() > 0 ) {
+				LockSupport.park(this);
+			}
+			// the pool marks a task as done after compute() returns.  Wait for that so it can be recycled
+			for (int i = 1; i < numBlocks; i++) {
+				while( !blocks.get(i).isDone() ) {
+					Thread.yield();
+				}
+			}
+			waiting = null;
+		}
+
+		// pass on the exception of a block which failed, if any
+		Throwable t = failure.getAndSet(null);
+		if( t instanceof RuntimeException )
+			throw (RuntimeException)t;
+		else if( t instanceof Error )
+			throw (Error)t;
+		else if( t != null )
+			throw new RuntimeException(t);
+	}
+
+	public IntBlockConsumer getConsumer() {
+		return consumer;
+	}
+
+	/**
+	 * Forks all but the first block, processes the first block in the current thread then waits for the others
+	 */
+	private class RootTask extends RecursiveAction {
+		int numBlocks;
+
+		@Override
+		protected void compute() {
+			for (int i = numBlocks-1; i > 0; i--) {
+				blocks.get(i).fork();
+			}
+			blocks.get(0).process();
+			for (int i = 1; i < numBlocks; i++) {
+				blocks.get(i).join();
+			}
+		}
+	}
+
+	/**
+	 * Processes a single block.  Exceptions are saved instead of thrown so that every block always finishes and
+	 * the tasks can be safely recycled.
+	 */
+	private class BlockTask extends RecursiveAction {
+		int block, minInclusive, maxExclusive;
+
+		@Override
+		protected void compute() {
+			process();
+			if( pending.decrementAndGet() == 0 ) {
+				Thread t = waiting;
+				if( t != null )
+					LockSupport.unpark(t);
+			}
+		}
+
+		void process() {
+			try {
+				consumer.accept(block, minInclusive, maxExclusive);
+			} catch( Throwable t ) {
+				failure.compareAndSet(null, t);
+			}
+		}
+	}
+}
@@ -19,8 +19,9 @@
 package boofcv.factory.transform.pyramid;
 
 import boofcv.alg.interpolate.InterpolatePixelS;
-import boofcv.alg.transform.pyramid.PyramidDiscreteSampleBlur;
-import boofcv.alg.transform.pyramid.PyramidFloatGaussianScale;
+import boofcv.alg.interpolate.InterpolationType;
+import boofcv.alg.transform.pyramid.*;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.core.image.border.BorderType;
 import boofcv.factory.filter.kernel.FactoryKernel;
 import boofcv.factory.filter.kernel.FactoryKernelGaussian;
@@ -34,7 +35,15 @@ import boofcv.struct.pyramid.PyramidFloat;
 
 
 /**
+ * <p>
  * Factory for creating classes related to image pyramids.
+ * </p>
+ *
+ * <p>
+ * Functions which don't have a concurrent parameter return a concurrent implementation if
+ * {@link BoofConcurrency#USE_CONCURRENT} is true.  The concurrent and single threaded implementations
+ * produce identical pyramids.
+ * </p>
  *
  * @author Peter Abeles
  */
@@ -52,12 +61,54 @@ public class FactoryPyramid {
 	public static <T extends ImageBase<T>>
 	PyramidDiscrete<T> discreteGaussian( int[] scaleFactors , double sigma , int radius ,
 										 boolean saveOriginalReference, ImageType<T> imageType )
+	{
+		return discreteGaussian(scaleFactors,sigma,radius,saveOriginalReference,imageType,
+				BoofConcurrency.USE_CONCURRENT);
+	}
+
+	/**
+	 * Creates an updater for discrete pyramids where a Gaussian is convolved across the input
+	 * prior to sub-sampling.
+	 *
+	 * @param imageType Type of input image.
+	 * @param sigma Gaussian sigma.  If < 0 then a sigma is selected using the radius.  Try -1.
+	 * @param radius Radius of the Gaussian kernel.  If < 0 then the radius is selected using sigma. Try 2.
+	 * @param concurrent If true then each layer is computed using multiple threads
+	 * @return PyramidDiscrete
+	 */
+	public static <T extends ImageBase<T>>
+	PyramidDiscrete<T> discreteGaussian( int[] scaleFactors , double sigma , int radius ,
+										 boolean saveOriginalReference, ImageType<T> imageType ,
+										 boolean concurrent )
 	{
 		Class<Kernel1D> kernelType = FactoryKernel.getKernelType(imageType.getDataType(),1);
 
 		Kernel1D kernel = FactoryKernelGaussian.gaussian(kernelType,sigma,radius);
 
-		return new PyramidDiscreteSampleBlur<>(kernel, sigma, imageType, saveOriginalReference, scaleFactors);
+		if( concurrent )
+			return new PyramidDiscreteSampleBlur_MT<>(kernel, sigma, imageType, saveOriginalReference, scaleFactors);
+		else
+			return new PyramidDiscreteSampleBlur<>(kernel, sigma, imageType, saveOriginalReference, scaleFactors);
+	}
+
+	/**
+	 * Creates an updater for discrete pyramids where each layer is created by averaging square regions
+	 * in the previous layer.
+	 *
+	 * @param scaleFactors Scale factor for each layer in the pyramid relative to the input layer
+	 * @param saveOriginalReference If a reference to the full resolution image should be saved instead of copied.
+	 * @param imageType Type of input image.
+	 * @param concurrent If true then each layer is computed using multiple threads
+	 * @return PyramidDiscrete
+	 */
+	public static <T extends ImageBase<T>>
+	PyramidDiscrete<T> discreteAverage( int[] scaleFactors , boolean saveOriginalReference,
+										ImageType<T> imageType , boolean concurrent )
+	{
+		if( concurrent )
+			return new PyramidDiscreteAverage_MT<>(imageType, saveOriginalReference, scaleFactors);
+		else
+			return new PyramidDiscreteAverage<>(imageType, saveOriginalReference, scaleFactors);
 	}
 
 	/**
@@ -72,6 +123,28 @@ public class FactoryPyramid {
 	 */
 	public static <T extends ImageGray<T>>
 	PyramidFloat<T> floatGaussian( double scaleFactors[], double []sigmas , Class<T> imageType ) {
+		return floatGaussian(scaleFactors,sigmas,imageType,BoofConcurrency.USE_CONCURRENT);
+	}
+
+	/**
+	 * Creates a float pyramid where each layer is blurred using a Gaussian with the specified
+	 * sigma.  Bilinear interpolation is used when sub-sampling.
+	 *
+	 * @param scaleFactors The scale factor of each layer relative to the previous layer.
+	 *                     Layer 0 is relative to the input image.
+	 * @param sigmas Gaussian blur magnitude for each layer.
+	 * @param imageType Type of image in the pyramid.
+	 * @param concurrent If true then each layer is computed using multiple threads
+	 * @return PyramidFloat
+	 */
+	public static <T extends ImageGray<T>>
+	PyramidFloat<T> floatGaussian( double scaleFactors[], double []sigmas , Class<T> imageType ,
+								   boolean concurrent ) {
+
+		if( concurrent ) {
+			return new PyramidFloatGaussianScale_MT<>(InterpolationType.BILINEAR, BorderType.EXTENDED,
+					scaleFactors, sigmas, imageType);
+		}
 
 		InterpolatePixelS<T> interp = FactoryInterpolation.bilinearPixelS(imageType, BorderType.EXTENDED);
 
@@ -18,6 +18,7 @@
 
 package boofcv.misc;
 
+import java.io.ByteArrayOutputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.PrintStream;
@@ -33,6 +34,22 @@ public abstract class CodeGeneratorBase {
 	protected PrintStream out;
 	protected String className;
 
+	/**
+	 * If true then a concurrent variant of the code is being generated.  See {@link #openRowLoop}.
+	 */
+	protected boolean concurrent = false;
+
+	/**
+	 * If true the for loop opened by {@link #openRowLoop} is formatted as "for (int y = 0; y < h; y++)" instead of
+	 * "for( int y = 0; y < h; y++ )".  Used to avoid reformatting code which was written before the loop was generated.
+	 */
+	protected boolean looseForLoop = false;
+
+	// used to capture the body of a concurrent loop so that it can be indented
+	private PrintStream outOriginal;
+	private ByteArrayOutputStream captured;
+	private String loopIndent;
+
 	public CodeGeneratorBase(boolean useDefaultName) {
 		if( useDefaultName ) {
 			autoSelectName();
@@ -80,6 +97,139 @@ public abstract class CodeGeneratorBase {
 		initFile();
 	}
 
+	/**
+	 * Starts a loop across image rows.  In serial code this is a standard for loop.  In concurrent code the rows
+	 * are split into bands using {@link boofcv.concurrency.BoofConcurrency} and a for loop is done inside of
+	 * each band.  All variables referenced inside the loop must be final.  The generator prints the body
+	 * of the loop, including the for loop's closing bracket, and then calls {@link #closeRowLoop()}.
+	 *
+	 * @param indent Indentation of the for loop
+	 * @param var Name of the row variable
+	 * @param start Expression for the first row, inclusive
+	 * @param end Expression for the last row, exclusive
+	 * @param bandCode Code which is inserted at the start of each band when concurrent, e.g. work space. Can be null.
+	 */
+	protected void openRowLoop( String indent , String var , String start , String end , String bandCode ) {
+		if( concurrent ) {
+			out.print(indent+"BoofConcurrency.loopBlocks("+start+", "+end+", new IntRangeConsumer() {\n" +
+					indent+"\t@Override\n" +
+					indent+"\tpublic void accept( int "+var+"0 , int "+var+"1 ) {\n");
+			loopIndent = indent;
+			startCapture();
+			if( bandCode != null )
+				out.print(bandCode);
+			out.print(indent+forLoop(var,var+"0",var+"1"));
+		} else {
+			out.print(indent+forLoop(var,start,end));
+		}
+	}
+
+	protected void openRowLoop( String indent , String var , String start , String end ) {
+		openRowLoop(indent, var, start, end, null);
+	}
+
+	/**
+	 * Finishes a loop started by {@link #openRowLoop}.
+	 */
+	protected void closeRowLoop() {
+		if( !concurrent )
+			return;
+		stopCapture("\t\t");
+		out.print(loopIndent+"\t}\n" +
+				loopIndent+"});\n");
+	}
+
+	/**
+	 * Starts a loop across image rows which computes a reduction, e.g. the sum of all the pixels.  In serial code
+	 * this is a standard for loop.  In concurrent code the rows are split into numbered blocks using
+	 * {@link boofcv.concurrency.BoofConcurrency#loopBlocksIndexed} and the partial result from each block is saved
+	 * in the array "partial".  The generator is responsible for initializing the reduction variable inside of
+	 * the band code and for combining the partial results in block order after {@link #closeReductionLoop}.
+	 *
+	 * @param indent Indentation of the for loop
+	 * @param var Name of the row variable
+	 * @param start Expression for the first row, inclusive
+	 * @param end Expression for the last row, exclusive
+	 * @param partialType Type of the partial result, e.g. "int" or "int[]"
+	 * @param bandCode Code which is inserted at the start of each block when concurrent, e.g. initialization.
+	 */
+	protected void openReductionLoop( String indent , String var , String start , String end ,
+									  String partialType , String bandCode ) {
+		if( concurrent ) {
+			String arrayType = partialType.endsWith("[]") ?
+					partialType.substring(0,partialType.length()-2)+"[numBlocks][]" : partialType+"[numBlocks]";
+			String range = start.equals("0") ? end : end+"-"+start;
+			out.print(indent+"final int numBlocks = BoofConcurrency.computeNumberOfBlocks("+range+",1);\n" +
+					indent+"final "+partialType+"[] partial = new "+arrayType+";\n" +
+					"\n" +
+					indent+"BoofConcurrency.loopBlocksIndexed("+start+", "+end+", numBlocks, new IntBlockConsumer() {\n" +
+					indent+"\t@Override\n" +
+					indent+"\tpublic void accept( int block , int "+var+"0 , int "+var+"1 ) {\n");
+			loopIndent = indent;
+			startCapture();
+			out.print(bandCode);
+			out.print(indent+forLoop(var,var+"0",var+"1"));
+		} else {
+			out.print(indent+forLoop(var,start,end));
+		}
+	}
+
+	/**
+	 * Finishes a loop started by {@link #openReductionLoop}.
+	 *
+	 * @param result Name of the variable which contains the block's partial result
+	 */
+	protected void closeReductionLoop( String result ) {
+		if( !concurrent )
+			return;
+		out.print(loopIndent+"partial[block] = "+result+";\n");
+		stopCapture("\t\t");
+		out.print(loopIndent+"\t}\n" +
+				loopIndent+"});\n");
+	}
+
+	/**
+	 * Header of the for loop used by {@link #openRowLoop} and {@link #openReductionLoop}
+	 */
+	private String forLoop( String var , String start , String end ) {
+		if( looseForLoop )
+			return "for (int "+var+" = "+start+"; "+var+" < "+end+"; "+var+"++) {\n";
+		else
+			return "for( int "+var+" = "+start+"; "+var+" < "+end+"; "+var+"++ ) {\n";
+	}
+
+	/**
+	 * Everything printed after this is captured until {@link #stopCapture} is called
+	 */
+	private void startCapture() {
+		outOriginal = out;
+		captured = new ByteArrayOutputStream();
+		out = new PrintStream(captured);
+	}
+
+	/**
+	 * Prints the captured code with each line indented by the prefix
+	 */
+	private void stopCapture( String prefix ) {
+		out.flush();
+		out = outOriginal;
+		String[] lines = captured.toString().split("\n",-1);
+		// the last element will be an empty string after the final new line
+		for (int i = 0; i < lines.length-1; i++) {
+			if( lines[i].length() > 0 )
+				out.print(prefix);
+			out.println(lines[i]);
+		}
+		captured = null;
+	}
+
+	/**
+	 * Prefix for parameters and variables which need to be final in concurrent code
+	 */
+	protected String finalConcurrent() {
+		return concurrent ? "final " : "";
+	}
+
 	public String generatedString() {
 		return "@Generated(\""+getClass().getName()+"\")\n";
 	}
@@ -24,7 +24,7 @@ package boofcv.misc;
 public class CodeGeneratorUtil {
 
 	public static String copyright = "/*\n" +
-			" * Copyright (c) 2011-2016, Peter Abeles. All Rights Reserved.\n" +
+			" * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.\n" +
 			" *\n" +
 			" * This file is part of BoofCV (http://boofcv.org).\n" +
 			" *\n" +
@@ -39,5 +39,5 @@ public class CodeGeneratorUtil {
 			" * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.\n" +
 			" * See the License for the specific language governing permissions and\n" +
 			" * limitations under the License.\n" +
-			" */";
+			" */\n";
 }
@@ -146,7 +146,8 @@ public class Planar<T extends ImageGray<T>> extends ImageMultiBand<Planar<T>>{
 	 * @param y0 y-coordinate of top-left corner of the sub-image.
 	 * @param x1 x-coordinate of bottom-right corner of the sub-image.
 	 * @param y1 y-coordinate of bottom-right corner of the sub-image.
-	 * @param subimage
+	 * @param subimage Optional output for sub-image.  If not null and of the same type the subimage will be
+	 *                 written into this image.
 	 * @return A sub-image of this image.
 	 */
 	@Override
@@ -158,7 +159,12 @@ public class Planar<T extends ImageGray<T>> extends ImageMultiBand<Planar<T>>{
 		if (x1 > width || y1 > height)
 			throw new IllegalArgumentException("x1 or y1 is more than the width or height respectively");
 
-		Planar<T> ret = new Planar<>(type, bands.length);
+		Planar<T> ret;
+		if( subimage == null || subimage.type != type || subimage.bands.length != bands.length ) {
+			ret = new Planar<>(type, bands.length);
+		} else {
+			ret = subimage;
+		}
 		ret.stride = Math.max(width, stride);
 		ret.width = x1 - x0;
 		ret.height = y1 - y0;
@@ -166,7 +172,7 @@ public class Planar<T extends ImageGray<T>> extends ImageMultiBand<Planar<T>>{
 		ret.subImage = true;
 
 		for( int i = 0; i < bands.length; i++ ) {
-			ret.bands[i] = (T)bands[i].subimage(x0,y0,x1,y1);
+			ret.bands[i] = (T)bands[i].subimage(x0,y0,x1,y1,ret.bands[i]);
 		}
 		
 		return ret;
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.testing;
+
+import boofcv.concurrency.BoofConcurrency;
+
+/**
+ * Used by tests of concurrent implementations to force the work to be split up between several threads, even
+ * for small images.  The first call to {@link #apply()} or {@link #setUseConcurrent} saves the global settings in
+ * {@link BoofConcurrency} before changing them and {@link #restore()} puts them back.  Later calls only change
+ * the settings, so a test can switch between thread counts without losing the original values.  Typically
+ * called from the test's setup and tear down functions.
+ *
+ * @author Peter Abeles
+ */
+public class ForceConcurrency {
+	boolean saved = false;
+	boolean origConcurrent;
+	int origMinimum, origThreads;
+
+	/**
+	 * Saves the current settings then removes the minimum image size and sets the number of threads to 4
+	 */
+	public void apply() {
+		apply(4);
+	}
+
+	/**
+	 * Saves the current settings then removes the minimum image size and sets the number of threads
+	 *
+	 * @param maxThreads Maximum number of threads which will be used
+	 */
+	public void apply( int maxThreads ) {
+		save();
+		BoofConcurrency.setMinimumPixels(0);
+		BoofConcurrency.setMaxThreads(maxThreads);
+	}
+
+	/**
+	 * Saves the current settings then changes {@link BoofConcurrency#USE_CONCURRENT}
+	 */
+	public void setUseConcurrent( boolean useConcurrent ) {
+		save();
+		BoofConcurrency.USE_CONCURRENT = useConcurrent;
+	}
+
+	private void save() {
+		if( saved )
+			return;
+		saved = true;
+		origConcurrent = BoofConcurrency.USE_CONCURRENT;
+		origMinimum = BoofConcurrency.getMinimumPixels();
+		origThreads = BoofConcurrency.getMaxThreads();
+	}
+
+	/**
+	 * Restores the settings saved by {@link #apply()} or {@link #setUseConcurrent}
+	 */
+	public void restore() {
+		if( !saved )
+			return;
+		saved = false;
+		BoofConcurrency.USE_CONCURRENT = origConcurrent;
+		BoofConcurrency.setMinimumPixels(origMinimum);
+		BoofConcurrency.setMaxThreads(origThreads);
+	}
+}
@@ -20,6 +20,7 @@ package boofcv.abst.filter.blur;
 
 import boofcv.alg.filter.blur.GBlurImageOps;
 import boofcv.alg.misc.GImageMiscOps;
+import boofcv.core.image.GeneralizedImageOps;
 import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.GrayU8;
 import boofcv.struct.image.ImageBase;
@@ -38,7 +39,8 @@ public class TestBlurStorageFilter {
 	int height = 25;
 	Random rand = new Random(234);
 
-	ImageType[] imageTypes = new ImageType[]{ImageType.single(GrayU8.class), ImageType.single(GrayF32.class)};
+	ImageType[] imageTypes = new ImageType[]{ImageType.single(GrayU8.class), ImageType.single(GrayF32.class),
+			ImageType.pl(2,GrayU8.class), ImageType.pl(2,GrayF32.class)};
 
 	@Test
 	public void gaussian() {
@@ -46,7 +48,7 @@ public class TestBlurStorageFilter {
 			ImageBase input = c.createImage(width,height);
 			ImageBase found = c.createImage(width,height);
 			ImageBase expected = c.createImage(width,height);
-			ImageBase storage = c.createImage(width,height);
+			ImageBase storage = createStorage(c);
 
 			GImageMiscOps.fillUniform(input,rand,0,100);
 
@@ -66,7 +68,7 @@ public class TestBlurStorageFilter {
 			ImageBase input = c.createImage(width,height);
 			ImageBase found = c.createImage(width,height);
 			ImageBase expected = c.createImage(width,height);
-			ImageBase storage = c.createImage(width,height);
+			ImageBase storage = createStorage(c);
 
 			GImageMiscOps.fillUniform(input,rand,0,100);
 
@@ -98,4 +100,14 @@ public class TestBlurStorageFilter {
 			BoofTesting.assertEquals(expected,found,1e-4);
 		}
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Storage for a Planar image is a single band
+	 */
+	private ImageBase createStorage( ImageType c ) {
+		if( c.getFamily() == ImageType.Family.PLANAR )
+			return GeneralizedImageOps.createSingleBand(c.getDataType(),width,height);
+		else
+			return c.createImage(width,height);
+	}
+}
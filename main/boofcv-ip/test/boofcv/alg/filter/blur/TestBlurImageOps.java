@@ -18,6 +18,7 @@
 
 package boofcv.alg.filter.blur;
 
+import boofcv.alg.filter.blur.impl.ImplMedianHistogramConstant;
 import boofcv.alg.filter.blur.impl.ImplMedianSortNaive;
 import boofcv.alg.filter.convolve.GConvolveImageOps;
 import boofcv.alg.misc.GImageMiscOps;
@@ -140,4 +141,54 @@ public class TestBlurImageOps {
 			}
 		}
 	}
+
+	/**
+	 * Large radius where the constant time algorithm is used
+	 */
+	@Test
+	public void median_largeRadius() {
+		GrayU8 input = new GrayU8(40,45);
+		GrayU8 expected = new GrayU8(40,45);
+		GImageMiscOps.fillUniform(input, rand, 0, 200);
+
+		int radius = BlurImageOps.MEDIAN_CONSTANT_RADIUS+1;
+		GrayU8 found = BlurImageOps.median(input,null,radius);
+		ImplMedianSortNaive.process(input,expected,radius,null);
+
+		BoofTesting.assertEquals(expected,found,0);
+	}
+
+	/**
+	 * Work storage is reused across images of different shapes and radii
+	 */
+	@Test
+	public void median_reuseWork() {
+		ImplMedianHistogramConstant work = new ImplMedianHistogramConstant();
+
+		for( int trial = 0; trial < 3; trial++ ) {
+			GrayU8 input = new GrayU8(40-trial*7,45+trial*5);
+			GrayU8 expected = input.createSameShape();
+			GImageMiscOps.fillUniform(input, rand, 0, 200);
+
+			int radius = BlurImageOps.MEDIAN_CONSTANT_RADIUS+2-trial;
+			GrayU8 found = BlurImageOps.median(input,null,radius,work);
+			ImplMedianSortNaive.process(input,expected,radius,null);
+
+			BoofTesting.assertEquals(expected,found,0);
+		}
+	}
+
+	@Test
+	public void medianApprox() {
+		GrayF32 input = new GrayF32(40,45);
+		GrayF32 expected = new GrayF32(40,45);
+		GImageMiscOps.fillUniform(input, rand, -10, 200);
+
+		for( int radius = 1; radius <= 9; radius += 4 ) {
+			GrayF32 found = BlurImageOps.medianApprox(input,null,radius);
+			ImplMedianSortNaive.process(input,expected,radius,null);
+
+			BoofTesting.assertEquals(expected,found,210.0/1024.0);
+		}
+	}
 }
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.blur.impl;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImplMedianHistogramConstant {
+
+	Random rand = new Random(234);
+
+	@Test
+	public void compareToSort_U8() {
+		GrayU8 image = new GrayU8(40,35);
+		ImageMiscOps.fillUniform(image,rand, 0, 100);
+
+		GrayU8 found = new GrayU8( image.width , image.height );
+		GrayU8 expected = new GrayU8( image.width , image.height );
+
+		BoofTesting.checkSubImage(this, "compareToSort_U8", true, image, found, expected);
+	}
+
+	public void compareToSort_U8(GrayU8 image, GrayU8 found, GrayU8 expected) {
+		ImplMedianHistogramConstant alg = new ImplMedianHistogramConstant();
+
+		for( int radius = 1; radius <= 8; radius++ ) {
+			alg.process(image,found,radius);
+			ImplMedianSortNaive.process(image,expected,radius,null);
+
+			BoofTesting.assertEqualsInner(expected,found,0,radius,radius,false);
+		}
+	}
+
+	/**
+	 * With few possible values the median will often be at the edge of a bin, which is when the fine histogram
+	 * is most likely to be out of date
+	 */
+	@Test
+	public void compareToSort_U8_fewValues() {
+		GrayU8 image = new GrayU8(60,25);
+		GrayU8 found = new GrayU8( image.width , image.height );
+		GrayU8 expected = new GrayU8( image.width , image.height );
+
+		ImplMedianHistogramConstant alg = new ImplMedianHistogramConstant();
+
+		for( int trial = 0; trial < 10; trial++ ) {
+			// values are spread across different segments in the fine histogram
+			for( int i = 0; i < image.data.length; i++ ) {
+				image.data[i] = (byte)(rand.nextInt(4)*60 + rand.nextInt(2)*15);
+			}
+
+			int radius = 1+trial%4;
+			alg.process(image,found,radius);
+			ImplMedianSortNaive.process(image,expected,radius,null);
+
+			BoofTesting.assertEqualsInner(expected,found,0,radius,radius,false);
+		}
+	}
+
+	/**
+	 * Error should be less than the width of a bin
+	 */
+	@Test
+	public void compareToSort_F32() {
+		GrayF32 image = new GrayF32(40,35);
+		ImageMiscOps.fillUniform(image,rand, -50, 150);
+
+		GrayF32 found = new GrayF32( image.width , image.height );
+		GrayF32 expected = new GrayF32( image.width , image.height );
+
+		BoofTesting.checkSubImage(this, "compareToSort_F32", true, image, found, expected);
+	}
+
+	public void compareToSort_F32(GrayF32 image, GrayF32 found, GrayF32 expected) {
+		ImplMedianHistogramConstant alg = new ImplMedianHistogramConstant(10);
+
+		float binWidth = 200.0f/alg.getNumBins();
+
+		for( int radius = 1; radius <= 5; radius++ ) {
+			alg.process(image,found,radius,-50,150);
+			ImplMedianSortNaive.process(image,expected,radius,null);
+
+			BoofTesting.assertEqualsInner(expected,found,binWidth,radius,radius,false);
+		}
+	}
+
+	/**
+	 * All pixels have the same value
+	 */
+	@Test
+	public void constant_F32() {
+		GrayF32 image = new GrayF32(20,25);
+		ImageMiscOps.fill(image,7);
+		GrayF32 found = new GrayF32( image.width , image.height );
+
+		new ImplMedianHistogramConstant(10).process(image,found,2,7,7);
+
+		assertEquals(7,found.get(10,10),1e-8f);
+	}
+
+	/**
+	 * The image is smaller than the kernel and nothing should be processed
+	 */
+	@Test
+	public void smallImage() {
+		GrayU8 image = new GrayU8(4,20);
+		ImageMiscOps.fill(image,5);
+		GrayU8 found = new GrayU8( image.width , image.height );
+
+		new ImplMedianHistogramConstant().process(image,found,2);
+
+		assertEquals(0, found.get(2,10));
+	}
+}
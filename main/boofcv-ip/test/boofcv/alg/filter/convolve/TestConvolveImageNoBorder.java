@@ -18,6 +18,7 @@
 
 package boofcv.alg.filter.convolve;
 
+import boofcv.testing.ForceConcurrency;
 import org.junit.Test;
 
 /**
@@ -48,4 +49,21 @@ public class TestConvolveImageNoBorder {
 		a.setOffset(3);
 		a.performTests(58);
 	}
+
+	/**
+	 * Turn off concurrency and make sure the single threaded code is still correct
+	 */
+	@Test
+	public void compareToStandard_singleThread() {
+		ForceConcurrency force = new ForceConcurrency();
+		force.setUseConcurrent(false);
+		try {
+			CompareToStandardConvolution a = new CompareToStandardConvolution(ConvolveImageNoBorder.class);
+			a.setKernelWidth(5);
+			a.setOffset(2);
+			a.performTests(58);
+		} finally {
+			force.restore();
+		}
+	}
 }
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.filter.convolve.noborder;
+
+import boofcv.alg.filter.convolve.CompareToStandardConvolution;
+import boofcv.struct.image.ImageBase;
+import boofcv.testing.BoofTesting;
+
+/**
+ * Compares a concurrent implementation of convolution against its single threaded equivalent.  The output
+ * must be identical.  The image is large enough to be split into several bands, but the test needs to
+ * use {@link boofcv.testing.ForceConcurrency} so that it's split up on a single core machine too.
+ *
+ * @author Peter Abeles
+ */
+public class CompareToSingleThreadConvolution extends CompareToStandardConvolution {
+
+	public CompareToSingleThreadConvolution( Class<?> concurrentClass, Class<?> singleThreadClass ) {
+		super(concurrentClass, singleThreadClass);
+		width = 31;
+		height = 47;
+	}
+
+	@Override
+	protected void compareResults(Object targetResult, Object[] targetParam, Object validationResult, Object[] validationParam) {
+		if( targetResult != null && !targetResult.equals(validationResult))
+			throw new RuntimeException("Return values are not the same");
+
+		for( int i = 0; i < targetParam.length; i++ ) {
+			if( !ImageBase.class.isAssignableFrom(targetParam[i].getClass()) )
+				continue;
+
+			BoofTesting.assertEquals((ImageBase)validationParam[i], (ImageBase)targetParam[i], 0);
+		}
+	}
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.filter.convolve.noborder;
+
+import boofcv.testing.ForceConcurrency;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestConvolveImageStandard_IL_MT {
+
+	ForceConcurrency force = new ForceConcurrency();
+
+	@Before
+	public void before() {
+		force.apply();
+	}
+
+	@After
+	public void after() {
+		force.restore();
+	}
+
+	@Test
+	public void compareToSingleThread_symmetric() {
+		CompareToSingleThreadConvolution a = createCompare();
+		a.setKernelWidth(5);
+		a.setOffset(2);
+		a.performTests(29);
+	}
+
+	@Test
+	public void compareToSingleThread_UNsymmetric() {
+		CompareToSingleThreadConvolution a = createCompare();
+		a.setKernelWidth(5);
+		a.setOffset(1);
+		a.performTests(29);
+	}
+
+	@Test
+	public void compareToSingleThread_even() {
+		CompareToSingleThreadConvolution a = createCompare();
+		a.setKernelWidth(4);
+		a.setOffset(3);
+		a.performTests(29);
+	}
+
+	private CompareToSingleThreadConvolution createCompare() {
+		return new CompareToSingleThreadConvolution(ConvolveImageStandard_IL_MT.class,ConvolveImageStandard_IL.class);
+	}
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.filter.convolve.noborder;
+
+import boofcv.struct.convolve.KernelBase;
+import boofcv.testing.ForceConcurrency;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+
+/**
+ * Tests all the concurrent unrolled convolution classes by comparing them against their single threaded version.
+ *
+ * @author Peter Abeles
+ */
+public class TestConvolveImageUnrolled_SB_MT {
+
+	ForceConcurrency force = new ForceConcurrency();
+
+	@Before
+	public void before() {
+		force.apply();
+	}
+
+	@After
+	public void after() {
+		force.restore();
+	}
+
+	Class[][] pairs = new Class[][]{
+			{ConvolveImageUnrolled_SB_MT_F32_F32.class, ConvolveImageUnrolled_SB_F32_F32.class},
+			{ConvolveImageUnrolled_SB_MT_F64_F64.class, ConvolveImageUnrolled_SB_F64_F64.class},
+			{ConvolveImageUnrolled_SB_MT_S16_I16.class, ConvolveImageUnrolled_SB_S16_I16.class},
+			{ConvolveImageUnrolled_SB_MT_S16_I16_Div.class, ConvolveImageUnrolled_SB_S16_I16_Div.class},
+			{ConvolveImageUnrolled_SB_MT_S32_S32.class, ConvolveImageUnrolled_SB_S32_S32.class},
+			{ConvolveImageUnrolled_SB_MT_S32_S32_Div.class, ConvolveImageUnrolled_SB_S32_S32_Div.class},
+			{ConvolveImageUnrolled_SB_MT_U8_I16.class, ConvolveImageUnrolled_SB_U8_I16.class},
+			{ConvolveImageUnrolled_SB_MT_U8_I8_Div.class, ConvolveImageUnrolled_SB_U8_I8_Div.class}};
+
+	@Test
+	public void horizontal() {
+		compareAll("horizontal");
+	}
+
+	@Test
+	public void vertical() {
+		compareAll("vertical");
+	}
+
+	@Test
+	public void convolve() {
+		compareAll("convolve");
+	}
+
+	private void compareAll( String name ) {
+		for( Class[] pair : pairs ) {
+			CompareToSingleThreadConvolution compare = new CompareToSingleThreadConvolution(pair[0],pair[1]);
+
+			int numFound = 0;
+			for( Method m : pair[0].getMethods() ) {
+				if( !m.getName().equals(name) || !KernelBase.class.isAssignableFrom(m.getParameterTypes()[0]))
+					continue;
+				numFound++;
+
+				// see if it can handle every unrolled kernel size and a kernel without an unrolled function
+				for (int i = 0; i < GenerateConvolvedUnrolled_SB.numUnrolled; i++) {
+					compare.compareMethod(m, name, i + 1);
+				}
+				compare.compareMethod(m, name, 4, 2);
+			}
+			if( numFound != 1 )
+				throw new RuntimeException("Unexpected number of methods "+numFound+" in "+pair[0].getSimpleName());
+		}
+	}
+}
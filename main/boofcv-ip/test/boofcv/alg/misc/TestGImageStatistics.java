@@ -73,9 +73,9 @@ public class TestGImageStatistics extends BaseGClassChecksInMisc {
 			ret[0][0] = inputA;
 			ret[0][1] = inputB;
 		} else if( name.equals("histogram")) {
-			int histogramSize = 10;
-			if( inputA.getImageType().getDataType().isSigned() )
-				histogramSize += 11;
+			// unsigned images are filled with values from 1 to 10 and signed from -10 to 10. Since minValue is -10
+			// both need 21 elements
+			int histogramSize = 21;
 			ret[0][0] = inputA;
 			ret[0][1] = -10;
 			ret[0][2] = new int[histogramSize];
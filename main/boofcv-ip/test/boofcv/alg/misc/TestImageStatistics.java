@@ -19,8 +19,11 @@
 package boofcv.alg.misc;
 
 import boofcv.core.image.GeneralizedImageOps;
+import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.ImageBase;
 import boofcv.struct.image.ImageGray;
+import boofcv.testing.ForceConcurrency;
+import org.ddogleg.struct.GrowQueue_I32;
 import org.junit.Test;
 
 import java.lang.reflect.InvocationTargetException;
@@ -40,7 +43,7 @@ public class TestImageStatistics {
 
 	@Test
 	public void checkAll() {
-		int numExpected = 9*8 + 7*8;
+		int numExpected = 9*8 + 8*8;
 		Method methods[] = ImageStatistics.class.getMethods();
 
 		// sanity check to make sure the functions are being found
@@ -231,7 +234,11 @@ public class TestImageStatistics {
 
 		double mean = 2.5;
 
-		Object result = m.invoke(null,inputA,mean);
+		Object result;
+		if( paramTypes[1] == float.class )
+			result = m.invoke(null,inputA,(float)mean);
+		else
+			result = m.invoke(null,inputA,mean);
 
 		double total = 0;
 		for( int i = 0; i < height; i++ ) {
@@ -326,12 +333,14 @@ public class TestImageStatistics {
 		if( inputA.getDataType().isSigned() ) {
 			minValue = -20;
 			GImageMiscOps.fillUniform(inputA, rand, minValue,20);
-			m.invoke(null,inputA,minValue,histogram);
 		} else {
 			minValue = 5;
 			GImageMiscOps.fillUniform(inputA, rand, minValue,minValue+histogram.length-1);
-			m.invoke(null,inputA,minValue,histogram);
 		}
+		if( paramTypes.length == 4 )
+			m.invoke(null,inputA,minValue,histogram,new GrowQueue_I32());
+		else
+			m.invoke(null,inputA,minValue,histogram);
 
 		// manually compute the histogram
 		int expected[] = new int[ histogram.length ];
@@ -347,4 +356,31 @@ public class TestImageStatistics {
 		}
 	}
 
+	/**
+	 * Sums of floating point images depend on the order values are added in.  Make sure the number of threads
+	 * doesn't change the results.
+	 */
+	@Test
+	public void floatSums_independentOfThreads() {
+		GrayF32 imgA = new GrayF32(200,150);
+		GrayF32 imgB = imgA.createSameShape();
+		GImageMiscOps.fillUniform(imgA, rand, -100, 100);
+		GImageMiscOps.fillUniform(imgB, rand, -100, 100);
+
+		float sum = ImageStatistics.sum(imgA);
+		float variance = ImageStatistics.variance(imgA,0.5f);
+		double diffSq = ImageStatistics.meanDiffSq(imgA,imgB);
+
+		ForceConcurrency force = new ForceConcurrency();
+		for( int numThreads = 1; numThreads <= 4; numThreads++ ) {
+			force.apply(numThreads);
+			try {
+				assertEquals(sum, ImageStatistics.sum(imgA), 0);
+				assertEquals(variance, ImageStatistics.variance(imgA,0.5f), 0);
+				assertEquals(diffSq, ImageStatistics.meanDiffSq(imgA,imgB), 0);
+			} finally {
+				force.restore();
+			}
+		}
+	}
 }
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.misc;
+
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.struct.image.ImageBase;
+import boofcv.testing.BoofTesting;
+import boofcv.testing.ForceConcurrency;
+import org.ddogleg.struct.GrowQueue_I32;
+import org.junit.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImageStatistics_MT {
+
+	Random rand = new Random(234);
+	int width = 31;
+	int height = 47;
+	int numBands = 2;
+
+	/**
+	 * Compares every function against the single threaded implementation.  Also makes sure that the result
+	 * is the same every time it's called
+	 */
+	@Test
+	public void compareToSingleThread() throws InvocationTargetException, IllegalAccessException, NoSuchMethodException {
+		ForceConcurrency force = new ForceConcurrency();
+		force.apply();
+		// make sure the validation class doesn't call the concurrent code
+		force.setUseConcurrent(false);
+		try {
+			int numFound = 0;
+			for( Method m : ImageStatistics_MT.class.getMethods() ) {
+				Class<?> types[] = m.getParameterTypes();
+				if( types.length < 1 || !ImageBase.class.isAssignableFrom(types[0]) )
+					continue;
+
+				Method validation = ImageStatistics.class.getMethod(m.getName(),types);
+				compare(m, validation);
+				numFound++;
+			}
+
+			assertEquals(9*8 + 8*8, numFound);
+		} finally {
+			force.restore();
+		}
+	}
+
+	private void compare( Method target , Method validation ) throws InvocationTargetException, IllegalAccessException {
+		Class<?> types[] = target.getParameterTypes();
+
+		ImageBase image = GeneralizedImageOps.createImage((Class)types[0],width,height,numBands);
+		if( image.getImageType().getDataType().isSigned() )
+			GImageMiscOps.fillUniform(image, rand, -20, 20);
+		else
+			GImageMiscOps.fillUniform(image, rand, 0, 20);
+
+		Object[] params = new Object[types.length];
+		params[0] = BoofTesting.createSubImageOf(image);
+		if( types.length == 2 && ImageBase.class.isAssignableFrom(types[1]) ) {
+			ImageBase imageB = image.createSameShape();
+			GImageMiscOps.fillUniform(imageB, rand, 0, 20);
+			params[1] = imageB;
+		} else if( types.length == 2 ) {
+			// variance
+			params[1] = types[1] == float.class ? (Object)2.5f : (Object)2.5;
+		} else if( types.length >= 3 ) {
+			// histogram
+			params[1] = convert(types[1], -20);
+			params[2] = new int[41];
+			if( types.length == 4 ) {
+				// work storage which is larger than needed and filled with garbage
+				GrowQueue_I32 work = new GrowQueue_I32();
+				work.resize(500);
+				for (int i = 0; i < work.size; i++)
+					work.data[i] = 1000+i;
+				params[3] = work;
+			}
+		}
+
+		if( types.length >= 3 ) {
+			int expected[] = new int[41];
+			if( types.length == 4 )
+				validation.invoke(null, params[0], params[1], expected, null);
+			else
+				validation.invoke(null, params[0], params[1], expected);
+			target.invoke(null, params);
+			assertArrayEquals(expected, (int[])params[2]);
+
+			// the work storage should be reusable
+			if( types.length == 4 ) {
+				target.invoke(null, params);
+				assertArrayEquals(expected, (int[])params[2]);
+			}
+		} else {
+			Number expected = (Number)validation.invoke(null, params);
+			Number found = (Number)target.invoke(null, params);
+			assertEquals(expected.doubleValue(), found.doubleValue(), Math.abs(expected.doubleValue())*1e-4);
+
+			// the order partial results are combined in is fixed, so the output should always be the same
+			for (int i = 0; i < 5; i++) {
+				assertEquals(found, target.invoke(null, params));
+			}
+		}
+	}
+
+	private static Object convert( Class<?> type , int value ) {
+		if( type == int.class )
+			return value;
+		else if( type == long.class )
+			return (long)value;
+		else if( type == float.class )
+			return (float)value;
+		else if( type == double.class )
+			return (double)value;
+		throw new RuntimeException("Unexpected type "+type.getSimpleName());
+	}
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.misc;
+
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.struct.image.ImageBase;
+import boofcv.struct.image.Planar;
+import boofcv.testing.BoofTesting;
+import boofcv.testing.CompareIdenticalFunctions;
+import boofcv.testing.ForceConcurrency;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.util.Random;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestPixelMath_MT extends CompareIdenticalFunctions {
+
+	Random rand = new Random(234);
+	int width = 31;
+	int height = 47;
+	int numBands = 2;
+
+	public TestPixelMath_MT() {
+		super(PixelMath_MT.class, PixelMath.class);
+	}
+
+	/**
+	 * The concurrent code should produce exactly the same output as the single threaded code
+	 */
+	@Test
+	public void compareToSingleThread() {
+		ForceConcurrency force = new ForceConcurrency();
+		force.apply();
+		// make sure the validation class doesn't call the concurrent code
+		force.setUseConcurrent(false);
+		try {
+			performTests(234);
+		} finally {
+			force.restore();
+		}
+	}
+
+	@Override
+	protected boolean isTestMethod(Method m) {
+		Class<?> param[] = m.getParameterTypes();
+		for (int i = 0; i < param.length; i++) {
+			if( ImageBase.class.isAssignableFrom(param[i]) )
+				return true;
+		}
+		return false;
+	}
+
+	@Override
+	protected Object[][] createInputParam(Method candidate, Method validation) {
+		Class<?> types[] = candidate.getParameterTypes();
+
+		// value, lower bound, upper bound
+		double scalars[] = candidate.getName().equals("boundImage") ? new double[]{5,15} : new double[]{4,2,15};
+
+		Object[] params = new Object[types.length];
+		int whichScalar = 0;
+		for (int i = 0; i < types.length; i++) {
+			if( Planar.class == types[i] ) {
+				ParameterizedType p = (ParameterizedType)candidate.getGenericParameterTypes()[i];
+				Class bandType = (Class)p.getActualTypeArguments()[0];
+				Planar image = new Planar(bandType,width,height,numBands);
+				GImageMiscOps.fillUniform(image, rand, 1, 20);
+				params[i] = image;
+			} else if( ImageBase.class.isAssignableFrom(types[i]) ) {
+				ImageBase image = GeneralizedImageOps.createImage((Class)types[i],width,height,numBands);
+				GImageMiscOps.fillUniform(image, rand, 1, 20);
+				params[i] = image;
+			} else {
+				params[i] = convert(types[i], scalars[whichScalar++]);
+			}
+		}
+
+		return new Object[][]{params};
+	}
+
+	private static Object convert( Class<?> type , double value ) {
+		if( type == int.class )
+			return (int)value;
+		else if( type == long.class )
+			return (long)value;
+		else if( type == float.class )
+			return (float)value;
+		else if( type == double.class )
+			return value;
+		throw new RuntimeException("Unexpected type "+type.getSimpleName());
+	}
+
+	@Override
+	protected Object[] createSubImageInputs(Object[] param) {
+		Object[] ret = new Object[ param.length ];
+
+		for( int i = 0; i < param.length; i++ ) {
+			if( param[i] instanceof ImageBase ) {
+				ret[i] = BoofTesting.createSubImageOf((ImageBase)param[i]);
+			} else {
+				ret[i] = param[i];
+			}
+		}
+		return ret;
+	}
+
+	@Override
+	protected void compareResults(Object targetResult, Object[] targetParam, Object validationResult, Object[] validationParam) {
+		for( int i = 0; i < targetParam.length; i++ ) {
+			if( targetParam[i] instanceof ImageBase )
+				BoofTesting.assertEquals((ImageBase)validationParam[i], (ImageBase)targetParam[i], 0);
+		}
+	}
+}
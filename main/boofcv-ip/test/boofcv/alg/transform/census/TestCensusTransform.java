@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.transform.census;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.core.image.border.BorderType;
+import boofcv.core.image.border.FactoryImageBorder;
+import boofcv.core.image.border.ImageBorder;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayS32;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageGray;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestCensusTransform {
+
+	Random rand = new Random(234);
+	int width = 30, height = 25;
+
+	Class types[] = new Class[]{GrayU8.class, GrayF32.class};
+
+	@Test
+	public void region3x3() {
+		for( Class type : types ) {
+			ImageGray input = GeneralizedImageOps.createSingleBand(type,width,height);
+			GImageMiscOps.fillUniform(input,rand,0,200);
+			ImageBorder border = FactoryImageBorder.single(type,BorderType.EXTENDED);
+
+			GrayU8 found = new GrayU8(width,height);
+			GrayU8 expected = new GrayU8(width,height);
+
+			GCensusTransform.region3x3(input,border,found);
+			naive(input,1,border,expected);
+
+			BoofTesting.assertEquals(expected,found,0);
+
+			// sub-images should produce the same result
+			ImageGray sub = BoofTesting.createSubImageOf(input);
+			GrayU8 foundSub = BoofTesting.createSubImageOf(found);
+			GImageMiscOps.fill(foundSub,0);
+			GCensusTransform.region3x3(sub,border,foundSub);
+			BoofTesting.assertEquals(expected,foundSub,0);
+		}
+	}
+
+	@Test
+	public void region5x5() {
+		for( Class type : types ) {
+			ImageGray input = GeneralizedImageOps.createSingleBand(type,width,height);
+			GImageMiscOps.fillUniform(input,rand,0,200);
+			ImageBorder border = FactoryImageBorder.single(type,BorderType.EXTENDED);
+
+			GrayS32 found = new GrayS32(width,height);
+			GrayS32 expected = new GrayS32(width,height);
+
+			GCensusTransform.region5x5(input,border,found);
+			naive(input,2,border,expected);
+
+			BoofTesting.assertEquals(expected,found,0);
+
+			// sub-images should produce the same result
+			ImageGray sub = BoofTesting.createSubImageOf(input);
+			GrayS32 foundSub = BoofTesting.createSubImageOf(found);
+			GImageMiscOps.fill(foundSub,0);
+			GCensusTransform.region5x5(sub,border,foundSub);
+			BoofTesting.assertEquals(expected,foundSub,0);
+		}
+	}
+
+	/**
+	 * If no border is specified then the border should not be modified
+	 */
+	@Test
+	public void noBorder() {
+		for( Class type : types ) {
+			ImageGray input = GeneralizedImageOps.createSingleBand(type,width,height);
+			GImageMiscOps.fillUniform(input,rand,0,200);
+
+			GrayS32 found = new GrayS32(width,height);
+			GImageMiscOps.fill(found,-1);
+			GCensusTransform.region5x5(input,null,found);
+
+			for (int y = 0; y < height; y++) {
+				for (int x = 0; x < width; x++) {
+					boolean inner = x >= 2 && x < width-2 && y >= 2 && y < height-2;
+					if( inner )
+						assertEquals(0, found.get(x,y) & 0xFF000000);
+					else
+						assertEquals(-1, found.get(x,y));
+				}
+			}
+		}
+	}
+
+	/**
+	 * The region is larger than the image
+	 */
+	@Test
+	public void tinyImage() {
+		for( Class type : types ) {
+			ImageGray input = GeneralizedImageOps.createSingleBand(type,3,2);
+			GImageMiscOps.fillUniform(input,rand,0,200);
+			ImageBorder border = FactoryImageBorder.single(type,BorderType.EXTENDED);
+
+			GrayS32 found = new GrayS32(3,2);
+			GrayS32 expected = new GrayS32(3,2);
+
+			GCensusTransform.region5x5(input,border,found);
+			naive(input,2,border,expected);
+
+			BoofTesting.assertEquals(expected,found,0);
+		}
+	}
+
+	private void naive( ImageGray input , int radius , ImageBorder border , ImageGray output ) {
+		border.setImage(input);
+		double pixel[] = new double[1];
+
+		for (int y = 0; y < input.height; y++) {
+			for (int x = 0; x < input.width; x++) {
+				border.getGeneral(x,y,pixel);
+				double center = pixel[0];
+
+				int census = 0;
+				int bit = 0;
+				for (int i = -radius; i <= radius; i++) {
+					for (int j = -radius; j <= radius; j++) {
+						if( i == 0 && j == 0 )
+							continue;
+						border.getGeneral(x+j,y+i,pixel);
+						if( pixel[0] > center )
+							census |= 1 << bit;
+						bit++;
+					}
+				}
+				GeneralizedImageOps.set(output,x,y,census);
+			}
+		}
+	}
+}
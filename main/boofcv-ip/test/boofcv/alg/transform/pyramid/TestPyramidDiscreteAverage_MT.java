@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.transform.pyramid;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.struct.image.*;
+import boofcv.testing.BoofTesting;
+import boofcv.testing.ForceConcurrency;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestPyramidDiscreteAverage_MT {
+
+	Random rand = new Random(234);
+
+	/**
+	 * The concurrent code should produce exactly the same output as the single threaded code
+	 */
+	@Test
+	public void compareToSingleThread() {
+		ForceConcurrency force = new ForceConcurrency();
+		try {
+			force.apply();
+
+			compareToSingleThread(ImageType.single(GrayU8.class), 1, 2, 4, 8);
+			compareToSingleThread(ImageType.single(GrayF32.class), 1, 2, 4, 8);
+			compareToSingleThread(ImageType.single(GrayF32.class), 3, 9);
+			compareToSingleThread(ImageType.pl(2, GrayF32.class), 1, 2, 6);
+		} finally {
+			force.restore();
+		}
+	}
+
+	private <T extends ImageBase<T>> void compareToSingleThread( ImageType<T> imageType , int ...scales ) {
+		PyramidDiscreteAverage<T> expected = new PyramidDiscreteAverage<>(imageType, false, scales);
+		PyramidDiscreteAverage_MT<T> found = new PyramidDiscreteAverage_MT<>(imageType, false, scales);
+
+		// process images of different sizes to make sure the storage is correctly recycled
+		int[][] shapes = new int[][]{{107,93},{60,41},{107,93}};
+		for( int[] shape : shapes ) {
+			T input = imageType.createImage(shape[0],shape[1]);
+			GImageMiscOps.fillUniform(input, rand, 0, 100);
+
+			expected.process(input);
+			found.process(input);
+
+			for (int i = 0; i < expected.getNumLayers(); i++) {
+				BoofTesting.assertEquals(expected.getLayer(i), found.getLayer(i), 0);
+			}
+		}
+	}
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.transform.pyramid;
+
+import boofcv.alg.interpolate.InterpolationType;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.core.image.border.BorderType;
+import boofcv.factory.interpolate.FactoryInterpolation;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageGray;
+import boofcv.testing.BoofTesting;
+import boofcv.testing.ForceConcurrency;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestPyramidFloatGaussianScale_MT {
+
+	Random rand = new Random(234);
+
+	double scales[] = new double[]{1,1.5,3,4.5};
+	double sigmas[] = new double[]{0.5,1,2,1.5};
+
+	/**
+	 * The concurrent code should produce exactly the same output as the single threaded code
+	 */
+	@Test
+	public void compareToSingleThread() {
+		ForceConcurrency force = new ForceConcurrency();
+		try {
+			force.apply();
+
+			compareToSingleThread(GrayU8.class);
+			compareToSingleThread(GrayF32.class);
+		} finally {
+			force.restore();
+		}
+	}
+
+	private <T extends ImageGray<T>> void compareToSingleThread( Class<T> imageType ) {
+		PyramidFloatGaussianScale<T> expected = new PyramidFloatGaussianScale<>(
+				FactoryInterpolation.bilinearPixelS(imageType, BorderType.EXTENDED), scales, sigmas, imageType);
+		PyramidFloatGaussianScale_MT<T> found = new PyramidFloatGaussianScale_MT<>(
+				InterpolationType.BILINEAR, BorderType.EXTENDED, scales, sigmas, imageType);
+
+		// process images of different sizes to make sure the storage is correctly recycled
+		int[][] shapes = new int[][]{{107,93},{60,41},{107,93}};
+		for( int[] shape : shapes ) {
+			T input = GeneralizedImageOps.createSingleBand(imageType, shape[0], shape[1]);
+			GImageMiscOps.fillUniform(input, rand, 0, 100);
+
+			expected.process(input);
+			found.process(input);
+
+			for (int i = 0; i < expected.getNumLayers(); i++) {
+				BoofTesting.assertEquals(expected.getLayer(i), found.getLayer(i), 0);
+			}
+		}
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void setInterpolate() {
+		PyramidFloatGaussianScale_MT<GrayF32> alg = new PyramidFloatGaussianScale_MT<>(
+				InterpolationType.BILINEAR, BorderType.EXTENDED, scales, sigmas, GrayF32.class);
+		alg.setInterpolate(FactoryInterpolation.bilinearPixelS(GrayF32.class, BorderType.EXTENDED));
+	}
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.concurrency;
+
+import boofcv.struct.image.GrayU8;
+import boofcv.testing.ForceConcurrency;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestBoofConcurrency {
+
+	ForceConcurrency force = new ForceConcurrency();
+
+	@Before
+	public void before() {
+		force.apply();
+	}
+
+	@After
+	public void after() {
+		force.restore();
+	}
+
+	/**
+	 * Every index should be processed exactly once and the blocks should be contiguous
+	 */
+	@Test
+	public void loopBlocks() {
+		for( int range : new int[]{1,3,4,5,17,100}) {
+			final int counts[] = new int[range+5];
+			final List<int[]> blocks = Collections.synchronizedList(new ArrayList<int[]>());
+
+			BoofConcurrency.loopBlocks(5, 5+range, new IntRangeConsumer() {
+				@Override
+				public void accept(int minInclusive, int maxExclusive) {
+					blocks.add(new int[]{minInclusive,maxExclusive});
+					for (int i = minInclusive; i < maxExclusive; i++) {
+						counts[i]++;
+					}
+				}
+			});
+
+			for (int i = 0; i < 5; i++) {
+				assertEquals(0,counts[i]);
+			}
+			for (int i = 5; i < counts.length; i++) {
+				assertEquals(1,counts[i]);
+			}
+			assertEquals(Math.min(4,range),blocks.size());
+		}
+	}
+
+	@Test
+	public void loopBlocks_minBlock() {
+		final List<int[]> blocks = Collections.synchronizedList(new ArrayList<int[]>());
+		BoofConcurrency.loopBlocks(0, 20, 8, new IntRangeConsumer() {
+			@Override
+			public void accept(int minInclusive, int maxExclusive) {
+				blocks.add(new int[]{minInclusive,maxExclusive});
+			}
+		});
+
+		assertEquals(2,blocks.size());
+		for( int[] b : blocks ) {
+			assertTrue(b[1]-b[0] >= 8);
+		}
+	}
+
+	@Test
+	public void loopBlocks_empty() {
+		BoofConcurrency.loopBlocks(5, 5, new IntRangeConsumer() {
+			@Override
+			public void accept(int minInclusive, int maxExclusive) {
+				throw new RuntimeException("Should not be called");
+			}
+		});
+	}
+
+	/**
+	 * Block boundaries should only depend on the range and number of blocks
+	 */
+	@Test
+	public void blockStart() {
+		assertEquals(2,BoofConcurrency.blockStart(2,10,3,0));
+		assertEquals(5,BoofConcurrency.blockStart(2,10,3,1));
+		assertEquals(8,BoofConcurrency.blockStart(2,10,3,2));
+		assertEquals(12,BoofConcurrency.blockStart(2,10,3,3));
+	}
+
+	@Test(expected = RuntimeException.class)
+	public void loopBlocks_exception() {
+		BoofConcurrency.loopBlocks(0, 20, new IntRangeConsumer() {
+			@Override
+			public void accept(int minInclusive, int maxExclusive) {
+				if( minInclusive > 0 )
+					throw new RuntimeException("Exception in a thread");
+			}
+		});
+	}
+
+	/**
+	 * Each block should be passed its index and the boundaries should match blockStart()
+	 */
+	@Test
+	public void loopBlocksIndexed() {
+		final int found[][] = new int[3][];
+		BoofConcurrency.loopBlocksIndexed(2, 12, 3, new IntBlockConsumer() {
+			@Override
+			public void accept(int block, int minInclusive, int maxExclusive) {
+				found[block] = new int[]{minInclusive,maxExclusive};
+			}
+		});
+
+		for (int block = 0; block < 3; block++) {
+			assertEquals(BoofConcurrency.blockStart(2,10,3,block),found[block][0]);
+			assertEquals(BoofConcurrency.blockStart(2,10,3,block+1),found[block][1]);
+		}
+
+		// a single block is always processed, even if empty
+		final int count[] = new int[1];
+		BoofConcurrency.loopBlocksIndexed(5, 5, 1, new IntBlockConsumer() {
+			@Override
+			public void accept(int block, int minInclusive, int maxExclusive) {
+				count[0]++;
+			}
+		});
+		assertEquals(1,count[0]);
+	}
+
+	@Test
+	public void useConcurrent() {
+		force.setUseConcurrent(true);
+		BoofConcurrency.setMinimumPixels(200);
+
+		assertFalse(BoofConcurrency.useConcurrent(new GrayU8(10,19)));
+		assertTrue(BoofConcurrency.useConcurrent(new GrayU8(10,20)));
+		assertTrue(BoofConcurrency.useConcurrent(201));
+
+		// turning it off globally has priority
+		BoofConcurrency.USE_CONCURRENT = false;
+		assertFalse(BoofConcurrency.useConcurrent(new GrayU8(100,100)));
+
+		// there's no point in running concurrent code with a single thread
+		BoofConcurrency.USE_CONCURRENT = true;
+		BoofConcurrency.setMaxThreads(1);
+		assertFalse(BoofConcurrency.useConcurrent(new GrayU8(100,100)));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void setMinimumPixels_negative() {
+		BoofConcurrency.setMinimumPixels(-1);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void setMaxThreads_zero() {
+		BoofConcurrency.setMaxThreads(0);
+	}
+
+	/**
+	 * A pool provided by the user should be used and not shutdown by BoofCV
+	 */
+	@Test
+	public void setPool() {
+		ForkJoinPool userPool = new ForkJoinPool(3);
+		try {
+			BoofConcurrency.setPool(userPool);
+			assertTrue(userPool == BoofConcurrency.getPool());
+			assertEquals(3, BoofConcurrency.getMaxThreads());
+
+			// limits the number of blocks but keeps the user's pool
+			BoofConcurrency.setMaxThreads(2);
+			assertTrue(userPool == BoofConcurrency.getPool());
+			assertEquals(2, BoofConcurrency.getMaxThreads());
+
+			final List<int[]> blocks = Collections.synchronizedList(new ArrayList<int[]>());
+			BoofConcurrency.loopBlocks(0, 20, new IntRangeConsumer() {
+				@Override
+				public void accept(int minInclusive, int maxExclusive) {
+					blocks.add(new int[]{minInclusive,maxExclusive});
+				}
+			});
+			assertEquals(2, blocks.size());
+
+			// go back to a pool owned by BoofCV
+			BoofConcurrency.setPool(null);
+			assertTrue(userPool != BoofConcurrency.getPool());
+			assertFalse(userPool.isShutdown());
+		} finally {
+			BoofConcurrency.setPool(null);
+			userPool.shutdown();
+		}
+	}
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.concurrency;
+
+import boofcv.testing.ForceConcurrency;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestIntBlockLoop {
+
+	ForceConcurrency force = new ForceConcurrency();
+
+	@Before
+	public void before() {
+		force.apply();
+	}
+
+	@After
+	public void after() {
+		force.restore();
+	}
+
+	/**
+	 * The blocks should be the same as the ones used by loopBlocksIndexed when called multiple times with a
+	 * different number of blocks
+	 */
+	@Test
+	public void sameBlocksAsLoopBlocksIndexed() {
+		final List<int[]> found = Collections.synchronizedList(new ArrayList<int[]>());
+		IntBlockLoop alg = new IntBlockLoop(new IntBlockConsumer() {
+			@Override
+			public void accept(int block, int minInclusive, int maxExclusive) {
+				found.add(new int[]{block,minInclusive,maxExclusive});
+			}
+		});
+
+		for( int numBlocks : new int[]{4,1,3,2,4} ) {
+			for( int range : new int[]{4,5,17,100} ) {
+				final int[][] expected = new int[numBlocks][];
+				BoofConcurrency.loopBlocksIndexed(5, 5+range, numBlocks, new IntBlockConsumer() {
+					@Override
+					public void accept(int block, int minInclusive, int maxExclusive) {
+						expected[block] = new int[]{block,minInclusive,maxExclusive};
+					}
+				});
+
+				found.clear();
+				alg.process(5, 5+range, numBlocks);
+
+				assertEquals(numBlocks, found.size());
+				for( int[] b : found ) {
+					assertArrayEquals(expected[b[0]], b);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void process_tooManyBlocks() {
+		IntBlockLoop alg = new IntBlockLoop(new IntBlockConsumer() {
+			@Override
+			public void accept(int block, int minInclusive, int maxExclusive) {}
+		});
+
+		try {
+			alg.process(0, 3, 4);
+			fail("Exception should have been thrown");
+		} catch( IllegalArgumentException ignore ) {}
+	}
+
+	/**
+	 * An exception in one block should be passed on and the tasks should still be reusable afterwards
+	 */
+	@Test
+	public void exceptionThenReuse() {
+		final boolean[] fail = new boolean[]{true};
+		final int[] counts = new int[20];
+		IntBlockLoop alg = new IntBlockLoop(new IntBlockConsumer() {
+			@Override
+			public void accept(int block, int minInclusive, int maxExclusive) {
+				if( fail[0] && block == 2 )
+					throw new RuntimeException("Failed");
+				for (int i = minInclusive; i < maxExclusive; i++) {
+					counts[i]++;
+				}
+			}
+		});
+
+		try {
+			alg.process(0, 20, 4);
+			fail("Exception should have been thrown");
+		} catch( RuntimeException ignore ) {}
+
+		fail[0] = false;
+		Arrays.fill(counts,0);
+		alg.process(0, 20, 4);
+		for (int i = 0; i < counts.length; i++) {
+			assertEquals(1, counts[i]);
+		}
+	}
+
+	/**
+	 * When called from inside the pool the blocks are forked instead of handed off to the pool
+	 */
+	@Test
+	public void insidePool() {
+		final int[] counts = new int[20];
+		final IntBlockLoop alg = new IntBlockLoop(new IntBlockConsumer() {
+			@Override
+			public void accept(int block, int minInclusive, int maxExclusive) {
+				for (int i = minInclusive; i < maxExclusive; i++) {
+					counts[i]++;
+				}
+			}
+		});
+
+		BoofConcurrency.getPool().invoke(new RecursiveAction() {
+			@Override
+			protected void compute() {
+				alg.process(0, 20, 4);
+				alg.process(0, 20, 3);
+			}
+		});
+
+		for (int i = 0; i < counts.length; i++) {
+			assertEquals(2, counts[i]);
+		}
+	}
+}
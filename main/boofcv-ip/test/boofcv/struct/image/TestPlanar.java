@@ -86,6 +86,25 @@ public class TestPlanar {
 			assertEquals(img.getBand(i).get(2,3),sub.getBand(i).get(0,0));
 	}
 
+	/**
+	 * Sub-image storage passed in should be recycled
+	 */
+	@Test
+	public void subimage_storage() {
+		Planar<GrayU8> img = new Planar<>(GrayU8.class,5, 10, 3);
+		Planar<GrayU8> storage = img.subimage(0,0,2,2, null);
+		GrayU8 band0 = storage.getBand(0);
+
+		Planar<GrayU8> sub = img.subimage(2,3,4,6, storage);
+		assertTrue(sub == storage);
+		assertTrue(band0 == sub.getBand(0));
+		assertEquals(2,sub.getWidth());
+		assertEquals(3,sub.getHeight());
+
+		img.getBand(1).set(2,3,5);
+		assertEquals(5,sub.getBand(1).get(0,0));
+	}
+
 	@Test
 	public void reshape() {
 		Planar<GrayU8> img = new Planar<>(GrayU8.class,5, 10, 3);